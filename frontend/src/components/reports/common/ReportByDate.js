@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from "react";
+import React, { useState, useEffect, useRef } from "react";
 import {
   Form,
   FormLabel,
@@ -14,14 +14,15 @@ import { FormattedMessage, useIntl } from "react-intl";
 import "../../Style.css";
 import { AlertDialog } from "../../common/CustomNotification";
 import CustomDatePicker from "../../common/CustomDatePicker";
-import config from "../../../config.json";
 import { encodeDate, Roles } from "../../utils/Utils";
 import { getFromOpenElisServer } from "../../utils/Utils";
+import { runReportJob } from "./ReportJob";
 const ReportByDate = (props) => {
   const intl = useIntl();
   const [loading, setLoading] = useState(false);
   const [notificationVisible, setNotificationVisible] = useState(false);
   const [list, setList] = useState([]);
+  const cancelReportJob = useRef(() => {});
 
   const [reportFormValues, setReportFormValues] = useState({
     startDate: null,
@@ -85,28 +86,46 @@ const ReportByDate = (props) => {
     });
 
     setLoading(true);
-    let baseParams = "";
+    const reportForm = {
+      report: props.report,
+      upperDateRange: reportFormValues.endDate,
+      lowerDateRange: reportFormValues.startDate,
+    };
 
     if (
       props.report === "activityReportByTest" ||
       props.report === "activityReportByPanel" ||
       props.report === "activityReportByTestSection"
     ) {
-      baseParams = `type=indicator&report=${props.report}&selectList.selection=${reportFormValues.value}`;
+      reportForm.type = "indicator";
+      reportForm.selectList = { selection: reportFormValues.value };
     } else if (props.report === "CISampleRoutineExport") {
-      baseParams = `report=${props.report}&type=routine${reportFormValues.value ? `&selectList.selection=${reportFormValues.value}` : ""}`;
+      reportForm.type = "routine";
+      if (reportFormValues.value) {
+        reportForm.selectList = { selection: reportFormValues.value };
+      }
     } else {
-      baseParams = `report=${props.report}&type=patient`;
+      reportForm.type = "patient";
     }
-    const baseUrl = `${config.serverBaseUrl}/ReportPrint`;
 
-    const url = `${baseUrl}?${baseParams}&upperDateRange=${reportFormValues.endDate}&lowerDateRange=${reportFormValues.startDate}`;
-
-    window.open(url, "_blank");
-    setLoading(false);
-    setNotificationVisible(true);
+    cancelReportJob.current = runReportJob(reportForm, (started) => {
+      setLoading(false);
+      if (started) {
+        setNotificationVisible(true);
+      } else {
+        setReportFormValues((values) => ({
+          ...values,
+          error: intl.formatMessage({
+            id: "error.report.job.failed",
+            defaultMessage: "The report could not be generated.",
+          }),
+        }));
+      }
+    });
   };
 
+  useEffect(() => () => cancelReportJob.current(), []);
+
   const setTempData = (data) => {
     setList(data);
     setLoading(false);
@@ -1,4 +1,4 @@
-import React, { useEffect, useState } from "react";
+import React, { useEffect, useRef, useState } from "react";
 import {
   Form,
   FormLabel,
@@ -14,14 +14,15 @@ import { FormattedMessage, useIntl } from "react-intl";
 import "../../Style.css";
 import { AlertDialog } from "../../common/CustomNotification";
 import CustomDatePicker from "../../common/CustomDatePicker";
-import config from "../../../config.json";
 import { encodeDate, getFromOpenElisServer } from "../../utils/Utils";
+import { runReportJob } from "./ReportJob";
 
 const ReportByDateCSV = (props) => {
   const intl = useIntl();
   const [loading, setLoading] = useState(false);
   const [notificationVisible, setNotificationVisible] = useState(false);
   const [statusOptions, setStatusOptions] = useState([]);
+  const cancelReportJob = useRef(() => {});
 
   const [reportFormValues, setReportFormValues] = useState(() => {
     if (props.report === "CIStudyExport") {
@@ -103,19 +104,37 @@ const ReportByDateCSV = (props) => {
 
     setLoading(true);
 
-    const baseParams = `report=${props.report}&type=patient`;
-    const baseUrl = `${config.serverBaseUrl}/ReportPrint`;
-    const additionalParams =
-      props.report === "CIStudyExport"
-        ? `projectCode=${reportFormValues.studyType}&dateType=${reportFormValues.dateType}`
-        : `vlStudyType=${reportFormValues.studyType}`;
-    const url = `${baseUrl}?${baseParams}&upperDateRange=${reportFormValues.endDate}&lowerDateRange=${reportFormValues.startDate}&${additionalParams}`;
+    const reportForm = {
+      report: props.report,
+      type: "patient",
+      upperDateRange: reportFormValues.endDate,
+      lowerDateRange: reportFormValues.startDate,
+      ...(props.report === "CIStudyExport"
+        ? {
+            projectCode: reportFormValues.studyType,
+            dateType: reportFormValues.dateType,
+          }
+        : { vlStudyType: reportFormValues.studyType }),
+    };
 
-    window.open(url, "_blank");
-    setLoading(false);
-    setNotificationVisible(true);
+    cancelReportJob.current = runReportJob(reportForm, (started) => {
+      setLoading(false);
+      if (started) {
+        setNotificationVisible(true);
+      } else {
+        setReportFormValues((values) => ({
+          ...values,
+          error: intl.formatMessage({
+            id: "error.report.job.failed",
+            defaultMessage: "The report could not be generated.",
+          }),
+        }));
+      }
+    });
   };
 
+  useEffect(() => () => cancelReportJob.current(), []);
+
   useEffect(() => {
     if (props.report === "CIStudyExport") {
       getFromOpenElisServer("/rest/projects", (data) => {
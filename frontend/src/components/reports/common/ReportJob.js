@@ -0,0 +1,68 @@
+import config from "../../../config.json";
+import {
+  getFromOpenElisServer,
+  postToOpenElisServerJsonResponse,
+} from "../../utils/Utils";
+
+const POLL_INTERVAL_MS = 2000;
+
+const download = (downloadToken) => {
+  const link = document.createElement("a");
+  link.href = `${config.serverBaseUrl}/rest/ReportJob/download/${downloadToken}`;
+  link.rel = "noopener";
+  document.body.appendChild(link);
+  link.click();
+  document.body.removeChild(link);
+};
+
+/**
+ * Runs a report in the background instead of in the request: the report form
+ * is submitted as a job, the job is polled until it has finished and its
+ * output is then downloaded with the job's token. onDone is called with true
+ * once the download has started and with false when the job could not run.
+ *
+ * @returns a function that stops polling, for when the page is left
+ */
+export const runReportJob = (reportForm, onDone) => {
+  let cancelled = false;
+  let timer = null;
+
+  const poll = (jobId) => {
+    getFromOpenElisServer("/rest/ReportJob/" + jobId, (job) => {
+      if (cancelled) {
+        return;
+      }
+      if (job && job.status === "COMPLETED") {
+        download(job.downloadToken);
+        onDone(true);
+      } else if (
+        job &&
+        (job.status === "QUEUED" || job.status === "RUNNING")
+      ) {
+        timer = setTimeout(() => poll(jobId), POLL_INTERVAL_MS);
+      } else {
+        onDone(false);
+      }
+    });
+  };
+
+  postToOpenElisServerJsonResponse(
+    "/rest/ReportJob",
+    JSON.stringify(reportForm),
+    (job) => {
+      if (cancelled) {
+        return;
+      }
+      if (job && job.jobId) {
+        poll(job.jobId);
+      } else {
+        onDone(false);
+      }
+    },
+  );
+
+  return () => {
+    cancelled = true;
+    clearTimeout(timer);
+  };
+};
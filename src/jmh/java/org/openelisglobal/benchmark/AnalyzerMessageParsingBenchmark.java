@@ -0,0 +1,83 @@
+package org.openelisglobal.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openelisglobal.analyzer.service.HL7MessageService.OruR01ParseResult;
+import org.openelisglobal.analyzer.service.HL7MessageServiceImpl;
+import org.openelisglobal.analyzerimport.analyzerreaders.ASTMAnalyzerReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading an ASTM message off the wire and parsing an HL7 ORU^R01, the first
+ * steps of every analyzer result that comes in, on the analyzer samples the
+ * tests use.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class AnalyzerMessageParsingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class AstmMessage {
+        @Param({ "astm-samples/hematology-cbc.astm", "astm-samples/chemistry-panel.astm" })
+        public String resource;
+
+        private byte[] message;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            message = read(resource);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Hl7Message {
+        @Param({ "testdata/hl7/mindray-cbc-result.hl7", "testdata/hl7/sysmex-xn-result.hl7" })
+        public String resource;
+
+        private String message;
+        private HL7MessageServiceImpl hl7MessageService;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            message = new String(read(resource), StandardCharsets.UTF_8);
+            hl7MessageService = new HL7MessageServiceImpl();
+        }
+    }
+
+    private static byte[] read(String resource) throws IOException {
+        try (InputStream stream = AnalyzerMessageParsingBenchmark.class.getClassLoader()
+                .getResourceAsStream(resource)) {
+            if (stream == null) {
+                throw new IOException("missing test resource " + resource);
+            }
+            return stream.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    public boolean readAstmStream(AstmMessage astm) {
+        return new ASTMAnalyzerReader().readStream(new ByteArrayInputStream(astm.message));
+    }
+
+    @Benchmark
+    public OruR01ParseResult parseHl7OruR01(Hl7Message hl7) {
+        return hl7.hl7MessageService.parseOruR01(hl7.message);
+    }
+}
@@ -0,0 +1,88 @@
+package org.openelisglobal.benchmark;
+
+import java.lang.reflect.Method;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openelisglobal.audittrail.daoimpl.AuditTrailServiceImpl;
+import org.openelisglobal.common.valueholder.BaseObject;
+import org.openelisglobal.patient.valueholder.Patient;
+import org.openelisglobal.person.valueholder.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The field by field comparison that builds the history XML of every audited
+ * update, on a person and a patient with a few fields changed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class AuditTrailBenchmark {
+
+    private AuditTrailServiceImpl auditTrailService;
+    private Method getChanges;
+    private Person existingPerson;
+    private Person updatedPerson;
+    private Patient existingPatient;
+    private Patient updatedPatient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        new BenchmarkContext();
+        auditTrailService = new AuditTrailServiceImpl();
+        getChanges = AuditTrailServiceImpl.class.getDeclaredMethod("getChanges", BaseObject.class, BaseObject.class,
+                String.class);
+        getChanges.setAccessible(true);
+
+        existingPerson = person("Doe", "0911000000");
+        updatedPerson = person("Doe-Smith", "0911999999");
+        updatedPerson.setEmail("jane.doe@example.org");
+        existingPatient = patient(existingPerson, "F", "ET-1000");
+        updatedPatient = patient(updatedPerson, "F", "ET-1001");
+    }
+
+    private static Person person(String lastName, String phone) {
+        Person person = new Person();
+        person.setId("1");
+        person.setFirstName("Jane");
+        person.setLastName(lastName);
+        person.setPrimaryPhone(phone);
+        person.setStreetAddress("Bole Road 12");
+        person.setCity("Addis Ababa");
+        return person;
+    }
+
+    private static Patient patient(Person person, String gender, String nationalId) {
+        Patient patient = new Patient();
+        patient.setId("1");
+        patient.setPerson(person);
+        patient.setGender(gender);
+        patient.setNationalId(nationalId);
+        patient.setBirthDate(Timestamp.valueOf("1985-03-15 00:00:00"));
+        patient.setFhirUuid(UUID.fromString("7f6c2c0e-1b8e-4d2c-9a52-2f3d9f1d2a10"));
+        return patient;
+    }
+
+    @Benchmark
+    public Object personChanges() throws ReflectiveOperationException {
+        return getChanges.invoke(auditTrailService, updatedPerson, existingPerson, "PERSON");
+    }
+
+    @Benchmark
+    public Object patientChanges() throws ReflectiveOperationException {
+        return getChanges.invoke(auditTrailService, updatedPatient, existingPatient, "PATIENT");
+    }
+}
@@ -0,0 +1,60 @@
+package org.openelisglobal.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openelisglobal.barcode.BarcodeLabelMaker;
+import org.openelisglobal.barcode.labeltype.BlockLabel;
+import org.openelisglobal.barcode.labeltype.Label;
+import org.openelisglobal.barcode.labeltype.OrderLabel;
+import org.openelisglobal.barcode.labeltype.SlideLabel;
+import org.openelisglobal.common.util.ConfigurationProperties.Property;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rendering the PDF of a print of labels: two order labels, a block label and
+ * three slide labels, with either barcodes or QR codes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class BarcodeLabelBenchmark {
+
+    @Param({ "BARCODE", "QR" })
+    public String barcodeType;
+
+    private BarcodeLabelMaker labelMaker;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        new BenchmarkContext().setProperty(Property.BAR_CODE_TYPE, barcodeType);
+        ArrayList<Label> labels = new ArrayList<>();
+        Label orderLabel = new OrderLabel("DEV0125000001", "Tikur Anbessa Specialized Hospital");
+        orderLabel.setNumLabels(2);
+        labels.add(orderLabel);
+        labels.add(new BlockLabel("DEV0125000001-B1"));
+        Label slideLabel = new SlideLabel("DEV0125000001-B1-S1");
+        slideLabel.setNumLabels(3);
+        labels.add(slideLabel);
+        labelMaker = new BarcodeLabelMaker(labels);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream createLabelsAsStream() {
+        return labelMaker.createLabelsAsStream();
+    }
+}
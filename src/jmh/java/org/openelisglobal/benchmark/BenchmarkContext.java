@@ -0,0 +1,69 @@
+package org.openelisglobal.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.Locale;
+import org.openelisglobal.common.util.ConfigurationProperties.Property;
+import org.openelisglobal.common.util.DefaultConfigurationProperties;
+import org.openelisglobal.internationalization.MessageUtil;
+import org.openelisglobal.spring.util.SpringContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * The little of the application the benchmarked code reaches through
+ * {@link SpringContext}, {@link MessageUtil} and the configuration properties,
+ * without a database: the hardcoded default configuration, the real message
+ * bundles and stubs for the services. Each benchmark fork is its own JVM, so
+ * every benchmark state can set one up in its trial setup.
+ */
+public final class BenchmarkContext {
+
+    private final GenericApplicationContext context = new GenericApplicationContext();
+    private final DefaultConfigurationProperties configuration = new DefaultConfigurationProperties();
+
+    public BenchmarkContext() {
+        context.refresh();
+        ReflectionTestUtils.setField(configuration, "finalProperties",
+                ReflectionTestUtils.invokeMethod(configuration, "loadHardcodedProperties"));
+        setProperty(Property.DEFAULT_LANG_LOCALE, "en-US");
+        setProperty(Property.DEFAULT_DATE_LOCALE, "en-US");
+        register(DefaultConfigurationProperties.class, configuration);
+
+        ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
+        messageSource.setBasename("classpath:/languages/message");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setUseCodeAsDefaultMessage(true);
+        MessageUtil.setMessageSource(messageSource);
+        LocaleContextHolder.setDefaultLocale(Locale.US);
+
+        new SpringContext().setApplicationContext(context);
+    }
+
+    /** Overrides a hardcoded default, before the code reading it first runs. */
+    public BenchmarkContext setProperty(Property property, String value) {
+        configuration.setPropertyValue(property, value);
+        return this;
+    }
+
+    public <T> T register(Class<T> type, T bean) {
+        context.getDefaultListableBeanFactory().registerSingleton(type.getName(), bean);
+        return bean;
+    }
+
+    /**
+     * Registers a stub of the service. Stubs don't record their invocations, so
+     * they cost little in the measured code.
+     */
+    public <T> T stub(Class<T> type) {
+        return register(type, stubOf(type));
+    }
+
+    /** @return a stub of the type that isn't registered, for constructor wiring */
+    public static <T> T stubOf(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+}
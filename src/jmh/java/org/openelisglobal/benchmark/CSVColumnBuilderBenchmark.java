@@ -0,0 +1,142 @@
+package org.openelisglobal.benchmark;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openelisglobal.analyte.service.AnalyteService;
+import org.openelisglobal.dictionary.service.DictionaryResolutionService;
+import org.openelisglobal.dictionary.valueholder.ResolvedDictionary;
+import org.openelisglobal.gender.service.GenderService;
+import org.openelisglobal.observationhistorytype.service.ObservationHistoryTypeService;
+import org.openelisglobal.project.service.ProjectService;
+import org.openelisglobal.reports.action.implementation.reportBeans.CSVColumnBuilder;
+import org.openelisglobal.result.service.ResultService;
+import org.openelisglobal.test.service.TestService;
+import org.openelisglobal.testresult.service.TestResultService;
+import org.openelisglobal.testresult.valueholder.TestResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Translating one row of a CSV export, with a column for each of the common
+ * strategies: dates, ages, dictionary values and dictionary test results. The
+ * rows come from memory rather than the export query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CSVColumnBuilderBenchmark {
+
+    private static final String HIV_TEST = "HIV Rapid Test(Serum)";
+
+    private RowColumnBuilder columnBuilder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkContext context = new BenchmarkContext();
+        DictionaryResolutionService dictionaryResolutionService = context.stub(DictionaryResolutionService.class);
+        when(dictionaryResolutionService.resolve(anyString())).thenAnswer(invocation -> new ResolvedDictionary(
+                invocation.getArgument(0), "Positive=1", null, null, null, null));
+        context.stub(GenderService.class);
+        context.stub(ProjectService.class);
+        context.stub(ResultService.class);
+        context.stub(ObservationHistoryTypeService.class);
+        context.stub(AnalyteService.class);
+        context.stub(TestService.class);
+        context.stub(TestResultService.class);
+
+        columnBuilder = new RowColumnBuilder(List.of( //
+                row("DEV0125000001", "1985-03-15 00:00:00", "2025-01-15 08:30:00", "M", "1250", "0"),
+                row("DEV0125000002", "1990-11-02 00:00:00", "2025-01-15 09:10:00", "F", "1251", "3.2"),
+                row("DEV0125000003", "2019-06-30 00:00:00", "2025-01-16 14:45:00", "F", "1250", "0")));
+    }
+
+    private static Map<String, Object> row(String accessionNumber, String birthDate, String receivedDate,
+            String gender, String hivResult, String viralLoad) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("accession_number", accessionNumber);
+        row.put("birth_date", Date.valueOf(birthDate.substring(0, 10)));
+        row.put("birth_date_text", birthDate);
+        row.put("received_date", receivedDate);
+        row.put("collection_date", receivedDate);
+        row.put("gender", gender);
+        row.put("sample_condition", hivResult);
+        row.put(HIV_TEST, hivResult);
+        row.put("viral_load", viralLoad);
+        return row;
+    }
+
+    @Benchmark
+    public String translateRow() throws SQLException, ParseException {
+        columnBuilder.next();
+        return columnBuilder.nextLine();
+    }
+
+    private static class RowColumnBuilder extends CSVColumnBuilder {
+
+        RowColumnBuilder(List<Map<String, Object>> rows) {
+            super(null);
+            TestResult hivResult = new TestResult();
+            hivResult.setTestResultType("D");
+            testResultsByTestName = new HashMap<>();
+            testResultsByTestName.put(HIV_TEST, hivResult);
+
+            add("accession_number", "LABNO", Strategy.NONE);
+            add("birth_date_text", "DOB", Strategy.DATE);
+            add("received_date", "RECEIVED", Strategy.DATE_TIME);
+            add("collection_date", "AGE_YEARS", Strategy.AGE_YEARS);
+            add("collection_date", "AGE_MONTHS", Strategy.AGE_MONTHS);
+            add("gender", "SEX", Strategy.NONE);
+            add("sample_condition", "CONDITION", Strategy.DICT);
+            add(HIV_TEST, HIV_TEST, Strategy.TEST_RESULT);
+            add("viral_load", "VL_LOG", Strategy.LOG);
+            add("viral_load", "VL", Strategy.DROP_ZERO);
+            resultSet = rowsOf(rows);
+        }
+
+        @Override
+        public void makeSQL() {
+        }
+    }
+
+    /** @return a result set over the rows, going back to the first after the last */
+    private static ResultSet rowsOf(List<Map<String, Object>> rows) {
+        int[] current = { -1 };
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "next":
+                        current[0] = (current[0] + 1) % rows.size();
+                        return true;
+                    case "getString":
+                        Object value = rows.get(current[0]).get(args[0]);
+                        return value == null ? null : value.toString();
+                    case "getDate":
+                        return rows.get(current[0]).get(args[0]);
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
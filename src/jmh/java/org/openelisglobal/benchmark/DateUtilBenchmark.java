@@ -0,0 +1,81 @@
+package org.openelisglobal.benchmark;
+
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+import org.openelisglobal.common.util.DateUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Date parsing and formatting as done for every date shown or entered, with the
+ * US date format. Each call looks the pattern up in the message bundle and
+ * builds its own SimpleDateFormat, which is most of the cost.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class DateUtilBenchmark {
+
+    private static final String[] DATES = { "01/15/1980", "12/31/2024", "07/04/2001", "02/29/2020" };
+    private static final String[] AMBIGUOUS_DATES = { "XX/XX/1980", "1/5/2003", "xx/12/2015", "03/XX/1999" };
+
+    private Timestamp[] timestamps;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        new BenchmarkContext();
+        timestamps = new Timestamp[DATES.length];
+        for (int i = 0; i < DATES.length; i++) {
+            timestamps[i] = DateUtil.convertStringDateToTimestamp(DATES[i]);
+        }
+    }
+
+    private int nextIndex() {
+        next = (next + 1) % DATES.length;
+        return next;
+    }
+
+    @Benchmark
+    public Timestamp convertStringDateToTimestamp() {
+        return DateUtil.convertStringDateToTimestamp(DATES[nextIndex()]);
+    }
+
+    @Benchmark
+    public java.sql.Date convertStringDateToSqlDate() {
+        return DateUtil.convertStringDateToSqlDate(DATES[nextIndex()]);
+    }
+
+    @Benchmark
+    public Timestamp convertAmbiguousStringDateToTimestamp() {
+        return DateUtil.convertAmbiguousStringDateToTimestamp(AMBIGUOUS_DATES[nextIndex()]);
+    }
+
+    @Benchmark
+    public String convertTimestampToStringDate() {
+        return DateUtil.convertTimestampToStringDate(timestamps[nextIndex()]);
+    }
+
+    @Benchmark
+    public String convertTimestampToStringDateAndConfiguredHourTime() {
+        return DateUtil.convertTimestampToStringDateAndConfiguredHourTime(timestamps[nextIndex()]);
+    }
+
+    @Benchmark
+    public int getAgeInYears() {
+        int index = nextIndex();
+        return DateUtil.getAgeInYears(timestamps[index], timestamps[(index + 1) % DATES.length]);
+    }
+}
@@ -0,0 +1,168 @@
+package org.openelisglobal.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Method;
+import java.sql.Timestamp;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Practitioner;
+import org.openelisglobal.analysis.valueholder.Analysis;
+import org.openelisglobal.common.services.IStatusService;
+import org.openelisglobal.common.services.StatusService.AnalysisStatus;
+import org.openelisglobal.dataexchange.fhir.FhirConfig;
+import org.openelisglobal.dataexchange.fhir.service.FhirFacilityOrganizationService;
+import org.openelisglobal.dataexchange.fhir.service.FhirTransformServiceImpl;
+import org.openelisglobal.localization.valueholder.Localization;
+import org.openelisglobal.organization.service.OrganizationService;
+import org.openelisglobal.organization.valueholder.Organization;
+import org.openelisglobal.organization.valueholder.OrganizationType;
+import org.openelisglobal.patient.valueholder.Patient;
+import org.openelisglobal.person.valueholder.Person;
+import org.openelisglobal.provider.valueholder.Provider;
+import org.openelisglobal.result.service.ResultService;
+import org.openelisglobal.result.valueholder.Result;
+import org.openelisglobal.sample.valueholder.Sample;
+import org.openelisglobal.samplehuman.service.SampleHumanService;
+import org.openelisglobal.sampleitem.valueholder.SampleItem;
+import org.openelisglobal.test.service.TestService;
+import org.openelisglobal.test.valueholder.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Turning OpenELIS objects into FHIR resources and back: a released numeric
+ * result into the Observation sent with every result, a provider into a
+ * Practitioner, and an organization both ways.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class FhirTransformBenchmark {
+
+    private static final String FINALIZED_STATUS_ID = "6";
+
+    private FhirTransformServiceImpl fhirTransformService;
+    private Method transformResultToObservation;
+    private Result result;
+    private Provider provider;
+    private Organization organization;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        new BenchmarkContext();
+        Test test = new Test();
+        test.setId("10");
+        test.setLoinc("6690-2");
+        Localization testName = new Localization();
+        testName.setEnglish("WBC");
+        test.setLocalizedTestName(testName);
+
+        Patient patient = new Patient();
+        patient.setFhirUuid(UUID.randomUUID());
+        Sample sample = new Sample();
+        sample.setFhirUuid(UUID.randomUUID());
+        SampleItem sampleItem = new SampleItem();
+        sampleItem.setSample(sample);
+        sampleItem.setFhirUuid(UUID.randomUUID());
+        Analysis analysis = new Analysis();
+        analysis.setTest(test);
+        analysis.setSampleItem(sampleItem);
+        analysis.setStatusId(FINALIZED_STATUS_ID);
+        analysis.setReleasedDate(Timestamp.valueOf("2025-01-15 10:30:00"));
+        analysis.setFhirUuid(UUID.randomUUID());
+        result = new Result();
+        result.setAnalysis(analysis);
+        result.setResultType("N");
+        result.setValue("7.5");
+        result.setFhirUuid(UUID.randomUUID());
+
+        Person person = new Person();
+        person.setFirstName("Abebe");
+        person.setLastName("Kebede");
+        person.setPrimaryPhone("0911000000");
+        person.setEmail("abebe.kebede@example.org");
+        provider = new Provider();
+        provider.setPerson(person);
+        provider.setActive(true);
+        provider.setFhirUuid(UUID.randomUUID());
+
+        OrganizationType referringClinic = new OrganizationType();
+        referringClinic.setName("referring clinic");
+        referringClinic.setDescription("Referring clinic");
+        organization = new Organization();
+        organization.setId("5");
+        organization.setFhirUuid(UUID.randomUUID());
+        organization.setOrganizationName("Tikur Anbessa Specialized Hospital");
+        organization.setShortName("TASH");
+        organization.setCode("ET-AA-001");
+        organization.setIsActive("Y");
+        organization.setStreetAddress("Churchill Road");
+        organization.setCity("Addis Ababa");
+        organization.setOrganizationTypes(Set.of(referringClinic));
+
+        FhirConfig fhirConfig = new FhirConfig();
+        ReflectionTestUtils.setField(fhirConfig, "oeFhirSystem", "http://openelis-global.org");
+        FhirFacilityOrganizationService facilityOrganizationService = BenchmarkContext
+                .stubOf(FhirFacilityOrganizationService.class);
+        when(facilityOrganizationService.getFacilityId()).thenReturn("ET-AA-LAB");
+        when(facilityOrganizationService.getFacilityIdentifierSystem())
+                .thenReturn("http://openelis-global.org/facility");
+        IStatusService statusService = BenchmarkContext.stubOf(IStatusService.class);
+        when(statusService.getStatusID(AnalysisStatus.Finalized)).thenReturn(FINALIZED_STATUS_ID);
+        when(statusService.getStatusID(AnalysisStatus.NotStarted)).thenReturn("1");
+        SampleHumanService sampleHumanService = BenchmarkContext.stubOf(SampleHumanService.class);
+        when(sampleHumanService.getPatientForSample(sample)).thenReturn(patient);
+        ResultService resultService = BenchmarkContext.stubOf(ResultService.class);
+        when(resultService.getUOM(any())).thenReturn("10^3/uL");
+        TestService testService = BenchmarkContext.stubOf(TestService.class);
+        when(testService.get(test.getId())).thenReturn(test);
+        OrganizationService organizationService = BenchmarkContext.stubOf(OrganizationService.class);
+        when(organizationService.get(organization.getId())).thenReturn(organization);
+
+        fhirTransformService = new FhirTransformServiceImpl();
+        ReflectionTestUtils.setField(fhirTransformService, "fhirConfig", fhirConfig);
+        ReflectionTestUtils.setField(fhirTransformService, "facilityOrganizationService", facilityOrganizationService);
+        ReflectionTestUtils.setField(fhirTransformService, "statusService", statusService);
+        ReflectionTestUtils.setField(fhirTransformService, "sampleHumanService", sampleHumanService);
+        ReflectionTestUtils.setField(fhirTransformService, "resultService", resultService);
+        ReflectionTestUtils.setField(fhirTransformService, "testService", testService);
+        ReflectionTestUtils.setField(fhirTransformService, "organizationService", organizationService);
+
+        transformResultToObservation = FhirTransformServiceImpl.class
+                .getDeclaredMethod("transformResultToObservation", Result.class);
+        transformResultToObservation.setAccessible(true);
+    }
+
+    @Benchmark
+    public Observation resultToObservation() throws ReflectiveOperationException {
+        return (Observation) transformResultToObservation.invoke(fhirTransformService, result);
+    }
+
+    @Benchmark
+    public Practitioner providerToPractitioner() {
+        return fhirTransformService.transformProviderToPractitioner(provider);
+    }
+
+    @Benchmark
+    public Organization organizationRoundTrip() {
+        return fhirTransformService
+                .transformToOrganization(fhirTransformService.transformToFhirOrganization(organization));
+    }
+}
@@ -0,0 +1,102 @@
+package org.openelisglobal.benchmark;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openelisglobal.patient.valueholder.Patient;
+import org.openelisglobal.resultlimit.service.ResultLimitServiceImpl;
+import org.openelisglobal.resultlimits.dao.ResultLimitDAO;
+import org.openelisglobal.resultlimits.valueholder.ResultLimit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Picking the reference range of a test for a patient, which results entry does
+ * for every analysis it shows. The test has a default range and an age and
+ * gender specific range for every age band, as for the blood counts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ResultLimitBenchmark {
+
+    private static final String TEST_ID = "1";
+
+    // age bands in days
+    private static final double[] AGE_BANDS = { 0, 7, 30, 180, 365, 365 * 5, 365 * 12, 365 * 18, 365 * 65,
+            Double.POSITIVE_INFINITY };
+
+    /** the patient's age in years, the later bands take longer to reach */
+    @Param({ "0", "8", "40", "90" })
+    public int ageInYears;
+
+    private ResultLimitServiceImpl resultLimitService;
+    private Patient patient;
+    private Patient patientWithoutGender;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        new BenchmarkContext();
+        List<ResultLimit> resultLimits = new ArrayList<>();
+        resultLimits.add(resultLimit(null, 0, Double.POSITIVE_INFINITY));
+        for (String gender : new String[] { "M", "F" }) {
+            for (int band = 0; band < AGE_BANDS.length - 1; band++) {
+                resultLimits.add(resultLimit(gender, AGE_BANDS[band], AGE_BANDS[band + 1]));
+            }
+        }
+
+        ResultLimitDAO resultLimitDAO = BenchmarkContext.stubOf(ResultLimitDAO.class);
+        // the service removes the limits it has tried from the list it is given
+        when(resultLimitDAO.getAllResultLimitsForTest(anyString()))
+                .thenAnswer(invocation -> new ArrayList<>(resultLimits));
+        resultLimitService = new ResultLimitServiceImpl();
+        ReflectionTestUtils.setField(resultLimitService, "baseObjectDAO", resultLimitDAO);
+
+        Timestamp birthDate = Timestamp.valueOf(LocalDate.now().minusYears(ageInYears).atStartOfDay());
+        patient = new Patient();
+        patient.setGender("F");
+        patient.setBirthDate(birthDate);
+        patientWithoutGender = new Patient();
+        patientWithoutGender.setBirthDate(birthDate);
+    }
+
+    private static ResultLimit resultLimit(String gender, double minAge, double maxAge) {
+        ResultLimit limit = new ResultLimit();
+        limit.setTestId(TEST_ID);
+        limit.setGender(gender);
+        limit.setMinAge(minAge);
+        limit.setMaxAge(maxAge);
+        limit.setLowNormal(4.0 + minAge / 10000);
+        limit.setHighNormal(11.0 + minAge / 10000);
+        return limit;
+    }
+
+    @Benchmark
+    public ResultLimit ageAndGender() {
+        return resultLimitService.getResultLimitForTestAndPatient(TEST_ID, patient);
+    }
+
+    @Benchmark
+    public ResultLimit ageOnly() {
+        return resultLimitService.getResultLimitForTestAndPatient(TEST_ID, patientWithoutGender);
+    }
+}
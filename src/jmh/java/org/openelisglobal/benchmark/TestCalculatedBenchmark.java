@@ -0,0 +1,152 @@
+package org.openelisglobal.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openelisglobal.analysis.service.AnalysisService;
+import org.openelisglobal.analysis.valueholder.Analysis;
+import org.openelisglobal.note.service.NoteService;
+import org.openelisglobal.patient.valueholder.Patient;
+import org.openelisglobal.result.action.util.ResultSet;
+import org.openelisglobal.result.service.ResultService;
+import org.openelisglobal.result.valueholder.Result;
+import org.openelisglobal.resultlimit.service.ResultLimitService;
+import org.openelisglobal.test.service.TestService;
+import org.openelisglobal.test.valueholder.Test;
+import org.openelisglobal.testcalculated.action.util.TestCalculatedUtil;
+import org.openelisglobal.testcalculated.service.ResultCalculationService;
+import org.openelisglobal.testcalculated.service.TestCalculationService;
+import org.openelisglobal.testcalculated.valueholder.Calculation;
+import org.openelisglobal.testcalculated.valueholder.Operation;
+import org.openelisglobal.testcalculated.valueholder.Operation.OperationType;
+import org.openelisglobal.testcalculated.valueholder.ResultCalculation;
+import org.openelisglobal.testresult.service.TestResultService;
+import org.openelisglobal.testresult.valueholder.TestResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Evaluating a calculated test when one of its inputs is saved: finding the
+ * calculations the result takes part in, building the expression from the
+ * saved results and evaluating it. The calculated test itself is not found, so
+ * no analysis is created and only the evaluation is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class TestCalculatedBenchmark {
+
+    private static final int CREATININE_TEST_ID = 10;
+    private static final int UREA_TEST_ID = 11;
+
+    private TestCalculatedUtil testCalculatedUtil;
+    private List<ResultSet> resultSets;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkContext context = new BenchmarkContext();
+        Test creatinine = test(CREATININE_TEST_ID);
+        Test urea = test(UREA_TEST_ID);
+        Result creatinineResult = result("100", creatinine, "1.1");
+        Result ureaResult = result("101", urea, "32");
+
+        // (urea / creatinine) * 100 + 1.5
+        Calculation calculation = new Calculation();
+        calculation.setId(1);
+        calculation.setName("Urea creatinine ratio");
+        calculation.setTestId(12);
+        calculation.setActive(true);
+        List<Operation> operations = new ArrayList<>();
+        operations.add(operation(OperationType.MATH_FUNCTION, Operation.OPEN_BRACKET));
+        operations.add(operation(OperationType.TEST_RESULT, String.valueOf(UREA_TEST_ID)));
+        operations.add(operation(OperationType.MATH_FUNCTION, Operation.DIVIDE));
+        operations.add(operation(OperationType.TEST_RESULT, String.valueOf(CREATININE_TEST_ID)));
+        operations.add(operation(OperationType.MATH_FUNCTION, Operation.CLOSE_BRACKET));
+        operations.add(operation(OperationType.MATH_FUNCTION, Operation.MULTIPLY));
+        operations.add(operation(OperationType.INTEGER, "100"));
+        operations.add(operation(OperationType.MATH_FUNCTION, Operation.ADD));
+        operations.add(operation(OperationType.INTEGER, "1.5"));
+        for (int i = 0; i < operations.size(); i++) {
+            operations.get(i).setOrder(i);
+        }
+        calculation.setOperations(operations);
+
+        Patient patient = new Patient();
+        patient.setId("1");
+        ResultCalculation resultCalculation = new ResultCalculation();
+        resultCalculation.setCalculation(calculation);
+        resultCalculation.setPatient(patient);
+        Map<Integer, Integer> testResultMap = new HashMap<>();
+        testResultMap.put(CREATININE_TEST_ID, Integer.valueOf(creatinineResult.getId()));
+        testResultMap.put(UREA_TEST_ID, Integer.valueOf(ureaResult.getId()));
+        resultCalculation.setTestResultMap(testResultMap);
+
+        TestService testService = context.stub(TestService.class);
+        when(testService.getActiveTestById(CREATININE_TEST_ID)).thenReturn(creatinine);
+        when(testService.getActiveTestById(UREA_TEST_ID)).thenReturn(urea);
+        when(testService.getResultType(any())).thenReturn("N");
+        ResultService resultService = context.stub(ResultService.class);
+        when(resultService.get(creatinineResult.getId())).thenReturn(creatinineResult);
+        when(resultService.get(ureaResult.getId())).thenReturn(ureaResult);
+        TestCalculationService calculationService = context.stub(TestCalculationService.class);
+        when(calculationService.getAll()).thenReturn(List.of(calculation));
+        ResultCalculationService resultCalculationService = context.stub(ResultCalculationService.class);
+        when(resultCalculationService.getResultCalculationByPatientAndCalculation(any(), any()))
+                .thenReturn(List.of(resultCalculation));
+        when(resultCalculationService.getResultCalculationByPatientAndTest(any(), any()))
+                .thenReturn(List.of(resultCalculation));
+        context.stub(TestResultService.class);
+        context.stub(AnalysisService.class);
+        context.stub(NoteService.class);
+        context.stub(ResultLimitService.class);
+
+        testCalculatedUtil = new TestCalculatedUtil();
+        resultSets = List.of(new ResultSet(ureaResult, null, null, patient, null, null, false));
+    }
+
+    private static Test test(int id) {
+        Test test = new Test();
+        test.setId(String.valueOf(id));
+        return test;
+    }
+
+    private static Result result(String id, Test test, String value) {
+        TestResult testResult = new TestResult();
+        testResult.setTest(test);
+        Result result = new Result();
+        result.setId(id);
+        result.setTestResult(testResult);
+        result.setResultType("N");
+        result.setValue(value);
+        return result;
+    }
+
+    private static Operation operation(OperationType type, String value) {
+        Operation operation = new Operation();
+        operation.setType(type);
+        operation.setValue(value);
+        return operation;
+    }
+
+    @Benchmark
+    public List<Analysis> evaluateCalculatedTests() {
+        return testCalculatedUtil.addNewTestsToDBForCalculatedTests(resultSets, "1");
+    }
+}
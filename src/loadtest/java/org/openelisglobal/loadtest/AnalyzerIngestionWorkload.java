@@ -0,0 +1,94 @@
+package org.openelisglobal.loadtest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openelisglobal.loadtest.SyntheticDataset.PendingSample;
+import org.openelisglobal.loadtest.SyntheticDataset.TestRef;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * An analyzer sending the results of an order waiting for results, either as
+ * an ASTM LIS2-A2 transmission or as an HL7 ORU^R01 message. The results are
+ * staged for review, so the same order can be sent more than once, as an
+ * analyzer rerunning a sample would.
+ */
+public class AnalyzerIngestionWorkload extends RestWorkload {
+
+    public enum Protocol {
+        ASTM, HL7
+    }
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final AtomicLong NEXT_MESSAGE = new AtomicLong();
+
+    private final Protocol protocol;
+
+    public AnalyzerIngestionWorkload(MockMvc mockMvc, SyntheticDataset dataset, Protocol protocol) {
+        super(mockMvc, dataset);
+        this.protocol = protocol;
+    }
+
+    @Override
+    public String getName() {
+        return protocol == Protocol.ASTM ? "analyzer ASTM" : "analyzer HL7";
+    }
+
+    @Override
+    public boolean execute(MockHttpSession session, Random random) throws Exception {
+        List<PendingSample> samples = dataset.getPendingSamples();
+        if (samples.isEmpty()) {
+            return false;
+        }
+        PendingSample sample = samples.get(random.nextInt(samples.size()));
+        String timestamp = LocalDateTime.now().format(TIMESTAMP);
+        String message = protocol == Protocol.ASTM ? astm(sample, timestamp, random)
+                : hl7(sample, timestamp, random);
+        perform(post(protocol == Protocol.ASTM ? "/analyzer/astm" : "/analyzer/hl7").session(session)
+                .contentType(MediaType.TEXT_PLAIN).content(message));
+        return true;
+    }
+
+    private String astm(PendingSample sample, String timestamp, Random random) {
+        StringBuilder message = new StringBuilder();
+        message.append("H|\\^&|||").append(LoadTestAnalyzerPlugin.SENDER).append("^LOAD^1.0|||||||P|LIS2-A2|")
+                .append(timestamp).append("\r\n");
+        message.append("P|1\r\n");
+        message.append("O|1|").append(sample.accessionNumber()).append("||^^^ALL|R\r\n");
+        int sequence = 1;
+        for (TestRef test : sample.tests()) {
+            message.append("R|").append(sequence++).append("|^^^").append(test.testId()).append('^')
+                    .append(test.name()).append('|').append(value(random)).append("|U|||N||F||||").append(timestamp)
+                    .append("\r\n");
+        }
+        message.append("L|1|N\r\n");
+        return message.toString();
+    }
+
+    private String hl7(PendingSample sample, String timestamp, Random random) {
+        StringBuilder message = new StringBuilder();
+        message.append("MSH|^~\\&|").append(LoadTestAnalyzerPlugin.SENDER).append("|LAB|OpenELIS|LAB|")
+                .append(timestamp).append("||ORU^R01|LOAD").append(NEXT_MESSAGE.incrementAndGet())
+                .append("|P|2.5.1\r");
+        message.append("PID|1||").append(sample.accessionNumber()).append("\r");
+        message.append("OBR|1|").append(sample.accessionNumber()).append('|').append(sample.accessionNumber())
+                .append("|ALL|||").append(timestamp).append("\r");
+        int sequence = 1;
+        for (TestRef test : sample.tests()) {
+            message.append("OBX|").append(sequence++).append("|NM|").append(test.testId()).append('^')
+                    .append(test.name()).append("||").append(value(random)).append("|U|||||F\r");
+        }
+        return message.toString();
+    }
+
+    private static String value(Random random) {
+        return String.format(Locale.ROOT, "%.1f", 1 + random.nextDouble() * 199);
+    }
+}
@@ -0,0 +1,56 @@
+package org.openelisglobal.loadtest;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/**
+ * When the samples of a period arrive: mostly in the morning of working days,
+ * less on Saturdays and hardly at night or on Sundays. The n-th of N samples is
+ * placed where the n/N share of the period's arrivals is reached, so the
+ * accession numbers follow the received dates the way they do in a lab.
+ */
+class ArrivalTimeline {
+
+    // from midnight to 23:00
+    private static final double[] HOUR_WEIGHTS = { 0.05, 0.05, 0.05, 0.05, 0.05, 0.1, 0.2, 0.5, 1.0, 1.0, 1.0, 0.9,
+            0.6, 0.8, 0.8, 0.7, 0.5, 0.3, 0.2, 0.2, 0.1, 0.1, 0.05, 0.05 };
+    private static final double SATURDAY_WEIGHT = 0.45;
+    private static final double SUNDAY_WEIGHT = 0.15;
+
+    private final LocalDateTime start;
+    private final double[] cumulative;
+
+    ArrivalTimeline(LocalDateTime end, int days) {
+        start = end.truncatedTo(ChronoUnit.HOURS).minusDays(days);
+        cumulative = new double[days * 24];
+        double total = 0;
+        for (int hour = 0; hour < cumulative.length; hour++) {
+            LocalDateTime at = start.plusHours(hour);
+            total += HOUR_WEIGHTS[at.getHour()] * dayWeight(at.getDayOfWeek());
+            cumulative[hour] = total;
+        }
+    }
+
+    /** @return the time by which the given share of the period's samples have arrived */
+    LocalDateTime at(double share) {
+        double target = share * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, target);
+        int hour = Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1);
+        double before = hour == 0 ? 0 : cumulative[hour - 1];
+        double withinHour = (target - before) / (cumulative[hour] - before);
+        return start.plusHours(hour).plusSeconds((long) (withinHour * 3600));
+    }
+
+    private static double dayWeight(DayOfWeek day) {
+        switch (day) {
+        case SATURDAY:
+            return SATURDAY_WEIGHT;
+        case SUNDAY:
+            return SUNDAY_WEIGHT;
+        default:
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.openelisglobal.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Streams rows into one table with COPY, in the CSV form the analyzer results
+ * staging uses: an unquoted empty field is NULL and a quoted one is the value.
+ * Timestamps are written in local time, the session time zone of the driver.
+ */
+class CopyWriter implements AutoCloseable {
+
+    private static final int FLUSH_SIZE = 1 << 20;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_SIZE + 4096);
+    private long rows;
+
+    CopyWriter(PGConnection connection, String table, String columns) throws SQLException {
+        copyIn = connection.getCopyAPI()
+                .copyIn("COPY clinlims." + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)");
+    }
+
+    void row(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            if (values[i] != null) {
+                buffer.append('"').append(values[i].toString().replace("\"", "\"\"")).append('"');
+            }
+        }
+        buffer.append('\n');
+        rows++;
+        if (buffer.length() >= FLUSH_SIZE) {
+            flush();
+        }
+    }
+
+    long getRows() {
+        return rows;
+    }
+
+    private void flush() throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (!copyIn.isActive()) {
+            return;
+        }
+        try {
+            flush();
+            copyIn.endCopy();
+        } catch (SQLException e) {
+            copyIn.cancelCopy();
+            throw e;
+        }
+    }
+}
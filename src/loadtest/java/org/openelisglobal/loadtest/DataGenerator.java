@@ -0,0 +1,35 @@
+package org.openelisglobal.loadtest;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.postgresql.ds.PGSimpleDataSource;
+
+/**
+ * Fills a database with a {@link SyntheticDataset} to reproduce the behaviour
+ * of a large site, without starting the application:
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dloadtest.patients=1100000 -Dloadtest.samplesPerPatient=3
+ * </pre>
+ *
+ * The database is {@code loadtest.jdbcUrl}, by default the one of the
+ * development containers, logged in to as {@code loadtest.username} with
+ * {@code loadtest.password}; the volumes and shapes of the data are the
+ * settings described in {@link LoadTestSettings}.
+ */
+public class DataGenerator {
+
+    public static void main(String[] args) throws Exception {
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setUrl(System.getProperty("loadtest.jdbcUrl", "jdbc:postgresql://localhost:15432/clinlims"));
+        dataSource.setUser(System.getProperty("loadtest.username", "clinlims"));
+        dataSource.setPassword(System.getProperty("loadtest.password", "clinlims"));
+
+        long started = System.nanoTime();
+        SyntheticDataset dataset = new SyntheticDataset(dataSource, LoadTestSettings.fromSystemProperties());
+        dataset.generate();
+        System.out.println(String.format(Locale.ROOT, "%d patients, %d samples and %d analyses written in %d s",
+                dataset.getPatientCount(), dataset.getSampleCount(), dataset.getAnalysisCount(),
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started)));
+    }
+}
@@ -0,0 +1,86 @@
+package org.openelisglobal.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * The shapes the synthetic data is drawn from. A lab sees a few patients many
+ * times and most patients once, a few tests make up most of the requests and
+ * turnaround times have a long tail, so uniform draws would leave the indexes
+ * and plans of a generated database far from the ones of a real one.
+ */
+final class Distributions {
+
+    private Distributions() {
+    }
+
+    /**
+     * Choices drawn in proportion to their weights, in logarithmic time however
+     * many there are.
+     */
+    static final class Weighted {
+
+        private final double[] cumulative;
+
+        Weighted(double... weights) {
+            cumulative = new double[weights.length];
+            double total = 0;
+            for (int i = 0; i < weights.length; i++) {
+                total += weights[i];
+                cumulative[i] = total;
+            }
+        }
+
+        /** @return weights falling off with rank, the first choice the most likely */
+        static Weighted zipf(int count, double exponent) {
+            double[] weights = new double[count];
+            for (int i = 0; i < count; i++) {
+                weights[i] = 1 / Math.pow(i + 1, exponent);
+            }
+            return new Weighted(weights);
+        }
+
+        int size() {
+            return cumulative.length;
+        }
+
+        int pick(SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+            return Math.min(index < 0 ? -index - 1 : index + 1, cumulative.length - 1);
+        }
+    }
+
+    /** @return a count of at least one whose mean is the given one */
+    static int geometric(SplittableRandom random, double mean, int max) {
+        if (mean <= 1) {
+            return 1;
+        }
+        double failure = 1 - 1 / mean;
+        int count = 1 + (int) (Math.log(1 - random.nextDouble()) / Math.log(failure));
+        return Math.min(count, max);
+    }
+
+    static int poisson(SplittableRandom random, double mean) {
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    /** @return a value whose logarithm is normally distributed around the median */
+    static double logNormal(SplittableRandom random, double median, double sigma) {
+        return median * Math.exp(random.nextGaussian() * sigma);
+    }
+
+    /** @return a random version 4 UUID taken from the given generator */
+    static UUID uuid(SplittableRandom random) {
+        long most = random.nextLong() & 0xffffffffffff0fffL | 0x0000000000004000L;
+        long least = random.nextLong() & 0x3fffffffffffffffL | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+}
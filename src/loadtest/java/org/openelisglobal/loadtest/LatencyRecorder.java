@@ -0,0 +1,49 @@
+package org.openelisglobal.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The latencies of one workload on one thread. Recorders are only merged once
+ * their threads have stopped, so nothing here is synchronized.
+ */
+class LatencyRecorder {
+
+    private long[] nanos = new long[1024];
+    private int count;
+    private int errors;
+
+    void record(long elapsedNanos) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = elapsedNanos;
+    }
+
+    void recordError() {
+        errors++;
+    }
+
+    void addAll(LatencyRecorder other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.nanos[i]);
+        }
+        errors += other.errors;
+    }
+
+    /** @return the result of a run of the given length, in which these were recorded */
+    WorkloadResult toResult(String name, double seconds) {
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        return new WorkloadResult(name, count, errors, count / seconds, percentile(sorted, 50),
+                percentile(sorted, 95), percentile(sorted, 99), count == 0 ? 0 : sorted[count - 1] / 1e6);
+    }
+
+    /** @return the nearest-rank percentile in milliseconds */
+    private static double percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1e6;
+    }
+}
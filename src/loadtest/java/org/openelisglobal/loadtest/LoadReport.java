@@ -0,0 +1,97 @@
+package org.openelisglobal.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The results of the runs of a load test, printed as a table and written as
+ * JSON so that the report of one release can be given as the baseline of the
+ * next. When there is a baseline, the change in throughput and in the 95th
+ * percentile is printed next to every workload it also measured.
+ */
+public class LoadReport {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final LoadTestSettings settings;
+    private final Map<String, List<WorkloadResult>> runs = new LinkedHashMap<>();
+
+    public LoadReport(LoadTestSettings settings) {
+        this.settings = settings;
+    }
+
+    public synchronized void add(String run, List<WorkloadResult> results) {
+        runs.put(run, results);
+    }
+
+    public synchronized void print(PrintStream out) throws IOException {
+        JsonNode baseline = settings.getBaselineFile() == null ? null
+                : OBJECT_MAPPER.readTree(new File(settings.getBaselineFile())).path("runs");
+        out.println(String.format(Locale.ROOT, "%-16s %-16s %8s %6s %9s %9s %9s %9s %9s", "run", "workload",
+                "count", "errors", "per sec", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (Map.Entry<String, List<WorkloadResult>> run : runs.entrySet()) {
+            for (WorkloadResult result : run.getValue()) {
+                String line = String.format(Locale.ROOT, "%-16s %-16s %8d %6d %9.1f %9.1f %9.1f %9.1f %9.1f",
+                        run.getKey(), result.name(), result.count(), result.errors(), result.throughput(),
+                        result.p50(), result.p95(), result.p99(), result.max());
+                JsonNode before = baseline == null ? null : find(baseline.path(run.getKey()), result.name());
+                if (before != null) {
+                    line += String.format(Locale.ROOT, "   per sec %+.0f%%, p95 %+.0f%%",
+                            change(before.path("throughput").asDouble(), result.throughput()),
+                            change(before.path("p95").asDouble(), result.p95()));
+                }
+                out.println(line);
+            }
+        }
+    }
+
+    public synchronized void write(File file) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("created", OffsetDateTime.now().toString());
+        Map<String, Object> runSettings = new LinkedHashMap<>();
+        runSettings.put("threads", settings.getThreads());
+        runSettings.put("warmupSeconds", settings.getWarmupSeconds());
+        runSettings.put("durationSeconds", settings.getDurationSeconds());
+        runSettings.put("patients", settings.getPatients());
+        runSettings.put("samplesPerPatient", settings.getSamplesPerPatient());
+        runSettings.put("testsPerSample", settings.getTestsPerSample());
+        runSettings.put("historyPerSample", settings.getHistoryPerSample());
+        runSettings.put("pendingPercent", settings.getPendingPercent());
+        runSettings.put("days", settings.getDays());
+        runSettings.put("electronicOrderPercent", settings.getElectronicOrderPercent());
+        runSettings.put("storedPercent", settings.getStoredPercent());
+        runSettings.put("freezers", settings.getFreezers());
+        runSettings.put("readingDays", settings.getReadingDays());
+        runSettings.put("seed", settings.getSeed());
+        report.put("settings", runSettings);
+        report.put("runs", runs);
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null) {
+            directory.mkdirs();
+        }
+        OBJECT_MAPPER.writeValue(file, report);
+    }
+
+    private static JsonNode find(JsonNode results, String name) {
+        for (JsonNode result : results) {
+            if (name.equals(result.path("name").asText())) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before * 100;
+    }
+}
@@ -0,0 +1,149 @@
+package org.openelisglobal.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openelisglobal.common.log.LogEvent;
+import org.springframework.mock.web.MockHttpSession;
+
+/**
+ * Calls a mix of workloads from a number of threads for a fixed time, each
+ * thread as a separate user with its own session, and measures the calls made
+ * after the warmup. Every thread keeps its own latencies; they are merged when
+ * the run is over.
+ */
+public class LoadRunner {
+
+    /** A workload and how often it is picked relative to the others in a mix. */
+    public record WeightedWorkload(Workload workload, int weight) {
+    }
+
+    private final LoadTestSettings settings;
+    private final Supplier<MockHttpSession> sessions;
+
+    public LoadRunner(LoadTestSettings settings, Supplier<MockHttpSession> sessions) {
+        this.settings = settings;
+        this.sessions = sessions;
+    }
+
+    public List<WorkloadResult> run(List<WeightedWorkload> workloads) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(settings.getWarmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(settings.getDurationSeconds());
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.getThreads());
+        List<Future<Worker>> futures = new ArrayList<>();
+        for (int thread = 0; thread < settings.getThreads(); thread++) {
+            Worker worker = new Worker(workloads, new Random(settings.getSeed() + thread), measureFrom, end);
+            futures.add(executor.submit(worker, worker));
+        }
+        executor.shutdown();
+
+        List<LatencyRecorder> merged = new ArrayList<>();
+        for (int i = 0; i < workloads.size(); i++) {
+            merged.add(new LatencyRecorder());
+        }
+        long lastCall = measureFrom;
+        for (Future<Worker> future : futures) {
+            Worker worker;
+            try {
+                worker = future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("a load test thread failed", e.getCause());
+            }
+            for (int i = 0; i < workloads.size(); i++) {
+                merged.get(i).addAll(worker.recorders[i]);
+            }
+            lastCall = Math.max(lastCall, worker.lastCall);
+        }
+
+        // threads stop early when there is nothing left to do
+        double seconds = Math.max(Math.min(lastCall, end) - measureFrom, 1) / 1e9;
+        List<WorkloadResult> results = new ArrayList<>();
+        for (int i = 0; i < workloads.size(); i++) {
+            results.add(merged.get(i).toResult(workloads.get(i).workload().getName(), seconds));
+        }
+        return results;
+    }
+
+    private class Worker implements Runnable {
+
+        private final List<WeightedWorkload> workloads;
+        private final Random random;
+        private final long measureFrom;
+        private final long end;
+        private final LatencyRecorder[] recorders;
+        private final boolean[] exhausted;
+        private long lastCall;
+
+        Worker(List<WeightedWorkload> workloads, Random random, long measureFrom, long end) {
+            this.workloads = workloads;
+            this.random = random;
+            this.measureFrom = measureFrom;
+            this.end = end;
+            recorders = new LatencyRecorder[workloads.size()];
+            for (int i = 0; i < recorders.length; i++) {
+                recorders[i] = new LatencyRecorder();
+            }
+            exhausted = new boolean[workloads.size()];
+        }
+
+        @Override
+        public void run() {
+            MockHttpSession session = sessions.get();
+            boolean[] errorLogged = new boolean[workloads.size()];
+            int index;
+            while (System.nanoTime() < end && (index = pick()) >= 0) {
+                Workload workload = workloads.get(index).workload();
+                long started = System.nanoTime();
+                boolean measured = started >= measureFrom;
+                try {
+                    if (!workload.execute(session, random)) {
+                        exhausted[index] = true;
+                        continue;
+                    }
+                    if (measured) {
+                        recorders[index].record(System.nanoTime() - started);
+                    }
+                } catch (Exception | AssertionError e) {
+                    if (measured) {
+                        recorders[index].recordError();
+                    }
+                    if (!errorLogged[index]) {
+                        errorLogged[index] = true;
+                        LogEvent.logError(getClass().getSimpleName(), "run",
+                                workload.getName() + " failed: " + e.getMessage());
+                    }
+                }
+                lastCall = System.nanoTime();
+            }
+        }
+
+        /** @return a workload picked by weight among those with work left, or -1 */
+        private int pick() {
+            int total = 0;
+            for (int i = 0; i < workloads.size(); i++) {
+                total += exhausted[i] ? 0 : workloads.get(i).weight();
+            }
+            if (total == 0) {
+                return -1;
+            }
+            int draw = random.nextInt(total);
+            for (int i = 0; i < workloads.size(); i++) {
+                if (!exhausted[i]) {
+                    draw -= workloads.get(i).weight();
+                    if (draw < 0) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+}
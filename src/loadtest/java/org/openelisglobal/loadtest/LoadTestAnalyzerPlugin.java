@@ -0,0 +1,109 @@
+package org.openelisglobal.loadtest;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import org.openelisglobal.analyzerimport.analyzerreaders.AnalyzerLineInserter;
+import org.openelisglobal.analyzerresults.valueholder.AnalyzerResults;
+import org.openelisglobal.plugin.AnalyzerImporterPlugin;
+
+/**
+ * Takes the place of the analyzer plugins, which are built and deployed from
+ * their own repository, for the messages the analyzer workloads send. It reads
+ * the accession number and the results of an ASTM or HL7 ORU^R01 message with
+ * the {@value #SENDER} sender and stages them through the same path the
+ * plugins use.
+ */
+public class LoadTestAnalyzerPlugin implements AnalyzerImporterPlugin {
+
+    public static final String SENDER = "LOADTEST";
+
+    private final String analyzerId;
+
+    public LoadTestAnalyzerPlugin(String analyzerId) {
+        this.analyzerId = analyzerId;
+    }
+
+    @Override
+    public boolean connect() {
+        return true;
+    }
+
+    @Override
+    public boolean isTargetAnalyzer(List<String> lines) {
+        for (String line : lines) {
+            if (line.startsWith("H|")) {
+                return field(line, 4).startsWith(SENDER + "^");
+            }
+            if (line.startsWith("MSH|")) {
+                return SENDER.equals(field(line, 2));
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public AnalyzerLineInserter getAnalyzerLineInserter() {
+        return new LineInserter();
+    }
+
+    private static String field(String line, int index) {
+        String[] fields = line.split("\\|", -1);
+        return index < fields.length ? fields[index] : "";
+    }
+
+    private class LineInserter extends AnalyzerLineInserter {
+
+        private String error;
+
+        @Override
+        public boolean insert(List<String> lines, String currentUserId) {
+            List<AnalyzerResults> results = new ArrayList<>();
+            String accessionNumber = null;
+            for (String line : lines) {
+                if (line.startsWith("O|")) {
+                    accessionNumber = field(line, 2);
+                } else if (line.startsWith("OBR|")) {
+                    accessionNumber = field(line, 3);
+                } else if (line.startsWith("R|")) {
+                    // ^^^testId^name
+                    String[] test = field(line, 2).split("\\^", -1);
+                    results.add(result(accessionNumber, test[3], test[4], field(line, 3), field(line, 4)));
+                } else if (line.startsWith("OBX|")) {
+                    // testId^name
+                    String[] test = field(line, 3).split("\\^", -1);
+                    results.add(result(accessionNumber, test[0], test[1], field(line, 5), field(line, 6)));
+                }
+            }
+            if (results.isEmpty()) {
+                error = "no results in the message";
+                return false;
+            }
+            if (!persistImport(currentUserId, results)) {
+                error = "the results could not be staged";
+                return false;
+            }
+            return true;
+        }
+
+        private AnalyzerResults result(String accessionNumber, String testId, String testName, String value,
+                String units) {
+            AnalyzerResults result = new AnalyzerResults();
+            result.setAnalyzerId(analyzerId);
+            result.setAccessionNumber(accessionNumber);
+            result.setTestId(testId);
+            result.setTestName(testName);
+            result.setResult(value);
+            result.setUnits(units);
+            result.setResultType("N");
+            result.setIsControl(false);
+            result.setCompleteDate(new Timestamp(System.currentTimeMillis()));
+            return result;
+        }
+
+        @Override
+        public String getError() {
+            return error;
+        }
+    }
+}
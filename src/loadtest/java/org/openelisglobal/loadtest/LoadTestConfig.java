@@ -0,0 +1,39 @@
+package org.openelisglobal.loadtest;
+
+import static org.mockito.Mockito.mock;
+
+import org.openelisglobal.common.rest.provider.PatientSearchRestController;
+import org.openelisglobal.common.services.DisplayListService;
+import org.openelisglobal.dataexchange.fhir.service.FhirPersistanceService;
+import org.openelisglobal.result.controller.rest.LogbookResultsRestController;
+import org.openelisglobal.sample.controller.rest.SamplePatientEntryRestController;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * The controllers the load test calls, which the test configuration leaves out,
+ * and the real display lists, which result entry filters the lab units of the
+ * user with. There is no FHIR store next to the test database, so the FHIR
+ * resources built for every order and result are not sent anywhere.
+ */
+@Configuration
+@Import({ SamplePatientEntryRestController.class, LogbookResultsRestController.class,
+        PatientSearchRestController.class })
+public class LoadTestConfig {
+
+    @Bean
+    @Profile("test")
+    public DisplayListService displayListService() {
+        return new DisplayListService();
+    }
+
+    @Bean
+    @Primary
+    @Profile("test")
+    public FhirPersistanceService loadTestFhirPersistanceService() {
+        return mock(FhirPersistanceService.class);
+    }
+}
@@ -0,0 +1,134 @@
+package org.openelisglobal.loadtest;
+
+/**
+ * The size of the synthetic dataset and the shape of a run, read from the
+ * {@code loadtest.*} system properties so that two releases can be run with the
+ * same settings. The counts per patient and per sample are averages; the
+ * generator draws the actual ones around them.
+ */
+public class LoadTestSettings {
+
+    private final int threads;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final int patients;
+    private final int samplesPerPatient;
+    private final int testsPerSample;
+    private final int historyPerSample;
+    private final int pendingPercent;
+    private final int days;
+    private final int electronicOrderPercent;
+    private final int storedPercent;
+    private final int freezers;
+    private final int readingDays;
+    private final int connections;
+    private final boolean dropIndexes;
+    private final long seed;
+    private final String reportFile;
+    private final String baselineFile;
+
+    private LoadTestSettings() {
+        threads = Integer.getInteger("loadtest.threads", 8);
+        warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 10);
+        durationSeconds = Integer.getInteger("loadtest.durationSeconds", 60);
+        patients = Integer.getInteger("loadtest.patients", 5000);
+        samplesPerPatient = Integer.getInteger("loadtest.samplesPerPatient", 2);
+        testsPerSample = Integer.getInteger("loadtest.testsPerSample", 3);
+        historyPerSample = Integer.getInteger("loadtest.historyPerSample", 2);
+        pendingPercent = Integer.getInteger("loadtest.pendingPercent", 30);
+        days = Integer.getInteger("loadtest.days", 365);
+        electronicOrderPercent = Integer.getInteger("loadtest.electronicOrderPercent", 15);
+        storedPercent = Integer.getInteger("loadtest.storedPercent", 60);
+        freezers = Integer.getInteger("loadtest.freezers", 4);
+        readingDays = Integer.getInteger("loadtest.readingDays", 30);
+        connections = Integer.getInteger("loadtest.connections", Runtime.getRuntime().availableProcessors());
+        dropIndexes = Boolean.parseBoolean(System.getProperty("loadtest.dropIndexes", "true"));
+        seed = Long.getLong("loadtest.seed", 42L);
+        reportFile = System.getProperty("loadtest.report", "target/loadtest-report.json");
+        baselineFile = System.getProperty("loadtest.baseline");
+    }
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings();
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public int getPatients() {
+        return patients;
+    }
+
+    public int getSamplesPerPatient() {
+        return samplesPerPatient;
+    }
+
+    public int getTestsPerSample() {
+        return testsPerSample;
+    }
+
+    public int getHistoryPerSample() {
+        return historyPerSample;
+    }
+
+    /** @return the share of the seeded samples whose analyses are still waiting for results */
+    public int getPendingPercent() {
+        return pendingPercent;
+    }
+
+    /** @return how many days back the received dates of the seeded samples go */
+    public int getDays() {
+        return days;
+    }
+
+    /** @return the share of the seeded samples that were ordered electronically */
+    public int getElectronicOrderPercent() {
+        return electronicOrderPercent;
+    }
+
+    /** @return the share of the finished samples kept in a freezer box */
+    public int getStoredPercent() {
+        return storedPercent;
+    }
+
+    public int getFreezers() {
+        return freezers;
+    }
+
+    /** @return how many days of temperature readings every freezer has */
+    public int getReadingDays() {
+        return readingDays;
+    }
+
+    /** @return how many tables or parts of a table are written at the same time */
+    public int getConnections() {
+        return connections;
+    }
+
+    /** @return whether the plain indexes are dropped for the load and built again after it */
+    public boolean isDropIndexes() {
+        return dropIndexes;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getReportFile() {
+        return reportFile;
+    }
+
+    /** @return a report of an earlier run to compare with, or null */
+    public String getBaselineFile() {
+        return baselineFile;
+    }
+}
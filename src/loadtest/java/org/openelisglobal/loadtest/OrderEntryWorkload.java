@@ -0,0 +1,103 @@
+package org.openelisglobal.loadtest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.openelisglobal.common.util.DateUtil;
+import org.openelisglobal.loadtest.SyntheticDataset.PendingSample;
+import org.openelisglobal.loadtest.SyntheticDataset.TestRef;
+import org.openelisglobal.sample.service.SampleService;
+import org.openelisglobal.sample.util.AccessionNumberUtil;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * A new patient with one sample and a few tests on it, saved the way the order
+ * entry page saves it. The accession number is reserved first, as the page does
+ * when it is opened, and the order is looked up afterwards because the page is
+ * answered with a success status even when the save failed; both are counted
+ * in the time of the save.
+ */
+public class OrderEntryWorkload extends RestWorkload {
+
+    private static final AtomicInteger NEXT_PATIENT = new AtomicInteger();
+
+    private final SampleService sampleService;
+    private final int testsPerSample;
+
+    public OrderEntryWorkload(MockMvc mockMvc, SyntheticDataset dataset, SampleService sampleService,
+            int testsPerSample) {
+        super(mockMvc, dataset);
+        this.sampleService = sampleService;
+        this.testsPerSample = testsPerSample;
+    }
+
+    @Override
+    public String getName() {
+        return "order entry";
+    }
+
+    @Override
+    public boolean execute(MockHttpSession session, Random random) throws Exception {
+        String labNo = AccessionNumberUtil.getMainAccessionNumberGenerator().getNextAvailableAccessionNumber("",
+                true);
+        List<String> sampleTypes = new ArrayList<>(dataset.getTestsBySampleType().keySet());
+        String sampleType = sampleTypes.get(random.nextInt(sampleTypes.size()));
+        List<TestRef> tests = new ArrayList<>(dataset.getTestsBySampleType().get(sampleType));
+        Collections.shuffle(tests, random);
+        tests = List.copyOf(tests.subList(0, Math.min(testsPerSample, tests.size())));
+
+        perform(post("/rest/SamplePatientEntry").session(session).contentType(MediaType.APPLICATION_JSON)
+                .content(form(labNo, sampleType, tests, random).toString()));
+        // the page is saved with a success status whether or not the order was
+        if (sampleService.getSampleByAccessionNumber(labNo) == null) {
+            throw new IllegalStateException("order " + labNo + " was not saved");
+        }
+        dataset.addAwaitingResults(new PendingSample(labNo, tests));
+        return true;
+    }
+
+    private ObjectNode form(String labNo, String sampleType, List<TestRef> tests, Random random) {
+        int patient = NEXT_PATIENT.incrementAndGet();
+        String today = DateUtil.getCurrentDateAsText();
+        String now = DateUtil.getCurrentTimeAsText();
+
+        ObjectNode form = OBJECT_MAPPER.createObjectNode();
+        form.put("patientUpdateStatus", "ADD");
+        ObjectNode patientProperties = form.putObject("patientProperties");
+        patientProperties.put("patientUpdateStatus", "ADD");
+        patientProperties.put("lastName", dataset.lastName(random.nextInt(dataset.getPatientCount())));
+        patientProperties.put("firstName", dataset.firstName(random.nextInt(dataset.getPatientCount())));
+        patientProperties.put("gender", random.nextBoolean() ? "M" : "F");
+        patientProperties.put("birthDateForDisplay", DateUtil.formatDateAsText(
+                new Date(System.currentTimeMillis() - (365L + random.nextInt(80 * 365)) * 24 * 3600_000L)));
+        patientProperties.put("nationalId", String.format("LO%08d", patient));
+
+        ObjectNode sampleOrderItems = form.putObject("sampleOrderItems");
+        sampleOrderItems.put("labNo", labNo);
+        sampleOrderItems.put("requestDate", today);
+        sampleOrderItems.put("receivedDateForDisplay", today);
+        sampleOrderItems.put("receivedTime", now);
+        sampleOrderItems.put("priority", "ROUTINE");
+        sampleOrderItems.put("providerFirstName", "Load");
+        sampleOrderItems.put("providerLastName", "Test");
+        sampleOrderItems.put("modified", true);
+
+        form.put("sampleXML", "<?xml version=\"1.0\" encoding=\"utf-8\"?><samples><sample sampleID='" + sampleType
+                + "' date='" + today + "' time='" + now + "' collector='' quantity='' uom='' tests='"
+                + tests.stream().map(TestRef::testId).collect(Collectors.joining(","))
+                + "' testSectionMap='' testSampleTypeMap='' panels='' rejected='false' rejectReasonId=''"
+                + " initialConditionIds='' storageLocationId='' storageLocationType=''"
+                + " storagePositionCoordinate='' gpsLatitude='' gpsLongitude='' gpsAccuracy=''"
+                + " gpsCaptureMethod=''/></samples>");
+        return form;
+    }
+}
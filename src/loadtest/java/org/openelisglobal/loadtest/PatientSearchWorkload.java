@@ -0,0 +1,46 @@
+package org.openelisglobal.loadtest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.util.Random;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Searching the local patients the way the patient search panel does: half of
+ * the searches by name, the others by national id or by the lab number of one
+ * of the patient's orders.
+ */
+public class PatientSearchWorkload extends RestWorkload {
+
+    public PatientSearchWorkload(MockMvc mockMvc, SyntheticDataset dataset) {
+        super(mockMvc, dataset);
+    }
+
+    @Override
+    public String getName() {
+        return "patient search";
+    }
+
+    @Override
+    public boolean execute(MockHttpSession session, Random random) throws Exception {
+        MockHttpServletRequestBuilder request = get("/rest/patient-search-results").session(session)
+                .param("suppressExternalSearch", "true").accept(MediaType.APPLICATION_JSON);
+        int patient = random.nextInt(dataset.getPatientCount());
+        int kind = random.nextInt(4);
+        if (kind < 2) {
+            request.param("lastName", dataset.lastName(patient));
+            if (kind == 1) {
+                request.param("firstName", dataset.firstName(patient));
+            }
+        } else if (kind == 2) {
+            request.param("nationalID", dataset.nationalId(patient));
+        } else {
+            request.param("labNumber", dataset.accessionNumber(random.nextInt(dataset.getSampleCount())));
+        }
+        perform(request);
+        return true;
+    }
+}
@@ -0,0 +1,106 @@
+package org.openelisglobal.loadtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.Before;
+import org.junit.Test;
+import org.openelisglobal.BaseWebContextSensitiveTest;
+import org.openelisglobal.common.action.IActionConstants;
+import org.openelisglobal.common.services.PluginAnalyzerService;
+import org.openelisglobal.loadtest.AnalyzerIngestionWorkload.Protocol;
+import org.openelisglobal.loadtest.LoadRunner.WeightedWorkload;
+import org.openelisglobal.login.valueholder.UserSessionData;
+import org.openelisglobal.sample.service.SampleService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * Measures order entry, result entry, analyzer ingestion and patient search
+ * against a database seeded with a synthetic dataset, first one at a time and
+ * then together in the proportions of a working day. Run it with the
+ * {@code loadtest} profile; the settings are described in
+ * {@link LoadTestSettings} and the report is written to
+ * {@code target/loadtest-report.json}.
+ */
+@ContextConfiguration(classes = LoadTestConfig.class)
+public class ReleaseLoadTest extends BaseWebContextSensitiveTest {
+
+    private static final int ADMIN_USER_ID = 1;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PluginAnalyzerService pluginAnalyzerService;
+
+    @Autowired
+    private SampleService sampleService;
+
+    private LoadTestSettings settings;
+    private SyntheticDataset dataset;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        settings = LoadTestSettings.fromSystemProperties();
+        dataset = new SyntheticDataset(dataSource, settings);
+        dataset.seed();
+        when(pluginAnalyzerService.getAnalyzerPlugins())
+                .thenReturn(List.of(new LoadTestAnalyzerPlugin(dataset.getAnalyzerId())));
+    }
+
+    @Test
+    public void releaseWorkloads() throws Exception {
+        WeightedWorkload orderEntry = new WeightedWorkload(
+                new OrderEntryWorkload(mockMvc, dataset, sampleService, settings.getTestsPerSample()), 20);
+        WeightedWorkload resultEntry = new WeightedWorkload(new ResultEntryWorkload(mockMvc, dataset), 20);
+        WeightedWorkload astm = new WeightedWorkload(new AnalyzerIngestionWorkload(mockMvc, dataset, Protocol.ASTM),
+                10);
+        WeightedWorkload hl7 = new WeightedWorkload(new AnalyzerIngestionWorkload(mockMvc, dataset, Protocol.HL7),
+                10);
+        WeightedWorkload patientSearch = new WeightedWorkload(new PatientSearchWorkload(mockMvc, dataset), 40);
+
+        LoadRunner runner = new LoadRunner(settings, this::newSession);
+        LoadReport report = new LoadReport(settings);
+        List<WorkloadResult> all = new ArrayList<>();
+        for (WeightedWorkload workload : List.of(orderEntry, resultEntry, astm, hl7, patientSearch)) {
+            List<WorkloadResult> results = runner.run(List.of(workload));
+            report.add(workload.workload().getName(), results);
+            all.addAll(results);
+        }
+        List<WorkloadResult> mixed = runner.run(List.of(orderEntry, resultEntry, astm, hl7, patientSearch));
+        report.add("mixed", mixed);
+        all.addAll(mixed);
+
+        report.print(System.out);
+        report.write(new File(settings.getReportFile()));
+        for (WorkloadResult result : all) {
+            assertTrue(result.name() + " made no calls", result.count() > 0);
+            assertEquals(result.name() + " failed", 0, result.errors());
+        }
+    }
+
+    /** @return the session of a user logged in as the administrator */
+    private MockHttpSession newSession() {
+        UserSessionData userSessionData = new UserSessionData();
+        userSessionData.setSytemUserId(ADMIN_USER_ID);
+        userSessionData.setLoginName("admin");
+        User user = new User("admin", "", List.of());
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute(IActionConstants.USER_SESSION_DATA, userSessionData);
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+                new SecurityContextImpl(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())));
+        return session;
+    }
+}
@@ -0,0 +1,30 @@
+package org.openelisglobal.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+/** A workload made of requests to the application's controllers. */
+abstract class RestWorkload implements Workload {
+
+    protected static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    protected final MockMvc mockMvc;
+    protected final SyntheticDataset dataset;
+
+    RestWorkload(MockMvc mockMvc, SyntheticDataset dataset) {
+        this.mockMvc = mockMvc;
+        this.dataset = dataset;
+    }
+
+    /** @return the response, which was successful */
+    protected MvcResult perform(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        int status = result.getResponse().getStatus();
+        if (status < 200 || status >= 300) {
+            throw new IllegalStateException("HTTP " + status + ": " + result.getResponse().getContentAsString());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,61 @@
+package org.openelisglobal.loadtest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.Locale;
+import java.util.Random;
+import org.openelisglobal.loadtest.SyntheticDataset.PendingSample;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Entering the results of an order by its accession number: the results page
+ * is loaded, every analysis on it is given a result and the page is saved. Both
+ * requests are counted, as a technician waits for both. Each order is resulted
+ * once, so the workload stops counting when no order is left waiting.
+ */
+public class ResultEntryWorkload extends RestWorkload {
+
+    public ResultEntryWorkload(MockMvc mockMvc, SyntheticDataset dataset) {
+        super(mockMvc, dataset);
+    }
+
+    @Override
+    public String getName() {
+        return "result entry";
+    }
+
+    @Override
+    public boolean execute(MockHttpSession session, Random random) throws Exception {
+        PendingSample sample = dataset.nextAwaitingResults();
+        if (sample == null) {
+            return false;
+        }
+        String page = perform(get("/rest/LogbookResults").session(session)
+                .param("labNumber", sample.accessionNumber()).accept(MediaType.APPLICATION_JSON)).getResponse()
+                .getContentAsString();
+        ObjectNode form = (ObjectNode) OBJECT_MAPPER.readTree(page);
+        JsonNode testResults = form.path("testResult");
+        if (testResults.isEmpty()) {
+            throw new IllegalStateException("no analysis to result for " + sample.accessionNumber());
+        }
+        for (JsonNode testResult : testResults) {
+            ObjectNode item = (ObjectNode) testResult;
+            JsonNode dictionaryResults = item.path("dictionaryResults");
+            if (dictionaryResults.isEmpty()) {
+                item.put("resultValue", String.format(Locale.ROOT, "%.1f", 1 + random.nextDouble() * 199));
+            } else {
+                item.put("resultValue", dictionaryResults.get(random.nextInt(dictionaryResults.size())).path("id")
+                        .asText());
+            }
+            item.put("isModified", true);
+        }
+        perform(post("/rest/LogbookResults").session(session).contentType(MediaType.APPLICATION_JSON)
+                .content(form.toString()));
+        return true;
+    }
+}
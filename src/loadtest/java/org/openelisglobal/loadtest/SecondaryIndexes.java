@@ -0,0 +1,75 @@
+package org.openelisglobal.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.openelisglobal.common.log.LogEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * The plain indexes of the tables a dataset is loaded into, dropped before the
+ * load and built again after it: one sort per index costs far less than
+ * updating it for every row, the trigram indexes most of all. Primary key and
+ * unique indexes stay, since the constraints and the foreign key checks of the
+ * load need them.
+ */
+class SecondaryIndexes {
+
+    private static final String PLAIN_INDEXES_SQL = "SELECT format('%I.%I', n.nspname, c.relname) AS name,"
+            + " pg_get_indexdef(i.indexrelid) AS definition" //
+            + " FROM pg_index i" //
+            + " JOIN pg_class c ON c.oid = i.indexrelid" //
+            + " JOIN pg_namespace n ON n.oid = c.relnamespace" //
+            + " WHERE i.indrelid = ANY (?::regclass[]) AND NOT i.indisunique AND NOT i.indisprimary"
+            + " AND NOT EXISTS (SELECT 1 FROM pg_constraint k WHERE k.conindid = i.indexrelid)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, String> definitions = new LinkedHashMap<>();
+
+    SecondaryIndexes(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    void drop(List<String> tables) {
+        List<String> qualified = new ArrayList<>();
+        for (String table : tables) {
+            qualified.add("clinlims." + table);
+        }
+        jdbcTemplate.query(PLAIN_INDEXES_SQL, rs -> {
+            definitions.put(rs.getString("name"), rs.getString("definition"));
+        }, "{" + String.join(",", qualified) + "}");
+        for (Map.Entry<String, String> index : definitions.entrySet()) {
+            // the definition is logged first so that an interrupted load can be repaired by hand
+            LogEvent.logInfo(getClass().getSimpleName(), "drop", "dropping " + index.getValue());
+            jdbcTemplate.execute("DROP INDEX " + index.getKey());
+        }
+    }
+
+    /** Builds the dropped indexes again, as many at a time as the executor runs. */
+    void rebuild(ExecutorService executor) throws InterruptedException {
+        List<Future<?>> builds = new ArrayList<>();
+        for (String definition : definitions.values()) {
+            builds.add(executor.submit(() -> jdbcTemplate.execute(definition)));
+        }
+        RuntimeException failure = null;
+        for (Future<?> build : builds) {
+            try {
+                build.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = new IllegalStateException("an index could not be built again", e.getCause());
+                } else {
+                    failure.addSuppressed(e.getCause());
+                }
+            }
+        }
+        definitions.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,890 @@
+package org.openelisglobal.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.openelisglobal.coldstorage.config.FreezerMonitoringProperties;
+import org.openelisglobal.coldstorage.dao.impl.FreezerReadingRollupDAOImpl;
+import org.openelisglobal.common.log.LogEvent;
+import org.openelisglobal.common.util.DateUtil;
+import org.openelisglobal.loadtest.Distributions.Weighted;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Patients with their orders, analyses, results, audit history and electronic
+ * orders, the freezer boxes the finished samples are kept in and the
+ * temperature readings of those freezers, written with COPY over several
+ * connections at once so that a database of ten million analyses is built in
+ * minutes. The ids are taken from the sequences the application uses and the
+ * accession numbers from the counter it uses, so the rows the application
+ * creates afterwards never collide with the generated ones.
+ *
+ * Every patient and sample is derived from its index and the seed alone, which
+ * lets different threads write parts of a table and still agree with the
+ * threads writing the other tables. The tables are written parents first, so
+ * the foreign keys stay checked during the load. The samples arrive over the
+ * configured number of days and the latest ones are still waiting for results;
+ * those are handed to the result entry and analyzer workloads.
+ */
+public class SyntheticDataset {
+
+    private static final String[] FIRST_NAMES = { "Abebe", "Almaz", "Alemayehu", "Aster", "Bekele", "Birtukan",
+            "Dawit", "Eleni", "Fikru", "Genet", "Girma", "Hana", "Haile", "Kidist", "Lemma", "Liya", "Mekonnen",
+            "Meron", "Mulugeta", "Selam", "Solomon", "Tigist", "Tesfaye", "Yohannes", "Zewditu", "Amina", "Ibrahim",
+            "Fatuma", "Mohammed", "Chaltu" };
+    private static final String[] LAST_NAMES = { "Kebede", "Tadesse", "Alemu", "Bekele", "Getachew", "Haile",
+            "Mengistu", "Assefa", "Tesfaye", "Wolde", "Girma", "Desta", "Ayele", "Mulatu", "Negash", "Abera", "Gebre",
+            "Tekle", "Worku", "Yimer", "Hussein", "Ahmed", "Mohammed", "Tolosa", "Gemechu", "Lemma", "Demissie",
+            "Shiferaw", "Teshome", "Wondimu" };
+    // a young population: the age bands start at these ages and the last one ends at 90
+    private static final int[] AGE_BANDS = { 0, 5, 15, 25, 35, 45, 55, 65, 90 };
+    private static final Weighted AGE_BAND_WEIGHTS = new Weighted(15, 22, 20, 15, 10, 8, 5, 5);
+    private static final String[] PRIORITIES = { "ROUTINE", "ASAP", "STAT" };
+    private static final Weighted PRIORITY_WEIGHTS = new Weighted(85, 5, 10);
+    private static final DateTimeFormatter ENTERED_BIRTH_DATE = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final String SYSTEM_USER_ID = "1";
+    private static final int MAX_SAMPLES_PER_PATIENT = 100;
+    private static final double MEDIAN_TURNAROUND_HOURS = 6;
+    private static final int MAX_TURNAROUND_HOURS = 30 * 24;
+
+    // every freezer has four shelves of four racks, which hold 9x9 boxes
+    private static final int SHELVES_PER_FREEZER = 4;
+    private static final int RACKS_PER_SHELF = 4;
+    private static final int BOX_ROWS = 9;
+    private static final int BOX_COLUMNS = 9;
+    private static final int READING_INTERVAL_SECONDS = 60;
+    private static final double FREEZER_TARGET = -20;
+    private static final double FREEZER_WARNING = -15;
+    private static final double FREEZER_CRITICAL = -10;
+
+    // the streams of the per row generators, so that drawing a patient for its
+    // electronic orders does not draw the same numbers as drawing its visits
+    private static final long PATIENT_STREAM = 1;
+    private static final long VISIT_STREAM = 2;
+    private static final long SAMPLE_STREAM = 3;
+    private static final long ORDER_STREAM = 4;
+    private static final long FREEZER_STREAM = 5;
+
+    private static final List<String> TABLES = List.of("person", "patient", "patient_identity", "sample",
+            "sample_human", "sample_item", "analysis", "result", "history", "electronic_order", "storage_room",
+            "storage_device", "storage_shelf", "storage_rack", "storage_box", "sample_storage_assignment", "freezer",
+            "freezer_reading");
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final LoadTestSettings settings;
+
+    private final Map<String, List<TestRef>> testsBySampleType = new LinkedHashMap<>();
+    private final List<String> sampleTypes = new ArrayList<>();
+    private final List<Weighted> testWeights = new ArrayList<>();
+    private Weighted sampleTypeWeights;
+    private final Map<String, Long> firstIds = new HashMap<>();
+    private final List<PendingSample> pendingSamples = new ArrayList<>();
+    private final ConcurrentLinkedQueue<PendingSample> awaitingResults = new ConcurrentLinkedQueue<>();
+
+    private LocalDateTime now;
+    private ArrivalTimeline timeline;
+    private int sampleCount;
+    private int firstPending;
+    private int[] patientOfSample;
+    private long[] analysesBefore;
+    private int unrealizedOrders;
+    private int boxes;
+    private int readingsPerFreezer;
+    private String accessionPrefix;
+    private long firstAccessionNumber;
+    private String analyzerId;
+
+    private String identityTypeId;
+    private String sampleTableId;
+    private String orderEntered;
+    private String orderFinished;
+    private String sampleEntered;
+    private String notStarted;
+    private String finalized;
+    private String externalOrderEntered;
+    private String externalOrderRealized;
+
+    public SyntheticDataset(DataSource dataSource, LoadTestSettings settings) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.settings = settings;
+    }
+
+    /** A test and the sample type it is ordered on, with its normal range when it has one. */
+    public record TestRef(String testId, String name, String testSectionId, String sampleTypeId,
+            String sampleTypeName, String testResultId, Double lowNormal, Double highNormal) {
+    }
+
+    /** An order whose analyses have not been resulted yet. */
+    public record PendingSample(String accessionNumber, List<TestRef> tests) {
+    }
+
+    private record PatientFacts(String gender, LocalDate birthDate, UUID fhirUuid) {
+    }
+
+    /** What a sample is; the order id is null when it was not ordered electronically. */
+    private record SampleFacts(String sampleTypeId, List<TestRef> tests, String priority, Timestamp received,
+            Timestamp started, Timestamp done, UUID electronicOrderId, boolean stored) {
+    }
+
+    @FunctionalInterface
+    private interface CopyTask {
+        void copy(PGConnection connection) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface RangeCopy {
+        void copy(PGConnection connection, int from, int to) throws SQLException;
+    }
+
+    /**
+     * Generates the dataset and prepares the orders waiting for results for the
+     * workloads.
+     */
+    public void seed() throws SQLException, InterruptedException {
+        generate();
+        for (int s = firstPending; s < sampleCount; s++) {
+            pendingSamples.add(new PendingSample(accessionNumber(s), sample(s, random(SAMPLE_STREAM, s)).tests()));
+        }
+        awaitingResults.addAll(pendingSamples);
+        Collections.shuffle(pendingSamples, new Random(settings.getSeed()));
+        analyzerId = jdbcTemplate.queryForObject("SELECT min(id) FROM clinlims.analyzer WHERE is_active", String.class);
+        if (analyzerId == null) {
+            throw new IllegalStateException("an active analyzer is needed for the analyzer workloads");
+        }
+    }
+
+    public void generate() throws SQLException, InterruptedException {
+        long started = System.nanoTime();
+        loadReferenceData();
+        plan();
+        reserveIds();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, settings.getConnections()));
+        try {
+            SecondaryIndexes indexes = new SecondaryIndexes(jdbcTemplate);
+            if (settings.isDropIndexes()) {
+                indexes.drop(TABLES);
+            }
+            try {
+                List<CopyTask> parents = new ArrayList<>();
+                parents.addAll(split(settings.getPatients(), this::writePersons));
+                parents.addAll(split(sampleCount, this::writeSamples));
+                if (settings.getFreezers() > 0) {
+                    parents.add(this::writeStorage);
+                }
+                runStage("persons, samples and storage", executor, parents);
+
+                List<CopyTask> children = new ArrayList<>();
+                children.addAll(split(settings.getPatients(), this::writePatients));
+                children.addAll(split(sampleCount, this::writeSampleItems));
+                for (int f = 0; f < settings.getFreezers(); f++) {
+                    int freezer = f;
+                    children.add(connection -> writeReadings(connection, freezer));
+                }
+                runStage("patients, sample items and freezer readings", executor, children);
+
+                List<CopyTask> grandchildren = new ArrayList<>();
+                grandchildren.addAll(split(settings.getPatients(), this::writeIdentities));
+                grandchildren.addAll(split(sampleCount, this::writeSampleHumans));
+                grandchildren.addAll(split(sampleCount, this::writeElectronicOrders));
+                grandchildren.add(this::writeUnrealizedOrders);
+                grandchildren.addAll(split(sampleCount, this::writeAnalyses));
+                grandchildren.addAll(split(sampleCount, this::writeHistory));
+                if (boxes > 0) {
+                    grandchildren.addAll(split(firstPending, this::writeStorageAssignments));
+                }
+                runStage("identities, orders, analyses, history and storage assignments", executor,
+                        grandchildren);
+
+                runStage("results", executor, split(firstPending, this::writeResults));
+            } finally {
+                indexes.rebuild(executor);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        buildFreezerRollups();
+        // the statistics facts are built again from the new analyses at their next refresh
+        jdbcTemplate.update("DELETE FROM clinlims.report_fact_refresh WHERE fact_name = 'analysis_daily_fact'");
+        for (String table : TABLES) {
+            jdbcTemplate.execute("ANALYZE clinlims." + table);
+        }
+        LogEvent.logInfo(getClass().getSimpleName(), "generate",
+                String.format(Locale.ROOT, "%d patients, %d samples and %d analyses generated in %d s",
+                        settings.getPatients(), sampleCount, analysesBefore[sampleCount],
+                        TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started)));
+    }
+
+    private void loadReferenceData() {
+        testsBySampleType.clear();
+        jdbcTemplate.query("SELECT DISTINCT ON (t.id, st.sample_type_id) t.id, t.name, t.test_section_id,"
+                + " st.sample_type_id, tos.description, tr.id AS test_result_id, rl.low_normal, rl.high_normal" //
+                + " FROM clinlims.test t" //
+                + " JOIN clinlims.sampletype_test st ON st.test_id = t.id" //
+                + " JOIN clinlims.type_of_sample tos ON tos.id = st.sample_type_id" //
+                + " JOIN clinlims.test_result tr ON tr.test_id = t.id AND tr.tst_rslt_type = 'N'" //
+                + " LEFT JOIN LATERAL (SELECT min(l.low_normal) AS low_normal, max(l.high_normal) AS high_normal"
+                + " FROM clinlims.result_limits l WHERE l.test_id = t.id AND l.low_normal > -1e300"
+                + " AND l.high_normal < 1e300 AND l.high_normal > l.low_normal) rl ON true" //
+                + " WHERE t.is_active = 'Y' AND t.test_section_id IS NOT NULL" //
+                + " ORDER BY t.id, st.sample_type_id, tr.id", rs -> {
+                    TestRef test = new TestRef(rs.getString("id"), rs.getString("name"),
+                            rs.getString("test_section_id"), rs.getString("sample_type_id"),
+                            rs.getString("description"), rs.getString("test_result_id"), getDouble(rs, "low_normal"),
+                            getDouble(rs, "high_normal"));
+                    testsBySampleType.computeIfAbsent(test.sampleTypeId(), k -> new ArrayList<>()).add(test);
+                });
+        if (testsBySampleType.isEmpty()) {
+            throw new IllegalStateException("no active test with a numeric result is available to order");
+        }
+
+        // the sample types with the most tests are the ones most often received, and
+        // within a sample type a few tests are most of the requests
+        Random random = new Random(settings.getSeed());
+        sampleTypes.clear();
+        sampleTypes.addAll(testsBySampleType.keySet());
+        sampleTypes.sort(Comparator.comparingInt((String type) -> testsBySampleType.get(type).size()).reversed());
+        sampleTypeWeights = Weighted.zipf(sampleTypes.size(), 1);
+        testWeights.clear();
+        for (String sampleType : sampleTypes) {
+            List<TestRef> tests = testsBySampleType.get(sampleType);
+            Collections.shuffle(tests, random);
+            testWeights.add(Weighted.zipf(tests.size(), 1));
+        }
+
+        identityTypeId = jdbcTemplate.queryForObject(
+                "SELECT id FROM clinlims.patient_identity_type WHERE identity_type = 'ST'", String.class);
+        sampleTableId = jdbcTemplate.queryForObject("SELECT id FROM clinlims.reference_tables WHERE name = 'SAMPLE'",
+                String.class);
+        // the names StatusService maps its statuses from
+        orderEntered = statusId("ORDER", "Test Entered");
+        orderFinished = statusId("ORDER", "Testing finished");
+        sampleEntered = statusId("SAMPLE", "SampleEntered");
+        notStarted = statusId("ANALYSIS", "Not Tested");
+        finalized = statusId("ANALYSIS", "Finalized");
+        externalOrderEntered = statusId("EXTERNAL_ORDER", "Entered");
+        externalOrderRealized = statusId("EXTERNAL_ORDER", "Realized");
+    }
+
+    /** Decides how many samples every patient has and how many analyses every sample has. */
+    private void plan() {
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        timeline = new ArrivalTimeline(now, settings.getDays());
+        int patients = settings.getPatients();
+
+        long total = 0;
+        int[] visits = new int[patients];
+        for (int i = 0; i < patients; i++) {
+            visits[i] = Distributions.geometric(random(VISIT_STREAM, i), settings.getSamplesPerPatient(),
+                    MAX_SAMPLES_PER_PATIENT);
+            total += visits[i];
+        }
+        if (total > Integer.MAX_VALUE - 1) {
+            throw new IllegalArgumentException("too many samples: " + total);
+        }
+        sampleCount = (int) total;
+        // a patient's visits are spread over the whole period
+        patientOfSample = new int[sampleCount];
+        int s = 0;
+        for (int i = 0; i < patients; i++) {
+            for (int v = 0; v < visits[i]; v++) {
+                patientOfSample[s++] = i;
+            }
+        }
+        SplittableRandom shuffle = random(VISIT_STREAM, -1);
+        for (int i = sampleCount - 1; i > 0; i--) {
+            int j = shuffle.nextInt(i + 1);
+            int swap = patientOfSample[i];
+            patientOfSample[i] = patientOfSample[j];
+            patientOfSample[j] = swap;
+        }
+
+        firstPending = sampleCount - (int) ((long) sampleCount * settings.getPendingPercent() / 100);
+        analysesBefore = new long[sampleCount + 1];
+        for (int i = 0; i < sampleCount; i++) {
+            analysesBefore[i + 1] = analysesBefore[i] + sample(i, random(SAMPLE_STREAM, i)).tests().size();
+        }
+        // a tenth of the electronic orders have not been received yet
+        unrealizedOrders = (int) ((long) sampleCount * settings.getElectronicOrderPercent() / 1000);
+        boxes = settings.getFreezers() == 0 || settings.getStoredPercent() == 0 ? 0
+                : (firstPending + BOX_ROWS * BOX_COLUMNS - 1) / (BOX_ROWS * BOX_COLUMNS);
+        readingsPerFreezer = settings.getReadingDays() * 24 * 3600 / READING_INTERVAL_SECONDS;
+    }
+
+    private void reserveIds() {
+        int patients = settings.getPatients();
+        int freezers = settings.getFreezers();
+        int racks = freezers * SHELVES_PER_FREEZER * RACKS_PER_SHELF;
+        reserve("person", patients);
+        reserve("patient", patients);
+        reserve("patient_identity", patients);
+        reserve("sample", sampleCount);
+        reserve("sample_human", sampleCount);
+        reserve("sample_item", sampleCount);
+        reserve("analysis", analysesBefore[sampleCount]);
+        reserve("result", analysesBefore[firstPending]);
+        reserve("history", (long) sampleCount * settings.getHistoryPerSample());
+        // orders are numbered by their sample, those not received yet come after
+        reserve("electronic_order", (long) sampleCount + unrealizedOrders);
+        reserve("storage_room", freezers == 0 ? 0 : 1);
+        reserve("storage_device", freezers);
+        reserve("storage_shelf", freezers * SHELVES_PER_FREEZER);
+        reserve("storage_rack", racks);
+        reserve("storage_box", boxes);
+        reserve("sample_storage_assignment", boxes == 0 ? 0 : firstPending);
+        reserve("freezer", freezers);
+        reserve("freezer_reading", (long) freezers * readingsPerFreezer);
+        reserveAccessionNumbers(sampleCount);
+    }
+
+    private void writePersons(PGConnection connection, int from, int to) throws SQLException {
+        Timestamp updated = Timestamp.valueOf(now);
+        try (CopyWriter person = new CopyWriter(connection, "person",
+                "id, last_name, first_name, primary_phone, lastupdated")) {
+            for (int i = from; i < to; i++) {
+                person.row(firstId("person") + i, lastName(i), firstName(i),
+                        String.format(Locale.ROOT, "09%08d", i), updated);
+            }
+        }
+    }
+
+    private void writePatients(PGConnection connection, int from, int to) throws SQLException {
+        Timestamp updated = Timestamp.valueOf(now);
+        try (CopyWriter patient = new CopyWriter(connection, "patient",
+                "id, person_id, gender, birth_date, entered_birth_date, national_id, external_id, is_merged, "
+                        + "fhir_uuid, lastupdated")) {
+            for (int i = from; i < to; i++) {
+                PatientFacts facts = patient(i);
+                patient.row(firstId("patient") + i, firstId("person") + i, facts.gender(),
+                        Timestamp.valueOf(facts.birthDate().atStartOfDay()),
+                        facts.birthDate().format(ENTERED_BIRTH_DATE), nationalId(i), "EXT" + i, false,
+                        facts.fhirUuid(), updated);
+            }
+        }
+    }
+
+    private void writeIdentities(PGConnection connection, int from, int to) throws SQLException {
+        Timestamp updated = Timestamp.valueOf(now);
+        try (CopyWriter identity = new CopyWriter(connection, "patient_identity",
+                "id, identity_type_id, patient_id, identity_data, lastupdated")) {
+            for (int i = from; i < to; i++) {
+                identity.row(firstId("patient_identity") + i, identityTypeId, firstId("patient") + i,
+                        String.format(Locale.ROOT, "ST%08d", i), updated);
+            }
+        }
+    }
+
+    private void writeSamples(PGConnection connection, int from, int to) throws SQLException {
+        try (CopyWriter sample = new CopyWriter(connection, "sample",
+                "id, accession_number, domain, status_id, entered_date, received_date, collection_date, "
+                        + "order_priority, is_confirmation, referring_id, fhir_uuid, lastupdated")) {
+            for (int s = from; s < to; s++) {
+                SplittableRandom random = random(SAMPLE_STREAM, s);
+                SampleFacts facts = sample(s, random);
+                sample.row(firstId("sample") + s, accessionNumber(s), "H",
+                        facts.done() == null ? orderEntered : orderFinished, facts.received(), facts.received(),
+                        facts.received(), facts.priority(), false, facts.electronicOrderId(),
+                        Distributions.uuid(random), facts.done() == null ? facts.received() : facts.done());
+            }
+        }
+    }
+
+    private void writeSampleHumans(PGConnection connection, int from, int to) throws SQLException {
+        Timestamp updated = Timestamp.valueOf(now);
+        try (CopyWriter sampleHuman = new CopyWriter(connection, "sample_human",
+                "id, samp_id, patient_id, lastupdated")) {
+            for (int s = from; s < to; s++) {
+                sampleHuman.row(firstId("sample_human") + s, firstId("sample") + s,
+                        firstId("patient") + patientOfSample[s], updated);
+            }
+        }
+    }
+
+    private void writeSampleItems(PGConnection connection, int from, int to) throws SQLException {
+        try (CopyWriter sampleItem = new CopyWriter(connection, "sample_item",
+                "id, samp_id, sort_order, typeosamp_id, collection_date, status_id, rejected, voided, "
+                        + "fhir_uuid, lastupdated")) {
+            for (int s = from; s < to; s++) {
+                SplittableRandom random = random(SAMPLE_STREAM, s);
+                SampleFacts facts = sample(s, random);
+                sampleItem.row(firstId("sample_item") + s, firstId("sample") + s, 1, facts.sampleTypeId(),
+                        facts.received(), sampleEntered, false, false, Distributions.uuid(random),
+                        facts.received());
+            }
+        }
+    }
+
+    private void writeAnalyses(PGConnection connection, int from, int to) throws SQLException {
+        try (CopyWriter analysis = new CopyWriter(connection, "analysis",
+                "id, sampitem_id, test_id, test_sect_id, status_id, analysis_type, type_of_sample_name, "
+                        + "entry_date, started_date, completed_date, released_date, is_reportable, "
+                        + "result_calculated, reflex_trigger, referred_out, corrected, fhir_uuid, lastupdated")) {
+            for (int s = from; s < to; s++) {
+                SplittableRandom random = random(SAMPLE_STREAM, s);
+                SampleFacts facts = sample(s, random);
+                boolean pending = facts.done() == null;
+                long analysisId = firstId("analysis") + analysesBefore[s];
+                for (TestRef test : facts.tests()) {
+                    analysis.row(analysisId++, firstId("sample_item") + s, test.testId(), test.testSectionId(),
+                            pending ? notStarted : finalized, "MANUAL", test.sampleTypeName(), facts.received(),
+                            facts.started(), facts.done(), facts.done(), "Y", false, false, false, false,
+                            Distributions.uuid(random), pending ? facts.received() : facts.done());
+                }
+            }
+        }
+    }
+
+    private void writeResults(PGConnection connection, int from, int to) throws SQLException {
+        try (CopyWriter result = new CopyWriter(connection, "result",
+                "id, analysis_id, test_result_id, value, result_type, is_reportable, sort_order, "
+                        + "significant_digits, grouping, fhir_uuid, lastupdated")) {
+            for (int s = from; s < to; s++) {
+                SplittableRandom random = random(SAMPLE_STREAM, s);
+                SampleFacts facts = sample(s, random);
+                // every analysis of a finished sample has one result, numbered alike
+                long offset = analysesBefore[s];
+                for (TestRef test : facts.tests()) {
+                    result.row(firstId("result") + offset, firstId("analysis") + offset, test.testResultId(),
+                            resultValue(test, random), "N", "Y", 1, 1, 0, Distributions.uuid(random),
+                            facts.done());
+                    offset++;
+                }
+            }
+        }
+    }
+
+    private void writeHistory(PGConnection connection, int from, int to) throws SQLException {
+        try (CopyWriter history = new CopyWriter(connection, "history",
+                "id, sys_user_id, reference_id, reference_table, timestamp, activity, changes")) {
+            for (int s = from; s < to; s++) {
+                SampleFacts facts = sample(s, random(SAMPLE_STREAM, s));
+                long historyId = firstId("history") + (long) s * settings.getHistoryPerSample();
+                for (int h = 0; h < settings.getHistoryPerSample(); h++) {
+                    String changes = "<sample><statusId>" + (h == 0 ? orderEntered : orderFinished)
+                            + "</statusId></sample>";
+                    history.row(historyId++, SYSTEM_USER_ID, firstId("sample") + s, sampleTableId,
+                            new Timestamp(facts.received().getTime() + h * 3600_000L), "U",
+                            "\\x" + HexFormat.of().formatHex(changes.getBytes(StandardCharsets.UTF_8)));
+                }
+            }
+        }
+    }
+
+    private void writeElectronicOrders(PGConnection connection, int from, int to) throws SQLException {
+        try (CopyWriter order = new CopyWriter(connection, "electronic_order",
+                "id, external_id, patient_id, status_id, order_timestamp, data, order_priority, type, lastupdated")) {
+            for (int s = from; s < to; s++) {
+                SplittableRandom random = random(SAMPLE_STREAM, s);
+                SampleFacts facts = sample(s, random);
+                if (facts.electronicOrderId() == null) {
+                    continue;
+                }
+                // ordered at the clinic up to two days before the sample reached the lab
+                Timestamp ordered = new Timestamp(facts.received().getTime() - (1 + random.nextInt(48)) * 3600_000L);
+                int patient = patientOfSample[s];
+                order.row(firstId("electronic_order") + s, facts.electronicOrderId(), firstId("patient") + patient,
+                        externalOrderRealized, ordered,
+                        task(Distributions.uuid(random), facts.electronicOrderId(), patient(patient).fhirUuid(),
+                                ordered, facts.priority()),
+                        facts.priority(), "FHIR", facts.received());
+            }
+        }
+    }
+
+    private void writeUnrealizedOrders(PGConnection connection) throws SQLException {
+        try (CopyWriter order = new CopyWriter(connection, "electronic_order",
+                "id, external_id, patient_id, status_id, order_timestamp, data, order_priority, type, lastupdated")) {
+            for (int o = 0; o < unrealizedOrders; o++) {
+                SplittableRandom random = random(ORDER_STREAM, o);
+                int patient = random.nextInt(settings.getPatients());
+                UUID externalId = Distributions.uuid(random);
+                Timestamp ordered = Timestamp.valueOf(now.minusMinutes(random.nextInt(3 * 24 * 60)));
+                order.row(firstId("electronic_order") + sampleCount + o, externalId, firstId("patient") + patient,
+                        externalOrderEntered, ordered,
+                        task(Distributions.uuid(random), externalId, patient(patient).fhirUuid(), ordered, "ROUTINE"),
+                        "ROUTINE", "FHIR", ordered);
+            }
+        }
+    }
+
+    /** Writes a room with the freezers, their shelves, racks and boxes and their monitoring. */
+    private void writeStorage(PGConnection connection) throws SQLException {
+        Timestamp updated = Timestamp.valueOf(now);
+        int freezers = settings.getFreezers();
+        int shelves = freezers * SHELVES_PER_FREEZER;
+        int racks = shelves * RACKS_PER_SHELF;
+        long room = firstId("storage_room");
+        try (CopyWriter writer = new CopyWriter(connection, "storage_room",
+                "id, fhir_uuid, name, code, description, active, sys_user_id, last_updated")) {
+            writer.row(room, UUID.randomUUID(), "Load test room " + room, "LT" + room, "Generated for scale testing",
+                    true, SYSTEM_USER_ID, updated);
+        }
+        try (CopyWriter writer = new CopyWriter(connection, "storage_device",
+                "id, fhir_uuid, name, code, type, temperature_setting, active, parent_room_id, sys_user_id, "
+                        + "last_updated")) {
+            for (int f = 0; f < freezers; f++) {
+                long id = firstId("storage_device") + f;
+                writer.row(id, UUID.randomUUID(), "Load test freezer " + id, "F" + id, "freezer", FREEZER_TARGET,
+                        true, room, SYSTEM_USER_ID, updated);
+            }
+        }
+        try (CopyWriter writer = new CopyWriter(connection, "storage_shelf",
+                "id, fhir_uuid, label, code, active, parent_device_id, sys_user_id, last_updated")) {
+            for (int shelf = 0; shelf < shelves; shelf++) {
+                long id = firstId("storage_shelf") + shelf;
+                writer.row(id, UUID.randomUUID(), "Shelf " + (shelf % SHELVES_PER_FREEZER + 1), "S" + id, true,
+                        firstId("storage_device") + shelf / SHELVES_PER_FREEZER, SYSTEM_USER_ID, updated);
+            }
+        }
+        try (CopyWriter writer = new CopyWriter(connection, "storage_rack",
+                "id, fhir_uuid, label, code, active, parent_shelf_id, sys_user_id, last_updated")) {
+            for (int rack = 0; rack < racks; rack++) {
+                long id = firstId("storage_rack") + rack;
+                writer.row(id, UUID.randomUUID(), "Rack " + (rack % RACKS_PER_SHELF + 1), "R" + id, true,
+                        firstId("storage_shelf") + rack / RACKS_PER_SHELF, SYSTEM_USER_ID, updated);
+            }
+        }
+        try (CopyWriter writer = new CopyWriter(connection, "storage_box",
+                "id, fhir_uuid, label, type, rows, columns, position_schema_hint, code, active, parent_rack_id, "
+                        + "sys_user_id, last_updated")) {
+            // boxes are filled in turn across the racks, so every rack holds a share of them
+            for (int box = 0; box < boxes; box++) {
+                long id = firstId("storage_box") + box;
+                writer.row(id, UUID.randomUUID(), "Box " + (box / racks + 1), BOX_ROWS + "x" + BOX_COLUMNS, BOX_ROWS,
+                        BOX_COLUMNS, "letter-number", "B" + id, true, firstId("storage_rack") + box % racks,
+                        SYSTEM_USER_ID, updated);
+            }
+        }
+        try (CopyWriter writer = new CopyWriter(connection, "freezer",
+                "id, name, storage_device_id, protocol, host, port, slave_id, temperature_register, "
+                        + "humidity_register, target_temperature, warning_threshold, critical_threshold, "
+                        + "polling_interval_seconds, active, last_updated")) {
+            for (int f = 0; f < freezers; f++) {
+                long id = firstId("freezer") + f;
+                writer.row(id, "Load test freezer " + id, firstId("storage_device") + f, "TCP", "127.0.0.1", 502, 1,
+                        0, 1, FREEZER_TARGET, FREEZER_WARNING, FREEZER_CRITICAL, READING_INTERVAL_SECONDS, true,
+                        updated);
+            }
+        }
+    }
+
+    /**
+     * Places the stored finished samples in the boxes by accession number, leaving
+     * the places of the samples that were not kept empty.
+     */
+    private void writeStorageAssignments(PGConnection connection, int from, int to) throws SQLException {
+        int perBox = BOX_ROWS * BOX_COLUMNS;
+        try (CopyWriter assignment = new CopyWriter(connection, "sample_storage_assignment",
+                "id, sample_item_id, location_id, location_type, position_coordinate, assigned_by_user_id, "
+                        + "assigned_date, last_updated")) {
+            for (int s = from; s < to; s++) {
+                SampleFacts facts = sample(s, random(SAMPLE_STREAM, s));
+                if (!facts.stored()) {
+                    continue;
+                }
+                int place = s % perBox;
+                String coordinate = (char) ('A' + place / BOX_COLUMNS) + String.valueOf(place % BOX_COLUMNS + 1);
+                assignment.row(firstId("sample_storage_assignment") + s, firstId("sample_item") + s,
+                        firstId("storage_box") + s / perBox, "box", coordinate, SYSTEM_USER_ID, facts.done(),
+                        facts.done());
+            }
+        }
+    }
+
+    /**
+     * Writes a reading a minute: a slow daily swing around the target, sensor
+     * noise, now and then a door left open that warms the freezer past its
+     * thresholds for a while, and the odd reading that never arrived.
+     */
+    private void writeReadings(PGConnection connection, int freezer) throws SQLException {
+        SplittableRandom random = random(FREEZER_STREAM, freezer);
+        long freezerId = firstId("freezer") + freezer;
+        long firstReading = firstId("freezer_reading") + (long) freezer * readingsPerFreezer;
+        LocalDateTime start = now.minusSeconds((long) readingsPerFreezer * READING_INTERVAL_SECONDS);
+        double warming = 0;
+        try (CopyWriter reading = new CopyWriter(connection, "freezer_reading",
+                "id, freezer_id, recorded_at, temperature_celsius, humidity_percentage, status, transmission_ok, "
+                        + "error_message, last_updated")) {
+            for (int r = 0; r < readingsPerFreezer; r++) {
+                LocalDateTime at = start.plusSeconds((long) r * READING_INTERVAL_SECONDS);
+                Timestamp recordedAt = Timestamp.valueOf(at);
+                if (random.nextInt(2000) == 0) {
+                    warming += 4 + random.nextDouble() * 10;
+                }
+                warming *= 0.93;
+                if (random.nextInt(500) == 0) {
+                    reading.row(firstReading + r, freezerId, recordedAt, null, null, "CRITICAL", false,
+                            "No response from device", recordedAt);
+                    continue;
+                }
+                double minuteOfDay = at.getHour() * 60 + at.getMinute();
+                double temperature = FREEZER_TARGET + 0.8 * Math.sin(2 * Math.PI * minuteOfDay / 1440)
+                        + random.nextGaussian() * 0.3 + warming;
+                String status = temperature > FREEZER_CRITICAL ? "CRITICAL"
+                        : temperature > FREEZER_WARNING ? "WARNING" : "NORMAL";
+                reading.row(firstReading + r, freezerId, recordedAt, String.format(Locale.ROOT, "%.2f", temperature),
+                        String.format(Locale.ROOT, "%.1f", 40 + random.nextGaussian() * 3), status, true, null,
+                        recordedAt);
+            }
+        }
+    }
+
+    /**
+     * Builds the hourly and daily rollups the ingestion would have kept, with the
+     * statement the application shares for this, in the rollup time zone the
+     * application is configured with.
+     */
+    private void buildFreezerRollups() {
+        if (settings.getFreezers() == 0) {
+            return;
+        }
+        ZoneId zone = FreezerMonitoringProperties
+                .resolveRollupZone(System.getProperty("org.openelisglobal.freezermonitoring.rollup.time-zone"));
+        new NamedParameterJdbcTemplate(jdbcTemplate).update(FreezerReadingRollupDAOImpl.BUILD_SQL,
+                new MapSqlParameterSource().addValue("zone", zone.getId())
+                        .addValue("firstFreezerId", firstId("freezer"))
+                        .addValue("lastFreezerId", firstId("freezer") + settings.getFreezers() - 1));
+    }
+
+    private List<CopyTask> split(int count, RangeCopy copy) {
+        List<CopyTask> tasks = new ArrayList<>();
+        int size = Math.max(1, (count + settings.getConnections() - 1) / Math.max(1, settings.getConnections()));
+        for (int from = 0; from < count; from += size) {
+            int start = from;
+            int end = Math.min(count, from + size);
+            tasks.add(connection -> copy.copy(connection, start, end));
+        }
+        return tasks;
+    }
+
+    private void runStage(String name, ExecutorService executor, List<CopyTask> tasks)
+            throws SQLException, InterruptedException {
+        long started = System.nanoTime();
+        List<Future<Void>> futures = new ArrayList<>();
+        for (CopyTask task : tasks) {
+            futures.add(executor.submit(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    task.copy(connection.unwrap(PGConnection.class));
+                }
+                return null;
+            }));
+        }
+        try {
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            for (Future<Void> future : futures) {
+                future.cancel(true);
+            }
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new IllegalStateException("writing the " + name + " failed", e.getCause());
+        }
+        LogEvent.logInfo(getClass().getSimpleName(), "generate", name + " written in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) + " ms");
+    }
+
+    private PatientFacts patient(int patient) {
+        SplittableRandom random = random(PATIENT_STREAM, patient);
+        String gender = random.nextInt(100) < 52 ? "F" : "M";
+        int band = AGE_BAND_WEIGHTS.pick(random);
+        int age = AGE_BANDS[band] + random.nextInt(AGE_BANDS[band + 1] - AGE_BANDS[band]);
+        LocalDate birthDate = now.toLocalDate().minusYears(age).minusDays(random.nextInt(365));
+        return new PatientFacts(gender, birthDate, Distributions.uuid(random));
+    }
+
+    /** @return the sample, drawn from the start of its generator in always the same order */
+    private SampleFacts sample(int sample, SplittableRandom random) {
+        int type = sampleTypeWeights.pick(random);
+        List<TestRef> tests = pickTests(type, random);
+        String priority = PRIORITIES[PRIORITY_WEIGHTS.pick(random)];
+        double turnaroundHours = Math.min(Distributions.logNormal(random, MEDIAN_TURNAROUND_HOURS, 1),
+                MAX_TURNAROUND_HOURS);
+        UUID electronicOrderId = random.nextInt(100) < settings.getElectronicOrderPercent()
+                ? Distributions.uuid(random)
+                : null;
+        boolean stored = random.nextInt(100) < settings.getStoredPercent();
+
+        LocalDateTime received = timeline.at((sample + 0.5) / sampleCount);
+        if (sample >= firstPending) {
+            return new SampleFacts(sampleTypes.get(type), tests, priority, Timestamp.valueOf(received), null, null,
+                    electronicOrderId, false);
+        }
+        long turnaroundSeconds = (long) (turnaroundHours * 3600);
+        LocalDateTime started = received.plusSeconds(turnaroundSeconds / 4);
+        LocalDateTime done = received.plusSeconds(turnaroundSeconds);
+        return new SampleFacts(sampleTypes.get(type), tests, priority, Timestamp.valueOf(received),
+                Timestamp.valueOf(started.isAfter(now) ? now : started),
+                Timestamp.valueOf(done.isAfter(now) ? now : done), electronicOrderId, stored);
+    }
+
+    /** @return the tests of a sample, drawn by popularity without repeats */
+    private List<TestRef> pickTests(int sampleType, SplittableRandom random) {
+        List<TestRef> available = testsBySampleType.get(sampleTypes.get(sampleType));
+        int count = Math.min(1 + Distributions.poisson(random, Math.max(0, settings.getTestsPerSample() - 1)),
+                available.size());
+        if (count == available.size()) {
+            return available;
+        }
+        Weighted weights = testWeights.get(sampleType);
+        List<TestRef> tests = new ArrayList<>(count);
+        while (tests.size() < count) {
+            TestRef test = available.get(weights.pick(random));
+            if (!tests.contains(test)) {
+                tests.add(test);
+            }
+        }
+        return tests;
+    }
+
+    /** @return a value in the normal range of the test about nineteen times in twenty */
+    private static String resultValue(TestRef test, SplittableRandom random) {
+        double value;
+        if (test.lowNormal() != null && test.highNormal() != null) {
+            double middle = (test.lowNormal() + test.highNormal()) / 2;
+            value = middle + random.nextGaussian() * (test.highNormal() - test.lowNormal()) / 4;
+        } else {
+            value = Distributions.logNormal(random, 50, 0.6);
+        }
+        return String.format(Locale.ROOT, "%.1f", Math.max(value, 0));
+    }
+
+    /** @return the FHIR task an electronic order is received as */
+    private static String task(UUID taskId, UUID serviceRequestId, UUID patientId, Timestamp authoredOn,
+            String priority) {
+        return "{\"resourceType\":\"Task\",\"id\":\"" + taskId + "\",\"status\":\"requested\",\"intent\":\"order\","
+                + "\"priority\":\"" + priority.toLowerCase(Locale.ROOT) + "\",\"basedOn\":[{\"reference\":"
+                + "\"ServiceRequest/" + serviceRequestId + "\"}],\"for\":{\"reference\":\"Patient/" + patientId
+                + "\"},\"authoredOn\":\"" + authoredOn.toLocalDateTime().atZone(ZoneId.systemDefault())
+                        .toOffsetDateTime().format(DateTimeFormatter.ISO_OFFSET_DATE_TIME)
+                + "\"}";
+    }
+
+    private SplittableRandom random(long stream, long index) {
+        return new SplittableRandom(
+                settings.getSeed() ^ stream * 0x9E3779B97F4A7C15L ^ index * 0xC2B2AE3D27D4EB4FL);
+    }
+
+    private String statusId(String type, String name) {
+        return jdbcTemplate.queryForObject(
+                "SELECT id FROM clinlims.status_of_sample WHERE status_type = ? AND name = ?", String.class, type,
+                name);
+    }
+
+    private static Double getDouble(ResultSet rs, String column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    /** Takes count ids from the sequence of the table; the first one is kept for the table. */
+    private void reserve(String table, long count) {
+        if (count == 0) {
+            firstIds.put(table, 0L);
+            return;
+        }
+        String sequence = "clinlims." + table + "_seq";
+        Long last = jdbcTemplate.queryForObject("SELECT setval(?::regclass, nextval(?::regclass) + ? - 1)",
+                Long.class, sequence, sequence, count);
+        firstIds.put(table, last - count + 1);
+    }
+
+    private long firstId(String table) {
+        return firstIds.get(table);
+    }
+
+    private void reserveAccessionNumbers(int count) {
+        List<String> sitePrefix = jdbcTemplate.queryForList(
+                "SELECT value FROM clinlims.site_information WHERE name = 'Accession number prefix'", String.class);
+        accessionPrefix = (sitePrefix.isEmpty() || sitePrefix.get(0) == null ? "" : sitePrefix.get(0))
+                + DateUtil.getTwoDigitYear();
+        Long last = jdbcTemplate.queryForObject("INSERT INTO clinlims.accession_number_info (prefix, type, cur_val)"
+                + " VALUES (?, 'SITEYEARNUM', ?)" //
+                + " ON CONFLICT (prefix, type) DO UPDATE SET cur_val = accession_number_info.cur_val + EXCLUDED.cur_val"
+                + " RETURNING cur_val", Long.class, accessionPrefix, count);
+        firstAccessionNumber = last - count + 1;
+    }
+
+    public String accessionNumber(int sample) {
+        return accessionPrefix + String.format(Locale.ROOT, "%013d", firstAccessionNumber + sample);
+    }
+
+    public String nationalId(int patient) {
+        return String.format(Locale.ROOT, "LT%08d", patient);
+    }
+
+    public String firstName(int patient) {
+        return FIRST_NAMES[patient % FIRST_NAMES.length];
+    }
+
+    public String lastName(int patient) {
+        return LAST_NAMES[(patient / FIRST_NAMES.length) % LAST_NAMES.length];
+    }
+
+    public int getPatientCount() {
+        return settings.getPatients();
+    }
+
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    public long getAnalysisCount() {
+        return analysesBefore[sampleCount];
+    }
+
+    /** @return the orderable tests with a numeric result, by sample type */
+    public Map<String, List<TestRef>> getTestsBySampleType() {
+        return testsBySampleType;
+    }
+
+    /** @return the seeded orders that were waiting for results, in random order */
+    public List<PendingSample> getPendingSamples() {
+        return pendingSamples;
+    }
+
+    /** @return an order waiting for results, which no other caller gets, or null */
+    public PendingSample nextAwaitingResults() {
+        return awaitingResults.poll();
+    }
+
+    public void addAwaitingResults(PendingSample sample) {
+        awaitingResults.add(sample);
+    }
+
+    public String getAnalyzerId() {
+        return analyzerId;
+    }
+}
@@ -0,0 +1,20 @@
+package org.openelisglobal.loadtest;
+
+import java.util.Random;
+import org.springframework.mock.web.MockHttpSession;
+
+/**
+ * One kind of request a user or an instrument makes. A run calls it over and
+ * over from several threads, each with its own session.
+ */
+public interface Workload {
+
+    String getName();
+
+    /**
+     * @return false if there was nothing left to do, in which case the call is
+     *         not counted
+     * @throws Exception if the request failed, which is counted as an error
+     */
+    boolean execute(MockHttpSession session, Random random) throws Exception;
+}
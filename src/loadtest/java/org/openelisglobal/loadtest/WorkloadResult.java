@@ -0,0 +1,10 @@
+package org.openelisglobal.loadtest;
+
+/**
+ * What a workload achieved in a run: the successful calls per second and their
+ * latency percentiles in milliseconds. Failed calls are counted apart and left
+ * out of the latencies.
+ */
+public record WorkloadResult(String name, long count, long errors, double throughput, double p50, double p95,
+        double p99, double max) {
+}
@@ -18,6 +18,7 @@ package org.openelisglobal.analysis.dao;
 import java.sql.Date;
 import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import org.openelisglobal.analysis.valueholder.Analysis;
@@ -169,6 +170,12 @@ public interface AnalysisDAO extends BaseDAO<Analysis, String> {
 
     List<Analysis> getAnalysisByAccessionAndTestId(String accessionNumber, String testId) throws LIMSRuntimeException;
 
+    /**
+     * @return the analyses of the samples with the accession numbers, with their
+     *         sample item, sample and test loaded, ordered by id
+     */
+    List<Analysis> getAnalysesByAccessionNumbers(Collection<String> accessionNumbers) throws LIMSRuntimeException;
+
     List<Analysis> getAnalysesBySampleIdAndStatusId(String id, Set<Integer> analysisStatusIds)
             throws LIMSRuntimeException;
 
@@ -211,6 +218,34 @@ public interface AnalysisDAO extends BaseDAO<Analysis, String> {
 
     int getCountAnalysisByTestSectionAndStatus(String testSectionId, List<Integer> analysisStatusList);
 
+    /**
+     * Counts the analyses {@link #getPageAnalysisForValidation} pages through.
+     *
+     * @param recordStatusTypeId if not null, analyses of samples with a record
+     *                           status observation of this type holding
+     *                           excludedRecordStatus are not counted
+     */
+    int getCountAnalysisForValidation(String testSectionId, List<Integer> analysisStatusList,
+            String recordStatusTypeId, String excludedRecordStatus);
+
+    /**
+     * @return up to pageSize analyses ordered by accession number and id that
+     *         come after the given accession number and analysis id, or from the
+     *         start if afterAccessionNumber is null
+     */
+    List<Analysis> getPageAnalysisForValidation(String testSectionId, List<Integer> analysisStatusList,
+            String recordStatusTypeId, String excludedRecordStatus, String afterAccessionNumber,
+            String afterAnalysisId, int pageSize);
+
+    /**
+     * @return the analyses of the test section in one of the statuses that belong
+     *         to the first sampleCount samples, by accession number, after
+     *         afterAccessionNumber (from the start if null), ordered by accession
+     *         number and id
+     */
+    List<Analysis> getSamplePageAnalysisByTestSectionAndStatus(String testSectionId, List<Integer> statusIdList,
+            String afterAccessionNumber, int sampleCount);
+
     int getCountAnalysisByStatusFromAccession(List<Integer> analysisStatusList, List<Integer> sampleStatusList,
             String accessionNumber);
 
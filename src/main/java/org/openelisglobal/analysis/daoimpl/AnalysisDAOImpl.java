@@ -1388,6 +1388,28 @@ public class AnalysisDAOImpl extends BaseDAOImpl<Analysis, String> implements An
         return null;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Analysis> getAnalysesByAccessionNumbers(Collection<String> accessionNumbers)
+            throws LIMSRuntimeException {
+        if (accessionNumbers == null || accessionNumbers.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String sql = "select a from Analysis a join fetch a.sampleItem si join fetch si.sample s join fetch a.test"
+                + " where s.accessionNumber in (:accessionNumbers) order by a.id";
+
+        try {
+            Query<Analysis> query = entityManager.unwrap(Session.class).createQuery(sql, Analysis.class);
+            query.setParameterList("accessionNumbers", accessionNumbers);
+            return query.list();
+        } catch (HibernateException e) {
+            handleException(e, "getAnalysesByAccessionNumbers");
+        }
+
+        return null;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Analysis> getAnalysisByTestNamesAndCompletedDateRange(List<String> testNames, Date lowDate,
@@ -1562,6 +1584,112 @@ public class AnalysisDAOImpl extends BaseDAOImpl<Analysis, String> implements An
         return 0;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public int getCountAnalysisForValidation(String testSectionId, List<Integer> analysisStatusList,
+            String recordStatusTypeId, String excludedRecordStatus) {
+        String hql = "SELECT COUNT(*) FROM Analysis a JOIN a.sampleItem si JOIN si.sample s"
+                + getValidationRestriction(recordStatusTypeId);
+        try {
+            Query<Long> query = entityManager.unwrap(Session.class).createQuery(hql, Long.class);
+            setValidationParameters(query, testSectionId, analysisStatusList, recordStatusTypeId,
+                    excludedRecordStatus);
+            return query.uniqueResult().intValue();
+        } catch (HibernateException e) {
+            handleException(e, "getCountAnalysisForValidation");
+        }
+
+        return 0;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Analysis> getPageAnalysisForValidation(String testSectionId, List<Integer> analysisStatusList,
+            String recordStatusTypeId, String excludedRecordStatus, String afterAccessionNumber,
+            String afterAnalysisId, int pageSize) {
+        String hql = "SELECT a FROM Analysis a JOIN FETCH a.sampleItem si JOIN FETCH si.sample s"
+                + getValidationRestriction(recordStatusTypeId);
+        if (afterAccessionNumber != null) {
+            hql += " AND (s.accessionNumber > :afterAccessionNumber"
+                    + " OR (s.accessionNumber = :afterAccessionNumber AND a.id > :afterAnalysisId))";
+        }
+        hql += " ORDER BY s.accessionNumber, a.id";
+        try {
+            Query<Analysis> query = entityManager.unwrap(Session.class).createQuery(hql, Analysis.class);
+            setValidationParameters(query, testSectionId, analysisStatusList, recordStatusTypeId,
+                    excludedRecordStatus);
+            if (afterAccessionNumber != null) {
+                query.setParameter("afterAccessionNumber", afterAccessionNumber);
+                query.setParameter("afterAnalysisId", Integer.parseInt(afterAnalysisId));
+            }
+            query.setMaxResults(pageSize);
+            return query.list();
+        } catch (HibernateException e) {
+            handleException(e, "getPageAnalysisForValidation");
+        }
+
+        return new ArrayList<>();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Analysis> getSamplePageAnalysisByTestSectionAndStatus(String testSectionId,
+            List<Integer> statusIdList, String afterAccessionNumber, int sampleCount) {
+        if (!GenericValidator.isInt(testSectionId)) {
+            return new ArrayList<>();
+        }
+        String restriction = " WHERE a.testSection.id = :testSectionId AND a.statusId IN (:statusIdList)";
+        try {
+            // the samples are chosen first so that a page never ends part way through
+            // a sample's analyses
+            String sampleHql = "SELECT DISTINCT s.accessionNumber FROM Analysis a JOIN a.sampleItem si JOIN si.sample s"
+                    + restriction + (afterAccessionNumber == null ? "" : " AND s.accessionNumber > :after")
+                    + " ORDER BY s.accessionNumber";
+            Query<String> sampleQuery = entityManager.unwrap(Session.class).createQuery(sampleHql, String.class);
+            sampleQuery.setParameter("testSectionId", Integer.parseInt(testSectionId));
+            sampleQuery.setParameterList("statusIdList", statusIdList);
+            if (afterAccessionNumber != null) {
+                sampleQuery.setParameter("after", afterAccessionNumber);
+            }
+            sampleQuery.setMaxResults(sampleCount);
+            List<String> accessionNumbers = sampleQuery.list();
+            if (accessionNumbers.isEmpty()) {
+                return new ArrayList<>();
+            }
+
+            String hql = "SELECT a FROM Analysis a JOIN FETCH a.sampleItem si JOIN FETCH si.sample s" + restriction
+                    + " AND s.accessionNumber IN (:accessionNumbers) ORDER BY s.accessionNumber, a.id";
+            Query<Analysis> query = entityManager.unwrap(Session.class).createQuery(hql, Analysis.class);
+            query.setParameter("testSectionId", Integer.parseInt(testSectionId));
+            query.setParameterList("statusIdList", statusIdList);
+            query.setParameterList("accessionNumbers", accessionNumbers);
+            return query.list();
+        } catch (HibernateException e) {
+            handleException(e, "getSamplePageAnalysisByTestSectionAndStatus");
+        }
+
+        return new ArrayList<>();
+    }
+
+    private String getValidationRestriction(String recordStatusTypeId) {
+        String restriction = " WHERE a.testSection.id = :testSectionId AND a.statusId IN (:analysisStatusList)";
+        if (recordStatusTypeId != null) {
+            restriction += " AND NOT EXISTS (SELECT oh.id FROM ObservationHistory oh WHERE oh.sampleId = s.id"
+                    + " AND oh.observationHistoryTypeId = :recordStatusTypeId AND oh.value = :excludedRecordStatus)";
+        }
+        return restriction;
+    }
+
+    private void setValidationParameters(Query<?> query, String testSectionId, List<Integer> analysisStatusList,
+            String recordStatusTypeId, String excludedRecordStatus) {
+        query.setParameter("testSectionId", Integer.parseInt(testSectionId));
+        query.setParameterList("analysisStatusList", analysisStatusList);
+        if (recordStatusTypeId != null) {
+            query.setParameter("recordStatusTypeId", Integer.parseInt(recordStatusTypeId));
+            query.setParameter("excludedRecordStatus", excludedRecordStatus);
+        }
+    }
+
     @Override
     public List<Analysis> getPageAnalysisByStatusFromAccession(List<Integer> analysisStatusList,
             List<Integer> sampleStatusList, String accessionNumber) {
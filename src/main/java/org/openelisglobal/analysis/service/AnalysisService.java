@@ -3,7 +3,9 @@ package org.openelisglobal.analysis.service;
 import java.sql.Date;
 import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.openelisglobal.analysis.valueholder.Analysis;
 import org.openelisglobal.common.service.BaseObjectService;
@@ -115,6 +117,16 @@ public interface AnalysisService extends BaseObjectService<Analysis, String> {
 
     List<Analysis> getAnalysisByAccessionAndTestId(String accessionNumber, String testId);
 
+    /**
+     * Loads the analyses of many samples in one query, so that callers matching
+     * results to analyses by accession number and test do not look each one up.
+     * Any accession number suffix after a '.' is ignored, as it is by
+     * {@link #getAnalysisByAccessionAndTestId}.
+     *
+     * @return the analyses grouped by the accession numbers as they were passed in
+     */
+    Map<String, List<Analysis>> getAnalysesByAccessionNumbers(Collection<String> accessionNumbers);
+
     List<Analysis> getAnalysisCollectedOn(Date collectionDate);
 
     List<Analysis> getAllAnalysisByTestAndStatus(String testId, List<Integer> statusIdList);
@@ -192,6 +204,16 @@ public interface AnalysisService extends BaseObjectService<Analysis, String> {
 
     int getCountAnalysisByTestSectionAndStatus(String sectionId, List<Integer> statusList);
 
+    int getCountAnalysisForValidation(String testSectionId, List<Integer> analysisStatusList,
+            String recordStatusTypeId, String excludedRecordStatus);
+
+    List<Analysis> getPageAnalysisForValidation(String testSectionId, List<Integer> analysisStatusList,
+            String recordStatusTypeId, String excludedRecordStatus, String afterAccessionNumber,
+            String afterAnalysisId, int pageSize);
+
+    List<Analysis> getSamplePageAnalysisByTestSectionAndStatus(String testSectionId, List<Integer> statusIdList,
+            String afterAccessionNumber, int sampleCount);
+
     int getCountAnalysisByStatusFromAccession(List<Integer> analysisStatusList, List<Integer> sampleStatusList,
             String accessionNumber);
 
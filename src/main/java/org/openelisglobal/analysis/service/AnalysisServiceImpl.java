@@ -5,7 +5,11 @@ import java.sql.Date;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import org.apache.commons.validator.GenericValidator;
@@ -17,6 +21,7 @@ import org.openelisglobal.common.services.IStatusService;
 import org.openelisglobal.common.services.QAService;
 import org.openelisglobal.common.services.ReportTrackingService;
 import org.openelisglobal.common.services.StatusService;
+import org.openelisglobal.common.util.ChunkUtil;
 import org.openelisglobal.common.util.DateUtil;
 import org.openelisglobal.dictionary.service.DictionaryService;
 import org.openelisglobal.dictionary.valueholder.Dictionary;
@@ -26,6 +31,7 @@ import org.openelisglobal.referencetables.service.ReferenceTablesService;
 import org.openelisglobal.result.service.ResultService;
 import org.openelisglobal.result.service.ResultServiceImpl;
 import org.openelisglobal.result.valueholder.Result;
+import org.openelisglobal.sample.service.SampleServiceImpl;
 import org.openelisglobal.sample.valueholder.OrderPriority;
 import org.openelisglobal.sample.valueholder.Sample;
 import org.openelisglobal.sampleitem.valueholder.SampleItem;
@@ -341,6 +347,36 @@ public class AnalysisServiceImpl extends AuditableBaseObjectServiceImpl<Analysis
         return baseObjectDAO.getAnalysisByAccessionAndTestId(accessionNumber, testId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, List<Analysis>> getAnalysesByAccessionNumbers(Collection<String> accessionNumbers) {
+        Set<String> sampleAccessionNumbers = new LinkedHashSet<>();
+        for (String accessionNumber : accessionNumbers) {
+            if (!GenericValidator.isBlankOrNull(accessionNumber)) {
+                sampleAccessionNumbers.add(SampleServiceImpl.stripAccessionSuffix(accessionNumber));
+            }
+        }
+
+        Map<String, List<Analysis>> analysesBySampleAccession = new HashMap<>();
+        for (List<String> chunk : ChunkUtil.chunk(sampleAccessionNumbers)) {
+            for (Analysis analysis : baseObjectDAO.getAnalysesByAccessionNumbers(chunk)) {
+                analysesBySampleAccession
+                        .computeIfAbsent(analysis.getSampleItem().getSample().getAccessionNumber(),
+                                k -> new ArrayList<>())
+                        .add(analysis);
+            }
+        }
+
+        Map<String, List<Analysis>> analysesByAccession = new HashMap<>();
+        for (String accessionNumber : accessionNumbers) {
+            if (!GenericValidator.isBlankOrNull(accessionNumber)) {
+                analysesByAccession.put(accessionNumber, analysesBySampleAccession
+                        .getOrDefault(SampleServiceImpl.stripAccessionSuffix(accessionNumber), new ArrayList<>()));
+            }
+        }
+        return analysesByAccession;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Analysis> getAnalysisCollectedOnExcludedByStatusId(Date date, Set<Integer> excludedStatusIds) {
@@ -700,6 +736,31 @@ public class AnalysisServiceImpl extends AuditableBaseObjectServiceImpl<Analysis
         return baseObjectDAO.getCountAnalysisByTestSectionAndStatus(testSectionId, analysisStatusList);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public int getCountAnalysisForValidation(String testSectionId, List<Integer> analysisStatusList,
+            String recordStatusTypeId, String excludedRecordStatus) {
+        return baseObjectDAO.getCountAnalysisForValidation(testSectionId, analysisStatusList, recordStatusTypeId,
+                excludedRecordStatus);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Analysis> getPageAnalysisForValidation(String testSectionId, List<Integer> analysisStatusList,
+            String recordStatusTypeId, String excludedRecordStatus, String afterAccessionNumber,
+            String afterAnalysisId, int pageSize) {
+        return baseObjectDAO.getPageAnalysisForValidation(testSectionId, analysisStatusList, recordStatusTypeId,
+                excludedRecordStatus, afterAccessionNumber, afterAnalysisId, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Analysis> getSamplePageAnalysisByTestSectionAndStatus(String testSectionId,
+            List<Integer> statusIdList, String afterAccessionNumber, int sampleCount) {
+        return baseObjectDAO.getSamplePageAnalysisByTestSectionAndStatus(testSectionId, statusIdList,
+                afterAccessionNumber, sampleCount);
+    }
+
     @Override
     public int getCountAnalysisByStatusFromAccession(List<Integer> analysisStatusList, List<Integer> sampleStatusList,
             String accessionNumber) {
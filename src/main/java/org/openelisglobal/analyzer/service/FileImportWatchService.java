@@ -11,6 +11,9 @@ import java.util.regex.Pattern;
 import org.openelisglobal.analyzer.valueholder.FileImportConfiguration;
 import org.openelisglobal.analyzerimport.analyzerreaders.FileAnalyzerReader;
 import org.openelisglobal.common.log.LogEvent;
+import org.openelisglobal.metricservice.service.AnalyzerMessageMetrics;
+import org.openelisglobal.metricservice.service.AnalyzerMessageMetrics.Outcome;
+import org.openelisglobal.metricservice.service.AnalyzerMessageMetrics.Source;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -30,6 +33,9 @@ public class FileImportWatchService {
     @Autowired
     private FileImportService fileImportService;
 
+    @Autowired
+    private AnalyzerMessageMetrics analyzerMessageMetrics;
+
     @Value("${file.import.poll.interval:60000}")
     private long pollIntervalMillis;
 
@@ -135,6 +141,7 @@ public class FileImportWatchService {
             // Read and parse the file
             boolean readSuccess = reader.readStream(fileStream);
             if (!readSuccess) {
+                analyzerMessageMetrics.received(Source.FILE, Outcome.REJECTED);
                 String error = reader.getError();
                 LogEvent.logError(this.getClass().getSimpleName(), "processFile",
                         "Failed to read file " + filePath + ": " + error);
@@ -145,6 +152,7 @@ public class FileImportWatchService {
             // Insert analyzer data - use system user ID from config or default
             String systemUserId = config.getSysUserId() != null ? config.getSysUserId() : "1";
             boolean insertSuccess = reader.insertAnalyzerData(systemUserId);
+            analyzerMessageMetrics.received(Source.FILE, insertSuccess ? Outcome.SUCCESS : Outcome.FAILED);
             if (!insertSuccess) {
                 String error = reader.getError();
                 LogEvent.logError(this.getClass().getSimpleName(), "processFile",
@@ -30,6 +30,9 @@ import org.openelisglobal.common.services.PluginAnalyzerService;
 import org.openelisglobal.internationalization.MessageUtil;
 import org.openelisglobal.login.service.LoginUserService;
 import org.openelisglobal.login.valueholder.UserSessionData;
+import org.openelisglobal.metricservice.service.AnalyzerMessageMetrics;
+import org.openelisglobal.metricservice.service.AnalyzerMessageMetrics.Outcome;
+import org.openelisglobal.metricservice.service.AnalyzerMessageMetrics.Source;
 import org.openelisglobal.plugin.AnalyzerImporterPlugin;
 import org.openelisglobal.systemuser.service.SystemUserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -48,6 +51,8 @@ public class AnalyzerImportController implements IActionConstants {
     protected SystemUserService systemUserService;
     @Autowired
     private PluginAnalyzerService pluginAnalyzerService;
+    @Autowired
+    private AnalyzerMessageMetrics analyzerMessageMetrics;
 
     @PostMapping("/importAnalyzer")
     protected void doPost(@RequestParam("file") MultipartFile file, HttpServletRequest request,
@@ -64,6 +69,7 @@ public class AnalyzerImportController implements IActionConstants {
         }
         if (fileRead) {
             boolean successful = reader.insertAnalyzerData(getSysUserId(request));
+            analyzerMessageMetrics.received(Source.UPLOAD, successful ? Outcome.SUCCESS : Outcome.FAILED);
 
             if (successful) {
                 response.getWriter().print("success");
@@ -77,6 +83,7 @@ public class AnalyzerImportController implements IActionConstants {
             }
 
         } else {
+            analyzerMessageMetrics.received(Source.UPLOAD, Outcome.REJECTED);
             if (reader != null) {
                 response.getWriter().print(reader.getError());
             }
@@ -98,6 +105,7 @@ public class AnalyzerImportController implements IActionConstants {
             read = reader.readStream(stream);
             if (read) {
                 boolean success = reader.processData(getSysUserId(request));
+                analyzerMessageMetrics.received(Source.ASTM, success ? Outcome.SUCCESS : Outcome.FAILED);
                 if (reader.hasResponse()) {
                     response.getWriter().print(reader.getResponse());
                 }
@@ -112,11 +120,13 @@ public class AnalyzerImportController implements IActionConstants {
                     return;
                 }
             } else {
+                analyzerMessageMetrics.received(Source.ASTM, Outcome.REJECTED);
                 response.getWriter().print(reader.getError());
                 response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
                 return;
             }
         } else {
+            analyzerMessageMetrics.received(Source.ASTM, Outcome.REJECTED);
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             return;
         }
@@ -138,6 +148,7 @@ public class AnalyzerImportController implements IActionConstants {
         }
         boolean read = reader.readStream(request.getInputStream());
         if (!read) {
+            analyzerMessageMetrics.received(Source.HL7, Outcome.REJECTED);
             response.sendError(HttpServletResponse.SC_BAD_REQUEST,
                     reader.getError() != null ? reader.getError() : "HL7 read failed");
             return;
@@ -147,6 +158,7 @@ public class AnalyzerImportController implements IActionConstants {
             userId = "1";
         }
         boolean success = reader.insertAnalyzerData(userId);
+        analyzerMessageMetrics.received(Source.HL7, success ? Outcome.SUCCESS : Outcome.FAILED);
         if (success) {
             response.setStatus(HttpServletResponse.SC_OK);
             return;
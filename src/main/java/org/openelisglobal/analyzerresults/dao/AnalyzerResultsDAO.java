@@ -15,6 +15,7 @@
  */
 package org.openelisglobal.analyzerresults.dao;
 
+import java.util.Collection;
 import java.util.List;
 import org.openelisglobal.analyzerresults.valueholder.AnalyzerResults;
 import org.openelisglobal.common.dao.BaseDAO;
@@ -36,6 +37,25 @@ public interface AnalyzerResultsDAO extends BaseDAO<AnalyzerResults, String> {
 
     public List<AnalyzerResults> getDuplicateResultByAccessionAndTest(AnalyzerResults result);
 
+    /**
+     * @return the staged results from the analyzer for any of the accession
+     *         numbers, ordered by id
+     */
+    public List<AnalyzerResults> getResultsByAnalyzerAndAccessionNumbers(String analyzerId,
+            Collection<String> accessionNumbers);
+
+    /**
+     * @return count new ids from the analyzer results sequence
+     */
+    public List<String> getNextIds(int count);
+
+    /**
+     * Writes results that already have their ids in one round trip, with COPY
+     * when the connection allows it. The rows are not added to the session and
+     * no audit trail is written for them.
+     */
+    public void insertStagedResults(List<AnalyzerResults> results);
+
     // public void deleteAll(List<AnalyzerResults> deletableAnalyzerResults) throws
     // LIMSRuntimeException;
 }
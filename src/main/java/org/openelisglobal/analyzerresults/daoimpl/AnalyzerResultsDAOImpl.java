@@ -15,15 +15,26 @@
  */
 package org.openelisglobal.analyzerresults.daoimpl;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
 import org.hibernate.query.Query;
 import org.openelisglobal.analyzerresults.dao.AnalyzerResultsDAO;
 import org.openelisglobal.analyzerresults.valueholder.AnalyzerResults;
 import org.openelisglobal.common.daoimpl.BaseDAOImpl;
 import org.openelisglobal.common.exception.LIMSRuntimeException;
 import org.openelisglobal.common.log.LogEvent;
+import org.postgresql.PGConnection;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,6 +42,15 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class AnalyzerResultsDAOImpl extends BaseDAOImpl<AnalyzerResults, String> implements AnalyzerResultsDAO {
 
+    private static final String STAGED_COLUMNS = "id, analyzer_id, accession_number, test_name, result, units, "
+            + "iscontrol, read_only, duplicate_id, test_id, test_result_type, complete_date, lastupdated";
+    private static final String COPY_SQL = "COPY clinlims.analyzer_results (" + STAGED_COLUMNS
+            + ") FROM STDIN WITH (FORMAT csv)";
+    private static final String INSERT_SQL = "INSERT INTO clinlims.analyzer_results (" + STAGED_COLUMNS
+            + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String NEXT_IDS_SQL = "SELECT nextval('clinlims.analyzer_results_seq') "
+            + "FROM generate_series(1, :count)";
+
     public AnalyzerResultsDAOImpl() {
         super(AnalyzerResults.class);
     }
@@ -70,4 +90,117 @@ public class AnalyzerResultsDAOImpl extends BaseDAOImpl<AnalyzerResults, String>
         }
         return data;
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AnalyzerResults> getResultsByAnalyzerAndAccessionNumbers(String analyzerId,
+            Collection<String> accessionNumbers) {
+        if (accessionNumbers.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            String sql = "from AnalyzerResults a where a.analyzerId = :analyzerId and "
+                    + "a.accessionNumber in (:accessionNumbers) order by a.id";
+            Query<AnalyzerResults> query = entityManager.unwrap(Session.class).createQuery(sql, AnalyzerResults.class);
+            query.setParameter("analyzerId", Integer.parseInt(analyzerId));
+            query.setParameterList("accessionNumbers", accessionNumbers);
+            return query.list();
+        } catch (RuntimeException e) {
+            LogEvent.logError(e);
+            throw new LIMSRuntimeException("Error in AnalyzerResults getResultsByAnalyzerAndAccessionNumbers()", e);
+        }
+    }
+
+    @Override
+    public List<String> getNextIds(int count) {
+        try {
+            NativeQuery<?> query = entityManager.unwrap(Session.class).createNativeQuery(NEXT_IDS_SQL);
+            query.setParameter("count", count);
+            List<String> ids = new ArrayList<>();
+            for (Object id : query.list()) {
+                ids.add(id.toString());
+            }
+            return ids;
+        } catch (RuntimeException e) {
+            LogEvent.logError(e);
+            throw new LIMSRuntimeException("Error in AnalyzerResults getNextIds()", e);
+        }
+    }
+
+    @Override
+    public void insertStagedResults(List<AnalyzerResults> results) {
+        if (results.isEmpty()) {
+            return;
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (AnalyzerResults result : results) {
+            result.setLastupdated(now);
+        }
+        try {
+            entityManager.unwrap(Session.class).doWork(connection -> {
+                if (connection.isWrapperFor(PGConnection.class)) {
+                    copyIn(connection.unwrap(PGConnection.class), results);
+                } else {
+                    batchInsert(connection, results);
+                }
+            });
+        } catch (RuntimeException e) {
+            LogEvent.logError(e);
+            throw new LIMSRuntimeException("Error in AnalyzerResults insertStagedResults()", e);
+        }
+    }
+
+    // An unquoted empty field is NULL and a quoted one an empty string. Timestamps
+    // are written in local time, which is the session time zone the driver sets on
+    // connect, so they are read back as setTimestamp would have sent them.
+    private void copyIn(PGConnection connection, List<AnalyzerResults> results) throws SQLException {
+        StringBuilder csv = new StringBuilder();
+        for (AnalyzerResults result : results) {
+            Object[] values = stagedValues(result);
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    csv.append(',');
+                }
+                if (values[i] != null) {
+                    csv.append('"').append(values[i].toString().replace("\"", "\"\"")).append('"');
+                }
+            }
+            csv.append('\n');
+        }
+        try {
+            connection.getCopyAPI().copyIn(COPY_SQL, new StringReader(csv.toString()));
+        } catch (IOException e) {
+            throw new SQLException("could not copy analyzer results", e);
+        }
+    }
+
+    private void batchInsert(Connection connection, List<AnalyzerResults> results) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            for (AnalyzerResults result : results) {
+                Object[] values = stagedValues(result);
+                for (int i = 0; i < values.length; i++) {
+                    if (values[i] == null) {
+                        statement.setNull(i + 1, Types.OTHER);
+                    } else {
+                        statement.setObject(i + 1, values[i]);
+                    }
+                }
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    // in the order of STAGED_COLUMNS
+    private Object[] stagedValues(AnalyzerResults result) {
+        return new Object[] { toNumeric(result.getId()), toNumeric(result.getAnalyzerId()),
+                result.getAccessionNumber(), result.getTestName(), result.getResult(), result.getUnits(),
+                result.getIsControl(), result.isReadOnly(), toNumeric(result.getDuplicateAnalyzerResultId()),
+                toNumeric(result.getTestId()), result.getResultType(), result.getCompleteDate(),
+                result.getLastupdated() };
+    }
+
+    private BigDecimal toNumeric(String value) {
+        return value == null || value.isBlank() ? null : new BigDecimal(value.trim());
+    }
 }
@@ -1,7 +1,14 @@
 package org.openelisglobal.analyzerresults.service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.apache.commons.validator.GenericValidator;
 import org.openelisglobal.analysis.service.AnalysisService;
 import org.openelisglobal.analysis.valueholder.Analysis;
@@ -12,6 +19,7 @@ import org.openelisglobal.common.log.LogEvent;
 import org.openelisglobal.common.service.AuditableBaseObjectServiceImpl;
 import org.openelisglobal.common.services.IStatusService;
 import org.openelisglobal.common.services.StatusService.RecordStatus;
+import org.openelisglobal.common.util.ChunkUtil;
 import org.openelisglobal.note.service.NoteService;
 import org.openelisglobal.note.valueholder.Note;
 import org.openelisglobal.result.action.util.ResultUtil;
@@ -32,6 +40,7 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class AnalyzerResultsServiceImpl extends AuditableBaseObjectServiceImpl<AnalyzerResults, String>
         implements AnalyzerResultsService {
+
     @Autowired
     protected AnalyzerResultsDAO baseObjectDAO;
 
@@ -69,55 +78,100 @@ public class AnalyzerResultsServiceImpl extends AuditableBaseObjectServiceImpl<A
     }
 
     @Override
+    @Transactional
     public void insertAnalyzerResults(List<AnalyzerResults> results, String sysUserId) {
         try {
+            Map<List<String>, List<AnalyzerResults>> stagedResults = getStagedResults(results);
+            List<AnalyzerResults> newResults = new ArrayList<>();
+            List<DuplicateLink> duplicateLinks = new ArrayList<>();
+
             for (AnalyzerResults result : results) {
-                boolean duplicateByAccessionAndTestOnly = false;
-                List<AnalyzerResults> previousResults = baseObjectDAO.getDuplicateResultByAccessionAndTest(result);
-                AnalyzerResults previousResult = null;
-
-                // This next block may seem more complicated then it need be but it covers the
-                // case where there may be a third duplicate
-                // and it covers rereading the same file
-                if (previousResults != null) {
-                    duplicateByAccessionAndTestOnly = true;
-                    for (AnalyzerResults foundResult : previousResults) {
-                        previousResult = foundResult;
-                        if (foundResult.getCompleteDate() != null
-                                && foundResult.getCompleteDate().equals(result.getCompleteDate())) {
-                            duplicateByAccessionAndTestOnly = false;
-                            break;
-                        }
-                    }
+                List<AnalyzerResults> previousResults = stagedResults.computeIfAbsent(stagingKey(result),
+                        k -> new ArrayList<>());
+
+                // A previous result with the same complete date means the same file is being
+                // reread. Otherwise the new result is linked to the latest previous result,
+                // which covers the case where there may be a third duplicate
+                if (isReread(result, previousResults)) {
+                    continue;
                 }
-
-                if (duplicateByAccessionAndTestOnly && previousResult != null) {
-                    result.setDuplicateAnalyzerResultId(previousResult.getId());
+                if (!previousResults.isEmpty()) {
                     result.setReadOnly(true);
+                    duplicateLinks
+                            .add(new DuplicateLink(result, previousResults.get(previousResults.size() - 1)));
                 }
 
-                if (previousResults == null || duplicateByAccessionAndTestOnly) {
-                    result.setSysUserId(sysUserId);
-                    String id = insert(result);
-                    result.setId(id);
+                result.setSysUserId(sysUserId);
+                newResults.add(result);
+                // later results in the same file are matched against this one too
+                previousResults.add(result);
+            }
+
+            if (newResults.isEmpty()) {
+                return;
+            }
 
-                    if (duplicateByAccessionAndTestOnly && previousResult != null) {
-                        previousResult.setDuplicateAnalyzerResultId(id);
-                        previousResult.setSysUserId(sysUserId);
-                    }
+            List<String> ids = baseObjectDAO.getNextIds(newResults.size());
+            for (int i = 0; i < newResults.size(); i++) {
+                newResults.get(i).setId(ids.get(i));
+            }
 
-                    if (duplicateByAccessionAndTestOnly) {
-                        update(previousResult);
-                    }
+            Set<AnalyzerResults> inserted = Collections.newSetFromMap(new IdentityHashMap<>());
+            inserted.addAll(newResults);
+            List<AnalyzerResults> updatedResults = new ArrayList<>();
+            for (DuplicateLink link : duplicateLinks) {
+                link.result().setDuplicateAnalyzerResultId(link.previous().getId());
+                link.previous().setDuplicateAnalyzerResultId(link.result().getId());
+                link.previous().setSysUserId(sysUserId);
+                if (!inserted.contains(link.previous())) {
+                    updatedResults.add(link.previous());
                 }
             }
 
+            baseObjectDAO.insertStagedResults(newResults);
+            updateAll(updatedResults);
         } catch (RuntimeException e) {
             LogEvent.logError(e);
             throw new LIMSRuntimeException("Error in AnalyzerResult insertAnalyzerResult()", e);
         }
     }
 
+    private Map<List<String>, List<AnalyzerResults>> getStagedResults(List<AnalyzerResults> results) {
+        Map<String, Set<String>> accessionNumbersByAnalyzer = new HashMap<>();
+        for (AnalyzerResults result : results) {
+            accessionNumbersByAnalyzer.computeIfAbsent(result.getAnalyzerId(), k -> new LinkedHashSet<>())
+                    .add(result.getAccessionNumber());
+        }
+
+        Map<List<String>, List<AnalyzerResults>> stagedResults = new HashMap<>();
+        for (Map.Entry<String, Set<String>> entry : accessionNumbersByAnalyzer.entrySet()) {
+            for (List<String> chunk : ChunkUtil.chunk(entry.getValue())) {
+                for (AnalyzerResults staged : baseObjectDAO.getResultsByAnalyzerAndAccessionNumbers(entry.getKey(),
+                        chunk)) {
+                    stagedResults.computeIfAbsent(stagingKey(staged), k -> new ArrayList<>()).add(staged);
+                }
+            }
+        }
+        return stagedResults;
+    }
+
+    private List<String> stagingKey(AnalyzerResults result) {
+        return Arrays.asList(result.getAnalyzerId(), result.getAccessionNumber(), result.getTestName());
+    }
+
+    private boolean isReread(AnalyzerResults result, List<AnalyzerResults> previousResults) {
+        for (AnalyzerResults previousResult : previousResults) {
+            if (previousResult.getCompleteDate() != null
+                    && previousResult.getCompleteDate().equals(result.getCompleteDate())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record DuplicateLink(AnalyzerResults result, AnalyzerResults previous) {
+    }
+
     @Override
     @Transactional
     public void persistAnalyzerResults(List<AnalyzerResults> deletableAnalyzerResults,
@@ -1,10 +1,19 @@
 package org.openelisglobal.audittrail.controller.rest;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
 import org.openelisglobal.audittrail.action.workers.AuditTrailItem;
 import org.openelisglobal.audittrail.action.workers.AuditTrailViewWorker;
 import org.openelisglobal.audittrail.form.AuditTrailViewForm;
+import org.openelisglobal.audittrail.valueholder.History;
+import org.openelisglobal.common.paging.KeysetPage;
+import org.openelisglobal.history.service.HistoryService;
+import org.openelisglobal.referencetables.service.ReferenceTablesService;
+import org.openelisglobal.referencetables.valueholder.ReferenceTables;
 import org.openelisglobal.spring.util.SpringContext;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -13,6 +22,13 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 public class AuditTrailReportRestController {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 500;
+
+    @Autowired
+    private HistoryService historyService;
+    @Autowired
+    private ReferenceTablesService referenceTablesService;
+
     @GetMapping("/rest/AuditTrailReport")
     public ResponseEntity<AuditTrailViewForm> getAuditTrailReport(@RequestParam String accessionNumber) {
         AuditTrailViewForm response = new AuditTrailViewForm();
@@ -33,4 +49,31 @@ public class AuditTrailReportRestController {
         response.setPatientProperties(worker.getPatientSnapshot());
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Lists the recorded changes to one table, newest first. The nextCursor of a
+     * page is passed back as cursor to get the page after it.
+     */
+    @GetMapping("/rest/AuditTrailReport/history")
+    public ResponseEntity<KeysetPage<HistoryEntry>> getTableHistory(@RequestParam String table,
+            @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "50") int pageSize) {
+        ReferenceTables referenceTable = referenceTablesService.getReferenceTableByName(table);
+        if (referenceTable == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        KeysetPage<History> page = historyService.getHistoryPageByRefTableId(referenceTable.getId(), cursor,
+                Math.max(1, Math.min(pageSize, MAX_HISTORY_PAGE_SIZE)));
+
+        List<HistoryEntry> entries = new ArrayList<>();
+        for (History history : page.items()) {
+            entries.add(new HistoryEntry(history.getId(), history.getReferenceId(), history.getTimestamp(),
+                    history.getActivity(), history.getSysUserId(),
+                    history.getChanges() == null ? null : new String(history.getChanges(), StandardCharsets.UTF_8)));
+        }
+        return ResponseEntity.ok(new KeysetPage<>(entries, page.nextCursor()));
+    }
+
+    public record HistoryEntry(String id, String referenceId, Timestamp timestamp, String activity,
+            String sysUserId, String changes) {
+    }
 }
@@ -1,5 +1,6 @@
 package org.openelisglobal.coldstorage.config;
 
+import java.time.ZoneId;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +28,29 @@ public class FreezerMonitoringProperties {
     @Value("${org.openelisglobal.freezermonitoring.modbus.retries:1}")
     private int retries;
 
+    /** Days of raw readings to keep before archiving; 0 keeps them forever. */
+    @Value("${org.openelisglobal.freezermonitoring.retention.raw-days:0}")
+    private int rawRetentionDays;
+
+    @Value("${org.openelisglobal.freezermonitoring.retention.batch-size:5000}")
+    private int archiveBatchSize;
+
+    /**
+     * Region id (e.g. Africa/Addis_Ababa) that hourly/daily rollups and report
+     * days follow, both in Java and in the rollup backfill; blank uses the server
+     * time zone.
+     */
+    @Value("${org.openelisglobal.freezermonitoring.rollup.time-zone:}")
+    private String rollupTimeZone;
+
+    public ZoneId getRollupZone() {
+        return resolveRollupZone(rollupTimeZone);
+    }
+
+    public static ZoneId resolveRollupZone(String timeZone) {
+        return timeZone == null || timeZone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(timeZone.trim());
+    }
+
     public void validateConfig() {
         log.info("Freezer Monitoring Configuration:");
         log.info("  Enabled: {}", enabled);
@@ -34,6 +58,8 @@ public class FreezerMonitoringProperties {
         log.info("  Modbus Initial Delay: {}", initialDelay);
         log.info("  Modbus Timeout: {}ms", timeoutMillis);
         log.info("  Modbus Retries: {}", retries);
+        log.info("  Rollup Time Zone: {}", getRollupZone());
+        log.info("  Raw Reading Retention: {}", rawRetentionDays > 0 ? rawRetentionDays + " days" : "unlimited");
 
         if (timeoutMillis < 500 || timeoutMillis > 30000) {
             log.warn("Modbus timeout {}ms is outside recommended range (500-30000ms)", timeoutMillis);
@@ -42,5 +68,9 @@ public class FreezerMonitoringProperties {
         if (retries < 0 || retries > 5) {
             log.warn("Modbus retries {} is outside recommended range (0-5)", retries);
         }
+
+        if (archiveBatchSize < 1) {
+            log.warn("Reading archive batch size {} is invalid, archiving will be skipped", archiveBatchSize);
+        }
     }
 }
@@ -1,12 +1,15 @@
 package org.openelisglobal.coldstorage.controller.rest;
 
 import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import org.openelisglobal.coldstorage.service.FreezerReadingRollupService;
 import org.openelisglobal.coldstorage.service.FreezerReadingService;
 import org.openelisglobal.coldstorage.service.FreezerService;
+import org.openelisglobal.coldstorage.service.dto.FreezerReadingSeriesPoint;
 import org.openelisglobal.coldstorage.valueholder.Freezer;
 import org.openelisglobal.coldstorage.valueholder.FreezerReading;
 import org.openelisglobal.common.rest.BaseRestController;
@@ -27,6 +30,31 @@ public class FreezerReportDataController extends BaseRestController {
     @Autowired
     private FreezerService freezerService;
 
+    @Autowired
+    private FreezerReadingRollupService freezerReadingRollupService;
+
+    /**
+     * Temperature series for charts, downsampled to at most {@code maxPoints}
+     * points using the hourly/daily rollups when the range is too long for raw
+     * readings.
+     */
+    @GetMapping("/series")
+    public ResponseEntity<List<FreezerReadingSeriesPoint>> getSeries(@RequestParam Long freezerId,
+            @RequestParam String start, @RequestParam String end,
+            @RequestParam(defaultValue = "500") int maxPoints) {
+        try {
+            OffsetDateTime startTime = OffsetDateTime.parse(start);
+            OffsetDateTime endTime = OffsetDateTime.parse(end);
+            if (maxPoints < 1 || endTime.isBefore(startTime)) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity
+                    .ok(freezerReadingRollupService.getDownsampledSeries(freezerId, startTime, endTime, maxPoints));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/excursions")
     public ResponseEntity<List<Map<String, Object>>> getExcursions(@RequestParam(required = false) Long freezerId,
             @RequestParam String start, @RequestParam String end) {
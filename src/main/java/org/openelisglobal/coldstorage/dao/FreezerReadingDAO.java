@@ -13,4 +13,12 @@ public interface FreezerReadingDAO extends BaseDAO<FreezerReading, Long> {
     List<FreezerReading> findRecentByFreezer(Long freezerId, int limit);
 
     List<FreezerReading> findByFreezerWithin(Long freezerId, OffsetDateTime start, OffsetDateTime end);
+
+    /**
+     * Moves at most {@code batchSize} readings recorded before {@code cutoff}
+     * into the freezer_reading_archive table.
+     *
+     * @return the number of readings moved
+     */
+    int archiveReadingsBefore(OffsetDateTime cutoff, int batchSize);
 }
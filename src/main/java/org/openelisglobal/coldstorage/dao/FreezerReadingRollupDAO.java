@@ -0,0 +1,23 @@
+package org.openelisglobal.coldstorage.dao;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.openelisglobal.coldstorage.valueholder.FreezerReading;
+import org.openelisglobal.coldstorage.valueholder.FreezerReadingRollup;
+import org.openelisglobal.coldstorage.valueholder.FreezerReadingRollup.Granularity;
+import org.openelisglobal.common.dao.BaseDAO;
+
+public interface FreezerReadingRollupDAO extends BaseDAO<FreezerReadingRollup, Long> {
+
+    /**
+     * Adds a single reading to the bucket starting at {@code bucketStart},
+     * creating the bucket if it does not exist yet.
+     */
+    void accumulate(FreezerReading reading, Granularity granularity, OffsetDateTime bucketStart,
+            boolean excursionStarted);
+
+    List<FreezerReadingRollup> findByFreezerWithin(Long freezerId, Granularity granularity, OffsetDateTime start,
+            OffsetDateTime end);
+
+    List<FreezerReadingRollup> findAllWithin(Granularity granularity, OffsetDateTime start, OffsetDateTime end);
+}
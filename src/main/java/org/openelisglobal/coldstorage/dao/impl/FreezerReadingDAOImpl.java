@@ -4,7 +4,9 @@ import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
 import org.hibernate.query.Query;
+import org.hibernate.type.StandardBasicTypes;
 import org.openelisglobal.coldstorage.dao.FreezerReadingDAO;
 import org.openelisglobal.coldstorage.valueholder.FreezerReading;
 import org.openelisglobal.common.daoimpl.BaseDAOImpl;
@@ -47,4 +49,18 @@ public class FreezerReadingDAOImpl extends BaseDAOImpl<FreezerReading, Long> imp
         query.setParameter("end", end);
         return query.list();
     }
+
+    @Override
+    public int archiveReadingsBefore(OffsetDateTime cutoff, int batchSize) {
+        String sql = "WITH moved AS (DELETE FROM clinlims.freezer_reading WHERE id IN "
+                + "(SELECT id FROM clinlims.freezer_reading WHERE recorded_at < :cutoff ORDER BY recorded_at "
+                + "LIMIT :batchSize) RETURNING id, freezer_id, recorded_at, temperature_celsius, humidity_percentage, "
+                + "status, transmission_ok, error_message, last_updated) "
+                + "INSERT INTO clinlims.freezer_reading_archive (id, freezer_id, recorded_at, temperature_celsius, "
+                + "humidity_percentage, status, transmission_ok, error_message, last_updated) SELECT * FROM moved";
+        NativeQuery<?> query = entityManager.unwrap(Session.class).createNativeQuery(sql);
+        query.setParameter("cutoff", cutoff, StandardBasicTypes.OFFSET_DATE_TIME);
+        query.setParameter("batchSize", batchSize, StandardBasicTypes.INTEGER);
+        return query.executeUpdate();
+    }
 }
@@ -0,0 +1,132 @@
+package org.openelisglobal.coldstorage.dao.impl;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.Query;
+import org.hibernate.type.StandardBasicTypes;
+import org.openelisglobal.coldstorage.dao.FreezerReadingRollupDAO;
+import org.openelisglobal.coldstorage.valueholder.FreezerReading;
+import org.openelisglobal.coldstorage.valueholder.FreezerReadingRollup;
+import org.openelisglobal.coldstorage.valueholder.FreezerReadingRollup.Granularity;
+import org.openelisglobal.common.daoimpl.BaseDAOImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@Transactional
+public class FreezerReadingRollupDAOImpl extends BaseDAOImpl<FreezerReadingRollup, Long>
+        implements FreezerReadingRollupDAO {
+
+    // LEAST/GREATEST ignore nulls in PostgreSQL, so a reading without a
+    // temperature never clobbers an existing min/max
+    private static final String ACCUMULATE_SQL = "INSERT INTO clinlims.freezer_reading_rollup AS r "
+            + "(id, freezer_id, granularity, bucket_start, reading_count, temperature_count, temperature_sum, "
+            + "temperature_min, temperature_max, humidity_count, humidity_sum, humidity_min, humidity_max, "
+            + "normal_count, warning_count, critical_count, transmission_failure_count, excursion_count, last_updated) "
+            + "VALUES (nextval('clinlims.freezer_reading_rollup_seq'), :freezerId, :granularity, :bucketStart, 1, "
+            + ":temperatureCount, :temperature, :temperature, :temperature, :humidityCount, :humidity, :humidity, "
+            + ":humidity, :normal, :warning, :critical, :transmissionFailure, :excursion, now()) "
+            + "ON CONFLICT (freezer_id, granularity, bucket_start) DO UPDATE SET "
+            + "reading_count = r.reading_count + 1, "
+            + "temperature_count = r.temperature_count + EXCLUDED.temperature_count, "
+            + "temperature_sum = CASE WHEN EXCLUDED.temperature_sum IS NULL THEN r.temperature_sum "
+            + "ELSE COALESCE(r.temperature_sum, 0) + EXCLUDED.temperature_sum END, "
+            + "temperature_min = LEAST(r.temperature_min, EXCLUDED.temperature_min), "
+            + "temperature_max = GREATEST(r.temperature_max, EXCLUDED.temperature_max), "
+            + "humidity_count = r.humidity_count + EXCLUDED.humidity_count, "
+            + "humidity_sum = CASE WHEN EXCLUDED.humidity_sum IS NULL THEN r.humidity_sum "
+            + "ELSE COALESCE(r.humidity_sum, 0) + EXCLUDED.humidity_sum END, "
+            + "humidity_min = LEAST(r.humidity_min, EXCLUDED.humidity_min), "
+            + "humidity_max = GREATEST(r.humidity_max, EXCLUDED.humidity_max), "
+            + "normal_count = r.normal_count + EXCLUDED.normal_count, "
+            + "warning_count = r.warning_count + EXCLUDED.warning_count, "
+            + "critical_count = r.critical_count + EXCLUDED.critical_count, "
+            + "transmission_failure_count = r.transmission_failure_count + EXCLUDED.transmission_failure_count, "
+            + "excursion_count = r.excursion_count + EXCLUDED.excursion_count, last_updated = now()";
+
+    /**
+     * The rollups {@link #accumulate} would have built for the readings of the
+     * freezers with ids from :firstFreezerId to :lastFreezerId, for readings
+     * written in bulk without going through the ingestion, such as the load test
+     * dataset. Buckets start in the time zone :zone, the rollup time zone of
+     * FreezerReadingRollupService. The freezers must not have rollups yet.
+     */
+    public static final String BUILD_SQL = "INSERT INTO clinlims.freezer_reading_rollup "
+            + "(id, freezer_id, granularity, bucket_start, reading_count, temperature_count, temperature_sum, "
+            + "temperature_min, temperature_max, humidity_count, humidity_sum, humidity_min, humidity_max, "
+            + "normal_count, warning_count, critical_count, transmission_failure_count, excursion_count, last_updated) "
+            + "SELECT nextval('clinlims.freezer_reading_rollup_seq'), b.freezer_id, b.granularity, b.bucket_start, "
+            + "count(*), count(b.temperature_celsius), sum(b.temperature_celsius), min(b.temperature_celsius), "
+            + "max(b.temperature_celsius), count(b.humidity_percentage), sum(b.humidity_percentage), "
+            + "min(b.humidity_percentage), max(b.humidity_percentage), "
+            + "count(*) FILTER (WHERE b.status = 'NORMAL'), count(*) FILTER (WHERE b.status = 'WARNING'), "
+            + "count(*) FILTER (WHERE b.status = 'CRITICAL'), count(*) FILTER (WHERE NOT b.transmission_ok), "
+            + "count(*) FILTER (WHERE b.excursion_started), now() "
+            + "FROM (SELECT r.*, g.granularity, date_trunc(CASE g.granularity WHEN 'HOURLY' THEN 'hour' ELSE 'day' "
+            + "END, r.recorded_at AT TIME ZONE :zone) AT TIME ZONE :zone AS bucket_start "
+            + "FROM (SELECT fr.*, (fr.status <> 'NORMAL' AND COALESCE(lag(fr.status) "
+            + "OVER (PARTITION BY fr.freezer_id ORDER BY fr.recorded_at), 'NORMAL') = 'NORMAL') AS excursion_started "
+            + "FROM clinlims.freezer_reading fr WHERE fr.freezer_id BETWEEN :firstFreezerId AND :lastFreezerId) r "
+            + "CROSS JOIN (VALUES ('HOURLY'), ('DAILY')) AS g(granularity)) b "
+            + "GROUP BY b.freezer_id, b.granularity, b.bucket_start";
+
+    public FreezerReadingRollupDAOImpl() {
+        super(FreezerReadingRollup.class);
+    }
+
+    @Override
+    public void accumulate(FreezerReading reading, Granularity granularity, OffsetDateTime bucketStart,
+            boolean excursionStarted) {
+        FreezerReading.Status status = reading.getStatus() == null ? FreezerReading.Status.NORMAL
+                : reading.getStatus();
+        NativeQuery<?> query = entityManager.unwrap(Session.class).createNativeQuery(ACCUMULATE_SQL);
+        query.setParameter("freezerId", reading.getFreezer().getId(), StandardBasicTypes.LONG);
+        query.setParameter("granularity", granularity.name(), StandardBasicTypes.STRING);
+        query.setParameter("bucketStart", bucketStart, StandardBasicTypes.OFFSET_DATE_TIME);
+        query.setParameter("temperatureCount", reading.getTemperatureCelsius() == null ? 0 : 1,
+                StandardBasicTypes.INTEGER);
+        query.setParameter("temperature", reading.getTemperatureCelsius(), StandardBasicTypes.BIG_DECIMAL);
+        query.setParameter("humidityCount", reading.getHumidityPercentage() == null ? 0 : 1,
+                StandardBasicTypes.INTEGER);
+        query.setParameter("humidity", reading.getHumidityPercentage(), StandardBasicTypes.BIG_DECIMAL);
+        query.setParameter("normal", status == FreezerReading.Status.NORMAL ? 1 : 0, StandardBasicTypes.INTEGER);
+        query.setParameter("warning", status == FreezerReading.Status.WARNING ? 1 : 0, StandardBasicTypes.INTEGER);
+        query.setParameter("critical", status == FreezerReading.Status.CRITICAL ? 1 : 0, StandardBasicTypes.INTEGER);
+        query.setParameter("transmissionFailure", Boolean.FALSE.equals(reading.getTransmissionOk()) ? 1 : 0,
+                StandardBasicTypes.INTEGER);
+        query.setParameter("excursion", excursionStarted ? 1 : 0, StandardBasicTypes.INTEGER);
+        query.executeUpdate();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FreezerReadingRollup> findByFreezerWithin(Long freezerId, Granularity granularity,
+            OffsetDateTime start, OffsetDateTime end) {
+        String hql = "FROM FreezerReadingRollup r WHERE r.freezer.id = :freezerId "
+                + "AND r.granularity = :granularity AND r.bucketStart BETWEEN :start AND :end "
+                + "ORDER BY r.bucketStart";
+        Query<FreezerReadingRollup> query = entityManager.unwrap(Session.class).createQuery(hql,
+                FreezerReadingRollup.class);
+        query.setParameter("freezerId", freezerId);
+        query.setParameter("granularity", granularity);
+        query.setParameter("start", start);
+        query.setParameter("end", end);
+        return query.list();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FreezerReadingRollup> findAllWithin(Granularity granularity, OffsetDateTime start,
+            OffsetDateTime end) {
+        String hql = "FROM FreezerReadingRollup r JOIN FETCH r.freezer WHERE r.granularity = :granularity "
+                + "AND r.bucketStart BETWEEN :start AND :end ORDER BY r.freezer.id, r.bucketStart";
+        Query<FreezerReadingRollup> query = entityManager.unwrap(Session.class).createQuery(hql,
+                FreezerReadingRollup.class);
+        query.setParameter("granularity", granularity);
+        query.setParameter("start", start);
+        query.setParameter("end", end);
+        return query.list();
+    }
+}
@@ -0,0 +1,51 @@
+package org.openelisglobal.coldstorage.service;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import org.openelisglobal.coldstorage.service.dto.FreezerReadingSeriesPoint;
+import org.openelisglobal.coldstorage.valueholder.FreezerReading;
+import org.openelisglobal.coldstorage.valueholder.FreezerReadingRollup;
+import org.openelisglobal.coldstorage.valueholder.FreezerReadingRollup.Granularity;
+
+public interface FreezerReadingRollupService {
+
+    /**
+     * Folds a freshly saved reading into its hourly and daily buckets.
+     *
+     * @param excursionStarted true when the previous reading for the freezer was
+     *                         NORMAL (or absent) and this one is not
+     */
+    void accumulate(FreezerReading reading, boolean excursionStarted);
+
+    List<FreezerReadingRollup> getRollups(Long freezerId, Granularity granularity, OffsetDateTime start,
+            OffsetDateTime end);
+
+    /**
+     * Returns the temperature series for charting, picking the finest resolution
+     * (raw, hourly or daily) that yields no more than {@code maxPoints} points
+     * and that is still available under the raw retention window.
+     */
+    List<FreezerReadingSeriesPoint> getDownsampledSeries(Long freezerId, OffsetDateTime start, OffsetDateTime end,
+            int maxPoints);
+
+    /**
+     * Archives raw readings older than the configured retention window. Rollups
+     * are kept, so reports and charts over archived periods are unaffected.
+     *
+     * @return the number of readings archived
+     */
+    int archiveExpiredReadings();
+
+    OffsetDateTime bucketStart(OffsetDateTime recordedAt, Granularity granularity);
+
+    /** The time zone rollup buckets and report days follow. */
+    ZoneId getZone();
+
+    /**
+     * Returns the start of the oldest day still kept as raw readings, or null
+     * when raw readings are kept forever. Earlier periods are only available as
+     * rollups.
+     */
+    OffsetDateTime getRawRetentionCutoff();
+}
@@ -9,13 +9,15 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.WeekFields;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 import net.sf.jasperreports.engine.JRException;
-import net.sf.jasperreports.engine.JasperRunManager;
 import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
 import org.openelisglobal.alert.service.AlertService;
 import org.openelisglobal.alert.valueholder.Alert;
@@ -24,7 +26,10 @@ import org.openelisglobal.coldstorage.service.dto.FreezerMonthlyLogData;
 import org.openelisglobal.coldstorage.service.dto.FreezerWeeklyLogData;
 import org.openelisglobal.coldstorage.valueholder.Freezer;
 import org.openelisglobal.coldstorage.valueholder.FreezerReading;
+import org.openelisglobal.coldstorage.valueholder.FreezerReadingRollup;
+import org.openelisglobal.coldstorage.valueholder.FreezerReadingRollup.Granularity;
 import org.openelisglobal.common.log.LogEvent;
+import org.openelisglobal.reports.service.JasperReportService;
 import org.openelisglobal.siteinformation.service.SiteInformationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ClassPathResource;
@@ -41,12 +46,18 @@ public class FreezerReportServiceImpl implements FreezerReportService {
     @Autowired
     private FreezerService freezerService;
 
+    @Autowired
+    private FreezerReadingRollupService freezerReadingRollupService;
+
     @Autowired
     private AlertService alertService;
 
     @Autowired
     private SiteInformationService siteInformationService;
 
+    @Autowired
+    private JasperReportService jasperReportService;
+
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter MONTH_YEAR_FORMATTER = DateTimeFormatter.ofPattern("MMMM yyyy",
@@ -56,8 +67,28 @@ public class FreezerReportServiceImpl implements FreezerReportService {
 
     @Override
     public List<FreezerDailyLogData> generateDailyLogData(Long freezerId, LocalDate startDate, LocalDate endDate) {
-        OffsetDateTime startDateTime = startDate.atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
-        OffsetDateTime endDateTime = endDate.atTime(23, 59, 59).atZone(ZoneId.systemDefault()).toOffsetDateTime();
+        ZoneId zone = freezerReadingRollupService.getZone();
+        OffsetDateTime startDateTime = startDate.atStartOfDay(zone).toOffsetDateTime();
+        OffsetDateTime endDateTime = endDate.atTime(23, 59, 59).atZone(zone).toOffsetDateTime();
+
+        // Load each freezer's alerts once rather than once per reading
+        Map<Long, List<Alert>> alertsByFreezer = new HashMap<>();
+        List<FreezerDailyLogData> dailyLog = new ArrayList<>();
+
+        // raw readings before the retention cutoff have been archived, so those
+        // periods are reported one row per hour from the hourly rollups
+        OffsetDateTime rawCutoff = freezerReadingRollupService.getRawRetentionCutoff();
+        if (rawCutoff != null && startDateTime.isBefore(rawCutoff)) {
+            OffsetDateTime rollupEnd = endDateTime.isBefore(rawCutoff) ? endDateTime : rawCutoff.minusSeconds(1);
+            for (FreezerReadingRollup rollup : freezerReadingRollupService.getRollups(freezerId, Granularity.HOURLY,
+                    startDateTime, rollupEnd)) {
+                dailyLog.add(mapToDailyLogData(rollup, alertsByFreezer));
+            }
+            if (!endDateTime.isAfter(rollupEnd)) {
+                return dailyLog;
+            }
+            startDateTime = rawCutoff;
+        }
 
         List<FreezerReading> readings = new ArrayList<>();
         if (freezerId != null) {
@@ -69,7 +100,10 @@ public class FreezerReportServiceImpl implements FreezerReportService {
             }
         }
 
-        return readings.stream().map(this::mapToDailyLogData).collect(Collectors.toList());
+        for (FreezerReading reading : readings) {
+            dailyLog.add(mapToDailyLogData(reading, alertsByFreezer));
+        }
+        return dailyLog;
     }
 
     @Override
@@ -93,7 +127,7 @@ public class FreezerReportServiceImpl implements FreezerReportService {
             LogEvent.logInfo(this.getClass().getSimpleName(), "generatePdfReport",
                     "Report file exists: " + reportFile.exists() + ", path: " + reportFile.getAbsolutePath());
 
-            byte[] pdfBytes = JasperRunManager.runReportToPdf(reportFile.getAbsolutePath(), parameters, dataSource);
+            byte[] pdfBytes = jasperReportService.runReportToPdf(reportFile.getAbsolutePath(), parameters, dataSource);
             LogEvent.logInfo(this.getClass().getSimpleName(), "generatePdfReport",
                     "PDF generated successfully: " + pdfBytes.length + " bytes");
 
@@ -108,218 +142,179 @@ public class FreezerReportServiceImpl implements FreezerReportService {
 
     @Override
     public List<FreezerWeeklyLogData> generateWeeklyLogData(Long freezerId, LocalDate startDate, LocalDate endDate) {
-        // Get all daily readings first
-        List<FreezerDailyLogData> dailyData = generateDailyLogData(freezerId, startDate, endDate);
-
-        // Group by month-year and week number
-        Map<String, Map<Integer, List<FreezerDailyLogData>>> groupedData = dailyData.stream()
-                .collect(Collectors.groupingBy(FreezerDailyLogData::getMonthYear,
-                        Collectors.groupingBy(FreezerDailyLogData::getWeekNumber)));
+        // Weekly and monthly logs are served from the daily rollups so that a year
+        // of minute readings does not have to be loaded to produce a few rows
+        List<FreezerReadingRollup> dailyRollups = getDailyRollups(freezerId, startDate, endDate);
+        Map<Long, List<Alert>> alertsByFreezer = getAlertsByFreezer(dailyRollups);
+
+        ZoneId zone = freezerReadingRollupService.getZone();
+        Map<String, RollupTotals> totalsByWeek = new LinkedHashMap<>();
+        for (FreezerReadingRollup rollup : dailyRollups) {
+            LocalDate date = toLocalDate(rollup.getBucketStart());
+            int weekOfMonth = date.get(WEEK_FIELDS.weekOfMonth());
+            String key = date.getYear() + "-" + date.getMonthValue() + "-" + weekOfMonth;
+            totalsByWeek.computeIfAbsent(key, k -> new RollupTotals(date, zone)).add(rollup,
+                    alertsByFreezer.getOrDefault(rollup.getFreezer().getId(), List.of()));
+        }
 
         List<FreezerWeeklyLogData> weeklyData = new ArrayList<>();
-
-        for (Map.Entry<String, Map<Integer, List<FreezerDailyLogData>>> monthEntry : groupedData.entrySet()) {
-            for (Map.Entry<Integer, List<FreezerDailyLogData>> weekEntry : monthEntry.getValue().entrySet()) {
-                FreezerWeeklyLogData weekly = aggregateWeeklyData(weekEntry.getValue());
-                weeklyData.add(weekly);
-            }
+        for (RollupTotals totals : totalsByWeek.values()) {
+            LocalDate date = totals.firstDate;
+            int weekOfMonth = date.get(WEEK_FIELDS.weekOfMonth());
+
+            FreezerWeeklyLogData weekly = new FreezerWeeklyLogData();
+            weekly.setMonthYear(date.format(MONTH_YEAR_FORMATTER));
+            weekly.setWeekNumber(weekOfMonth);
+            weekly.setWeekPeriod(calculateWeekPeriod(date, weekOfMonth));
+            weekly.setYear(date.getYear());
+            weekly.setMonth(date.getMonthValue());
+            weekly.setReadingCount(totals.readingCount);
+            weekly.setAvgTemperature(totals.avgTemperature());
+            weekly.setMinTemperature(totals.minTemperature);
+            weekly.setMaxTemperature(totals.maxTemperature);
+            weekly.setAvgHumidity(totals.avgHumidity());
+            weekly.setNormalCount(totals.normalCount);
+            weekly.setWarningCount(totals.warningCount);
+            weekly.setCriticalCount(totals.criticalCount);
+            weekly.setAlertCount(totals.alertCount);
+            weeklyData.add(weekly);
         }
 
         // Sort by year, month, week number
-        weeklyData.sort((a, b) -> {
-            int yearCompare = extractYear(a.getMonthYear()).compareTo(extractYear(b.getMonthYear()));
-            if (yearCompare != 0)
-                return yearCompare;
-
-            int monthCompare = extractMonth(a.getMonthYear()).compareTo(extractMonth(b.getMonthYear()));
-            if (monthCompare != 0)
-                return monthCompare;
-
-            return a.getWeekNumber().compareTo(b.getWeekNumber());
-        });
+        weeklyData.sort(Comparator.comparing(FreezerWeeklyLogData::getYear)
+                .thenComparing(FreezerWeeklyLogData::getMonth).thenComparing(FreezerWeeklyLogData::getWeekNumber));
 
         return weeklyData;
     }
 
     @Override
     public List<FreezerMonthlyLogData> generateMonthlyLogData(Long freezerId, LocalDate startDate, LocalDate endDate) {
-        // Get all daily readings first
-        List<FreezerDailyLogData> dailyData = generateDailyLogData(freezerId, startDate, endDate);
-
-        // Group by month-year
-        Map<String, List<FreezerDailyLogData>> groupedData = dailyData.stream()
-                .collect(Collectors.groupingBy(FreezerDailyLogData::getMonthYear));
+        List<FreezerReadingRollup> dailyRollups = getDailyRollups(freezerId, startDate, endDate);
+        Map<Long, List<Alert>> alertsByFreezer = getAlertsByFreezer(dailyRollups);
+
+        ZoneId zone = freezerReadingRollupService.getZone();
+        Map<String, RollupTotals> totalsByMonth = new LinkedHashMap<>();
+        for (FreezerReadingRollup rollup : dailyRollups) {
+            LocalDate date = toLocalDate(rollup.getBucketStart());
+            String key = date.getYear() + "-" + date.getMonthValue();
+            totalsByMonth.computeIfAbsent(key, k -> new RollupTotals(date, zone)).add(rollup,
+                    alertsByFreezer.getOrDefault(rollup.getFreezer().getId(), List.of()));
+        }
 
         List<FreezerMonthlyLogData> monthlyData = new ArrayList<>();
-
-        for (Map.Entry<String, List<FreezerDailyLogData>> entry : groupedData.entrySet()) {
-            FreezerMonthlyLogData monthly = aggregateMonthlyData(entry.getValue());
+        for (RollupTotals totals : totalsByMonth.values()) {
+            LocalDate date = totals.firstDate;
+
+            FreezerMonthlyLogData monthly = new FreezerMonthlyLogData();
+            monthly.setMonthYear(date.format(MONTH_YEAR_FORMATTER));
+            monthly.setYear(date.getYear());
+            monthly.setMonth(date.getMonthValue());
+            monthly.setReadingCount(totals.readingCount);
+            monthly.setDaysMonitored(totals.daysMonitored.size());
+            monthly.setAvgTemperature(totals.avgTemperature());
+            monthly.setMinTemperature(totals.minTemperature);
+            monthly.setMaxTemperature(totals.maxTemperature);
+            monthly.setAvgHumidity(totals.avgHumidity());
+            monthly.setNormalCount(totals.normalCount);
+            monthly.setWarningCount(totals.warningCount);
+            monthly.setCriticalCount(totals.criticalCount);
+            monthly.setAlertCount(totals.alertCount);
             monthlyData.add(monthly);
         }
 
         // Sort by year, month
-        monthlyData.sort((a, b) -> {
-            int yearCompare = a.getYear().compareTo(b.getYear());
-            if (yearCompare != 0)
-                return yearCompare;
-            return a.getMonth().compareTo(b.getMonth());
-        });
+        monthlyData.sort(
+                Comparator.comparing(FreezerMonthlyLogData::getYear).thenComparing(FreezerMonthlyLogData::getMonth));
 
         return monthlyData;
     }
 
-    private FreezerWeeklyLogData aggregateWeeklyData(List<FreezerDailyLogData> dailyReadings) {
-        FreezerWeeklyLogData weekly = new FreezerWeeklyLogData();
-
-        if (dailyReadings.isEmpty()) {
-            return weekly;
-        }
-
-        // Use the first reading for grouping info
-        FreezerDailyLogData first = dailyReadings.get(0);
-        weekly.setMonthYear(first.getMonthYear());
-        weekly.setWeekNumber(first.getWeekNumber());
-        weekly.setWeekPeriod(first.getWeekPeriod());
-        weekly.setYear(first.getYear());
-        weekly.setMonth(first.getMonth());
-
-        // Calculate aggregates
-        weekly.setReadingCount(dailyReadings.size());
-
-        List<BigDecimal> temperatures = new ArrayList<>();
-        List<BigDecimal> humidities = new ArrayList<>();
-        int normalCount = 0;
-        int warningCount = 0;
-        int criticalCount = 0;
-        int alertCount = 0;
-
-        for (FreezerDailyLogData reading : dailyReadings) {
-            if (reading.getTemperature() != null) {
-                temperatures.add(reading.getTemperature());
-            }
-            if (reading.getHumidity() != null) {
-                humidities.add(reading.getHumidity());
-            }
-
-            String status = reading.getStatus();
-            if ("NORMAL".equals(status))
-                normalCount++;
-            else if ("WARNING".equals(status))
-                warningCount++;
-            else if ("CRITICAL".equals(status))
-                criticalCount++;
-
-            if (Boolean.TRUE.equals(reading.getAlertTriggered())) {
-                alertCount++;
-            }
-        }
-
-        // Calculate temperature statistics
-        if (!temperatures.isEmpty()) {
-            weekly.setAvgTemperature(average(temperatures));
-            weekly.setMinTemperature(temperatures.stream().min(BigDecimal::compareTo).orElse(null));
-            weekly.setMaxTemperature(temperatures.stream().max(BigDecimal::compareTo).orElse(null));
-        }
+    private List<FreezerReadingRollup> getDailyRollups(Long freezerId, LocalDate startDate, LocalDate endDate) {
+        ZoneId zone = freezerReadingRollupService.getZone();
+        OffsetDateTime startDateTime = startDate.atStartOfDay(zone).toOffsetDateTime();
+        OffsetDateTime endDateTime = endDate.atTime(23, 59, 59).atZone(zone).toOffsetDateTime();
+        return freezerReadingRollupService.getRollups(freezerId, Granularity.DAILY, startDateTime, endDateTime);
+    }
 
-        // Calculate humidity average
-        if (!humidities.isEmpty()) {
-            weekly.setAvgHumidity(average(humidities));
+    private Map<Long, List<Alert>> getAlertsByFreezer(List<FreezerReadingRollup> rollups) {
+        Map<Long, List<Alert>> alertsByFreezer = new HashMap<>();
+        for (FreezerReadingRollup rollup : rollups) {
+            alertsByFreezer.computeIfAbsent(rollup.getFreezer().getId(),
+                    id -> alertService.getAlertsByEntity("Freezer", id));
         }
-
-        weekly.setNormalCount(normalCount);
-        weekly.setWarningCount(warningCount);
-        weekly.setCriticalCount(criticalCount);
-        weekly.setAlertCount(alertCount);
-
-        return weekly;
+        return alertsByFreezer;
     }
 
-    private FreezerMonthlyLogData aggregateMonthlyData(List<FreezerDailyLogData> dailyReadings) {
-        FreezerMonthlyLogData monthly = new FreezerMonthlyLogData();
+    private LocalDate toLocalDate(OffsetDateTime dateTime) {
+        return dateTime.atZoneSameInstant(freezerReadingRollupService.getZone()).toLocalDate();
+    }
 
-        if (dailyReadings.isEmpty()) {
-            return monthly;
+    /**
+     * Running totals over a set of daily rollups (one week or one month).
+     */
+    private static class RollupTotals {
+        private final LocalDate firstDate;
+        private final ZoneId zone;
+        private final Set<LocalDate> daysMonitored = new HashSet<>();
+        private int readingCount;
+        private int temperatureCount;
+        private BigDecimal temperatureSum = BigDecimal.ZERO;
+        private BigDecimal minTemperature;
+        private BigDecimal maxTemperature;
+        private int humidityCount;
+        private BigDecimal humiditySum = BigDecimal.ZERO;
+        private int normalCount;
+        private int warningCount;
+        private int criticalCount;
+        private int alertCount;
+
+        RollupTotals(LocalDate firstDate, ZoneId zone) {
+            this.firstDate = firstDate;
+            this.zone = zone;
         }
 
-        // Use the first reading for grouping info
-        FreezerDailyLogData first = dailyReadings.get(0);
-        monthly.setMonthYear(first.getMonthYear());
-        monthly.setYear(first.getYear());
-        monthly.setMonth(first.getMonth());
-
-        // Calculate aggregates
-        monthly.setReadingCount(dailyReadings.size());
-
-        // Count unique days
-        long daysMonitored = dailyReadings.stream().map(FreezerDailyLogData::getDate).distinct().count();
-        monthly.setDaysMonitored((int) daysMonitored);
-
-        List<BigDecimal> temperatures = new ArrayList<>();
-        List<BigDecimal> humidities = new ArrayList<>();
-        int normalCount = 0;
-        int warningCount = 0;
-        int criticalCount = 0;
-        int alertCount = 0;
-
-        for (FreezerDailyLogData reading : dailyReadings) {
-            if (reading.getTemperature() != null) {
-                temperatures.add(reading.getTemperature());
+        void add(FreezerReadingRollup rollup, List<Alert> freezerAlerts) {
+            OffsetDateTime dayStart = rollup.getBucketStart();
+            OffsetDateTime dayEnd = dayStart.atZoneSameInstant(zone).plusDays(1).toOffsetDateTime();
+            if (rollup.getReadingCount() > 0) {
+                daysMonitored.add(dayStart.atZoneSameInstant(zone).toLocalDate());
             }
-            if (reading.getHumidity() != null) {
-                humidities.add(reading.getHumidity());
+            readingCount += rollup.getReadingCount();
+            temperatureCount += rollup.getTemperatureCount();
+            if (rollup.getTemperatureSum() != null) {
+                temperatureSum = temperatureSum.add(rollup.getTemperatureSum());
             }
-
-            String status = reading.getStatus();
-            if ("NORMAL".equals(status))
-                normalCount++;
-            else if ("WARNING".equals(status))
-                warningCount++;
-            else if ("CRITICAL".equals(status))
-                criticalCount++;
-
-            if (Boolean.TRUE.equals(reading.getAlertTriggered())) {
-                alertCount++;
+            minTemperature = min(minTemperature, rollup.getTemperatureMin());
+            maxTemperature = max(maxTemperature, rollup.getTemperatureMax());
+            humidityCount += rollup.getHumidityCount();
+            if (rollup.getHumiditySum() != null) {
+                humiditySum = humiditySum.add(rollup.getHumiditySum());
             }
+            normalCount += rollup.getNormalCount();
+            warningCount += rollup.getWarningCount();
+            criticalCount += rollup.getCriticalCount();
+            alertCount += (int) freezerAlerts.stream().filter(alert -> alert.getStartTime() != null)
+                    .filter(alert -> !alert.getStartTime().isBefore(dayStart) && alert.getStartTime().isBefore(dayEnd))
+                    .count();
         }
 
-        // Calculate temperature statistics
-        if (!temperatures.isEmpty()) {
-            monthly.setAvgTemperature(average(temperatures));
-            monthly.setMinTemperature(temperatures.stream().min(BigDecimal::compareTo).orElse(null));
-            monthly.setMaxTemperature(temperatures.stream().max(BigDecimal::compareTo).orElse(null));
+        BigDecimal avgTemperature() {
+            return temperatureCount == 0 ? null
+                    : temperatureSum.divide(BigDecimal.valueOf(temperatureCount), 2, RoundingMode.HALF_UP);
         }
 
-        // Calculate humidity average
-        if (!humidities.isEmpty()) {
-            monthly.setAvgHumidity(average(humidities));
+        BigDecimal avgHumidity() {
+            return humidityCount == 0 ? null
+                    : humiditySum.divide(BigDecimal.valueOf(humidityCount), 2, RoundingMode.HALF_UP);
         }
 
-        monthly.setNormalCount(normalCount);
-        monthly.setWarningCount(warningCount);
-        monthly.setCriticalCount(criticalCount);
-        monthly.setAlertCount(alertCount);
-
-        return monthly;
-    }
-
-    private BigDecimal average(List<BigDecimal> values) {
-        if (values.isEmpty()) {
-            return null;
+        private static BigDecimal min(BigDecimal current, BigDecimal candidate) {
+            return current == null || (candidate != null && candidate.compareTo(current) < 0) ? candidate : current;
         }
-        BigDecimal sum = values.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
-        return sum.divide(BigDecimal.valueOf(values.size()), 2, RoundingMode.HALF_UP);
-    }
 
-    private Integer extractYear(String monthYear) {
-        // Extract year from "December 2025" format
-        String[] parts = monthYear.split(" ");
-        return Integer.parseInt(parts[parts.length - 1]);
-    }
-
-    private Integer extractMonth(String monthYear) {
-        // Extract month number from "December 2025" format
-        String monthName = monthYear.split(" ")[0];
-        return java.time.Month.valueOf(monthName.toUpperCase()).getValue();
+        private static BigDecimal max(BigDecimal current, BigDecimal candidate) {
+            return current == null || (candidate != null && candidate.compareTo(current) > 0) ? candidate : current;
+        }
     }
 
     private String getReportPath(String reportType) {
@@ -378,14 +373,61 @@ public class FreezerReportServiceImpl implements FreezerReportService {
         };
     }
 
-    private FreezerDailyLogData mapToDailyLogData(FreezerReading reading) {
+    private FreezerDailyLogData mapToDailyLogData(FreezerReading reading, Map<Long, List<Alert>> alertsByFreezer) {
+        FreezerDailyLogData data = new FreezerDailyLogData();
+        setTimeFields(data, reading.getRecordedAt());
+
+        // Reading data
+        data.setTemperature(reading.getTemperatureCelsius());
+        data.setHumidity(reading.getHumidityPercentage());
+        data.setStatus(reading.getStatus() != null ? reading.getStatus().name() : "NORMAL");
+        data.setAlertTriggered(checkIfAlertExistsAtTime(reading, alertsByFreezer));
+
+        return data;
+    }
+
+    /**
+     * One row per archived hour: the hour's averages stand in for the reading and
+     * its worst status for the status.
+     */
+    private FreezerDailyLogData mapToDailyLogData(FreezerReadingRollup rollup,
+            Map<Long, List<Alert>> alertsByFreezer) {
         FreezerDailyLogData data = new FreezerDailyLogData();
+        setTimeFields(data, rollup.getBucketStart());
+
+        data.setTemperature(rollup.getTemperatureAvg());
+        data.setHumidity(rollup.getHumidityAvg());
+        data.setStatus(rollup.getCriticalCount() > 0 ? FreezerReading.Status.CRITICAL.name()
+                : rollup.getWarningCount() > 0 ? FreezerReading.Status.WARNING.name()
+                        : FreezerReading.Status.NORMAL.name());
+        data.setReadingCount(rollup.getReadingCount());
+        data.setAvgTemperature(rollup.getTemperatureAvg());
+        data.setMinTemperature(rollup.getTemperatureMin());
+        data.setMaxTemperature(rollup.getTemperatureMax());
+        data.setAvgHumidity(rollup.getHumidityAvg());
+        data.setNormalCount(rollup.getNormalCount());
+        data.setWarningCount(rollup.getWarningCount());
+        data.setCriticalCount(rollup.getCriticalCount());
+
+        OffsetDateTime hourStart = rollup.getBucketStart();
+        OffsetDateTime hourEnd = hourStart.plusHours(1);
+        List<Alert> alerts = alertsByFreezer.computeIfAbsent(rollup.getFreezer().getId(),
+                id -> alertService.getAlertsByEntity("Freezer", id));
+        int alertCount = (int) alerts.stream().filter(alert -> alert.getStartTime() != null)
+                .filter(alert -> !alert.getStartTime().isBefore(hourStart) && alert.getStartTime().isBefore(hourEnd))
+                .count();
+        data.setAlertCount(alertCount);
+        data.setAlertTriggered(alertCount > 0);
+
+        return data;
+    }
 
-        OffsetDateTime recordedAt = reading.getRecordedAt();
-        LocalDate date = recordedAt.toLocalDate();
+    private void setTimeFields(FreezerDailyLogData data, OffsetDateTime recordedAt) {
+        LocalDate date = toLocalDate(recordedAt);
 
         // Full timestamp
-        data.setRecordedAt(recordedAt.format(DATE_TIME_FORMATTER));
+        data.setRecordedAt(recordedAt.atZoneSameInstant(freezerReadingRollupService.getZone())
+                .format(DATE_TIME_FORMATTER));
 
         // Date grouping fields
         data.setDate(date.format(DATE_FORMATTER));
@@ -397,14 +439,6 @@ public class FreezerReportServiceImpl implements FreezerReportService {
         int weekOfMonth = date.get(WEEK_FIELDS.weekOfMonth());
         data.setWeekNumber(weekOfMonth);
         data.setWeekPeriod(calculateWeekPeriod(date, weekOfMonth));
-
-        // Reading data
-        data.setTemperature(reading.getTemperatureCelsius());
-        data.setHumidity(reading.getHumidityPercentage());
-        data.setStatus(reading.getStatus() != null ? reading.getStatus().name() : "NORMAL");
-        data.setAlertTriggered(checkIfAlertExistsAtTime(reading));
-
-        return data;
     }
 
     private String calculateWeekPeriod(LocalDate date, int weekOfMonth) {
@@ -422,7 +456,7 @@ public class FreezerReportServiceImpl implements FreezerReportService {
                 weekEnd.format(MONTH_DAY_FORMATTER), date.getYear());
     }
 
-    private boolean checkIfAlertExistsAtTime(FreezerReading reading) {
+    private boolean checkIfAlertExistsAtTime(FreezerReading reading, Map<Long, List<Alert>> alertsByFreezer) {
         if (reading.getFreezer() == null || reading.getRecordedAt() == null) {
             return false;
         }
@@ -430,7 +464,8 @@ public class FreezerReportServiceImpl implements FreezerReportService {
         OffsetDateTime startWindow = readingTime.minusMinutes(5);
         OffsetDateTime endWindow = readingTime.plusMinutes(5);
 
-        List<Alert> alerts = alertService.getAlertsByEntity("Freezer", reading.getFreezer().getId());
+        List<Alert> alerts = alertsByFreezer.computeIfAbsent(reading.getFreezer().getId(),
+                id -> alertService.getAlertsByEntity("Freezer", id));
         return alerts.stream().filter(alert -> alert.getStartTime() != null).anyMatch(
                 alert -> !alert.getStartTime().isBefore(startWindow) && !alert.getStartTime().isAfter(endWindow));
     }
@@ -0,0 +1,26 @@
+package org.openelisglobal.coldstorage.service.dto;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import lombok.Data;
+
+/**
+ * One point of a downsampled temperature series. For raw readings min, max and
+ * avg are all the recorded value and readingCount is 1. Daily points may span
+ * several days, given by bucketDays, when the range is longer than the number
+ * of points asked for.
+ */
+@Data
+public class FreezerReadingSeriesPoint {
+    private OffsetDateTime bucketStart;
+    private String granularity; // RAW, HOURLY or DAILY
+    private Integer readingCount;
+    private BigDecimal minTemperature;
+    private BigDecimal maxTemperature;
+    private BigDecimal avgTemperature;
+    private BigDecimal avgHumidity;
+    private Integer warningCount;
+    private Integer criticalCount;
+    private Integer excursionCount;
+    private Integer bucketDays; // days covered by a DAILY point, null otherwise
+}
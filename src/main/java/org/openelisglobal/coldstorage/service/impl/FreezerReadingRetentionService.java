@@ -0,0 +1,35 @@
+package org.openelisglobal.coldstorage.service.impl;
+
+import org.openelisglobal.coldstorage.service.FreezerReadingRollupService;
+import org.openelisglobal.config.condition.ConditionalOnProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Nightly archiving of raw freezer readings past the retention window
+ * (org.openelisglobal.freezermonitoring.retention.raw-days). Only created when
+ * org.openelisglobal.freezermonitoring.enabled=true.
+ */
+@Service
+@ConditionalOnProperty(property = "org.openelisglobal.freezermonitoring.enabled", havingValue = "true")
+public class FreezerReadingRetentionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FreezerReadingRetentionService.class);
+
+    private final FreezerReadingRollupService freezerReadingRollupService;
+
+    public FreezerReadingRetentionService(FreezerReadingRollupService freezerReadingRollupService) {
+        this.freezerReadingRollupService = freezerReadingRollupService;
+    }
+
+    @Scheduled(cron = "${org.openelisglobal.freezermonitoring.retention.cron:0 15 3 * * ?}")
+    public void archiveExpiredReadings() {
+        try {
+            freezerReadingRollupService.archiveExpiredReadings();
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to archive expired freezer readings", e);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package org.openelisglobal.coldstorage.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.openelisglobal.coldstorage.config.FreezerMonitoringProperties;
+import org.openelisglobal.coldstorage.dao.FreezerDAO;
+import org.openelisglobal.coldstorage.dao.FreezerReadingDAO;
+import org.openelisglobal.coldstorage.dao.FreezerReadingRollupDAO;
+import org.openelisglobal.coldstorage.service.FreezerReadingRollupService;
+import org.openelisglobal.coldstorage.service.dto.FreezerReadingSeriesPoint;
+import org.openelisglobal.coldstorage.valueholder.Freezer;
+import org.openelisglobal.coldstorage.valueholder.FreezerReading;
+import org.openelisglobal.coldstorage.valueholder.FreezerReadingRollup;
+import org.openelisglobal.coldstorage.valueholder.FreezerReadingRollup.Granularity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class FreezerReadingRollupServiceImpl implements FreezerReadingRollupService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FreezerReadingRollupServiceImpl.class);
+
+    private static final int DEFAULT_POLLING_INTERVAL_SECONDS = 60;
+
+    private final FreezerReadingRollupDAO freezerReadingRollupDAO;
+    private final FreezerReadingDAO freezerReadingDAO;
+    private final FreezerDAO freezerDAO;
+    private final FreezerMonitoringProperties properties;
+
+    public FreezerReadingRollupServiceImpl(FreezerReadingRollupDAO freezerReadingRollupDAO,
+            FreezerReadingDAO freezerReadingDAO, FreezerDAO freezerDAO, FreezerMonitoringProperties properties) {
+        this.freezerReadingRollupDAO = freezerReadingRollupDAO;
+        this.freezerReadingDAO = freezerReadingDAO;
+        this.freezerDAO = freezerDAO;
+        this.properties = properties;
+    }
+
+    @Override
+    @Transactional
+    public void accumulate(FreezerReading reading, boolean excursionStarted) {
+        if (reading.getRecordedAt() == null || reading.getFreezer() == null) {
+            return;
+        }
+        for (Granularity granularity : Granularity.values()) {
+            freezerReadingRollupDAO.accumulate(reading, granularity,
+                    bucketStart(reading.getRecordedAt(), granularity), excursionStarted);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FreezerReadingRollup> getRollups(Long freezerId, Granularity granularity, OffsetDateTime start,
+            OffsetDateTime end) {
+        OffsetDateTime firstBucket = bucketStart(start, granularity);
+        if (freezerId == null) {
+            return freezerReadingRollupDAO.findAllWithin(granularity, firstBucket, end);
+        }
+        return freezerReadingRollupDAO.findByFreezerWithin(freezerId, granularity, firstBucket, end);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FreezerReadingSeriesPoint> getDownsampledSeries(Long freezerId, OffsetDateTime start,
+            OffsetDateTime end, int maxPoints) {
+        Duration range = Duration.between(start, end);
+        int pollingSeconds = freezerDAO.get(freezerId).map(Freezer::getPollingIntervalSeconds)
+                .filter(seconds -> seconds != null && seconds > 0).orElse(DEFAULT_POLLING_INTERVAL_SECONDS);
+
+        if (range.getSeconds() / pollingSeconds <= maxPoints && isRawAvailable(start)) {
+            return freezerReadingDAO.findByFreezerWithin(freezerId, start, end).stream().map(this::toPoint)
+                    .collect(Collectors.toList());
+        }
+        if (range.toHours() <= maxPoints) {
+            return getRollups(freezerId, Granularity.HOURLY, start, end).stream().map(this::toPoint)
+                    .collect(Collectors.toList());
+        }
+        // beyond maxPoints days, consecutive days are merged into spans of equal length
+        LocalDate firstDay = localDate(start);
+        long days = ChronoUnit.DAYS.between(firstDay, localDate(end)) + 1;
+        int daysPerPoint = (int) Math.max(1, (days + maxPoints - 1) / Math.max(1, maxPoints));
+        Map<Long, List<FreezerReadingRollup>> spans = new TreeMap<>();
+        for (FreezerReadingRollup rollup : getRollups(freezerId, Granularity.DAILY, start, end)) {
+            long span = ChronoUnit.DAYS.between(firstDay, localDate(rollup.getBucketStart())) / daysPerPoint;
+            spans.computeIfAbsent(span, k -> new ArrayList<>()).add(rollup);
+        }
+        List<FreezerReadingSeriesPoint> points = new ArrayList<>();
+        for (List<FreezerReadingRollup> span : spans.values()) {
+            FreezerReadingSeriesPoint point = toPoint(span);
+            point.setBucketDays(daysPerPoint);
+            points.add(point);
+        }
+        return points;
+    }
+
+    @Override
+    public int archiveExpiredReadings() {
+        if (properties.getRawRetentionDays() <= 0 || properties.getArchiveBatchSize() < 1) {
+            return 0;
+        }
+        OffsetDateTime cutoff = getRawRetentionCutoff();
+        int total = 0;
+        int moved;
+        do {
+            // not transactional here, so each batch commits on its own and a long run
+            // neither holds its locks nor loses earlier batches on failure
+            moved = freezerReadingDAO.archiveReadingsBefore(cutoff, properties.getArchiveBatchSize());
+            total += moved;
+        } while (moved == properties.getArchiveBatchSize());
+        LOGGER.info("Archived {} freezer readings recorded before {}", total, cutoff);
+        return total;
+    }
+
+    @Override
+    public OffsetDateTime bucketStart(OffsetDateTime recordedAt, Granularity granularity) {
+        // buckets follow the rollup time zone so that daily rollups line up with
+        // the calendar days used by FreezerReportService and the 016 backfill
+        return recordedAt.atZoneSameInstant(getZone())
+                .truncatedTo(granularity == Granularity.HOURLY ? ChronoUnit.HOURS : ChronoUnit.DAYS)
+                .toOffsetDateTime();
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return properties.getRollupZone();
+    }
+
+    @Override
+    public OffsetDateTime getRawRetentionCutoff() {
+        if (properties.getRawRetentionDays() <= 0) {
+            return null;
+        }
+        return bucketStart(OffsetDateTime.now().minusDays(properties.getRawRetentionDays()), Granularity.DAILY);
+    }
+
+    private boolean isRawAvailable(OffsetDateTime start) {
+        OffsetDateTime cutoff = getRawRetentionCutoff();
+        return cutoff == null || !start.isBefore(cutoff);
+    }
+
+    private FreezerReadingSeriesPoint toPoint(FreezerReading reading) {
+        FreezerReadingSeriesPoint point = new FreezerReadingSeriesPoint();
+        point.setBucketStart(reading.getRecordedAt());
+        point.setGranularity("RAW");
+        point.setReadingCount(1);
+        point.setMinTemperature(reading.getTemperatureCelsius());
+        point.setMaxTemperature(reading.getTemperatureCelsius());
+        point.setAvgTemperature(reading.getTemperatureCelsius());
+        point.setAvgHumidity(reading.getHumidityPercentage());
+        point.setWarningCount(reading.getStatus() == FreezerReading.Status.WARNING ? 1 : 0);
+        point.setCriticalCount(reading.getStatus() == FreezerReading.Status.CRITICAL ? 1 : 0);
+        point.setExcursionCount(0);
+        return point;
+    }
+
+    private LocalDate localDate(OffsetDateTime time) {
+        return time.atZoneSameInstant(getZone()).toLocalDate();
+    }
+
+    /** Merges consecutive daily rollups into one point starting at the first of them. */
+    private FreezerReadingSeriesPoint toPoint(List<FreezerReadingRollup> rollups) {
+        int readingCount = 0;
+        int temperatureCount = 0;
+        int humidityCount = 0;
+        int warningCount = 0;
+        int criticalCount = 0;
+        int excursionCount = 0;
+        BigDecimal temperatureSum = BigDecimal.ZERO;
+        BigDecimal humiditySum = BigDecimal.ZERO;
+        BigDecimal min = null;
+        BigDecimal max = null;
+        for (FreezerReadingRollup rollup : rollups) {
+            readingCount += rollup.getReadingCount();
+            warningCount += rollup.getWarningCount();
+            criticalCount += rollup.getCriticalCount();
+            excursionCount += rollup.getExcursionCount();
+            if (rollup.getTemperatureSum() != null) {
+                temperatureSum = temperatureSum.add(rollup.getTemperatureSum());
+                temperatureCount += rollup.getTemperatureCount();
+            }
+            if (rollup.getHumiditySum() != null) {
+                humiditySum = humiditySum.add(rollup.getHumiditySum());
+                humidityCount += rollup.getHumidityCount();
+            }
+            if (rollup.getTemperatureMin() != null && (min == null || rollup.getTemperatureMin().compareTo(min) < 0)) {
+                min = rollup.getTemperatureMin();
+            }
+            if (rollup.getTemperatureMax() != null && (max == null || rollup.getTemperatureMax().compareTo(max) > 0)) {
+                max = rollup.getTemperatureMax();
+            }
+        }
+        FreezerReadingSeriesPoint point = new FreezerReadingSeriesPoint();
+        point.setBucketStart(rollups.get(0).getBucketStart());
+        point.setGranularity(Granularity.DAILY.name());
+        point.setReadingCount(readingCount);
+        point.setMinTemperature(min);
+        point.setMaxTemperature(max);
+        point.setAvgTemperature(temperatureCount == 0 ? null
+                : temperatureSum.divide(BigDecimal.valueOf(temperatureCount), 2, RoundingMode.HALF_UP));
+        point.setAvgHumidity(humidityCount == 0 ? null
+                : humiditySum.divide(BigDecimal.valueOf(humidityCount), 2, RoundingMode.HALF_UP));
+        point.setWarningCount(warningCount);
+        point.setCriticalCount(criticalCount);
+        point.setExcursionCount(excursionCount);
+        return point;
+    }
+
+    private FreezerReadingSeriesPoint toPoint(FreezerReadingRollup rollup) {
+        FreezerReadingSeriesPoint point = new FreezerReadingSeriesPoint();
+        point.setBucketStart(rollup.getBucketStart());
+        point.setGranularity(rollup.getGranularity().name());
+        point.setReadingCount(rollup.getReadingCount());
+        point.setMinTemperature(rollup.getTemperatureMin());
+        point.setMaxTemperature(rollup.getTemperatureMax());
+        point.setAvgTemperature(rollup.getTemperatureAvg());
+        point.setAvgHumidity(rollup.getHumidityAvg());
+        point.setWarningCount(rollup.getWarningCount());
+        point.setCriticalCount(rollup.getCriticalCount());
+        point.setExcursionCount(rollup.getExcursionCount());
+        return point;
+    }
+}
@@ -2,6 +2,8 @@ package org.openelisglobal.coldstorage.service.impl;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import org.openelisglobal.coldstorage.event.FreezerTemperatureThresholdViolatedEvent;
+import org.openelisglobal.coldstorage.service.FreezerReadingRollupService;
 import org.openelisglobal.coldstorage.service.FreezerReadingService;
 import org.openelisglobal.coldstorage.service.ReadingIngestionService;
 import org.openelisglobal.coldstorage.service.ThresholdEvaluationService;
@@ -21,12 +23,15 @@ public class ReadingIngestionServiceImpl implements ReadingIngestionService {
 
     private final ThresholdEvaluationService thresholdEvaluationService;
     private final FreezerReadingService freezerReadingService;
+    private final FreezerReadingRollupService freezerReadingRollupService;
     private final ApplicationEventPublisher eventPublisher;
 
     public ReadingIngestionServiceImpl(ThresholdEvaluationService thresholdEvaluationService,
-            FreezerReadingService freezerReadingService, ApplicationEventPublisher eventPublisher) {
+            FreezerReadingService freezerReadingService, FreezerReadingRollupService freezerReadingRollupService,
+            ApplicationEventPublisher eventPublisher) {
         this.thresholdEvaluationService = thresholdEvaluationService;
         this.freezerReadingService = freezerReadingService;
+        this.freezerReadingRollupService = freezerReadingRollupService;
         this.eventPublisher = eventPublisher;
     }
 
@@ -41,9 +46,16 @@ public class ReadingIngestionServiceImpl implements ReadingIngestionService {
         }
 
         FreezerReading.Status status = determineStatus(temperature, humidity, transmissionOk, profile);
+        FreezerReading.Status previousStatus = freezerReadingService.getLatestReading(freezer.getId())
+                .map(FreezerReading::getStatus).orElse(FreezerReading.Status.NORMAL);
         FreezerReading savedReading = freezerReadingService.saveReading(freezer, recordedAt, temperature, humidity,
                 status, transmissionOk, errorMessage);
 
+        // Keep hourly/daily rollups current so reports and charts never scan raw rows
+        boolean excursionStarted = previousStatus == FreezerReading.Status.NORMAL
+                && status != FreezerReading.Status.NORMAL;
+        freezerReadingRollupService.accumulate(savedReading, excursionStarted);
+
         // Check temperature thresholds and publish events for alert system
         if (profile != null) {
             // Use advanced ThresholdProfile if available
@@ -154,8 +166,8 @@ public class ReadingIngestionServiceImpl implements ReadingIngestionService {
 
     private void publishThresholdViolatedEvent(Long freezerId, BigDecimal temperature, BigDecimal thresholdValue,
             String thresholdType, Long readingId) {
-        org.openelisglobal.coldstorage.event.FreezerTemperatureThresholdViolatedEvent event = new org.openelisglobal.coldstorage.event.FreezerTemperatureThresholdViolatedEvent(
-                this, freezerId, temperature, thresholdValue, thresholdType, readingId);
+        FreezerTemperatureThresholdViolatedEvent event = new FreezerTemperatureThresholdViolatedEvent(this, freezerId,
+                temperature, thresholdValue, thresholdType, readingId);
         eventPublisher.publishEvent(event);
         LOGGER.info("Published temperature threshold violated event for freezer {}: {} (threshold: {})", freezerId,
                 temperature, thresholdValue);
@@ -0,0 +1,122 @@
+package org.openelisglobal.coldstorage.valueholder;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.OffsetDateTime;
+import lombok.Getter;
+import lombok.Setter;
+import org.openelisglobal.common.valueholder.BaseObject;
+
+/**
+ * Pre-aggregated bucket of {@link FreezerReading} values. Rows are maintained
+ * incrementally on ingest (see {@code FreezerReadingRollupDAO#accumulate}) so
+ * that charts and weekly/monthly reports never need to scan raw readings.
+ *
+ * <p>
+ * Sums and counts are stored rather than averages so that a bucket can be
+ * updated with a single upsert per reading.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "freezer_reading_rollup", indexes = {
+        @Index(name = "idx_freezer_reading_rollup_bucket", columnList = "freezer_id, granularity, bucket_start",
+                unique = true) })
+public class FreezerReadingRollup extends BaseObject<Long> {
+
+    public enum Granularity {
+        HOURLY, DAILY
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "freezer_reading_rollup_generator")
+    @SequenceGenerator(name = "freezer_reading_rollup_generator", sequenceName = "freezer_reading_rollup_seq",
+            allocationSize = 1)
+    @Column(name = "id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "freezer_id", nullable = false)
+    private Freezer freezer;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", length = 8, nullable = false)
+    private Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private OffsetDateTime bucketStart;
+
+    @Column(name = "reading_count", nullable = false)
+    private Integer readingCount = 0;
+
+    @Column(name = "temperature_count", nullable = false)
+    private Integer temperatureCount = 0;
+
+    @Column(name = "temperature_sum")
+    private BigDecimal temperatureSum;
+
+    @Column(name = "temperature_min")
+    private BigDecimal temperatureMin;
+
+    @Column(name = "temperature_max")
+    private BigDecimal temperatureMax;
+
+    @Column(name = "humidity_count", nullable = false)
+    private Integer humidityCount = 0;
+
+    @Column(name = "humidity_sum")
+    private BigDecimal humiditySum;
+
+    @Column(name = "humidity_min")
+    private BigDecimal humidityMin;
+
+    @Column(name = "humidity_max")
+    private BigDecimal humidityMax;
+
+    @Column(name = "normal_count", nullable = false)
+    private Integer normalCount = 0;
+
+    @Column(name = "warning_count", nullable = false)
+    private Integer warningCount = 0;
+
+    @Column(name = "critical_count", nullable = false)
+    private Integer criticalCount = 0;
+
+    @Column(name = "transmission_failure_count", nullable = false)
+    private Integer transmissionFailureCount = 0;
+
+    /** Number of excursions (NORMAL to WARNING/CRITICAL transitions) started in this bucket. */
+    @Column(name = "excursion_count", nullable = false)
+    private Integer excursionCount = 0;
+
+    @Transient
+    public BigDecimal getTemperatureAvg() {
+        return average(temperatureSum, temperatureCount);
+    }
+
+    @Transient
+    public BigDecimal getHumidityAvg() {
+        return average(humiditySum, humidityCount);
+    }
+
+    private static BigDecimal average(BigDecimal sum, Integer count) {
+        if (sum == null || count == null || count == 0) {
+            return null;
+        }
+        return sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+}
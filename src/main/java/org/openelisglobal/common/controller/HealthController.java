@@ -1,5 +1,12 @@
 package org.openelisglobal.common.controller;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.openelisglobal.common.log.LogEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -8,19 +15,46 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/health")
 public class HealthController {
 
+    private static final int DATABASE_TIMEOUT_SECONDS = 2;
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * @return UP, or DOWN with a 503 status when the database can't be reached,
+     *         so a load balancer or container check stops sending requests
+     */
     @GetMapping
-    public HealthState showHealthState() {
-        return new HealthState();
+    public ResponseEntity<HealthState> showHealthState() {
+        HealthState healthState = new HealthState();
+        healthState.setDatabase(databaseStatus());
+        healthState.setStatus(healthState.getDatabase());
+        return ResponseEntity
+                .status(healthState.getStatus() == HealthState.Status.UP ? HttpStatus.OK
+                        : HttpStatus.SERVICE_UNAVAILABLE)
+                .body(healthState);
+    }
+
+    private HealthState.Status databaseStatus() {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(DATABASE_TIMEOUT_SECONDS) ? HealthState.Status.UP : HealthState.Status.DOWN;
+        } catch (SQLException e) {
+            LogEvent.logWarn(this.getClass().getSimpleName(), "showHealthState",
+                    "database is unreachable: " + e.getMessage());
+            return HealthState.Status.DOWN;
+        }
     }
 
     public static class HealthState {
 
         public enum Status {
-            UP
+            UP, DOWN
         };
 
         public Status status = Status.UP;
 
+        public Status database = Status.UP;
+
         public Status getStatus() {
             return status;
         }
@@ -28,5 +62,13 @@ public class HealthController {
         public void setStatus(Status status) {
             this.status = status;
         }
+
+        public Status getDatabase() {
+            return database;
+        }
+
+        public void setDatabase(Status database) {
+            this.database = database;
+        }
     }
 }
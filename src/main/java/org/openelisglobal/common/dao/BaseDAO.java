@@ -17,6 +17,8 @@ import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
+import org.openelisglobal.common.paging.KeysetPage;
 import org.openelisglobal.common.valueholder.BaseObject;
 
 /**
@@ -259,6 +261,24 @@ public interface BaseDAO<T extends BaseObject<PK>, PK extends Serializable> {
     List<T> getMatchingOrderedPage(Map<String, Object> propertyValues, List<String> orderProperties, boolean descending,
             int startingRecNo);
 
+    /**
+     * Gets the page after the cursor by seeking on the key instead of skipping
+     * rows, so deep pages cost the same as the first one.
+     *
+     * @param propertyValues Key Value pairs where key is the property name and
+     *                       value is the value it must match
+     * @param keyProperties  the properties to order by, which together must be
+     *                       unique and not null, e.g. ending with "id"
+     * @param descending     Set to true to order by descending, false for order by
+     *                       ascending
+     * @param cursor         the nextCursor of the previous page, or null for the
+     *                       first page
+     * @param pageSize       the maximum number of rows in the page
+     * @throws IllegalArgumentException if the cursor was not made by this listing
+     */
+    KeysetPage<T> getMatchingKeysetPage(Map<String, Object> propertyValues, List<String> keyProperties,
+            boolean descending, String cursor, int pageSize);
+
     /**
      * @param object the data to insert
      * @return the id of the inserted object
@@ -277,6 +297,16 @@ public interface BaseDAO<T extends BaseObject<PK>, PK extends Serializable> {
      */
     void delete(T object);
 
+    /**
+     * Runs work with the flush that follows each insert, update and delete, of any
+     * entity, put off until work is done and then done once, so that the
+     * statements go to the database in JDBC batches. Constraint violations surface
+     * at that flush rather than at the write that caused them.
+     *
+     * @return what work returns
+     */
+    <R> R withBatchedWrites(Supplier<R> work);
+
     /**
      * @return the number of rows
      */
@@ -26,20 +26,36 @@ import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.hibernate.HibernateException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
 import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.query.Query;
 import org.openelisglobal.common.action.IActionConstants;
 import org.openelisglobal.common.dao.BaseDAO;
 import org.openelisglobal.common.exception.LIMSRuntimeException;
 import org.openelisglobal.common.log.LogEvent;
+import org.openelisglobal.common.paging.KeysetCursor;
+import org.openelisglobal.common.paging.KeysetPage;
 import org.openelisglobal.common.util.ConfigurationProperties;
 import org.openelisglobal.common.valueholder.BaseObject;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -57,6 +73,12 @@ import org.springframework.transaction.annotation.Transactional;
 public abstract class BaseDAOImpl<T extends BaseObject<PK>, PK extends Serializable>
         implements BaseDAO<T, PK>, IActionConstants {
 
+    // rows read from the database per round trip when streaming
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    // how many withBatchedWrites calls are running on this thread
+    private static final ThreadLocal<Integer> BATCHED_WRITES_DEPTH = ThreadLocal.withInitial(() -> 0);
+
     private enum DBComparison {
         EQ, LIKE, IN
     }
@@ -424,6 +446,95 @@ public abstract class BaseDAOImpl<T extends BaseObject<PK>, PK extends Serializa
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("rawtypes")
+    public KeysetPage<T> getMatchingKeysetPage(Map<String, Object> propertyValues, List<String> keyProperties,
+            boolean descending, String cursor, int pageSize) {
+        List<Object> afterKey = KeysetCursor.decode(cursor, keyProperties);
+        try {
+            CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Object[]> criteriaQuery = criteriaBuilder.createQuery(Object[].class);
+            Root<T> root = criteriaQuery.from(this.classType);
+
+            // the key values are selected with the row so the cursor can be built from
+            // them without touching the entity's associations
+            List<Path> keyPaths = new ArrayList<>();
+            List<Selection<?>> selections = new ArrayList<>();
+            selections.add(root);
+            for (String keyProperty : keyProperties) {
+                Path keyPath = getPathToProperty(root, keyProperty);
+                keyPaths.add(keyPath);
+                selections.add(keyPath);
+            }
+            criteriaQuery.multiselect(selections);
+
+            List<Predicate> wherePredicates = new ArrayList<>();
+            for (Entry<String, Object> entrySet : propertyValues.entrySet()) {
+                wherePredicates.add(criteriaBuilder.equal(getPathToProperty(root, entrySet.getKey()),
+                        toQueryValue(entrySet.getKey(), entrySet.getValue())));
+            }
+            if (afterKey != null) {
+                wherePredicates.add(getSeekPredicate(criteriaBuilder, keyPaths, afterKey, descending));
+            }
+            criteriaQuery.where(wherePredicates.toArray(new Predicate[wherePredicates.size()]));
+
+            List<Order> orderByList = new ArrayList<>();
+            for (Path keyPath : keyPaths) {
+                orderByList.add(descending ? criteriaBuilder.desc(keyPath) : criteriaBuilder.asc(keyPath));
+            }
+            criteriaQuery.orderBy(orderByList);
+
+            // one extra row tells us whether there is a next page
+            List<Object[]> rows = entityManager.createQuery(criteriaQuery).setMaxResults(pageSize + 1)
+                    .getResultList();
+            boolean hasMore = rows.size() > pageSize;
+            if (hasMore) {
+                rows = rows.subList(0, pageSize);
+            }
+
+            List<T> items = new ArrayList<>();
+            for (Object[] row : rows) {
+                items.add(classType.cast(row[0]));
+            }
+            String nextCursor = null;
+            if (hasMore) {
+                Object[] lastRow = rows.get(rows.size() - 1);
+                nextCursor = KeysetCursor.encode(keyProperties, Arrays.asList(lastRow).subList(1, lastRow.length));
+            }
+            return new KeysetPage<>(items, nextCursor);
+        } catch (HibernateException e) {
+            LogEvent.logError(e);
+            throw new LIMSRuntimeException(
+                    "Error in " + this.getClass().getSimpleName() + " " + "getMatchingKeysetPage", e);
+        }
+    }
+
+    /**
+     * (k1 > v1) or (k1 = v1 and k2 > v2) or ..., with the redundant k1 >= v1 added
+     * so that the database can start an index range scan at the cursor
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private Predicate getSeekPredicate(CriteriaBuilder criteriaBuilder, List<Path> keyPaths, List<Object> afterKey,
+            boolean descending) {
+        List<Predicate> alternatives = new ArrayList<>();
+        for (int i = 0; i < keyPaths.size(); i++) {
+            List<Predicate> conjuncts = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                conjuncts.add(criteriaBuilder.equal(keyPaths.get(j), afterKey.get(j)));
+            }
+            Comparable value = (Comparable) afterKey.get(i);
+            conjuncts.add(descending ? criteriaBuilder.lessThan(keyPaths.get(i), value)
+                    : criteriaBuilder.greaterThan(keyPaths.get(i), value));
+            alternatives.add(criteriaBuilder.and(conjuncts.toArray(new Predicate[conjuncts.size()])));
+        }
+        Comparable first = (Comparable) afterKey.get(0);
+        Predicate leadingBound = descending ? criteriaBuilder.lessThanOrEqualTo(keyPaths.get(0), first)
+                : criteriaBuilder.greaterThanOrEqualTo(keyPaths.get(0), first);
+        return criteriaBuilder.and(leadingBound,
+                criteriaBuilder.or(alternatives.toArray(new Predicate[alternatives.size()])));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<T> getLikeOrderedPage(String propertyName, String propertyValue, String orderProperty,
@@ -511,7 +622,7 @@ public abstract class BaseDAOImpl<T extends BaseObject<PK>, PK extends Serializa
     public PK insert(T object) {
         try {
             entityManager.persist(object);
-            entityManager.flush();
+            flushUnlessBatching();
             return object.getId();
             // Session session = entityManager.unwrap(Session.class);
             // PK id = (PK) session.save(object);
@@ -526,7 +637,7 @@ public abstract class BaseDAOImpl<T extends BaseObject<PK>, PK extends Serializa
     public T update(T object) {
         try {
             T dbObject = entityManager.merge(object);
-            entityManager.flush();
+            flushUnlessBatching();
             return dbObject;
             // Session session = entityManager.unwrap(Session.class);
             // T dbObject = (T) session.merge(object);
@@ -542,7 +653,7 @@ public abstract class BaseDAOImpl<T extends BaseObject<PK>, PK extends Serializa
     public void delete(T object) {
         try {
             entityManager.remove(object);
-            entityManager.flush();
+            flushUnlessBatching();
             // Session session = entityManager.unwrap(Session.class);
             // session.delete(object);
             // session.flush();
@@ -552,6 +663,32 @@ public abstract class BaseDAOImpl<T extends BaseObject<PK>, PK extends Serializa
         }
     }
 
+    @Override
+    public <R> R withBatchedWrites(Supplier<R> work) {
+        BATCHED_WRITES_DEPTH.set(BATCHED_WRITES_DEPTH.get() + 1);
+        try {
+            R result = work.get();
+            entityManager.flush();
+            return result;
+        } catch (HibernateException e) {
+            LogEvent.logError(e);
+            throw new LIMSRuntimeException("Error in " + this.getClass().getSimpleName() + " withBatchedWrites", e);
+        } finally {
+            int depth = BATCHED_WRITES_DEPTH.get() - 1;
+            if (depth == 0) {
+                BATCHED_WRITES_DEPTH.remove();
+            } else {
+                BATCHED_WRITES_DEPTH.set(depth);
+            }
+        }
+    }
+
+    private void flushUnlessBatching() {
+        if (BATCHED_WRITES_DEPTH.get() == 0) {
+            entityManager.flush();
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Integer getCount() {
@@ -641,6 +778,87 @@ public abstract class BaseDAOImpl<T extends BaseObject<PK>, PK extends Serializa
         }
     }
 
+    /**
+     * Runs an HQL query in a stateless session of its own and returns the rows as
+     * they come off a forward only cursor, so a bulk read neither fills the
+     * persistence context nor holds the whole result in memory. Entities in the
+     * stream are detached: lazy associations on them can not be loaded.
+     *
+     * <p>
+     * The stream holds a database connection until it is closed, so callers must
+     * close it, preferably with try-with-resources. Prefer
+     * {@link #forEachBatch(String, Class, Map, int, Consumer)}, which does that.
+     */
+    protected <R> Stream<R> stream(String hql, Class<R> resultType, Map<String, Object> parameters) {
+        SessionFactory sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
+        StatelessSession session = sessionFactory.openStatelessSession();
+        try {
+            // the postgres driver ignores the fetch size, and reads everything, outside of
+            // a transaction
+            session.beginTransaction();
+            Query<R> query = session.createQuery(hql, resultType);
+            parameters.forEach(query::setParameter);
+            query.setFetchSize(STREAM_FETCH_SIZE);
+            query.setReadOnly(true);
+            ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY);
+            Spliterator<R> rows = new Spliterators.AbstractSpliterator<R>(Long.MAX_VALUE, Spliterator.ORDERED) {
+                @Override
+                public boolean tryAdvance(Consumer<? super R> action) {
+                    if (!results.next()) {
+                        return false;
+                    }
+                    action.accept(resultType.cast(results.get(0)));
+                    return true;
+                }
+            };
+            return StreamSupport.stream(rows, false).onClose(() -> closeStream(session, results));
+        } catch (HibernateException e) {
+            closeStream(session, null);
+            handleException(e, "stream");
+        }
+        return Stream.empty();
+    }
+
+    /**
+     * Streams the rows of an HQL query as in
+     * {@link #stream(String, Class, Map)} and hands them to the consumer in lists
+     * of at most batchSize rows. The cursor and its connection are released when
+     * this returns or throws.
+     */
+    protected <R> void forEachBatch(String hql, Class<R> resultType, Map<String, Object> parameters, int batchSize,
+            Consumer<List<R>> consumer) {
+        try (Stream<R> rows = stream(hql, resultType, parameters)) {
+            List<R> batch = new ArrayList<>(batchSize);
+            Iterator<R> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() >= batchSize) {
+                    consumer.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                consumer.accept(batch);
+            }
+        } catch (HibernateException e) {
+            handleException(e, "forEachBatch");
+        }
+    }
+
+    private void closeStream(StatelessSession session, ScrollableResults results) {
+        try {
+            if (results != null) {
+                results.close();
+            }
+            if (session.getTransaction().isActive()) {
+                // nothing was written
+                session.getTransaction().rollback();
+            }
+        } finally {
+            session.close();
+        }
+    }
+
     /**
      * @return object name that Hibernate uses
      */
@@ -668,10 +886,7 @@ public abstract class BaseDAOImpl<T extends BaseObject<PK>, PK extends Serializa
             String propertyName = comparisonOperation.getPropertyName();
             Object propertyValue = comparisonOperation.getPropertyValue();
             Path pathToProperty = getPathToProperty(root, propertyName);
-            if ((propertyName.endsWith("id") || propertyName.endsWith("Id")) && propertyValue instanceof String
-                    && org.apache.commons.validator.GenericValidator.isInt((String) propertyValue)) {
-                propertyValue = Integer.valueOf((String) propertyValue);
-            }
+            propertyValue = toQueryValue(propertyName, propertyValue);
             Predicate predicate;
             switch (comparisonOperation.getComparison()) {
             case EQ:
@@ -696,6 +911,14 @@ public abstract class BaseDAOImpl<T extends BaseObject<PK>, PK extends Serializa
         criteriaQuery.where(wherePredicates.toArray(new Predicate[wherePredicates.size()]));
     }
 
+    private Object toQueryValue(String propertyName, Object propertyValue) {
+        if ((propertyName.endsWith("id") || propertyName.endsWith("Id")) && propertyValue instanceof String
+                && org.apache.commons.validator.GenericValidator.isInt((String) propertyValue)) {
+            return Integer.valueOf((String) propertyValue);
+        }
+        return propertyValue;
+    }
+
     @SuppressWarnings("rawtypes")
     protected void addOrder(CriteriaBuilder criteriaBuilder, CriteriaQuery<T> criteriaQuery, Root<T> root,
             Map<String, Boolean> orderByMap) {
@@ -0,0 +1,147 @@
+package org.openelisglobal.common.paging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Encodes the sort key of the last row of a keyset page as an opaque token
+ * that a client sends back to get the next page. The token records the names
+ * of the key properties so that a cursor from one listing is refused by
+ * another, and the type of each value so that it is bound with the type it was
+ * read with.
+ *
+ * <p>
+ * The token is not signed: a client can forge one, but since the values are
+ * only ever bound as query parameters the worst it can do is start a listing
+ * somewhere else.
+ */
+public final class KeysetCursor {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * @param keyProperties the properties the page is ordered by
+     * @param values        the values of those properties on the last row of the
+     *                      page, none of them null
+     */
+    public static String encode(List<String> keyProperties, List<?> values) {
+        if (keyProperties.size() != values.size()) {
+            throw new IllegalArgumentException("a cursor needs one value per key property");
+        }
+        List<String> types = new ArrayList<>();
+        List<String> encodedValues = new ArrayList<>();
+        for (Object value : values) {
+            if (value == null) {
+                throw new IllegalArgumentException("keyset paging needs non null keys: " + keyProperties);
+            }
+            types.add(typeOf(value));
+            encodedValues.add(valueOf(value));
+        }
+        try {
+            byte[] json = MAPPER.writeValueAsBytes(new Token(keyProperties, types, encodedValues));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("could not encode cursor", e);
+        }
+    }
+
+    /**
+     * @return the key values in the order of keyProperties, or null if the cursor
+     *         is blank
+     * @throws IllegalArgumentException if the cursor is malformed or was made for
+     *                                  other key properties
+     */
+    public static List<Object> decode(String cursor, List<String> keyProperties) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        Token token;
+        try {
+            token = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), Token.class);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new IllegalArgumentException("malformed cursor");
+        }
+        if (token.k() == null || token.t() == null || token.v() == null || !keyProperties.equals(token.k())
+                || token.t().size() != keyProperties.size() || token.v().size() != keyProperties.size()) {
+            throw new IllegalArgumentException("cursor does not belong to this listing");
+        }
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < keyProperties.size(); i++) {
+            values.add(parse(token.t().get(i), token.v().get(i)));
+        }
+        return values;
+    }
+
+    private static String typeOf(Object value) {
+        if (value instanceof String) {
+            return "s";
+        } else if (value instanceof Integer) {
+            return "i";
+        } else if (value instanceof Long) {
+            return "l";
+        } else if (value instanceof Timestamp) {
+            return "ts";
+        } else if (value instanceof Date) {
+            return "d";
+        } else if (value instanceof BigDecimal) {
+            return "n";
+        } else if (value instanceof OffsetDateTime) {
+            return "odt";
+        }
+        throw new IllegalArgumentException("unsupported key type " + value.getClass().getName());
+    }
+
+    private static String valueOf(Object value) {
+        if (value instanceof Timestamp) {
+            // keeps the sub millisecond part, which the database orders by
+            return ((Timestamp) value).toInstant().toString();
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        return value.toString();
+    }
+
+    private static Object parse(String type, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("malformed cursor");
+        }
+        try {
+            switch (type) {
+            case "s":
+                return value;
+            case "i":
+                return Integer.valueOf(value);
+            case "l":
+                return Long.valueOf(value);
+            case "ts":
+                return Timestamp.from(Instant.parse(value));
+            case "d":
+                return Date.valueOf(value);
+            case "n":
+                return new BigDecimal(value);
+            case "odt":
+                return OffsetDateTime.parse(value);
+            default:
+                throw new IllegalArgumentException("malformed cursor");
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("malformed cursor");
+        }
+    }
+
+    // short names keep the tokens short
+    record Token(List<String> k, List<String> t, List<String> v) {
+    }
+}
@@ -0,0 +1,17 @@
+package org.openelisglobal.common.paging;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (seek) paged listing.
+ *
+ * @param items      the rows of the page, in listing order
+ * @param nextCursor the token to pass back for the next page, or null if this
+ *                   is the last page
+ */
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -2,6 +2,8 @@ package org.openelisglobal.common.rest;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -23,6 +25,7 @@ import org.openelisglobal.common.rest.provider.form.DisplayListPagingForm;
 import org.openelisglobal.common.rest.util.DisplayListPaging;
 import org.openelisglobal.common.services.DisplayListService;
 import org.openelisglobal.common.services.DisplayListService.ListType;
+import org.openelisglobal.common.services.DisplayListSnapshot;
 import org.openelisglobal.common.services.IStatusService;
 import org.openelisglobal.common.services.StatusService;
 import org.openelisglobal.common.services.StatusService.AnalysisStatus;
@@ -61,6 +64,8 @@ import org.openelisglobal.typeofsample.service.TypeOfSampleService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ResolvableType;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.client.registration.ClientRegistration;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
@@ -70,6 +75,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
 @Controller
 @RequestMapping(value = "/rest/")
@@ -231,9 +237,34 @@ public class DisplayListController extends BaseRestController {
     }
 
     @GetMapping(value = "displayList/{listType}", produces = MediaType.APPLICATION_JSON_VALUE)
-    @ResponseBody
-    public List<IdValuePair> getDisplayList(@PathVariable DisplayListService.ListType listType) {
-        return DisplayListService.getInstance().getFreshList(listType);
+    public void getDisplayList(@PathVariable DisplayListService.ListType listType, WebRequest webRequest,
+            HttpServletResponse response) throws IOException {
+        writeDisplayList(listType, webRequest, response);
+    }
+
+    private void writeDisplayList(ListType listType, WebRequest webRequest, HttpServletResponse response)
+            throws IOException {
+        writeSnapshot(DisplayListService.getInstance().getSnapshot(listType), webRequest, response);
+    }
+
+    /**
+     * Writes the list's pre-serialized JSON, or only a 304 if the client's
+     * If-None-Match already names this version of the list
+     */
+    private void writeSnapshot(DisplayListSnapshot snapshot, WebRequest webRequest, HttpServletResponse response)
+            throws IOException {
+        if (snapshot == null) {
+            // lists that are never built have always been answered with an empty body
+            return;
+        }
+        // cached, but revalidated with the ETag on every use
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        if (webRequest.checkNotModified(snapshot.etag())) {
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(snapshot.json().length);
+        response.getOutputStream().write(snapshot.json());
     }
 
     @GetMapping(value = "paginatedDisplayList/{listType}", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -257,9 +288,8 @@ public class DisplayListController extends BaseRestController {
     }
 
     @GetMapping(value = "tests", produces = MediaType.APPLICATION_JSON_VALUE)
-    @ResponseBody
-    public List<IdValuePair> getTests() {
-        return DisplayListService.getInstance().getFreshList(ListType.ALL_TESTS);
+    public void getTests(WebRequest webRequest, HttpServletResponse response) throws IOException {
+        writeDisplayList(ListType.ALL_TESTS, webRequest, response);
     }
 
     @GetMapping(value = "tests-by-sample", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -280,81 +310,69 @@ public class DisplayListController extends BaseRestController {
     }
 
     @GetMapping(value = "samples", produces = MediaType.APPLICATION_JSON_VALUE)
-    @ResponseBody
-    public List<IdValuePair> getSamples() {
-        return DisplayListService.getInstance().getList(ListType.SAMPLE_TYPE_ACTIVE);
+    public void getSamples(WebRequest webRequest, HttpServletResponse response) throws IOException {
+        writeDisplayList(ListType.SAMPLE_TYPE_ACTIVE, webRequest, response);
     }
 
     @GetMapping(value = "health-regions", produces = MediaType.APPLICATION_JSON_VALUE)
-    @ResponseBody
-    public List<IdValuePair> getHealthRegions() {
-        return DisplayListService.getInstance().getList(ListType.PATIENT_HEALTH_REGIONS);
+    public void getHealthRegions(WebRequest webRequest, HttpServletResponse response) throws IOException {
+        writeDisplayList(ListType.PATIENT_HEALTH_REGIONS, webRequest, response);
     }
 
     @GetMapping(value = "education-list", produces = MediaType.APPLICATION_JSON_VALUE)
-    @ResponseBody
-    public List<IdValuePair> getEducationList() {
-        return DisplayListService.getInstance().getList(ListType.PATIENT_EDUCATION);
+    public void getEducationList(WebRequest webRequest, HttpServletResponse response) throws IOException {
+        writeDisplayList(ListType.PATIENT_EDUCATION, webRequest, response);
     }
 
     @GetMapping(value = "marital-statuses", produces = MediaType.APPLICATION_JSON_VALUE)
-    @ResponseBody
-    public List<IdValuePair> getMaritialList() {
-        return DisplayListService.getInstance().getList(ListType.PATIENT_MARITAL_STATUS);
+    public void getMaritialList(WebRequest webRequest, HttpServletResponse response) throws IOException {
+        writeDisplayList(ListType.PATIENT_MARITAL_STATUS, webRequest, response);
     }
 
     @GetMapping(value = "nationalities", produces = MediaType.APPLICATION_JSON_VALUE)
-    @ResponseBody
-    public List<IdValuePair> getNationalityList() {
-        return DisplayListService.getInstance().getList(ListType.PATIENT_NATIONALITY);
+    public void getNationalityList(WebRequest webRequest, HttpServletResponse response) throws IOException {
+        writeDisplayList(ListType.PATIENT_NATIONALITY, webRequest, response);
     }
 
     @GetMapping(value = "programs", produces = MediaType.APPLICATION_JSON_VALUE)
-    @ResponseBody
-    public List<IdValuePair> getPrograms() {
-        return DisplayListService.getInstance().getList(ListType.PROGRAM);
+    public void getPrograms(WebRequest webRequest, HttpServletResponse response) throws IOException {
+        writeDisplayList(ListType.PROGRAM, webRequest, response);
     }
 
     @GetMapping(value = "dictionaryPrograms", produces = MediaType.APPLICATION_JSON_VALUE)
-    @ResponseBody
-    public List<IdValuePair> getDictionaryPrograms() {
-        return DisplayListService.getInstance().getList(ListType.DICTIONARY_PROGRAM);
+    public void getDictionaryPrograms(WebRequest webRequest, HttpServletResponse response) throws IOException {
+        writeDisplayList(ListType.DICTIONARY_PROGRAM, webRequest, response);
     }
 
     @GetMapping(value = "patientPaymentsOptions", produces = MediaType.APPLICATION_JSON_VALUE)
-    @ResponseBody
-    public List<IdValuePair> getSamplePatientPaymentOptions() {
-        return DisplayListService.getInstance().getList(ListType.SAMPLE_PATIENT_PAYMENT_OPTIONS);
+    public void getSamplePatientPaymentOptions(WebRequest webRequest, HttpServletResponse response) throws IOException {
+        writeDisplayList(ListType.SAMPLE_PATIENT_PAYMENT_OPTIONS, webRequest, response);
     }
 
     @GetMapping(value = "testLocationCodes", produces = MediaType.APPLICATION_JSON_VALUE)
-    @ResponseBody
-    public List<IdValuePair> getTestLocationCodes() {
-        return DisplayListService.getInstance().getList(ListType.TEST_LOCATION_CODE);
+    public void getTestLocationCodes(WebRequest webRequest, HttpServletResponse response) throws IOException {
+        writeDisplayList(ListType.TEST_LOCATION_CODE, webRequest, response);
     }
 
     @GetMapping(value = "test-rejection-reasons", produces = MediaType.APPLICATION_JSON_VALUE)
-    @ResponseBody
-    public List<IdValuePair> getTestRejectionReasons() {
-        return DisplayListService.getInstance().getList(ListType.REJECTION_REASONS);
+    public void getTestRejectionReasons(WebRequest webRequest, HttpServletResponse response) throws IOException {
+        writeDisplayList(ListType.REJECTION_REASONS, webRequest, response);
     }
 
     @GetMapping(value = "referral-reasons", produces = MediaType.APPLICATION_JSON_VALUE)
-    @ResponseBody
-    private List<IdValuePair> createReferralReasonList() {
-        return DisplayListService.getInstance().getList(ListType.REFERRAL_REASONS);
+    private void createReferralReasonList(WebRequest webRequest, HttpServletResponse response) throws IOException {
+        writeDisplayList(ListType.REFERRAL_REASONS, webRequest, response);
     }
 
     @GetMapping(value = "referral-organizations", produces = MediaType.APPLICATION_JSON_VALUE)
-    @ResponseBody
-    private List<IdValuePair> createReferralOrganizationsList() {
-        return DisplayListService.getInstance().getList(ListType.REFERRAL_ORGANIZATIONS);
+    private void createReferralOrganizationsList(WebRequest webRequest, HttpServletResponse response)
+            throws IOException {
+        writeDisplayList(ListType.REFERRAL_ORGANIZATIONS, webRequest, response);
     }
 
     @GetMapping(value = "site-names", produces = MediaType.APPLICATION_JSON_VALUE)
-    @ResponseBody
-    private List<IdValuePair> getSiteNameList() {
-        return DisplayListService.getInstance().getList(ListType.SAMPLE_PATIENT_REFERRING_CLINIC);
+    private void getSiteNameList(WebRequest webRequest, HttpServletResponse response) throws IOException {
+        writeDisplayList(ListType.SAMPLE_PATIENT_REFERRING_CLINIC, webRequest, response);
     }
 
     @GetMapping(value = "configuration-properties", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -475,21 +493,18 @@ public class DisplayListController extends BaseRestController {
     }
 
     @GetMapping(value = "priorities", produces = MediaType.APPLICATION_JSON_VALUE)
-    @ResponseBody
-    private List<IdValuePair> createPriorityList() {
-        return DisplayListService.getInstance().getList(ListType.ORDER_PRIORITY);
+    private void createPriorityList(WebRequest webRequest, HttpServletResponse response) throws IOException {
+        writeDisplayList(ListType.ORDER_PRIORITY, webRequest, response);
     }
 
     @GetMapping(value = "panels", produces = MediaType.APPLICATION_JSON_VALUE)
-    @ResponseBody
-    private List<IdValuePair> createPanelList() {
-        return DisplayListService.getInstance().getList(ListType.PANELS);
+    private void createPanelList(WebRequest webRequest, HttpServletResponse response) throws IOException {
+        writeDisplayList(ListType.PANELS, webRequest, response);
     }
 
     @GetMapping(value = "test-sections", produces = MediaType.APPLICATION_JSON_VALUE)
-    @ResponseBody
-    private List<IdValuePair> createTestSectionsList() {
-        return DisplayListService.getInstance().getList(ListType.TEST_SECTION_ACTIVE);
+    private void createTestSectionsList(WebRequest webRequest, HttpServletResponse response) throws IOException {
+        writeDisplayList(ListType.TEST_SECTION_ACTIVE, webRequest, response);
     }
 
     @GetMapping(value = "user-test-sections/{roleName}", produces = MediaType.APPLICATION_JSON_VALUE)
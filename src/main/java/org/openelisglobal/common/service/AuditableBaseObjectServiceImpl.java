@@ -36,11 +36,13 @@ public abstract class AuditableBaseObjectServiceImpl<T extends BaseObject<PK>, P
     @Override
     @Transactional
     public List<PK> insertAll(List<T> baseObjects) {
-        List<PK> ids = new ArrayList<>();
-        for (T baseObject : baseObjects) {
-            ids.add(insert(baseObject));
-        }
-        return ids;
+        return getBaseObjectDAO().withBatchedWrites(() -> {
+            List<PK> ids = new ArrayList<>();
+            for (T baseObject : baseObjects) {
+                ids.add(insert(baseObject));
+            }
+            return ids;
+        });
     }
 
     @Override
@@ -58,11 +60,13 @@ public abstract class AuditableBaseObjectServiceImpl<T extends BaseObject<PK>, P
     @Override
     @Transactional
     public List<T> saveAll(List<T> baseObjects) {
-        List<T> resultObjects = new ArrayList<>();
-        for (T baseObject : baseObjects) {
-            resultObjects.add(save(baseObject));
-        }
-        return resultObjects;
+        return getBaseObjectDAO().withBatchedWrites(() -> {
+            List<T> resultObjects = new ArrayList<>();
+            for (T baseObject : baseObjects) {
+                resultObjects.add(save(baseObject));
+            }
+            return resultObjects;
+        });
     }
 
     @Override
@@ -85,11 +89,13 @@ public abstract class AuditableBaseObjectServiceImpl<T extends BaseObject<PK>, P
     @Override
     @Transactional
     public List<T> updateAll(List<T> baseObjects) {
-        List<T> resultObjects = new ArrayList<>();
-        for (T baseObject : baseObjects) {
-            resultObjects.add(update(baseObject));
-        }
-        return resultObjects;
+        return getBaseObjectDAO().withBatchedWrites(() -> {
+            List<T> resultObjects = new ArrayList<>();
+            for (T baseObject : baseObjects) {
+                resultObjects.add(update(baseObject));
+            }
+            return resultObjects;
+        });
     }
 
     // used for "deleting" an object but operation is actually an update
@@ -121,17 +127,23 @@ public abstract class AuditableBaseObjectServiceImpl<T extends BaseObject<PK>, P
     @Override
     @Transactional
     public void deleteAll(List<T> baseObjects) {
-        for (T baseObject : baseObjects) {
-            delete(baseObject);
-        }
+        getBaseObjectDAO().withBatchedWrites(() -> {
+            for (T baseObject : baseObjects) {
+                delete(baseObject);
+            }
+            return null;
+        });
     }
 
     @Override
     @Transactional
     public void deleteAll(List<PK> ids, String sysUserId) {
-        for (PK id : ids) {
-            delete(id, sysUserId);
-        }
+        getBaseObjectDAO().withBatchedWrites(() -> {
+            for (PK id : ids) {
+                delete(id, sysUserId);
+            }
+            return null;
+        });
     }
 
     protected void disableLogging() {
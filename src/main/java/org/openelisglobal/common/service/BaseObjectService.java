@@ -4,6 +4,7 @@ import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import org.openelisglobal.common.paging.KeysetPage;
 import org.openelisglobal.common.valueholder.BaseObject;
 
 public interface BaseObjectService<T extends BaseObject<PK>, PK extends Serializable> {
@@ -197,6 +198,13 @@ public interface BaseObjectService<T extends BaseObject<PK>, PK extends Serializ
     List<T> getMatchingOrderedPage(Map<String, Object> propertyValues, List<String> orderProperties, boolean descending,
             int startingRecNo);
 
+    /**
+     * @see org.openelisglobal.common.dao.BaseDAO#getMatchingKeysetPage(Map, List,
+     *      boolean, String, int)
+     */
+    KeysetPage<T> getMatchingKeysetPage(Map<String, Object> propertyValues, List<String> keyProperties,
+            boolean descending, String cursor, int pageSize);
+
     /**
      * @param baseObject the data to insert
      * @return the id of the inserted baseObject
@@ -204,6 +212,10 @@ public interface BaseObjectService<T extends BaseObject<PK>, PK extends Serializ
     PK insert(T baseObject);
 
     /**
+     * Writes, and the audit rows for them, are sent to the database in JDBC
+     * batches; see {@link org.openelisglobal.common.dao.BaseDAO#withBatchedWrites}.
+     * The same goes for the other *All methods.
+     *
      * @param baseObjects the data to insert
      * @return the ids of the inserted baseObjects
      */
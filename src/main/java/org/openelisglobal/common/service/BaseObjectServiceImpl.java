@@ -14,6 +14,7 @@ import org.hibernate.ObjectNotFoundException;
 import org.openelisglobal.common.dao.BaseDAO;
 import org.openelisglobal.common.exception.LIMSRuntimeException;
 import org.openelisglobal.common.log.LogEvent;
+import org.openelisglobal.common.paging.KeysetPage;
 import org.openelisglobal.common.valueholder.BaseObject;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -174,6 +175,13 @@ public abstract class BaseObjectServiceImpl<T extends BaseObject<PK>, PK extends
         return getBaseObjectDAO().getMatchingOrderedPage(propertyValues, orderProperties, descending, pageNumber);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<T> getMatchingKeysetPage(Map<String, Object> propertyValues, List<String> keyProperties,
+            boolean descending, String cursor, int pageSize) {
+        return getBaseObjectDAO().getMatchingKeysetPage(propertyValues, keyProperties, descending, cursor, pageSize);
+    }
+
     @Override
     @Transactional
     public PK insert(T baseObject) {
@@ -185,11 +193,13 @@ public abstract class BaseObjectServiceImpl<T extends BaseObject<PK>, PK extends
     @Override
     @Transactional
     public List<PK> insertAll(List<T> baseObjects) {
-        List<PK> ids = new ArrayList<>();
-        for (T baseObject : baseObjects) {
-            ids.add(insert(baseObject));
-        }
-        return ids;
+        return getBaseObjectDAO().withBatchedWrites(() -> {
+            List<PK> ids = new ArrayList<>();
+            for (T baseObject : baseObjects) {
+                ids.add(insert(baseObject));
+            }
+            return ids;
+        });
     }
 
     @Override
@@ -207,11 +217,13 @@ public abstract class BaseObjectServiceImpl<T extends BaseObject<PK>, PK extends
     @Override
     @Transactional
     public List<T> saveAll(List<T> baseObjects) {
-        List<T> resultObjects = new ArrayList<>();
-        for (T baseObject : baseObjects) {
-            resultObjects.add(save(baseObject));
-        }
-        return resultObjects;
+        return getBaseObjectDAO().withBatchedWrites(() -> {
+            List<T> resultObjects = new ArrayList<>();
+            for (T baseObject : baseObjects) {
+                resultObjects.add(save(baseObject));
+            }
+            return resultObjects;
+        });
     }
 
     @Override
@@ -234,11 +246,13 @@ public abstract class BaseObjectServiceImpl<T extends BaseObject<PK>, PK extends
     @Override
     @Transactional
     public List<T> updateAll(List<T> baseObjects) {
-        List<T> resultObjects = new ArrayList<>();
-        for (T baseObject : baseObjects) {
-            resultObjects.add(update(baseObject));
-        }
-        return resultObjects;
+        return getBaseObjectDAO().withBatchedWrites(() -> {
+            List<T> resultObjects = new ArrayList<>();
+            for (T baseObject : baseObjects) {
+                resultObjects.add(update(baseObject));
+            }
+            return resultObjects;
+        });
     }
 
     @Override
@@ -262,17 +276,23 @@ public abstract class BaseObjectServiceImpl<T extends BaseObject<PK>, PK extends
     @Override
     @Transactional
     public void deleteAll(List<T> baseObjects) {
-        for (T baseObject : baseObjects) {
-            delete(baseObject);
-        }
+        getBaseObjectDAO().withBatchedWrites(() -> {
+            for (T baseObject : baseObjects) {
+                delete(baseObject);
+            }
+            return null;
+        });
     }
 
     @Override
     @Transactional
     public void deleteAll(List<PK> ids, String sysUserId) {
-        for (PK id : ids) {
-            delete(id, sysUserId);
-        }
+        getBaseObjectDAO().withBatchedWrites(() -> {
+            for (PK id : ids) {
+                delete(id, sysUserId);
+            }
+            return null;
+        });
     }
 
     @Override
@@ -13,18 +13,25 @@
  */
 package org.openelisglobal.common.services;
 
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import org.apache.commons.validator.GenericValidator;
 import org.openelisglobal.analyzer.service.AnalyzerService;
 import org.openelisglobal.analyzer.valueholder.Analyzer;
+import org.openelisglobal.common.exception.LIMSRuntimeException;
 import org.openelisglobal.common.util.ConfigurationProperties;
 import org.openelisglobal.common.util.ConfigurationProperties.Property;
 import org.openelisglobal.common.util.IdValuePair;
@@ -75,6 +82,7 @@ import org.openelisglobal.typeoftestresult.valueholder.TypeOfTestResult;
 import org.openelisglobal.unitofmeasure.service.UnitOfMeasureService;
 import org.openelisglobal.unitofmeasure.valueholder.UnitOfMeasure;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.LocaleResolver;
 
@@ -105,8 +113,13 @@ public class DisplayListService implements LocaleChangeListener {
         IHC_BREAST_CANCER_REPORT_CERBB2_PATTERN, IHC_BREAST_CANCER_REPORT_MOLE_SUBTYPE;
     }
 
-    private static Map<ListType, List<IdValuePair>> typeToListMap;
-    private static Map<String, List<IdValuePair>> dictionaryToListMap = new HashMap<>();
+    // matches the serialization of the REST message converter
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper().setSerializationInclusion(Include.NON_NULL);
+
+    // copy-on-write: each locale's catalogue is replaced, never modified
+    private final Map<Locale, Map<ListType, DisplayListSnapshot>> cataloguesByLocale = new ConcurrentHashMap<>();
+    private final Map<ListType, AtomicLong> listVersions = new EnumMap<>(ListType.class);
+    private static Map<String, List<IdValuePair>> dictionaryToListMap = new ConcurrentHashMap<>();
 
     @Autowired
     private TypeOfSampleService typeOfSampleService;
@@ -146,6 +159,9 @@ public class DisplayListService implements LocaleChangeListener {
     @PostConstruct
     private void setupGlobalVariables() {
         instance = this;
+        for (ListType listType : ListType.values()) {
+            listVersions.put(listType, new AtomicLong());
+        }
 
         refreshLists();
         if (localeResolver instanceof GlobalLocaleResolver) {
@@ -178,98 +194,10 @@ public class DisplayListService implements LocaleChangeListener {
 
     @Override
     public void localeChanged(String locale) {
-        // refreshes those lists which are dependent on local
-        typeToListMap.put(ListType.SAMPLE_TYPE, createTypeOfSampleList());
-        typeToListMap.put(ListType.SAMPLE_TYPE_ACTIVE, createSampleTypeList(false));
-        typeToListMap.put(ListType.SAMPLE_TYPE_INACTIVE, createSampleTypeList(true));
-        typeToListMap.put(ListType.INITIAL_SAMPLE_CONDITION,
-                createFromDictionaryCategoryLocalizedSort("specimen reception condition"));
-        typeToListMap.put(ListType.SAMPLE_NATURE, createFromDictionaryCategoryLocalizedSort("specimen nature"));
-        typeToListMap.put(ListType.PATIENT_HEALTH_REGIONS, createPatientHealthRegions());
-        typeToListMap.put(ListType.PATIENT_MARITAL_STATUS,
-                createFromDictionaryCategoryLocalizedSort("Marital Status Demographic Information"));
-        typeToListMap.put(ListType.PATIENT_NATIONALITY,
-                createFromDictionaryCategoryLocalizedSort("Nationality Demographic Information"));
-        typeToListMap.put(ListType.PATIENT_EDUCATION,
-                createFromDictionaryCategoryLocalizedSort("Education Level Demographic Information"));
-        typeToListMap.put(ListType.GENDERS, createGenderList());
-        typeToListMap.put(ListType.QA_EVENTS, createSortedQAEvents());
-        typeToListMap.put(ListType.TEST_SECTION_ACTIVE, createTestSectionActiveList());
-        typeToListMap.put(ListType.TEST_SECTION_INACTIVE, createInactiveTestSection());
-        typeToListMap.put(ListType.TEST_SECTION_BY_NAME, createTestSectionByNameList());
-        typeToListMap.put(ListType.METHODS, createMethodList());
-        typeToListMap.put(ListType.METHODS_INACTIVE, createInactiveMethod());
-        typeToListMap.put(ListType.METHOD_BY_NAME, createMethodByNameList());
-        typeToListMap.put(ListType.SAMPLE_PATIENT_PAYMENT_OPTIONS,
-                createFromDictionaryCategoryLocalizedSort("patientPayment"));
-        typeToListMap.put(ListType.PATIENT_SEARCH_CRITERIA, createPatientSearchCriteria());
-        typeToListMap.put(ListType.PANELS, createPanelList());
-        typeToListMap.put(ListType.PANELS_ACTIVE, createPanelList(false));
-        typeToListMap.put(ListType.PANELS_INACTIVE, createPanelList(true));
         testService.localeChanged(locale);
-        dictionaryToListMap = new HashMap<>();
-        typeToListMap.put(ListType.REJECTION_REASONS, createDictionaryListForCategory("resultRejectionReasons"));
-        typeToListMap.put(ListType.REFERRAL_REASONS, createReferralReasonList());
-
-        typeToListMap.put(ListType.ORDERABLE_TESTS, createOrderableTestList());
-        typeToListMap.put(ListType.ALL_TESTS, createTestList());
-        typeToListMap.put(ListType.IMMUNOHISTOCHEMISTRY_MARKERS_TESTS, createImmunoHistoChemistryTestList());
-        typeToListMap.put(ListType.TEST_LOCATION_CODE, createDictionaryListForCategory("testLocationCode"));
-        typeToListMap.put(ListType.PROGRAM, createProgramList());
-        typeToListMap.put(ListType.DICTIONARY_PROGRAM, createDictionaryListForCategory("programs"));
-        typeToListMap.put(ListType.RESULT_TYPE_LOCALIZED, createLocalizedResultTypeList());
-        typeToListMap.put(ListType.UNIT_OF_MEASURE, createUOMList());
-        typeToListMap.put(ListType.DICTIONARY_TEST_RESULTS, createDictionaryTestResults());
-        typeToListMap.put(ListType.SEVERITY_CONSEQUENCES_LIST, createConsequencesList());
-        typeToListMap.put(ListType.SEVERITY_RECURRENCE_LIST, createRecurrenceList());
-        typeToListMap.put(ListType.ACTION_TYPE_LIST, createActionTypeList());
-        typeToListMap.put(ListType.LABORATORY_COMPONENT, createLaboratoryComponentList());
-        typeToListMap.put(ListType.ORDER_PRIORITY, createSamplePriorityList());
-        typeToListMap.put(ListType.PATHOLOGY_STATUS, createPathologyStatusList());
-        typeToListMap.put(ListType.CYTOLOGY_SPECIMEN_ADEQUACY_SATISFACTION,
-                createCytologySpecimenAdequacySatisfactionList());
-        typeToListMap.put(ListType.CYTOLOGY_STATUS, createCytologyStatusList());
-        typeToListMap.put(ListType.NOTEBOOK_STATUS, createNoteBookStatusList());
-        typeToListMap.put(ListType.IMMUNOHISTOCHEMISTRY_STATUS, createImmunohistochemistryStatusList());
-        typeToListMap.put(ListType.IMMUNOHISTOCHEMISTRY_REPORT_TYPES, createImmunohistochemistryReportTypeList());
-        typeToListMap.put(ListType.CYTOLOGY_REPORT_TYPES, createCytologyReportTypeList());
-        typeToListMap.put(ListType.PATHOLOGY_REQUEST_STATUS, createPathologyRequestStatusList());
-        typeToListMap.put(ListType.PATHOLOGY_TECHNIQUES, createDictionaryListForCategory("pathology_techniques"));
-        typeToListMap.put(ListType.IHC_BREAST_CANCER_REPORT_INTENSITY,
-                createDictionaryListForCategory("ihc_breast_cancer_report_intensity"));
-        typeToListMap.put(ListType.IHC_BREAST_CANCER_REPORT_CERBB2_PATTERN,
-                createDictionaryListForCategory("ihc_breast_cancer_report_cerbb2_pattern"));
-        typeToListMap.put(ListType.IHC_BREAST_CANCER_REPORT_MOLE_SUBTYPE,
-                createDictionaryListForCategory("ihc_breast_cancer_report_molecular_subtype"));
-        typeToListMap.put(ListType.CYTOLOGY_SATISFACTORY_FOR_EVALUATION,
-                createDictionaryListForCategory("cytology_adequacy_satisfactory"));
-        typeToListMap.put(ListType.CYTOLOGY_UN_SATISFACTORY_FOR_EVALUATION,
-                createDictionaryListForCategory("cytology_adequacy_unsatisfactory"));
-        typeToListMap.put(ListType.PATHOLOGIST_REQUESTS, createDictionaryListForCategory("pathologist_requests"));
-        typeToListMap.put(ListType.PATHOLOGIST_CONCLUSIONS, createDictionaryListForCategory("pathologist_conclusions"));
-        typeToListMap.put(ListType.CYTOLOGY_DIAGNOSIS_RESULT_EPITHELIAL_CELL_SQUAMOUS,
-                createDictionaryListForCategory("cytology_epithelial_cell_abnomalit_squamous"));
-        typeToListMap.put(ListType.CYTOLOGY_DIAGNOSIS_RESULT_EPITHELIAL_CELL_GLANDULAR,
-                createDictionaryListForCategory("cytology_epithelial_cell_abnomalit_glandular"));
-        typeToListMap.put(ListType.CYTOLOGY_DIAGNOSIS_RESULT_NON_NEO_PLASTIC_CELLULAR,
-                createDictionaryListForCategory("cytology_non-neoplastic_cellular_variations"));
-        typeToListMap.put(ListType.CYTOLOGY_DIAGNOSIS_RESULT_REACTIVE_CELLULAR,
-                createDictionaryListForCategory("cytology_reactive_cellular_changes"));
-        typeToListMap.put(ListType.NOTEBOOK_EXPT_TYPE, createDictionaryListForCategory("notebook_experiment_type"));
-        typeToListMap.put(ListType.ANALYZER_LIST, createAnalyzerList());
-        typeToListMap.put(ListType.CYTOLOGY_DIAGNOSIS_RESULT_ORGANISMS,
-                createDictionaryListForCategory("cytology_diagnosis_organisms"));
-        typeToListMap.put(ListType.CYTOLOGY_DIAGNOSIS_RESULT_OTHER,
-                createDictionaryListForCategory("cytology_diagnosis_other"));
-        typeToListMap.put(ListType.TB_ORDER_REASONS, createDictionaryListForCategory("TB Order Reasons"));
-        typeToListMap.put(ListType.TB_DIAGNOSTIC_REASONS, createDictionaryListForCategory("TB Diagnostic Reasons"));
-        typeToListMap.put(ListType.TB_FOLLOWUP_REASONS, createDictionaryListForCategory("TB Followup Reasons"));
-        typeToListMap.put(ListType.TB_ANALYSIS_METHODS, createDictionaryListForCategory("TB Analysis Methods"));
-        typeToListMap.put(ListType.TB_SAMPLE_ASPECTS, createDictionaryListForCategory("TB Sample Aspects"));
-        typeToListMap.put(ListType.TB_FOLLOWUP_LINE1, createTBFollowupLine1List());
-        typeToListMap.put(ListType.TB_FOLLOWUP_LINE2, createTBFollowupLine2List());
-        typeToListMap.put(ListType.ARV_ORG_LIST, createArvOrgList());
-        typeToListMap.put(ListType.ACTIVE_ORG_LIST, createActiveOrganizationsList());
+        dictionaryToListMap.clear();
+        // every list is rebuilt for its locale the next time it is requested
+        cataloguesByLocale.clear();
     }
 
     private List<IdValuePair> createPathologyStatusList() {
@@ -312,8 +240,30 @@ public class DisplayListService implements LocaleChangeListener {
                 .map(e -> new IdValuePair(e.name(), e.getDisplay())).collect(Collectors.toList());
     }
 
+    /**
+     * @return a copy of the list for the current locale, which the caller is free
+     *         to modify
+     */
     public List<IdValuePair> getList(ListType listType) {
-        return typeToListMap.get(listType);
+        DisplayListSnapshot snapshot = getSnapshot(listType);
+        return snapshot == null ? null : new ArrayList<>(snapshot.items());
+    }
+
+    /**
+     * @return the published list for the current locale, built now if it has not
+     *         been requested in this locale yet, or null for an unknown list
+     */
+    public DisplayListSnapshot getSnapshot(ListType listType) {
+        Locale locale = LocaleContextHolder.getLocale();
+        Map<ListType, DisplayListSnapshot> catalogue = cataloguesByLocale.get(locale);
+        DisplayListSnapshot snapshot = catalogue == null ? null : catalogue.get(listType);
+        if (snapshot == null) {
+            List<IdValuePair> list = createList(listType);
+            if (list != null) {
+                snapshot = publish(locale, Map.of(listType, list)).get(listType);
+            }
+        }
+        return snapshot;
     }
 
     public List<IdValuePair> getListWithLeadingBlank(ListType listType) {
@@ -438,209 +388,360 @@ public class DisplayListService implements LocaleChangeListener {
 
     public List<IdValuePair> getFreshList(ListType listType) {
         refreshList(listType);
-        return typeToListMap.get(listType);
-    }
-
-    public synchronized void refreshLists() {
-        typeToListMap = new HashMap<>();
-        typeToListMap.put(ListType.NOTEBOOK_STATUS, createNoteBookStatusList());
-        typeToListMap.put(ListType.CYTOLOGY_STATUS, createCytologyStatusList());
-        typeToListMap.put(ListType.PATHOLOGY_STATUS, createPathologyStatusList());
-        typeToListMap.put(ListType.CYTOLOGY_SPECIMEN_ADEQUACY_SATISFACTION,
-                createCytologySpecimenAdequacySatisfactionList());
-        typeToListMap.put(ListType.IMMUNOHISTOCHEMISTRY_STATUS, createImmunohistochemistryStatusList());
-        typeToListMap.put(ListType.IMMUNOHISTOCHEMISTRY_REPORT_TYPES, createImmunohistochemistryReportTypeList());
-        typeToListMap.put(ListType.CYTOLOGY_REPORT_TYPES, createCytologyReportTypeList());
-        typeToListMap.put(ListType.PATHOLOGY_REQUEST_STATUS, createPathologyRequestStatusList());
-        typeToListMap.put(ListType.HOURS, createHourList());
-        typeToListMap.put(ListType.MINS, createMinList());
-        typeToListMap.put(ListType.SAMPLE_TYPE, createTypeOfSampleList());
-        typeToListMap.put(ListType.SAMPLE_TYPE_ACTIVE, createSampleTypeList(false));
-        typeToListMap.put(ListType.SAMPLE_TYPE_INACTIVE, createSampleTypeList(true));
-        typeToListMap.put(ListType.INITIAL_SAMPLE_CONDITION,
-                createFromDictionaryCategoryLocalizedSort("specimen reception condition"));
-        typeToListMap.put(ListType.SAMPLE_NATURE, createFromDictionaryCategoryLocalizedSort("specimen nature"));
-        typeToListMap.put(ListType.PATIENT_HEALTH_REGIONS, createPatientHealthRegions());
-        typeToListMap.put(ListType.PATIENT_MARITAL_STATUS,
-                createFromDictionaryCategoryLocalizedSort("Marital Status Demographic Information"));
-        typeToListMap.put(ListType.PATIENT_NATIONALITY,
-                createFromDictionaryCategoryLocalizedSort("Nationality Demographic Information"));
-        typeToListMap.put(ListType.PATIENT_EDUCATION,
-                createFromDictionaryCategoryLocalizedSort("Education Level Demographic Information"));
-        typeToListMap.put(ListType.GENDERS, createGenderList());
-        typeToListMap.put(ListType.SAMPLE_PATIENT_REFERRING_CLINIC, createReferringClinicList());
-        typeToListMap.put(ListType.QA_EVENTS, createSortedQAEvents());
-        typeToListMap.put(ListType.TEST_SECTION_ACTIVE, createTestSectionActiveList());
-        typeToListMap.put(ListType.METHODS, createMethodList());
-        typeToListMap.put(ListType.METHODS_INACTIVE, createInactiveMethod());
-        typeToListMap.put(ListType.METHOD_BY_NAME, createMethodByNameList());
-        typeToListMap.put(ListType.TEST_SECTION_INACTIVE, createInactiveTestSection());
-        typeToListMap.put(ListType.TEST_SECTION_BY_NAME, createTestSectionByNameList());
-        typeToListMap.put(ListType.HAITI_DEPARTMENTS, createAddressDepartmentList());
-        typeToListMap.put(ListType.SAMPLE_PATIENT_PAYMENT_OPTIONS,
-                createFromDictionaryCategoryLocalizedSort("patientPayment"));
-        typeToListMap.put(ListType.PATIENT_SEARCH_CRITERIA, createPatientSearchCriteria());
-        typeToListMap.put(ListType.PANELS, createPanelList());
-        typeToListMap.put(ListType.PANELS_ACTIVE, createPanelList(false));
-        typeToListMap.put(ListType.PANELS_INACTIVE, createPanelList(true));
-        typeToListMap.put(ListType.ORDERABLE_TESTS, createOrderableTestList());
-        typeToListMap.put(ListType.ALL_TESTS, createTestList());
-        typeToListMap.put(ListType.IMMUNOHISTOCHEMISTRY_MARKERS_TESTS, createImmunoHistoChemistryTestList());
-        typeToListMap.put(ListType.REJECTION_REASONS, createDictionaryListForCategory("resultRejectionReasons"));
-        typeToListMap.put(ListType.REFERRAL_REASONS, createReferralReasonList());
-        typeToListMap.put(ListType.REFERRAL_ORGANIZATIONS, createReferralOrganizationList());
-        typeToListMap.put(ListType.TEST_LOCATION_CODE, createDictionaryListForCategory("testLocationCode"));
-        typeToListMap.put(ListType.PROGRAM, createProgramList());
-        typeToListMap.put(ListType.DICTIONARY_PROGRAM, createDictionaryListForCategory("programs"));
-        typeToListMap.put(ListType.RESULT_TYPE_LOCALIZED, createLocalizedResultTypeList());
-        typeToListMap.put(ListType.RESULT_TYPE_RAW, createRawResultTypeList());
-        typeToListMap.put(ListType.UNIT_OF_MEASURE, createUOMList());
-        typeToListMap.put(ListType.UNIT_OF_MEASURE_ACTIVE, createUOMList());
-        typeToListMap.put(ListType.UNIT_OF_MEASURE_INACTIVE, createUOMList());
-        typeToListMap.put(ListType.DICTIONARY_TEST_RESULTS, createDictionaryTestResults());
-        typeToListMap.put(ListType.SEVERITY_CONSEQUENCES_LIST, createConsequencesList());
-        typeToListMap.put(ListType.SEVERITY_RECURRENCE_LIST, createRecurrenceList());
-        typeToListMap.put(ListType.ACTION_TYPE_LIST, createActionTypeList());
-        typeToListMap.put(ListType.LABORATORY_COMPONENT, createLaboratoryComponentList());
-        typeToListMap.put(ListType.ELECTRONIC_ORDER_STATUSES, createElectronicOrderStatusList());
-        typeToListMap.put(ListType.PRACTITIONER_PERSONS, createActivePractitionerPersonsList());
-        typeToListMap.put(ListType.ORDER_PRIORITY, createSamplePriorityList());
-        typeToListMap.put(ListType.IHC_BREAST_CANCER_REPORT_INTENSITY,
-                createDictionaryListForCategory("ihc_breast_cancer_report_intensity"));
-        typeToListMap.put(ListType.IHC_BREAST_CANCER_REPORT_CERBB2_PATTERN,
-                createDictionaryListForCategory("ihc_breast_cancer_report_cerbb2_pattern"));
-        typeToListMap.put(ListType.IHC_BREAST_CANCER_REPORT_MOLE_SUBTYPE,
-                createDictionaryListForCategory("ihc_breast_cancer_report_molecular_subtype"));
-        typeToListMap.put(ListType.PATHOLOGY_TECHNIQUES, createDictionaryListForCategory("pathology_techniques"));
-        typeToListMap.put(ListType.PATHOLOGIST_REQUESTS, createDictionaryListForCategory("pathologist_requests"));
-        typeToListMap.put(ListType.PATHOLOGIST_CONCLUSIONS, createDictionaryListForCategory("pathologist_conclusions"));
-        typeToListMap.put(ListType.CYTOLOGY_SATISFACTORY_FOR_EVALUATION,
-                createDictionaryListForCategory("cytology_adequacy_satisfactory"));
-        typeToListMap.put(ListType.CYTOLOGY_UN_SATISFACTORY_FOR_EVALUATION,
-                createDictionaryListForCategory("cytology_adequacy_unsatisfactory"));
-        typeToListMap.put(ListType.CYTOLOGY_DIAGNOSIS_RESULT_EPITHELIAL_CELL_SQUAMOUS,
-                createDictionaryListForCategory("cytology_epithelial_cell_abnomalit_squamous"));
-        typeToListMap.put(ListType.CYTOLOGY_DIAGNOSIS_RESULT_EPITHELIAL_CELL_GLANDULAR,
-                createDictionaryListForCategory("cytology_epithelial_cell_abnomalit_glandular"));
-        typeToListMap.put(ListType.CYTOLOGY_DIAGNOSIS_RESULT_NON_NEO_PLASTIC_CELLULAR,
-                createDictionaryListForCategory("cytology_non-neoplastic_cellular_variations"));
-        typeToListMap.put(ListType.CYTOLOGY_DIAGNOSIS_RESULT_REACTIVE_CELLULAR,
-                createDictionaryListForCategory("cytology_reactive_cellular_changes"));
-        typeToListMap.put(ListType.NOTEBOOK_EXPT_TYPE, createDictionaryListForCategory("notebook_experiment_type"));
-        typeToListMap.put(ListType.ANALYZER_LIST, createAnalyzerList());
-        typeToListMap.put(ListType.CYTOLOGY_DIAGNOSIS_RESULT_ORGANISMS,
-                createDictionaryListForCategory("cytology_diagnosis_organisms"));
-        typeToListMap.put(ListType.CYTOLOGY_DIAGNOSIS_RESULT_OTHER,
-                createDictionaryListForCategory("cytology_diagnosis_other"));
-        typeToListMap.put(ListType.TB_ORDER_REASONS, createDictionaryListForCategory("TB Order Reasons"));
-        typeToListMap.put(ListType.TB_DIAGNOSTIC_REASONS, createDictionaryListForCategory("TB Diagnostic Reasons"));
-        typeToListMap.put(ListType.TB_FOLLOWUP_REASONS, createDictionaryListForCategory("TB Followup Reasons"));
-        typeToListMap.put(ListType.TB_ANALYSIS_METHODS, createDictionaryListForCategory("TB Analysis Methods"));
-        typeToListMap.put(ListType.TB_SAMPLE_ASPECTS, createDictionaryListForCategory("TB Sample Aspects"));
-        typeToListMap.put(ListType.TB_FOLLOWUP_LINE1, createTBFollowupLine1List());
-        typeToListMap.put(ListType.TB_FOLLOWUP_LINE2, createTBFollowupLine2List());
-        typeToListMap.put(ListType.ARV_ORG_LIST, createArvOrgList());
-        typeToListMap.put(ListType.ACTIVE_ORG_LIST, createActiveOrganizationsList());
+        return getList(listType);
+    }
+
+    private void publishFresh(ListType listType, List<IdValuePair> list) {
+        Locale locale = LocaleContextHolder.getLocale();
+        publish(locale, Map.of(listType, list));
+        for (Locale otherLocale : cataloguesByLocale.keySet()) {
+            if (!otherLocale.equals(locale)) {
+                cataloguesByLocale.computeIfPresent(otherLocale, (key, catalogue) -> without(catalogue, listType));
+            }
+        }
+    }
+
+    /**
+     * Replaces the given lists in the locale's catalogue with a new catalogue, so
+     * readers always see either the old or the new lists. A list keeps its
+     * version, and so its ETag, if its JSON has not changed.
+     *
+     * @return the locale's new catalogue
+     */
+    private Map<ListType, DisplayListSnapshot> publish(Locale locale, Map<ListType, List<IdValuePair>> lists) {
+        return cataloguesByLocale.compute(locale, (key, current) -> {
+            Map<ListType, DisplayListSnapshot> catalogue = current == null ? new EnumMap<>(ListType.class)
+                    : new EnumMap<>(current);
+            lists.forEach((listType, list) -> {
+                DisplayListSnapshot previous = catalogue.get(listType);
+                byte[] json = toJson(list);
+                if (previous == null || !Arrays.equals(previous.json(), json)) {
+                    catalogue.put(listType, new DisplayListSnapshot(listType,
+                            listVersions.get(listType).incrementAndGet(), List.copyOf(list), json));
+                }
+            });
+            return Collections.unmodifiableMap(catalogue);
+        });
+    }
+
+    private static Map<ListType, DisplayListSnapshot> without(Map<ListType, DisplayListSnapshot> catalogue,
+            ListType listType) {
+        if (!catalogue.containsKey(listType)) {
+            return catalogue;
+        }
+        Map<ListType, DisplayListSnapshot> copy = new EnumMap<>(catalogue);
+        copy.remove(listType);
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private static byte[] toJson(List<IdValuePair> list) {
+        try {
+            return JSON_MAPPER.writeValueAsBytes(list);
+        } catch (JsonProcessingException e) {
+            throw new LIMSRuntimeException("could not serialize display list", e);
+        }
+    }
+
+    /**
+     * Rebuilds the test names and every list of tests. Lists are served as
+     * published until refreshed, so callers that add, change or (de)activate
+     * tests call this once their changes are committed.
+     */
+    public void refreshTestLists() {
+        testService.refreshTestNames();
+        publishFresh(ListType.ALL_TESTS, createTestList());
+        publishFresh(ListType.ORDERABLE_TESTS, createOrderableTestList());
+        publishFresh(ListType.IMMUNOHISTOCHEMISTRY_MARKERS_TESTS, createImmunoHistoChemistryTestList());
+    }
+
+    /**
+     * Rebuilds every list for the current locale. Lists for other locales are
+     * dropped and rebuilt when next requested.
+     */
+    public void refreshLists() {
+        Map<ListType, List<IdValuePair>> lists = new EnumMap<>(ListType.class);
+        for (ListType listType : ListType.values()) {
+            List<IdValuePair> list = createList(listType);
+            if (list != null) {
+                lists.put(listType, list);
+            }
+        }
+        Locale locale = LocaleContextHolder.getLocale();
+        publish(locale, lists);
+        cataloguesByLocale.keySet().removeIf(otherLocale -> !otherLocale.equals(locale));
+    }
+
+    private List<IdValuePair> createList(ListType listType) {
+        switch (listType) {
+        case NOTEBOOK_STATUS:
+            return createNoteBookStatusList();
+        case CYTOLOGY_STATUS:
+            return createCytologyStatusList();
+        case PATHOLOGY_STATUS:
+            return createPathologyStatusList();
+        case CYTOLOGY_SPECIMEN_ADEQUACY_SATISFACTION:
+            return createCytologySpecimenAdequacySatisfactionList();
+        case IMMUNOHISTOCHEMISTRY_STATUS:
+            return createImmunohistochemistryStatusList();
+        case IMMUNOHISTOCHEMISTRY_REPORT_TYPES:
+            return createImmunohistochemistryReportTypeList();
+        case CYTOLOGY_REPORT_TYPES:
+            return createCytologyReportTypeList();
+        case PATHOLOGY_REQUEST_STATUS:
+            return createPathologyRequestStatusList();
+        case HOURS:
+            return createHourList();
+        case MINS:
+            return createMinList();
+        case SAMPLE_TYPE:
+            return createTypeOfSampleList();
+        case SAMPLE_TYPE_ACTIVE:
+            return createSampleTypeList(false);
+        case SAMPLE_TYPE_INACTIVE:
+            return createSampleTypeList(true);
+        case INITIAL_SAMPLE_CONDITION:
+            return createFromDictionaryCategoryLocalizedSort("specimen reception condition");
+        case SAMPLE_NATURE:
+            return createFromDictionaryCategoryLocalizedSort("specimen nature");
+        case PATIENT_HEALTH_REGIONS:
+            return createPatientHealthRegions();
+        case PATIENT_MARITAL_STATUS:
+            return createFromDictionaryCategoryLocalizedSort("Marital Status Demographic Information");
+        case PATIENT_NATIONALITY:
+            return createFromDictionaryCategoryLocalizedSort("Nationality Demographic Information");
+        case PATIENT_EDUCATION:
+            return createFromDictionaryCategoryLocalizedSort("Education Level Demographic Information");
+        case GENDERS:
+            return createGenderList();
+        case SAMPLE_PATIENT_REFERRING_CLINIC:
+            return createReferringClinicList();
+        case QA_EVENTS:
+            return createSortedQAEvents();
+        case TEST_SECTION_ACTIVE:
+            return createTestSectionActiveList();
+        case METHODS:
+            return createMethodList();
+        case METHODS_INACTIVE:
+            return createInactiveMethod();
+        case METHOD_BY_NAME:
+            return createMethodByNameList();
+        case TEST_SECTION_INACTIVE:
+            return createInactiveTestSection();
+        case TEST_SECTION_BY_NAME:
+            return createTestSectionByNameList();
+        case HAITI_DEPARTMENTS:
+            return createAddressDepartmentList();
+        case SAMPLE_PATIENT_PAYMENT_OPTIONS:
+            return createFromDictionaryCategoryLocalizedSort("patientPayment");
+        case PATIENT_SEARCH_CRITERIA:
+            return createPatientSearchCriteria();
+        case PANELS:
+            return createPanelList();
+        case PANELS_ACTIVE:
+            return createPanelList(false);
+        case PANELS_INACTIVE:
+            return createPanelList(true);
+        case ORDERABLE_TESTS:
+            return createOrderableTestList();
+        case ALL_TESTS:
+            return createTestList();
+        case IMMUNOHISTOCHEMISTRY_MARKERS_TESTS:
+            return createImmunoHistoChemistryTestList();
+        case REJECTION_REASONS:
+            return createDictionaryListForCategory("resultRejectionReasons");
+        case REFERRAL_REASONS:
+            return createReferralReasonList();
+        case REFERRAL_ORGANIZATIONS:
+            return createReferralOrganizationList();
+        case TEST_LOCATION_CODE:
+            return createDictionaryListForCategory("testLocationCode");
+        case PROGRAM:
+            return createProgramList();
+        case DICTIONARY_PROGRAM:
+            return createDictionaryListForCategory("programs");
+        case RESULT_TYPE_LOCALIZED:
+            return createLocalizedResultTypeList();
+        case RESULT_TYPE_RAW:
+            return createRawResultTypeList();
+        case UNIT_OF_MEASURE:
+            return createUOMList();
+        case UNIT_OF_MEASURE_ACTIVE:
+            return createUOMList();
+        case UNIT_OF_MEASURE_INACTIVE:
+            return createUOMList();
+        case DICTIONARY_TEST_RESULTS:
+            return createDictionaryTestResults();
+        case SEVERITY_CONSEQUENCES_LIST:
+            return createConsequencesList();
+        case SEVERITY_RECURRENCE_LIST:
+            return createRecurrenceList();
+        case ACTION_TYPE_LIST:
+            return createActionTypeList();
+        case LABORATORY_COMPONENT:
+            return createLaboratoryComponentList();
+        case ELECTRONIC_ORDER_STATUSES:
+            return createElectronicOrderStatusList();
+        case PRACTITIONER_PERSONS:
+            return createActivePractitionerPersonsList();
+        case ORDER_PRIORITY:
+            return createSamplePriorityList();
+        case IHC_BREAST_CANCER_REPORT_INTENSITY:
+            return createDictionaryListForCategory("ihc_breast_cancer_report_intensity");
+        case IHC_BREAST_CANCER_REPORT_CERBB2_PATTERN:
+            return createDictionaryListForCategory("ihc_breast_cancer_report_cerbb2_pattern");
+        case IHC_BREAST_CANCER_REPORT_MOLE_SUBTYPE:
+            return createDictionaryListForCategory("ihc_breast_cancer_report_molecular_subtype");
+        case PATHOLOGY_TECHNIQUES:
+            return createDictionaryListForCategory("pathology_techniques");
+        case PATHOLOGIST_REQUESTS:
+            return createDictionaryListForCategory("pathologist_requests");
+        case PATHOLOGIST_CONCLUSIONS:
+            return createDictionaryListForCategory("pathologist_conclusions");
+        case CYTOLOGY_SATISFACTORY_FOR_EVALUATION:
+            return createDictionaryListForCategory("cytology_adequacy_satisfactory");
+        case CYTOLOGY_UN_SATISFACTORY_FOR_EVALUATION:
+            return createDictionaryListForCategory("cytology_adequacy_unsatisfactory");
+        case CYTOLOGY_DIAGNOSIS_RESULT_EPITHELIAL_CELL_SQUAMOUS:
+            return createDictionaryListForCategory("cytology_epithelial_cell_abnomalit_squamous");
+        case CYTOLOGY_DIAGNOSIS_RESULT_EPITHELIAL_CELL_GLANDULAR:
+            return createDictionaryListForCategory("cytology_epithelial_cell_abnomalit_glandular");
+        case CYTOLOGY_DIAGNOSIS_RESULT_NON_NEO_PLASTIC_CELLULAR:
+            return createDictionaryListForCategory("cytology_non-neoplastic_cellular_variations");
+        case CYTOLOGY_DIAGNOSIS_RESULT_REACTIVE_CELLULAR:
+            return createDictionaryListForCategory("cytology_reactive_cellular_changes");
+        case NOTEBOOK_EXPT_TYPE:
+            return createDictionaryListForCategory("notebook_experiment_type");
+        case ANALYZER_LIST:
+            return createAnalyzerList();
+        case CYTOLOGY_DIAGNOSIS_RESULT_ORGANISMS:
+            return createDictionaryListForCategory("cytology_diagnosis_organisms");
+        case CYTOLOGY_DIAGNOSIS_RESULT_OTHER:
+            return createDictionaryListForCategory("cytology_diagnosis_other");
+        case TB_ORDER_REASONS:
+            return createDictionaryListForCategory("TB Order Reasons");
+        case TB_DIAGNOSTIC_REASONS:
+            return createDictionaryListForCategory("TB Diagnostic Reasons");
+        case TB_FOLLOWUP_REASONS:
+            return createDictionaryListForCategory("TB Followup Reasons");
+        case TB_ANALYSIS_METHODS:
+            return createDictionaryListForCategory("TB Analysis Methods");
+        case TB_SAMPLE_ASPECTS:
+            return createDictionaryListForCategory("TB Sample Aspects");
+        case TB_FOLLOWUP_LINE1:
+            return createTBFollowupLine1List();
+        case TB_FOLLOWUP_LINE2:
+            return createTBFollowupLine2List();
+        case ARV_ORG_LIST:
+            return createArvOrgList();
+        case ACTIVE_ORG_LIST:
+            return createActiveOrganizationsList();
+        default:
+            return null;
+        }
     }
 
     public void refreshList(ListType listType) {
 
         switch (listType) {
         case ORDER_PRIORITY: {
-            typeToListMap.put(ListType.ORDER_PRIORITY, createSamplePriorityList());
+            publishFresh(ListType.ORDER_PRIORITY, createSamplePriorityList());
             break;
         }
         case PRACTITIONER_PERSONS: {
-            typeToListMap.put(ListType.PRACTITIONER_PERSONS, createActivePractitionerPersonsList());
+            publishFresh(ListType.PRACTITIONER_PERSONS, createActivePractitionerPersonsList());
             break;
         }
         case SAMPLE_PATIENT_REFERRING_CLINIC: {
-            typeToListMap.put(ListType.SAMPLE_PATIENT_REFERRING_CLINIC, createReferringClinicList());
+            publishFresh(ListType.SAMPLE_PATIENT_REFERRING_CLINIC, createReferringClinicList());
             break;
         }
         case ALL_TESTS: {
             testService.refreshTestNames();
-            typeToListMap.put(ListType.ALL_TESTS, createTestList());
+            publishFresh(ListType.ALL_TESTS, createTestList());
             break;
         }
         case IMMUNOHISTOCHEMISTRY_MARKERS_TESTS: {
             testService.refreshTestNames();
-            typeToListMap.put(ListType.IMMUNOHISTOCHEMISTRY_MARKERS_TESTS, createImmunoHistoChemistryTestList());
+            publishFresh(ListType.IMMUNOHISTOCHEMISTRY_MARKERS_TESTS, createImmunoHistoChemistryTestList());
             break;
         }
         case ORDERABLE_TESTS: {
             testService.refreshTestNames();
-            typeToListMap.put(ListType.ORDERABLE_TESTS, createOrderableTestList());
+            publishFresh(ListType.ORDERABLE_TESTS, createOrderableTestList());
             break;
         }
         case SAMPLE_TYPE: {
-            typeToListMap.put(ListType.SAMPLE_TYPE, createTypeOfSampleList());
+            publishFresh(ListType.SAMPLE_TYPE, createTypeOfSampleList());
             break;
         }
         case SAMPLE_TYPE_ACTIVE: {
-            typeToListMap.put(ListType.SAMPLE_TYPE_ACTIVE, createSampleTypeList(false));
+            publishFresh(ListType.SAMPLE_TYPE_ACTIVE, createSampleTypeList(false));
             break;
         }
         case SAMPLE_TYPE_INACTIVE: {
-            typeToListMap.put(ListType.SAMPLE_TYPE_INACTIVE, createSampleTypeList(true));
+            publishFresh(ListType.SAMPLE_TYPE_INACTIVE, createSampleTypeList(true));
             break;
         }
         case TEST_SECTION_ACTIVE: {
             testSectionService.refreshNames();
-            typeToListMap.put(ListType.TEST_SECTION_ACTIVE, createTestSectionActiveList());
+            publishFresh(ListType.TEST_SECTION_ACTIVE, createTestSectionActiveList());
             break;
         }
         case METHODS: {
             methodService.refreshNames();
-            typeToListMap.put(ListType.METHODS, createMethodList());
+            publishFresh(ListType.METHODS, createMethodList());
             break;
         }
         case METHODS_INACTIVE: {
             methodService.refreshNames();
-            typeToListMap.put(ListType.METHODS_INACTIVE, createInactiveMethod());
+            publishFresh(ListType.METHODS_INACTIVE, createInactiveMethod());
             break;
         }
         case TEST_SECTION_INACTIVE: {
             testSectionService.refreshNames();
-            typeToListMap.put(ListType.TEST_SECTION_INACTIVE, createInactiveTestSection());
+            publishFresh(ListType.TEST_SECTION_INACTIVE, createInactiveTestSection());
             break;
         }
         case REFERRAL_ORGANIZATIONS: {
-            typeToListMap.put(ListType.REFERRAL_ORGANIZATIONS, createReferralOrganizationList());
+            publishFresh(ListType.REFERRAL_ORGANIZATIONS, createReferralOrganizationList());
             break;
         }
         case PANELS: {
-            typeToListMap.put(ListType.PANELS, createPanelList());
+            publishFresh(ListType.PANELS, createPanelList());
             break;
         }
         case PANELS_ACTIVE: {
-            typeToListMap.put(ListType.PANELS_ACTIVE, createPanelList(false));
+            publishFresh(ListType.PANELS_ACTIVE, createPanelList(false));
             break;
         }
         case PANELS_INACTIVE: {
-            typeToListMap.put(ListType.PANELS_INACTIVE, createPanelList(true));
+            publishFresh(ListType.PANELS_INACTIVE, createPanelList(true));
             break;
         }
         case UNIT_OF_MEASURE: {
             unitOfMeasureService.refreshNames();
-            typeToListMap.put(ListType.UNIT_OF_MEASURE, createUnitOfMeasureList());
+            publishFresh(ListType.UNIT_OF_MEASURE, createUnitOfMeasureList());
             break;
         }
         case PATIENT_HEALTH_REGIONS: {
-            typeToListMap.put(ListType.PATIENT_HEALTH_REGIONS, createPatientHealthRegions());
+            publishFresh(ListType.PATIENT_HEALTH_REGIONS, createPatientHealthRegions());
             break;
         }
         case PROGRAM: {
-            typeToListMap.put(ListType.PROGRAM, createProgramList());
+            publishFresh(ListType.PROGRAM, createProgramList());
+            break;
         }
         case DICTIONARY_TEST_RESULTS: {
-            typeToListMap.put(ListType.DICTIONARY_TEST_RESULTS, createDictionaryTestResults());
+            publishFresh(ListType.DICTIONARY_TEST_RESULTS, createDictionaryTestResults());
+            break;
         }
         case ARV_ORG_LIST: {
-            typeToListMap.put(ListType.ARV_ORG_LIST, createArvOrgList());
+            publishFresh(ListType.ARV_ORG_LIST, createArvOrgList());
+            break;
         }
         case ACTIVE_ORG_LIST: {
-            typeToListMap.put(ListType.ACTIVE_ORG_LIST, createActiveOrganizationsList());
+            publishFresh(ListType.ACTIVE_ORG_LIST, createActiveOrganizationsList());
+            break;
         }
         }
     }
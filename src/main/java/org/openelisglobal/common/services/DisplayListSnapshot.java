@@ -0,0 +1,27 @@
+package org.openelisglobal.common.services;
+
+import java.util.List;
+import org.openelisglobal.common.services.DisplayListService.ListType;
+import org.openelisglobal.common.util.IdValuePair;
+
+/**
+ * One published version of a display list in one locale, together with its
+ * JSON so that it can be served without serializing it again. The version of a
+ * list only increases, and changes whenever its JSON does.
+ *
+ * @param json the serialized items; shared between requests and must not be
+ *             modified
+ */
+public record DisplayListSnapshot(ListType listType, long version, List<IdValuePair> items, byte[] json) {
+
+    // the start time keeps tags issued before a restart, when versions begin
+    // again from one, from matching the lists published after it
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    /**
+     * @return a strong ETag for this version of the list
+     */
+    public String etag() {
+        return "\"" + listType.name() + "-" + EPOCH + "-" + version + "\"";
+    }
+}
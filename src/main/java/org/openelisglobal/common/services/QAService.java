@@ -247,6 +247,14 @@ public class QAService {
         return false;
     }
 
+    /**
+     * As {@link #isOrderNonConforming(Sample)}, for callers that have already
+     * loaded the sample's qa events
+     */
+    public static boolean isOrderNonConforming(Sample sample, List<SampleQaEvent> sampleQaEvents) {
+        return sample != null && (nonconformingByDepricatedStatus(sample) || !sampleQaEvents.isEmpty());
+    }
+
     private static boolean nonconformingByDepricatedStatus(Sample sample, Analysis analysis) {
 
         return nonconformingByDepricatedStatus(sample) || analysis.getStatusId().equals(
@@ -289,8 +297,14 @@ public class QAService {
     }
 
     public static List<SampleItem> getNonConformingSampleItems(Sample sample) {
+        return getNonConformingSampleItems(sampleQaEventService.getSampleQaEventsBySample(sample));
+    }
+
+    /**
+     * @return the sample items of the qa events that are tied to one
+     */
+    public static List<SampleItem> getNonConformingSampleItems(List<SampleQaEvent> sampleQaEvents) {
         List<SampleItem> nonConformingSampleItems = new ArrayList<>();
-        List<SampleQaEvent> sampleQaEvents = sampleQaEventService.getSampleQaEventsBySample(sample);
 
         for (SampleQaEvent sampleEvent : sampleQaEvents) {
             if (sampleEvent.getSampleItem() != null) {
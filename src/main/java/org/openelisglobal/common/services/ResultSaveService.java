@@ -296,23 +296,24 @@ public class ResultSaveService {
     }
 
     public static void removeDeletedResultsInTransaction(List<Result> deletableResults, String currentUserId) {
+        // the rows referring to the results go first, each kind in one batch
+        List<ResultSignature> signatures = new ArrayList<>();
+        List<ReferralResult> referrals = new ArrayList<>();
         for (Result result : deletableResults) {
-            List<ResultSignature> signatures = resultSigService.getResultSignaturesByResult(result);
-            List<ReferralResult> referrals = referralResultService.getReferralsByResultId(result.getId());
-
-            for (ResultSignature signature : signatures) {
-                signature.setSysUserId(currentUserId);
-            }
-
-            resultSigService.deleteAll(signatures);
-
-            for (ReferralResult referral : referrals) {
-                referral.setSysUserId(currentUserId);
-                referralResultService.delete(referral);
-            }
-
+            signatures.addAll(resultSigService.getResultSignaturesByResult(result));
+            referrals.addAll(referralResultService.getReferralsByResultId(result.getId()));
             result.setSysUserId(currentUserId);
-            resultService.delete(result);
         }
+
+        for (ResultSignature signature : signatures) {
+            signature.setSysUserId(currentUserId);
+        }
+        for (ReferralResult referral : referrals) {
+            referral.setSysUserId(currentUserId);
+        }
+
+        resultSigService.deleteAll(signatures);
+        referralResultService.deleteAll(referrals);
+        resultService.deleteAll(deletableResults);
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package org.openelisglobal.common.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Splits the values of a lookup into chunks so that each query binds a bounded
+ * number of values in its IN list, however many values are looked up.
+ */
+public class ChunkUtil {
+
+    // keeps the IN lists well below the bind parameter limit
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private ChunkUtil() {
+    }
+
+    public static <T> List<List<T>> chunk(Collection<T> values) {
+        return chunk(values, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @return views of consecutive runs of at most chunkSize values, in the
+     *         iteration order of values
+     */
+    public static <T> List<List<T>> chunk(Collection<T> values, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        List<T> list = values instanceof List ? (List<T>) values : new ArrayList<>(values);
+        List<List<T>> chunks = new ArrayList<>();
+        for (int start = 0; start < list.size(); start += chunkSize) {
+            chunks.add(list.subList(start, Math.min(start + chunkSize, list.size())));
+        }
+        return chunks;
+    }
+}
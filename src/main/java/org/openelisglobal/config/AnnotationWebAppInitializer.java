@@ -1,8 +1,11 @@
 package org.openelisglobal.config;
 
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterRegistration;
 import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRegistration;
+import java.util.EnumSet;
 import org.openelisglobal.common.servlet.barcode.LabelMakerServlet;
 import org.openelisglobal.common.servlet.query.AjaxQueryXMLServlet;
 import org.openelisglobal.common.servlet.reports.ReportsServlet;
@@ -12,10 +15,10 @@ import org.openelisglobal.dataexchange.aggregatereporting.IndicatorAggregationRe
 import org.openelisglobal.dataexchange.order.action.OrderRawServlet;
 import org.openelisglobal.dataexchange.order.action.OrderServlet;
 import org.openelisglobal.fhir.servlets.FhirRestfulServer;
-import org.openelisglobal.metricservice.action.MetricServicesServlet;
 import org.springframework.web.WebApplicationInitializer;
 import org.springframework.web.context.ContextLoaderListener;
 import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.filter.DelegatingFilterProxy;
 import org.springframework.web.servlet.DispatcherServlet;
 
 public class AnnotationWebAppInitializer implements WebApplicationInitializer {
@@ -30,6 +33,14 @@ public class AnnotationWebAppInitializer implements WebApplicationInitializer {
         servletContext.addListener(new ContextLoaderListener(rootContext));
 
         setupServlets(servletContext, rootContext);
+        setupFilters(servletContext, rootContext);
+    }
+
+    private void setupFilters(ServletContext servletContext, AnnotationConfigWebApplicationContext rootContext) {
+        FilterRegistration.Dynamic queryTraceFilter = servletContext.addFilter("queryTraceFilter",
+                new DelegatingFilterProxy("queryTraceFilter", rootContext));
+        queryTraceFilter.setAsyncSupported(true);
+        queryTraceFilter.addMappingForUrlPatterns(EnumSet.of(DispatcherType.REQUEST), false, "/*");
     }
 
     private void setupServlets(ServletContext servletContext, AnnotationConfigWebApplicationContext rootContext) {
@@ -97,11 +108,6 @@ public class AnnotationWebAppInitializer implements WebApplicationInitializer {
         // importAnalyzerServlet.setLoadOnStartup(++startupOrder);
         // importAnalyzerServlet.addMapping("/importAnalyzer");
 
-        ServletRegistration.Dynamic metricServicesServlet = servletContext.addServlet("MetricServicesServlet",
-                MetricServicesServlet.class);
-        metricServicesServlet.setLoadOnStartup(++startupOrder);
-        metricServicesServlet.addMapping("/MetricServices");
-
         ServletRegistration.Dynamic indicatorAggregationServlet = servletContext
                 .addServlet("IndicatorAggregationServlet", IndicatorAggregationReportingServlet.class);
         indicatorAggregationServlet.setLoadOnStartup(++startupOrder);
@@ -21,6 +21,7 @@ import org.openelisglobal.fhir.springserialization.QuestionnaireResponseDeserial
 import org.openelisglobal.fhir.springserialization.QuestionnaireResponseSerializer;
 import org.openelisglobal.fhir.springserialization.QuestionnaireSerializer;
 import org.openelisglobal.interceptor.CommonPageAttributesInterceptor;
+import org.openelisglobal.interceptor.RequestMetricsInterceptor;
 import org.openelisglobal.interceptor.UrlErrorsInterceptor;
 import org.openelisglobal.internationalization.GlobalLocaleResolver;
 import org.openelisglobal.security.SecurityConfig;
@@ -73,6 +74,8 @@ public class AppConfig implements WebMvcConfigurer {
     @Autowired
     LocaleChangeInterceptor localeChangeInterceptor;
     @Autowired
+    RequestMetricsInterceptor requestMetricsInterceptor;
+    @Autowired
     LocaleResolver localResolver;
 
     @Bean
@@ -93,6 +96,9 @@ public class AppConfig implements WebMvcConfigurer {
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        // first, so the time includes the other interceptors
+        registry.addInterceptor(requestMetricsInterceptor).addPathPatterns("/**")
+                .excludePathPatterns(SecurityConfig.RESOURCE_PAGES);
         registry.addInterceptor(localeChangeInterceptor).addPathPatterns("/**");
         registry.addInterceptor(moduleAuthenticationInterceptor).addPathPatterns("/**")
                 .excludePathPatterns(SecurityConfig.OPEN_PAGES) //
@@ -1,7 +1,13 @@
 package org.openelisglobal.config;
 
 import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
 import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.openelisglobal.metricservice.querytrace.QueryTraceIntegrator;
+import org.openelisglobal.metricservice.querytrace.QueryTraceSessionEventListener;
+import org.openelisglobal.metricservice.querytrace.QueryTraceStatementInspector;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,6 +22,9 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @EnableTransactionManagement
 public class HibernateConfig {
 
+    // takes an IntegratorProvider instance; Hibernate only declares the name internally
+    private static final String INTEGRATOR_PROVIDER = "hibernate.integrator_provider";
+
     static JpaTransactionManager transactionManager;
     static LocalContainerEntityManagerFactoryBean emf;
 
@@ -31,6 +40,14 @@ public class HibernateConfig {
             emf.setPersistenceXmlLocation("classpath:persistence/persistence.xml");
             // activate this once we migrate away from hbm.xmls and persistence.xml
             // emf.setPackagesToScan("org.openelisglobal");
+
+            // statements, database time and entity loads per request and job
+            emf.getJpaPropertyMap().put(AvailableSettings.STATEMENT_INSPECTOR,
+                    QueryTraceStatementInspector.class.getName());
+            emf.getJpaPropertyMap().put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                    QueryTraceSessionEventListener.class.getName());
+            emf.getJpaPropertyMap().put(INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> List.of(new QueryTraceIntegrator()));
         }
 
         return emf;
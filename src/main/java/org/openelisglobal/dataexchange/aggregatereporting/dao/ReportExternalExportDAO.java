@@ -15,6 +15,7 @@ package org.openelisglobal.dataexchange.aggregatereporting.dao;
 
 import java.sql.Timestamp;
 import java.util.List;
+import java.util.function.Consumer;
 import org.openelisglobal.common.dao.BaseDAO;
 import org.openelisglobal.common.exception.LIMSRuntimeException;
 import org.openelisglobal.dataexchange.aggregatereporting.valueholder.ReportExternalExport;
@@ -24,6 +25,14 @@ public interface ReportExternalExportDAO extends BaseDAO<ReportExternalExport, S
 
     public List<ReportExternalExport> getUnsentReportExports(String reportQueueTypeId) throws LIMSRuntimeException;
 
+    /**
+     * Streams the unsent reports of a type to the consumer one at a time, in id
+     * order, so that only one report's data is held in memory. The reports are
+     * detached.
+     */
+    public void forEachUnsentReportExport(String reportQueueTypeId, Consumer<ReportExternalExport> consumer)
+            throws LIMSRuntimeException;
+
     public ReportExternalExport getLatestSentReportExport(String reportQueueTypeId) throws LIMSRuntimeException;
 
     public ReportExternalExport getLatestEventReportExport(String reportQueueTypeId) throws LIMSRuntimeException;
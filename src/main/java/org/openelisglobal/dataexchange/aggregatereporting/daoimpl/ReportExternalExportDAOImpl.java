@@ -15,6 +15,9 @@ package org.openelisglobal.dataexchange.aggregatereporting.daoimpl;
 
 import java.sql.Timestamp;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.hibernate.HibernateException;
 import org.hibernate.Session;
 import org.hibernate.query.Query;
@@ -23,6 +26,7 @@ import org.openelisglobal.common.exception.LIMSRuntimeException;
 import org.openelisglobal.dataexchange.aggregatereporting.dao.ReportExternalExportDAO;
 import org.openelisglobal.dataexchange.aggregatereporting.valueholder.ReportExternalExport;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Component
@@ -71,6 +75,19 @@ public class ReportExternalExportDAOImpl extends BaseDAOImpl<ReportExternalExpor
         return null;
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachUnsentReportExport(String reportQueueTypeId, Consumer<ReportExternalExport> consumer)
+            throws LIMSRuntimeException {
+        String hql = "from ReportExternalExport rq where rq.send = true and rq.typeId = :typeId order by rq.id";
+        try (Stream<ReportExternalExport> reports = stream(hql, ReportExternalExport.class,
+                Map.of("typeId", Integer.parseInt(reportQueueTypeId)))) {
+            reports.forEach(consumer);
+        } catch (HibernateException e) {
+            handleException(e, "forEachUnsentReportExport");
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public ReportExternalExport getLatestSentReportExport(String reportQueueTypeId) throws LIMSRuntimeException {
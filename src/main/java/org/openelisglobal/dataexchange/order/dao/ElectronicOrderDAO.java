@@ -34,13 +34,19 @@ public interface ElectronicOrderDAO extends BaseDAO<ElectronicOrder, String> {
 
     List<ElectronicOrder> getAllElectronicOrdersOrderedBy(ElectronicOrder.SortOrder order);
 
-    public List<ElectronicOrder> getAllElectronicOrdersContainingValueOrderedBy(String searchValue, SortOrder order);
-
     List<ElectronicOrder> getAllElectronicOrdersContainingValuesOrderedBy(String accessionNumber,
             String patientLastName, String patientFirstName, String gender, SortOrder order);
 
-    public List<ElectronicOrder> getElectronicOrdersContainingValueExludedByOrderedBy(String searchValue,
-            List<Integer> exludedStatusIds, SortOrder sortOrder);
+    /**
+     * Finds orders whose message, patient name, national id or other patient
+     * identity contains the value, in the given order.
+     *
+     * @param excludedStatusIds statuses of orders to leave out, may be empty
+     * @param firstResult       the index of the first order of the page
+     * @param maxResults        the most orders to return
+     */
+    List<ElectronicOrder> getElectronicOrdersContainingValue(String searchValue, List<Integer> excludedStatusIds,
+            SortOrder sortOrder, int firstResult, int maxResults);
 
     List<ElectronicOrder> getAllElectronicOrdersByDateAndStatus(Date startDate, Date endDate, String statusId,
             SortOrder sortOrder);
@@ -15,11 +15,14 @@ package org.openelisglobal.dataexchange.order.daoimpl;
 
 import java.sql.Date;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Vector;
 import org.apache.commons.validator.GenericValidator;
 import org.hibernate.HibernateException;
 import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
 import org.hibernate.query.Query;
 import org.openelisglobal.common.daoimpl.BaseDAOImpl;
 import org.openelisglobal.common.exception.LIMSRuntimeException;
@@ -33,6 +36,23 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class ElectronicOrderDAOImpl extends BaseDAOImpl<ElectronicOrder, String> implements ElectronicOrderDAO {
 
+    // Each way an order can match is its own branch so that each can use its
+    // trigram index (see 020-electronic-order-trigram-search.xml); one OR across
+    // the joined tables would be a sequential scan of electronic_order. Orders
+    // without a patient never match, as before.
+    private static final String CONTAINING_VALUE_SQL = "WITH matches AS ("
+            + "SELECT m.id FROM clinlims.electronic_order m WHERE m.data ILIKE :pattern"
+            + " UNION SELECT m.id FROM clinlims.electronic_order m"
+            + " JOIN clinlims.patient p ON p.id = m.patient_id JOIN clinlims.person s ON s.id = p.person_id"
+            + " WHERE s.first_name ILIKE :pattern OR s.last_name ILIKE :pattern"
+            + " OR (s.first_name || ' ' || s.last_name) ILIKE :pattern"
+            + " UNION SELECT m.id FROM clinlims.electronic_order m"
+            + " JOIN clinlims.patient p ON p.id = m.patient_id WHERE p.national_id LIKE :pattern"
+            + " UNION SELECT m.id FROM clinlims.electronic_order m"
+            + " JOIN clinlims.patient_identity i ON i.patient_id = m.patient_id WHERE i.identity_data LIKE :pattern)"
+            + " SELECT eo.id FROM clinlims.electronic_order eo JOIN matches ON matches.id = eo.id"
+            + " JOIN clinlims.patient pat ON pat.id = eo.patient_id JOIN clinlims.person per ON per.id = pat.person_id";
+
     public ElectronicOrderDAOImpl() {
         super(ElectronicOrder.class);
     }
@@ -82,54 +102,6 @@ public class ElectronicOrderDAOImpl extends BaseDAOImpl<ElectronicOrder, String>
         return list;
     }
 
-    @Override
-    public List<ElectronicOrder> getAllElectronicOrdersContainingValueOrderedBy(String searchValue, SortOrder order) {
-
-        String sql = "from ElectronicOrder eo join eo.patient patient join patient.person person  where"
-                + " lower(eo.data) like concat('%', lower(:searchValue), '%') or"
-                + " lower(person.firstName) like concat('%', lower(:searchValue), '%') or"
-                + " lower(person.lastName) like concat('%', lower(:searchValue), '%') or patient.id in"
-                + " (SELECT identity.patientId FROM PatientIdentity identity WHERE"
-                + " identity.identityData like concat('%', :searchValue, '%')) or patient.nationalId"
-                + " like concat('%', :searchValue, '%') or lower(concat(person.firstName, ' ',"
-                + " person.lastName)) like concat('%', lower(:searchValue), '%') order by ";
-
-        switch (order.getValue()) {
-        case "statusId":
-            sql = sql + "eo.statusId asc";
-            break;
-        case "lastupdatedasc":
-            sql = sql + "eo.statusId asc, eo.lastupdated asc";
-            break;
-        case "lastupdateddesc":
-            sql = sql + "eo.statusId asc, eo.lastupdated desc";
-            break;
-        case "externalId":
-            sql = sql + "eo.externalId asc";
-            break;
-        default:
-            //
-            break;
-        }
-        try {
-
-            Query query = entityManager.unwrap(Session.class).createQuery(sql);
-            query.setParameter("searchValue", searchValue);
-            // query.setParameter("order", order.getValue());
-            List records = query.list();
-            List<ElectronicOrder> eOrders = new ArrayList<>();
-            for (int i = 0; i < records.size(); i++) {
-                Object[] oArray = (Object[]) records.get(i);
-                ElectronicOrder eo = (ElectronicOrder) oArray[0];
-                eOrders.add(eo);
-            }
-            return eOrders;
-        } catch (HibernateException e) {
-            handleException(e, "getAllElectronicOrdersContainingValue");
-        }
-        return null;
-    }
-
     @Override
     public List<ElectronicOrder> getAllElectronicOrdersMatchingAnyValue(List<String> identifierValues,
             String patientValue, SortOrder order) {
@@ -180,56 +152,71 @@ public class ElectronicOrderDAOImpl extends BaseDAOImpl<ElectronicOrder, String>
     }
 
     @Override
-    public List<ElectronicOrder> getElectronicOrdersContainingValueExludedByOrderedBy(String searchValue,
-            List<Integer> excludedStatuses, SortOrder sortOrder) {
-
-        String sql = "from ElectronicOrder eo join eo.patient patient join patient.person person  where"
-                + " lower(eo.data) like concat('%', lower(:searchValue), '%') or"
-                + " lower(person.firstName) like concat('%', lower(:searchValue), '%') or"
-                + " lower(person.lastName) like concat('%', lower(:searchValue), '%') or"
-                + " lower(concat(person.firstName, ' ', person.lastName)) like concat('%',"
-                + " lower(:searchValue), '%')or patient.id in (SELECT identity.patientId FROM"
-                + " PatientIdentity identity WHERE identity.identityData like concat('%', :searchValue,"
-                + " '%')) or patient.nationalId like concat('%', :searchValue, '%') and eo.statusId not"
-                + " in (:excludedStatuses) order by ";
-
+    @Transactional(readOnly = true)
+    public List<ElectronicOrder> getElectronicOrdersContainingValue(String searchValue,
+            List<Integer> excludedStatusIds, SortOrder sortOrder, int firstResult, int maxResults) {
+        String sql = CONTAINING_VALUE_SQL;
+        if (excludedStatusIds != null && !excludedStatusIds.isEmpty()) {
+            sql += " WHERE eo.status_id NOT IN (:excludedStatusIds)";
+        }
         switch (sortOrder) {
-        case STATUS_ID:
-            sql = sql + "eo.statusId asc";
-            break;
         case LAST_UPDATED_ASC:
-            sql = sql + "eo.statusId asc, eo.lastupdated asc";
+            sql += " ORDER BY eo.status_id ASC, eo.lastupdated ASC, eo.id";
             break;
         case LAST_UPDATED_DESC:
-            sql = sql + "eo.statusId asc, eo.lastupdated desc";
+            sql += " ORDER BY eo.status_id ASC, eo.lastupdated DESC, eo.id";
             break;
         case EXTERNAL_ID:
-            sql = sql + "eo.externalId asc";
+            sql += " ORDER BY eo.external_id ASC, eo.id";
             break;
+        case STATUS_ID:
         default:
-            //
+            sql += " ORDER BY eo.status_id ASC, eo.id";
             break;
         }
-        try {
+        sql += " LIMIT :maxResults OFFSET :firstResult";
 
-            Query<?> query = entityManager.unwrap(Session.class).createQuery(sql);
-            query.setParameter("searchValue", searchValue);
-            query.setParameter("excludedStatuses", excludedStatuses);
-            // query.setParameter("order", order.getValue());
-            List<?> records = query.list();
-            List<ElectronicOrder> eOrders = new ArrayList<>();
-            for (int i = 0; i < records.size(); i++) {
-                Object[] oArray = (Object[]) records.get(i);
-                ElectronicOrder eo = (ElectronicOrder) oArray[0];
-                eOrders.add(eo);
+        try {
+            NativeQuery<?> query = entityManager.unwrap(Session.class).createNativeQuery(sql);
+            query.setParameter("pattern", "%" + escapeLike(searchValue) + "%");
+            if (excludedStatusIds != null && !excludedStatusIds.isEmpty()) {
+                query.setParameterList("excludedStatusIds", excludedStatusIds);
             }
-            return eOrders;
+            query.setParameter("maxResults", maxResults);
+            query.setParameter("firstResult", firstResult);
+            List<String> ids = new ArrayList<>();
+            for (Object id : query.list()) {
+                ids.add(String.valueOf(((Number) id).intValue()));
+            }
+            return getOrdersInIdOrder(ids);
         } catch (HibernateException e) {
-            handleException(e, "getAllElectronicOrdersContainingValue");
+            handleException(e, "getElectronicOrdersContainingValue");
         }
         return null;
     }
 
+    private List<ElectronicOrder> getOrdersInIdOrder(List<String> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Query<ElectronicOrder> query = entityManager.unwrap(Session.class)
+                .createQuery("from ElectronicOrder eo where eo.id in (:ids)", ElectronicOrder.class);
+        query.setParameterList("ids", ids);
+        Map<String, ElectronicOrder> ordersById = new HashMap<>();
+        for (ElectronicOrder order : query.list()) {
+            ordersById.put(order.getId(), order);
+        }
+        List<ElectronicOrder> orders = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            orders.add(ordersById.get(id));
+        }
+        return orders;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     @Override
     public List<ElectronicOrder> getAllElectronicOrdersContainingValuesOrderedBy(String accessionNumber,
             String patientLastName, String patientFirstName, String gender, SortOrder order) {
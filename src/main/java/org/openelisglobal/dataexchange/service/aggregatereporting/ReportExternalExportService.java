@@ -2,6 +2,7 @@ package org.openelisglobal.dataexchange.service.aggregatereporting;
 
 import java.sql.Timestamp;
 import java.util.List;
+import java.util.function.Consumer;
 import org.openelisglobal.common.service.BaseObjectService;
 import org.openelisglobal.dataexchange.aggregatereporting.valueholder.ReportExternalExport;
 
@@ -23,6 +24,8 @@ public interface ReportExternalExportService extends BaseObjectService<ReportExt
 
     List<ReportExternalExport> getUnsentReportExports(String reportQueueTypeId);
 
+    void forEachUnsentReportExport(String reportQueueTypeId, Consumer<ReportExternalExport> consumer);
+
     List<ReportExternalExport> getRecalculateReportExports(String reportQueueTypeId);
 
     ReportExternalExport loadReport(ReportExternalExport report);
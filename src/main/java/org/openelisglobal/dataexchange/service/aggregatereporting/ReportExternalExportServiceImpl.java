@@ -2,11 +2,13 @@ package org.openelisglobal.dataexchange.service.aggregatereporting;
 
 import java.sql.Timestamp;
 import java.util.List;
+import java.util.function.Consumer;
 import org.openelisglobal.common.service.AuditableBaseObjectServiceImpl;
 import org.openelisglobal.dataexchange.aggregatereporting.dao.ReportExternalExportDAO;
 import org.openelisglobal.dataexchange.aggregatereporting.valueholder.ReportExternalExport;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -73,6 +75,12 @@ public class ReportExternalExportServiceImpl extends AuditableBaseObjectServiceI
         return getBaseObjectDAO().getUnsentReportExports(reportQueueTypeId);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachUnsentReportExport(String reportQueueTypeId, Consumer<ReportExternalExport> consumer) {
+        getBaseObjectDAO().forEachUnsentReportExport(reportQueueTypeId, consumer);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<ReportExternalExport> getRecalculateReportExports(String reportQueueTypeId) {
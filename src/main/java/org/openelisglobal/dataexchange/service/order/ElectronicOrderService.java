@@ -15,11 +15,27 @@ public interface ElectronicOrderService extends BaseObjectService<ElectronicOrde
 
     List<ElectronicOrder> getElectronicOrdersByExternalId(String id);
 
+    /**
+     * The first configured maximum number of search results of the orders
+     * containing the value, logging a warning when more may match
+     */
     List<ElectronicOrder> getAllElectronicOrdersContainingValueOrderedBy(String searchValue, SortOrder sortOrder);
 
+    /**
+     * A page of the orders containing the value, returning no more than the
+     * configured maximum number of search results however large the page asked
+     * for
+     */
+    List<ElectronicOrder> getElectronicOrdersContainingValue(String searchValue, SortOrder sortOrder, int firstResult,
+            int maxResults);
+
     List<ElectronicOrder> getAllElectronicOrdersContainingValuesOrderedBy(String accessionNumber,
             String patientLastName, String patientFirstName, String gender, SortOrder order);
 
+    /**
+     * The first configured maximum number of search results of the orders
+     * containing the value, logging a warning when more may match
+     */
     List<ElectronicOrder> getElectronicOrdersContainingValueExludedByOrderedBy(String searchValue,
             List<ExternalOrderStatus> excludedStatuses, SortOrder sortOrder);
 
@@ -10,6 +10,7 @@ import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.Bundle.BundleEntryComponent;
 import org.hl7.fhir.r4.model.ResourceType;
 import org.hl7.fhir.r4.model.ServiceRequest;
+import org.openelisglobal.common.log.LogEvent;
 import org.openelisglobal.common.service.AuditableBaseObjectServiceImpl;
 import org.openelisglobal.common.services.IStatusService;
 import org.openelisglobal.common.services.StatusService.ExternalOrderStatus;
@@ -23,6 +24,7 @@ import org.openelisglobal.dataexchange.order.valueholder.ElectronicOrder.SortOrd
 import org.openelisglobal.organization.service.OrganizationService;
 import org.openelisglobal.test.service.TestService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -42,6 +44,10 @@ public class ElectronicOrderServiceImpl extends AuditableBaseObjectServiceImpl<E
     @Autowired
     private FhirConfig fhirConfig;
 
+    // the most orders a search by value returns, however many match
+    @Value("${org.openelisglobal.eorder.search.maxResults:500}")
+    private int maxSearchResults;
+
     ElectronicOrderServiceImpl() {
         super(ElectronicOrder.class);
     }
@@ -65,9 +71,17 @@ public class ElectronicOrderServiceImpl extends AuditableBaseObjectServiceImpl<E
 
     @Override
     public List<ElectronicOrder> getAllElectronicOrdersContainingValueOrderedBy(String searchValue, SortOrder order) {
+        return reportTruncation(getElectronicOrdersContainingValue(searchValue, order, 0, maxSearchResults),
+                "getAllElectronicOrdersContainingValueOrderedBy");
+    }
 
-        List<ElectronicOrder> searchResult = getBaseObjectDAO()
-                .getAllElectronicOrdersContainingValueOrderedBy(searchValue, order);
+    @Override
+    @Transactional(readOnly = true)
+    public List<ElectronicOrder> getElectronicOrdersContainingValue(String searchValue, SortOrder order,
+            int firstResult, int maxResults) {
+        int limit = Math.min(maxResults, maxSearchResults);
+        List<ElectronicOrder> searchResult = getBaseObjectDAO().getElectronicOrdersContainingValue(searchValue,
+                List.of(), order, firstResult, limit);
 
         if (searchResult != null && searchResult.size() > 0) {
             return searchResult;
@@ -77,7 +91,8 @@ public class ElectronicOrderServiceImpl extends AuditableBaseObjectServiceImpl<E
         if (searchValue != null && searchValue.contains(".")) {
             searchValue = searchValue.substring(0, searchValue.indexOf('.'));
         }
-        return getBaseObjectDAO().getAllElectronicOrdersContainingValueOrderedBy(searchValue, order);
+        return getBaseObjectDAO().getElectronicOrdersContainingValue(searchValue, List.of(), order, firstResult,
+                limit);
     }
 
     @Override
@@ -98,8 +113,18 @@ public class ElectronicOrderServiceImpl extends AuditableBaseObjectServiceImpl<E
             }
         }
 
-        return getBaseObjectDAO().getElectronicOrdersContainingValueExludedByOrderedBy(searchValue, exludedStatusIds,
-                sortOrder);
+        return reportTruncation(getBaseObjectDAO().getElectronicOrdersContainingValue(searchValue, exludedStatusIds,
+                sortOrder, 0, maxSearchResults), "getElectronicOrdersContainingValueExludedByOrderedBy");
+    }
+
+    // an unpaged search stops at maxSearchResults orders, say so rather than pass
+    // the first page off as every match
+    private List<ElectronicOrder> reportTruncation(List<ElectronicOrder> orders, String methodName) {
+        if (orders != null && orders.size() >= maxSearchResults) {
+            LogEvent.logWarn(getClass().getSimpleName(), methodName, "search stopped at the first " + maxSearchResults
+                    + " matching orders, page through the rest with getElectronicOrdersContainingValue");
+        }
+        return orders;
     }
 
     @Override
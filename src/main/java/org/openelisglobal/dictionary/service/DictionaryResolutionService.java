@@ -0,0 +1,36 @@
+package org.openelisglobal.dictionary.service;
+
+import java.util.Collection;
+import java.util.Map;
+import org.openelisglobal.dictionary.valueholder.ResolvedDictionary;
+
+/**
+ * Resolves dictionary ids to their display values from an in-memory cache, so
+ * that rendering a list of dictionary results does not query the dictionary
+ * table once per result. Entries are invalidated when a dictionary is updated
+ * through {@link DictionaryService}.
+ */
+public interface DictionaryResolutionService {
+
+    /**
+     * @return the dictionary with this id, or null if the id is blank, not a
+     *         number or has no dictionary
+     */
+    ResolvedDictionary resolve(String id);
+
+    /**
+     * Resolves all of the ids, loading the ones that are not cached with a single
+     * query.
+     *
+     * @return the dictionaries by id; ids without a dictionary are left out
+     */
+    Map<String, ResolvedDictionary> resolveAll(Collection<String> ids);
+
+    /**
+     * Drops the dictionary from the cache now and, if called inside a
+     * transaction, again once it commits.
+     */
+    void invalidate(String id);
+
+    void invalidateAll();
+}
@@ -0,0 +1,110 @@
+package org.openelisglobal.dictionary.service;
+
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.StringUtils;
+import org.openelisglobal.common.util.ChunkUtil;
+import org.openelisglobal.dictionary.dao.DictionaryDAO;
+import org.openelisglobal.dictionary.valueholder.Dictionary;
+import org.openelisglobal.dictionary.valueholder.ResolvedDictionary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class DictionaryResolutionServiceImpl implements DictionaryResolutionService {
+
+    @Autowired
+    private DictionaryDAO dictionaryDAO;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<String, ResolvedDictionary> dictionariesById = new ConcurrentHashMap<>();
+
+    // only misses need a transaction, so hits stay as cheap as a map lookup
+    private TransactionTemplate loadTransaction;
+
+    @PostConstruct
+    private void initialize() {
+        loadTransaction = new TransactionTemplate(transactionManager);
+        loadTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public ResolvedDictionary resolve(String id) {
+        if (!StringUtils.isNumeric(id)) {
+            return null;
+        }
+        ResolvedDictionary dictionary = dictionariesById.get(id);
+        if (dictionary == null) {
+            dictionary = load(List.of(id)).get(id);
+        }
+        return dictionary;
+    }
+
+    @Override
+    public Map<String, ResolvedDictionary> resolveAll(Collection<String> ids) {
+        Map<String, ResolvedDictionary> resolved = new HashMap<>();
+        Set<String> misses = new LinkedHashSet<>();
+        for (String id : ids) {
+            if (!StringUtils.isNumeric(id)) {
+                continue;
+            }
+            ResolvedDictionary dictionary = dictionariesById.get(id);
+            if (dictionary == null) {
+                misses.add(id);
+            } else {
+                resolved.put(id, dictionary);
+            }
+        }
+        if (!misses.isEmpty()) {
+            resolved.putAll(load(new ArrayList<>(misses)));
+        }
+        return resolved;
+    }
+
+    @Override
+    public void invalidate(String id) {
+        if (id == null) {
+            return;
+        }
+        dictionariesById.remove(id);
+        // a reader may have cached the old row before the change was committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dictionariesById.remove(id);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        dictionariesById.clear();
+    }
+
+    private Map<String, ResolvedDictionary> load(List<String> ids) {
+        Map<String, ResolvedDictionary> loaded = new HashMap<>();
+        loadTransaction.executeWithoutResult(status -> {
+            for (List<String> chunk : ChunkUtil.chunk(ids)) {
+                for (Dictionary dictionary : dictionaryDAO.get(chunk)) {
+                    loaded.put(dictionary.getId(), ResolvedDictionary.of(dictionary));
+                }
+            }
+        });
+        dictionariesById.putAll(loaded);
+        return loaded;
+    }
+}
@@ -20,6 +20,8 @@ public class DictionaryServiceImpl extends AuditableBaseObjectServiceImpl<Dictio
 
     @Autowired
     protected DictionaryDAO baseObjectDAO;
+    @Autowired
+    private DictionaryResolutionService dictionaryResolutionService;
 
     DictionaryServiceImpl() {
         super(Dictionary.class);
@@ -40,6 +42,14 @@ public class DictionaryServiceImpl extends AuditableBaseObjectServiceImpl<Dictio
         }
     }
 
+    // every update, including the soft delete, comes through here
+    @Override
+    protected Dictionary update(Dictionary dictionary, String auditTrailType) {
+        Dictionary updated = super.update(dictionary, auditTrailType);
+        dictionaryResolutionService.invalidate(dictionary.getId());
+        return updated;
+    }
+
     @Override
     @Transactional
     public String insert(Dictionary dictionary) {
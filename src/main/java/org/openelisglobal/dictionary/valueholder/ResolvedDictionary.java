@@ -0,0 +1,64 @@
+package org.openelisglobal.dictionary.valueholder;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.apache.commons.validator.GenericValidator;
+import org.openelisglobal.internationalization.MessageUtil;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+/**
+ * The parts of a {@link Dictionary} needed to display a dictionary result,
+ * detached from the session so that it can be cached and shared between
+ * threads. The display methods behave as their namesakes on Dictionary.
+ *
+ * @param localizedValues the values of the dictionary's localized name by
+ *                        locale, or null if it has no localized name
+ */
+public record ResolvedDictionary(String id, String dictEntry, String localAbbreviation, String nameKey,
+        String dictionaryCategoryId, Map<Locale, String> localizedValues) {
+
+    public static ResolvedDictionary of(Dictionary dictionary) {
+        Map<Locale, String> localizedValues = null;
+        if (dictionary.getLocalizedDictionaryName() != null) {
+            localizedValues = Collections
+                    .unmodifiableMap(new HashMap<>(dictionary.getLocalizedDictionaryName().getLocaleValues()));
+        }
+        return new ResolvedDictionary(dictionary.getId(), dictionary.getDictEntry(),
+                dictionary.getLocalAbbreviation(), dictionary.getNameKey(),
+                dictionary.getDictionaryCategory() == null ? null : dictionary.getDictionaryCategory().getId(),
+                localizedValues);
+    }
+
+    /** @see Dictionary#getLocalizedName() */
+    public String getLocalizedName() {
+        if (nameKey != null) {
+            String localizedName = MessageUtil.getContextualMessage(nameKey.trim());
+            if (localizedName != null && !localizedName.equals(nameKey.trim())) {
+                return localizedName;
+            }
+        }
+        return dictEntry;
+    }
+
+    /** @see Dictionary#getDisplayValue() */
+    public String getDisplayValue() {
+        if (localizedValues == null) {
+            return dictEntry;
+        }
+        Locale locale = LocaleContextHolder.getLocale();
+        Locale secondaryLocale = Locale.forLanguageTag(locale.getLanguage());
+        if (localizedValues.containsKey(locale)) {
+            return localizedValues.get(locale);
+        } else if (localizedValues.containsKey(secondaryLocale)) {
+            return localizedValues.get(secondaryLocale);
+        }
+        return "";
+    }
+
+    /** @return the local abbreviation, or the entry if there is none */
+    public String getAbbreviationOrEntry() {
+        return GenericValidator.isBlankOrNull(localAbbreviation) ? dictEntry : localAbbreviation;
+    }
+}
@@ -5,6 +5,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import org.hl7.fhir.r4.model.Bundle;
 import org.itech.fhir.dataexport.api.service.DataExportService;
 import org.itech.fhir.dataexport.core.model.DataExportTask;
@@ -14,9 +16,7 @@ import org.openelisglobal.common.log.LogEvent;
 import org.openelisglobal.dataexchange.fhir.exception.FhirLocalPersistingException;
 import org.openelisglobal.dataexchange.fhir.exception.FhirPersistanceException;
 import org.openelisglobal.dataexchange.fhir.service.FhirTransformService;
-import org.openelisglobal.patient.valueholder.Patient;
 import org.openelisglobal.sample.service.SampleService;
-import org.openelisglobal.sample.valueholder.Sample;
 import org.openelisglobal.samplehuman.service.SampleHumanService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -67,49 +67,10 @@ public class FhirTransformationController extends BaseController {
         info.waitForResults = waitForResults;
         info.objectType = "Patient";
         info.phase = "Fetching";
-
-        List<Patient> patients;
-        if (info.checkAll) {
-            patients = sampleHumanService.getAllPatientsWithSampleEntered();
-        } else {
-            patients = sampleHumanService.getAllPatientsWithSampleEnteredMissingFhirUuid();
-        }
-        LogEvent.logDebug(this.getClass().getSimpleName(), "transformPersistFhirPatients",
-                "patients to convert: " + patients.size());
-        List<String> patientIds = new ArrayList<>();
-        List<Future<Bundle>> promises = new ArrayList<>();
-        info.objectType = "Patient";
-        for (int i = 0; i < patients.size(); ++i) {
-            info.phase = "Batch Transforming";
-            patientIds.add(patients.get(i).getId());
-            if (i % info.batchSize == info.batchSize - 1 || i + 1 == patients.size()) {
-                LogEvent.logDebug(this.getClass().getSimpleName(), "",
-                        "persisting batch " + (i - info.batchSize + 1) + "-" + i + " of " + patients.size());
-                try {
-                    promises.add(fhirTransformService.transformPersistPatients(patientIds));
-                    ++info.batches;
-                    patientIds = new ArrayList<>();
-                    if (info.waitForResults && (promises.size() >= info.threads || i + 1 == patients.size())) {
-                        waitForResults(promises);
-                        promises = new ArrayList<>();
-                    }
-                } catch (FhirPersistanceException e) {
-                    ++info.batchFailure;
-                    LogEvent.logError(e);
-                    LogEvent.logError(this.getClass().getSimpleName(), "transformPersistFhirPatients",
-                            "error persisting batch " + (i - info.batchSize + 1) + "-" + i);
-                } catch (Exception e) {
-                    ++info.batchFailure;
-                    LogEvent.logError(e);
-                    LogEvent.logError(this.getClass().getSimpleName(), "transformPersistFhirPatients",
-                            "error with batch " + (i - info.batchSize + 1) + "-" + i);
-                } finally {
-                    if (promises.size() >= info.threads || i + 1 == patients.size()) {
-                        promises = new ArrayList<>();
-                    }
-                }
-            }
-        }
+        transformInBatches("transformPersistFhirPatients",
+                batches -> sampleHumanService.forEachPatientIdWithSampleEntered(!info.checkAll, info.batchSize,
+                        batches),
+                fhirTransformService::transformPersistPatients);
         info.phase = "Finished";
         LogEvent.logDebug(this.getClass().getSimpleName(), "transformPersistFhirPatients", "finished all batches");
 
@@ -142,80 +103,16 @@ public class FhirTransformationController extends BaseController {
         try {
             info.objectType = "Patient";
             info.phase = "Fetching";
-            List<Patient> patients;
-            if (info.checkAll) {
-                patients = sampleHumanService.getAllPatientsWithSampleEntered();
-            } else {
-                patients = sampleHumanService.getAllPatientsWithSampleEnteredMissingFhirUuid();
-            }
-            LogEvent.logDebug(this.getClass().getSimpleName(), "transformPersistMissingFhirObjects",
-                    "patients to convert: " + patients.size());
-            List<String> patientIds = new ArrayList<>();
-            List<Future<Bundle>> promises = new ArrayList<>();
-            info.objectType = "Patient";
-            for (int i = 0; i < patients.size(); ++i) {
-                info.phase = "Batch Transforming";
-                patientIds.add(patients.get(i).getId());
-                if (i % info.batchSize == info.batchSize - 1 || i + 1 == patients.size()) {
-                    LogEvent.logDebug(this.getClass().getSimpleName(), "",
-                            "persisting batch " + (i - info.batchSize + 1) + "-" + i + " of " + patients.size());
-                    try {
-                        promises.add(fhirTransformService.transformPersistPatients(patientIds));
-                        patientIds = new ArrayList<>();
-                        if (info.waitForResults && (promises.size() >= info.threads || i + 1 == patients.size())) {
-                            waitForResults(promises);
-                        }
-                    } catch (FhirPersistanceException e) {
-                        LogEvent.logError(e);
-                        LogEvent.logError(this.getClass().getSimpleName(), "transformPersistMissingFhirObjects",
-                                "error persisting batch " + (i - info.batchSize + 1) + "-" + i);
-                    } catch (Exception e) {
-                        LogEvent.logError(e);
-                        LogEvent.logError(this.getClass().getSimpleName(), "transformPersistMissingFhirObjects",
-                                "error with batch " + (i - info.batchSize + 1) + "-" + i);
-                    }
-                }
-            }
+            transformInBatches("transformPersistMissingFhirObjects",
+                    batches -> sampleHumanService.forEachPatientIdWithSampleEntered(!info.checkAll, info.batchSize,
+                            batches),
+                    fhirTransformService::transformPersistPatients);
 
             info.objectType = "Sample";
             info.phase = "Fetching";
-            List<Sample> samples;
-            if (info.checkAll) {
-                samples = sampleService.getAll();
-            } else {
-                samples = sampleService.getAllMissingFhirUuid();
-            }
-            LogEvent.logDebug(this.getClass().getSimpleName(), "transformPersistMissingFhirObjects",
-                    "samples to convert: " + samples.size());
-
-            List<String> sampleIds = new ArrayList<>();
-            promises = new ArrayList<>();
-            for (int i = 0; i < samples.size(); ++i) {
-                info.phase = "Batch Transforming";
-                sampleIds.add(samples.get(i).getId());
-                if (i % info.batchSize == info.batchSize - 1 || i + 1 == samples.size()) {
-                    LogEvent.logDebug(this.getClass().getSimpleName(), "",
-                            "persisting batch " + (i - info.batchSize + 1) + "-" + i + " of " + samples.size());
-                    try {
-                        promises.add(fhirTransformService.transformPersistObjectsUnderSamples(sampleIds));
-                        ++info.batches;
-                        sampleIds = new ArrayList<>();
-                        if (info.waitForResults && (promises.size() >= info.threads || i + 1 == samples.size())) {
-                            waitForResults(promises);
-                        }
-                    } catch (FhirPersistanceException e) {
-                        ++info.batchFailure;
-                        LogEvent.logError(e);
-                        LogEvent.logError(this.getClass().getSimpleName(), "transformPersistMissingFhirObjects",
-                                "error persisting batch " + (i - info.batchSize + 1) + "-" + i);
-                    } catch (Exception e) {
-                        ++info.batchFailure;
-                        LogEvent.logError(e);
-                        LogEvent.logError(this.getClass().getSimpleName(), "transformPersistMissingFhirObjects",
-                                "error with batch " + (i - info.batchSize + 1) + "-" + i);
-                    }
-                }
-            }
+            transformInBatches("transformPersistMissingFhirObjects",
+                    batches -> sampleService.forEachSampleId(!info.checkAll, info.batchSize, batches),
+                    fhirTransformService::transformPersistObjectsUnderSamples);
             LogEvent.logDebug(this.getClass().getSimpleName(), "transformPersistMissingFhirObjects",
                     "finished all batches");
             info.phase = "Finished";
@@ -226,6 +123,51 @@ public class FhirTransformationController extends BaseController {
         }
     }
 
+    /**
+     * Transforms the objects whose ids idBatches streams, one batch at a time.
+     * The ids are read from a database cursor rather than loaded up front, so the
+     * cursor stays open while the batches are transformed.
+     */
+    private void transformInBatches(String method, Consumer<Consumer<List<String>>> idBatches,
+            BatchTransform transform) {
+        List<Future<Bundle>> promises = new ArrayList<>();
+        AtomicInteger transformed = new AtomicInteger();
+        idBatches.accept(ids -> {
+            info.phase = "Batch Transforming";
+            int first = transformed.getAndAdd(ids.size());
+            String range = first + "-" + (first + ids.size() - 1);
+            LogEvent.logDebug(this.getClass().getSimpleName(), method, "persisting batch " + range);
+            try {
+                promises.add(transform.apply(ids));
+                ++info.batches;
+                if (info.waitForResults && promises.size() >= info.threads) {
+                    waitForResults(promises);
+                }
+            } catch (FhirPersistanceException e) {
+                ++info.batchFailure;
+                LogEvent.logError(e);
+                LogEvent.logError(this.getClass().getSimpleName(), method, "error persisting batch " + range);
+            } catch (Exception e) {
+                ++info.batchFailure;
+                LogEvent.logError(e);
+                LogEvent.logError(this.getClass().getSimpleName(), method, "error with batch " + range);
+            } finally {
+                if (promises.size() >= info.threads) {
+                    promises.clear();
+                }
+            }
+        });
+        if (info.waitForResults && !promises.isEmpty()) {
+            try {
+                waitForResults(promises);
+            } catch (Exception e) {
+                ++info.batchFailure;
+                LogEvent.logError(e);
+                LogEvent.logError(this.getClass().getSimpleName(), method, "error with last batches");
+            }
+        }
+    }
+
     private void waitForResults(List<Future<Bundle>> promises) throws Exception {
         LogEvent.logDebug(this.getClass().getSimpleName(), "", "waiting for results from "
                 + (promises.size() == 1 ? promises.size() + " thread" : promises.size() + " threads"));
@@ -282,6 +224,10 @@ public class FhirTransformationController extends BaseController {
         info.running = false;
     }
 
+    private interface BatchTransform {
+        Future<Bundle> apply(List<String> ids) throws FhirLocalPersistingException;
+    }
+
     public class TransformationInfo {
         public boolean running;
         public int batches;
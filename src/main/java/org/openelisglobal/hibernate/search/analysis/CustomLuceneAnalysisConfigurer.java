@@ -4,8 +4,36 @@ import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurationC
 import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurer;
 
 public class CustomLuceneAnalysisConfigurer implements LuceneAnalysisConfigurer {
+
+    /**
+     * Indexes every substring of a value up to this length, so a "contains" search
+     * is a single term lookup. Longer search values have to be cut down to this
+     * length and the hits checked against the whole value.
+     *
+     * <p>
+     * A value of n characters yields n(n+1)/2 substrings up to n = 20, and about
+     * 20n - 190 beyond. A 20 character accession number is 210 terms and a 22
+     * character SampleItem external ID 250, so a SampleItem with its ID and its
+     * Sample's accession number indexes around 500 terms, roughly 1.5 KB of index.
+     * Expect about 1.5 GB of index per million SampleItems; the storage location
+     * names and codes are short and few and add little.
+     */
+    public static final int SUBSTRING_MAX_LENGTH = 20;
+
+    public static final String SUBSTRING = "substring";
+
+    public static final String SUBSTRING_QUERY = "substringQuery";
+
     @Override
     public void configure(LuceneAnalysisConfigurationContext context) {
         context.normalizer("lowercase").custom().tokenFilter("lowercase").tokenFilter("asciifolding");
+
+        // identifiers and location names are searched by any part of them (e.g. "21"
+        // finds "DEV01250000000000021-1"), which edge n-grams (prefixes only) can't do
+        context.analyzer(SUBSTRING).custom().tokenizer("keyword").tokenFilter("lowercase").tokenFilter("asciifolding")
+                .tokenFilter("nGram").param("minGramSize", "1")
+                .param("maxGramSize", String.valueOf(SUBSTRING_MAX_LENGTH)).param("preserveOriginal", "true");
+        context.analyzer(SUBSTRING_QUERY).custom().tokenizer("keyword").tokenFilter("lowercase")
+                .tokenFilter("asciifolding");
     }
 }
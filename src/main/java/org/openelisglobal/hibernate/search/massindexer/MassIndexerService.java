@@ -6,6 +6,8 @@ import jakarta.transaction.Transactional;
 import org.hibernate.search.mapper.orm.Search;
 import org.hibernate.search.mapper.orm.massindexing.MassIndexer;
 import org.hibernate.search.mapper.orm.session.SearchSession;
+import org.openelisglobal.storage.service.StorageSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,6 +15,9 @@ public class MassIndexerService {
     @PersistenceContext
     EntityManager entityManager;
 
+    @Autowired
+    private StorageSearchService storageSearchService;
+
     // parameters to allow tuning the MassIndexer for optimal performance
 
     private int idFetchSize = 100;
@@ -27,5 +32,15 @@ public class MassIndexerService {
         MassIndexer indexer = searchSession.massIndexer();
         indexer.idFetchSize(idFetchSize).batchSizeToLoadObjects(batchSizeToLoadObjects)
                 .threadsToLoadObjects(threadsToLoadObjects).startAndWait();
+        storageSearchService.checkIndexes();
+    }
+
+    @Transactional
+    public void reindex(Class<?>... types) throws Exception {
+        SearchSession searchSession = Search.session(entityManager);
+        MassIndexer indexer = searchSession.massIndexer(types);
+        indexer.idFetchSize(idFetchSize).batchSizeToLoadObjects(batchSizeToLoadObjects)
+                .threadsToLoadObjects(threadsToLoadObjects).startAndWait();
+        storageSearchService.checkIndexes();
     }
 }
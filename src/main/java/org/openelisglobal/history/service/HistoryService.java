@@ -3,6 +3,7 @@ package org.openelisglobal.history.service;
 import java.util.List;
 import org.openelisglobal.audittrail.valueholder.History;
 import org.openelisglobal.common.exception.LIMSRuntimeException;
+import org.openelisglobal.common.paging.KeysetPage;
 import org.openelisglobal.common.service.BaseObjectService;
 
 public interface HistoryService extends BaseObjectService<History, String> {
@@ -10,4 +11,9 @@ public interface HistoryService extends BaseObjectService<History, String> {
     List<History> getHistoryByRefIdAndRefTableId(String Id, String Table) throws LIMSRuntimeException;
 
     List<History> getHistoryByRefIdAndRefTableId(History history) throws LIMSRuntimeException;
+
+    /**
+     * @return one page of the changes to a table, newest first
+     */
+    KeysetPage<History> getHistoryPageByRefTableId(String tableId, String cursor, int pageSize);
 }
@@ -3,10 +3,12 @@ package org.openelisglobal.history.service;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import org.openelisglobal.audittrail.dao.HistoryDAO;
 import org.openelisglobal.audittrail.valueholder.History;
 import org.openelisglobal.common.exception.LIMSRuntimeException;
 import org.openelisglobal.common.log.LogEvent;
+import org.openelisglobal.common.paging.KeysetPage;
 import org.openelisglobal.common.service.AuditableBaseObjectServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -14,6 +16,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class HistoryServiceImpl extends AuditableBaseObjectServiceImpl<History, String> implements HistoryService {
+    // id breaks ties between changes made in the same instant
+    private static final List<String> HISTORY_PAGE_KEY = List.of("timestamp", "id");
+
     @Autowired
     protected HistoryDAO baseObjectDAO;
 
@@ -39,6 +44,13 @@ public class HistoryServiceImpl extends AuditableBaseObjectServiceImpl<History,
         return baseObjectDAO.getHistoryByRefIdAndRefTableId(id, table);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<History> getHistoryPageByRefTableId(String tableId, String cursor, int pageSize) {
+        return baseObjectDAO.getMatchingKeysetPage(Map.of("referenceTable", tableId), HISTORY_PAGE_KEY, true, cursor,
+                pageSize);
+    }
+
     @Override
     public String insert(History history) {
         return baseObjectDAO.insert(history);
@@ -0,0 +1,47 @@
+package org.openelisglobal.interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openelisglobal.metricservice.service.MetricsRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Times each request handled by a controller, labelled by the mapping that
+ * matched rather than the URL so ids in paths don't make a series each.
+ */
+@Component
+public class RequestMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String START_NANOS = RequestMetricsInterceptor.class.getName() + ".startNanos";
+
+    private final MetricsRegistry metricsRegistry;
+
+    public RequestMetricsInterceptor(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START_NANOS, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        Object startNanos = request.getAttribute(START_NANOS);
+        if (!(startNanos instanceof Long)) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        int status = ex != null && response.getStatus() < 400 ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR
+                : response.getStatus();
+        metricsRegistry
+                .histogram("http_server_requests_seconds", "Time taken to handle requests",
+                        MetricsRegistry.LATENCY_BUCKETS, "method", request.getMethod(), "uri",
+                        pattern == null ? "UNKNOWN" : pattern.toString(), "status", String.valueOf(status))
+                .observeNanos(System.nanoTime() - (Long) startNanos);
+    }
+}
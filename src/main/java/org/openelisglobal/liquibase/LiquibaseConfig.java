@@ -1,7 +1,9 @@
 package org.openelisglobal.liquibase;
 
+import java.util.Map;
 import javax.sql.DataSource;
 import liquibase.integration.spring.SpringLiquibase;
+import org.openelisglobal.coldstorage.config.FreezerMonitoringProperties;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -16,12 +18,19 @@ public class LiquibaseConfig {
     @Value("${spring.liquibase.contexts:default}")
     private String contexts;
 
+    @Value("${org.openelisglobal.freezermonitoring.rollup.time-zone:}")
+    private String freezerRollupTimeZone;
+
     @Bean("liquibase")
     public SpringLiquibase liquibase() {
         SpringLiquibase liquibase = new SpringLiquibase();
         liquibase.setChangeLog("classpath:liquibase/base-changelog.xml");
         liquibase.setDataSource(dataSource);
         liquibase.setContexts(contexts);
+        // the freezer rollup backfill must bucket in the same zone as
+        // FreezerReadingRollupService rather than the DB session zone
+        liquibase.setChangeLogParameters(Map.of("freezerRollupTimeZone",
+                FreezerMonitoringProperties.resolveRollupZone(freezerRollupTimeZone).getId()));
         return liquibase;
     }
 }
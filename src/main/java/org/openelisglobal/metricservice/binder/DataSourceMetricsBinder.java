@@ -0,0 +1,52 @@
+package org.openelisglobal.metricservice.binder;
+
+import jakarta.annotation.PostConstruct;
+import java.lang.reflect.Method;
+import javax.sql.DataSource;
+import org.openelisglobal.common.log.LogEvent;
+import org.openelisglobal.metricservice.service.MetricsRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Usage of the JDBC connection pool. The pool is Tomcat's DBCP2 pool looked up
+ * through JNDI, whose classes are not on the webapp's class path, so its
+ * counts are read through the getters BasicDataSource makes public. A data
+ * source without them, such as the one of the tests, is left out.
+ */
+@Component
+public class DataSourceMetricsBinder {
+
+    private final MetricsRegistry metricsRegistry;
+    private final DataSource dataSource;
+
+    public DataSourceMetricsBinder(MetricsRegistry metricsRegistry, DataSource dataSource) {
+        this.metricsRegistry = metricsRegistry;
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    public void bind() {
+        gauge("getNumActive", "jdbc_connections_active", "Connections in use");
+        gauge("getNumIdle", "jdbc_connections_idle", "Open connections waiting in the pool");
+        gauge("getMaxTotal", "jdbc_connections_max", "Most connections the pool opens");
+        gauge("getMaxIdle", "jdbc_connections_max_idle", "Most idle connections the pool keeps");
+    }
+
+    private void gauge(String getter, String name, String help) {
+        Method method;
+        try {
+            method = dataSource.getClass().getMethod(getter);
+        } catch (NoSuchMethodException e) {
+            LogEvent.logDebug(this.getClass().getSimpleName(), "bind",
+                    dataSource.getClass().getName() + " has no " + getter + ", leaving out " + name);
+            return;
+        }
+        metricsRegistry.gauge(name, help, () -> {
+            try {
+                return ((Number) method.invoke(dataSource)).doubleValue();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
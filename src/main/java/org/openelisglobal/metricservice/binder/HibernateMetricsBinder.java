@@ -0,0 +1,70 @@
+package org.openelisglobal.metricservice.binder;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.function.ToLongFunction;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openelisglobal.metricservice.service.MetricsRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Session factory wide Hibernate {@link Statistics}. Hibernate only keeps them
+ * once they are enabled, which adds a little work to every session, so they
+ * can be turned off with org.openelisglobal.metrics.hibernateStatistics.
+ */
+@Component
+public class HibernateMetricsBinder {
+
+    private final MetricsRegistry metricsRegistry;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${org.openelisglobal.metrics.hibernateStatistics:true}")
+    private boolean statisticsEnabled;
+
+    public HibernateMetricsBinder(MetricsRegistry metricsRegistry, EntityManagerFactory entityManagerFactory) {
+        this.metricsRegistry = metricsRegistry;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    public void bind() {
+        if (!statisticsEnabled) {
+            return;
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        counter(statistics, "hibernate_sessions_opened_total", "Sessions opened", Statistics::getSessionOpenCount);
+        counter(statistics, "hibernate_transactions_total", "Transactions completed", Statistics::getTransactionCount);
+        counter(statistics, "hibernate_connections_obtained_total", "JDBC connections obtained by sessions",
+                Statistics::getConnectCount);
+        counter(statistics, "hibernate_statements_prepared_total", "JDBC statements prepared",
+                Statistics::getPrepareStatementCount);
+        counter(statistics, "hibernate_flushes_total", "Session flushes", Statistics::getFlushCount);
+        counter(statistics, "hibernate_query_executions_total", "HQL and criteria queries run",
+                Statistics::getQueryExecutionCount);
+        counter(statistics, "hibernate_entities_loaded_total", "Entities loaded", Statistics::getEntityLoadCount);
+        counter(statistics, "hibernate_entities_fetched_total", "Entities fetched with a separate select",
+                Statistics::getEntityFetchCount);
+        counter(statistics, "hibernate_entities_inserted_total", "Entities inserted", Statistics::getEntityInsertCount);
+        counter(statistics, "hibernate_entities_updated_total", "Entities updated", Statistics::getEntityUpdateCount);
+        counter(statistics, "hibernate_collections_loaded_total", "Collections loaded",
+                Statistics::getCollectionLoadCount);
+        counter(statistics, "hibernate_collections_fetched_total", "Collections fetched with a separate select",
+                Statistics::getCollectionFetchCount);
+        counter(statistics, "hibernate_second_level_cache_hits_total", "Second level cache hits",
+                Statistics::getSecondLevelCacheHitCount);
+        counter(statistics, "hibernate_second_level_cache_misses_total", "Second level cache misses",
+                Statistics::getSecondLevelCacheMissCount);
+        counter(statistics, "hibernate_optimistic_failures_total", "Optimistic lock failures",
+                Statistics::getOptimisticFailureCount);
+        metricsRegistry.gauge("hibernate_query_execution_max_seconds", "Slowest query run since startup",
+                () -> statistics.getQueryExecutionMaxTime() / 1000.0);
+    }
+
+    private void counter(Statistics statistics, String name, String help, ToLongFunction<Statistics> count) {
+        metricsRegistry.counter(name, help, () -> count.applyAsLong(statistics));
+    }
+}
@@ -0,0 +1,64 @@
+package org.openelisglobal.metricservice.binder;
+
+import jakarta.annotation.PostConstruct;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.RuntimeMXBean;
+import java.lang.management.ThreadMXBean;
+import org.openelisglobal.metricservice.service.MetricsRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Memory per pool, garbage collection, threads and classes of the JVM. Pools
+ * are taken from the running JVM, so there is no "Perm Gen" on Java 8 and
+ * later but "Metaspace" and the pools of the collector in use.
+ */
+@Component
+public class JvmMetricsBinder {
+
+    private final MetricsRegistry metricsRegistry;
+
+    public JvmMetricsBinder(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @PostConstruct
+    public void bind() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            String area = pool.getType() == MemoryType.HEAP ? "heap" : "nonheap";
+            metricsRegistry.gauge("jvm_memory_used_bytes", "Memory used in the pool", () -> pool.getUsage().getUsed(),
+                    "area", area, "pool", pool.getName());
+            metricsRegistry.gauge("jvm_memory_committed_bytes", "Memory committed to the pool",
+                    () -> pool.getUsage().getCommitted(), "area", area, "pool", pool.getName());
+            // -1 when the pool has no maximum
+            metricsRegistry.gauge("jvm_memory_max_bytes", "Most memory the pool can use, -1 when unbounded",
+                    () -> pool.getUsage().getMax(), "area", area, "pool", pool.getName());
+        }
+
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            metricsRegistry.counter("jvm_gc_collections_total", "Collections run by the collector",
+                    collector::getCollectionCount, "gc", collector.getName());
+            metricsRegistry.counter("jvm_gc_collection_seconds_total", "Time spent in collections by the collector",
+                    () -> collector.getCollectionTime() / 1000.0, "gc", collector.getName());
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        metricsRegistry.gauge("jvm_threads_live", "Live threads", threads::getThreadCount);
+        metricsRegistry.gauge("jvm_threads_daemon", "Live daemon threads", threads::getDaemonThreadCount);
+        metricsRegistry.gauge("jvm_threads_peak", "Most live threads since startup", threads::getPeakThreadCount);
+
+        ClassLoadingMXBean classes = ManagementFactory.getClassLoadingMXBean();
+        metricsRegistry.gauge("jvm_classes_loaded", "Classes currently loaded", classes::getLoadedClassCount);
+
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        metricsRegistry.gauge("process_uptime_seconds", "Time since the JVM started",
+                () -> runtime.getUptime() / 1000.0);
+        metricsRegistry.gauge("process_start_time_seconds", "Time the JVM started, in seconds since the epoch",
+                () -> runtime.getStartTime() / 1000.0);
+        metricsRegistry.gauge("process_available_processors", "Processors available to the JVM",
+                () -> Runtime.getRuntime().availableProcessors());
+    }
+}
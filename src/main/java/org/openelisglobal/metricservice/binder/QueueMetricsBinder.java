@@ -0,0 +1,70 @@
+package org.openelisglobal.metricservice.binder;
+
+import jakarta.annotation.PostConstruct;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.openelisglobal.metricservice.service.MetricsRegistry;
+import org.openelisglobal.notification.service.NotificationOutboxService;
+import org.openelisglobal.notification.service.sender.SMPPNotificationSender;
+import org.openelisglobal.notification.valueholder.NotificationOutboxEntry.Channel;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Work waiting in the application's queues: the pool running the scheduled
+ * jobs and the notification outbox, with the SMPP submits it makes.
+ */
+@Component
+public class QueueMetricsBinder {
+
+    private final MetricsRegistry metricsRegistry;
+    private final Executor schedulerExecutor;
+    private final SMPPNotificationSender smppNotificationSender;
+    private final NotificationOutboxService notificationOutboxService;
+
+    public QueueMetricsBinder(MetricsRegistry metricsRegistry, @Qualifier("taskExecutor") Executor schedulerExecutor,
+            SMPPNotificationSender smppNotificationSender, NotificationOutboxService notificationOutboxService) {
+        this.metricsRegistry = metricsRegistry;
+        this.schedulerExecutor = schedulerExecutor;
+        this.smppNotificationSender = smppNotificationSender;
+        this.notificationOutboxService = notificationOutboxService;
+    }
+
+    @PostConstruct
+    public void bind() {
+        if (schedulerExecutor instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) schedulerExecutor;
+            metricsRegistry.gauge("executor_active_threads", "Threads running a task", pool::getActiveCount,
+                    "executor", "scheduler");
+            metricsRegistry.gauge("executor_pool_size_threads", "Threads in the pool", pool::getPoolSize, "executor",
+                    "scheduler");
+            // scheduled jobs wait in the queue between runs, so this is at least the
+            // number of jobs
+            metricsRegistry.gauge("executor_queued_tasks", "Tasks waiting in the queue", () -> pool.getQueue().size(),
+                    "executor", "scheduler");
+            metricsRegistry.counter("executor_completed_tasks_total", "Tasks completed", pool::getCompletedTaskCount,
+                    "executor", "scheduler");
+        }
+
+        metricsRegistry.gauge("executor_active_threads", "Threads running a task", smppNotificationSender::getInFlight,
+                "executor", "smpp");
+        metricsRegistry.counter("notification_sms_submitted_total", "SMS accepted by the SMSC",
+                smppNotificationSender::getSubmitted);
+        metricsRegistry.counter("notification_sms_failed_total", "SMS submits that failed",
+                smppNotificationSender::getFailed);
+
+        for (Channel channel : Channel.values()) {
+            String name = channel.name().toLowerCase();
+            // counts the pending entries of every channel, the outbox is small when it
+            // is keeping up
+            metricsRegistry.gauge("notification_outbox_pending", "Outbox entries waiting to be sent",
+                    () -> notificationOutboxService.getQueueDepths().getOrDefault(channel, 0L), "channel", name);
+            metricsRegistry.counter("notification_outbox_sent_total", "Outbox entries sent since startup",
+                    () -> notificationOutboxService.getSent(channel), "channel", name);
+            metricsRegistry.counter("notification_outbox_failed_total", "Failed send attempts since startup",
+                    () -> notificationOutboxService.getFailed(channel), "channel", name);
+        }
+        metricsRegistry.gauge("notification_outbox_dead", "Outbox entries given up on",
+                notificationOutboxService::getDeadCount);
+    }
+}
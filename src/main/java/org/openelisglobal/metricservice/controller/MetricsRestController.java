@@ -0,0 +1,57 @@
+package org.openelisglobal.metricservice.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
+import java.util.Map;
+import org.openelisglobal.common.constants.Constants;
+import org.openelisglobal.common.rest.BaseRestController;
+import org.openelisglobal.metricservice.service.MetricsRegistry;
+import org.openelisglobal.userrole.service.UserRoleService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Runtime metrics for monitoring, for Global Administrators. Prometheus can
+ * scrape {@code /rest/metrics} with http basic authentication as a Global
+ * Administrator; the same metrics are available as JSON at
+ * {@code /rest/metrics/json}.
+ */
+@RestController
+@RequestMapping("/rest/metrics")
+public class MetricsRestController extends BaseRestController {
+
+    private static final String PROMETHEUS_TEXT = "text/plain;version=0.0.4;charset=utf-8";
+
+    private final MetricsRegistry metricsRegistry;
+    private final UserRoleService userRoleService;
+
+    public MetricsRestController(MetricsRegistry metricsRegistry, UserRoleService userRoleService) {
+        this.metricsRegistry = metricsRegistry;
+        this.userRoleService = userRoleService;
+    }
+
+    @GetMapping(produces = PROMETHEUS_TEXT)
+    public ResponseEntity<String> scrape(HttpServletRequest request) {
+        if (!isGlobalAdmin(request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(metricsRegistry.scrape());
+    }
+
+    @GetMapping(value = "/json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<Map<String, Object>>> getMetrics(HttpServletRequest request) {
+        if (!isGlobalAdmin(request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(metricsRegistry.toJson());
+    }
+
+    private boolean isGlobalAdmin(HttpServletRequest request) {
+        String sysUserId = getSysUserId(request);
+        return sysUserId != null && userRoleService.userInRole(sysUserId, Constants.ROLE_GLOBAL_ADMIN);
+    }
+}
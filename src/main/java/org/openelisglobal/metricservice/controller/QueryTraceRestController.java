@@ -0,0 +1,56 @@
+package org.openelisglobal.metricservice.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
+import org.openelisglobal.common.constants.Constants;
+import org.openelisglobal.common.rest.BaseRestController;
+import org.openelisglobal.metricservice.querytrace.QueryTraceRecorder;
+import org.openelisglobal.metricservice.querytrace.QueryTraceRecorder.Stats;
+import org.openelisglobal.userrole.service.UserRoleService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Statements, database time and entity loads per endpoint and scheduled job
+ * since startup or the last reset, for Global Administrators. An endpoint with
+ * a high mean of statements is worth looking for an N+1 select in; its SQL is
+ * in the log when it goes over the thresholds.
+ */
+@RestController
+@RequestMapping("/rest/querytrace")
+public class QueryTraceRestController extends BaseRestController {
+
+    private final QueryTraceRecorder queryTraceRecorder;
+    private final UserRoleService userRoleService;
+
+    public QueryTraceRestController(QueryTraceRecorder queryTraceRecorder, UserRoleService userRoleService) {
+        this.queryTraceRecorder = queryTraceRecorder;
+        this.userRoleService = userRoleService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<Stats>> getStats(HttpServletRequest request) {
+        if (!isGlobalAdmin(request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(queryTraceRecorder.getStats());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> reset(HttpServletRequest request) {
+        if (!isGlobalAdmin(request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        queryTraceRecorder.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    private boolean isGlobalAdmin(HttpServletRequest request) {
+        String sysUserId = getSysUserId(request);
+        return sysUserId != null && userRoleService.userInRole(sysUserId, Constants.ROLE_GLOBAL_ADMIN);
+    }
+}
@@ -0,0 +1,92 @@
+package org.openelisglobal.metricservice.querytrace;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * The database work of one HTTP request or one run of a scheduled job: the
+ * statements it executed, the time they took, the entities it loaded and how
+ * often each shape of SQL was prepared. A trace belongs to the thread running
+ * the request or job, see {@link QueryTraceContext}.
+ */
+public class QueryTrace {
+
+    // a request preparing more distinct statements than this is reported by count
+    // alone past it
+    private static final int MAX_SHAPES = 200;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final long startNanos = System.nanoTime();
+    private long elapsedNanos = -1;
+    private int statements;
+    private long databaseNanos;
+    private int entityLoads;
+    private final Map<String, Integer> shapes = new HashMap<>();
+
+    /**
+     * Reduces SQL to its shape, so the same statement with other literals or
+     * another number of IN parameters counts as a repeat.
+     */
+    public static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    void statementPrepared(String sql) {
+        String shape = shapeOf(sql);
+        if (shapes.size() < MAX_SHAPES || shapes.containsKey(shape)) {
+            shapes.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    void statementExecuted(long nanos) {
+        statements++;
+        databaseNanos += nanos;
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    void finish() {
+        if (elapsedNanos < 0) {
+            elapsedNanos = System.nanoTime() - startNanos;
+        }
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos < 0 ? System.nanoTime() - startNanos : elapsedNanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getDatabaseNanos() {
+        return databaseNanos;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    /**
+     * @return the shapes of SQL prepared more than once, most repeated first, with
+     *         how often each was prepared
+     */
+    public List<Map.Entry<String, Integer>> getRepeatedShapes(int limit) {
+        return shapes.entrySet().stream().filter(shape -> shape.getValue() > 1)
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())).limit(limit)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,41 @@
+package org.openelisglobal.metricservice.querytrace;
+
+/**
+ * Holds the trace of the request or job the current thread is running, for
+ * the Hibernate hooks to add to. Hibernate creates the hooks itself, so they
+ * can't be given a bean to report to.
+ */
+public final class QueryTraceContext {
+
+    private static final ThreadLocal<QueryTrace> CURRENT = new ThreadLocal<>();
+
+    private QueryTraceContext() {
+    }
+
+    /**
+     * Starts a trace on this thread.
+     *
+     * @return the new trace, or null when the thread is already tracing, in which
+     *         case the work is added to the trace that is running
+     */
+    public static QueryTrace begin() {
+        if (CURRENT.get() != null) {
+            return null;
+        }
+        QueryTrace trace = new QueryTrace();
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /** Ends the trace if it is the one running on this thread. */
+    public static void end(QueryTrace trace) {
+        if (trace != null && CURRENT.get() == trace) {
+            trace.finish();
+            CURRENT.remove();
+        }
+    }
+
+    static QueryTrace current() {
+        return CURRENT.get();
+    }
+}
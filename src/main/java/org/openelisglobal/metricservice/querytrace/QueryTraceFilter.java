@@ -0,0 +1,46 @@
+package org.openelisglobal.metricservice.querytrace;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletMapping;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Traces the database work of every request, to all servlets. Requests are
+ * named by the controller mapping that handled them, or by the servlet mapping
+ * for the other servlets, so ids in paths don't make an endpoint each.
+ */
+@Component("queryTraceFilter")
+public class QueryTraceFilter extends OncePerRequestFilter {
+
+    private final QueryTraceRecorder queryTraceRecorder;
+
+    public QueryTraceFilter(QueryTraceRecorder queryTraceRecorder) {
+        this.queryTraceRecorder = queryTraceRecorder;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryTrace trace = queryTraceRecorder.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            queryTraceRecorder.end(trace, request.getMethod() + " " + endpointOf(request));
+        }
+    }
+
+    private static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return pattern.toString();
+        }
+        HttpServletMapping mapping = request.getHttpServletMapping();
+        return mapping == null || mapping.getPattern().isEmpty() ? "UNKNOWN" : mapping.getPattern();
+    }
+}
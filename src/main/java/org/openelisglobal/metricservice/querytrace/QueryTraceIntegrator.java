@@ -0,0 +1,38 @@
+package org.openelisglobal.metricservice.querytrace;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/** Counts the entities loaded, which the session events don't report. */
+public class QueryTraceIntegrator implements Integrator {
+
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+            SessionFactoryServiceRegistry serviceRegistry) {
+        serviceRegistry.getService(EventListenerRegistry.class).appendListeners(EventType.POST_LOAD,
+                new EntityLoadCounter());
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    private static class EntityLoadCounter implements PostLoadEventListener {
+
+        private static final long serialVersionUID = 8126950317706462125L;
+
+        @Override
+        public void onPostLoad(PostLoadEvent event) {
+            QueryTrace trace = QueryTraceContext.current();
+            if (trace != null) {
+                trace.entityLoaded();
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package org.openelisglobal.metricservice.querytrace;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import org.openelisglobal.common.log.LogEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds up the finished traces per endpoint and per scheduled job, and logs the
+ * requests and jobs that crossed one of the thresholds with the SQL they
+ * repeated most, which is usually an N+1 select.
+ */
+@Component
+public class QueryTraceRecorder {
+
+    // longest SQL shape written to the log
+    private static final int MAX_LOGGED_SQL = 300;
+
+    @Value("${org.openelisglobal.querytrace.enabled:true}")
+    private boolean enabled;
+
+    @Value("${org.openelisglobal.querytrace.slowMillis:3000}")
+    private long slowMillis;
+
+    @Value("${org.openelisglobal.querytrace.maxStatements:200}")
+    private int maxStatements;
+
+    @Value("${org.openelisglobal.querytrace.maxDatabaseMillis:1000}")
+    private long maxDatabaseMillis;
+
+    @Value("${org.openelisglobal.querytrace.loggedStatements:5}")
+    private int loggedStatements;
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * @return the trace begun on this thread, or null when tracing is off or the
+     *         thread is already tracing
+     */
+    public QueryTrace begin() {
+        return enabled ? QueryTraceContext.begin() : null;
+    }
+
+    /**
+     * Ends the trace, adds it to the totals of the endpoint or job and logs it if
+     * it is over a threshold.
+     *
+     * @param name the endpoint, e.g. "GET /rest/patient-search", or the job
+     */
+    public void end(QueryTrace trace, String name) {
+        if (trace == null) {
+            return;
+        }
+        QueryTraceContext.end(trace);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(trace.getElapsedNanos());
+        long databaseMillis = TimeUnit.NANOSECONDS.toMillis(trace.getDatabaseNanos());
+        boolean overThreshold = elapsedMillis > slowMillis || trace.getStatements() > maxStatements
+                || databaseMillis > maxDatabaseMillis;
+
+        stats.computeIfAbsent(name, Stats::new).add(trace, overThreshold);
+        if (overThreshold) {
+            LogEvent.logWarn(this.getClass().getSimpleName(), "end", describe(trace, name));
+        }
+    }
+
+    String describe(QueryTrace trace, String name) {
+        StringBuilder message = new StringBuilder(name).append(" took ")
+                .append(TimeUnit.NANOSECONDS.toMillis(trace.getElapsedNanos())).append(" ms with ")
+                .append(trace.getStatements()).append(" statements (")
+                .append(TimeUnit.NANOSECONDS.toMillis(trace.getDatabaseNanos())).append(" ms in the database) and ")
+                .append(trace.getEntityLoads()).append(" entities loaded");
+        List<Map.Entry<String, Integer>> repeated = trace.getRepeatedShapes(loggedStatements);
+        if (!repeated.isEmpty()) {
+            message.append("; most repeated SQL:");
+            for (Map.Entry<String, Integer> shape : repeated) {
+                String sql = shape.getKey();
+                message.append("\n  ").append(shape.getValue()).append("x ")
+                        .append(sql.length() > MAX_LOGGED_SQL ? sql.substring(0, MAX_LOGGED_SQL) + "..." : sql);
+            }
+        }
+        return message.toString();
+    }
+
+    /** @return the totals per endpoint and job, most statements first */
+    public List<Stats> getStats() {
+        return stats.values().stream().sorted(Comparator.comparingLong(Stats::getStatements).reversed())
+                .collect(Collectors.toList());
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    public static class Stats {
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder overThreshold = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder entityLoads = new LongAdder();
+        private final LongAdder elapsedNanos = new LongAdder();
+        private final LongAdder databaseNanos = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+
+        private Stats(String name) {
+            this.name = name;
+        }
+
+        private void add(QueryTrace trace, boolean over) {
+            count.increment();
+            if (over) {
+                overThreshold.increment();
+            }
+            statements.add(trace.getStatements());
+            entityLoads.add(trace.getEntityLoads());
+            elapsedNanos.add(trace.getElapsedNanos());
+            databaseNanos.add(trace.getDatabaseNanos());
+            maxStatements.accumulateAndGet(trace.getStatements(), Math::max);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getOverThreshold() {
+            return overThreshold.sum();
+        }
+
+        public long getStatements() {
+            return statements.sum();
+        }
+
+        public long getMaxStatements() {
+            return maxStatements.get();
+        }
+
+        public double getMeanStatements() {
+            long runs = getCount();
+            return runs == 0 ? 0 : (double) getStatements() / runs;
+        }
+
+        public long getEntityLoads() {
+            return entityLoads.sum();
+        }
+
+        public long getElapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(elapsedNanos.sum());
+        }
+
+        public long getDatabaseMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(databaseNanos.sum());
+        }
+    }
+}
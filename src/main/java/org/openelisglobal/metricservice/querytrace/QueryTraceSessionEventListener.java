@@ -0,0 +1,41 @@
+package org.openelisglobal.metricservice.querytrace;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Times the statements and batches a session executes. Hibernate creates one
+ * for each session, and a session is used by one thread at a time.
+ */
+public class QueryTraceSessionEventListener extends BaseSessionEventListener {
+
+    private static final long serialVersionUID = -3760178512203388470L;
+
+    private long executeStartNanos;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executed();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executeStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executed();
+    }
+
+    private void executed() {
+        QueryTrace trace = QueryTraceContext.current();
+        if (trace != null) {
+            trace.statementExecuted(System.nanoTime() - executeStartNanos);
+        }
+    }
+}
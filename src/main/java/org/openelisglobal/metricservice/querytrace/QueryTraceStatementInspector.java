@@ -0,0 +1,21 @@
+package org.openelisglobal.metricservice.querytrace;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Sees every statement Hibernate prepares, to count repeats of the same SQL.
+ * The SQL is returned unchanged.
+ */
+public class QueryTraceStatementInspector implements StatementInspector {
+
+    private static final long serialVersionUID = 2954611470236374921L;
+
+    @Override
+    public String inspect(String sql) {
+        QueryTrace trace = QueryTraceContext.current();
+        if (trace != null) {
+            trace.statementPrepared(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,35 @@
+package org.openelisglobal.metricservice.service;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the analyzer messages and files received, by how they arrived and
+ * what became of them, to show analyzer ingestion rates.
+ */
+@Component
+public class AnalyzerMessageMetrics {
+
+    public enum Source {
+        UPLOAD, ASTM, HL7, FILE
+    }
+
+    public enum Outcome {
+        // stored
+        SUCCESS,
+        // could not be read
+        REJECTED,
+        // read but could not be stored
+        FAILED
+    }
+
+    private final MetricsRegistry metricsRegistry;
+
+    public AnalyzerMessageMetrics(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    public void received(Source source, Outcome outcome) {
+        metricsRegistry.counter("analyzer_messages_total", "Analyzer messages and files received", "source",
+                source.name().toLowerCase(), "outcome", outcome.name().toLowerCase()).increment();
+    }
+}
@@ -0,0 +1,339 @@
+package org.openelisglobal.metricservice.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import org.openelisglobal.common.log.LogEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the application's counters, gauges and histograms and writes them out
+ * in the Prometheus text exposition format (version 0.0.4) or as JSON. Metrics
+ * are looked up by name and label values, so callers can fetch the same
+ * counter again instead of keeping it, as long as they pass the same help and
+ * the label keys in the same order.
+ */
+@Component
+public class MetricsRegistry {
+
+    /** Bucket upper bounds in seconds for request and job durations */
+    public static final double[] LATENCY_BUCKETS = { 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30,
+            60, 300 };
+
+    public enum Type {
+        COUNTER, GAUGE, HISTOGRAM
+    }
+
+    private final Map<String, Family> families = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param labels label keys and values in pairs, e.g. "method", "GET"
+     */
+    public Counter counter(String name, String help, String... labels) {
+        return (Counter) family(name, help, Type.COUNTER).children.computeIfAbsent(new Labels(labels),
+                key -> new Counter());
+    }
+
+    /**
+     * Registers a counter read from elsewhere when scraped, e.g. a count kept by
+     * the JVM or Hibernate. Registering it again replaces the supplier.
+     */
+    public void counter(String name, String help, DoubleSupplier value, String... labels) {
+        family(name, help, Type.COUNTER).children.put(new Labels(labels), new Gauge(value));
+    }
+
+    /**
+     * Registers a value read when scraped. Registering it again replaces the
+     * supplier. Values that can't be read, or are NaN, are left out of the scrape.
+     */
+    public void gauge(String name, String help, DoubleSupplier value, String... labels) {
+        family(name, help, Type.GAUGE).children.put(new Labels(labels), new Gauge(value));
+    }
+
+    /**
+     * @param buckets bucket upper bounds in ascending order, the +Inf bucket is
+     *                added
+     */
+    public Histogram histogram(String name, String help, double[] buckets, String... labels) {
+        return (Histogram) family(name, help, Type.HISTOGRAM).children.computeIfAbsent(new Labels(labels),
+                key -> new Histogram(buckets));
+    }
+
+    private Family family(String name, String help, Type type) {
+        Family family = families.computeIfAbsent(name, key -> new Family(name, help, type));
+        if (family.type != type) {
+            throw new IllegalArgumentException("metric " + name + " is already registered as a " + family.type);
+        }
+        return family;
+    }
+
+    public String scrape() {
+        StringBuilder out = new StringBuilder();
+        for (Family family : families.values()) {
+            out.append("# HELP ").append(family.name).append(' ').append(escapeHelp(family.help)).append('\n');
+            out.append("# TYPE ").append(family.name).append(' ').append(family.type.name().toLowerCase())
+                    .append('\n');
+            for (Map.Entry<Labels, Metric> child : family.children.entrySet()) {
+                child.getValue().write(family.name, child.getKey(), out);
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * @return each metric with its name, help, type and samples, each sample with
+     *         its labels and value (counters and gauges) or count, sum and
+     *         cumulative bucket counts (histograms)
+     */
+    public List<Map<String, Object>> toJson() {
+        List<Map<String, Object>> metrics = new ArrayList<>();
+        for (Family family : families.values()) {
+            List<Map<String, Object>> samples = new ArrayList<>();
+            for (Map.Entry<Labels, Metric> child : family.children.entrySet()) {
+                Map<String, Object> sample = child.getValue().toJson();
+                if (sample != null) {
+                    sample.put("labels", child.getKey().asMap());
+                    samples.add(sample);
+                }
+            }
+            Map<String, Object> metric = new LinkedHashMap<>();
+            metric.put("name", family.name);
+            metric.put("help", family.help);
+            metric.put("type", family.type.name().toLowerCase());
+            metric.put("samples", samples);
+            metrics.add(metric);
+        }
+        return metrics;
+    }
+
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private static String format(double value) {
+        if (value == Double.POSITIVE_INFINITY) {
+            return "+Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return String.valueOf((long) value);
+        }
+        return String.valueOf(value);
+    }
+
+    private static final class Family {
+        private final String name;
+        private final String help;
+        private final Type type;
+        private final Map<Labels, Metric> children = new ConcurrentHashMap<>();
+
+        private Family(String name, String help, Type type) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+        }
+    }
+
+    private static final class Labels {
+        private final String[] pairs;
+        private final String rendered;
+
+        private Labels(String... pairs) {
+            if (pairs.length % 2 != 0) {
+                throw new IllegalArgumentException("labels must be given as key and value pairs");
+            }
+            this.pairs = pairs;
+            StringBuilder out = new StringBuilder();
+            for (int i = 0; i < pairs.length; i += 2) {
+                out.append(i == 0 ? "" : ",").append(pairs[i]).append("=\"").append(escapeValue(pairs[i + 1]))
+                        .append('"');
+            }
+            rendered = out.toString();
+        }
+
+        private static String escapeValue(String value) {
+            return String.valueOf(value).replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        }
+
+        private String with(String key, String value) {
+            return "{" + rendered + (rendered.isEmpty() ? "" : ",") + key + "=\"" + value + "\"}";
+        }
+
+        private String braced() {
+            return rendered.isEmpty() ? "" : "{" + rendered + "}";
+        }
+
+        private Map<String, String> asMap() {
+            Map<String, String> map = new LinkedHashMap<>();
+            for (int i = 0; i < pairs.length; i += 2) {
+                map.put(pairs[i], pairs[i + 1]);
+            }
+            return map;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Labels && rendered.equals(((Labels) other).rendered);
+        }
+
+        @Override
+        public int hashCode() {
+            return rendered.hashCode();
+        }
+    }
+
+    private interface Metric {
+        void write(String name, Labels labels, StringBuilder out);
+
+        /** @return null when there is nothing to show */
+        Map<String, Object> toJson();
+    }
+
+    public static final class Counter implements Metric {
+        private final LongAdder count = new LongAdder();
+
+        public void increment() {
+            count.increment();
+        }
+
+        public void increment(long amount) {
+            count.add(amount);
+        }
+
+        public long get() {
+            return count.sum();
+        }
+
+        @Override
+        public void write(String name, Labels labels, StringBuilder out) {
+            out.append(name).append(labels.braced()).append(' ').append(get()).append('\n');
+        }
+
+        @Override
+        public Map<String, Object> toJson() {
+            Map<String, Object> sample = new LinkedHashMap<>();
+            sample.put("value", get());
+            return sample;
+        }
+    }
+
+    private static final class Gauge implements Metric {
+        private final DoubleSupplier value;
+
+        private Gauge(DoubleSupplier value) {
+            this.value = value;
+        }
+
+        private double read() {
+            try {
+                return value.getAsDouble();
+            } catch (RuntimeException e) {
+                LogEvent.logDebug(MetricsRegistry.class.getSimpleName(), "scrape",
+                        "could not read metric: " + e.getMessage());
+                return Double.NaN;
+            }
+        }
+
+        @Override
+        public void write(String name, Labels labels, StringBuilder out) {
+            double current = read();
+            if (!Double.isNaN(current)) {
+                out.append(name).append(labels.braced()).append(' ').append(format(current)).append('\n');
+            }
+        }
+
+        @Override
+        public Map<String, Object> toJson() {
+            double current = read();
+            if (Double.isNaN(current)) {
+                return null;
+            }
+            Map<String, Object> sample = new LinkedHashMap<>();
+            sample.put("value", current);
+            return sample;
+        }
+    }
+
+    public static final class Histogram implements Metric {
+        private final double[] bounds;
+        // per bucket, not cumulative; the last one is +Inf
+        private final LongAdder[] buckets;
+        private final DoubleAdder sum = new DoubleAdder();
+
+        private Histogram(double[] bounds) {
+            this.bounds = bounds.clone();
+            buckets = new LongAdder[bounds.length + 1];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        public void observe(double value) {
+            int bucket = 0;
+            while (bucket < bounds.length && value > bounds[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+            sum.add(value);
+        }
+
+        public void observeNanos(long nanos) {
+            observe(nanos / 1e9);
+        }
+
+        public long getCount() {
+            long count = 0;
+            for (LongAdder bucket : buckets) {
+                count += bucket.sum();
+            }
+            return count;
+        }
+
+        public double getSum() {
+            return sum.sum();
+        }
+
+        private long[] cumulative() {
+            long[] counts = new long[buckets.length];
+            long running = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                running += buckets[i].sum();
+                counts[i] = running;
+            }
+            return counts;
+        }
+
+        @Override
+        public void write(String name, Labels labels, StringBuilder out) {
+            long[] counts = cumulative();
+            for (int i = 0; i < counts.length; i++) {
+                String bound = i < bounds.length ? format(bounds[i]) : "+Inf";
+                out.append(name).append("_bucket").append(labels.with("le", bound)).append(' ').append(counts[i])
+                        .append('\n');
+            }
+            out.append(name).append("_sum").append(labels.braced()).append(' ').append(format(getSum()))
+                    .append('\n');
+            out.append(name).append("_count").append(labels.braced()).append(' ').append(counts[counts.length - 1])
+                    .append('\n');
+        }
+
+        @Override
+        public Map<String, Object> toJson() {
+            long[] counts = cumulative();
+            Map<String, Long> bucketCounts = new LinkedHashMap<>();
+            for (int i = 0; i < counts.length; i++) {
+                bucketCounts.put(i < bounds.length ? format(bounds[i]) : "+Inf", counts[i]);
+            }
+            Map<String, Object> sample = new LinkedHashMap<>();
+            sample.put("count", counts[counts.length - 1]);
+            sample.put("sum", getSum());
+            sample.put("buckets", bucketCounts);
+            return sample;
+        }
+    }
+}
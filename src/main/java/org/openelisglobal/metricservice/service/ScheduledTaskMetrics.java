@@ -0,0 +1,98 @@
+package org.openelisglobal.metricservice.service;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openelisglobal.metricservice.querytrace.QueryTrace;
+import org.openelisglobal.metricservice.querytrace.QueryTraceRecorder;
+import org.springframework.scheduling.support.ScheduledTaskObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every run of the {@code @Scheduled} methods, such as the analyzer file
+ * import, the Modbus freezer polling, the FHIR task polling and the result
+ * export, and traces the database work of each run. Spring reports each run
+ * to the observation registry set on the task registrar, see
+ * {@link #observationRegistry()}.
+ */
+@Component
+public class ScheduledTaskMetrics implements ObservationHandler<ScheduledTaskObservationContext> {
+
+    private static final String START_NANOS = ScheduledTaskMetrics.class.getName() + ".startNanos";
+    private static final String QUERY_TRACE = ScheduledTaskMetrics.class.getName() + ".queryTrace";
+
+    private final MetricsRegistry metricsRegistry;
+    private final QueryTraceRecorder queryTraceRecorder;
+    private final Map<String, TaskState> tasks = new ConcurrentHashMap<>();
+
+    public ScheduledTaskMetrics(MetricsRegistry metricsRegistry, QueryTraceRecorder queryTraceRecorder) {
+        this.metricsRegistry = metricsRegistry;
+        this.queryTraceRecorder = queryTraceRecorder;
+    }
+
+    /** @return a registry reporting the runs to these metrics only */
+    public ObservationRegistry observationRegistry() {
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(this);
+        return observationRegistry;
+    }
+
+    @Override
+    public void onStart(ScheduledTaskObservationContext context) {
+        context.put(START_NANOS, System.nanoTime());
+        task(taskName(context)).running.incrementAndGet();
+        QueryTrace trace = queryTraceRecorder.begin();
+        if (trace != null) {
+            context.put(QUERY_TRACE, trace);
+        }
+    }
+
+    @Override
+    public void onStop(ScheduledTaskObservationContext context) {
+        Long startNanos = context.get(START_NANOS);
+        if (startNanos == null) {
+            return;
+        }
+        String name = taskName(context);
+        queryTraceRecorder.end(context.get(QUERY_TRACE), "@Scheduled " + name);
+        TaskState task = task(name);
+        task.running.decrementAndGet();
+        task.lastEndMillis.set(System.currentTimeMillis());
+        metricsRegistry
+                .histogram("scheduled_task_duration_seconds", "Time a run of the scheduled task took",
+                        MetricsRegistry.LATENCY_BUCKETS, "task", name, "outcome",
+                        context.getError() == null ? "success" : "error")
+                .observeNanos(System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof ScheduledTaskObservationContext;
+    }
+
+    private TaskState task(String name) {
+        return tasks.computeIfAbsent(name, key -> {
+            TaskState task = new TaskState();
+            metricsRegistry.gauge("scheduled_task_running", "Runs of the scheduled task in progress",
+                    task.running::get, "task", key);
+            metricsRegistry.gauge("scheduled_task_last_run_timestamp_seconds",
+                    "Time the last run of the scheduled task ended, in seconds since the epoch",
+                    () -> task.lastEndMillis.get() == 0 ? Double.NaN : task.lastEndMillis.get() / 1000.0, "task",
+                    key);
+            return task;
+        });
+    }
+
+    private static String taskName(ScheduledTaskObservationContext context) {
+        return context.getTargetClass().getSimpleName() + "." + context.getMethod().getName();
+    }
+
+    private static final class TaskState {
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicLong lastEndMillis = new AtomicLong();
+    }
+}
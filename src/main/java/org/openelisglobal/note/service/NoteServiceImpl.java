@@ -6,8 +6,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.apache.commons.validator.GenericValidator;
 import org.openelisglobal.analysis.service.AnalysisServiceImpl;
 import org.openelisglobal.analysis.valueholder.Analysis;
@@ -134,6 +136,108 @@ public class NoteServiceImpl extends AuditableBaseObjectServiceImpl<Note, String
                 context);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Map<String, String> getNotesAsStringForAnalyses(List<Analysis> analyses, boolean prefixType,
+            boolean prefixTimestamp, String noteSeparator, NoteType[] filter, boolean excludeExternPrefix) {
+        Map<String, String> notesByAnalysisId = new HashMap<>();
+        if (analyses.isEmpty()) {
+            return notesByAnalysisId;
+        }
+
+        boolean includeNoneConformity = false;
+        List<String> dbFilter = new ArrayList<>(filter.length);
+        for (NoteType type : filter) {
+            if (type == NoteType.NON_CONFORMITY) {
+                includeNoneConformity = true;
+            }
+
+            dbFilter.add(type.getDBCode());
+        }
+
+        Set<String> analysisIds = new LinkedHashSet<>();
+        Set<String> sampleItemIds = new LinkedHashSet<>();
+        Set<String> sampleIds = new LinkedHashSet<>();
+        for (Analysis analysis : analyses) {
+            analysisIds.add(analysis.getId());
+            sampleItemIds.add(analysis.getSampleItem().getId());
+            sampleIds.add(analysis.getSampleItem().getSample().getId());
+        }
+
+        Map<String, List<Note>> analysisNotes = groupByReferenceId(
+                baseObjectDAO.getNotesChronologicallyByRefIdsAndRefTableAndType(new ArrayList<>(analysisIds),
+                        AnalysisServiceImpl.getTableReferenceId(), dbFilter));
+
+        Map<String, List<Note>> sampleItemNotes = new HashMap<>();
+        Map<String, List<Note>> sampleNotes = new HashMap<>();
+        Map<String, List<Note>> qaEventNotes = new HashMap<>();
+        Map<String, List<SampleQaEvent>> qaEventsBySampleId = new HashMap<>();
+        if (includeNoneConformity) {
+            List<String> nonConformityFilter = List.of(NoteType.NON_CONFORMITY.getDBCode());
+            sampleItemNotes = groupByReferenceId(baseObjectDAO.getNotesChronologicallyByRefIdsAndRefTableAndType(
+                    new ArrayList<>(sampleItemIds), SampleItemServiceImpl.getSampleItemTableReferenceId(),
+                    nonConformityFilter));
+            sampleNotes = groupByReferenceId(baseObjectDAO.getNotesChronologicallyByRefIdsAndRefTableAndType(
+                    new ArrayList<>(sampleIds), SampleServiceImpl.getTableReferenceId(), nonConformityFilter));
+
+            List<String> qaEventIds = new ArrayList<>();
+            for (SampleQaEvent event : sampleQAService.getSampleQaEventsBySampleIds(new ArrayList<>(sampleIds))) {
+                qaEventsBySampleId.computeIfAbsent(event.getSample().getId(), id -> new ArrayList<>()).add(event);
+                qaEventIds.add(event.getId());
+            }
+            qaEventNotes = groupByReferenceId(baseObjectDAO.getNotesChronologicallyByRefIdsAndRefTableAndType(
+                    qaEventIds, QAService.TABLE_REFERENCE_ID, nonConformityFilter));
+        }
+
+        for (Analysis analysis : analyses) {
+            List<Note> noteList = new ArrayList<>(analysisNotes.getOrDefault(analysis.getId(), List.of()));
+
+            if (includeNoneConformity) {
+                SampleItem sampleItem = analysis.getSampleItem();
+                String sampleId = sampleItem.getSample().getId();
+                List<Note> nonConformityNoteList = new ArrayList<>(
+                        sampleItemNotes.getOrDefault(sampleItem.getId(), List.of()));
+                nonConformityNoteList.addAll(sampleNotes.getOrDefault(sampleId, List.of()));
+                for (SampleQaEvent event : qaEventsBySampleId.getOrDefault(sampleId, List.of())) {
+                    if (event.getSampleItem() == null || sampleItem.getId().equals(event.getSampleItem().getId())) {
+                        nonConformityNoteList.addAll(qaEventNotes.getOrDefault(event.getId(), List.of()));
+                        nonConformityNoteList.add(createNonConformityProxyNote(event));
+                    }
+                }
+                if (!nonConformityNoteList.isEmpty()) {
+                    noteList.addAll(nonConformityNoteList);
+                    noteList.sort(Comparator.comparing(Note::getLastupdated));
+                }
+            }
+
+            String notes = notesToString(analysis, prefixType, prefixTimestamp, noteSeparator, noteList,
+                    excludeExternPrefix, EncodeContext.HTML);
+            if (notes != null) {
+                notesByAnalysisId.put(analysis.getId(), notes);
+            }
+        }
+
+        return notesByAnalysisId;
+    }
+
+    private Map<String, List<Note>> groupByReferenceId(List<Note> notes) {
+        Map<String, List<Note>> notesByReferenceId = new HashMap<>();
+        if (notes != null) {
+            for (Note note : notes) {
+                notesByReferenceId.computeIfAbsent(note.getReferenceId(), id -> new ArrayList<>()).add(note);
+            }
+        }
+        return notesByReferenceId;
+    }
+
+    private Note createNonConformityProxyNote(SampleQaEvent event) {
+        Note proxyNote = new Note();
+        proxyNote.setNoteType(Note.NON_CONFORMITY);
+        proxyNote.setText(event.getQaEvent().getLocalizedName());
+        proxyNote.setLastupdated(event.getLastupdated());
+        return proxyNote;
+    }
+
     private List<Note> getNonConformityReasons(NoteObject noteObject) {
         ArrayList<Note> notes = new ArrayList<>();
 
@@ -169,11 +273,7 @@ public class NoteServiceImpl extends AuditableBaseObjectServiceImpl<Note, String
                         || sampleItem.getId().equals(event.getSampleItem().getId())) {
                     notes.addAll(baseObjectDAO.getNotesChronologicallyByRefIdAndRefTableAndType(event.getId(),
                             QAService.TABLE_REFERENCE_ID, filter));
-                    Note proxyNote = new Note();
-                    proxyNote.setNoteType(Note.NON_CONFORMITY);
-                    proxyNote.setText(event.getQaEvent().getLocalizedName());
-                    proxyNote.setLastupdated(event.getLastupdated());
-                    notes.add(proxyNote);
+                    notes.add(createNonConformityProxyNote(event));
                 }
             }
         }
@@ -0,0 +1,25 @@
+package org.openelisglobal.notification.dao;
+
+import java.util.List;
+import java.util.Map;
+import org.openelisglobal.common.dao.BaseDAO;
+import org.openelisglobal.notification.valueholder.NotificationOutboxEntry;
+import org.openelisglobal.notification.valueholder.NotificationOutboxEntry.Channel;
+
+public interface NotificationOutboxDAO extends BaseDAO<NotificationOutboxEntry, Long> {
+
+    /**
+     * Locks up to {@code limit} of the oldest pending entries of the channel that
+     * are due, skipping entries another transaction already locked, so that
+     * several dispatchers never claim the same entry at once. The locks last until
+     * the caller's transaction ends.
+     */
+    List<NotificationOutboxEntry> claimDue(Channel channel, int limit);
+
+    /**
+     * @return the number of pending entries of each channel that has any
+     */
+    Map<Channel, Long> countPendingByChannel();
+
+    long countDead();
+}
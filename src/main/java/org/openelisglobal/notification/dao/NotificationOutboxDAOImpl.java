@@ -0,0 +1,81 @@
+package org.openelisglobal.notification.dao;
+
+import java.time.OffsetDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.Query;
+import org.hibernate.type.StandardBasicTypes;
+import org.openelisglobal.common.daoimpl.BaseDAOImpl;
+import org.openelisglobal.common.exception.LIMSRuntimeException;
+import org.openelisglobal.common.log.LogEvent;
+import org.openelisglobal.notification.valueholder.NotificationOutboxEntry;
+import org.openelisglobal.notification.valueholder.NotificationOutboxEntry.Channel;
+import org.openelisglobal.notification.valueholder.NotificationOutboxEntry.Status;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@Transactional
+public class NotificationOutboxDAOImpl extends BaseDAOImpl<NotificationOutboxEntry, Long>
+        implements NotificationOutboxDAO {
+
+    // due by the application's clock, which set next_attempt_at
+    private static final String CLAIM_DUE_SQL = "SELECT * FROM clinlims.notification_outbox "
+            + "WHERE status = 'PENDING' AND channel = :channel AND next_attempt_at <= :now "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED";
+
+    public NotificationOutboxDAOImpl() {
+        super(NotificationOutboxEntry.class);
+    }
+
+    @Override
+    public List<NotificationOutboxEntry> claimDue(Channel channel, int limit) {
+        try {
+            NativeQuery<NotificationOutboxEntry> query = entityManager.unwrap(Session.class)
+                    .createNativeQuery(CLAIM_DUE_SQL, NotificationOutboxEntry.class);
+            query.setParameter("channel", channel.name());
+            query.setParameter("now", OffsetDateTime.now(), StandardBasicTypes.OFFSET_DATE_TIME);
+            query.setParameter("limit", limit);
+            return query.getResultList();
+        } catch (RuntimeException e) {
+            LogEvent.logError(e);
+            throw new LIMSRuntimeException("Error in NotificationOutboxDAOImpl claimDue()", e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Channel, Long> countPendingByChannel() {
+        try {
+            String hql = "select e.channel, count(e) from NotificationOutboxEntry e where e.status = :status "
+                    + "group by e.channel";
+            Query<Object[]> query = entityManager.unwrap(Session.class).createQuery(hql, Object[].class);
+            query.setParameter("status", Status.PENDING);
+            Map<Channel, Long> counts = new EnumMap<>(Channel.class);
+            for (Object[] row : query.getResultList()) {
+                counts.put((Channel) row[0], (Long) row[1]);
+            }
+            return counts;
+        } catch (RuntimeException e) {
+            LogEvent.logError(e);
+            throw new LIMSRuntimeException("Error in NotificationOutboxDAOImpl countPendingByChannel()", e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countDead() {
+        try {
+            String hql = "select count(e) from NotificationOutboxEntry e where e.status = :status";
+            Query<Long> query = entityManager.unwrap(Session.class).createQuery(hql, Long.class);
+            query.setParameter("status", Status.DEAD);
+            return query.getSingleResult();
+        } catch (RuntimeException e) {
+            LogEvent.logError(e);
+            throw new LIMSRuntimeException("Error in NotificationOutboxDAOImpl countDead()", e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.openelisglobal.notification.service;
+
+import org.openelisglobal.common.log.LogEvent;
+import org.openelisglobal.notification.valueholder.NotificationOutboxEntry.Channel;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the notification outbox channel by channel, one batch at a time,
+ * until a channel has no more due entries. A channel that fails does not hold
+ * up the others.
+ */
+@Component
+public class NotificationOutboxDispatcher {
+
+    private final NotificationOutboxService notificationOutboxService;
+
+    public NotificationOutboxDispatcher(NotificationOutboxService notificationOutboxService) {
+        this.notificationOutboxService = notificationOutboxService;
+    }
+
+    @Scheduled(initialDelay = 30
+            * 1000, fixedDelayString = "${org.openelisglobal.notification.outbox.pollInterval:10000}")
+    public void dispatchDue() {
+        for (Channel channel : Channel.values()) {
+            try {
+                int dispatched;
+                do {
+                    dispatched = notificationOutboxService.dispatchBatch(channel);
+                    // a full batch means there may be more due entries
+                } while (dispatched == notificationOutboxService.getBatchSize()
+                        && !Thread.currentThread().isInterrupted());
+            } catch (RuntimeException e) {
+                LogEvent.logError("Failed to dispatch " + channel + " notifications", e);
+            }
+        }
+    }
+}
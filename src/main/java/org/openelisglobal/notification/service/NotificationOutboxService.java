@@ -0,0 +1,62 @@
+package org.openelisglobal.notification.service;
+
+import java.util.Map;
+import org.openelisglobal.notification.valueholder.EmailNotification;
+import org.openelisglobal.notification.valueholder.NotificationOutboxEntry.Channel;
+import org.openelisglobal.notification.valueholder.SMSNotification;
+
+/**
+ * Queues notifications in {@code notification_outbox} in the caller's
+ * transaction and sends them later per channel, retrying failed sends with a
+ * growing delay until they are given up on as dead. A notification can be sent
+ * more than once if the dispatcher stops between sending it and recording that
+ * it was sent.
+ */
+public interface NotificationOutboxService {
+
+    /** Queues the email with its message and subject as rendered now. */
+    void enqueue(EmailNotification notification);
+
+    /**
+     * Queues the SMS with its message as rendered now, for the SMS channel that is
+     * enabled, if any
+     */
+    void enqueue(SMSNotification notification);
+
+    /**
+     * Sends one batch of the due entries of the channel. The batch is claimed in
+     * one short transaction and the outcomes are recorded in another, with no
+     * transaction open while the entries are sent.
+     *
+     * @return the number of entries that were due, sent or not
+     */
+    int dispatchBatch(Channel channel);
+
+    int getBatchSize();
+
+    /**
+     * @return the number of entries waiting to be sent for each channel that has
+     *         any
+     */
+    Map<Channel, Long> getQueueDepths();
+
+    long getDeadCount();
+
+    /** @return the number of entries of the channel sent since startup */
+    long getSent(Channel channel);
+
+    /** @return the number of failed attempts on the channel since startup */
+    long getFailed(Channel channel);
+
+    /**
+     * @return the mean time a successful send over the channel took, in
+     *         milliseconds
+     */
+    double getMeanSendMillis(Channel channel);
+
+    /**
+     * @return the mean time from queueing to sending of entries sent over the
+     *         channel, in milliseconds
+     */
+    double getMeanQueuedMillis(Channel channel);
+}
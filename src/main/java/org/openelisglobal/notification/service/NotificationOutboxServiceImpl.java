@@ -0,0 +1,305 @@
+package org.openelisglobal.notification.service;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.StringUtils;
+import org.openelisglobal.common.log.LogEvent;
+import org.openelisglobal.common.util.ConfigurationProperties;
+import org.openelisglobal.common.util.ConfigurationProperties.Property;
+import org.openelisglobal.notification.dao.NotificationOutboxDAO;
+import org.openelisglobal.notification.service.sender.BMPSMSNotificationSender;
+import org.openelisglobal.notification.service.sender.EmailNotificationSender;
+import org.openelisglobal.notification.service.sender.SMPPNotificationSender;
+import org.openelisglobal.notification.valueholder.EmailNotification;
+import org.openelisglobal.notification.valueholder.NotificationOutboxEntry;
+import org.openelisglobal.notification.valueholder.NotificationOutboxEntry.Channel;
+import org.openelisglobal.notification.valueholder.NotificationOutboxEntry.Status;
+import org.openelisglobal.notification.valueholder.NotificationPayload;
+import org.openelisglobal.notification.valueholder.SMSNotification;
+import org.ozeki.sms.service.OzekiMessageOutService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class NotificationOutboxServiceImpl implements NotificationOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final NotificationOutboxDAO notificationOutboxDAO;
+    private final EmailNotificationSender emailNotificationSender;
+    private final OzekiMessageOutService ozekiMessageOutService;
+    private final SMPPNotificationSender smppNotificationSender;
+    private final BMPSMSNotificationSender bmpSMSNotificationSender;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<Channel, ChannelStats> stats = new EnumMap<>(Channel.class);
+
+    @Value("${org.openelisglobal.ozeki.active:false}")
+    private boolean ozekiActive;
+
+    @Value("${org.openelisglobal.notification.outbox.batchSize:50}")
+    private int batchSize;
+
+    @Value("${org.openelisglobal.notification.outbox.maxAttempts:8}")
+    private int maxAttempts;
+
+    // doubled after every failed attempt, up to the maximum
+    @Value("${org.openelisglobal.notification.outbox.retryDelay:30000}")
+    private long retryDelay;
+
+    @Value("${org.openelisglobal.notification.outbox.maxRetryDelay:3600000}")
+    private long maxRetryDelay;
+
+    // how long claimed entries are kept from other dispatchers while they are sent
+    @Value("${org.openelisglobal.notification.outbox.claimTimeout:300000}")
+    private long claimTimeout;
+
+    // claiming and recording each take a short transaction of their own, so no
+    // row lock or connection is held while the senders wait on the network
+    private TransactionTemplate dispatchTransaction;
+
+    public NotificationOutboxServiceImpl(NotificationOutboxDAO notificationOutboxDAO,
+            EmailNotificationSender emailNotificationSender, OzekiMessageOutService ozekiMessageOutService,
+            SMPPNotificationSender smppNotificationSender, BMPSMSNotificationSender bmpSMSNotificationSender,
+            PlatformTransactionManager transactionManager) {
+        this.notificationOutboxDAO = notificationOutboxDAO;
+        this.emailNotificationSender = emailNotificationSender;
+        this.ozekiMessageOutService = ozekiMessageOutService;
+        this.smppNotificationSender = smppNotificationSender;
+        this.bmpSMSNotificationSender = bmpSMSNotificationSender;
+        this.transactionManager = transactionManager;
+        for (Channel channel : Channel.values()) {
+            stats.put(channel, new ChannelStats());
+        }
+    }
+
+    @PostConstruct
+    private void initialize() {
+        dispatchTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional
+    public void enqueue(EmailNotification notification) {
+        NotificationOutboxEntry entry = newEntry(Channel.EMAIL, notification.getRecipientEmailAddress(),
+                notification.getSubject(), notification.getMessage());
+        if (notification.getBccs() != null && !notification.getBccs().isEmpty()) {
+            entry.setBcc(String.join(",", notification.getBccs()));
+        }
+        notificationOutboxDAO.insert(entry);
+    }
+
+    @Override
+    @Transactional
+    public void enqueue(SMSNotification notification) {
+        Channel channel = getSmsChannel();
+        if (channel == null) {
+            LogEvent.logWarn(this.getClass().getSimpleName(), "enqueue",
+                    "no SMS channel is enabled, not queueing sms to " + notification.getReceiverPhoneNumber());
+            return;
+        }
+        notificationOutboxDAO.insert(newEntry(channel, notification.getReceiverPhoneNumber(),
+                notification.getSubject(), notification.getMessage()));
+    }
+
+    // same order of preference as SMSNotificationSender
+    private Channel getSmsChannel() {
+        ConfigurationProperties configurationProperties = ConfigurationProperties.getInstance();
+        if (ozekiActive) {
+            return Channel.SMS;
+        } else if (Boolean.TRUE.toString().equalsIgnoreCase(
+                configurationProperties.getPropertyValue(Property.PATIENT_RESULTS_SMPP_SMS_ENABLED))) {
+            return Channel.SMPP;
+        } else if (Boolean.TRUE.toString()
+                .equalsIgnoreCase(configurationProperties.getPropertyValue(Property.PATIENT_RESULTS_BMP_SMS_ENABLED))) {
+            return Channel.BMP;
+        }
+        return null;
+    }
+
+    private NotificationOutboxEntry newEntry(Channel channel, String recipient, String subject, String message) {
+        OffsetDateTime now = OffsetDateTime.now();
+        NotificationOutboxEntry entry = new NotificationOutboxEntry();
+        entry.setChannel(channel);
+        entry.setRecipient(recipient);
+        entry.setSubject(subject);
+        entry.setMessage(message);
+        entry.setCreatedAt(now);
+        entry.setNextAttemptAt(now);
+        return entry;
+    }
+
+    @Override
+    public int dispatchBatch(Channel channel) {
+        List<NotificationOutboxEntry> entries = dispatchTransaction.execute(status -> claim(channel));
+        ChannelStats channelStats = stats.get(channel);
+        for (NotificationOutboxEntry entry : entries) {
+            if (Thread.currentThread().isInterrupted()) {
+                // not attempted, so it is due again right away
+                entry.setNextAttemptAt(OffsetDateTime.now());
+                continue;
+            }
+            entry.setAttempts(entry.getAttempts() + 1);
+            long start = System.nanoTime();
+            try {
+                send(entry);
+                OffsetDateTime now = OffsetDateTime.now();
+                channelStats.sendNanos.addAndGet(System.nanoTime() - start);
+                channelStats.queuedMillis.addAndGet(Duration.between(entry.getCreatedAt(), now).toMillis());
+                channelStats.sent.incrementAndGet();
+                entry.setStatus(Status.SENT);
+                entry.setSentAt(now);
+                entry.setLastError(null);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                channelStats.failed.incrementAndGet();
+                failed(entry, e);
+            } catch (Exception e) {
+                channelStats.failed.incrementAndGet();
+                failed(entry, e);
+            }
+        }
+        dispatchTransaction.executeWithoutResult(status -> entries.forEach(notificationOutboxDAO::update));
+        return entries.size();
+    }
+
+    /**
+     * Claims the due entries of the channel by moving their next attempt past the
+     * claim timeout, so that the row locks can be let go before sending. Entries
+     * of a dispatcher that stops before recording the outcome are sent again once
+     * the claim times out.
+     */
+    private List<NotificationOutboxEntry> claim(Channel channel) {
+        List<NotificationOutboxEntry> entries = notificationOutboxDAO.claimDue(channel, batchSize);
+        OffsetDateTime claimedUntil = OffsetDateTime.now().plus(Duration.ofMillis(claimTimeout));
+        for (NotificationOutboxEntry entry : entries) {
+            entry.setNextAttemptAt(claimedUntil);
+        }
+        return entries;
+    }
+
+    private void send(NotificationOutboxEntry entry) throws Exception {
+        switch (entry.getChannel()) {
+        case EMAIL:
+            EmailNotification email = new EmailNotification();
+            email.setRecipientEmailAddress(entry.getRecipient());
+            if (!StringUtils.isBlank(entry.getBcc())) {
+                email.setBccs(Arrays.asList(entry.getBcc().split(",")));
+            }
+            email.setPayload(new RenderedPayload(entry));
+            emailNotificationSender.send(email);
+            break;
+        case SMS:
+            ozekiMessageOutService.send(toSms(entry));
+            break;
+        case SMPP:
+            smppNotificationSender.submitNow(toSms(entry));
+            break;
+        case BMP:
+            bmpSMSNotificationSender.submit(toSms(entry));
+            break;
+        default:
+            throw new IllegalStateException("unknown notification channel " + entry.getChannel());
+        }
+    }
+
+    private SMSNotification toSms(NotificationOutboxEntry entry) {
+        SMSNotification sms = new SMSNotification();
+        sms.setReceiverPhoneNumber(entry.getRecipient());
+        sms.setPayload(new RenderedPayload(entry));
+        return sms;
+    }
+
+    private void failed(NotificationOutboxEntry entry, Exception e) {
+        entry.setLastError(StringUtils.abbreviate(e.getClass().getSimpleName() + ": " + e.getMessage(),
+                MAX_ERROR_LENGTH));
+        if (entry.getAttempts() >= maxAttempts) {
+            entry.setStatus(Status.DEAD);
+            LogEvent.logError("giving up on " + entry.getChannel() + " notification " + entry.getId() + " to "
+                    + entry.getRecipient() + " after " + entry.getAttempts() + " attempts", e);
+        } else {
+            long delay = Math.min(retryDelay << Math.min(entry.getAttempts() - 1, 20), maxRetryDelay);
+            entry.setNextAttemptAt(OffsetDateTime.now().plus(Duration.ofMillis(delay)));
+            LogEvent.logWarn(this.getClass().getSimpleName(), "dispatchBatch",
+                    entry.getChannel() + " notification " + entry.getId() + " attempt " + entry.getAttempts()
+                            + " failed, retrying in " + delay + " ms: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public Map<Channel, Long> getQueueDepths() {
+        return notificationOutboxDAO.countPendingByChannel();
+    }
+
+    @Override
+    public long getDeadCount() {
+        return notificationOutboxDAO.countDead();
+    }
+
+    @Override
+    public long getSent(Channel channel) {
+        return stats.get(channel).sent.get();
+    }
+
+    @Override
+    public long getFailed(Channel channel) {
+        return stats.get(channel).failed.get();
+    }
+
+    @Override
+    public double getMeanSendMillis(Channel channel) {
+        ChannelStats channelStats = stats.get(channel);
+        long count = channelStats.sent.get();
+        return count == 0 ? 0 : channelStats.sendNanos.get() / 1e6 / count;
+    }
+
+    @Override
+    public double getMeanQueuedMillis(Channel channel) {
+        ChannelStats channelStats = stats.get(channel);
+        long count = channelStats.sent.get();
+        return count == 0 ? 0 : (double) channelStats.queuedMillis.get() / count;
+    }
+
+    private static class ChannelStats {
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong sendNanos = new AtomicLong();
+        private final AtomicLong queuedMillis = new AtomicLong();
+    }
+
+    /** The subject and message as they were rendered when the entry was queued. */
+    private static class RenderedPayload implements NotificationPayload {
+
+        private final String subject;
+        private final String message;
+
+        RenderedPayload(NotificationOutboxEntry entry) {
+            this.subject = entry.getSubject();
+            this.message = entry.getMessage();
+        }
+
+        @Override
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String getSubject() {
+            return subject;
+        }
+    }
+}
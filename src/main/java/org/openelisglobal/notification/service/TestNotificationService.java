@@ -5,5 +5,13 @@ import org.openelisglobal.result.valueholder.Result;
 
 public interface TestNotificationService {
 
+    /**
+     * Queues the notifications configured for the result in the caller's
+     * transaction. A notification that can not be created or rendered is logged
+     * and left out without affecting the transaction. A failure to write the
+     * results view or to queue a notification is thrown, and the caller's
+     * transaction can then only roll back, so that a result is never committed
+     * without the notifications configured for it.
+     */
     void createAndSendNotificationsToConfiguredSources(NotificationNature nature, Result result);
 }
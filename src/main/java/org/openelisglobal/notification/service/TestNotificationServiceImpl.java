@@ -1,6 +1,7 @@
 package org.openelisglobal.notification.service;
 
 import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.apache.commons.validator.GenericValidator;
@@ -9,7 +10,6 @@ import org.openelisglobal.common.util.ConfigurationProperties;
 import org.openelisglobal.common.util.ConfigurationProperties.Property;
 import org.openelisglobal.dictionary.service.DictionaryService;
 import org.openelisglobal.dictionary.valueholder.Dictionary;
-import org.openelisglobal.notification.service.sender.ClientNotificationSender;
 import org.openelisglobal.notification.valueholder.AnalysisNotificationConfig;
 import org.openelisglobal.notification.valueholder.EmailNotification;
 import org.openelisglobal.notification.valueholder.NotificationConfig;
@@ -31,9 +31,7 @@ import org.openelisglobal.testresultsview.valueholder.ClientResultsViewBean;
 import org.openelisglobal.typeoftestresult.service.TypeOfTestResultServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class TestNotificationServiceImpl implements TestNotificationService {
@@ -54,9 +52,8 @@ public class TestNotificationServiceImpl implements TestNotificationService {
     @Value("${org.openelisglobal.ozeki.active:false}")
     private Boolean ozekiActive;
 
-    @SuppressWarnings("rawtypes")
     @Autowired
-    private List<ClientNotificationSender> notificationSenders;
+    private NotificationOutboxService notificationOutboxService;
 
     @PostConstruct
     public void init() {
@@ -82,18 +79,12 @@ public class TestNotificationServiceImpl implements TestNotificationService {
         return template;
     }
 
-    @SuppressWarnings({ "unchecked", "rawtypes" })
-    public void sendNotification(RemoteNotification clientNotification) {
-        for (ClientNotificationSender notificationSender : notificationSenders) {
-            if (clientNotification.getClass().isAssignableFrom(notificationSender.forClass())) {
-                notificationSender.send(clientNotification);
-            }
-        }
-    }
-
+    // not transactional itself. The notifications are created and rendered before
+    // anything is written, so one that can not be created fails here rather than
+    // in a transactional write, which would mark the caller's transaction
+    // rollback-only. The writes join the caller's transaction, so notifications
+    // are only sent for results whose validation committed
     @Override
-    @Async
-    @Transactional(readOnly = true)
     public void createAndSendNotificationsToConfiguredSources(NotificationNature nature, Result result) {
         Optional<? extends NotificationConfig<?>> notificationConfig = analysisNotificationConfigService
                 .getAnalysisNotificationConfigForAnalysisId(result.getAnalysis().getId());
@@ -118,7 +109,6 @@ public class TestNotificationServiceImpl implements TestNotificationService {
             Optional<? extends NotificationConfig<?>> notificationConfig) {
         ClientResultsViewBean resultsViewInfo = new ClientResultsViewBean(result);
         resultsViewInfo.setSysUserId("1");
-        resultsViewInfo = clientResultsViewInfoService.save(resultsViewInfo);
 
         String resultForDisplay = "";
 
@@ -140,28 +130,43 @@ public class TestNotificationServiceImpl implements TestNotificationService {
         } else if (TypeOfTestResultServiceImpl.ResultType.isTextOnlyVariant(result.getResultType())) {
             resultForDisplay = result.getValue();
         }
+        List<EmailNotification> emailNotifications = new ArrayList<>();
+        List<SMSNotification> smsNotifications = new ArrayList<>();
         for (NotificationMethod methodType : NotificationMethod.values()) {
             if (systemEnabledForMethod(methodType)) {
-                createAndSendNotificationsConfiguredForTest(nature, methodType, notificationConfig.get(),
-                        resultForDisplay, resultsViewInfo);
+                createNotificationsConfiguredForTest(nature, methodType, notificationConfig.get(), resultForDisplay,
+                        resultsViewInfo, emailNotifications, smsNotifications);
             }
         }
+        if (emailNotifications.isEmpty() && smsNotifications.isEmpty()) {
+            return;
+        }
+
+        clientResultsViewInfoService.save(resultsViewInfo);
+        for (EmailNotification emailNotification : emailNotifications) {
+            notificationOutboxService.enqueue(emailNotification);
+        }
+        for (SMSNotification smsNotification : smsNotifications) {
+            notificationOutboxService.enqueue(smsNotification);
+        }
     }
 
-    private void createAndSendNotificationsConfiguredForTest(NotificationNature nature, NotificationMethod methodType,
-            NotificationConfig<?> notificationConfig, String resultForDisplay, ClientResultsViewBean resultsViewInfo) {
+    private void createNotificationsConfiguredForTest(NotificationNature nature, NotificationMethod methodType,
+            NotificationConfig<?> notificationConfig, String resultForDisplay, ClientResultsViewBean resultsViewInfo,
+            List<EmailNotification> emailNotifications, List<SMSNotification> smsNotifications) {
         for (NotificationPersonType personType : NotificationPersonType.values()) {
             NotificationConfigOption option = notificationConfig.getOptionFor(nature, methodType, personType);
             if (option.getActive()) {
-                createAndSendNotificationToPerson(nature, methodType, personType, option, resultForDisplay,
-                        resultsViewInfo);
+                createNotificationToPerson(nature, methodType, personType, option, resultForDisplay, resultsViewInfo,
+                        emailNotifications, smsNotifications);
             }
         }
     }
 
-    private void createAndSendNotificationToPerson(NotificationNature nature, NotificationMethod methodType,
+    private void createNotificationToPerson(NotificationNature nature, NotificationMethod methodType,
             NotificationPersonType personType, NotificationConfigOption option, String resultForDisplay,
-            ClientResultsViewBean resultsViewInfo) {
+            ClientResultsViewBean resultsViewInfo, List<EmailNotification> emailNotifications,
+            List<SMSNotification> smsNotifications) {
         Person testPerson = sampleHumanService
                 .getPatientForSample(resultsViewInfo.getResult().getAnalysis().getSampleItem().getSample()).getPerson();
         Person receiverPerson = null;
@@ -173,15 +178,16 @@ public class TestNotificationServiceImpl implements TestNotificationService {
                     .getPerson();
         }
         if (NotificationMethod.EMAIL.equals(methodType) && canSendEmail(receiverPerson)) {
-            createAndSendResultsNotificationEmail(testPerson, receiverPerson, option, resultForDisplay,
-                    resultsViewInfo);
+            createResultsNotificationEmail(testPerson, receiverPerson, option, resultForDisplay, resultsViewInfo,
+                    emailNotifications);
         } else if (NotificationMethod.SMS.equals(methodType) && canSendSMS(receiverPerson)) {
-            createAndSendResultsNotificationSMS(testPerson, receiverPerson, option, resultForDisplay, resultsViewInfo);
+            createResultsNotificationSMS(testPerson, receiverPerson, option, resultForDisplay, resultsViewInfo,
+                    smsNotifications);
         }
     }
 
-    private void createAndSendResultsNotificationSMS(Person testPerson, Person receiverPerson,
-            NotificationConfigOption option, String resultForDisplay, ClientResultsViewBean resultsViewInfo) {
+    private void createResultsNotificationSMS(Person testPerson, Person receiverPerson, NotificationConfigOption option,
+            String resultForDisplay, ClientResultsViewBean resultsViewInfo, List<SMSNotification> smsNotifications) {
         try {
             SMSNotification smsNotification = new SMSNotification();
             String phoneNumber = "";
@@ -199,17 +205,18 @@ public class TestNotificationServiceImpl implements TestNotificationService {
                     "someAddress", resultsViewInfo.getResult().getAnalysis().getTest().getName(), resultForDisplay,
                     testPerson.getFirstName(), testPerson.getLastName().substring(0, 1), template));
 
-            sendNotification(smsNotification);
-            // getSenderForNotification(smsNotification).send(smsNotification);
+            render(smsNotification);
+            smsNotifications.add(smsNotification);
         } catch (RuntimeException e) {
-            LogEvent.logError(this.getClass().getSimpleName(), "createAndSendResultsNotificationSMS",
-                    "could not send sms notification");
+            LogEvent.logError(this.getClass().getSimpleName(), "createResultsNotificationSMS",
+                    "could not create sms notification");
             LogEvent.logError(e);
         }
     }
 
-    private void createAndSendResultsNotificationEmail(Person testPerson, Person receiverPerson,
-            NotificationConfigOption option, String resultForDisplay, ClientResultsViewBean resultsViewInfo) {
+    private void createResultsNotificationEmail(Person testPerson, Person receiverPerson,
+            NotificationConfigOption option, String resultForDisplay, ClientResultsViewBean resultsViewInfo,
+            List<EmailNotification> emailNotifications) {
         try {
             EmailNotification emailNotification = new EmailNotification();
             emailNotification.setRecipientEmailAddress(receiverPerson.getEmail());
@@ -221,15 +228,22 @@ public class TestNotificationServiceImpl implements TestNotificationService {
                     "someAddress", resultsViewInfo.getResult().getAnalysis().getTest().getName(), resultForDisplay,
                     testPerson.getFirstName(), testPerson.getLastName().substring(0, 1), template));
 
-            sendNotification(emailNotification);
+            render(emailNotification);
+            emailNotifications.add(emailNotification);
         } catch (RuntimeException e) {
-            // TODO add redundancy mechanism in case can't reach SMTP server
-            LogEvent.logError(this.getClass().getSimpleName(), "createAndSendResultsNotificationEmail",
-                    "could not send email notification");
+            LogEvent.logError(this.getClass().getSimpleName(), "createResultsNotificationEmail",
+                    "could not create email notification");
             LogEvent.logError(e);
         }
     }
 
+    // the outbox renders the payload when the notification is queued, so a
+    // payload that can not be rendered has to fail before that
+    private void render(RemoteNotification notification) {
+        notification.getSubject();
+        notification.getMessage();
+    }
+
     private NotificationPayloadTemplate findTemplate(NotificationConfigOption option) {
         NotificationPayloadTemplate template;
         TestNotificationConfig testNotificationConfig = testNotificationConfigService
@@ -26,6 +26,19 @@ public class BMPSMSNotificationSender {
     private CloseableHttpClient httpClient;
 
     public void send(SMSNotification notification) {
+        try {
+            submit(notification);
+        } catch (IOException e) {
+            LogEvent.logError(this.getClass().getSimpleName(), "send", "could not send SMS");
+            LogEvent.logError(e);
+        }
+    }
+
+    /**
+     * Sends the SMS, failing if the BMP server could not be reached or answered
+     * with an error code
+     */
+    public void submit(SMSNotification notification) throws IOException {
         ConfigurationProperties configurationProperties = ConfigurationProperties.getInstance();
 
         String address = configurationProperties.getPropertyValue(Property.PATIENT_RESULTS_BMP_SMS_ADDRESS);
@@ -36,7 +49,7 @@ public class BMPSMSNotificationSender {
     }
 
     private void sendSMS(SMSNotification notification, String address, String username, String password,
-            String phonePrefix) {
+            String phonePrefix) throws IOException {
 
         String getString = address + "?UserName=" + URLEncoder.encode(username, StandardCharsets.UTF_8) + "&PassWord="
                 + URLEncoder.encode(password, StandardCharsets.UTF_8) + "&UserData="
@@ -58,7 +71,7 @@ public class BMPSMSNotificationSender {
         } catch (IOException e) {
             LogEvent.logError(this.getClass().getSimpleName(), "sendSMS",
                     "failed to communicate with " + address + " for sending SMS");
-            LogEvent.logError(e);
+            throw e;
         }
 
         if (!GenericValidator.isBlankOrNull(statusReturned) && statusReturned.contains("-")) {
@@ -72,11 +85,13 @@ public class BMPSMSNotificationSender {
                     if (code == 91 && !"00".equals(phonePrefix)) {
                         // phone format, try with 00 prefix
                         this.sendSMS(notification, address, username, password, "00");
+                        return;
                     }
                 } catch (NumberFormatException e) {
                     LogEvent.logError(this.getClass().getSimpleName(), "sendSMS",
                             "failed to parse error response from SMS server");
                 }
+                throw new IOException("BMP SMS server answered " + statusReturned);
             }
         }
     }
@@ -1,13 +1,13 @@
 package org.openelisglobal.notification.service.sender;
 
 import java.io.IOException;
-import java.net.URI;
-import java.net.URISyntaxException;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.jsmpp.InvalidResponseException;
 import org.jsmpp.PDUException;
 import org.jsmpp.bean.Alphabet;
-import org.jsmpp.bean.BindType;
 import org.jsmpp.bean.ESMClass;
 import org.jsmpp.bean.GeneralDataCoding;
 import org.jsmpp.bean.MessageClass;
@@ -17,66 +17,121 @@ import org.jsmpp.bean.SMSCDeliveryReceipt;
 import org.jsmpp.bean.TypeOfNumber;
 import org.jsmpp.extra.NegativeResponseException;
 import org.jsmpp.extra.ResponseTimeoutException;
-import org.jsmpp.session.BindParameter;
-import org.jsmpp.session.SMPPSession;
 import org.jsmpp.util.AbsoluteTimeFormatter;
 import org.jsmpp.util.TimeFormatter;
 import org.openelisglobal.common.log.LogEvent;
-import org.openelisglobal.common.util.ConfigurationProperties;
-import org.openelisglobal.common.util.ConfigurationProperties.Property;
 import org.openelisglobal.notification.valueholder.SMSNotification;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * Submits SMS notifications over the session kept by {@link SMPPSessionManager},
+ * no faster than the configured messages per second. Messages are queued and
+ * retried by the notification outbox, so that they survive a restart and an
+ * SMSC outage.
+ */
 @Component
 public class SMPPNotificationSender {
 
-    @Value("${org.openelisglobal.smsc.serviceType:CMT}")
-    private String serviceType;
+    private static final TimeFormatter TIME_FORMATTER = new AbsoluteTimeFormatter();
 
-    @Value("${org.openelisglobal.smsc.bindParamSystemType:}")
-    private String bindParamSystemType;
+    private final SMPPSessionManager sessionManager;
+    private final String serviceType;
+    private final long sendIntervalNanos;
 
-    private static final TimeFormatter TIME_FORMATTER = new AbsoluteTimeFormatter();
+    private final Object rateLock = new Object();
+    private long nextSendNanos = System.nanoTime();
 
-    public void send(SMSNotification notification) {
-        SMPPSession session;
-        try {
-            session = initSession();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong submitNanos = new AtomicLong();
 
-            try {
-                String messageId = session.submitShortMessage(serviceType, TypeOfNumber.UNKNOWN,
-                        NumberingPlanIndicator.UNKNOWN, "OpenELIS", TypeOfNumber.UNKNOWN,
-                        NumberingPlanIndicator.UNKNOWN, notification.getReceiverPhoneNumber(), new ESMClass(), (byte) 0,
-                        (byte) 1, TIME_FORMATTER.format(new Date()), null,
-                        new RegisteredDelivery(SMSCDeliveryReceipt.DEFAULT), (byte) 0,
-                        new GeneralDataCoding(Alphabet.ALPHA_DEFAULT, MessageClass.CLASS1, false), (byte) 0,
-                        notification.getMessage().getBytes());
+    public SMPPNotificationSender(SMPPSessionManager sessionManager,
+            @Value("${org.openelisglobal.smsc.serviceType:CMT}") String serviceType,
+            @Value("${org.openelisglobal.smsc.tps:10}") int tps) {
+        this.sessionManager = sessionManager;
+        this.serviceType = serviceType;
+        // 0 or less means no limit
+        this.sendIntervalNanos = tps > 0 ? TimeUnit.SECONDS.toNanos(1) / tps : 0;
+    }
 
-                LogEvent.logDebug(this.getClass().getSimpleName(), "send", "sms messageId: " + messageId);
-            } catch (IllegalArgumentException | PDUException | ResponseTimeoutException | InvalidResponseException
-                    | NegativeResponseException | IOException e) {
-                LogEvent.logError(e);
+    private void awaitSendPermit() throws InterruptedException {
+        if (sendIntervalNanos == 0) {
+            return;
+        }
+        long wait;
+        synchronized (rateLock) {
+            long now = System.nanoTime();
+            if (nextSendNanos - now < 0) {
+                nextSendNanos = now;
             }
+            wait = nextSendNanos - now;
+            nextSendNanos += sendIntervalNanos;
+        }
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
 
-            session.unbindAndClose();
-        } catch (IOException | URISyntaxException e) {
-            LogEvent.logError(e);
+    /**
+     * Submits the notification, counting against the messages per second. The
+     * caller keeps track of what was sent and retries what failed.
+     *
+     * @return the message id the SMSC gave the message
+     */
+    public String submitNow(SMSNotification notification) throws IOException, PDUException,
+            ResponseTimeoutException, InvalidResponseException, NegativeResponseException, InterruptedException {
+        awaitSendPermit();
+        inFlight.incrementAndGet();
+        try {
+            return submitShortMessage(notification);
+        } catch (IOException | PDUException | ResponseTimeoutException | InvalidResponseException
+                | NegativeResponseException | RuntimeException e) {
+            failed.incrementAndGet();
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
         }
     }
 
-    private SMPPSession initSession() throws IOException, URISyntaxException {
-        ConfigurationProperties configurationProperties = ConfigurationProperties.getInstance();
-        SMPPSession session = new SMPPSession();
+    private String submitShortMessage(SMSNotification notification) throws IOException, PDUException,
+            ResponseTimeoutException, InvalidResponseException, NegativeResponseException {
+        SMSCDeliveryReceipt receipt = sessionManager.isDeliveryReceiptsRequested()
+                ? SMSCDeliveryReceipt.SUCCESS_FAILURE
+                : SMSCDeliveryReceipt.DEFAULT;
+        long start = System.nanoTime();
+        String messageId = sessionManager.getSession().submitShortMessage(serviceType, TypeOfNumber.UNKNOWN,
+                NumberingPlanIndicator.UNKNOWN, "OpenELIS", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN,
+                notification.getReceiverPhoneNumber(), new ESMClass(), (byte) 0, (byte) 1,
+                TIME_FORMATTER.format(new Date()), null, new RegisteredDelivery(receipt), (byte) 0,
+                new GeneralDataCoding(Alphabet.ALPHA_DEFAULT, MessageClass.CLASS1, false), (byte) 0,
+                notification.getMessage().getBytes());
+        submitNanos.addAndGet(System.nanoTime() - start);
+        submitted.incrementAndGet();
+
+        LogEvent.logDebug(this.getClass().getSimpleName(), "send", "sms messageId: " + messageId);
+        return messageId;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getSubmitted() {
+        return submitted.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
 
-        String address = configurationProperties.getPropertyValue(Property.PATIENT_RESULTS_BMP_SMS_ADDRESS);
-        String username = configurationProperties.getPropertyValue(Property.PATIENT_RESULTS_BMP_SMS_USERNAME);
-        String password = configurationProperties.getPropertyValue(Property.PATIENT_RESULTS_BMP_SMS_PASSWORD);
-        URI uri = new URI(address);
-        String systemId = session.connectAndBind(uri.getHost(), uri.getPort(), new BindParameter(BindType.BIND_TX,
-                username, password, bindParamSystemType, TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, null));
-        LogEvent.logDebug(this.getClass().getSimpleName(), "initSession",
-                "Connected with SMPP with system id {" + systemId + "}");
-        return session;
+    /**
+     * @return the mean time the SMSC took to answer a successful submit_sm, in
+     *         milliseconds
+     */
+    public double getMeanSubmitMillis() {
+        long count = submitted.get();
+        return count == 0 ? 0 : submitNanos.get() / 1e6 / count;
     }
 }
@@ -0,0 +1,210 @@
+package org.openelisglobal.notification.service.sender;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jsmpp.bean.AlertNotification;
+import org.jsmpp.bean.BindType;
+import org.jsmpp.bean.DataSm;
+import org.jsmpp.bean.DeliverSm;
+import org.jsmpp.bean.DeliveryReceipt;
+import org.jsmpp.bean.MessageType;
+import org.jsmpp.bean.NumberingPlanIndicator;
+import org.jsmpp.bean.TypeOfNumber;
+import org.jsmpp.extra.ProcessRequestException;
+import org.jsmpp.extra.SessionState;
+import org.jsmpp.session.BindParameter;
+import org.jsmpp.session.DataSmResult;
+import org.jsmpp.session.MessageReceiverListener;
+import org.jsmpp.session.SMPPSession;
+import org.jsmpp.session.Session;
+import org.jsmpp.util.DeliveryReceiptState;
+import org.jsmpp.util.InvalidDeliveryReceiptException;
+import org.openelisglobal.common.log.LogEvent;
+import org.openelisglobal.common.util.ConfigurationProperties;
+import org.openelisglobal.common.util.ConfigurationProperties.Property;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps one bound session to the SMSC for all SMS notifications instead of
+ * binding for every message. The session is kept alive with enquire_link and
+ * is bound again the next time it is asked for after the SMSC dropped it, but
+ * not more often than once per reconnect delay. Only one thread binds at a
+ * time, and callers asking for the session meanwhile are told the SMSC is
+ * unavailable instead of waiting for the bind.
+ */
+@Component
+public class SMPPSessionManager {
+
+    private final String bindParamSystemType;
+    private final int enquireLinkInterval;
+    private final long transactionTimeout;
+    private final long reconnectDelay;
+    private final boolean deliveryReceipts;
+
+    private final AtomicLong binds = new AtomicLong();
+    private final AtomicLong deliveredReceipts = new AtomicLong();
+    private final AtomicLong undeliveredReceipts = new AtomicLong();
+
+    private final ReentrantLock bindLock = new ReentrantLock();
+    private volatile SMPPSession session;
+    private long nextBindAttempt;
+
+    public SMPPSessionManager(@Value("${org.openelisglobal.smsc.bindParamSystemType:}") String bindParamSystemType,
+            @Value("${org.openelisglobal.smsc.enquireLinkInterval:30000}") int enquireLinkInterval,
+            @Value("${org.openelisglobal.smsc.transactionTimeout:10000}") long transactionTimeout,
+            @Value("${org.openelisglobal.smsc.reconnectDelay:5000}") long reconnectDelay,
+            @Value("${org.openelisglobal.smsc.deliveryReceipts:false}") boolean deliveryReceipts) {
+        this.bindParamSystemType = bindParamSystemType;
+        this.enquireLinkInterval = enquireLinkInterval;
+        this.transactionTimeout = transactionTimeout;
+        this.reconnectDelay = reconnectDelay;
+        this.deliveryReceipts = deliveryReceipts;
+    }
+
+    /**
+     * @return the bound session, binding a new one if there is none
+     * @throws IOException if the SMSC can not be reached, was not reachable less
+     *                     than the reconnect delay ago or another thread is
+     *                     binding
+     */
+    public SMPPSession getSession() throws IOException {
+        SMPPSession current = session;
+        if (current != null && current.getSessionState().isBound()) {
+            return current;
+        }
+        if (!bindLock.tryLock()) {
+            throw new IOException("SMSC unavailable, a bind is in progress");
+        }
+        try {
+            current = session;
+            if (current != null && current.getSessionState().isBound()) {
+                return current;
+            }
+            closeSession();
+
+            long now = System.currentTimeMillis();
+            if (now < nextBindAttempt) {
+                throw new IOException("SMSC unavailable, not binding again for " + (nextBindAttempt - now) + " ms");
+            }
+            try {
+                session = bind();
+                binds.incrementAndGet();
+                return session;
+            } catch (IOException e) {
+                nextBindAttempt = now + reconnectDelay;
+                throw e;
+            }
+        } finally {
+            bindLock.unlock();
+        }
+    }
+
+    public boolean isDeliveryReceiptsRequested() {
+        return deliveryReceipts;
+    }
+
+    @PreDestroy
+    public void closeSession() {
+        bindLock.lock();
+        try {
+            SMPPSession current = session;
+            if (current != null) {
+                session = null;
+                if (current.getSessionState().isBound()) {
+                    current.unbindAndClose();
+                } else {
+                    current.close();
+                }
+            }
+        } finally {
+            bindLock.unlock();
+        }
+    }
+
+    protected SMPPSession bind() throws IOException {
+        ConfigurationProperties configurationProperties = ConfigurationProperties.getInstance();
+        String address = configurationProperties.getPropertyValue(Property.PATIENT_RESULTS_BMP_SMS_ADDRESS);
+        String username = configurationProperties.getPropertyValue(Property.PATIENT_RESULTS_BMP_SMS_USERNAME);
+        String password = configurationProperties.getPropertyValue(Property.PATIENT_RESULTS_BMP_SMS_PASSWORD);
+        try {
+            URI uri = new URI(address);
+            return bind(uri.getHost(), uri.getPort(), username, password);
+        } catch (URISyntaxException e) {
+            throw new IOException("invalid SMSC address " + address, e);
+        }
+    }
+
+    protected SMPPSession bind(String host, int port, String username, String password) throws IOException {
+        SMPPSession newSession = new SMPPSession();
+        newSession.setEnquireLinkTimer(enquireLinkInterval);
+        newSession.setTransactionTimer(transactionTimeout);
+        newSession.addSessionStateListener(this::onStateChange);
+        if (deliveryReceipts) {
+            newSession.setMessageReceiverListener(new DeliveryReceiptListener());
+        }
+        // receipts arrive as deliver_sm, which a transmitter session can not receive
+        BindType bindType = deliveryReceipts ? BindType.BIND_TRX : BindType.BIND_TX;
+        String systemId = newSession.connectAndBind(host, port, new BindParameter(bindType, username, password,
+                bindParamSystemType, TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN, null));
+        LogEvent.logDebug(this.getClass().getSimpleName(), "bind",
+                "Connected with SMPP with system id {" + systemId + "}");
+        return newSession;
+    }
+
+    private void onStateChange(SessionState newState, SessionState oldState, Session source) {
+        if (oldState.isBound() && !newState.isBound()) {
+            LogEvent.logWarn(this.getClass().getSimpleName(), "onStateChange",
+                    "SMPP session " + source.getSessionId() + " went from " + oldState + " to " + newState);
+        }
+    }
+
+    public long getBinds() {
+        return binds.get();
+    }
+
+    public long getDeliveredReceipts() {
+        return deliveredReceipts.get();
+    }
+
+    public long getUndeliveredReceipts() {
+        return undeliveredReceipts.get();
+    }
+
+    private class DeliveryReceiptListener implements MessageReceiverListener {
+
+        @Override
+        public void onAcceptDeliverSm(DeliverSm deliverSm) throws ProcessRequestException {
+            if (!MessageType.SMSC_DEL_RECEIPT.containedIn(deliverSm.getEsmClass())) {
+                return;
+            }
+            try {
+                DeliveryReceipt receipt = deliverSm.getShortMessageAsDeliveryReceipt();
+                if (receipt.getFinalStatus() == DeliveryReceiptState.DELIVRD) {
+                    deliveredReceipts.incrementAndGet();
+                    LogEvent.logDebug(SMPPSessionManager.class.getSimpleName(), "onAcceptDeliverSm",
+                            "sms messageId: " + receipt.getId() + " delivered");
+                } else {
+                    undeliveredReceipts.incrementAndGet();
+                    LogEvent.logWarn(SMPPSessionManager.class.getSimpleName(), "onAcceptDeliverSm",
+                            "sms messageId: " + receipt.getId() + " not delivered: " + receipt.getFinalStatus());
+                }
+            } catch (InvalidDeliveryReceiptException e) {
+                LogEvent.logError(e);
+            }
+        }
+
+        @Override
+        public void onAcceptAlertNotification(AlertNotification alertNotification) {
+        }
+
+        @Override
+        public DataSmResult onAcceptDataSm(DataSm dataSm, Session source) throws ProcessRequestException {
+            return null;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.openelisglobal.notification.service.sender;
 
 import org.openelisglobal.common.util.ConfigurationProperties;
 import org.openelisglobal.common.util.ConfigurationProperties.Property;
+import org.openelisglobal.notification.service.NotificationOutboxService;
 import org.openelisglobal.notification.valueholder.SMSNotification;
 import org.ozeki.sms.service.OzekiMessageOutService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,7 +16,7 @@ public class SMSNotificationSender implements ClientNotificationSender<SMSNotifi
     private Boolean ozekiActive;
 
     @Autowired
-    private SMPPNotificationSender smppNotificationSender;
+    private NotificationOutboxService notificationOutboxService;
     @Autowired
     private BMPSMSNotificationSender bmpSMSNotificationSender;
     @Autowired
@@ -34,7 +35,8 @@ public class SMSNotificationSender implements ClientNotificationSender<SMSNotifi
             ozekiMessageOutService.send(notification);
         } else if (Boolean.TRUE.toString().equalsIgnoreCase(
                 configurationProperties.getPropertyValue(Property.PATIENT_RESULTS_SMPP_SMS_ENABLED))) {
-            smppNotificationSender.send(notification);
+            // queued so that it survives a restart and is retried through an SMSC outage
+            notificationOutboxService.enqueue(notification);
         } else if (Boolean.TRUE.toString()
                 .equalsIgnoreCase(configurationProperties.getPropertyValue(Property.PATIENT_RESULTS_BMP_SMS_ENABLED))) {
             bmpSMSNotificationSender.send(notification);
@@ -0,0 +1,84 @@
+package org.openelisglobal.notification.valueholder;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import lombok.Getter;
+import lombok.Setter;
+import org.openelisglobal.common.valueholder.BaseObject;
+
+/**
+ * A notification rendered when it was created and waiting in
+ * {@code notification_outbox} to be sent over its channel. Entries are written
+ * in the transaction that caused the notification, so a notification is only
+ * sent if that transaction committed, and is not lost if sending fails.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "notification_outbox")
+public class NotificationOutboxEntry extends BaseObject<Long> {
+
+    public enum Channel {
+        EMAIL,
+        // handed to Ozeki through its message out table
+        SMS, SMPP, BMP
+    }
+
+    public enum Status {
+        PENDING, SENT,
+        // gave up after the maximum number of attempts
+        DEAD
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_generator")
+    @SequenceGenerator(name = "notification_outbox_generator", sequenceName = "notification_outbox_seq",
+            allocationSize = 1)
+    @Column(name = "id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "channel", length = 16, nullable = false)
+    private Channel channel;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 16, nullable = false)
+    private Status status = Status.PENDING;
+
+    /** The email address or phone number the notification goes to. */
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+
+    /** Comma separated email addresses to copy the notification to. */
+    @Column(name = "bcc")
+    private String bcc;
+
+    @Column(name = "subject")
+    private String subject;
+
+    @Column(name = "message", nullable = false)
+    private String message;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private OffsetDateTime sentAt;
+}
@@ -109,6 +109,26 @@ public class ObservationHistoryDAOImpl extends BaseDAOImpl<ObservationHistory, S
         return null;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<ObservationHistory> getObservationHistoriesBySampleItemIds(List<String> sampleItemIds)
+            throws LIMSRuntimeException {
+        if (sampleItemIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String sql = "from ObservationHistory oh where oh.sampleItemId in (:sampleItemIds)";
+
+        try {
+            Query<ObservationHistory> query = entityManager.unwrap(Session.class).createQuery(sql,
+                    ObservationHistory.class);
+            query.setParameterList("sampleItemIds", sampleItemIds.stream().map(Integer::parseInt).toList());
+            return query.list();
+        } catch (HibernateException e) {
+            handleException(e, "getObservationHistoriesBySampleItemIds");
+        }
+        return null;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<ObservationHistory> getObservationHistoriesBySampleId(String sampleId) throws LIMSRuntimeException {
@@ -220,6 +220,12 @@ public class ObservationHistoryServiceImpl extends AuditableBaseObjectServiceImp
         return getBaseObjectDAO().getObservationHistoriesBySampleItemId(sampleItemId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<ObservationHistory> getObservationHistoriesBySampleItemIds(List<String> sampleItemIds) {
+        return getBaseObjectDAO().getObservationHistoriesBySampleItemIds(sampleItemIds);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<ObservationHistory> getObservationHistoriesByValueAndType(String value, String typeId,
@@ -172,7 +172,7 @@ public class OclConfigurationHandler implements DomainConfigurationHandler {
     private void refreshDisplayLists() {
         displayListService.refreshList(DisplayListService.ListType.PANELS);
         displayListService.refreshList(DisplayListService.ListType.PANELS_INACTIVE);
-        testService.refreshTestNames();
+        displayListService.refreshTestLists();
         displayListService.refreshList(DisplayListService.ListType.SAMPLE_TYPE_ACTIVE);
         displayListService.refreshList(DisplayListService.ListType.SAMPLE_TYPE_INACTIVE);
         displayListService.refreshList(DisplayListService.ListType.PANELS_ACTIVE);
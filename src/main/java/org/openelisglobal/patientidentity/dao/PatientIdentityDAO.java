@@ -23,4 +23,7 @@ public interface PatientIdentityDAO extends BaseDAO<PatientIdentity, String> {
 
     public PatientIdentity getPatitentIdentityForPatientAndType(String patientId, String identityTypeId)
             throws LIMSRuntimeException;
+
+    public List<PatientIdentity> getPatientIdentitiesForPatientsAndType(List<String> patientIds,
+            String identityTypeId) throws LIMSRuntimeException;
 }
@@ -135,4 +135,26 @@ public class PatientIdentityDAOImpl extends BaseDAOImpl<PatientIdentity, String>
 
         return null;
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PatientIdentity> getPatientIdentitiesForPatientsAndType(List<String> patientIds,
+            String identityTypeId) throws LIMSRuntimeException {
+        if (patientIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String sql = "from PatientIdentity pi where pi.patientId in (:patientIds) and pi.identityTypeId = :typeId";
+
+        try {
+            Query<PatientIdentity> query = entityManager.unwrap(Session.class).createQuery(sql, PatientIdentity.class);
+            query.setParameterList("patientIds", patientIds.stream().map(Integer::parseInt).toList());
+            query.setParameter("typeId", Integer.parseInt(identityTypeId));
+            return query.list();
+        } catch (HibernateException e) {
+            handleException(e, "getPatientIdentitiesForPatientsAndType");
+        }
+
+        return Collections.emptyList();
+    }
 }
@@ -10,5 +10,7 @@ public interface PatientIdentityService extends BaseObjectService<PatientIdentit
 
     PatientIdentity getPatitentIdentityForPatientAndType(String patientId, String identityTypeId);
 
+    List<PatientIdentity> getPatientIdentitiesForPatientsAndType(List<String> patientIds, String identityTypeId);
+
     List<PatientIdentity> getPatientIdentitiesByValueAndType(String value, String identityType);
 }
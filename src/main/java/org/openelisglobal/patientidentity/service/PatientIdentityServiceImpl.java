@@ -35,6 +35,13 @@ public class PatientIdentityServiceImpl extends AuditableBaseObjectServiceImpl<P
         return getBaseObjectDAO().getPatitentIdentityForPatientAndType(patientId, identityTypeId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<PatientIdentity> getPatientIdentitiesForPatientsAndType(List<String> patientIds,
+            String identityTypeId) {
+        return getBaseObjectDAO().getPatientIdentitiesForPatientsAndType(patientIds, identityTypeId);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<PatientIdentity> getPatientIdentitiesByValueAndType(String value, String identityType) {
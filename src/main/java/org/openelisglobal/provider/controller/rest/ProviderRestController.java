@@ -1,6 +1,8 @@
 package org.openelisglobal.provider.controller.rest;
 
 import java.util.UUID;
+import org.openelisglobal.common.services.DisplayListService;
+import org.openelisglobal.common.services.DisplayListService.ListType;
 import org.openelisglobal.person.service.PersonService;
 import org.openelisglobal.person.valueholder.Person;
 import org.openelisglobal.provider.service.ProviderService;
@@ -50,6 +52,7 @@ public class ProviderRestController {
                 fhirUuid = UUID.randomUUID();
             }
             Provider updatedProvider = providerService.insertOrUpdateProviderByFhirUuid(fhirUuid, provider);
+            DisplayListService.getInstance().refreshList(ListType.PRACTITIONER_PERSONS);
             return ResponseEntity.ok(updatedProvider);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error processing request.");
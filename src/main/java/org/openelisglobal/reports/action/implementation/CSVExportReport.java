@@ -13,6 +13,11 @@
  */
 package org.openelisglobal.reports.action.implementation;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.sql.SQLException;
+import java.text.ParseException;
 import net.sf.jasperreports.engine.JRDataSource;
 import net.sf.jasperreports.engine.JRException;
 import net.sf.jasperreports.engine.JRField;
@@ -36,6 +41,16 @@ public abstract class CSVExportReport extends Report implements JRDataSource {
         }
     }
 
+    /**
+     * The CSV is assembled by {@link #runReport()}, so it is written as a whole
+     * rather than exported through Jasper.
+     */
+    @Override
+    public void runReport(OutputStream out) throws UnsupportedEncodingException, IOException, SQLException,
+            IllegalStateException, JRException, ParseException {
+        out.write(runReport());
+    }
+
     /**
      * Either we generate a PDF with an error message or we generate data for a CSV
      * file, but if your expecting to get JasperReport data from this class, it
@@ -16,6 +16,7 @@ package org.openelisglobal.reports.action.implementation;
 import jakarta.xml.ws.Response;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.sql.SQLException;
 import java.text.ParseException;
@@ -65,18 +66,39 @@ public abstract class CSVRoutineSampleExportReport extends CSVRoutineExportRepor
         }
 
         ByteArrayOutputStream buffer = new ByteArrayOutputStream(100000);
-        buffer.write(csvRoutineColumnBuilder.getColumnNamesLine().getBytes("windows-1252"));
+        runReport(buffer);
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Writes the CSV to {@code out} a row at a time as it is read from the
+     * database, so the size of the export is not limited by memory.
+     */
+    @Override
+    public void runReport(OutputStream out) throws UnsupportedEncodingException, IOException, SQLException,
+            IllegalStateException, JRException, ParseException {
+        if (errorFound) {
+            super.runReport(out);
+            return;
+        }
 
-        writeResultsToBuffer(buffer);
-        csvRoutineColumnBuilder.closeResultSet();
+        try {
+            writeExportLine(out, csvRoutineColumnBuilder.getColumnNamesLine(), "windows-1252");
+            writeResults(out);
+        } finally {
+            csvRoutineColumnBuilder.closeResultSet();
+        }
+    }
 
-        return buffer.toByteArray();
+    @Override
+    public boolean isStreamingExport() {
+        return !errorFound;
     }
 
-    protected void writeResultsToBuffer(ByteArrayOutputStream buffer)
+    protected void writeResults(OutputStream out)
             throws IOException, UnsupportedEncodingException, SQLException, ParseException {
         while (csvRoutineColumnBuilder.next()) {
-            buffer.write(csvRoutineColumnBuilder.nextLine().getBytes("windows-1252"));
+            writeExportLine(out, csvRoutineColumnBuilder.nextLine(), "windows-1252");
         }
     }
 }
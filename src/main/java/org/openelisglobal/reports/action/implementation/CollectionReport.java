@@ -29,7 +29,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import net.sf.jasperreports.engine.JRException;
-import net.sf.jasperreports.engine.JasperRunManager;
 import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
 import org.openelisglobal.common.log.LogEvent;
 import org.openelisglobal.common.util.ConfigurationProperties;
@@ -39,6 +38,8 @@ import org.openelisglobal.patient.util.PatientUtil;
 import org.openelisglobal.patient.valueholder.Patient;
 import org.openelisglobal.reports.action.implementation.reportBeans.ErrorMessages;
 import org.openelisglobal.reports.form.ReportForm;
+import org.openelisglobal.reports.service.JasperReportService;
+import org.openelisglobal.spring.util.SpringContext;
 
 public abstract class CollectionReport implements IReportCreator {
     protected String requestedReport;
@@ -86,6 +87,13 @@ public abstract class CollectionReport implements IReportCreator {
 
     @Override
     public byte[] runReport() throws JRException, DocumentException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        runReport(outputStream);
+        return outputStream.toByteArray();
+    }
+
+    @Override
+    public void runReport(OutputStream out) throws JRException, DocumentException {
         List<byte[]> byteList = generateReports();
         if (byteList.isEmpty()) {
             Map<String, Object> parameterMap = new HashMap<>();
@@ -96,10 +104,11 @@ public abstract class CollectionReport implements IReportCreator {
             ErrorMessages msgs = new ErrorMessages();
             msgs.setMsgLine1(MessageUtil.getMessage("report.error.message.noPrintableItems"));
             errorMsgs.add(msgs);
-            return JasperRunManager.runReportToPdf(reportPath + "NoticeOfReportError.jasper", parameterMap,
-                    new JRBeanCollectionDataSource(errorMsgs));
+            SpringContext.getBean(JasperReportService.class).exportReportToPdfStream(
+                    reportPath + "NoticeOfReportError.jasper", parameterMap, new JRBeanCollectionDataSource(errorMsgs),
+                    out);
         } else {
-            return merge(byteList);
+            merge(byteList, out);
         }
     }
 
@@ -109,9 +118,19 @@ public abstract class CollectionReport implements IReportCreator {
     }
 
     protected byte[] merge(List<byte[]> byteList) throws DocumentException {
-        byte[] outputBytes;
-        OutputStream outputStream = new ByteArrayOutputStream();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        if (!merge(byteList, outputStream)) {
+            return null;
+        }
+        return outputStream.toByteArray();
+    }
 
+    /**
+     * Concatenates the PDFs in {@code byteList} into {@code outputStream}.
+     *
+     * @return false if one of the documents could not be read
+     */
+    protected boolean merge(List<byte[]> byteList, OutputStream outputStream) throws DocumentException {
         try {
 
             PdfCopyFields pcf = new PdfCopyFields(outputStream);
@@ -137,23 +156,13 @@ public abstract class CollectionReport implements IReportCreator {
                 pcf.close();
             }
 
-            outputBytes = ((ByteArrayOutputStream) outputStream).toByteArray();
-
-            return outputBytes;
+            return true;
         } catch (IOException e) {
             LogEvent.logDebug(e);
         } catch (DocumentException e) {
             LogEvent.logDebug(e);
-        } finally {
-            try {
-                if (outputStream != null) {
-                    outputStream.close();
-                }
-            } catch (IOException e) {
-                LogEvent.logDebug(e);
-            }
         }
-        return null;
+        return false;
     }
 
     protected byte[] createReport(String reportName) {
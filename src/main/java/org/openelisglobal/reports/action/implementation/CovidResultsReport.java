@@ -1,6 +1,7 @@
 package org.openelisglobal.reports.action.implementation;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.sql.SQLException;
 import java.text.ParseException;
@@ -88,6 +89,12 @@ public class CovidResultsReport extends Report implements IReportParameterSetter
         return covidDataBuilder.getDataSourceAsByteArray();
     }
 
+    @Override
+    public void runReport(OutputStream out) throws UnsupportedEncodingException, IOException, SQLException,
+            IllegalStateException, JRException, ParseException {
+        out.write(runReport());
+    }
+
     @Override
     public String getResponseHeaderName() {
         return "Content-Disposition";
@@ -15,8 +15,8 @@ package org.openelisglobal.reports.action.implementation;
 
 import static org.apache.commons.validator.GenericValidator.isBlankOrNull;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.sql.SQLException;
 import java.text.ParseException;
 import java.util.ArrayList;
@@ -128,7 +128,7 @@ public class ExportProjectByDate extends CSVSampleExportReport implements IRepor
     }
 
     @Override
-    protected void writeResultsToBuffer(ByteArrayOutputStream buffer) throws IOException, SQLException, ParseException {
+    protected void writeResults(OutputStream out) throws IOException, SQLException, ParseException {
 
         String currentAccessionNumber = null;
         String[] splitBase = null;
@@ -140,14 +140,14 @@ public class ExportProjectByDate extends CSVSampleExportReport implements IRepor
                 merge(splitBase, splitLine);
             } else {
                 if (currentAccessionNumber != null) {
-                    writeConsolidatedBaseToBuffer(buffer, splitBase);
+                    writeConsolidatedBase(out, splitBase);
                 }
                 splitBase = splitLine;
                 currentAccessionNumber = splitBase[0];
             }
         }
 
-        writeConsolidatedBaseToBuffer(buffer, splitBase);
+        writeConsolidatedBase(out, splitBase);
     }
 
     private void merge(String[] base, String[] line) {
@@ -158,7 +158,7 @@ public class ExportProjectByDate extends CSVSampleExportReport implements IRepor
         }
     }
 
-    protected void writeConsolidatedBaseToBuffer(ByteArrayOutputStream buffer, String[] splitBase) throws IOException {
+    protected void writeConsolidatedBase(OutputStream out, String[] splitBase) throws IOException {
 
         if (splitBase != null) {
             int splitBaseNumChars = StringUtil.countChars(splitBase);
@@ -169,7 +169,7 @@ public class ExportProjectByDate extends CSVSampleExportReport implements IRepor
             }
 
             consolidatedLine.deleteCharAt(consolidatedLine.lastIndexOf(","));
-            buffer.write(consolidatedLine.toString().getBytes("windows-1252"));
+            writeExportLine(out, consolidatedLine.toString(), "windows-1252");
         }
     }
 
@@ -13,8 +13,8 @@
  */
 package org.openelisglobal.reports.action.implementation;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.sql.SQLException;
 import java.text.ParseException;
@@ -127,7 +127,7 @@ public class ExportRoutineByDate extends CSVRoutineSampleExportReport
     }
 
     @Override
-    protected void writeResultsToBuffer(ByteArrayOutputStream buffer)
+    protected void writeResults(OutputStream out)
             throws IOException, UnsupportedEncodingException, SQLException, ParseException {
 
         String currentAccessionNumber = null;
@@ -140,14 +140,14 @@ public class ExportRoutineByDate extends CSVRoutineSampleExportReport
                 merge(splitBase, splitLine);
             } else {
                 if (currentAccessionNumber != null) {
-                    writeConsolidatedBaseToBuffer(buffer, splitBase);
+                    writeConsolidatedBase(out, splitBase);
                 }
                 splitBase = splitLine;
                 currentAccessionNumber = splitBase[0];
             }
         }
 
-        writeConsolidatedBaseToBuffer(buffer, splitBase);
+        writeConsolidatedBase(out, splitBase);
     }
 
     private void merge(String[] base, String[] line) {
@@ -158,7 +158,7 @@ public class ExportRoutineByDate extends CSVRoutineSampleExportReport
         }
     }
 
-    protected void writeConsolidatedBaseToBuffer(ByteArrayOutputStream buffer, String[] splitBase)
+    protected void writeConsolidatedBase(OutputStream out, String[] splitBase)
             throws IOException, UnsupportedEncodingException {
 
         if (splitBase != null) {
@@ -169,7 +169,7 @@ public class ExportRoutineByDate extends CSVRoutineSampleExportReport
             }
 
             consolidatedLine.deleteCharAt(consolidatedLine.lastIndexOf(","));
-            buffer.write(consolidatedLine.toString().getBytes("windows-1252"));
+            writeExportLine(out, consolidatedLine.toString(), "windows-1252");
         }
     }
 
@@ -15,8 +15,8 @@ package org.openelisglobal.reports.action.implementation;
 
 import static org.apache.commons.validator.GenericValidator.isBlankOrNull;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.sql.SQLException;
 import java.text.ParseException;
@@ -131,7 +131,7 @@ public class ExportStudyProjectByDate extends CSVSampleExportReport implements I
     }
 
     @Override
-    protected void writeResultsToBuffer(ByteArrayOutputStream buffer) throws IOException, SQLException, ParseException {
+    protected void writeResults(OutputStream out) throws IOException, SQLException, ParseException {
 
         String currentAccessionNumber = null;
         String[] splitBase = null;
@@ -143,14 +143,14 @@ public class ExportStudyProjectByDate extends CSVSampleExportReport implements I
                 merge(splitBase, splitLine);
             } else {
                 if (currentAccessionNumber != null) {
-                    writeConsolidatedBaseToBuffer(buffer, splitBase);
+                    writeConsolidatedBase(out, splitBase);
                 }
                 splitBase = splitLine;
                 currentAccessionNumber = splitBase[0];
             }
         }
 
-        writeConsolidatedBaseToBuffer(buffer, splitBase);
+        writeConsolidatedBase(out, splitBase);
     }
 
     private void merge(String[] base, String[] line) {
@@ -161,7 +161,7 @@ public class ExportStudyProjectByDate extends CSVSampleExportReport implements I
         }
     }
 
-    protected void writeConsolidatedBaseToBuffer(ByteArrayOutputStream buffer, String[] splitBase)
+    protected void writeConsolidatedBase(OutputStream out, String[] splitBase)
             throws IOException, UnsupportedEncodingException {
 
         if (splitBase != null) {
@@ -172,7 +172,7 @@ public class ExportStudyProjectByDate extends CSVSampleExportReport implements I
             }
 
             consolidatedLine.deleteCharAt(consolidatedLine.lastIndexOf(","));
-            buffer.write(consolidatedLine.toString().getBytes("windows-1252"));
+            writeExportLine(out, consolidatedLine.toString(), "windows-1252");
         }
     }
 
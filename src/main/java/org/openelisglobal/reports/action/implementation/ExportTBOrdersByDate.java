@@ -13,8 +13,8 @@
  */
 package org.openelisglobal.reports.action.implementation;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.sql.SQLException;
 import java.text.ParseException;
@@ -94,7 +94,7 @@ public class ExportTBOrdersByDate extends CSVRoutineSampleExportReport
     }
 
     @Override
-    protected void writeResultsToBuffer(ByteArrayOutputStream buffer)
+    protected void writeResults(OutputStream out)
             throws IOException, UnsupportedEncodingException, SQLException, ParseException {
 
         String currentAccessionNumber = null;
@@ -107,14 +107,14 @@ public class ExportTBOrdersByDate extends CSVRoutineSampleExportReport
                 merge(splitBase, splitLine);
             } else {
                 if (currentAccessionNumber != null) {
-                    writeConsolidatedBaseToBuffer(buffer, splitBase);
+                    writeConsolidatedBase(out, splitBase);
                 }
                 splitBase = splitLine;
                 currentAccessionNumber = splitBase[0];
             }
         }
 
-        writeConsolidatedBaseToBuffer(buffer, splitBase);
+        writeConsolidatedBase(out, splitBase);
     }
 
     private void merge(String[] base, String[] line) {
@@ -125,7 +125,7 @@ public class ExportTBOrdersByDate extends CSVRoutineSampleExportReport
         }
     }
 
-    protected void writeConsolidatedBaseToBuffer(ByteArrayOutputStream buffer, String[] splitBase)
+    protected void writeConsolidatedBase(OutputStream out, String[] splitBase)
             throws IOException, UnsupportedEncodingException {
 
         if (splitBase != null) {
@@ -136,7 +136,7 @@ public class ExportTBOrdersByDate extends CSVRoutineSampleExportReport
             }
 
             consolidatedLine.deleteCharAt(consolidatedLine.lastIndexOf(","));
-            buffer.write(consolidatedLine.toString().getBytes("windows-1252"));
+            writeExportLine(out, consolidatedLine.toString(), "windows-1252");
         }
     }
 
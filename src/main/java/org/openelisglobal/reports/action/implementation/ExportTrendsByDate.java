@@ -15,8 +15,8 @@ package org.openelisglobal.reports.action.implementation;
 
 import static org.apache.commons.validator.GenericValidator.isBlankOrNull;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.sql.SQLException;
 import java.text.ParseException;
@@ -134,7 +134,7 @@ public class ExportTrendsByDate extends CSVSampleExportReport implements IReport
     }
 
     @Override
-    protected void writeResultsToBuffer(ByteArrayOutputStream buffer)
+    protected void writeResults(OutputStream out)
             throws IOException, UnsupportedEncodingException, SQLException, ParseException {
 
         String currentAccessionNumber = null;
@@ -148,14 +148,14 @@ public class ExportTrendsByDate extends CSVSampleExportReport implements IReport
             } else {
                 if (currentAccessionNumber != null && writeAble(splitBase[16].trim())) {
 
-                    writeConsolidatedBaseToBuffer(buffer, splitBase);
+                    writeConsolidatedBase(out, splitBase);
                 }
                 splitBase = splitLine;
                 currentAccessionNumber = splitBase[0];
             }
         }
         if (writeAble(splitBase[16].trim())) {
-            writeConsolidatedBaseToBuffer(buffer, splitBase);
+            writeConsolidatedBase(out, splitBase);
         }
     }
 
@@ -196,7 +196,7 @@ public class ExportTrendsByDate extends CSVSampleExportReport implements IReport
         }
     }
 
-    protected void writeConsolidatedBaseToBuffer(ByteArrayOutputStream buffer, String[] splitBase)
+    protected void writeConsolidatedBase(OutputStream out, String[] splitBase)
             throws IOException, UnsupportedEncodingException {
 
         if (splitBase != null) {
@@ -207,7 +207,7 @@ public class ExportTrendsByDate extends CSVSampleExportReport implements IReport
             }
 
             consolidatedLine.deleteCharAt(consolidatedLine.lastIndexOf(","));
-            buffer.write(consolidatedLine.toString().getBytes("windows-1252"));
+            writeExportLine(out, consolidatedLine.toString(), "windows-1252");
         }
     }
 
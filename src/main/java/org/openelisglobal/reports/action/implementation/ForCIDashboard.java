@@ -15,8 +15,8 @@ package org.openelisglobal.reports.action.implementation;
 
 import static org.apache.commons.validator.GenericValidator.isBlankOrNull;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.sql.SQLException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -135,7 +135,7 @@ public class ForCIDashboard extends CSVSampleExportReport implements IReportPara
     }
 
     @Override
-    protected void writeResultsToBuffer(ByteArrayOutputStream buffer) throws IOException, SQLException, ParseException {
+    protected void writeResults(OutputStream out) throws IOException, SQLException, ParseException {
 
         String currentAccessionNumber = null;
         String[] splitBase = {};
@@ -148,14 +148,14 @@ public class ForCIDashboard extends CSVSampleExportReport implements IReportPara
             } else {
                 if (currentAccessionNumber != null && writeAble(splitBase[16].trim())) {
 
-                    writeConsolidatedBaseToBuffer(buffer, splitBase);
+                    writeConsolidatedBase(out, splitBase);
                 }
                 splitBase = splitLine;
                 currentAccessionNumber = splitBase[0];
             }
         }
         if (writeAble(splitBase[16].trim())) {
-            writeConsolidatedBaseToBuffer(buffer, splitBase);
+            writeConsolidatedBase(out, splitBase);
         }
     }
 
@@ -189,7 +189,7 @@ public class ForCIDashboard extends CSVSampleExportReport implements IReportPara
         }
     }
 
-    protected void writeConsolidatedBaseToBuffer(ByteArrayOutputStream buffer, String[] splitBase) throws IOException {
+    protected void writeConsolidatedBase(OutputStream out, String[] splitBase) throws IOException {
 
         if (splitBase != null) {
             int splitBaseNumChars = StringUtil.countChars(splitBase);
@@ -200,7 +200,7 @@ public class ForCIDashboard extends CSVSampleExportReport implements IReportPara
             }
 
             consolidatedLine.deleteCharAt(consolidatedLine.lastIndexOf(","));
-            buffer.write(consolidatedLine.toString().getBytes("windows-1252"));
+            writeExportLine(out, consolidatedLine.toString(), "windows-1252");
         }
     }
 
@@ -15,6 +15,7 @@ package org.openelisglobal.reports.action.implementation;
 
 import com.itextpdf.text.DocumentException;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.sql.SQLException;
 import java.text.ParseException;
@@ -22,6 +23,7 @@ import java.util.HashMap;
 import java.util.List;
 import net.sf.jasperreports.engine.JRException;
 import org.openelisglobal.common.action.IActionConstants;
+import org.openelisglobal.reports.action.util.ReportExportProgress;
 import org.openelisglobal.reports.form.ReportForm;
 
 public interface IReportCreator {
@@ -42,6 +44,32 @@ public interface IReportCreator {
     byte[] runReport() throws UnsupportedEncodingException, IOException, SQLException, IllegalStateException,
             JRException, DocumentException, ParseException;
 
+    /**
+     * Writes the report to {@code out}. By default this buffers the output of
+     * {@link #runReport()}; Jasper PDF reports override it to export straight to
+     * the stream.
+     */
+    default void runReport(OutputStream out) throws UnsupportedEncodingException, IOException, SQLException,
+            IllegalStateException, JRException, DocumentException, ParseException {
+        out.write(runReport());
+    }
+
+    /**
+     * @return true if {@link #runReport(OutputStream)} writes rows as they are
+     *         read from the database, in which case the caller may compress the
+     *         response and track the export's progress
+     */
+    default boolean isStreamingExport() {
+        return false;
+    }
+
+    /**
+     * Called before {@link #runReport(OutputStream)} for streaming exports.
+     * Reports that do not stream ignore it.
+     */
+    default void setExportProgress(ReportExportProgress progress) {
+    }
+
     void setReportPath(String path);
 
     void setRequestedReport(String report);
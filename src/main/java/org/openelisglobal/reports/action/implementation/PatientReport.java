@@ -50,8 +50,9 @@ import org.openelisglobal.common.services.TestIdentityService;
 import org.openelisglobal.common.util.ConfigurationProperties;
 import org.openelisglobal.common.util.ConfigurationProperties.Property;
 import org.openelisglobal.common.util.DateUtil;
+import org.openelisglobal.dictionary.service.DictionaryResolutionService;
 import org.openelisglobal.dictionary.service.DictionaryService;
-import org.openelisglobal.dictionary.valueholder.Dictionary;
+import org.openelisglobal.dictionary.valueholder.ResolvedDictionary;
 import org.openelisglobal.internationalization.MessageUtil;
 import org.openelisglobal.note.service.NoteService;
 import org.openelisglobal.note.service.NoteServiceImpl.NoteType;
@@ -104,6 +105,8 @@ public abstract class PatientReport extends Report {
 
     protected SampleHumanService sampleHumanService = SpringContext.getBean(SampleHumanService.class);
     protected DictionaryService dictionaryService = SpringContext.getBean(DictionaryService.class);
+    protected DictionaryResolutionService dictionaryResolutionService = SpringContext
+            .getBean(DictionaryResolutionService.class);
     protected SampleService sampleService = SpringContext.getBean(SampleService.class);
     protected PatientService patientService = SpringContext.getBean(PatientService.class);
     protected PersonService personService = SpringContext.getBean(PersonService.class);
@@ -708,16 +711,14 @@ public abstract class PatientReport extends Report {
             if (resultList.size() == 1) {
                 Result result = resultList.get(0);
                 if (TypeOfTestResultServiceImpl.ResultType.isDictionaryVariant(result.getResultType())) {
-                    Dictionary dictionary = new Dictionary();
-                    dictionary.setId(result.getValue());
-                    dictionaryService.getData(dictionary);
+                    ResolvedDictionary dictionary = dictionaryResolutionService.resolve(result.getValue());
                     ResultService resultResultService = SpringContext.getBean(ResultService.class);
                     data.setAbnormalResult(resultResultService.isAbnormalDictionaryResult(result));
 
                     if (result.getAnalyte() != null && "Conclusion".equals(result.getAnalyte().getAnalyteName())) {
-                        currentConclusion = dictionary.getId() != null ? dictionary.getLocalizedName() : "";
+                        currentConclusion = dictionary != null ? dictionary.getLocalizedName() : "";
                     } else {
-                        reportResult = dictionary.getId() != null ? dictionary.getLocalizedName() : "";
+                        reportResult = dictionary != null ? dictionary.getLocalizedName() : "";
                     }
                 } else {
                     ResultService resultResultService = SpringContext.getBean(ResultService.class);
@@ -748,15 +749,15 @@ public abstract class PatientReport extends Report {
                         }
                     }
 
-                    Dictionary dictionary = new Dictionary();
+                    Map<String, ResolvedDictionary> dictionaries = dictionaryResolutionService
+                            .resolveAll(dictionaryResults.stream().map(Result::getValue).toList());
                     for (Result sibResult : dictionaryResults) {
-                        dictionary.setId(sibResult.getValue());
-                        dictionaryService.getData(dictionary);
+                        ResolvedDictionary dictionary = dictionaries.get(sibResult.getValue());
                         if (sibResult.getAnalyte() != null
                                 && "Conclusion".equals(sibResult.getAnalyte().getAnalyteName())) {
-                            currentConclusion = dictionary.getId() != null ? dictionary.getLocalizedName() : "";
+                            currentConclusion = dictionary != null ? dictionary.getLocalizedName() : "";
                         } else {
-                            reportResult = dictionary.getId() != null ? dictionary.getLocalizedName() : "";
+                            reportResult = dictionary != null ? dictionary.getLocalizedName() : "";
                             if (quantification != null
                                     && quantification.getParentResult().getId().equals(sibResult.getId())) {
                                 reportResult += ": " + quantification.getValue();
@@ -765,7 +766,6 @@ public abstract class PatientReport extends Report {
                     }
                 } else if (TypeOfTestResultServiceImpl.ResultType
                         .isMultiSelectVariant(resultResultService.getTestType(result))) {
-                    Dictionary dictionary = new Dictionary();
                     StringBuilder multiResult = new StringBuilder();
 
                     Collections.sort(resultList, new Comparator<Result>() {
@@ -787,16 +787,17 @@ public abstract class PatientReport extends Report {
                             break;
                         }
                     }
+                    Map<String, ResolvedDictionary> dictionaries = dictionaryResolutionService
+                            .resolveAll(resultList.stream().map(Result::getValue).toList());
                     int currentGrouping = resultList.get(0).getGrouping();
                     for (Result subResult : resultList) {
                         if (subResult.getGrouping() != currentGrouping) {
                             currentGrouping = subResult.getGrouping();
                             multiResult.append("-------\n");
                         }
-                        dictionary.setId(subResult.getValue());
-                        dictionaryService.getData(dictionary);
+                        ResolvedDictionary dictionary = dictionaries.get(subResult.getValue());
 
-                        if (dictionary.getId() != null) {
+                        if (dictionary != null) {
                             multiResult.append(dictionary.getLocalizedName());
                             if (quantifiedResult != null
                                     && quantifiedResult.getParentResult().getId().equals(subResult.getId())
@@ -1050,10 +1051,8 @@ public abstract class PatientReport extends Report {
         }
         if (TypeOfTestResultServiceImpl.ResultType.isDictionaryVariant(type)) {
             if (result.getValue() != null && !"null".equals(result.getValue())) {
-                Dictionary dictionary = new Dictionary();
-                dictionary.setId(result.getValue());
-                dictionaryService.getData(dictionary);
-                reportResult = dictionary.getId() != null ? dictionary.getLocalizedName() : "";
+                ResolvedDictionary dictionary = dictionaryResolutionService.resolve(result.getValue());
+                reportResult = dictionary != null ? dictionary.getLocalizedName() : "";
             }
         } else {
             reportResult = result.getValue();
@@ -17,6 +17,7 @@ import static org.apache.commons.validator.GenericValidator.isBlankOrNull;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.sql.Date;
 import java.sql.SQLException;
@@ -28,7 +29,6 @@ import java.util.Optional;
 import net.sf.jasperreports.engine.JRDataSource;
 import net.sf.jasperreports.engine.JRException;
 import net.sf.jasperreports.engine.JRParameter;
-import net.sf.jasperreports.engine.JasperRunManager;
 import org.apache.commons.validator.GenericValidator;
 import org.openelisglobal.common.exception.LIMSRuntimeException;
 import org.openelisglobal.common.log.LogEvent;
@@ -41,6 +41,8 @@ import org.openelisglobal.internationalization.MessageUtil;
 import org.openelisglobal.organization.service.OrganizationService;
 import org.openelisglobal.organization.valueholder.Organization;
 import org.openelisglobal.reports.action.implementation.reportBeans.ErrorMessages;
+import org.openelisglobal.reports.action.util.ReportExportProgress;
+import org.openelisglobal.reports.service.JasperReportService;
 import org.openelisglobal.spring.util.SpringContext;
 import org.springframework.context.i18n.LocaleContextHolder;
 
@@ -48,6 +50,7 @@ public abstract class Report implements IReportCreator {
 
     private ImageService imageService = SpringContext.getBean(ImageService.class);
     private OrganizationService organizationService = SpringContext.getBean(OrganizationService.class);
+    private JasperReportService jasperReportService = SpringContext.getBean(JasperReportService.class);
     public static final String ERROR_REPORT = "NoticeOfReportError";
 
     protected static final String CSV = "csv";
@@ -59,6 +62,7 @@ public abstract class Report implements IReportCreator {
     protected String requestedReport;
     private String fullReportFilename;
     protected String systemUserId;
+    protected ReportExportProgress exportProgress;
 
     @Override
     public void setRequestedReport(String report) {
@@ -70,6 +74,11 @@ public abstract class Report implements IReportCreator {
         systemUserId = id;
     }
 
+    @Override
+    public void setExportProgress(ReportExportProgress progress) {
+        exportProgress = progress;
+    }
+
     protected void initializeReport() {
         initialized = true;
     }
@@ -122,7 +131,30 @@ public abstract class Report implements IReportCreator {
     @Override
     public byte[] runReport() throws UnsupportedEncodingException, IOException, SQLException, IllegalStateException,
             JRException, ParseException {
-        return JasperRunManager.runReportToPdf(fullReportFilename, getReportParameters(), getReportDataSource());
+        return jasperReportService.runReportToPdf(fullReportFilename, getReportParameters(), getReportDataSource());
+    }
+
+    @Override
+    public void runReport(OutputStream out) throws UnsupportedEncodingException, IOException, SQLException,
+            IllegalStateException, JRException, ParseException {
+        jasperReportService.exportReportToPdfStream(fullReportFilename, getReportParameters(), getReportDataSource(),
+                out);
+    }
+
+    /**
+     * Writes one line of a streamed export, stopping with a
+     * {@link java.util.concurrent.CancellationException} if the export has been
+     * cancelled.
+     */
+    protected void writeExportLine(OutputStream out, String line, String charset) throws IOException {
+        if (exportProgress != null) {
+            exportProgress.checkNotCancelled();
+        }
+        byte[] bytes = line.getBytes(charset);
+        out.write(bytes);
+        if (exportProgress != null) {
+            exportProgress.rowWritten(bytes.length);
+        }
     }
 
     public abstract JRDataSource getReportDataSource() throws IllegalStateException;
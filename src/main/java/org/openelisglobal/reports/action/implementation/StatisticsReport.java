@@ -1,6 +1,7 @@
 package org.openelisglobal.reports.action.implementation;
 
 import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Calendar;
@@ -28,6 +29,8 @@ import org.openelisglobal.internationalization.MessageUtil;
 import org.openelisglobal.reports.action.implementation.reportBeans.StatisticsReportData;
 import org.openelisglobal.reports.form.ReportForm;
 import org.openelisglobal.reports.form.ReportForm.ReceptionTime;
+import org.openelisglobal.reports.service.AnalysisFactService;
+import org.openelisglobal.reports.valueholder.AnalysisMonthlyCount;
 import org.openelisglobal.sample.valueholder.OrderPriority;
 import org.openelisglobal.spring.util.SpringContext;
 import org.openelisglobal.test.service.TestSectionService;
@@ -93,7 +96,6 @@ public class StatisticsReport extends IndicatorReport implements IReportCreator,
     }
 
     public void createReportData(ReportForm form) {
-        AnalysisService analysisService = SpringContext.getBean(AnalysisService.class);
         TestService testService = SpringContext.getBean(TestService.class);
         Date firstDate = DateUtil.getFistDayOfTheYear(Integer.valueOf(form.getUpperYear()));
 
@@ -102,6 +104,89 @@ public class StatisticsReport extends IndicatorReport implements IReportCreator,
         List<Integer> testSectionIds = form.getLabSections().stream().map(sectionId -> Integer.valueOf(sectionId))
                 .collect(Collectors.toList());
         reportItems = new ArrayList<>();
+
+        int reportYear = Integer.valueOf(form.getUpperYear());
+        LocalDate firstDay = LocalDate.of(reportYear, 1, 1);
+        LocalDate lastDay = LocalDate.of(reportYear, 12, 31);
+        AnalysisFactService analysisFactService = SpringContext.getBean(AnalysisFactService.class);
+        if (analysisFactService.isCovered(firstDay, lastDay)) {
+            createReportDataFromFacts(analysisFactService, form, testList, testSectionIds, firstDay, lastDay);
+        } else {
+            createReportDataFromAnalyses(form, testList, testSectionIds, firstDate, lastDate);
+        }
+        if (reportItems.isEmpty()) {
+            StatisticsReportData emptydata = new StatisticsReportData();
+            emptydata.setTestName(null);
+            reportItems.add(emptydata);
+        }
+    }
+
+    /**
+     * Same counts as {@link #createReportDataFromAnalyses}, read from the daily
+     * analysis facts instead of loading every analysis started in the year
+     */
+    private void createReportDataFromFacts(AnalysisFactService analysisFactService, ReportForm form,
+            List<Test> testList, List<Integer> testSectionIds, LocalDate firstDay, LocalDate lastDay) {
+        List<String> priorities = null;
+        if (form.getPriority().size() < OrderPriority.values().length) {
+            priorities = form.getPriority().stream().map(OrderPriority::name).collect(Collectors.toList());
+        }
+        Integer workHours = null;
+        if (form.getReceptionTime() != null && form.getReceptionTime().size() == 1) {
+            workHours = form.getReceptionTime().get(0) == ReceptionTime.NORMAL_WORK_HOURS ? 1 : 0;
+        }
+        if (testSectionIds.isEmpty() || (priorities != null && priorities.isEmpty())) {
+            return;
+        }
+        Integer finalizedStatusId = Integer.valueOf(
+                SpringContext.getBean(IStatusService.class).getStatusID(AnalysisStatus.Finalized));
+
+        // tests per month in the first 12 entries, samples per month in the last 12
+        Map<String, int[]> countsByTest = new HashMap<>();
+        for (AnalysisMonthlyCount count : analysisFactService.getMonthlyCounts(firstDay, lastDay, testSectionIds,
+                finalizedStatusId, priorities, workHours)) {
+            int[] counts = countsByTest.computeIfAbsent(count.testId(), testId -> new int[24]);
+            counts[count.month() - 1] += (int) count.analyses();
+            counts[count.month() + 11] += (int) count.samples();
+        }
+
+        testList.forEach(test -> {
+            int[] counts = countsByTest.get(test.getId());
+            if (counts != null) {
+                StatisticsReportData data = new StatisticsReportData();
+                data.setTestName(test.getLocalizedName());
+                data.setTestsJan(counts[0]);
+                data.setSamplesJan(counts[12]);
+                data.setTestsFeb(counts[1]);
+                data.setSamplesFeb(counts[13]);
+                data.setTestsMar(counts[2]);
+                data.setSamplesMar(counts[14]);
+                data.setTestsApr(counts[3]);
+                data.setSamplesApr(counts[15]);
+                data.setTestsMay(counts[4]);
+                data.setSamplesMay(counts[16]);
+                data.setTestsJun(counts[5]);
+                data.setSamplesJun(counts[17]);
+                data.setTestsJul(counts[6]);
+                data.setSamplesJul(counts[18]);
+                data.setTestsAug(counts[7]);
+                data.setSamplesAug(counts[19]);
+                data.setTestsSep(counts[8]);
+                data.setSamplesSep(counts[20]);
+                data.setTestsOct(counts[9]);
+                data.setSamplesOct(counts[21]);
+                data.setTestsNov(counts[10]);
+                data.setSamplesNov(counts[22]);
+                data.setTestsDec(counts[11]);
+                data.setSamplesDec(counts[23]);
+                reportItems.add(data);
+            }
+        });
+    }
+
+    private void createReportDataFromAnalyses(ReportForm form, List<Test> testList, List<Integer> testSectionIds,
+            Date firstDate, Date lastDate) {
+        AnalysisService analysisService = SpringContext.getBean(AnalysisService.class);
         testList.forEach(test -> {
             List<Analysis> yearAnalysis = new ArrayList();
             // get all anaysis collected with in the specifed year m for a specific test and
@@ -268,11 +353,6 @@ public class StatisticsReport extends IndicatorReport implements IReportCreator,
                 reportItems.add(data);
             }
         });
-        if (reportItems.isEmpty()) {
-            StatisticsReportData emptydata = new StatisticsReportData();
-            emptydata.setTestName(null);
-            reportItems.add(emptydata);
-        }
     }
 
     @Override
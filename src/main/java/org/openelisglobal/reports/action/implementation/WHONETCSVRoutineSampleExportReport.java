@@ -16,6 +16,7 @@ package org.openelisglobal.reports.action.implementation;
 import jakarta.xml.ws.Response;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.sql.SQLException;
 import java.text.ParseException;
@@ -64,17 +65,39 @@ public abstract class WHONETCSVRoutineSampleExportReport extends WHONETCSVRoutin
         }
 
         ByteArrayOutputStream buffer = new ByteArrayOutputStream(100000);
-        buffer.write(WHONETcsvRoutineColumnBuilder.getColumnNamesLine().getBytes("UTF-8"));
+        runReport(buffer);
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Writes the CSV to {@code out} a row at a time as it is read from the
+     * database, so the size of the export is not limited by memory.
+     */
+    @Override
+    public void runReport(OutputStream out) throws UnsupportedEncodingException, IOException, SQLException,
+            IllegalStateException, JRException, ParseException {
+        if (errorFound) {
+            super.runReport(out);
+            return;
+        }
 
-        writeResultsToBuffer(buffer);
+        try {
+            writeExportLine(out, WHONETcsvRoutineColumnBuilder.getColumnNamesLine(), "UTF-8");
+            writeResults(out);
+        } finally {
+            WHONETcsvRoutineColumnBuilder.closeResultSet();
+        }
+    }
 
-        return buffer.toByteArray();
+    @Override
+    public boolean isStreamingExport() {
+        return !errorFound;
     }
 
-    protected void writeResultsToBuffer(ByteArrayOutputStream buffer)
+    protected void writeResults(OutputStream out)
             throws IOException, UnsupportedEncodingException, SQLException, ParseException {
         while (WHONETcsvRoutineColumnBuilder.next()) {
-            buffer.write(WHONETcsvRoutineColumnBuilder.nextLine().getBytes("UTF-8"));
+            writeExportLine(out, WHONETcsvRoutineColumnBuilder.nextLine(), "UTF-8");
         }
     }
-}
\ No newline at end of file
+}
@@ -23,8 +23,10 @@ import static org.openelisglobal.reports.action.implementation.reportBeans.CSVCo
 
 import java.sql.Connection;
 import java.sql.Date;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -132,6 +134,9 @@ public abstract class CSVColumnBuilder {
     protected static final SimpleDateFormat postgresDateFormat = new SimpleDateFormat("yyyy-MM-dd");
     private static final SimpleDateFormat postgresDateTime = new SimpleDateFormat("yyyy-MM-dd hh:mm:ss");
 
+    /** rows fetched from the database per round trip while exporting */
+    protected static final int FETCH_SIZE = 1000;
+
     protected ResultSet resultSet;
 
     protected String eol = System.getProperty("line.separator");
@@ -251,8 +256,12 @@ public abstract class CSVColumnBuilder {
 
             @Override
             public ResultSet execute(Connection connection) throws SQLException {
-                return connection.prepareStatement(sql, ResultSet.TYPE_SCROLL_SENSITIVE, ResultSet.CONCUR_READ_ONLY)
-                        .executeQuery();
+                // forward only with a fetch size so the driver reads the rows through a
+                // cursor instead of materializing the whole export
+                PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement.executeQuery();
             }
         });
     }
@@ -745,8 +754,15 @@ public abstract class CSVColumnBuilder {
      * @throws SQLException
      */
     public void closeResultSet() throws SQLException {
+        if (resultSet == null) {
+            return;
+        }
+        Statement statement = resultSet.getStatement();
         resultSet.close();
         resultSet = null;
+        if (statement != null) {
+            statement.close();
+        }
     }
 
     protected String getGendCD4CountAnalyteId() {
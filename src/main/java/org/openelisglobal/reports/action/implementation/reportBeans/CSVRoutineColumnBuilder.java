@@ -22,8 +22,10 @@ import static org.openelisglobal.reports.action.implementation.reportBeans.CSVRo
 import static org.openelisglobal.reports.action.implementation.reportBeans.CSVRoutineColumnBuilder.Strategy.TEST_RESULT;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -131,7 +133,11 @@ public abstract class CSVRoutineColumnBuilder {
     protected static final SimpleDateFormat postgresDateFormat = new SimpleDateFormat("yyyy-MM-dd");
     private static final SimpleDateFormat postgresDateTime = new SimpleDateFormat("yyyy-MM-dd hh:mm:ss");
 
+    /** rows fetched from the database per round trip while exporting */
+    protected static final int FETCH_SIZE = 1000;
+
     protected ResultSet resultSet;
+    private Session session;
 
     protected String eol = System.getProperty("line.separator");
 
@@ -231,14 +237,19 @@ public abstract class CSVRoutineColumnBuilder {
         // ResultSet.TYPE_SCROLL_SENSITIVE,
         // ResultSet.CONCUR_READ_ONLY);
         // resultSet = stmt.executeQuery();
-        Session session = SpringContext.getBean(SessionFactory.class).openSession();
+        session = SpringContext.getBean(SessionFactory.class).openSession();
+        // the PostgreSQL driver only honours the fetch size outside of auto-commit
+        session.beginTransaction();
         resultSet = session.doReturningWork(new ReturningWork<ResultSet>() {
 
             @Override
             public ResultSet execute(Connection connection) throws SQLException {
-
-                return connection.prepareStatement(sql, ResultSet.TYPE_SCROLL_SENSITIVE, ResultSet.CONCUR_READ_ONLY)
-                        .executeQuery();
+                // forward only with a fetch size so the driver reads the rows through a
+                // cursor instead of materializing the whole export
+                PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement.executeQuery();
             }
         });
     }
@@ -726,8 +737,25 @@ public abstract class CSVRoutineColumnBuilder {
      * @throws SQLException
      */
     public void closeResultSet() throws SQLException {
-        resultSet.close();
-        resultSet = null;
+        try {
+            if (resultSet != null) {
+                Statement statement = resultSet.getStatement();
+                resultSet.close();
+                resultSet = null;
+                if (statement != null) {
+                    statement.close();
+                }
+            }
+        } finally {
+            if (session != null) {
+                // nothing was written, so the read-only transaction is simply discarded
+                if (session.getTransaction().isActive()) {
+                    session.getTransaction().rollback();
+                }
+                session.close();
+                session = null;
+            }
+        }
     }
 
     protected String getGendCD4CountAnalyteId() {
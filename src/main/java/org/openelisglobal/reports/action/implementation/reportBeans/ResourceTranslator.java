@@ -18,13 +18,15 @@
 package org.openelisglobal.reports.action.implementation.reportBeans;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.openelisglobal.common.log.LogEvent;
 import org.openelisglobal.common.valueholder.BaseObject;
-import org.openelisglobal.dictionary.service.DictionaryService;
+import org.openelisglobal.dictionary.service.DictionaryResolutionService;
 import org.openelisglobal.dictionary.valueholder.Dictionary;
+import org.openelisglobal.dictionary.valueholder.ResolvedDictionary;
 import org.openelisglobal.gender.service.GenderService;
 import org.openelisglobal.gender.valueholder.Gender;
 import org.openelisglobal.spring.util.SpringContext;
@@ -147,13 +149,35 @@ public class ResourceTranslator<T extends BaseObject<PK>, PK extends Serializabl
             return instance;
         }
 
+        private final DictionaryResolutionService dictionaryResolutionService;
+
+        /**
+         * Looks dictionaries up through the shared dictionary cache rather than
+         * holding a copy of the whole table, which went stale as soon as a dictionary
+         * was edited.
+         */
         public DictionaryTranslator() {
-            super(SpringContext.getBean(DictionaryService.class).getAll());
+            super(new ArrayList<>());
+            dictionaryResolutionService = SpringContext.getBean(DictionaryResolutionService.class);
         }
 
         @Override
         protected String getKey(Dictionary d) {
             return d.getId();
         }
+
+        @Override
+        public String translateRaw(String id) {
+            if ("0".equals(id)) {
+                return "";
+            }
+            ResolvedDictionary dictionary = dictionaryResolutionService.resolve(id);
+            if (dictionary == null) {
+                LogEvent.logWarn(this.getClass().getSimpleName(), "translateRaw", NOT_FOUND_TAG + " " + id
+                        + " not found in " + this.getClass().getSimpleName() + " " + NOT_FOUND_TAG);
+                return id;
+            }
+            return dictionary.getLocalizedName();
+        }
     }
 }
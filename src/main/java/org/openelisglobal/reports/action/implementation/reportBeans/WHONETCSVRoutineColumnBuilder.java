@@ -21,9 +21,12 @@ import java.sql.Date;
 import java.sql.SQLException;
 import java.text.ParseException;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import org.openelisglobal.reports.action.implementation.Report.DateRange;
 import org.openelisglobal.reports.service.WHONetReportService;
+import org.openelisglobal.sampleitem.valueholder.SampleItem;
 import org.openelisglobal.spring.util.SpringContext;
 
 /**
@@ -92,8 +95,13 @@ public class WHONETCSVRoutineColumnBuilder {
         }
     }
 
-    private List<WHONetRow> rows;
-    private int index = -1;
+    private WHONetReportService reportService;
+    private List<String> triggerTestIds;
+    private Iterator<SampleItem> sampleItems;
+    // rows of the sample item being written, so only one sample item's rows are
+    // held in memory at a time
+    private Iterator<WHONetRow> rows;
+    private WHONetRow row;
 
     private String eol = System.getProperty("line.separator");
     private DateRange dateRange;
@@ -107,11 +115,12 @@ public class WHONETCSVRoutineColumnBuilder {
     }
 
     public void searchForWHONetResults() {
-        WHONetReportService reportService = SpringContext.getBean(WHONetReportService.class);
+        reportService = SpringContext.getBean(WHONetReportService.class);
         Date lowDate = dateRange.getLowDate();
         Date highDate = dateRange.getHighDate();
-        rows = reportService.getWHONetRows(lowDate, highDate);
-        return;
+        triggerTestIds = reportService.getTriggeringTestIds();
+        sampleItems = reportService.getAntimicrobialEntries(lowDate, highDate).iterator();
+        rows = Collections.emptyIterator();
     }
 
     public void buildDataSource() throws SQLException {
@@ -136,10 +145,32 @@ public class WHONETCSVRoutineColumnBuilder {
      * @throws SQLException
      */
     public String nextLine() throws SQLException, ParseException {
-        return new StringBuilder().append(rows.get(index).getRow()).append(eol).toString();
+        return new StringBuilder().append(row.getRow()).append(eol).toString();
     }
 
+    /**
+     * Moves to the next row, building the rows of the next sample item once the
+     * current one's are written.
+     */
     public boolean next() throws SQLException {
-        return ++index < rows.size();
+        while (!rows.hasNext()) {
+            if (!sampleItems.hasNext()) {
+                row = null;
+                return false;
+            }
+            rows = reportService.getWHONetRows(sampleItems.next(), triggerTestIds).iterator();
+        }
+        row = rows.next();
+        return true;
+    }
+
+    /**
+     * Releases the sample items read for the export, as the other column builders
+     * close their result set once the export is written.
+     */
+    public void closeResultSet() {
+        sampleItems = Collections.emptyIterator();
+        rows = Collections.emptyIterator();
+        row = null;
     }
 }
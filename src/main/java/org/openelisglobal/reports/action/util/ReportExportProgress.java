@@ -0,0 +1,82 @@
+package org.openelisglobal.reports.action.util;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks a single streaming export while it is being written to the client.
+ * The exporting thread records rows as they are written and checks
+ * {@link #checkNotCancelled()} between rows so that a cancel request stops the
+ * query at the next row rather than after the whole file has been produced.
+ */
+public class ReportExportProgress {
+
+    private final String exportId;
+    private final String reportName;
+    private final String systemUserId;
+    private final long startedMillis = System.currentTimeMillis();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private volatile boolean cancelled = false;
+
+    public ReportExportProgress(String exportId, String reportName, String systemUserId) {
+        this.exportId = exportId;
+        this.reportName = reportName;
+        this.systemUserId = systemUserId;
+    }
+
+    public void rowWritten(long bytes) {
+        rowsWritten.incrementAndGet();
+        bytesWritten.addAndGet(bytes);
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @throws CancellationException if the export has been cancelled
+     */
+    public void checkNotCancelled() {
+        if (cancelled) {
+            throw new CancellationException("export " + exportId + " cancelled after " + rowsWritten.get() + " rows");
+        }
+    }
+
+    public String getExportId() {
+        return exportId;
+    }
+
+    public String getReportName() {
+        return reportName;
+    }
+
+    public String getSystemUserId() {
+        return systemUserId;
+    }
+
+    public long getStartedMillis() {
+        return startedMillis;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public long getElapsedMillis() {
+        return System.currentTimeMillis() - startedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed == 0 ? 0 : rowsWritten.get() * 1000.0 / elapsed;
+    }
+}
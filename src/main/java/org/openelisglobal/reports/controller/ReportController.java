@@ -54,6 +54,8 @@ public class ReportController extends BaseController {
 
     @Autowired
     private ServletContext context;
+    @Autowired
+    private ReportExportResponseWriter reportExportResponseWriter;
 
     private String reportPath = null;
     private String imagesPath = null;
@@ -124,15 +126,16 @@ public class ReportController extends BaseController {
                     response.setHeader(responseHeaderName, responseHeaderContent);
                 }
 
-                byte[] bytes = reportCreator.runReport();
-
-                response.setContentLength(bytes.length);
-
-                ServletOutputStream servletOutputStream = response.getOutputStream();
-
-                servletOutputStream.write(bytes, 0, bytes.length);
-                servletOutputStream.flush();
-                servletOutputStream.close();
+                if (reportCreator.isStreamingExport()) {
+                    reportExportResponseWriter.writeExport(reportCreator, request.getParameter("report"),
+                            getSysUserId(request), request, response);
+                } else {
+                    // written as it is exported so that large reports are not held in memory
+                    ServletOutputStream servletOutputStream = response.getOutputStream();
+                    reportCreator.runReport(servletOutputStream);
+                    servletOutputStream.flush();
+                    servletOutputStream.close();
+                }
             } catch (IOException | SQLException | JRException | DocumentException | ParseException e) {
                 LogEvent.logError(e);
             }
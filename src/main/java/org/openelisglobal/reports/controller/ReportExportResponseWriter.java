@@ -0,0 +1,98 @@
+package org.openelisglobal.reports.controller;
+
+import com.itextpdf.text.DocumentException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.text.ParseException;
+import java.util.concurrent.CancellationException;
+import java.util.zip.GZIPOutputStream;
+import net.sf.jasperreports.engine.JRException;
+import org.openelisglobal.common.log.LogEvent;
+import org.openelisglobal.reports.action.implementation.IReportCreator;
+import org.openelisglobal.reports.action.util.ReportExportProgress;
+import org.openelisglobal.reports.service.ReportExportProgressService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes a streaming export (see {@link IReportCreator#isStreamingExport()})
+ * to the response, gzip compressed when the client accepts it, while
+ * registering it with {@link ReportExportProgressService} so that it can be
+ * monitored and cancelled.
+ */
+@Component
+public class ReportExportResponseWriter {
+
+    public static final String EXPORT_ID_PARAMETER = "exportId";
+    public static final String EXPORT_ID_HEADER = "X-Export-Id";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ReportExportProgressService reportExportProgressService;
+
+    @Value("${org.openelisglobal.reports.export.gzip:true}")
+    private boolean gzipEnabled;
+
+    public ReportExportResponseWriter(ReportExportProgressService reportExportProgressService) {
+        this.reportExportProgressService = reportExportProgressService;
+    }
+
+    public void writeExport(IReportCreator reportCreator, String reportName, String systemUserId,
+            HttpServletRequest request, HttpServletResponse response)
+            throws IOException, SQLException, JRException, DocumentException, ParseException {
+        ReportExportProgress progress = reportExportProgressService.start(request.getParameter(EXPORT_ID_PARAMETER),
+                reportName, systemUserId);
+        response.setHeader(EXPORT_ID_HEADER, progress.getExportId());
+        boolean gzip = gzipEnabled && acceptsGzip(request);
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip");
+            response.addHeader("Vary", "Accept-Encoding");
+        }
+
+        reportCreator.setExportProgress(progress);
+        try {
+            OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream(), BUFFER_SIZE)
+                    : new BufferedOutputStream(response.getOutputStream(), BUFFER_SIZE);
+            reportCreator.runReport(out);
+            // only a finished export gets its gzip trailer and the end of the response
+            out.close();
+        } catch (CancellationException e) {
+            LogEvent.logInfo(this.getClass().getSimpleName(), "writeExport", e.getMessage());
+            abort(response, HttpServletResponse.SC_GONE, e);
+        } catch (IOException | SQLException | JRException | DocumentException | ParseException
+                | RuntimeException e) {
+            abort(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e);
+            throw e;
+        } finally {
+            reportExportProgressService.finish(progress);
+            LogEvent.logDebug(this.getClass().getSimpleName(), "writeExport",
+                    reportName + ": " + progress.getRowsWritten() + " rows, " + progress.getBytesWritten()
+                            + " bytes in " + progress.getElapsedMillis() + " ms");
+        }
+    }
+
+    /**
+     * Ends a cancelled or failed export so that the client sees a failed download
+     * rather than a truncated file that looks complete. Before anything has been
+     * sent the response is replaced by an error status. Once it is committed the
+     * stream is left unfinished and the failure is rethrown unchecked, past the
+     * controllers' catch blocks, so that the container drops the connection
+     * instead of ending the response normally.
+     */
+    private void abort(HttpServletResponse response, int status, Exception e) throws IOException {
+        if (response.isCommitted()) {
+            throw new IllegalStateException("export aborted after the response was committed", e);
+        }
+        response.reset();
+        response.sendError(status, e.getMessage());
+    }
+
+    private boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader("Accept-Encoding");
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+}
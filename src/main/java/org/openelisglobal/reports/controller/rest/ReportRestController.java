@@ -10,9 +10,14 @@ import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URLDecoder;
+import java.nio.file.Files;
 import java.sql.SQLException;
 import java.text.ParseException;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
 import net.sf.jasperreports.engine.JRException;
 import org.openelisglobal.common.exception.LIMSRuntimeException;
 import org.openelisglobal.common.log.LogEvent;
@@ -20,9 +25,17 @@ import org.openelisglobal.common.rest.BaseRestController;
 import org.openelisglobal.common.util.validator.GenericValidator;
 import org.openelisglobal.reports.action.implementation.IReportCreator;
 import org.openelisglobal.reports.action.implementation.ReportImplementationFactory;
+import org.openelisglobal.reports.action.util.ReportExportProgress;
+import org.openelisglobal.reports.controller.ReportExportResponseWriter;
 import org.openelisglobal.reports.form.ReportForm;
+import org.openelisglobal.reports.service.ReportExportProgressService;
+import org.openelisglobal.reports.service.ReportJobService;
+import org.openelisglobal.reports.valueholder.ReportJob;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -34,6 +47,12 @@ public class ReportRestController extends BaseRestController {
 
     @Autowired
     private ServletContext context;
+    @Autowired
+    private ReportExportResponseWriter reportExportResponseWriter;
+    @Autowired
+    private ReportExportProgressService reportExportProgressService;
+    @Autowired
+    private ReportJobService reportJobService;
 
     private static String reportPath = null;
 
@@ -66,15 +85,16 @@ public class ReportRestController extends BaseRestController {
                     response.setHeader(responseHeaderName, responseHeaderContent);
                 }
 
-                byte[] bytes = reportCreator.runReport();
-
-                response.setContentLength(bytes.length);
-
-                ServletOutputStream servletOutputStream = response.getOutputStream();
-
-                servletOutputStream.write(bytes, 0, bytes.length);
-                servletOutputStream.flush();
-                servletOutputStream.close();
+                if (reportCreator.isStreamingExport()) {
+                    reportExportResponseWriter.writeExport(reportCreator, form.getReport(), getSysUserId(request),
+                            request, response);
+                } else {
+                    // written as it is exported so that large reports are not held in memory
+                    ServletOutputStream servletOutputStream = response.getOutputStream();
+                    reportCreator.runReport(servletOutputStream);
+                    servletOutputStream.flush();
+                    servletOutputStream.close();
+                }
 
             } catch (IOException | SQLException | JRException | DocumentException | ParseException e) {
                 LogEvent.logError(e);
@@ -82,6 +102,77 @@ public class ReportRestController extends BaseRestController {
         }
     }
 
+    @RequestMapping(value = "ReportExport", method = RequestMethod.GET)
+    @ResponseBody
+    public List<ReportExportProgress> getActiveExports(HttpServletRequest request) {
+        String sysUserId = getSysUserId(request);
+        return reportExportProgressService.getActiveExports().stream()
+                .filter(progress -> sysUserId.equals(progress.getSystemUserId())).collect(Collectors.toList());
+    }
+
+    @RequestMapping(value = "ReportExport/{exportId}", method = RequestMethod.GET)
+    public ResponseEntity<ReportExportProgress> getExportProgress(@PathVariable String exportId,
+            HttpServletRequest request) {
+        return reportExportProgressService.getProgress(exportId)
+                .filter(progress -> getSysUserId(request).equals(progress.getSystemUserId()))
+                .map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    @RequestMapping(value = "ReportExport/{exportId}", method = RequestMethod.DELETE)
+    public ResponseEntity<Void> cancelExport(@PathVariable String exportId, HttpServletRequest request) {
+        boolean owned = reportExportProgressService.getProgress(exportId)
+                .filter(progress -> getSysUserId(request).equals(progress.getSystemUserId())).isPresent();
+        if (!owned || !reportExportProgressService.cancel(exportId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Queues the report to run in the background; poll
+     * {@code ReportJob/{jobId}} and fetch the output from
+     * {@code ReportJob/download/{downloadToken}} once it has completed.
+     */
+    @RequestMapping(value = "ReportJob", method = RequestMethod.POST)
+    public ResponseEntity<ReportJob> submitReportJob(@RequestBody ReportForm form, HttpServletRequest request) {
+        if (ReportImplementationFactory.getReportCreator(form.getReport()) == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            ReportJob job = reportJobService.submit(form, getSysUserId(request), getReportPath(), getImagesPath());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @RequestMapping(value = "ReportJob/{jobId}", method = RequestMethod.GET)
+    public ResponseEntity<ReportJob> getReportJob(@PathVariable String jobId, HttpServletRequest request) {
+        return reportJobService.getJob(jobId).filter(job -> getSysUserId(request).equals(job.getSystemUserId()))
+                .map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    @RequestMapping(value = "ReportJob/download/{downloadToken}", method = RequestMethod.GET)
+    public void downloadReportJob(@PathVariable String downloadToken, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Optional<ReportJob> completedJob = reportJobService.getCompletedJobForDownload(downloadToken,
+                getSysUserId(request));
+        if (completedJob.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        ReportJob job = completedJob.get();
+        response.setContentType(job.getContentType());
+        response.setContentLengthLong(job.getSizeBytes());
+        if (!GenericValidator.isBlankOrNull(job.getResponseHeaderName())
+                && !GenericValidator.isBlankOrNull(job.getResponseHeaderContent())) {
+            response.setHeader(job.getResponseHeaderName(), job.getResponseHeaderContent());
+        }
+        try (ServletOutputStream servletOutputStream = response.getOutputStream()) {
+            Files.copy(job.getResultFile(), servletOutputStream);
+        }
+    }
+
     private String getReportPath() {
         String reportPath = getReportPathValue();
         if (reportPath.endsWith(File.separator)) {
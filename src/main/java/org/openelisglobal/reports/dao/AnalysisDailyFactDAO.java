@@ -0,0 +1,40 @@
+package org.openelisglobal.reports.dao;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.openelisglobal.reports.valueholder.AnalysisFactRefreshState;
+import org.openelisglobal.reports.valueholder.AnalysisMonthlyCount;
+
+public interface AnalysisDailyFactDAO {
+
+    /**
+     * Replaces the facts for the calendar month starting at {@code monthStart}
+     * with ones recomputed from analysis.
+     */
+    void rebuildMonth(LocalDate monthStart);
+
+    Optional<LocalDate> getEarliestStartedDate();
+
+    /**
+     * @return the first day of each month holding an analysis updated after
+     *         {@code since}
+     */
+    List<LocalDate> getMonthsChangedSince(Timestamp since);
+
+    Optional<Timestamp> getLatestAnalysisUpdate();
+
+    Optional<AnalysisFactRefreshState> getRefreshState();
+
+    void saveRefreshState(AnalysisFactRefreshState state);
+
+    /**
+     * @param priorities order priorities to include, or null for all including
+     *                   samples without one
+     * @param workHours  1 or 0 to count only analyses entered during or outside
+     *                   normal work hours, or null for all
+     */
+    List<AnalysisMonthlyCount> getMonthlyCounts(LocalDate from, LocalDate to, List<Integer> testSectionIds,
+            Integer statusId, List<String> priorities, Integer workHours);
+}
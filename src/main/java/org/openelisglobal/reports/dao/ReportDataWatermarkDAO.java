@@ -0,0 +1,10 @@
+package org.openelisglobal.reports.dao;
+
+public interface ReportDataWatermarkDAO {
+
+    /**
+     * @return a value that changes whenever report data may have changed, cheap
+     *         enough to read on every report submission
+     */
+    String getDataWatermark();
+}
@@ -0,0 +1,208 @@
+package org.openelisglobal.reports.daoimpl;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.openelisglobal.common.exception.LIMSRuntimeException;
+import org.openelisglobal.reports.dao.AnalysisDailyFactDAO;
+import org.openelisglobal.reports.valueholder.AnalysisFactRefreshState;
+import org.openelisglobal.reports.valueholder.AnalysisMonthlyCount;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+public class AnalysisDailyFactDAOImpl implements AnalysisDailyFactDAO {
+
+    private static final String FACT_NAME = "analysis_daily_fact";
+
+    private static final String DELETE_MONTH_SQL = "DELETE FROM clinlims.analysis_daily_fact"
+            + " WHERE fact_date >= :monthStart AND fact_date < :nextMonth";
+
+    // first_in_month marks one row per sample and test, section and status in the
+    // month, and first_in_month_hours one per reception time as well, so that a
+    // sample is counted in exactly one fact row and month_sample_count can be
+    // summed over the month without repeating samples, even when its analyses
+    // span several days or reception times.
+    // Reception time mirrors StatisticsReport: 09:00:00-15:30:59 is normal hours.
+    private static final String INSERT_MONTH_SQL = "INSERT INTO clinlims.analysis_daily_fact (fact_date, test_id,"
+            + " test_section_id, status_id, order_priority, work_hours, analysis_count, sample_count,"
+            + " month_sample_count, month_sample_count_hours, tat_count, tat_days_sum, tat_same_day, tat_1_day,"
+            + " tat_2_days, tat_3_to_7_days, tat_8_to_14_days, tat_over_14_days, last_updated)"
+            + " SELECT f.fact_date, f.test_id, f.test_sect_id, f.status_id, f.order_priority, f.work_hours,"
+            + " count(*), count(DISTINCT f.samp_id),"
+            + " count(DISTINCT f.samp_id) FILTER (WHERE f.first_in_month),"
+            + " count(DISTINCT f.samp_id) FILTER (WHERE f.first_in_month_hours),"
+            + " count(f.tat_days), COALESCE(sum(f.tat_days), 0),"
+            + " count(*) FILTER (WHERE f.tat_days = 0), count(*) FILTER (WHERE f.tat_days = 1),"
+            + " count(*) FILTER (WHERE f.tat_days = 2), count(*) FILTER (WHERE f.tat_days BETWEEN 3 AND 7),"
+            + " count(*) FILTER (WHERE f.tat_days BETWEEN 8 AND 14), count(*) FILTER (WHERE f.tat_days > 14),"
+            + " now()" //
+            + " FROM (SELECT d.*,"
+            + " row_number() OVER (PARTITION BY d.samp_id, d.test_id, d.test_sect_id, d.status_id"
+            + " ORDER BY d.fact_date, d.work_hours) = 1 AS first_in_month,"
+            + " row_number() OVER (PARTITION BY d.samp_id, d.test_id, d.test_sect_id, d.status_id, d.work_hours"
+            + " ORDER BY d.fact_date) = 1 AS first_in_month_hours" //
+            + " FROM (SELECT CAST(a.started_date AS date) AS fact_date, a.test_id, a.test_sect_id, a.status_id,"
+            + " s.order_priority, si.samp_id,"
+            + " CASE WHEN a.entry_date IS NULL THEN -1"
+            + " WHEN CAST(a.entry_date AS time) >= TIME '09:00:00' AND CAST(a.entry_date AS time) < TIME '15:31:00'"
+            + " THEN 1 ELSE 0 END AS work_hours,"
+            + " CASE WHEN a.completed_date IS NOT NULL AND s.received_date IS NOT NULL"
+            + " THEN GREATEST(CAST(a.completed_date AS date) - CAST(s.received_date AS date), 0) END AS tat_days"
+            + " FROM clinlims.analysis a" //
+            + " JOIN clinlims.sample_item si ON si.id = a.sampitem_id"
+            + " JOIN clinlims.sample s ON s.id = si.samp_id"
+            + " WHERE a.started_date >= :monthStart AND a.started_date < :nextMonth) d) f"
+            + " GROUP BY f.fact_date, f.test_id, f.test_sect_id, f.status_id, f.order_priority, f.work_hours";
+
+    private static final String CHANGED_MONTHS_SQL = "SELECT DISTINCT CAST(date_trunc('month', a.started_date) AS date)"
+            + " FROM clinlims.analysis a WHERE a.lastupdated > :since AND a.started_date IS NOT NULL";
+
+    private static final String SAVE_STATE_SQL = "INSERT INTO clinlims.report_fact_refresh (fact_name,"
+            + " covered_from, source_watermark, last_refreshed)"
+            + " VALUES (:factName, :coveredFrom, :sourceWatermark, :lastRefreshed)"
+            + " ON CONFLICT (fact_name) DO UPDATE SET covered_from = EXCLUDED.covered_from,"
+            + " source_watermark = EXCLUDED.source_watermark, last_refreshed = EXCLUDED.last_refreshed";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void rebuildMonth(LocalDate monthStart) {
+        try {
+            Session session = entityManager.unwrap(Session.class);
+            Date start = Date.valueOf(monthStart.withDayOfMonth(1));
+            Date next = Date.valueOf(monthStart.withDayOfMonth(1).plusMonths(1));
+            session.createNativeQuery(DELETE_MONTH_SQL).setParameter("monthStart", start)
+                    .setParameter("nextMonth", next).executeUpdate();
+            session.createNativeQuery(INSERT_MONTH_SQL).setParameter("monthStart", start)
+                    .setParameter("nextMonth", next).executeUpdate();
+        } catch (HibernateException e) {
+            throw new LIMSRuntimeException("Error in AnalysisDailyFactDAOImpl rebuildMonth()", e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<LocalDate> getEarliestStartedDate() {
+        try {
+            Object earliest = entityManager.unwrap(Session.class)
+                    .createNativeQuery("SELECT CAST(min(started_date) AS date) FROM clinlims.analysis").uniqueResult();
+            return Optional.ofNullable((Date) earliest).map(Date::toLocalDate);
+        } catch (HibernateException e) {
+            throw new LIMSRuntimeException("Error in AnalysisDailyFactDAOImpl getEarliestStartedDate()", e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LocalDate> getMonthsChangedSince(Timestamp since) {
+        try {
+            List<?> months = entityManager.unwrap(Session.class).createNativeQuery(CHANGED_MONTHS_SQL)
+                    .setParameter("since", since).list();
+            List<LocalDate> result = new ArrayList<>();
+            for (Object month : months) {
+                result.add(((Date) month).toLocalDate());
+            }
+            return result;
+        } catch (HibernateException e) {
+            throw new LIMSRuntimeException("Error in AnalysisDailyFactDAOImpl getMonthsChangedSince()", e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Timestamp> getLatestAnalysisUpdate() {
+        try {
+            Object latest = entityManager.unwrap(Session.class)
+                    .createNativeQuery("SELECT max(lastupdated) FROM clinlims.analysis").uniqueResult();
+            return Optional.ofNullable((Timestamp) latest);
+        } catch (HibernateException e) {
+            throw new LIMSRuntimeException("Error in AnalysisDailyFactDAOImpl getLatestAnalysisUpdate()", e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<AnalysisFactRefreshState> getRefreshState() {
+        try {
+            List<?> rows = entityManager.unwrap(Session.class)
+                    .createNativeQuery("SELECT covered_from, source_watermark, last_refreshed"
+                            + " FROM clinlims.report_fact_refresh WHERE fact_name = :factName")
+                    .setParameter("factName", FACT_NAME).list();
+            if (rows.isEmpty()) {
+                return Optional.empty();
+            }
+            Object[] row = (Object[]) rows.get(0);
+            LocalDate coveredFrom = row[0] == null ? null : ((Date) row[0]).toLocalDate();
+            return Optional.of(new AnalysisFactRefreshState(coveredFrom, (Timestamp) row[1], (Timestamp) row[2]));
+        } catch (HibernateException e) {
+            throw new LIMSRuntimeException("Error in AnalysisDailyFactDAOImpl getRefreshState()", e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void saveRefreshState(AnalysisFactRefreshState state) {
+        try {
+            entityManager.unwrap(Session.class).createNativeQuery(SAVE_STATE_SQL).setParameter("factName", FACT_NAME)
+                    .setParameter("coveredFrom", state.coveredFrom() == null ? null : Date.valueOf(state.coveredFrom()),
+                            StandardBasicTypes.DATE)
+                    .setParameter("sourceWatermark", state.sourceWatermark(), StandardBasicTypes.TIMESTAMP)
+                    .setParameter("lastRefreshed", state.lastRefreshed(), StandardBasicTypes.TIMESTAMP)
+                    .executeUpdate();
+        } catch (HibernateException e) {
+            throw new LIMSRuntimeException("Error in AnalysisDailyFactDAOImpl saveRefreshState()", e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AnalysisMonthlyCount> getMonthlyCounts(LocalDate from, LocalDate to, List<Integer> testSectionIds,
+            Integer statusId, List<String> priorities, Integer workHours) {
+        StringBuilder sql = new StringBuilder("SELECT CAST(f.test_id AS varchar),"
+                + " CAST(EXTRACT(MONTH FROM f.fact_date) AS integer), sum(f.analysis_count), ");
+        sql.append(workHours == null ? "sum(f.month_sample_count)" : "sum(f.month_sample_count_hours)");
+        sql.append(" FROM clinlims.analysis_daily_fact f WHERE f.fact_date BETWEEN :from AND :to"
+                + " AND f.test_section_id IN (:testSectionIds) AND f.status_id = :statusId");
+        if (priorities != null) {
+            sql.append(" AND f.order_priority IN (:priorities)");
+        }
+        if (workHours != null) {
+            sql.append(" AND f.work_hours = :workHours");
+        }
+        sql.append(" GROUP BY f.test_id, EXTRACT(MONTH FROM f.fact_date)");
+        try {
+            NativeQuery<?> query = entityManager.unwrap(Session.class).createNativeQuery(sql.toString());
+            query.setParameter("from", Date.valueOf(from));
+            query.setParameter("to", Date.valueOf(to));
+            query.setParameterList("testSectionIds", testSectionIds);
+            query.setParameter("statusId", statusId);
+            if (priorities != null) {
+                query.setParameterList("priorities", priorities);
+            }
+            if (workHours != null) {
+                query.setParameter("workHours", workHours);
+            }
+            List<AnalysisMonthlyCount> counts = new ArrayList<>();
+            for (Object row : query.list()) {
+                Object[] columns = (Object[]) row;
+                counts.add(new AnalysisMonthlyCount((String) columns[0], ((Number) columns[1]).intValue(),
+                        ((Number) columns[2]).longValue(), ((Number) columns[3]).longValue()));
+            }
+            return counts;
+        } catch (HibernateException e) {
+            throw new LIMSRuntimeException("Error in AnalysisDailyFactDAOImpl getMonthlyCounts()", e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.openelisglobal.reports.daoimpl;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.openelisglobal.common.exception.LIMSRuntimeException;
+import org.openelisglobal.reports.dao.ReportDataWatermarkDAO;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+public class ReportDataWatermarkDAOImpl implements ReportDataWatermarkDAO {
+
+    // new samples, analyses and results advance their sequences, and every audited
+    // insert or update writes a history row, so together these move whenever the
+    // data behind a report can have changed. Reading a sequence is constant time,
+    // unlike MAX(lastupdated) over the tables themselves.
+    private static final String WATERMARK_SQL = "SELECT (SELECT last_value FROM clinlims.sample_seq) || '-' "
+            + "|| (SELECT last_value FROM clinlims.analysis_seq) || '-' "
+            + "|| (SELECT last_value FROM clinlims.result_seq) || '-' "
+            + "|| (SELECT last_value FROM clinlims.history_seq)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getDataWatermark() {
+        try {
+            Object watermark = entityManager.unwrap(Session.class).createNativeQuery(WATERMARK_SQL).uniqueResult();
+            return String.valueOf(watermark);
+        } catch (HibernateException e) {
+            throw new LIMSRuntimeException("Error in ReportDataWatermarkDAOImpl getDataWatermark()", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.openelisglobal.reports.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.openelisglobal.reports.valueholder.AnalysisMonthlyCount;
+
+/**
+ * Maintains {@code analysis_daily_fact}, analyses pre-aggregated by start day,
+ * test, test section, status, order priority and reception time, so that
+ * aggregate reports do not have to load every analysis in the requested range.
+ * The facts are backfilled once, brought up to date for changed analyses every
+ * few minutes, and recent months are rebuilt nightly.
+ */
+public interface AnalysisFactService {
+
+    /**
+     * @return true if the facts cover every day from {@code from} to {@code to}
+     *         and were refreshed recently enough to be read instead of analysis
+     */
+    boolean isCovered(LocalDate from, LocalDate to);
+
+    /**
+     * @see org.openelisglobal.reports.dao.AnalysisDailyFactDAO#getMonthlyCounts
+     */
+    List<AnalysisMonthlyCount> getMonthlyCounts(LocalDate from, LocalDate to, List<Integer> testSectionIds,
+            Integer statusId, List<String> priorities, Integer workHours);
+
+    /** Rebuilds the months holding analyses changed since the last refresh. */
+    void refreshChangedMonths();
+
+    /** Rebuilds the most recent months regardless of what changed. */
+    void refreshRecentMonths();
+}
@@ -0,0 +1,124 @@
+package org.openelisglobal.reports.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import org.openelisglobal.common.log.LogEvent;
+import org.openelisglobal.reports.dao.AnalysisDailyFactDAO;
+import org.openelisglobal.reports.valueholder.AnalysisFactRefreshState;
+import org.openelisglobal.reports.valueholder.AnalysisMonthlyCount;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+public class AnalysisFactServiceImpl implements AnalysisFactService {
+
+    // analyses committed shortly after the watermark was read can carry an earlier
+    // lastupdated, so each incremental refresh looks back this far past it
+    private static final Duration WATERMARK_OVERLAP = Duration.ofMinutes(5);
+
+    private final AnalysisDailyFactDAO analysisDailyFactDAO;
+
+    @Value("${org.openelisglobal.reports.facts.enabled:true}")
+    private boolean enabled;
+
+    @Value("${org.openelisglobal.reports.facts.maxStalenessMinutes:60}")
+    private long maxStalenessMinutes;
+
+    // also catches analyses deleted or moved to another start month, which the
+    // incremental refresh cannot see
+    @Value("${org.openelisglobal.reports.facts.nightlyMonths:2}")
+    private int nightlyMonths;
+
+    public AnalysisFactServiceImpl(AnalysisDailyFactDAO analysisDailyFactDAO) {
+        this.analysisDailyFactDAO = analysisDailyFactDAO;
+    }
+
+    @Override
+    public boolean isCovered(LocalDate from, LocalDate to) {
+        if (!enabled) {
+            return false;
+        }
+        Optional<AnalysisFactRefreshState> state = analysisDailyFactDAO.getRefreshState();
+        if (state.isEmpty() || state.get().coveredFrom() == null || state.get().lastRefreshed() == null) {
+            return false;
+        }
+        Instant staleAfter = state.get().lastRefreshed().toInstant().plus(Duration.ofMinutes(maxStalenessMinutes));
+        return !from.isBefore(state.get().coveredFrom()) && !from.isAfter(to) && Instant.now().isBefore(staleAfter);
+    }
+
+    @Override
+    public List<AnalysisMonthlyCount> getMonthlyCounts(LocalDate from, LocalDate to, List<Integer> testSectionIds,
+            Integer statusId, List<String> priorities, Integer workHours) {
+        return analysisDailyFactDAO.getMonthlyCounts(from, to, testSectionIds, statusId, priorities, workHours);
+    }
+
+    @Override
+    @Scheduled(initialDelay = 2 * 60
+            * 1000, fixedDelayString = "${org.openelisglobal.reports.facts.refreshInterval:600000}")
+    public synchronized void refreshChangedMonths() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Optional<AnalysisFactRefreshState> state = analysisDailyFactDAO.getRefreshState();
+            if (state.isEmpty() || state.get().coveredFrom() == null) {
+                backfill();
+                return;
+            }
+            Timestamp watermark = analysisDailyFactDAO.getLatestAnalysisUpdate().orElse(null);
+            Timestamp previous = state.get().sourceWatermark();
+            if (watermark != null && (previous == null || watermark.after(previous))) {
+                Timestamp since = previous == null ? new Timestamp(0)
+                        : Timestamp.from(previous.toInstant().minus(WATERMARK_OVERLAP));
+                for (LocalDate month : new TreeSet<>(analysisDailyFactDAO.getMonthsChangedSince(since))) {
+                    analysisDailyFactDAO.rebuildMonth(month);
+                }
+            } else {
+                watermark = previous;
+            }
+            analysisDailyFactDAO.saveRefreshState(new AnalysisFactRefreshState(state.get().coveredFrom(), watermark,
+                    Timestamp.from(Instant.now())));
+        } catch (RuntimeException e) {
+            LogEvent.logError("Failed to refresh analysis daily facts", e);
+        }
+    }
+
+    @Override
+    @Scheduled(cron = "${org.openelisglobal.reports.facts.nightlyCron:0 45 2 * * ?}")
+    public synchronized void refreshRecentMonths() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            LocalDate month = LocalDate.now().withDayOfMonth(1);
+            for (int i = 0; i < nightlyMonths; i++) {
+                analysisDailyFactDAO.rebuildMonth(month.minusMonths(i));
+            }
+        } catch (RuntimeException e) {
+            LogEvent.logError("Failed to rebuild recent analysis daily facts", e);
+        }
+        refreshChangedMonths();
+    }
+
+    private void backfill() {
+        // read before rebuilding so that anything changed during the backfill is
+        // picked up by the next incremental refresh
+        Timestamp watermark = analysisDailyFactDAO.getLatestAnalysisUpdate().orElse(null);
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        LocalDate firstMonth = analysisDailyFactDAO.getEarliestStartedDate().map(date -> date.withDayOfMonth(1))
+                .orElse(currentMonth);
+        LogEvent.logInfo(this.getClass().getSimpleName(), "backfill",
+                "building analysis daily facts from " + firstMonth);
+        for (LocalDate month = firstMonth; !month.isAfter(currentMonth); month = month.plusMonths(1)) {
+            analysisDailyFactDAO.rebuildMonth(month);
+        }
+        analysisDailyFactDAO.saveRefreshState(
+                new AnalysisFactRefreshState(firstMonth, watermark, Timestamp.from(Instant.now())));
+    }
+}
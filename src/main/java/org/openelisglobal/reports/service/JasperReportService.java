@@ -0,0 +1,26 @@
+package org.openelisglobal.reports.service;
+
+import java.io.OutputStream;
+import java.util.Map;
+import net.sf.jasperreports.engine.JRDataSource;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperReport;
+
+public interface JasperReportService {
+
+    /**
+     * Returns the compiled report at {@code reportFilePath}, deserializing it
+     * only when it has not been loaded yet or the file has been modified since.
+     */
+    JasperReport getReport(String reportFilePath) throws JRException;
+
+    /**
+     * Fills the report and exports it as PDF directly to {@code out}. Large
+     * reports are paged out to a swap file rather than held in heap.
+     */
+    void exportReportToPdfStream(String reportFilePath, Map<String, ?> parameters, JRDataSource dataSource,
+            OutputStream out) throws JRException;
+
+    byte[] runReportToPdf(String reportFilePath, Map<String, ?> parameters, JRDataSource dataSource)
+            throws JRException;
+}
@@ -0,0 +1,100 @@
+package org.openelisglobal.reports.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import net.sf.jasperreports.engine.JRDataSource;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRParameter;
+import net.sf.jasperreports.engine.JasperExportManager;
+import net.sf.jasperreports.engine.JasperFillManager;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.fill.JRSwapFileVirtualizer;
+import net.sf.jasperreports.engine.util.JRLoader;
+import net.sf.jasperreports.engine.util.JRSwapFile;
+import org.openelisglobal.common.log.LogEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class JasperReportServiceImpl implements JasperReportService {
+
+    private static final int SWAP_BLOCK_SIZE = 4096;
+    private static final int SWAP_MIN_GROW_COUNT = 100;
+
+    private final Map<String, CompiledReport> reportCache = new ConcurrentHashMap<>();
+
+    @Value("${org.openelisglobal.reports.virtualizer.enabled:true}")
+    private boolean virtualizerEnabled;
+
+    // pages kept in memory before the virtualizer starts swapping to disk
+    @Value("${org.openelisglobal.reports.virtualizer.maxPagesInMemory:100}")
+    private int maxPagesInMemory;
+
+    @Value("${org.openelisglobal.reports.virtualizer.swapDirectory:#{systemProperties['java.io.tmpdir']}}")
+    private String swapDirectory;
+
+    private record CompiledReport(long lastModified, JasperReport report) {
+    }
+
+    @Override
+    public JasperReport getReport(String reportFilePath) throws JRException {
+        long lastModified = new File(reportFilePath).lastModified();
+        CompiledReport cached = reportCache.get(reportFilePath);
+        if (cached != null && cached.lastModified() == lastModified) {
+            return cached.report();
+        }
+        // a concurrent miss may load the file twice, which is harmless
+        JasperReport report = (JasperReport) JRLoader.loadObjectFromFile(reportFilePath);
+        reportCache.put(reportFilePath, new CompiledReport(lastModified, report));
+        return report;
+    }
+
+    @Override
+    public void exportReportToPdfStream(String reportFilePath, Map<String, ?> parameters, JRDataSource dataSource,
+            OutputStream out) throws JRException {
+        JasperReport report = getReport(reportFilePath);
+        Map<String, Object> fillParameters = new HashMap<>(parameters);
+        JRSwapFileVirtualizer virtualizer = createVirtualizer();
+        if (virtualizer != null) {
+            fillParameters.put(JRParameter.REPORT_VIRTUALIZER, virtualizer);
+        }
+        try {
+            JasperPrint print = JasperFillManager.fillReport(report, fillParameters, dataSource);
+            if (virtualizer != null) {
+                virtualizer.setReadOnly(true);
+            }
+            JasperExportManager.exportReportToPdfStream(print, out);
+        } finally {
+            if (virtualizer != null) {
+                virtualizer.cleanup();
+            }
+        }
+    }
+
+    @Override
+    public byte[] runReportToPdf(String reportFilePath, Map<String, ?> parameters, JRDataSource dataSource)
+            throws JRException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportReportToPdfStream(reportFilePath, parameters, dataSource, out);
+        return out.toByteArray();
+    }
+
+    private JRSwapFileVirtualizer createVirtualizer() {
+        if (!virtualizerEnabled) {
+            return null;
+        }
+        try {
+            JRSwapFile swapFile = new JRSwapFile(swapDirectory, SWAP_BLOCK_SIZE, SWAP_MIN_GROW_COUNT);
+            return new JRSwapFileVirtualizer(maxPagesInMemory, swapFile, true);
+        } catch (RuntimeException e) {
+            LogEvent.logWarn(this.getClass().getSimpleName(), "createVirtualizer",
+                    "could not create report swap file in " + swapDirectory + ", filling in memory");
+            return null;
+        }
+    }
+}
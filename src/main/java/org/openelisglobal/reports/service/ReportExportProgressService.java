@@ -0,0 +1,25 @@
+package org.openelisglobal.reports.service;
+
+import java.util.List;
+import java.util.Optional;
+import org.openelisglobal.reports.action.util.ReportExportProgress;
+
+/**
+ * Registry of streaming exports currently being written, used to report
+ * progress and to cancel an export from another request.
+ */
+public interface ReportExportProgressService {
+
+    ReportExportProgress start(String exportId, String reportName, String systemUserId);
+
+    void finish(ReportExportProgress progress);
+
+    Optional<ReportExportProgress> getProgress(String exportId);
+
+    List<ReportExportProgress> getActiveExports();
+
+    /**
+     * @return true if a running export with this id was found and flagged
+     */
+    boolean cancel(String exportId);
+}
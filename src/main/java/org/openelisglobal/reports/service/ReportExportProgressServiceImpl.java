@@ -0,0 +1,52 @@
+package org.openelisglobal.reports.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.openelisglobal.common.util.validator.GenericValidator;
+import org.openelisglobal.reports.action.util.ReportExportProgress;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ReportExportProgressServiceImpl implements ReportExportProgressService {
+
+    private final Map<String, ReportExportProgress> activeExports = new ConcurrentHashMap<>();
+
+    @Override
+    public ReportExportProgress start(String exportId, String reportName, String systemUserId) {
+        String id = GenericValidator.isBlankOrNull(exportId) || activeExports.containsKey(exportId)
+                ? UUID.randomUUID().toString()
+                : exportId;
+        ReportExportProgress progress = new ReportExportProgress(id, reportName, systemUserId);
+        activeExports.put(id, progress);
+        return progress;
+    }
+
+    @Override
+    public void finish(ReportExportProgress progress) {
+        activeExports.remove(progress.getExportId(), progress);
+    }
+
+    @Override
+    public Optional<ReportExportProgress> getProgress(String exportId) {
+        return Optional.ofNullable(activeExports.get(exportId));
+    }
+
+    @Override
+    public List<ReportExportProgress> getActiveExports() {
+        return new ArrayList<>(activeExports.values());
+    }
+
+    @Override
+    public boolean cancel(String exportId) {
+        ReportExportProgress progress = activeExports.get(exportId);
+        if (progress == null) {
+            return false;
+        }
+        progress.cancel();
+        return true;
+    }
+}
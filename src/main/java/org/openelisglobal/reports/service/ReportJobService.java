@@ -0,0 +1,31 @@
+package org.openelisglobal.reports.service;
+
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import org.openelisglobal.reports.form.ReportForm;
+import org.openelisglobal.reports.valueholder.ReportJob;
+
+/**
+ * Runs reports on a bounded background pool so that long reports do not hold a
+ * request thread. Output is kept on disk until it expires, and a submission
+ * matching a queued, running or unexpired job for the same user, parameters
+ * and data watermark returns that job instead of running the report again.
+ */
+public interface ReportJobService {
+
+    /**
+     * @throws RejectedExecutionException if the queue is full
+     */
+    ReportJob submit(ReportForm form, String systemUserId, String reportPath, String imagesPath);
+
+    Optional<ReportJob> getJob(String jobId);
+
+    /**
+     * @return the job if it was submitted by the user, has completed and its
+     *         output has not expired
+     */
+    Optional<ReportJob> getCompletedJobForDownload(String downloadToken, String systemUserId);
+
+    /** Deletes expired output and forgets the jobs that produced it. */
+    void purgeExpiredJobs();
+}
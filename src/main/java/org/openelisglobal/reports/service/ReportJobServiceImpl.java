@@ -0,0 +1,288 @@
+package org.openelisglobal.reports.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openelisglobal.common.exception.LIMSRuntimeException;
+import org.openelisglobal.common.log.LogEvent;
+import org.openelisglobal.reports.action.implementation.IReportCreator;
+import org.openelisglobal.reports.action.implementation.ReportImplementationFactory;
+import org.openelisglobal.reports.dao.ReportDataWatermarkDAO;
+import org.openelisglobal.reports.form.ReportForm;
+import org.openelisglobal.reports.valueholder.ReportJob;
+import org.openelisglobal.reports.valueholder.ReportJob.Status;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private static final int RESULT_BUFFER_SIZE = 64 * 1024;
+
+    // sorted so that equal forms always serialize to the same key
+    private static final ObjectMapper KEY_MAPPER = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS).build();
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final ReportDataWatermarkDAO reportDataWatermarkDAO;
+
+    @Value("${org.openelisglobal.reports.jobs.workers:4}")
+    private int workers;
+
+    // jobs allowed to wait, beyond those running, before submissions are refused
+    @Value("${org.openelisglobal.reports.jobs.queueCapacity:50}")
+    private int queueCapacity;
+
+    @Value("${org.openelisglobal.reports.jobs.perReportConcurrency:1}")
+    private int perReportConcurrency;
+
+    @Value("${org.openelisglobal.reports.jobs.resultTtlMinutes:60}")
+    private long resultTtlMinutes;
+
+    @Value("${org.openelisglobal.reports.jobs.directory:#{systemProperties['java.io.tmpdir']}/openelis-report-jobs}")
+    private String resultDirectory;
+
+    private ThreadPoolExecutor executor;
+    private Path resultPath;
+
+    private final Map<String, ReportJob> jobsById = new ConcurrentHashMap<>();
+    private final Map<String, ReportJob> jobsByToken = new ConcurrentHashMap<>();
+    private final Map<String, ReportJob> jobsByCacheKey = new ConcurrentHashMap<>();
+    private final AtomicInteger outstandingJobs = new AtomicInteger();
+
+    // guarded by this: jobs waiting for their report's concurrency limit
+    private final Map<String, Deque<ReportJob>> waitingByReport = new HashMap<>();
+    private final Map<String, Integer> runningByReport = new HashMap<>();
+
+    public ReportJobServiceImpl(ReportDataWatermarkDAO reportDataWatermarkDAO) {
+        this.reportDataWatermarkDAO = reportDataWatermarkDAO;
+    }
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "report-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        resultPath = Paths.get(resultDirectory);
+        try {
+            Files.createDirectories(resultPath);
+        } catch (IOException e) {
+            LogEvent.logError("could not create report job directory " + resultDirectory, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public ReportJob submit(ReportForm form, String systemUserId, String reportPath, String imagesPath) {
+        String reportName = form.getReport();
+        String cacheKey = createCacheKey(form, systemUserId);
+        synchronized (this) {
+            ReportJob existing = cacheKey == null ? null : jobsByCacheKey.get(cacheKey);
+            if (existing != null && existing.getStatus() != Status.FAILED && !existing.isExpired(Instant.now())) {
+                return existing;
+            }
+            if (outstandingJobs.get() >= workers + queueCapacity) {
+                throw new RejectedExecutionException("report job queue is full");
+            }
+            ReportJob job = new ReportJob(UUID.randomUUID().toString(), createDownloadToken(), reportName,
+                    systemUserId, cacheKey, form, LocaleContextHolder.getLocale(), reportPath, imagesPath);
+            jobsById.put(job.getJobId(), job);
+            jobsByToken.put(job.getDownloadToken(), job);
+            if (cacheKey != null) {
+                jobsByCacheKey.put(cacheKey, job);
+            }
+            outstandingJobs.incrementAndGet();
+            dispatch(job);
+            return job;
+        }
+    }
+
+    @Override
+    public Optional<ReportJob> getJob(String jobId) {
+        return Optional.ofNullable(jobsById.get(jobId));
+    }
+
+    @Override
+    public Optional<ReportJob> getCompletedJobForDownload(String downloadToken, String systemUserId) {
+        return Optional.ofNullable(jobsByToken.get(downloadToken))
+                .filter(job -> job.getSystemUserId().equals(systemUserId))
+                .filter(job -> job.getStatus() == Status.COMPLETED && !job.isExpired(Instant.now()));
+    }
+
+    @Override
+    @Scheduled(initialDelay = 60 * 1000, fixedDelayString = "${org.openelisglobal.reports.jobs.purgeInterval:300000}")
+    public void purgeExpiredJobs() {
+        Instant now = Instant.now();
+        for (ReportJob job : jobsById.values()) {
+            if (job.isExpired(now)) {
+                forget(job);
+            }
+        }
+    }
+
+    private synchronized void dispatch(ReportJob job) {
+        int running = runningByReport.getOrDefault(job.getReportName(), 0);
+        if (running < perReportConcurrency) {
+            runningByReport.put(job.getReportName(), running + 1);
+            executor.execute(() -> run(job));
+        } else {
+            waitingByReport.computeIfAbsent(job.getReportName(), name -> new ArrayDeque<>()).add(job);
+        }
+    }
+
+    /** Hands the finished job's slot to the next job waiting for the same report. */
+    private synchronized void release(String reportName) {
+        Deque<ReportJob> waiting = waitingByReport.get(reportName);
+        ReportJob next = waiting == null ? null : waiting.poll();
+        if (next != null) {
+            executor.execute(() -> run(next));
+            return;
+        }
+        waitingByReport.remove(reportName);
+        int running = runningByReport.getOrDefault(reportName, 1) - 1;
+        if (running <= 0) {
+            runningByReport.remove(reportName);
+        } else {
+            runningByReport.put(reportName, running);
+        }
+    }
+
+    private void run(ReportJob job) {
+        job.setStatus(Status.RUNNING);
+        job.setStartedAt(Instant.now());
+        LocaleContextHolder.setLocale(job.getLocale());
+        Path partFile = resultPath.resolve(job.getJobId() + ".part");
+        try {
+            IReportCreator reportCreator = createReportCreator(job.getReportName());
+            if (reportCreator == null) {
+                throw new LIMSRuntimeException("unknown report " + job.getReportName());
+            }
+            reportCreator.setSystemUserId(job.getSystemUserId());
+            reportCreator.setRequestedReport(job.getReportName());
+            reportCreator.initializeReport(job.getForm());
+            reportCreator.setReportPath(job.getReportPath());
+
+            @SuppressWarnings("unchecked")
+            HashMap<String, Object> parameterMap = (HashMap<String, Object>) reportCreator.getReportParameters();
+            parameterMap.put("SUBREPORT_DIR", job.getReportPath());
+            parameterMap.put("imagesPath", job.getImagesPath());
+
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partFile), RESULT_BUFFER_SIZE)) {
+                reportCreator.runReport(out);
+            }
+            Path resultFile = resultPath.resolve(job.getJobId());
+            Files.move(partFile, resultFile, StandardCopyOption.REPLACE_EXISTING);
+
+            job.setContentType(reportCreator.getContentType());
+            job.setResponseHeaderName(reportCreator.getResponseHeaderName());
+            job.setResponseHeaderContent(reportCreator.getResponseHeaderContent());
+            job.setSizeBytes(Files.size(resultFile));
+            job.setResultFile(resultFile);
+            job.setStatus(Status.COMPLETED);
+        } catch (Exception e) {
+            LogEvent.logError("report job " + job.getJobId() + " for " + job.getReportName() + " failed", e);
+            job.setErrorMessage(e.getMessage());
+            job.setStatus(Status.FAILED);
+            deleteQuietly(partFile);
+        } finally {
+            LocaleContextHolder.resetLocaleContext();
+            Instant completedAt = Instant.now();
+            job.setCompletedAt(completedAt);
+            job.setExpiresAt(completedAt.plus(Duration.ofMinutes(resultTtlMinutes)));
+            outstandingJobs.decrementAndGet();
+            release(job.getReportName());
+        }
+    }
+
+    protected IReportCreator createReportCreator(String reportName) {
+        return ReportImplementationFactory.getReportCreator(reportName);
+    }
+
+    private void forget(ReportJob job) {
+        jobsById.remove(job.getJobId());
+        jobsByToken.remove(job.getDownloadToken());
+        if (job.getCacheKey() != null) {
+            jobsByCacheKey.remove(job.getCacheKey(), job);
+        }
+        if (job.getResultFile() != null) {
+            deleteQuietly(job.getResultFile());
+        }
+    }
+
+    /**
+     * @return a key identifying the same report, run by the same user with the
+     *         same parameters against the same data, or null if the form cannot
+     *         be serialized (in which case the job is never shared)
+     */
+    private String createCacheKey(ReportForm form, String systemUserId) {
+        try {
+            String key = form.getReport() + "|" + systemUserId + "|" + LocaleContextHolder.getLocale() + "|"
+                    + KEY_MAPPER.writeValueAsString(form) + "|" + reportDataWatermarkDAO.getDataWatermark();
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException | LIMSRuntimeException e) {
+            LogEvent.logWarn(this.getClass().getSimpleName(), "createCacheKey",
+                    "report " + form.getReport() + " will not be deduplicated: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private String createDownloadToken() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LogEvent.logWarn(this.getClass().getSimpleName(), "deleteQuietly",
+                    "could not delete " + file + ": " + e.getMessage());
+        }
+    }
+}
@@ -11,4 +11,13 @@ public interface WHONetReportService {
 
     List<WHONetRow> getWHONetRows(Date lowDate, Date highDate);
 
+    /** Ids of the tests whose results trigger the antimicrobial resistance tests. */
+    List<String> getTriggeringTestIds();
+
+    /**
+     * Builds the rows of a single sample item, so that an export can be written
+     * one sample item at a time instead of holding every row in memory.
+     */
+    List<WHONetRow> getWHONetRows(SampleItem sampleItem, List<String> triggerTestIds);
+
 }
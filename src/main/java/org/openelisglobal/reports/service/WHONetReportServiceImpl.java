@@ -79,81 +79,85 @@ public class WHONetReportServiceImpl implements WHONetReportService {
 
     @Override
     public List<WHONetRow> getWHONetRows(Date lowDate, Date highDate) {
-        List<SampleItem> sampleItems = getAntimicrobialEntries(lowDate, highDate);
-        return createRowsFromSampleItems(sampleItems);
+        List<String> triggerTestIds = getTriggeringTestIds();
+        List<WHONetRow> rows = new ArrayList<>();
+        for (SampleItem sampleItem : getAntimicrobialEntries(lowDate, highDate)) {
+            rows.addAll(getWHONetRows(sampleItem, triggerTestIds));
+        }
+        return rows;
     }
 
-    private List<WHONetRow> createRowsFromSampleItems(List<SampleItem> sampleItems) {
-        List<WHONetRow> rows = new ArrayList<>();
+    @Override
+    public List<String> getTriggeringTestIds() {
+        return testService.getTriggeringAntimicrobialResistanceTests().stream().map(e -> e.getId())
+                .collect(Collectors.toList());
+    }
 
-        List<String> triggerTestIds = testService.getTriggeringAntimicrobialResistanceTests().stream()
-                .map(e -> e.getId()).collect(Collectors.toList());
-
-        for (SampleItem sampleItem : sampleItems) {
-            Sample sample = sampleItem.getSample();
-            Patient patient = sampleHumanService.getPatientForSample(sample);
-            List<Analysis> analysises = analysisService.getAnalysesBySampleItem(sampleItem);
-
-            // for every analysis in the sampleItem, find any that are a triggering
-            // antimicrobial resistance analysis
-            for (Analysis potentialTriggerAnalysis : analysises) {
-                if (triggerTestIds.contains(potentialTriggerAnalysis.getTest().getId())) {
-                    Analysis triggerAnalysis = potentialTriggerAnalysis;
-                    // find the exact result that triggers further analysis
-                    List<Result> results = resultService.getResultsByAnalysis(triggerAnalysis);
-                    for (Result triggerResult : results) {
-                        TestReflexUtil testReflexUtil = new TestReflexUtil();
-
-                        // find the analysis that was triggered by the trigger test
-                        for (Analysis potentialReflexAnalysis : analysises) {
-                            if (testReflexUtil.isTestTriggeredByResult(potentialReflexAnalysis.getTest(),
-                                    triggerResult)) {
-                                Analysis reflexAnalysis = potentialReflexAnalysis;
-                                // get the results from the the reflex test
-                                List<Result> reflexResults = resultService.getResultsByAnalysis(reflexAnalysis);
-                                if (reflexResults.size() == 0) {
-                                    // if there's no results for the second test, we still need the info of the
-                                    // trigger test and reflex test name
-                                    rows.add(new WHONetRow(patient.getNationalId(), patient.getPerson().getFirstName(),
-                                            patient.getPerson().getLastName(), patient.getGender(),
-                                            patient.getBirthDateForDisplay(), sample.getEnteredDateForDisplay(),
-                                            sample.getAccessionNumber(),
+    @Override
+    public List<WHONetRow> getWHONetRows(SampleItem sampleItem, List<String> triggerTestIds) {
+        List<WHONetRow> rows = new ArrayList<>();
+        Sample sample = sampleItem.getSample();
+        Patient patient = sampleHumanService.getPatientForSample(sample);
+        List<Analysis> analysises = analysisService.getAnalysesBySampleItem(sampleItem);
+
+        // for every analysis in the sampleItem, find any that are a triggering
+        // antimicrobial resistance analysis
+        for (Analysis potentialTriggerAnalysis : analysises) {
+            if (triggerTestIds.contains(potentialTriggerAnalysis.getTest().getId())) {
+                Analysis triggerAnalysis = potentialTriggerAnalysis;
+                // find the exact result that triggers further analysis
+                List<Result> results = resultService.getResultsByAnalysis(triggerAnalysis);
+                for (Result triggerResult : results) {
+                    TestReflexUtil testReflexUtil = new TestReflexUtil();
+
+                    // find the analysis that was triggered by the trigger test
+                    for (Analysis potentialReflexAnalysis : analysises) {
+                        if (testReflexUtil.isTestTriggeredByResult(potentialReflexAnalysis.getTest(),
+                                triggerResult)) {
+                            Analysis reflexAnalysis = potentialReflexAnalysis;
+                            // get the results from the the reflex test
+                            List<Result> reflexResults = resultService.getResultsByAnalysis(reflexAnalysis);
+                            if (reflexResults.size() == 0) {
+                                // if there's no results for the second test, we still need the info of the
+                                // trigger test and reflex test name
+                                rows.add(new WHONetRow(patient.getNationalId(), patient.getPerson().getFirstName(),
+                                        patient.getPerson().getLastName(), patient.getGender(),
+                                        patient.getBirthDateForDisplay(), sample.getEnteredDateForDisplay(),
+                                        sample.getAccessionNumber(),
+                                        DateUtil.convertTimestampToStringDate(sampleItem.getCollectionDate()),
+                                        sampleItem.getTypeOfSample().getDescription(),
+                                        reflexAnalysis.getTest().getName(),
+                                        resultService.getSimpleResultValue(triggerResult), "",
+                                        reflexAnalysis.getMethod() == null ? ""
+                                                : reflexAnalysis.getMethod().getLocalizedValue(),
+                                        sample.getGpsLatitude() != null ? sample.getGpsLatitude().toString() : "",
+                                        sample.getGpsLongitude() != null ? sample.getGpsLongitude().toString()
+                                                : ""));
+                            } else {
+                                // else add the info of both tests/results
+                                for (Result reflexResult : reflexResults) {
+                                    rows.add(new WHONetRow(patient.getNationalId(),
+                                            patient.getPerson().getFirstName(), patient.getPerson().getLastName(),
+                                            patient.getGender(), patient.getBirthDateForDisplay(),
+                                            sample.getEnteredDateForDisplay(), sample.getAccessionNumber(),
                                             DateUtil.convertTimestampToStringDate(sampleItem.getCollectionDate()),
                                             sampleItem.getTypeOfSample().getDescription(),
                                             reflexAnalysis.getTest().getName(),
-                                            resultService.getSimpleResultValue(triggerResult), "",
+                                            resultService.getSimpleResultValue(triggerResult),
+                                            resultService.getSimpleResultValue(reflexResult),
                                             reflexAnalysis.getMethod() == null ? ""
                                                     : reflexAnalysis.getMethod().getLocalizedValue(),
-                                            sample.getGpsLatitude() != null ? sample.getGpsLatitude().toString() : "",
+                                            sample.getGpsLatitude() != null ? sample.getGpsLatitude().toString()
+                                                    : "",
                                             sample.getGpsLongitude() != null ? sample.getGpsLongitude().toString()
                                                     : ""));
-                                } else {
-                                    // else add the info of both tests/results
-                                    for (Result reflexResult : reflexResults) {
-                                        rows.add(new WHONetRow(patient.getNationalId(),
-                                                patient.getPerson().getFirstName(), patient.getPerson().getLastName(),
-                                                patient.getGender(), patient.getBirthDateForDisplay(),
-                                                sample.getEnteredDateForDisplay(), sample.getAccessionNumber(),
-                                                DateUtil.convertTimestampToStringDate(sampleItem.getCollectionDate()),
-                                                sampleItem.getTypeOfSample().getDescription(),
-                                                reflexAnalysis.getTest().getName(),
-                                                resultService.getSimpleResultValue(triggerResult),
-                                                resultService.getSimpleResultValue(reflexResult),
-                                                reflexAnalysis.getMethod() == null ? ""
-                                                        : reflexAnalysis.getMethod().getLocalizedValue(),
-                                                sample.getGpsLatitude() != null ? sample.getGpsLatitude().toString()
-                                                        : "",
-                                                sample.getGpsLongitude() != null ? sample.getGpsLongitude().toString()
-                                                        : ""));
-                                    }
                                 }
                             }
-
                         }
+
                     }
                 }
             }
-
         }
 
         return rows;
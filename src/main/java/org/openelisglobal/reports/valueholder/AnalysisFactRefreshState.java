@@ -0,0 +1,16 @@
+package org.openelisglobal.reports.valueholder;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * How far {@code analysis_daily_fact} has been built.
+ *
+ * @param coveredFrom     first day the facts cover, or null until the initial
+ *                        backfill has completed
+ * @param sourceWatermark latest analysis.lastupdated already reflected in the
+ *                        facts
+ * @param lastRefreshed   when the facts were last brought up to date
+ */
+public record AnalysisFactRefreshState(LocalDate coveredFrom, Timestamp sourceWatermark, Timestamp lastRefreshed) {
+}
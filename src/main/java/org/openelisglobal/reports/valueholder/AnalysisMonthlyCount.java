@@ -0,0 +1,10 @@
+package org.openelisglobal.reports.valueholder;
+
+/**
+ * Analyses and distinct samples for one test in one calendar month, read from
+ * {@code analysis_daily_fact}.
+ *
+ * @param month 1 for January through 12 for December
+ */
+public record AnalysisMonthlyCount(String testId, int month, long analyses, long samples) {
+}
@@ -0,0 +1,189 @@
+package org.openelisglobal.reports.valueholder;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Locale;
+import org.openelisglobal.reports.form.ReportForm;
+
+/**
+ * A report submitted for background execution. Jobs are held in memory by
+ * {@code ReportJobService}; only the generated output is written to disk.
+ */
+public class ReportJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String jobId;
+    private final String downloadToken;
+    private final String reportName;
+    private final String systemUserId;
+    private final String cacheKey;
+    private final Instant submittedAt = Instant.now();
+
+    // what the worker needs to run the report outside of the request thread
+    private final ReportForm form;
+    private final Locale locale;
+    private final String reportPath;
+    private final String imagesPath;
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant completedAt;
+    private volatile Instant expiresAt;
+    private volatile String contentType;
+    private volatile String responseHeaderName;
+    private volatile String responseHeaderContent;
+    private volatile long sizeBytes;
+    private volatile String errorMessage;
+    private volatile Path resultFile;
+
+    public ReportJob(String jobId, String downloadToken, String reportName, String systemUserId, String cacheKey,
+            ReportForm form, Locale locale, String reportPath, String imagesPath) {
+        this.jobId = jobId;
+        this.downloadToken = downloadToken;
+        this.reportName = reportName;
+        this.systemUserId = systemUserId;
+        this.cacheKey = cacheKey;
+        this.form = form;
+        this.locale = locale;
+        this.reportPath = reportPath;
+        this.imagesPath = imagesPath;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public String getDownloadToken() {
+        return downloadToken;
+    }
+
+    public String getReportName() {
+        return reportName;
+    }
+
+    @JsonIgnore
+    public String getSystemUserId() {
+        return systemUserId;
+    }
+
+    @JsonIgnore
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    @JsonIgnore
+    public ReportForm getForm() {
+        return form;
+    }
+
+    @JsonIgnore
+    public Locale getLocale() {
+        return locale;
+    }
+
+    @JsonIgnore
+    public String getReportPath() {
+        return reportPath;
+    }
+
+    @JsonIgnore
+    public String getImagesPath() {
+        return imagesPath;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    @JsonIgnore
+    public String getResponseHeaderName() {
+        return responseHeaderName;
+    }
+
+    public void setResponseHeaderName(String responseHeaderName) {
+        this.responseHeaderName = responseHeaderName;
+    }
+
+    @JsonIgnore
+    public String getResponseHeaderContent() {
+        return responseHeaderContent;
+    }
+
+    public void setResponseHeaderContent(String responseHeaderContent) {
+        this.responseHeaderContent = responseHeaderContent;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    @JsonIgnore
+    public Path getResultFile() {
+        return resultFile;
+    }
+
+    public void setResultFile(Path resultFile) {
+        this.resultFile = resultFile;
+    }
+
+    @JsonIgnore
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && now.isAfter(expiresAt);
+    }
+}
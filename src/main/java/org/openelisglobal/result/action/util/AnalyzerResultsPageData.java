@@ -0,0 +1,72 @@
+package org.openelisglobal.result.action.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.openelisglobal.analysis.valueholder.Analysis;
+import org.openelisglobal.dictionary.valueholder.ResolvedDictionary;
+import org.openelisglobal.result.valueholder.Result;
+import org.openelisglobal.sample.valueholder.Sample;
+import org.openelisglobal.sampleqaevent.valueholder.SampleQaEvent;
+import org.openelisglobal.testresult.valueholder.TestResult;
+
+/**
+ * What {@link AnalyzerResultsPageLoader} fetched for the accession numbers on
+ * one analyzer results page, keyed the way the analyzer results controller
+ * looks it up while it builds the page or saves it.
+ */
+public class AnalyzerResultsPageData {
+
+    // keyed by the accession numbers as they were passed to the loader
+    final Map<String, Sample> samplesByAccession = new HashMap<>();
+    final Map<String, List<Analysis>> analysesByAccession = new HashMap<>();
+    // ordered by result id, as ResultService.getResultsByAnalysis
+    final Map<String, List<Result>> resultsByAnalysisId = new HashMap<>();
+    final Map<String, List<SampleQaEvent>> sampleQaEventsBySampleId = new HashMap<>();
+    final Map<String, List<TestResult>> activeTestResultsByTestId = new HashMap<>();
+    final Map<String, ResolvedDictionary> dictionariesById = new HashMap<>();
+
+    /**
+     * @return the sample for the accession number, or null if there is none
+     */
+    public Sample getSample(String accessionNumber) {
+        return samplesByAccession.get(accessionNumber);
+    }
+
+    /**
+     * @return the analyses of the sample for the accession number, in a list the
+     *         caller may change
+     */
+    public List<Analysis> getAnalyses(String accessionNumber) {
+        return new ArrayList<>(analysesByAccession.getOrDefault(accessionNumber, List.of()));
+    }
+
+    /**
+     * @return the results for the analysis, or null if the analysis was not part
+     *         of the page
+     */
+    public List<Result> getResults(String analysisId) {
+        List<Result> results = resultsByAnalysisId.get(analysisId);
+        return results == null ? null : new ArrayList<>(results);
+    }
+
+    public List<SampleQaEvent> getSampleQaEvents(String sampleId) {
+        return sampleQaEventsBySampleId.getOrDefault(sampleId, List.of());
+    }
+
+    /**
+     * @return the active test results for the test, or null if the test was not
+     *         part of the page
+     */
+    public List<TestResult> getActiveTestResults(String testId) {
+        return activeTestResultsByTestId.get(testId);
+    }
+
+    /**
+     * @return the dictionary, or null if it was not loaded for the page
+     */
+    public ResolvedDictionary getDictionary(String dictionaryId) {
+        return dictionaryId == null ? null : dictionariesById.get(dictionaryId.trim());
+    }
+}
@@ -0,0 +1,123 @@
+package org.openelisglobal.result.action.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.openelisglobal.analysis.service.AnalysisService;
+import org.openelisglobal.analysis.valueholder.Analysis;
+import org.openelisglobal.common.util.ChunkUtil;
+import org.openelisglobal.dictionary.service.DictionaryResolutionService;
+import org.openelisglobal.result.service.ResultService;
+import org.openelisglobal.result.valueholder.Result;
+import org.openelisglobal.sample.service.SampleService;
+import org.openelisglobal.sample.valueholder.Sample;
+import org.openelisglobal.sampleqaevent.service.SampleQaEventService;
+import org.openelisglobal.sampleqaevent.valueholder.SampleQaEvent;
+import org.openelisglobal.testresult.service.TestResultService;
+import org.openelisglobal.testresult.valueholder.TestResult;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Loads what the analyzer results page needs for all of its accession numbers
+ * with a handful of queries per chunk, instead of looking up the sample,
+ * analyses, results, test results and dictionary entries once per staged
+ * result. It is used both to build the page and to save it.
+ */
+@Component
+public class AnalyzerResultsPageLoader {
+
+    private final SampleService sampleService;
+    private final AnalysisService analysisService;
+    private final ResultService resultService;
+    private final SampleQaEventService sampleQaEventService;
+    private final TestResultService testResultService;
+    private final DictionaryResolutionService dictionaryResolutionService;
+
+    public AnalyzerResultsPageLoader(SampleService sampleService, AnalysisService analysisService,
+            ResultService resultService, SampleQaEventService sampleQaEventService,
+            TestResultService testResultService, DictionaryResolutionService dictionaryResolutionService) {
+        this.sampleService = sampleService;
+        this.analysisService = analysisService;
+        this.resultService = resultService;
+        this.sampleQaEventService = sampleQaEventService;
+        this.testResultService = testResultService;
+        this.dictionaryResolutionService = dictionaryResolutionService;
+    }
+
+    /**
+     * @param accessionNumbers the accession numbers of the staged results
+     * @param testIds          the ids of the tests the staged results are for
+     * @param dictionaryIds    dictionary ids to load besides those of the tests'
+     *                         test results, such as dictionary result values
+     */
+    @Transactional(readOnly = true)
+    public AnalyzerResultsPageData load(Collection<String> accessionNumbers, Collection<String> testIds,
+            Collection<String> dictionaryIds) {
+        AnalyzerResultsPageData page = new AnalyzerResultsPageData();
+
+        page.samplesByAccession.putAll(sampleService.getSamplesByAccessionNumbers(accessionNumbers));
+        page.analysesByAccession.putAll(analysisService.getAnalysesByAccessionNumbers(accessionNumbers));
+
+        Set<String> analysisIds = new LinkedHashSet<>();
+        for (List<Analysis> analyses : page.analysesByAccession.values()) {
+            for (Analysis analysis : analyses) {
+                analysisIds.add(analysis.getId());
+            }
+        }
+        loadResults(page, new ArrayList<>(analysisIds));
+
+        Set<String> sampleIds = new LinkedHashSet<>();
+        for (Sample sample : page.samplesByAccession.values()) {
+            sampleIds.add(sample.getId());
+        }
+        loadSampleQaEvents(page, new ArrayList<>(sampleIds));
+
+        page.activeTestResultsByTestId.putAll(testResultService.getActiveTestResultsByTests(testIds));
+
+        Set<String> allDictionaryIds = new LinkedHashSet<>();
+        addDictionaryIds(allDictionaryIds, dictionaryIds);
+        for (List<TestResult> testResults : page.activeTestResultsByTestId.values()) {
+            addDictionaryIds(allDictionaryIds, testResults.stream().map(TestResult::getValue).toList());
+        }
+        page.dictionariesById.putAll(dictionaryResolutionService.resolveAll(allDictionaryIds));
+        return page;
+    }
+
+    private void addDictionaryIds(Set<String> allDictionaryIds, Collection<String> dictionaryIds) {
+        for (String dictionaryId : dictionaryIds) {
+            if (dictionaryId != null) {
+                allDictionaryIds.add(dictionaryId.trim());
+            }
+        }
+    }
+
+    private void loadResults(AnalyzerResultsPageData page, List<String> analysisIds) {
+        for (List<String> chunk : ChunkUtil.chunk(analysisIds)) {
+            List<Result> results = resultService
+                    .getResultsForAnalysisIdList(chunk.stream().map(Integer::valueOf).toList());
+            if (results != null) {
+                results.sort(Comparator.comparing(result -> Integer.valueOf(result.getId())));
+                for (Result result : results) {
+                    page.resultsByAnalysisId.computeIfAbsent(result.getAnalysis().getId(), id -> new ArrayList<>())
+                            .add(result);
+                }
+            }
+        }
+        for (String analysisId : analysisIds) {
+            page.resultsByAnalysisId.putIfAbsent(analysisId, new ArrayList<>());
+        }
+    }
+
+    private void loadSampleQaEvents(AnalyzerResultsPageData page, List<String> sampleIds) {
+        for (List<String> chunk : ChunkUtil.chunk(sampleIds)) {
+            for (SampleQaEvent event : sampleQaEventService.getSampleQaEventsBySampleIds(chunk)) {
+                page.sampleQaEventsBySampleId.computeIfAbsent(event.getSample().getId(), id -> new ArrayList<>())
+                        .add(event);
+            }
+        }
+    }
+}
@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -45,14 +46,13 @@ import org.openelisglobal.common.util.ConfigurationProperties;
 import org.openelisglobal.common.util.ConfigurationProperties.Property;
 import org.openelisglobal.common.util.DateUtil;
 import org.openelisglobal.common.util.IdValuePair;
+import org.openelisglobal.dictionary.service.DictionaryResolutionService;
 import org.openelisglobal.dictionary.service.DictionaryService;
 import org.openelisglobal.dictionary.valueholder.Dictionary;
+import org.openelisglobal.dictionary.valueholder.ResolvedDictionary;
 import org.openelisglobal.internationalization.MessageUtil;
 import org.openelisglobal.localization.service.LocalizationService;
 import org.openelisglobal.localization.valueholder.Localization;
-import org.openelisglobal.note.service.NoteService;
-import org.openelisglobal.note.service.NoteServiceImpl.NoteType;
-import org.openelisglobal.observationhistory.service.ObservationHistoryService;
 import org.openelisglobal.observationhistory.valueholder.ObservationHistory;
 import org.openelisglobal.observationhistory.valueholder.ObservationHistory.ValueType;
 import org.openelisglobal.patient.form.PatientInfoForm;
@@ -62,17 +62,13 @@ import org.openelisglobal.patient.valueholder.Patient;
 import org.openelisglobal.patientidentity.valueholder.PatientIdentity;
 import org.openelisglobal.patientidentitytype.util.PatientIdentityTypeMap;
 import org.openelisglobal.person.service.PersonService;
-import org.openelisglobal.referral.service.ReferralService;
 import org.openelisglobal.referral.valueholder.Referral;
-import org.openelisglobal.result.service.ResultInventoryService;
 import org.openelisglobal.result.service.ResultService;
-import org.openelisglobal.result.service.ResultSignatureService;
 import org.openelisglobal.result.valueholder.Result;
 import org.openelisglobal.result.valueholder.ResultInventory;
 import org.openelisglobal.result.valueholder.ResultSignature;
 import org.openelisglobal.resultlimit.service.ResultLimitService;
 import org.openelisglobal.resultlimits.valueholder.ResultLimit;
-import org.openelisglobal.sample.service.SampleService;
 import org.openelisglobal.sample.valueholder.Sample;
 import org.openelisglobal.samplehuman.service.SampleHumanService;
 import org.openelisglobal.sampleitem.service.SampleItemService;
@@ -87,7 +83,6 @@ import org.openelisglobal.test.beanItems.TestResultItem;
 import org.openelisglobal.test.beanItems.TestResultItem.ResultDisplayType;
 import org.openelisglobal.test.service.TestService;
 import org.openelisglobal.test.valueholder.Test;
-import org.openelisglobal.testreflex.action.util.TestReflexUtil;
 import org.openelisglobal.testreflex.valueholder.TestReflex;
 import org.openelisglobal.testresult.service.TestResultService;
 import org.openelisglobal.testresult.valueholder.TestResult;
@@ -128,18 +123,12 @@ public class ResultsLoadUtility {
     @Autowired
     private DictionaryService dictionaryService;
     @Autowired
-    private LocalizationService localizationService;
-    @Autowired
-    private ResultSignatureService resultSignatureService;
-    @Autowired
-    private ResultInventoryService resultInventoryService;
+    private DictionaryResolutionService dictionaryResolutionService;
     @Autowired
-    private ObservationHistoryService observationHistoryService;
+    private LocalizationService localizationService;
     @Autowired
     private AnalysisService analysisService;
     @Autowired
-    private ReferralService referralService;
-    @Autowired
     private AnalyteService analyteService;
     @Autowired
     private SystemUserService systemUserService;
@@ -153,6 +142,11 @@ public class ResultsLoadUtility {
     private SampleQaEventService sampleQaEventService;
     @Autowired
     private TestResultService testResultService;
+    @Autowired
+    private ResultsPageLoader resultsPageLoader;
+
+    // everything the rows of the page being built need, loaded in one go
+    private ResultsPageData pageData;
 
     private final StatusRules statusRules = new StatusRules();
 
@@ -291,16 +285,15 @@ public class ResultsLoadUtility {
         reflexGroup = 1;
 
         List<TestResultItem> selectedTestList = new ArrayList<>();
+        pageData = loadPageData(filteredAnalysisList);
 
         for (Analysis analysis : filteredAnalysisList) {
-            patientService = SpringContext.getBean(PatientService.class);
-            SampleService sampleService = SpringContext.getBean(SampleService.class);
             Sample sample = analysis.getSampleItem().getSample();
-            currentPatient = sampleService.getPatient(sample);
+            currentPatient = pageData.patientsBySampleId.get(sample.getId());
 
             String patientName = "";
             String patientInfo;
-            String nationalId = patientService.getNationalId(currentPatient);
+            String nationalId = getNationalId(currentPatient);
             if (depersonalize) {
                 patientInfo = GenericValidator.isBlankOrNull(nationalId) ? patientService.getExternalId(currentPatient)
                         : nationalId;
@@ -331,6 +324,23 @@ public class ResultsLoadUtility {
         return selectedTestList;
     }
 
+    private ResultsPageData loadPageData(List<Analysis> analyses) {
+        return resultsPageLoader.load(analyses, useTechSignature, useInitialSampleCondition, supportReferrals);
+    }
+
+    /*
+     * as PatientService.getNationalId, but from the identities loaded for the page
+     */
+    private String getNationalId(Patient patient) {
+        if (patient == null) {
+            return "";
+        }
+        if (!GenericValidator.isBlankOrNull(patient.getNationalId())) {
+            return patient.getNationalId();
+        }
+        return pageData.nationalIdByPatientId.getOrDefault(patient.getId(), "");
+    }
+
     private void reverseSortByAccessionAndSequence(List<? extends ResultItem> selectedTest) {
         Collections.sort(selectedTest, new Comparator<ResultItem>() {
             @Override
@@ -411,7 +421,7 @@ public class ResultsLoadUtility {
         List<TestResultItem> testResultList = new ArrayList<>();
 
         SampleItem sampleItem = analysis.getSampleItem();
-        List<Result> resultList = resultService.getResultsByAnalysis(analysis);
+        List<Result> resultList = pageData.getResults(analysis.getId());
 
         ResultInventory testKit = null;
 
@@ -442,7 +452,7 @@ public class ResultsLoadUtility {
 
             if (result != null) {
                 if (useTechSignature) {
-                    List<ResultSignature> signatures = resultSignatureService.getResultSignaturesByResults(resultList);
+                    List<ResultSignature> signatures = pageData.getSignatures(analysis.getId());
 
                     for (ResultSignature signature : signatures) {
                         // we no longer use supervisor signature but there may be some in db
@@ -453,17 +463,14 @@ public class ResultsLoadUtility {
                     }
                 }
 
-                testKit = getInventoryForResult(result);
+                testKit = pageData.inventoryByResultId.get(result.getId());
 
                 multiSelectionResult = TypeOfTestResultServiceImpl.ResultType
                         .isMultiSelectVariant(result.getResultType());
             }
 
             String initialConditions = getInitialSampleConditionString(sampleItem);
-            NoteType[] noteTypes = { NoteType.EXTERNAL, NoteType.INTERNAL, NoteType.REJECTION_REASON,
-                    NoteType.NON_CONFORMITY };
-            NoteService noteService = SpringContext.getBean(NoteService.class);
-            String notes = noteService.getNotesAsString(analysis, true, true, "<br/>", noteTypes, false);
+            String notes = pageData.notesByAnalysisId.get(analysis.getId());
 
             TestResultItem resultItem = createTestResultItem(analysis, testKit, notes, sampleItem.getSortOrder(),
                     result, sampleItem.getSample().getAccessionNumber(), patientName, patientInfo, techSignature,
@@ -482,13 +489,12 @@ public class ResultsLoadUtility {
 
     private String getInitialSampleConditionString(SampleItem sampleItem) {
         if (useInitialSampleCondition) {
-            List<ObservationHistory> observationList = observationHistoryService
-                    .getObservationHistoriesBySampleItemId(sampleItem.getId());
+            List<ObservationHistory> observationList = pageData.getObservations(sampleItem.getId());
             StringBuilder conditions = new StringBuilder();
 
             for (ObservationHistory observation : observationList) {
                 if (ValueType.DICTIONARY.getCode().equals(observation.getValueType())) {
-                    Dictionary dictionary = dictionaryService.getDictionaryById(observation.getValue());
+                    ResolvedDictionary dictionary = dictionaryResolutionService.resolve(observation.getValue());
                     if (dictionary != null) {
                         conditions.append(dictionary.getLocalizedName());
                         conditions.append(", ");
@@ -511,12 +517,6 @@ public class ResultsLoadUtility {
         return null;
     }
 
-    private ResultInventory getInventoryForResult(Result result) throws LIMSRuntimeException {
-        List<ResultInventory> inventoryList = resultInventoryService.getResultInventorysByResult(result);
-
-        return inventoryList.size() > 0 ? inventoryList.get(0) : null;
-    }
-
     private List<TestResultItem> getGroupedTestsForSamples() {
 
         List<TestResultItem> testList = new ArrayList<>();
@@ -548,21 +548,26 @@ public class ResultsLoadUtility {
 
         List<TestResultItem> testList = new ArrayList<>();
 
+        Map<Sample, List<Analysis>> analysesBySample = new LinkedHashMap<>();
+        List<Analysis> allAnalyses = new ArrayList<>();
         for (Sample sample : samples) {
-            currSample = sample;
-            List<SampleItem> sampleItems = getSampleItemsForSample(sample);
-
-            for (SampleItem item : sampleItems) {
-                List<Analysis> analysisList = getAnalysisForSampleItem(item);
-
-                for (Analysis analysis : analysisList) {
+            List<Analysis> sampleAnalyses = new ArrayList<>();
+            for (SampleItem item : getSampleItemsForSample(sample)) {
+                sampleAnalyses.addAll(getAnalysisForSampleItem(item));
+            }
+            analysesBySample.put(sample, sampleAnalyses);
+            allAnalyses.addAll(sampleAnalyses);
+        }
+        pageData = loadPageData(allAnalyses);
 
-                    List<TestResultItem> selectedItemList = getTestResultItemFromAnalysis(analysis, NO_PATIENT_NAME,
-                            NO_PATIENT_INFO, "");
+        for (Map.Entry<Sample, List<Analysis>> entry : analysesBySample.entrySet()) {
+            currSample = entry.getKey();
+            for (Analysis analysis : entry.getValue()) {
+                List<TestResultItem> selectedItemList = getTestResultItemFromAnalysis(analysis, NO_PATIENT_NAME,
+                        NO_PATIENT_INFO, "");
 
-                    for (TestResultItem selectedItem : selectedItemList) {
-                        testList.add(selectedItem);
-                    }
+                for (TestResultItem selectedItem : selectedItemList) {
+                    testList.add(selectedItem);
                 }
             }
         }
@@ -578,8 +583,6 @@ public class ResultsLoadUtility {
     }
 
     private void addUserSelectionReflexes(List<TestResultItem> testList) {
-        TestReflexUtil reflexUtil = new TestReflexUtil();
-
         Map<String, TestResultItem> groupedSibReflexMapping = new HashMap<>();
 
         for (TestResultItem resultItem : testList) {
@@ -594,7 +597,7 @@ public class ResultsLoadUtility {
                 resultItem.setReflexParentGroup(reflexGroup);
             }
 
-            List<TestReflex> reflexList = reflexUtil.getPossibleUserChoiceTestReflexsForTest(resultItem.getTestId());
+            List<TestReflex> reflexList = pageData.getUserChoiceReflexes(resultItem.getTestId());
             resultItem.setUserChoiceReflex(reflexList.size() > 0);
 
             boolean possibleSibs = !groupedSibReflexMapping.isEmpty();
@@ -652,12 +655,12 @@ public class ResultsLoadUtility {
             return errorItem;
         }
 
-        ResultLimit resultLimit = SpringContext.getBean(ResultLimitService.class).getResultLimitForTestAndPatient(test,
-                currentPatient);
+        ResultLimit resultLimit = getResultLimit(test);
 
         String receivedDate = currSample == null ? getCurrentDate() : currSample.getReceivedDateForDisplay();
         String testMethodName = testService.getTestMethodName(test);
-        List<TestResult> testResults = testService.getPossibleTestResults(test);
+        List<TestResult> testResults = pageData.testResultsByTestId.computeIfAbsent(test.getId(),
+                id -> testService.getPossibleTestResults(test));
 
         String testKitId = null;
         String testKitInventoryId = null;
@@ -693,7 +696,7 @@ public class ResultsLoadUtility {
         String referralReasonId = null;
         boolean referralCanceled = false;
         if (supportReferrals) {
-            Referral referral = referralService.getReferralByAnalysisId(analysis.getId());
+            Referral referral = pageData.referralByAnalysisId.get(analysis.getId());
             if (referral != null) {
                 referralCanceled = referral.isCanceled();
                 referralId = referral.getId();
@@ -751,7 +754,9 @@ public class ResultsLoadUtility {
         testItem.setMultiSelectResultValues(analysisService.getJSONMultiSelectResults(analysis));
         testItem.setAnalysisStatusId(analysisService.getStatusId(analysis));
         // setDictionaryResults must come after setResultType, it may override it
-        testItem.setResultType(testService.getResultType(test));
+        testItem.setResultType(testResults == null || testResults.isEmpty()
+                ? TypeOfTestResultServiceImpl.ResultType.NUMERIC.getCharacterValue()
+                : testResults.get(0).getTestResultType());
         setDictionaryResults(testItem, isConclusion, result, testResults);
 
         testItem.setTechnician(techSignature);
@@ -803,6 +808,15 @@ public class ResultsLoadUtility {
         return testItem;
     }
 
+    private ResultLimit getResultLimit(Test test) {
+        String key = test.getId() + "|" + (currentPatient == null ? "" : currentPatient.getId());
+        if (!pageData.resultLimitsByTestAndPatient.containsKey(key)) {
+            pageData.resultLimitsByTestAndPatient.put(key, SpringContext.getBean(ResultLimitService.class)
+                    .getResultLimitForTestAndPatient(test, currentPatient));
+        }
+        return pageData.resultLimitsByTestAndPatient.get(key);
+    }
+
     private boolean isReadOnly(boolean isConclusion, boolean isCD4Conclusion) {
         return isConclusion || isCD4Conclusion || isLockCurrentResults();
     }
@@ -843,36 +857,32 @@ public class ResultsLoadUtility {
     private void setDictionaryResults(TestResultItem testItem, List<TestResult> testResults, Result result) {
 
         List<IdValuePair> values = null;
-        Dictionary dictionary;
 
         if (testResults != null && !testResults.isEmpty()
                 && TypeOfTestResultServiceImpl.ResultType.isDictionaryVariant(testResults.get(0).getTestResultType())) {
             values = new ArrayList<>();
 
-            Collections.sort(testResults, new Comparator<TestResult>() {
-                @Override
-                public int compare(TestResult o1, TestResult o2) {
-                    if (GenericValidator.isBlankOrNull(o1.getSortOrder())
-                            || GenericValidator.isBlankOrNull(o2.getSortOrder())) {
-                        return 1;
-                    }
-
-                    return Integer.parseInt(o1.getSortOrder()) - Integer.parseInt(o2.getSortOrder());
-                }
-            });
+            // the list is shared by every analysis of the test on the page, so it is
+            // sorted as a copy. Results without a sort order go last
+            testResults = new ArrayList<>(testResults);
+            testResults.sort(Comparator.comparing(
+                    (TestResult testResult) -> GenericValidator.isBlankOrNull(testResult.getSortOrder()) ? null
+                            : Integer.valueOf(testResult.getSortOrder()),
+                    Comparator.nullsLast(Comparator.naturalOrder())));
 
+            Map<String, ResolvedDictionary> dictionaries = dictionaryResolutionService
+                    .resolveAll(testResults.stream().map(TestResult::getValue).toList());
             String qualifiedDictionaryIds = "";
             for (TestResult testResult : testResults) {
                 if (TypeOfTestResultServiceImpl.ResultType.isDictionaryVariant(testResult.getTestResultType())) {
-                    dictionary = new Dictionary();
-                    dictionary.setId(testResult.getValue());
-                    dictionaryService.getData(dictionary);
+                    ResolvedDictionary dictionary = dictionaries.get(testResult.getValue());
+                    if (dictionary == null) {
+                        continue;
+                    }
                     String displayValue = dictionary.getLocalizedName();
 
                     if ("unknown".equals(displayValue)) {
-                        displayValue = GenericValidator.isBlankOrNull(dictionary.getLocalAbbreviation())
-                                ? dictionary.getDictEntry()
-                                : dictionary.getLocalAbbreviation();
+                        displayValue = dictionary.getAbbreviationOrEntry();
                     }
                     values.add(new IdValuePair(testResult.getValue(), displayValue));
                     if (testResult.getIsQuantifiable()) {
@@ -938,12 +948,13 @@ public class ResultsLoadUtility {
         if (result != null && TypeOfTestResultServiceImpl.ResultType.isDictionaryVariant(result.getResultType())) {
             values = new ArrayList<>();
 
-            Dictionary dictionaryValue = new Dictionary();
-            dictionaryValue.setId(result.getValue());
-            dictionaryService.getData(dictionaryValue);
+            ResolvedDictionary dictionaryValue = dictionaryResolutionService.resolve(result.getValue());
+            if (dictionaryValue == null || dictionaryValue.dictionaryCategoryId() == null) {
+                return values;
+            }
 
             List<Dictionary> dictionaryList = dictionaryService
-                    .getDictionaryEntriesByCategoryId(dictionaryValue.getDictionaryCategory().getId());
+                    .getDictionaryEntriesByCategoryId(dictionaryValue.dictionaryCategoryId());
 
             for (Dictionary dictionary : dictionaryList) {
                 String displayValue = dictionary.getLocalizedName();
@@ -0,0 +1,58 @@
+package org.openelisglobal.result.action.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.openelisglobal.observationhistory.valueholder.ObservationHistory;
+import org.openelisglobal.patient.valueholder.Patient;
+import org.openelisglobal.referral.valueholder.Referral;
+import org.openelisglobal.result.valueholder.Result;
+import org.openelisglobal.result.valueholder.ResultInventory;
+import org.openelisglobal.result.valueholder.ResultSignature;
+import org.openelisglobal.resultlimits.valueholder.ResultLimit;
+import org.openelisglobal.testreflex.valueholder.TestReflex;
+import org.openelisglobal.testresult.valueholder.TestResult;
+
+/**
+ * What {@link ResultsPageLoader} fetched for one page of result entry, keyed
+ * the way {@link ResultsLoadUtility} looks it up. Test results and result
+ * limits are filled in lazily as rows are built, since many rows share a test.
+ */
+public class ResultsPageData {
+
+    final Map<String, Patient> patientsBySampleId = new HashMap<>();
+    final Map<String, String> nationalIdByPatientId = new HashMap<>();
+    // ordered by result id, as ResultService.getResultsByAnalysis
+    final Map<String, List<Result>> resultsByAnalysisId = new HashMap<>();
+    final Map<String, List<ResultSignature>> signaturesByAnalysisId = new HashMap<>();
+    final Map<String, ResultInventory> inventoryByResultId = new HashMap<>();
+    final Map<String, String> notesByAnalysisId = new HashMap<>();
+    final Map<String, List<ObservationHistory>> observationsBySampleItemId = new HashMap<>();
+    final Map<String, Referral> referralByAnalysisId = new HashMap<>();
+    final Map<String, List<TestReflex>> userChoiceReflexesByTestId = new HashMap<>();
+    final Map<String, List<TestResult>> testResultsByTestId = new HashMap<>();
+    // keyed by test and patient id, and may hold null for tests without limits
+    final Map<String, ResultLimit> resultLimitsByTestAndPatient = new HashMap<>();
+
+    /**
+     * @return the results for the analysis, or null if the analysis was not part
+     *         of the page
+     */
+    List<Result> getResults(String analysisId) {
+        List<Result> results = resultsByAnalysisId.get(analysisId);
+        return results == null ? null : new ArrayList<>(results);
+    }
+
+    List<ResultSignature> getSignatures(String analysisId) {
+        return signaturesByAnalysisId.getOrDefault(analysisId, List.of());
+    }
+
+    List<ObservationHistory> getObservations(String sampleItemId) {
+        return observationsBySampleItemId.getOrDefault(sampleItemId, List.of());
+    }
+
+    List<TestReflex> getUserChoiceReflexes(String testId) {
+        return userChoiceReflexesByTestId.getOrDefault(testId, List.of());
+    }
+}
@@ -0,0 +1,184 @@
+package org.openelisglobal.result.action.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.openelisglobal.analysis.valueholder.Analysis;
+import org.openelisglobal.common.util.ChunkUtil;
+import org.openelisglobal.note.service.NoteService;
+import org.openelisglobal.note.service.NoteServiceImpl.NoteType;
+import org.openelisglobal.observationhistory.service.ObservationHistoryService;
+import org.openelisglobal.observationhistory.valueholder.ObservationHistory;
+import org.openelisglobal.patient.valueholder.Patient;
+import org.openelisglobal.patientidentity.service.PatientIdentityService;
+import org.openelisglobal.patientidentity.valueholder.PatientIdentity;
+import org.openelisglobal.patientidentitytype.service.PatientIdentityTypeService;
+import org.openelisglobal.patientidentitytype.valueholder.PatientIdentityType;
+import org.openelisglobal.referral.service.ReferralService;
+import org.openelisglobal.referral.valueholder.Referral;
+import org.openelisglobal.result.service.ResultInventoryService;
+import org.openelisglobal.result.service.ResultService;
+import org.openelisglobal.result.service.ResultSignatureService;
+import org.openelisglobal.result.valueholder.Result;
+import org.openelisglobal.result.valueholder.ResultInventory;
+import org.openelisglobal.result.valueholder.ResultSignature;
+import org.openelisglobal.samplehuman.service.SampleHumanService;
+import org.openelisglobal.testreflex.action.util.TestReflexUtil;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Loads everything result entry needs for a page of analyses with a handful of
+ * queries per chunk of analyses, instead of several queries per analysis, so
+ * that {@link ResultsLoadUtility} can build its rows from memory.
+ */
+@Component
+public class ResultsPageLoader {
+
+    static final NoteType[] NOTE_TYPES = { NoteType.EXTERNAL, NoteType.INTERNAL, NoteType.REJECTION_REASON,
+            NoteType.NON_CONFORMITY };
+
+    private final SampleHumanService sampleHumanService;
+    private final PatientIdentityService patientIdentityService;
+    private final PatientIdentityTypeService patientIdentityTypeService;
+    private final ResultService resultService;
+    private final ResultSignatureService resultSignatureService;
+    private final ResultInventoryService resultInventoryService;
+    private final NoteService noteService;
+    private final ObservationHistoryService observationHistoryService;
+    private final ReferralService referralService;
+
+    public ResultsPageLoader(SampleHumanService sampleHumanService, PatientIdentityService patientIdentityService,
+            PatientIdentityTypeService patientIdentityTypeService, ResultService resultService,
+            ResultSignatureService resultSignatureService, ResultInventoryService resultInventoryService,
+            NoteService noteService, ObservationHistoryService observationHistoryService,
+            ReferralService referralService) {
+        this.sampleHumanService = sampleHumanService;
+        this.patientIdentityService = patientIdentityService;
+        this.patientIdentityTypeService = patientIdentityTypeService;
+        this.resultService = resultService;
+        this.resultSignatureService = resultSignatureService;
+        this.resultInventoryService = resultInventoryService;
+        this.noteService = noteService;
+        this.observationHistoryService = observationHistoryService;
+        this.referralService = referralService;
+    }
+
+    /**
+     * @param loadSignatures       whether technician signatures are shown
+     * @param loadSampleConditions whether initial sample conditions are shown
+     * @param loadReferrals        whether referrals are shown
+     */
+    @Transactional(readOnly = true)
+    public ResultsPageData load(List<Analysis> analyses, boolean loadSignatures, boolean loadSampleConditions,
+            boolean loadReferrals) {
+        ResultsPageData page = new ResultsPageData();
+        PatientIdentityType nationalIdType = patientIdentityTypeService.getNamedIdentityType("NATIONAL");
+
+        for (List<Analysis> chunk : ChunkUtil.chunk(analyses)) {
+            loadChunk(page, chunk, nationalIdType, loadSignatures, loadSampleConditions, loadReferrals);
+        }
+
+        Set<String> testIds = new LinkedHashSet<>();
+        for (Analysis analysis : analyses) {
+            if (analysis.getTest() != null) {
+                testIds.add(analysis.getTest().getId());
+            }
+        }
+        page.userChoiceReflexesByTestId
+                .putAll(new TestReflexUtil().getPossibleUserChoiceTestReflexsForTests(new ArrayList<>(testIds)));
+        return page;
+    }
+
+    private void loadChunk(ResultsPageData page, List<Analysis> analyses, PatientIdentityType nationalIdType,
+            boolean loadSignatures, boolean loadSampleConditions, boolean loadReferrals) {
+        Set<String> analysisIds = new LinkedHashSet<>();
+        Set<String> sampleItemIds = new LinkedHashSet<>();
+        Set<String> sampleIds = new LinkedHashSet<>();
+        for (Analysis analysis : analyses) {
+            analysisIds.add(analysis.getId());
+            sampleItemIds.add(analysis.getSampleItem().getId());
+            sampleIds.add(analysis.getSampleItem().getSample().getId());
+        }
+
+        Map<String, Patient> patientsBySampleId = sampleHumanService.getPatientsForSamples(new ArrayList<>(sampleIds));
+        page.patientsBySampleId.putAll(patientsBySampleId);
+        if (nationalIdType != null) {
+            List<String> patientIds = patientsBySampleId.values().stream().map(Patient::getId).distinct().toList();
+            for (PatientIdentity identity : patientIdentityService.getPatientIdentitiesForPatientsAndType(patientIds,
+                    nationalIdType.getId())) {
+                page.nationalIdByPatientId.put(identity.getPatientId(), identity.getIdentityData());
+            }
+        }
+
+        List<Result> results = resultService
+                .getResultsForAnalysisIdList(analysisIds.stream().map(Integer::valueOf).toList());
+        List<String> resultIds = new ArrayList<>();
+        if (results != null) {
+            results.sort(Comparator.comparing(result -> Integer.valueOf(result.getId())));
+            for (Result result : results) {
+                page.resultsByAnalysisId.computeIfAbsent(result.getAnalysis().getId(), id -> new ArrayList<>())
+                        .add(result);
+                resultIds.add(result.getId());
+            }
+        }
+        for (String analysisId : analysisIds) {
+            page.resultsByAnalysisId.putIfAbsent(analysisId, new ArrayList<>());
+        }
+
+        if (loadSignatures && results != null && !results.isEmpty()) {
+            Map<String, String> analysisIdByResultId = new HashMap<>();
+            for (Result result : results) {
+                analysisIdByResultId.put(result.getId(), result.getAnalysis().getId());
+            }
+            for (ResultSignature signature : resultSignatureService.getResultSignaturesByResults(results)) {
+                page.signaturesByAnalysisId
+                        .computeIfAbsent(analysisIdByResultId.get(signature.getResultId()), id -> new ArrayList<>())
+                        .add(signature);
+            }
+        }
+
+        for (ResultInventory inventory : resultInventoryService.getResultInventorysByResultIds(resultIds)) {
+            page.inventoryByResultId.putIfAbsent(inventory.getResultId(), inventory);
+        }
+
+        page.notesByAnalysisId
+                .putAll(noteService.getNotesAsStringForAnalyses(analyses, true, true, "<br/>", NOTE_TYPES, false));
+
+        if (loadSampleConditions) {
+            List<ObservationHistory> observations = observationHistoryService
+                    .getObservationHistoriesBySampleItemIds(new ArrayList<>(sampleItemIds));
+            for (String sampleItemId : sampleItemIds) {
+                page.observationsBySampleItemId.putIfAbsent(sampleItemId, new ArrayList<>());
+            }
+            if (observations != null) {
+                for (ObservationHistory observation : observations) {
+                    page.observationsBySampleItemId
+                            .computeIfAbsent(observation.getSampleItemId(), id -> new ArrayList<>()).add(observation);
+                }
+            }
+        }
+
+        if (loadReferrals) {
+            Map<String, List<Referral>> referralsByAnalysisId = new HashMap<>();
+            List<Referral> referrals = referralService.getReferralsByAnalysisIds(new ArrayList<>(analysisIds));
+            if (referrals != null) {
+                for (Referral referral : referrals) {
+                    referralsByAnalysisId.computeIfAbsent(referral.getAnalysis().getId(), id -> new ArrayList<>())
+                            .add(referral);
+                }
+            }
+            // as ReferralService.getReferralByAnalysisId, an analysis with more than
+            // one referral is treated as having none
+            referralsByAnalysisId.forEach((analysisId, matches) -> {
+                if (matches.size() == 1) {
+                    page.referralByAnalysisId.put(analysisId, matches.get(0));
+                }
+            });
+        }
+    }
+}
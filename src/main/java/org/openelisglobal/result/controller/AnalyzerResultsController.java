@@ -40,8 +40,9 @@ import org.openelisglobal.common.services.StatusSet;
 import org.openelisglobal.common.util.ConfigurationProperties;
 import org.openelisglobal.common.util.DateUtil;
 import org.openelisglobal.common.util.StringUtil;
-import org.openelisglobal.dictionary.service.DictionaryService;
+import org.openelisglobal.dictionary.service.DictionaryResolutionService;
 import org.openelisglobal.dictionary.valueholder.Dictionary;
+import org.openelisglobal.dictionary.valueholder.ResolvedDictionary;
 import org.openelisglobal.internationalization.MessageUtil;
 import org.openelisglobal.localization.service.LocalizationService;
 import org.openelisglobal.note.service.NoteService;
@@ -50,13 +51,14 @@ import org.openelisglobal.note.valueholder.Note;
 import org.openelisglobal.patient.util.PatientUtil;
 import org.openelisglobal.patient.valueholder.Patient;
 import org.openelisglobal.plugin.AnalyzerImporterPlugin;
+import org.openelisglobal.result.action.util.AnalyzerResultsPageData;
+import org.openelisglobal.result.action.util.AnalyzerResultsPageLoader;
 import org.openelisglobal.result.action.util.ResultUtil;
 import org.openelisglobal.result.form.AnalyzerResultsForm;
 import org.openelisglobal.result.service.ResultService;
 import org.openelisglobal.result.valueholder.Result;
 import org.openelisglobal.resultlimit.service.ResultLimitService;
 import org.openelisglobal.resultlimits.valueholder.ResultLimit;
-import org.openelisglobal.sample.service.SampleService;
 import org.openelisglobal.sample.valueholder.Sample;
 import org.openelisglobal.samplehuman.service.SampleHumanService;
 import org.openelisglobal.samplehuman.valueholder.SampleHuman;
@@ -69,7 +71,7 @@ import org.openelisglobal.test.service.TestService;
 import org.openelisglobal.test.valueholder.Test;
 import org.openelisglobal.testanalyte.valueholder.TestAnalyte;
 import org.openelisglobal.testreflex.action.util.TestReflexUtil;
-import org.openelisglobal.testreflex.service.TestReflexService;
+import org.openelisglobal.testreflex.service.TestReflexIndexService;
 import org.openelisglobal.testreflex.valueholder.TestReflex;
 import org.openelisglobal.testresult.service.TestResultService;
 import org.openelisglobal.testresult.valueholder.TestResult;
@@ -126,17 +128,15 @@ public class AnalyzerResultsController extends BaseController {
     @Autowired
     private AnalyzerResultsService analyzerResultsService;
     @Autowired
-    private DictionaryService dictionaryService;
+    private DictionaryResolutionService dictionaryResolutionService;
     @Autowired
     private TestResultService testResultService;
     @Autowired
-    private SampleService sampleService;
-    @Autowired
     private TypeOfSampleTestService sampleTypeTestService;
     @Autowired
     private AnalysisService analysisService;
     @Autowired
-    private TestReflexService testReflexService;
+    private TestReflexIndexService testReflexIndexService;
     @Autowired
     private ResultService resultService;
     @Autowired
@@ -147,6 +147,8 @@ public class AnalyzerResultsController extends BaseController {
     private NoteService noteService;
     @Autowired
     private PluginAnalyzerService pluginAnalyzerService;
+    @Autowired
+    private AnalyzerResultsPageLoader analyzerResultsPageLoader;
 
     // used in constructor, so use constructor injection
     private TypeOfSampleService typeOfSampleService;
@@ -278,8 +280,9 @@ public class AnalyzerResultsController extends BaseController {
          */
         boolean missingTest = false;
         resolveMissingTests(analyzerResultsList);
+        AnalyzerResultsPageData page = loadPageData(analyzerResultsList);
         List<AnalyzerResultItem> analyzerResultItemList = new ArrayList<>();
-        List<List<AnalyzerResultItem>> accessionGroupedResultsList = groupAnalyzerResults(analyzerResultsList);
+        List<List<AnalyzerResultItem>> accessionGroupedResultsList = groupAnalyzerResults(analyzerResultsList, page);
 
         int sampleGroupingNumber = 0;
         for (List<AnalyzerResultItem> group : accessionGroupedResultsList) {
@@ -288,7 +291,7 @@ public class AnalyzerResultsController extends BaseController {
             for (AnalyzerResultItem resultItem : group) {
                 if (groupHeader == null) {
                     groupHeader = resultItem;
-                    setNonConformityStateForResultItem(resultItem);
+                    setNonConformityStateForResultItem(resultItem, page);
                     if (FormFields.getInstance().useField(Field.QaEventsBySection)) {
                         if (resultItem.getAnalysisId() != null) {
                             resultItem.setNonconforming(getQaEventByTestSection(
@@ -318,12 +321,30 @@ public class AnalyzerResultsController extends BaseController {
         return analyzerResultItemList;
     }
 
-    private void setNonConformityStateForResultItem(AnalyzerResultItem resultItem) {
+    private AnalyzerResultsPageData loadPageData(List<AnalyzerResults> analyzerResultsList) {
+        Set<String> accessionNumbers = new HashSet<>();
+        Set<String> testIds = new HashSet<>();
+        Set<String> dictionaryIds = new HashSet<>();
+        for (AnalyzerResults analyzerResult : analyzerResultsList) {
+            accessionNumbers.add(analyzerResult.getAccessionNumber());
+            if (!GenericValidator.isBlankOrNull(analyzerResult.getTestId())) {
+                testIds.add(analyzerResult.getTestId());
+            }
+            if (!TypeOfTestResultServiceImpl.ResultType.NUMERIC.matches(analyzerResult.getResultType())
+                    && !TypeOfTestResultServiceImpl.ResultType.isTextOnlyVariant(analyzerResult.getResultType())) {
+                dictionaryIds.add(analyzerResult.getResult());
+            }
+        }
+        return analyzerResultsPageLoader.load(accessionNumbers, testIds, dictionaryIds);
+    }
+
+    private void setNonConformityStateForResultItem(AnalyzerResultItem resultItem, AnalyzerResultsPageData page) {
         boolean nonconforming = false;
 
-        Sample sample = sampleService.getSampleByAccessionNumber(resultItem.getAccessionNumber());
+        Sample sample = page.getSample(resultItem.getAccessionNumber());
         if (sample != null) {
-            nonconforming = QAService.isOrderNonConforming(sample);
+            List<SampleQaEvent> sampleQaEvents = page.getSampleQaEvents(sample.getId());
+            nonconforming = QAService.isOrderNonConforming(sample, sampleQaEvents);
             // The sample is nonconforming, now we have to check if any sample items are
             // non_conforming and
             // if they are are they for this test
@@ -331,7 +352,7 @@ public class AnalyzerResultsController extends BaseController {
             // the tests
 
             if (nonconforming) {
-                List<SampleItem> nonConformingSampleItems = QAService.getNonConformingSampleItems(sample);
+                List<SampleItem> nonConformingSampleItems = QAService.getNonConformingSampleItems(sampleQaEvents);
                 // If there is a nonconforming sample item then we need to check if it is the
                 // one for this
                 // test if it is then it is nonconforming if not then it is not nonconforming
@@ -349,12 +370,13 @@ public class AnalyzerResultsController extends BaseController {
         resultItem.setNonconforming(nonconforming);
     }
 
-    private List<List<AnalyzerResultItem>> groupAnalyzerResults(List<AnalyzerResults> analyzerResultsList) {
+    private List<List<AnalyzerResultItem>> groupAnalyzerResults(List<AnalyzerResults> analyzerResultsList,
+            AnalyzerResultsPageData page) {
         Map<String, Integer> accessionToAccessionGroupMap = new HashMap<>();
         List<List<AnalyzerResultItem>> accessionGroupedResultsList = new ArrayList<>();
 
         for (AnalyzerResults analyzerResult : analyzerResultsList) {
-            AnalyzerResultItem resultItem = analyzerResultsToAnalyzerResultItem(analyzerResult);
+            AnalyzerResultItem resultItem = analyzerResultsToAnalyzerResultItem(analyzerResult, page);
             Integer groupIndex = accessionToAccessionGroupMap.get(resultItem.getAccessionNumber());
             List<AnalyzerResultItem> group;
             if (groupIndex == null) {
@@ -407,7 +429,8 @@ public class AnalyzerResultsController extends BaseController {
                 AnalyzerTestNameCache.getInstance().getAnalyzerIdForName(getAnalyzerNameFromRequest()));
     }
 
-    protected AnalyzerResultItem analyzerResultsToAnalyzerResultItem(AnalyzerResults result) {
+    protected AnalyzerResultItem analyzerResultsToAnalyzerResultItem(AnalyzerResults result,
+            AnalyzerResultsPageData page) {
 
         AnalyzerResultItem resultItem = new AnalyzerResultItem();
         resultItem.setAccessionNumber(result.getAccessionNumber());
@@ -420,23 +443,23 @@ public class AnalyzerResultsController extends BaseController {
         resultItem.setCompleteDate(result.getCompleteDateForDisplay());
         resultItem.setLastUpdated(result.getLastupdated());
         resultItem.setReadOnly((result.isReadOnly() || result.getTestId() == null));
-        resultItem.setResult(getResultForItem(result));
-        resultItem.setSignificantDigits(getSignificantDigitsFromAnalyzerResults(result));
+        resultItem.setResult(getResultForItem(result, page));
+        resultItem.setSignificantDigits(getSignificantDigitsFromAnalyzerResults(result, page));
         resultItem.setTestResultType(result.getResultType());
-        resultItem.setDictionaryResultList(getDictionaryResultList(result));
+        resultItem.setDictionaryResultList(getDictionaryResultList(result, page));
         resultItem.setIsHighlighted(!GenericValidator.isBlankOrNull(result.getDuplicateAnalyzerResultId())
                 || GenericValidator.isBlankOrNull(result.getTestId()));
-        resultItem.setUserChoiceReflex(giveUserChoice(result));
+        resultItem.setUserChoiceReflex(giveUserChoice(result, page));
         resultItem.setUserChoicePending(false);
 
         if (resultItem.isUserChoiceReflex()) {
-            setChoiceForCurrentValue(resultItem, result);
+            setChoiceForCurrentValue(resultItem, result, page);
             resultItem.setUserChoicePending(!GenericValidator.isBlankOrNull(resultItem.getSelectionOneText()));
         }
         return resultItem;
     }
 
-    private boolean giveUserChoice(AnalyzerResults result) {
+    private boolean giveUserChoice(AnalyzerResults result, AnalyzerResultsPageData page) {
         /*
          * This is how we figure out if the user will be able to select 1. Is the test
          * involved with triggering a user selection reflex 2. If the reflex has sibs
@@ -451,14 +474,13 @@ public class AnalyzerResultsController extends BaseController {
             return false;
         }
 
-        Sample sample = getSampleForAnalyzerResult(result);
-        if (sample == null) {
+        if (page.getSample(result.getAccessionNumber()) == null) {
             return false;
         }
 
         List<TestReflex> reflexes = reflexUtil.getPossibleUserChoiceTestReflexsForTest(result.getTestId());
 
-        List<Analysis> analysisList = analysisService.getAnalysesBySampleId(sample.getId());
+        List<Analysis> analysisList = page.getAnalyses(result.getAccessionNumber());
         Set<String> analysisTestIds = new HashSet<>();
 
         for (Analysis analysis : analysisList) {
@@ -473,11 +495,8 @@ public class AnalyzerResultsController extends BaseController {
         return true;
     }
 
-    private Sample getSampleForAnalyzerResult(AnalyzerResults result) {
-        return sampleService.getSampleByAccessionNumber(result.getAccessionNumber());
-    }
-
-    private void setChoiceForCurrentValue(AnalyzerResultItem resultItem, AnalyzerResults analyzerResult) {
+    private void setChoiceForCurrentValue(AnalyzerResultItem resultItem, AnalyzerResults analyzerResult,
+            AnalyzerResultsPageData page) {
         /*
          * If there are no siblings for the reflex then we just need to find if there
          * are choices for the current value
@@ -501,9 +520,7 @@ public class AnalyzerResultsController extends BaseController {
 
         } else {
 
-            Sample sample = getSampleForAnalyzerResult(analyzerResult);
-
-            List<Analysis> analysisList = analysisService.getAnalysesBySampleId(sample.getId());
+            List<Analysis> analysisList = page.getAnalyses(analyzerResult.getAccessionNumber());
 
             List<TestReflex> reflexesForDisplayedTest = reflexUtil.getTestReflexsForDictioanryResultTestId(
                     analyzerResult.getResult(), analyzerResult.getTestId(), true);
@@ -522,12 +539,13 @@ public class AnalyzerResultsController extends BaseController {
                         }
                     } else {
                         // find if the sibling reflex is satisfied
-                        TestReflex sibTestReflex = testReflexService.get(possibleTestReflex.getSiblingReflexId());
+                        TestReflex sibTestReflex = testReflexIndexService.getIndex()
+                                .getReflex(possibleTestReflex.getSiblingReflexId());
                         // TestResult sibTestResult =
                         // testResultService.get(sibTestReflex.getTestResultId());
 
                         for (Analysis analysis : analysisList) {
-                            List<Result> resultList = resultService.getResultsByAnalysis(analysis);
+                            List<Result> resultList = page.getResults(analysis.getId());
                             Test test = analysis.getTest();
 
                             for (Result result : resultList) {
@@ -583,9 +601,9 @@ public class AnalyzerResultsController extends BaseController {
         }
     }
 
-    private String getResultForItem(AnalyzerResults result) {
+    private String getResultForItem(AnalyzerResults result, AnalyzerResultsPageData page) {
         if (TypeOfTestResultServiceImpl.ResultType.NUMERIC.matches(result.getResultType())) {
-            return getRoundedToSignificantDigits(result);
+            return getRoundedToSignificantDigits(result, page);
         }
 
         if (TypeOfTestResultServiceImpl.ResultType.isTextOnlyVariant(result.getResultType())
@@ -598,15 +616,15 @@ public class AnalyzerResultsController extends BaseController {
         // If it's readonly or the selectlist can not be gotten then we want the result
         // otherwise we want the id so the correct selection will be choosen
         if (result.isReadOnly() || result.getTestId() == null || result.getIsControl()) {
-            return dictionaryService.get(result.getResult()).getDictEntry();
+            return getDictionary(result.getResult(), page).dictEntry();
         } else {
             return result.getResult();
         }
     }
 
-    private String getSignificantDigitsFromAnalyzerResults(AnalyzerResults result) {
+    private String getSignificantDigitsFromAnalyzerResults(AnalyzerResults result, AnalyzerResultsPageData page) {
 
-        List<TestResult> testResults = testResultService.getActiveTestResultsByTest(result.getTestId());
+        List<TestResult> testResults = getActiveTestResults(result.getTestId(), page);
 
         if (GenericValidator.isBlankOrNull(result.getResult()) || testResults.isEmpty()) {
             return result.getResult();
@@ -617,7 +635,7 @@ public class AnalyzerResultsController extends BaseController {
         return testResult.getSignificantDigits();
     }
 
-    private String getRoundedToSignificantDigits(AnalyzerResults result) {
+    private String getRoundedToSignificantDigits(AnalyzerResults result, AnalyzerResultsPageData page) {
         if (result.getTestId() != null) {
 
             Double results;
@@ -627,7 +645,7 @@ public class AnalyzerResultsController extends BaseController {
                 return result.getResult();
             }
 
-            String significantDigitsAsString = getSignificantDigitsFromAnalyzerResults(result);
+            String significantDigitsAsString = getSignificantDigitsFromAnalyzerResults(result, page);
             if (GenericValidator.isBlankOrNull(significantDigitsAsString) || "-1".equals(significantDigitsAsString)) {
                 return result.getResult();
             }
@@ -653,7 +671,7 @@ public class AnalyzerResultsController extends BaseController {
         return units;
     }
 
-    private List<Dictionary> getDictionaryResultList(AnalyzerResults result) {
+    private List<Dictionary> getDictionaryResultList(AnalyzerResults result, AnalyzerResultsPageData page) {
         if ("N".equals(result.getResultType()) || "A".equals(result.getResultType())
                 || "R".equals(result.getResultType()) || GenericValidator.isBlankOrNull(result.getResultType())
                 || result.getTestId() == null) {
@@ -662,15 +680,38 @@ public class AnalyzerResultsController extends BaseController {
 
         List<Dictionary> dictionaryList = new ArrayList<>();
 
-        List<TestResult> testResults = testResultService.getActiveTestResultsByTest(result.getTestId());
+        List<TestResult> testResults = getActiveTestResults(result.getTestId(), page);
 
         for (TestResult testResult : testResults) {
-            dictionaryList.add(dictionaryService.get(testResult.getValue()));
+            dictionaryList.add(toDictionary(getDictionary(testResult.getValue(), page)));
         }
 
         return dictionaryList;
     }
 
+    private List<TestResult> getActiveTestResults(String testId, AnalyzerResultsPageData page) {
+        List<TestResult> testResults = page.getActiveTestResults(testId);
+        return testResults != null ? testResults : testResultService.getActiveTestResultsByTest(testId);
+    }
+
+    private ResolvedDictionary getDictionary(String dictionaryId, AnalyzerResultsPageData page) {
+        ResolvedDictionary dictionary = page.getDictionary(dictionaryId);
+        return dictionary != null || dictionaryId == null ? dictionary
+                : dictionaryResolutionService.resolve(dictionaryId.trim());
+    }
+
+    // the select list only shows the id and entry of each dictionary
+    private Dictionary toDictionary(ResolvedDictionary resolved) {
+        if (resolved == null) {
+            return null;
+        }
+        Dictionary dictionary = new Dictionary();
+        dictionary.setId(resolved.id());
+        dictionary.setDictEntry(resolved.dictEntry());
+        dictionary.setLocalAbbreviation(resolved.localAbbreviation());
+        return dictionary;
+    }
+
     @Override
     protected String getActualMessage(String messageKey) {
         String actualMessage = null;
@@ -832,6 +873,19 @@ public class AnalyzerResultsController extends BaseController {
             List<SampleGrouping> sampleGroupList) {
         int groupingNumber = -1;
         List<AnalyzerResultItem> groupedResultList = new ArrayList<>();
+        // load the samples, analyses and results of every item up front instead of
+        // once per item
+        Set<String> accessionNumbers = new HashSet<>();
+        Set<String> testIds = new HashSet<>();
+        for (AnalyzerResultItem analyzerResultItem : actionableResults) {
+            if (!analyzerResultItem.getIsDeleted() && !analyzerResultItem.isReadOnly()) {
+                accessionNumbers.add(analyzerResultItem.getAccessionNumber());
+                if (!GenericValidator.isBlankOrNull(analyzerResultItem.getTestId())) {
+                    testIds.add(analyzerResultItem.getTestId());
+                }
+            }
+        }
+        AnalyzerResultsPageData page = analyzerResultsPageLoader.load(accessionNumbers, testIds, new HashSet<>());
 
         /*
          * Basic idea is that analyzerResultItems are put into a groupedResultList if
@@ -847,7 +901,7 @@ public class AnalyzerResultsController extends BaseController {
             if (analyzerResultItem.getSampleGroupingNumber() != groupingNumber) {
                 groupingNumber = analyzerResultItem.getSampleGroupingNumber();
 
-                SampleGrouping sampleGrouping = createRecordsForNewResult(groupedResultList);
+                SampleGrouping sampleGrouping = createRecordsForNewResult(groupedResultList, page);
 
                 if (sampleGrouping != null) {
                     sampleGrouping.triggersToSelectedReflexesMap = new HashMap<>();
@@ -863,7 +917,7 @@ public class AnalyzerResultsController extends BaseController {
         }
 
         // for the last set of results the grouping number will not change
-        SampleGrouping sampleGrouping = createRecordsForNewResult(groupedResultList);
+        SampleGrouping sampleGrouping = createRecordsForNewResult(groupedResultList, page);
         // TODO currently there are no user selections of reflexes on the analyzer
         // result page so for now this is ok
         if (sampleGrouping != null) {
@@ -872,7 +926,8 @@ public class AnalyzerResultsController extends BaseController {
         }
     }
 
-    private SampleGrouping createRecordsForNewResult(List<AnalyzerResultItem> groupedAnalyzerResultItems) {
+    private SampleGrouping createRecordsForNewResult(List<AnalyzerResultItem> groupedAnalyzerResultItems,
+            AnalyzerResultsPageData page) {
 
         if (groupedAnalyzerResultItems != null && !groupedAnalyzerResultItems.isEmpty()) {
             String accessionNumber = groupedAnalyzerResultItems.get(0).getAccessionNumber();
@@ -887,23 +942,23 @@ public class AnalyzerResultsController extends BaseController {
             // One corner cases includes the results from one analyzer have been
             // done and this is a different
             // analyzer, it may or may not be from the same sample
-            if (noEntryDone(statusSet, accessionNumber)) {
-                return createGroupForNoSampleEntryDone(groupedAnalyzerResultItems, statusSet);
+            if (noEntryDone(statusSet, accessionNumber, page)) {
+                return createGroupForNoSampleEntryDone(groupedAnalyzerResultItems, statusSet, page);
             } else if (statusSet.getSampleRecordStatus() == RecordStatus.NotRegistered
                     && statusSet.getPatientRecordStatus() == RecordStatus.NotRegistered) {
-                return createGroupForPreviousAnalyzerDone(groupedAnalyzerResultItems, statusSet);
+                return createGroupForPreviousAnalyzerDone(groupedAnalyzerResultItems, statusSet, page);
             } else if (statusSet.getSampleRecordStatus() == RecordStatus.NotRegistered) {
-                return createGroupForDemographicsEntered(groupedAnalyzerResultItems, statusSet);
+                return createGroupForDemographicsEntered(groupedAnalyzerResultItems, statusSet, page);
             } else {
                 // this is called when just sample entry has been done/ fix
-                return createGroupForSampleAndDemographicsEntered(groupedAnalyzerResultItems, statusSet);
+                return createGroupForSampleAndDemographicsEntered(groupedAnalyzerResultItems, statusSet, page);
             }
         }
 
         return null;
     }
 
-    private boolean noEntryDone(StatusSet statusSet, String accessionNumber) {
+    private boolean noEntryDone(StatusSet statusSet, String accessionNumber, AnalyzerResultsPageData page) {
         boolean sampleOrPatientEntryDone = statusSet.getPatientRecordStatus() != null
                 || statusSet.getSampleRecordStatus() != null;
 
@@ -912,7 +967,7 @@ public class AnalyzerResultsController extends BaseController {
         }
 
         // This last case is that non-conformity may have been done
-        return sampleService.getSampleByAccessionNumber(accessionNumber) == null;
+        return page.getSample(accessionNumber) == null;
     }
 
     /*
@@ -920,10 +975,9 @@ public class AnalyzerResultsController extends BaseController {
      * sample_item, if the sample type is different then the current one.
      */
     private SampleGrouping createGroupForPreviousAnalyzerDone(List<AnalyzerResultItem> groupedAnalyzerResultItems,
-            StatusSet statusSet) {
+            StatusSet statusSet, AnalyzerResultsPageData page) {
         SampleGrouping sampleGrouping = new SampleGrouping();
-        Sample sample = sampleService
-                .getSampleByAccessionNumber(groupedAnalyzerResultItems.get(0).getAccessionNumber());
+        Sample sample = page.getSample(groupedAnalyzerResultItems.get(0).getAccessionNumber());
 
         List<Analysis> analysisList = new ArrayList<>();
         List<Result> resultList = new ArrayList<>();
@@ -936,10 +990,10 @@ public class AnalyzerResultsController extends BaseController {
 
         Patient patient = sampleHumanService.getPatientForSample(sample);
         createAndAddItems_Analysis_Results(groupedAnalyzerResultItems, analysisList, resultList,
-                resultToUserSelectionMap, noteList, patient);
+                resultToUserSelectionMap, noteList, patient, page);
 
         // We either have to find an existing sample item or create a new one
-        SampleItem sampleItem = getOrCreateSampleItem(groupedAnalyzerResultItems, sample);
+        SampleItem sampleItem = getOrCreateSampleItem(groupedAnalyzerResultItems, page);
 
         sampleGrouping.sample = sample;
         sampleGrouping.sampleItem = sampleItem;
@@ -956,8 +1010,9 @@ public class AnalyzerResultsController extends BaseController {
         return sampleGrouping;
     }
 
-    protected SampleItem getOrCreateSampleItem(List<AnalyzerResultItem> groupedAnalyzerResultItems, Sample sample) {
-        List<Analysis> dBAnalysisList = analysisService.getAnalysesBySampleId(sample.getId());
+    protected SampleItem getOrCreateSampleItem(List<AnalyzerResultItem> groupedAnalyzerResultItems,
+            AnalyzerResultsPageData page) {
+        List<Analysis> dBAnalysisList = page.getAnalyses(groupedAnalyzerResultItems.get(0).getAccessionNumber());
 
         List<TypeOfSampleTest> typeOfSampleForNewTest = typeOfSampleTestService
                 .getTypeOfSampleTestsForTest(groupedAnalyzerResultItems.get(0).getTestId());
@@ -992,14 +1047,13 @@ public class AnalyzerResultsController extends BaseController {
     }
 
     private SampleGrouping createGroupForDemographicsEntered(List<AnalyzerResultItem> groupedAnalyzerResultItems,
-            StatusSet statusSet) {
+            StatusSet statusSet, AnalyzerResultsPageData page) {
         SampleGrouping sampleGrouping = new SampleGrouping();
-        Sample sample = sampleService
-                .getSampleByAccessionNumber(groupedAnalyzerResultItems.get(0).getAccessionNumber());
+        Sample sample = page.getSample(groupedAnalyzerResultItems.get(0).getAccessionNumber());
 
         // A previous sample item may exist if there was a previous import and
         // patient demographics was entered
-        SampleItem sampleItem = getOrCreateSampleItem(groupedAnalyzerResultItems, sample);
+        SampleItem sampleItem = getOrCreateSampleItem(groupedAnalyzerResultItems, page);
 
         List<Analysis> analysisList = new ArrayList<>();
         List<Result> resultList = new ArrayList<>();
@@ -1014,7 +1068,7 @@ public class AnalyzerResultsController extends BaseController {
 
         Patient patient = sampleHumanService.getPatientForSample(sample);
         createAndAddItems_Analysis_Results(groupedAnalyzerResultItems, analysisList, resultList,
-                resultToUserSelectionMap, noteList, patient);
+                resultToUserSelectionMap, noteList, patient, page);
 
         sampleGrouping.sample = sample;
         sampleGrouping.sampleItem = sampleItem;
@@ -1033,10 +1087,10 @@ public class AnalyzerResultsController extends BaseController {
     }
 
     private SampleGrouping createGroupForSampleAndDemographicsEntered(
-            List<AnalyzerResultItem> groupedAnalyzerResultItems, StatusSet statusSet) {
+            List<AnalyzerResultItem> groupedAnalyzerResultItems, StatusSet statusSet, AnalyzerResultsPageData page) {
         SampleGrouping sampleGrouping = new SampleGrouping();
-        Sample sample = sampleService
-                .getSampleByAccessionNumber(groupedAnalyzerResultItems.get(0).getAccessionNumber());
+        String accessionNumber = groupedAnalyzerResultItems.get(0).getAccessionNumber();
+        Sample sample = page.getSample(accessionNumber);
 
         List<Analysis> analysisList = new ArrayList<>();
         List<Result> resultList = new ArrayList<>();
@@ -1053,7 +1107,7 @@ public class AnalyzerResultsController extends BaseController {
         /*****
          * this is causing the status id for the sample in the DB to be updated
          *********/
-        List<Analysis> dBAnalysisList = analysisService.getAnalysesBySampleId(sample.getId());
+        List<Analysis> dBAnalysisList = page.getAnalyses(accessionNumber);
         Patient patient = sampleHumanService.getPatientForSample(sample);
 
         for (AnalyzerResultItem resultItem : groupedAnalyzerResultItems) {
@@ -1110,7 +1164,7 @@ public class AnalyzerResultsController extends BaseController {
             analysis.setSysUserId(getSysUserId(request));
             analysisList.add(analysis);
 
-            Result result = getResult(analysis, patient, resultItem);
+            Result result = getResult(analysis, patient, resultItem, page);
             resultToUserSelectionMap.put(result, resultItem.getReflexSelectionId());
 
             resultList.add(result);
@@ -1141,7 +1195,7 @@ public class AnalyzerResultsController extends BaseController {
     }
 
     private SampleGrouping createGroupForNoSampleEntryDone(List<AnalyzerResultItem> groupedAnalyzerResultItems,
-            StatusSet statusSet) {
+            StatusSet statusSet, AnalyzerResultsPageData page) {
         SampleGrouping sampleGrouping = new SampleGrouping();
         Sample sample = new Sample();
         SampleHuman sampleHuman = new SampleHuman();
@@ -1167,7 +1221,7 @@ public class AnalyzerResultsController extends BaseController {
 
         Patient patient = PatientUtil.getUnknownPatient();
         createAndAddItems_Analysis_Results(groupedAnalyzerResultItems, analysisList, resultList,
-                resultToUserSelectionMap, noteList, patient);
+                resultToUserSelectionMap, noteList, patient, page);
 
         addSampleTypeToSampleItem(sampleItem, analysisList, sample.getAccessionNumber());
 
@@ -1212,10 +1266,10 @@ public class AnalyzerResultsController extends BaseController {
 
     private void createAndAddItems_Analysis_Results(List<AnalyzerResultItem> groupedAnalyzerResultItems,
             List<Analysis> analysisList, List<Result> resultList, Map<Result, String> resultToUserSelectionMap,
-            List<Note> noteList, Patient patient) {
+            List<Note> noteList, Patient patient, AnalyzerResultsPageData page) {
 
         for (AnalyzerResultItem resultItem : groupedAnalyzerResultItems) {
-            Analysis analysis = getExistingAnalysis(resultItem);
+            Analysis analysis = getExistingAnalysis(resultItem, page);
 
             if (analysis == null) {
                 analysis = new Analysis();
@@ -1231,7 +1285,7 @@ public class AnalyzerResultsController extends BaseController {
             analysis.setSysUserId(getSysUserId(request));
             analysisList.add(analysis);
 
-            Result result = getResult(analysis, patient, resultItem);
+            Result result = getResult(analysis, patient, resultItem, page);
             resultList.add(result);
             resultToUserSelectionMap.put(result, resultItem.getReflexSelectionId());
             if (GenericValidator.isBlankOrNull(resultItem.getNote())) {
@@ -1244,26 +1298,33 @@ public class AnalyzerResultsController extends BaseController {
         }
     }
 
-    private Analysis getExistingAnalysis(AnalyzerResultItem resultItem) {
-        List<Analysis> analysisList = analysisService.getAnalysisByAccessionAndTestId(resultItem.getAccessionNumber(),
-                resultItem.getTestId());
+    private Analysis getExistingAnalysis(AnalyzerResultItem resultItem, AnalyzerResultsPageData page) {
+        for (Analysis analysis : page.getAnalyses(resultItem.getAccessionNumber())) {
+            if (analysis.getTest().getId().equals(resultItem.getTestId())) {
+                return analysis;
+            }
+        }
 
-        return analysisList.isEmpty() ? null : analysisList.get(0);
+        return null;
     }
 
-    private Result getResult(Analysis analysis, Patient patient, AnalyzerResultItem resultItem) {
+    private Result getResult(Analysis analysis, Patient patient, AnalyzerResultItem resultItem,
+            AnalyzerResultsPageData page) {
 
         Result result = null;
 
         if (analysis.getId() != null) {
-            List<Result> resultList = resultService.getResultsByAnalysis(analysis);
+            List<Result> resultList = page.getResults(analysis.getId());
+            if (resultList == null) {
+                resultList = resultService.getResultsByAnalysis(analysis);
+            }
 
             if (!resultList.isEmpty()) {
                 result = resultList.get(resultList.size() - 1);
                 // this should be refactored -- it's very close to createNewResult
                 String resultValue = resultItem.getIsRejected() ? REJECT_VALUE : resultItem.getResult();
                 result.setValue(resultValue);
-                result.setTestResult(getTestResultForResult(resultItem));
+                result.setTestResult(getTestResultForResult(resultItem, page));
                 result.setSysUserId(getSysUserId(request));
 
                 setAnalyte(result);
@@ -1271,7 +1332,7 @@ public class AnalyzerResultsController extends BaseController {
         }
 
         if (result == null) {
-            result = createNewResult(resultItem, patient);
+            result = createNewResult(resultItem, patient, page);
         }
 
         return result;
@@ -1285,11 +1346,11 @@ public class AnalyzerResultsController extends BaseController {
         }
     }
 
-    private Result createNewResult(AnalyzerResultItem resultItem, Patient patient) {
+    private Result createNewResult(AnalyzerResultItem resultItem, Patient patient, AnalyzerResultsPageData page) {
         Result result = new Result();
         String resultValue = resultItem.getIsRejected() ? REJECT_VALUE : resultItem.getResult();
         result.setValue(resultValue);
-        result.setTestResult(getTestResultForResult(resultItem));
+        result.setTestResult(getTestResultForResult(resultItem, page));
         result.setResultType(resultItem.getTestResultType());
         // the results table is not autmatically updated with the significant digits
         // from TestResult so we must do this
@@ -1322,14 +1383,14 @@ public class AnalyzerResultsController extends BaseController {
         }
     }
 
-    private TestResult getTestResultForResult(AnalyzerResultItem resultItem) {
+    private TestResult getTestResultForResult(AnalyzerResultItem resultItem, AnalyzerResultsPageData page) {
         if ("D".equals(resultItem.getTestResultType())) {
             TestResult testResult;
             testResult = testResultService.getTestResultsByTestAndDictonaryResult(resultItem.getTestId(),
                     resultItem.getResult());
             return testResult;
         } else {
-            List<TestResult> testResultList = testResultService.getActiveTestResultsByTest(resultItem.getTestId());
+            List<TestResult> testResultList = getActiveTestResults(resultItem.getTestId(), page);
             // we are assuming there is only one testResult for a numeric
             // type result
             if (!testResultList.isEmpty()) {
@@ -36,4 +36,6 @@ public interface ResultInventoryDAO extends BaseDAO<ResultInventory, String> {
     ResultInventory getResultInventoryById(ResultInventory resultInventory) throws LIMSRuntimeException;
 
     List<ResultInventory> getResultInventorysByResult(Result result) throws LIMSRuntimeException;
+
+    List<ResultInventory> getResultInventorysByResultIds(List<String> resultIds) throws LIMSRuntimeException;
 }
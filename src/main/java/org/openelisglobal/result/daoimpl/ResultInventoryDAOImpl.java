@@ -16,6 +16,7 @@
 package org.openelisglobal.result.daoimpl;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.List;
 import org.apache.commons.beanutils.PropertyUtils;
 import org.hibernate.Session;
@@ -114,4 +115,21 @@ public class ResultInventoryDAOImpl extends BaseDAOImpl<ResultInventory, String>
             throw new LIMSRuntimeException("Error in ResultInventory getResultInventoryById()", e);
         }
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ResultInventory> getResultInventorysByResultIds(List<String> resultIds) throws LIMSRuntimeException {
+        if (resultIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            String sql = "from ResultInventory r where r.resultId in (:resultIds)";
+            Query<ResultInventory> query = entityManager.unwrap(Session.class).createQuery(sql, ResultInventory.class);
+            query.setParameterList("resultIds", resultIds.stream().map(Integer::parseInt).toList());
+            return query.list();
+        } catch (RuntimeException e) {
+            LogEvent.logError(e);
+            throw new LIMSRuntimeException("Error in ResultInventory getResultInventorysByResultIds()", e);
+        }
+    }
 }
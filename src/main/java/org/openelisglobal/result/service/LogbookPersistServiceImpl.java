@@ -15,7 +15,6 @@ import org.openelisglobal.common.services.StatusService.OrderStatus;
 import org.openelisglobal.common.services.registration.interfaces.IResultUpdate;
 import org.openelisglobal.dataexchange.orderresult.OrderResponseWorker.Event;
 import org.openelisglobal.note.service.NoteService;
-import org.openelisglobal.note.valueholder.Note;
 import org.openelisglobal.referral.service.ReferralResultService;
 import org.openelisglobal.referral.service.ReferralService;
 import org.openelisglobal.referral.service.ReferralSetService;
@@ -23,6 +22,9 @@ import org.openelisglobal.referral.valueholder.ReferralResult;
 import org.openelisglobal.referral.valueholder.ReferralSet;
 import org.openelisglobal.result.action.util.ResultSet;
 import org.openelisglobal.result.action.util.ResultsUpdateDataSet;
+import org.openelisglobal.result.valueholder.Result;
+import org.openelisglobal.result.valueholder.ResultInventory;
+import org.openelisglobal.result.valueholder.ResultSignature;
 import org.openelisglobal.sample.service.SampleService;
 import org.openelisglobal.sample.valueholder.Sample;
 import org.openelisglobal.spring.util.SpringContext;
@@ -59,34 +61,35 @@ public class LogbookPersistServiceImpl implements LogbookResultsPersistService {
     @Transactional
     public List<Analysis> persistDataSet(ResultsUpdateDataSet actionDataSet, List<IResultUpdate> updaters,
             String sysUserId) {
-        for (Note note : actionDataSet.getNoteList()) {
-            noteService.insert(note);
-        }
+        // writes are grouped by entity so each group goes to the database in JDBC
+        // batches
+        noteService.insertAll(actionDataSet.getNoteList());
 
+        List<ResultSet> insertedResultSets = new ArrayList<>();
         for (ResultSet resultSet : actionDataSet.getNewResults()) {
             resultSet.result.setResultEvent(Event.PRELIMINARY_RESULT);
             resultSet.result.setFhirUuid(UUID.randomUUID());
-            String resultId;
 
             // Check if result already exists for this specific Analysis (not Sample+Test)
             // This allows different aliquots (SampleItems) of the same sample to have
             // results for the same test type, since each aliquot has its own Analysis
             if (resultSet.result.getId() == null) {
-                resultId = resultService.insert(resultSet.result);
-            } else {
-                continue;
+                insertedResultSets.add(resultSet);
             }
+        }
+        resultService.insertAll(insertedResultSets.stream().map(resultSet -> resultSet.result).toList());
 
+        List<ResultSignature> newSignatures = new ArrayList<>();
+        List<ResultInventory> newTestKits = new ArrayList<>();
+        for (ResultSet resultSet : insertedResultSets) {
             if (resultSet.signature != null) {
                 resultSet.signature.setResultId(resultSet.result.getId());
-                resultSigService.insert(resultSet.signature);
+                newSignatures.add(resultSet.signature);
             }
-
             if (resultSet.testKit != null && resultSet.testKit.getInventoryLocationId() != null) {
                 resultSet.testKit.setResultId(resultSet.result.getId());
-                resultInventoryService.insert(resultSet.testKit);
+                newTestKits.add(resultSet.testKit);
             }
-            resultSet.result.setId(resultId);
         }
 
         for (ReferralSet referralSet : actionDataSet.getSavableReferralSets()) {
@@ -95,32 +98,38 @@ public class LogbookPersistServiceImpl implements LogbookResultsPersistService {
             }
         }
 
+        List<Result> modifiedResults = new ArrayList<>();
+        List<ResultSignature> modifiedSignatures = new ArrayList<>();
+        List<ResultInventory> modifiedTestKits = new ArrayList<>();
         for (ResultSet resultSet : actionDataSet.getModifiedResults()) {
             resultSet.result.setResultEvent(Event.RESULT);
-            resultService.update(resultSet.result);
+            modifiedResults.add(resultSet.result);
 
             if (resultSet.signature != null) {
                 resultSet.signature.setResultId(resultSet.result.getId());
                 if (resultSet.alwaysInsertSignature) {
-                    resultSigService.insert(resultSet.signature);
+                    newSignatures.add(resultSet.signature);
                 } else {
-                    resultSigService.update(resultSet.signature);
+                    modifiedSignatures.add(resultSet.signature);
                 }
             }
 
             if (resultSet.testKit != null && resultSet.testKit.getInventoryLocationId() != null) {
                 resultSet.testKit.setResultId(resultSet.result.getId());
                 if (resultSet.testKit.getId() == null) {
-                    resultInventoryService.insert(resultSet.testKit);
+                    newTestKits.add(resultSet.testKit);
                 } else {
-                    resultInventoryService.update(resultSet.testKit);
+                    modifiedTestKits.add(resultSet.testKit);
                 }
             }
         }
+        resultService.updateAll(modifiedResults);
+        resultSigService.insertAll(newSignatures);
+        resultSigService.updateAll(modifiedSignatures);
+        resultInventoryService.insertAll(newTestKits);
+        resultInventoryService.updateAll(modifiedTestKits);
 
-        for (Analysis analysis : actionDataSet.getModifiedAnalysis()) {
-            analysisService.update(analysis);
-        }
+        analysisService.updateAll(actionDataSet.getModifiedAnalysis());
 
         ResultSaveService.removeDeletedResultsInTransaction(actionDataSet.getDeletableResults(), sysUserId);
 
@@ -206,6 +215,7 @@ public class LogbookPersistServiceImpl implements LogbookResultsPersistService {
         String sampleNonConformingId = SpringContext.getBean(IStatusService.class)
                 .getStatusID(OrderStatus.NonConforming_depricated);
 
+        List<Sample> startedSamples = new ArrayList<>();
         for (Sample sample : sampleSet) {
             if (!(sample.getStatusId().equals(sampleNonConformingId)
                     || sample.getStatusId().equals(sampleTestingStartedId))) {
@@ -213,8 +223,9 @@ public class LogbookPersistServiceImpl implements LogbookResultsPersistService {
 
                 newSample.setStatusId(sampleTestingStartedId);
                 newSample.setSysUserId(sysUserId);
-                sampleService.update(newSample);
+                startedSamples.add(newSample);
             }
         }
+        sampleService.updateAll(startedSamples);
     }
 }
@@ -47,4 +47,10 @@ public class ResultInventoryServiceImpl extends AuditableBaseObjectServiceImpl<R
     public List<ResultInventory> getResultInventorysByResult(Result result) {
         return getBaseObjectDAO().getResultInventorysByResult(result);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ResultInventory> getResultInventorysByResultIds(List<String> resultIds) {
+        return getBaseObjectDAO().getResultInventorysByResultIds(resultIds);
+    }
 }
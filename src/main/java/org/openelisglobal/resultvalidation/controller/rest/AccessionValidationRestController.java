@@ -12,6 +12,7 @@ import org.openelisglobal.common.action.IActionConstants;
 import org.openelisglobal.common.constants.Constants;
 import org.openelisglobal.common.exception.LIMSRuntimeException;
 import org.openelisglobal.common.log.LogEvent;
+import org.openelisglobal.common.paging.KeysetPage;
 import org.openelisglobal.common.services.DisplayListService;
 import org.openelisglobal.common.services.DisplayListService.ListType;
 import org.openelisglobal.common.services.IResultSaveService;
@@ -83,6 +84,8 @@ public class AccessionValidationRestController extends BaseResultValidationContr
     @Autowired
     private SampleService sampleService;
 
+    private static final int MAX_VALIDATION_PAGE_SIZE = 500;
+
     private static final String[] ALLOWED_FIELDS = new String[] { "testSectionId", "paging.currentPage", "testSection",
             "testName", "resultList*.accessionNumber", "resultList*.analysisId", "resultList*.testId",
             "resultList*.sampleId", "resultList*.resultType", "resultList*.sampleGroupingNumber", "resultList*.noteId",
@@ -136,7 +139,8 @@ public class AccessionValidationRestController extends BaseResultValidationContr
     @ResponseBody
     public ResultValidationForm showAccessionValidationRange(HttpServletRequest request,
             @RequestParam(required = false) String accessionNumber, @RequestParam(required = false) String date,
-            @RequestParam(required = false) String unitType, @RequestParam(defaultValue = "true") Boolean doRange)
+            @RequestParam(required = false) String unitType, @RequestParam(defaultValue = "true") Boolean doRange,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer pageSize)
             throws IllegalAccessException, InvocationTargetException, NoSuchMethodException {
 
         ResultValidationForm newForm = new ResultValidationForm();
@@ -146,10 +150,44 @@ public class AccessionValidationRestController extends BaseResultValidationContr
             newForm.setTestDate(date);
         } else if (StringUtils.isNotBlank(unitType)) {
             newForm.setTestSectionId(unitType);
+            if (pageSize != null) {
+                return getResultValidationPage(request, newForm, cursor, pageSize);
+            }
         }
         return getResultValidation(request, newForm, doRange);
     }
 
+    /**
+     * Loads one page of a test section's backlog from the database instead of
+     * loading the whole backlog into the session. The page is still put in the
+     * session so that it can be saved as usual, and the form's nextCursor gets
+     * the page after it.
+     */
+    private ResultValidationForm getResultValidationPage(HttpServletRequest request, ResultValidationForm form,
+            String cursor, int pageSize)
+            throws IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+        request.getSession().setAttribute(SAVE_DISABLED, "true");
+
+        String resultsRoleId = roleService.getRoleByName(Constants.ROLE_VALIDATION).getId();
+        form.setTestSections(userService.getUserTestSections(getSysUserId(request), resultsRoleId));
+        form.setTestSectionsByName(DisplayListService.getInstance().getList(ListType.TEST_SECTION_BY_NAME));
+        TestSection ts = testSectionService.get(form.getTestSectionId());
+        setRequestType(ts == null ? MessageUtil.getMessage("validation.range.title") : ts.getLocalizedName());
+
+        KeysetPage<AnalysisItem> page = SpringContext.getBean(ResultsValidationUtility.class).getResultValidationPage(
+                getValidationStatus(), form.getTestSectionId(), cursor,
+                Math.max(1, Math.min(pageSize, MAX_VALIDATION_PAGE_SIZE)));
+        List<AnalysisItem> filteredresultList = userService.filterAnalysisResultsByLabUnitRoles(getSysUserId(request),
+                page.items(), Constants.ROLE_VALIDATION);
+        request.setAttribute("pageSize", filteredresultList.size());
+        form.setSearchFinished(true);
+        form.setNextCursor(page.nextCursor());
+        new ResultValidationPaging().setDatabaseResults(request, form, filteredresultList);
+
+        addFlashMsgsToRequest(request);
+        return form;
+    }
+
     private ResultValidationForm getResultValidation(HttpServletRequest request, ResultValidationForm form,
             Boolean doRange) throws IllegalAccessException, InvocationTargetException, NoSuchMethodException {
 
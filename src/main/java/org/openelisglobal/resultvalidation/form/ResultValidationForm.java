@@ -58,6 +58,9 @@ public class ResultValidationForm extends BaseForm implements ValidationPagingFo
     @NotNull(groups = { ResultValidation.class })
     private Boolean displayTestSections = true;
 
+    // for display, the cursor of the next page when the page was loaded by cursor
+    private String nextCursor;
+
     public ResultValidationForm() {
         setFormName("ResultValidationForm");
     }
@@ -127,6 +130,14 @@ public class ResultValidationForm extends BaseForm implements ValidationPagingFo
         return testSectionId;
     }
 
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
     @Override
     public void setTestSectionId(String testSectionId) {
         this.testSectionId = testSectionId;
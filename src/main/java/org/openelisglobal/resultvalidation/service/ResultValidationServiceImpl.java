@@ -50,14 +50,14 @@ public class ResultValidationServiceImpl implements ResultValidationService {
             String sysUserId) {
         ResultSaveService.removeDeletedResultsInTransaction(deletableList, sysUserId);
 
-        // update analysis
-        for (Analysis analysis : analysisUpdateList) {
-            analysisService.update(analysis);
-        }
+        // writes are grouped by entity so each group goes to the database in JDBC
+        // batches
+        analysisService.updateAll(analysisUpdateList);
 
+        List<Result> existingResults = new ArrayList<>();
         for (Result resultUpdate : resultUpdateList) {
             if (resultUpdate.getId() != null) {
-                resultService.update(resultUpdate);
+                existingResults.add(resultUpdate);
             } else {
                 LogEvent.logWarn(this.getClass().getSimpleName(), "persistdata",
                         "validating a result that doesn't exist yet. Creating result.");
@@ -65,22 +65,23 @@ public class ResultValidationServiceImpl implements ResultValidationService {
                 LogEvent.logWarn(this.getClass().getSimpleName(), "persistdata",
                         "Result with id: " + id + " created while validating");
             }
+        }
+        resultService.updateAll(existingResults);
+
+        // notifications that can not be created are logged and skipped by the
+        // notification service. One that can not be queued fails the validation, as
+        // its transaction could not commit anyway
+        for (Result resultUpdate : resultUpdateList) {
             if (isResultAnalysisFinalized(resultUpdate, analysisUpdateList)) {
-                try {
-                    testNotificationService.createAndSendNotificationsToConfiguredSources(
-                            NotificationNature.RESULT_VALIDATION, resultUpdate);
-                } catch (RuntimeException e) {
-                    LogEvent.logError(e);
-                }
+                testNotificationService.createAndSendNotificationsToConfiguredSources(
+                        NotificationNature.RESULT_VALIDATION, resultUpdate);
             }
         }
 
         checkIfSamplesFinished(resultItemList, sampleUpdateList);
 
         // update finished samples
-        for (Sample sample : sampleUpdateList) {
-            sampleService.update(sample);
-        }
+        sampleService.updateAll(sampleUpdateList);
 
         // create or update notes
         for (Note note : noteUpdateList) {
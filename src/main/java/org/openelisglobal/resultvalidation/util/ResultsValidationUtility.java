@@ -34,7 +34,8 @@ import org.openelisglobal.analyte.valueholder.Analyte;
 import org.openelisglobal.common.exception.LIMSRuntimeException;
 import org.openelisglobal.common.formfields.FormFields;
 import org.openelisglobal.common.formfields.FormFields.Field;
-import org.openelisglobal.common.log.LogEvent;
+import org.openelisglobal.common.paging.KeysetCursor;
+import org.openelisglobal.common.paging.KeysetPage;
 import org.openelisglobal.common.services.IStatusService;
 import org.openelisglobal.common.services.QAService;
 import org.openelisglobal.common.services.StatusService;
@@ -44,8 +45,9 @@ import org.openelisglobal.common.services.TestIdentityService;
 import org.openelisglobal.common.util.DateUtil;
 import org.openelisglobal.common.util.IdValuePair;
 import org.openelisglobal.common.util.StringUtil;
+import org.openelisglobal.dictionary.service.DictionaryResolutionService;
 import org.openelisglobal.dictionary.service.DictionaryService;
-import org.openelisglobal.dictionary.valueholder.Dictionary;
+import org.openelisglobal.dictionary.valueholder.ResolvedDictionary;
 import org.openelisglobal.internationalization.MessageUtil;
 import org.openelisglobal.note.service.NoteService;
 import org.openelisglobal.note.service.NoteServiceImpl.NoteType;
@@ -82,9 +84,14 @@ import org.springframework.stereotype.Service;
 @Service
 public class ResultsValidationUtility {
 
+    // the order getPageAnalysisForValidation pages in
+    private static final List<String> VALIDATION_PAGE_KEY = List.of("sampleItem.sample.accessionNumber", "id");
+
     @Autowired
     protected DictionaryService dictionaryService;
     @Autowired
+    protected DictionaryResolutionService dictionaryResolutionService;
+    @Autowired
     protected PatientService patientService;
     @Autowired
     protected TestSectionService testSectionService;
@@ -229,9 +236,68 @@ public class ResultsValidationUtility {
         return getGroupedTestsForAnalysisList(analysisList, !StatusRules.useRecordStatusForValidation());
     }
 
-    @SuppressWarnings("unchecked")
+    /*
+     * Counts in the database the analyses getResultValidationPage pages through,
+     * without building any items. Samples whose record status is 'not registered'
+     * are left out by a NOT EXISTS on their observation history rather than by
+     * looking up each sample
+     */
     public final int getCountUnValidatedTestResultItemsInTestSection(String sectionId, List<Integer> statusList) {
-        return analysisService.getCountAnalysisByTestSectionAndStatus(sectionId, statusList);
+        return analysisService.getCountAnalysisForValidation(sectionId, statusList, getRecordStatusTypeId(),
+                getNotRegisteredRecordStatus());
+    }
+
+    /**
+     * Builds the validation items for one page of a test section's backlog,
+     * starting after the cursor (null for the first page), so that the work done
+     * depends on the page size and not on the size of the backlog. A page ends at
+     * a sample boundary unless a single sample has more analyses than fit in it.
+     *
+     * @throws IllegalArgumentException if the cursor is not a validation cursor
+     */
+    public final KeysetPage<AnalysisItem> getResultValidationPage(List<Integer> statusList, String testSectionId,
+            String cursor, int pageSize) {
+        List<Object> afterKey = KeysetCursor.decode(cursor, VALIDATION_PAGE_KEY);
+        // one extra row tells us whether there is a next page
+        List<Analysis> analysisList = analysisService.getPageAnalysisForValidation(testSectionId, statusList,
+                getRecordStatusTypeId(), getNotRegisteredRecordStatus(),
+                afterKey == null ? null : (String) afterKey.get(0), afterKey == null ? null : (String) afterKey.get(1),
+                pageSize + 1);
+        boolean hasMore = analysisList.size() > pageSize;
+        if (hasMore) {
+            String nextAccessionNumber = getAccessionNumber(analysisList.get(pageSize));
+            int end = pageSize;
+            while (end > 0 && getAccessionNumber(analysisList.get(end - 1)).equals(nextAccessionNumber)) {
+                end--;
+            }
+            analysisList = analysisList.subList(0, end == 0 ? pageSize : end);
+        }
+        if (analysisList.isEmpty()) {
+            return new KeysetPage<>(new ArrayList<>(), null);
+        }
+
+        // the record status has already been checked by the query
+        List<AnalysisItem> resultList = testResultListToAnalysisItemList(
+                getGroupedTestsForAnalysisList(analysisList, true));
+        sortByAccessionNumberAndOrder(resultList);
+        setGroupingNumbers(resultList);
+
+        Analysis last = analysisList.get(analysisList.size() - 1);
+        return new KeysetPage<>(resultList,
+                hasMore ? KeysetCursor.encode(VALIDATION_PAGE_KEY, List.of(getAccessionNumber(last), last.getId()))
+                        : null);
+    }
+
+    private String getAccessionNumber(Analysis analysis) {
+        return analysis.getSampleItem().getSample().getAccessionNumber();
+    }
+
+    private String getRecordStatusTypeId() {
+        return StatusRules.useRecordStatusForValidation() ? SAMPLE_STATUS_OBSERVATION_HISTORY_TYPE_ID : null;
+    }
+
+    private String getNotRegisteredRecordStatus() {
+        return SpringContext.getBean(IStatusService.class).getDictionaryID(RecordStatus.NotRegistered);
     }
 
     protected final void sortByAccessionNumberAndOrder(List<AnalysisItem> resultItemList) {
@@ -277,7 +343,7 @@ public class ResultsValidationUtility {
             boolean ignoreRecordStatus) throws LIMSRuntimeException {
 
         List<ResultValidationItem> selectedTestList = new ArrayList<>();
-        Dictionary dictionary;
+        List<ResultValidationItem> dictionaryItems = new ArrayList<>();
 
         for (Analysis analysis : filteredAnalysisList) {
 
@@ -287,21 +353,7 @@ public class ResultsValidationUtility {
                 // effect of setResult
                 for (ResultValidationItem validationItem : testResultItemList) {
                     if (TypeOfTestResultServiceImpl.ResultType.isDictionaryVariant(validationItem.getResultType())) {
-                        dictionary = new Dictionary();
-                        String resultValue = null;
-                        try {
-                            dictionary.setId(validationItem.getResultValue());
-                            dictionaryService.getData(dictionary);
-                            resultValue = GenericValidator.isBlankOrNull(dictionary.getLocalAbbreviation())
-                                    ? dictionary.getDictEntry()
-                                    : dictionary.getLocalAbbreviation();
-                        } catch (RuntimeException e) {
-                            LogEvent.logInfo(this.getClass().getSimpleName(), "getGroupedTestsForAnalysisList",
-                                    e.getMessage());
-                            // no-op
-                        }
-
-                        validationItem.setResultValue(resultValue);
+                        dictionaryItems.add(validationItem);
                     }
 
                     validationItem.setAnalysis(analysis);
@@ -312,49 +364,15 @@ public class ResultsValidationUtility {
             }
         }
 
-        return selectedTestList;
-    }
-
-    public final int getCountGroupedTestsForAnalysisList(Collection<Analysis> filteredAnalysisList,
-            boolean ignoreRecordStatus) throws LIMSRuntimeException {
-
-        List<ResultValidationItem> selectedTestList = new ArrayList<>();
-        Dictionary dictionary;
-
-        for (Analysis analysis : filteredAnalysisList) {
-
-            if (ignoreRecordStatus || sampleReadyForValidation(analysis.getSampleItem().getSample())) {
-                List<ResultValidationItem> testResultItemList = getResultItemFromAnalysis(analysis);
-                // NB. The resultValue is filled in during getResultItemFromAnalysis as a side
-                // effect of setResult
-                for (ResultValidationItem validationItem : testResultItemList) {
-                    if (TypeOfTestResultServiceImpl.ResultType.isDictionaryVariant(validationItem.getResultType())) {
-                        dictionary = new Dictionary();
-                        String resultValue = null;
-                        try {
-                            dictionary.setId(validationItem.getResultValue());
-                            dictionaryService.getData(dictionary);
-                            resultValue = GenericValidator.isBlankOrNull(dictionary.getLocalAbbreviation())
-                                    ? dictionary.getDictEntry()
-                                    : dictionary.getLocalAbbreviation();
-                        } catch (RuntimeException e) {
-                            LogEvent.logInfo(this.getClass().getSimpleName(), "getGroupedTestsForAnalysisList",
-                                    e.getMessage());
-                            // no-op
-                        }
-
-                        validationItem.setResultValue(resultValue);
-                    }
-
-                    validationItem.setAnalysis(analysis);
-                    validationItem.setNonconforming(QAService.isAnalysisParentNonConforming(analysis) || StatusService
-                            .getInstance().matches(analysis.getStatusId(), AnalysisStatus.TechnicalRejected));
-                    selectedTestList.add(validationItem);
-                }
-            }
+        // resolved together so the whole list costs at most one dictionary query
+        Map<String, ResolvedDictionary> dictionaries = dictionaryResolutionService
+                .resolveAll(dictionaryItems.stream().map(ResultValidationItem::getResultValue).toList());
+        for (ResultValidationItem validationItem : dictionaryItems) {
+            ResolvedDictionary dictionary = dictionaries.get(validationItem.getResultValue());
+            validationItem.setResultValue(dictionary == null ? null : dictionary.getAbbreviationOrEntry());
         }
 
-        return selectedTestList.size();
+        return selectedTestList;
     }
 
     protected final boolean sampleReadyForValidation(Sample sample) {
@@ -534,24 +552,26 @@ public class ResultsValidationUtility {
 
     protected final List<IdValuePair> getAnyDictonaryValues(List<TestResult> testResults) {
         List<IdValuePair> values = null;
-        Dictionary dictionary;
 
         if (testResults != null && testResults.size() > 0
                 && TypeOfTestResultServiceImpl.ResultType.isDictionaryVariant(testResults.get(0).getTestResultType())) {
             values = new ArrayList<>();
             values.add(new IdValuePair("0", ""));
+            Map<String, ResolvedDictionary> dictionaries = dictionaryResolutionService
+                    .resolveAll(testResults.stream().map(TestResult::getValue).toList());
 
             for (TestResult testResult : testResults) {
                 // Note: result group use to be a criteria but was removed, if
                 // results are not as expected investigate
                 if (TypeOfTestResultServiceImpl.ResultType.isDictionaryVariant(testResult.getTestResultType())) {
-                    dictionary = dictionaryService.getDataForId(testResult.getValue());
+                    ResolvedDictionary dictionary = dictionaries.get(testResult.getValue());
+                    if (dictionary == null) {
+                        continue;
+                    }
                     String displayValue = dictionary.getLocalizedName();
 
                     if ("unknown".equals(displayValue)) {
-                        displayValue = GenericValidator.isBlankOrNull(dictionary.getLocalAbbreviation())
-                                ? dictionary.getDictEntry()
-                                : dictionary.getLocalAbbreviation();
+                        displayValue = dictionary.getAbbreviationOrEntry();
                     }
                     values.add(new IdValuePair(testResult.getValue(), displayValue));
                 }
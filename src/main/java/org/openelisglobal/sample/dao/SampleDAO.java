@@ -16,6 +16,7 @@ package org.openelisglobal.sample.dao;
 import java.sql.Date;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 import org.openelisglobal.common.dao.BaseDAO;
 import org.openelisglobal.common.exception.LIMSRuntimeException;
 import org.openelisglobal.sample.valueholder.OrderPriority;
@@ -78,8 +79,18 @@ public interface SampleDAO extends BaseDAO<Sample, String> {
 
     List<Sample> getAllMissingFhirUuid();
 
+    /**
+     * Streams the ids of the samples, in id order, to the consumer in lists of at
+     * most batchSize ids without loading the samples.
+     *
+     * @param missingFhirUuidOnly only the samples that have no fhir uuid yet
+     */
+    void forEachSampleId(boolean missingFhirUuidOnly, int batchSize, Consumer<List<String>> consumer);
+
     List<Sample> getSamplesByAnalysisIds(List<String> analysisIds);
 
+    List<Sample> getSamplesByAccessionNumbers(List<String> accessionNumbers);
+
     List<Sample> getSamplesForSiteBetweenOrderDates(String referringSiteId, LocalDate lowerDate, LocalDate upperDate);
 
     List<Sample> getStudySamplesForSiteBetweenOrderDates(String referringSiteId, LocalDate lowerDate,
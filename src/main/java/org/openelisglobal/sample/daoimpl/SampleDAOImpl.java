@@ -23,6 +23,8 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.validator.GenericValidator;
@@ -40,6 +42,7 @@ import org.openelisglobal.sample.valueholder.OrderPriority;
 import org.openelisglobal.sample.valueholder.Sample;
 import org.openelisglobal.sampleproject.valueholder.SampleProject;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -651,6 +654,14 @@ public class SampleDAOImpl extends BaseDAOImpl<Sample, String> implements Sample
         return new ArrayList<>();
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachSampleId(boolean missingFhirUuidOnly, int batchSize, Consumer<List<String>> consumer) {
+        String hql = "select s.id from Sample s" + (missingFhirUuidOnly ? " where s.fhirUuid is NULL" : "")
+                + " order by s.id";
+        forEachBatch(hql, String.class, Map.of(), batchSize, consumer);
+    }
+
     @Override
     public List<Sample> getSamplesByAnalysisIds(List<String> analysisIds) {
         String hql = "FROM Sample s WHERE s.id IN (SELECT si.sample.id FROM SampleItem si WHERE si.id IN (SELECT"
@@ -666,6 +677,23 @@ public class SampleDAOImpl extends BaseDAOImpl<Sample, String> implements Sample
         return new ArrayList<>();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Sample> getSamplesByAccessionNumbers(List<String> accessionNumbers) {
+        if (accessionNumbers.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            Query<Sample> query = entityManager.unwrap(Session.class)
+                    .createQuery("FROM Sample s WHERE s.accessionNumber IN (:accessionNumbers)", Sample.class);
+            query.setParameterList("accessionNumbers", accessionNumbers);
+            return query.list();
+        } catch (HibernateException e) {
+            handleException(e, "getSamplesByAccessionNumbers");
+        }
+        return new ArrayList<>();
+    }
+
     @Override
     public List<Sample> getSamplesForSiteBetweenOrderDates(String referringSiteId, LocalDate lowerDate,
             LocalDate upperDate) {
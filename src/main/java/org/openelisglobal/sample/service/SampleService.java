@@ -3,7 +3,10 @@ package org.openelisglobal.sample.service;
 import java.sql.Date;
 import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import org.openelisglobal.analysis.valueholder.Analysis;
 import org.openelisglobal.common.service.BaseObjectService;
 import org.openelisglobal.organization.valueholder.Organization;
@@ -106,8 +109,19 @@ public interface SampleService extends BaseObjectService<Sample, String> {
 
     List<Sample> getAllMissingFhirUuid();
 
+    void forEachSampleId(boolean missingFhirUuidOnly, int batchSize, Consumer<List<String>> consumer);
+
     List<Sample> getSamplesByAnalysisIds(List<String> analysisIds);
 
+    /**
+     * Looks up many samples as {@link #getSampleByAccessionNumber(String)} does,
+     * with one query per few hundred accession numbers.
+     *
+     * @return the samples by the accession numbers as they were passed in;
+     *         accession numbers without a sample are left out
+     */
+    Map<String, Sample> getSamplesByAccessionNumbers(Collection<String> accessionNumbers);
+
     List<Organization> getOrganizationRequesters(Sample sample);
 
     boolean sampleContainsTestWithLoinc(String id, String loinc);
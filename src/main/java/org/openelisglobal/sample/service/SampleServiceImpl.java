@@ -5,8 +5,14 @@ import java.sql.Date;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import org.openelisglobal.analysis.service.AnalysisService;
 import org.openelisglobal.analysis.valueholder.Analysis;
 import org.openelisglobal.common.service.AuditableBaseObjectServiceImpl;
@@ -14,6 +20,7 @@ import org.openelisglobal.common.services.IStatusService;
 import org.openelisglobal.common.services.StatusService;
 import org.openelisglobal.common.services.StatusService.AnalysisStatus;
 import org.openelisglobal.common.services.TableIdService;
+import org.openelisglobal.common.util.ChunkUtil;
 import org.openelisglobal.common.util.DateUtil;
 import org.openelisglobal.observationhistory.service.ObservationHistoryService;
 import org.openelisglobal.observationhistory.service.ObservationHistoryServiceImpl;
@@ -44,6 +51,7 @@ import org.openelisglobal.test.service.TestService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -111,6 +119,15 @@ public class SampleServiceImpl extends AuditableBaseObjectServiceImpl<Sample, St
         return TABLE_REFERENCE_ID;
     }
 
+    /**
+     * @return the accession number of the sample, without the sample item suffix
+     *         that follows the '.'
+     */
+    public static String stripAccessionSuffix(String accessionNumber) {
+        return accessionNumber.contains(".") ? accessionNumber.substring(0, accessionNumber.indexOf('.'))
+                : accessionNumber;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Sample getSampleByAccessionNumber(String labNumber) {
@@ -581,11 +598,45 @@ public class SampleServiceImpl extends AuditableBaseObjectServiceImpl<Sample, St
         return sampleDAO.getAllMissingFhirUuid();
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachSampleId(boolean missingFhirUuidOnly, int batchSize, Consumer<List<String>> consumer) {
+        sampleDAO.forEachSampleId(missingFhirUuidOnly, batchSize, consumer);
+    }
+
     @Override
     public List<Sample> getSamplesByAnalysisIds(List<String> analysisIds) {
         return sampleDAO.getSamplesByAnalysisIds(analysisIds);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Sample> getSamplesByAccessionNumbers(Collection<String> accessionNumbers) {
+        Set<String> labNumbers = new LinkedHashSet<>();
+        for (String accessionNumber : accessionNumbers) {
+            if (accessionNumber != null) {
+                labNumbers.add(stripAccessionSuffix(accessionNumber));
+            }
+        }
+
+        Map<String, Sample> samplesByLabNumber = new HashMap<>();
+        for (List<String> chunk : ChunkUtil.chunk(labNumbers)) {
+            for (Sample sample : sampleDAO.getSamplesByAccessionNumbers(chunk)) {
+                samplesByLabNumber.putIfAbsent(sample.getAccessionNumber(), sample);
+            }
+        }
+
+        Map<String, Sample> samples = new HashMap<>();
+        for (String accessionNumber : accessionNumbers) {
+            Sample sample = accessionNumber == null ? null
+                    : samplesByLabNumber.get(stripAccessionSuffix(accessionNumber));
+            if (sample != null) {
+                samples.put(accessionNumber, sample);
+            }
+        }
+        return samples;
+    }
+
     @Override
     public List<Sample> getSamplesForSiteBetweenOrderDates(String referringSiteId, LocalDate lowerDate,
             LocalDate upperDate) {
@@ -19,12 +19,14 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import org.apache.commons.validator.GenericValidator;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
 import org.openelisglobal.common.util.ConfigurationProperties;
 import org.openelisglobal.common.util.ConfigurationProperties.Property;
 import org.openelisglobal.common.util.DateUtil;
 import org.openelisglobal.common.valueholder.EnumValueItemImpl;
 import org.openelisglobal.common.valueholder.ValueHolder;
 import org.openelisglobal.common.valueholder.ValueHolderInterface;
+import org.openelisglobal.hibernate.search.analysis.CustomLuceneAnalysisConfigurer;
 import org.openelisglobal.note.service.NoteObject;
 import org.openelisglobal.note.service.NoteServiceImpl.BoundTo;
 import org.openelisglobal.sample.service.SampleServiceImpl;
@@ -36,6 +38,8 @@ public class Sample extends EnumValueItemImpl implements NoteObject {
 
     private String id;
     private UUID fhirUuid;
+    @FullTextField(analyzer = CustomLuceneAnalysisConfigurer.SUBSTRING,
+            searchAnalyzer = CustomLuceneAnalysisConfigurer.SUBSTRING_QUERY)
     private String accessionNumber;
     private String packageId;
     private String domain;
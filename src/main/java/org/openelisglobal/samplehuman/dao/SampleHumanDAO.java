@@ -14,6 +14,8 @@
 package org.openelisglobal.samplehuman.dao;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import org.openelisglobal.common.dao.BaseDAO;
 import org.openelisglobal.common.exception.LIMSRuntimeException;
 import org.openelisglobal.patient.valueholder.Patient;
@@ -43,6 +45,12 @@ public interface SampleHumanDAO extends BaseDAO<SampleHuman, String> {
 
     public Patient getPatientForSample(Sample sample) throws LIMSRuntimeException;
 
+    /**
+     * @return the patient, with their person, for each of the samples that has
+     *         one, keyed by sample id
+     */
+    public Map<String, Patient> getPatientsForSamples(List<String> sampleIds) throws LIMSRuntimeException;
+
     public Provider getProviderForSample(Sample sample) throws LIMSRuntimeException;
 
     public List<Sample> getSamplesForPatient(String patientID) throws LIMSRuntimeException;
@@ -50,4 +58,13 @@ public interface SampleHumanDAO extends BaseDAO<SampleHuman, String> {
     public List<Patient> getAllPatientsWithSampleEntered();
 
     public List<Patient> getAllPatientsWithSampleEnteredMissingFhirUuid();
+
+    /**
+     * Streams the ids of the patients with a sample entered, in id order, to the
+     * consumer in lists of at most batchSize ids without loading the patients.
+     *
+     * @param missingFhirUuidOnly only the patients that have no fhir uuid yet
+     */
+    public void forEachPatientIdWithSampleEntered(boolean missingFhirUuidOnly, int batchSize,
+            Consumer<List<String>> consumer);
 }
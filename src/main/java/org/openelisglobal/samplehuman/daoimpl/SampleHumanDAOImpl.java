@@ -17,7 +17,10 @@ package org.openelisglobal.samplehuman.daoimpl;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import org.apache.commons.beanutils.PropertyUtils;
 import org.hibernate.HibernateException;
 import org.hibernate.Session;
@@ -31,6 +34,7 @@ import org.openelisglobal.sample.valueholder.Sample;
 import org.openelisglobal.samplehuman.dao.SampleHumanDAO;
 import org.openelisglobal.samplehuman.valueholder.SampleHuman;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -116,6 +120,30 @@ public class SampleHumanDAOImpl extends BaseDAOImpl<SampleHuman, String> impleme
         return patient;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Patient> getPatientsForSamples(List<String> sampleIds) throws LIMSRuntimeException {
+        Map<String, Patient> patientsBySampleId = new HashMap<>();
+        if (sampleIds.isEmpty()) {
+            return patientsBySampleId;
+        }
+        try {
+            String sql = "select sampleHuman.sampleId, patient from Patient as patient join fetch patient.person,"
+                    + " SampleHuman as sampleHuman where sampleHuman.patientId = patient.id and sampleHuman.sampleId"
+                    + " in (:sampleIds)";
+            Query<Object[]> query = entityManager.unwrap(Session.class).createQuery(sql, Object[].class);
+            query.setParameterList("sampleIds", sampleIds.stream().map(Integer::parseInt).toList());
+            for (Object[] row : query.list()) {
+                patientsBySampleId.put((String) row[0], (Patient) row[1]);
+            }
+        } catch (HibernateException e) {
+            LogEvent.logError(e);
+            throw new LIMSRuntimeException("Error in SampleHuman getPatientsForSamples()", e);
+        }
+
+        return patientsBySampleId;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Provider getProviderForSample(Sample sample) throws LIMSRuntimeException {
@@ -186,4 +214,14 @@ public class SampleHumanDAOImpl extends BaseDAOImpl<SampleHuman, String> impleme
 
         return patients;
     }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachPatientIdWithSampleEntered(boolean missingFhirUuidOnly, int batchSize,
+            Consumer<List<String>> consumer) {
+        String hql = "select patient.id from Patient as patient where exists (select sampleHuman.id from"
+                + " SampleHuman as sampleHuman where sampleHuman.patientId = patient.id)"
+                + (missingFhirUuidOnly ? " and patient.fhirUuid is null" : "") + " order by patient.id";
+        forEachBatch(hql, String.class, Map.of(), batchSize, consumer);
+    }
 }
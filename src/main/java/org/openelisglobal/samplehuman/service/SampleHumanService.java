@@ -1,6 +1,8 @@
 package org.openelisglobal.samplehuman.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import org.openelisglobal.common.service.BaseObjectService;
 import org.openelisglobal.patient.valueholder.Patient;
 import org.openelisglobal.provider.valueholder.Provider;
@@ -14,6 +16,8 @@ public interface SampleHumanService extends BaseObjectService<SampleHuman, Strin
 
     Patient getPatientForSample(Sample sample);
 
+    Map<String, Patient> getPatientsForSamples(List<String> sampleIds);
+
     List<Sample> getSamplesForPatient(String patientID);
 
     SampleHuman getDataBySample(SampleHuman sampleHuman);
@@ -21,4 +25,7 @@ public interface SampleHumanService extends BaseObjectService<SampleHuman, Strin
     List<Patient> getAllPatientsWithSampleEntered();
 
     List<Patient> getAllPatientsWithSampleEnteredMissingFhirUuid();
+
+    void forEachPatientIdWithSampleEntered(boolean missingFhirUuidOnly, int batchSize,
+            Consumer<List<String>> consumer);
 }
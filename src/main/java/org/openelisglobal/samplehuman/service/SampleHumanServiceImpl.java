@@ -1,6 +1,8 @@
 package org.openelisglobal.samplehuman.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import org.openelisglobal.common.service.AuditableBaseObjectServiceImpl;
 import org.openelisglobal.patient.valueholder.Patient;
 import org.openelisglobal.provider.valueholder.Provider;
@@ -9,6 +11,7 @@ import org.openelisglobal.samplehuman.dao.SampleHumanDAO;
 import org.openelisglobal.samplehuman.valueholder.SampleHuman;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -38,6 +41,12 @@ public class SampleHumanServiceImpl extends AuditableBaseObjectServiceImpl<Sampl
         return baseObjectDAO.getPatientForSample(sample);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Patient> getPatientsForSamples(List<String> sampleIds) {
+        return baseObjectDAO.getPatientsForSamples(sampleIds);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public void getData(SampleHuman sampleHuman) {
@@ -65,4 +74,11 @@ public class SampleHumanServiceImpl extends AuditableBaseObjectServiceImpl<Sampl
     public List<Patient> getAllPatientsWithSampleEnteredMissingFhirUuid() {
         return baseObjectDAO.getAllPatientsWithSampleEnteredMissingFhirUuid();
     }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachPatientIdWithSampleEntered(boolean missingFhirUuidOnly, int batchSize,
+            Consumer<List<String>> consumer) {
+        baseObjectDAO.forEachPatientIdWithSampleEntered(missingFhirUuidOnly, batchSize, consumer);
+    }
 }
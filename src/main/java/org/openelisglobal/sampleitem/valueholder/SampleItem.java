@@ -18,9 +18,15 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import org.hibernate.search.mapper.pojo.automaticindexing.ReindexOnUpdate;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.IndexedEmbedded;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.IndexingDependency;
 import org.openelisglobal.common.valueholder.BaseObject;
 import org.openelisglobal.common.valueholder.ValueHolder;
 import org.openelisglobal.common.valueholder.ValueHolderInterface;
+import org.openelisglobal.hibernate.search.analysis.CustomLuceneAnalysisConfigurer;
 import org.openelisglobal.note.service.NoteObject;
 import org.openelisglobal.note.service.NoteServiceImpl.BoundTo;
 import org.openelisglobal.sample.valueholder.Sample;
@@ -29,15 +35,22 @@ import org.openelisglobal.sourceofsample.valueholder.SourceOfSample;
 import org.openelisglobal.typeofsample.valueholder.TypeOfSample;
 import org.openelisglobal.unitofmeasure.valueholder.UnitOfMeasure;
 
+@Indexed
 public class SampleItem extends BaseObject<String> implements NoteObject {
 
     private static final long serialVersionUID = 1L;
 
+    @FullTextField(name = "idSubstring", analyzer = CustomLuceneAnalysisConfigurer.SUBSTRING,
+            searchAnalyzer = CustomLuceneAnalysisConfigurer.SUBSTRING_QUERY)
     private String id;
 
     private Double quantity;
 
     private UUID fhirUuid;
+    // the accession number is not changed once the sample is saved, so there is no
+    // need to reindex the sample items when their sample is updated
+    @IndexedEmbedded(includePaths = "accessionNumber")
+    @IndexingDependency(reindexOnUpdate = ReindexOnUpdate.SHALLOW)
     private ValueHolderInterface sample;
     private String sampleItemId;
     private String sortOrder;
@@ -48,6 +61,8 @@ public class SampleItem extends BaseObject<String> implements NoteObject {
     private String typeOfSampleId;
     private ValueHolderInterface unitOfMeasure;
     private String unitOfMeasureName;
+    @FullTextField(analyzer = CustomLuceneAnalysisConfigurer.SUBSTRING,
+            searchAnalyzer = CustomLuceneAnalysisConfigurer.SUBSTRING_QUERY)
     private String externalId;
     private Timestamp collectionDate;
     private String statusId;
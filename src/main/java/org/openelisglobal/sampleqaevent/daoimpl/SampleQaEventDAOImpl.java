@@ -130,6 +130,24 @@ public class SampleQaEventDAOImpl extends BaseDAOImpl<SampleQaEvent, String> imp
         return new ArrayList<>();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<SampleQaEvent> getSampleQaEventsBySampleIds(List<String> sampleIds) throws LIMSRuntimeException {
+        if (sampleIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            String sql = "from SampleQaEvent aqe where aqe.sample.id in (:sampleIds)";
+            Query<SampleQaEvent> query = entityManager.unwrap(Session.class).createQuery(sql, SampleQaEvent.class);
+            query.setParameterList("sampleIds", sampleIds.stream().map(Integer::parseInt).toList());
+            return query.list();
+        } catch (RuntimeException e) {
+            handleException(e, "getSampleQaEventsBySampleIds");
+        }
+
+        return new ArrayList<>();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public SampleQaEvent getSampleQaEventBySampleAndQaEvent(SampleQaEvent sampleQaEvent) throws LIMSRuntimeException {
@@ -15,6 +15,8 @@ public interface SampleQaEventService extends BaseObjectService<SampleQaEvent, S
 
     List<SampleQaEvent> getSampleQaEventsBySample(Sample sample);
 
+    List<SampleQaEvent> getSampleQaEventsBySampleIds(List<String> sampleIds);
+
     List<SampleQaEvent> getSampleQaEventsBySample(SampleQaEvent sampleQaEvent);
 
     List<SampleQaEvent> getSampleQaEventsByUpdatedDate(Date lowDate, Date highDate);
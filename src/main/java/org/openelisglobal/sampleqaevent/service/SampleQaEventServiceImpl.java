@@ -32,6 +32,12 @@ public class SampleQaEventServiceImpl extends AuditableBaseObjectServiceImpl<Sam
         return baseObjectDAO.getAllMatching("sample.id", sample.getId());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<SampleQaEvent> getSampleQaEventsBySampleIds(List<String> sampleIds) {
+        return baseObjectDAO.getSampleQaEventsBySampleIds(sampleIds);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public void getData(SampleQaEvent sampleQaEvent) {
@@ -17,6 +17,7 @@ import org.openelisglobal.common.util.ConfigurationProperties.Property;
 import org.openelisglobal.common.util.DateUtil;
 import org.openelisglobal.dataexchange.MalariaSurveilance.MalariaSurveilanceJob;
 import org.openelisglobal.dataexchange.aggregatereporting.AggregateReportJob;
+import org.openelisglobal.metricservice.service.ScheduledTaskMetrics;
 import org.openelisglobal.scheduler.service.CronSchedulerService;
 import org.openelisglobal.scheduler.valueholder.CronScheduler;
 import org.openelisglobal.spring.util.SpringContext;
@@ -51,6 +52,8 @@ public class SchedulerConfig implements SchedulingConfigurer {
 
     @Autowired
     private CronSchedulerService cronSchedulerService;
+    @Autowired
+    private ScheduledTaskMetrics scheduledTaskMetrics;
 
     private Scheduler reloadableScheduler;
 
@@ -78,6 +81,7 @@ public class SchedulerConfig implements SchedulingConfigurer {
     public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
         // for Spring @Scheduled tasks
         taskRegistrar.setScheduler(taskExecutor());
+        taskRegistrar.setObservationRegistry(scheduledTaskMetrics.observationRegistry());
 
         // for reloadable tasks using quartz scheduler
         try {
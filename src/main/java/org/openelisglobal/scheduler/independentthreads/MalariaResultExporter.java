@@ -14,10 +14,8 @@
 package org.openelisglobal.scheduler.independentthreads;
 
 import jakarta.annotation.PostConstruct;
-import java.util.List;
 import org.openelisglobal.common.util.ConfigurationProperties;
 import org.openelisglobal.common.util.ConfigurationProperties.Property;
-import org.openelisglobal.dataexchange.aggregatereporting.valueholder.ReportExternalExport;
 import org.openelisglobal.dataexchange.common.IRowTransmissionResponseHandler;
 import org.openelisglobal.dataexchange.common.ReportTransmission;
 import org.openelisglobal.dataexchange.common.ReportTransmission.HTTP_TYPE;
@@ -46,19 +44,16 @@ public class MalariaResultExporter {
     @Scheduled(fixedRateString = "#{resultsResendTime}")
     private void exportResults() {
         if (shouldReportResults()) {
-            List<ReportExternalExport> reportList = reportExternalExportService
-                    .getUnsentReportExports(resultReportTypeId);
-
             ReportTransmission transmitter = new ReportTransmission();
             String url = ConfigurationProperties.getInstance().getPropertyValue(Property.malariaCaseReportURL);
             boolean sendAsychronously = false;
 
-            for (ReportExternalExport report : reportList) {
+            reportExternalExportService.forEachUnsentReportExport(resultReportTypeId, report -> {
                 IRowTransmissionResponseHandler responseHandler = (IRowTransmissionResponseHandler) SpringContext
                         .getBean("malariaSuccessReportHandler");
                 responseHandler.setRowId(report.getId());
                 transmitter.sendRawReport(report.getData(), url, sendAsychronously, responseHandler, HTTP_TYPE.POST);
-            }
+            });
         }
     }
 
@@ -71,19 +71,17 @@ public class ResultExporter {
     @Scheduled(fixedRateString = "#{resultsResendTime}")
     private void exportResults() {
         if (shouldReportResults()) {
-            List<ReportExternalExport> reportList = reportExternalExportService
-                    .getUnsentReportExports(resultReportTypeId);
-
             ReportTransmission transmitter = new ReportTransmission();
             String url = ConfigurationProperties.getInstance().getPropertyValue(Property.resultReportingURL);
             boolean sendAsychronously = false;
 
-            for (ReportExternalExport report : reportList) {
+            // streamed so that a large backlog of reports is not held in memory at once
+            reportExternalExportService.forEachUnsentReportExport(resultReportTypeId, report -> {
                 IRowTransmissionResponseHandler responseHandler = (IRowTransmissionResponseHandler) SpringContext
                         .getBean("successReportHandler");
                 responseHandler.setRowId(report.getId());
                 transmitter.sendRawReport(report.getData(), url, sendAsychronously, responseHandler, HTTP_TYPE.POST);
-            }
+            });
         }
     }
 
@@ -1,6 +1,8 @@
 package org.openelisglobal.storage.dao;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.hibernate.Session;
 import org.hibernate.query.Query;
 import org.openelisglobal.common.daoimpl.BaseDAOImpl;
@@ -58,6 +60,27 @@ public class SampleStorageAssignmentDAOImpl extends BaseDAOImpl<SampleStorageAss
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<SampleStorageAssignment> findBySampleItemIds(List<String> sampleItemIds) {
+        if (sampleItemIds == null || sampleItemIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        try {
+            // DB column is numeric, so the IDs are bound as Integers
+            String hql = "FROM SampleStorageAssignment ssa WHERE ssa.sampleItemId IN (:sampleItemIds)";
+            Query<SampleStorageAssignment> query = entityManager.unwrap(Session.class).createQuery(hql,
+                    SampleStorageAssignment.class);
+            query.setParameterList("sampleItemIds",
+                    sampleItemIds.stream().map(Integer::valueOf).collect(Collectors.toList()));
+            return query.list();
+        } catch (Exception e) {
+            logger.error("Error finding SampleStorageAssignments by SampleItem IDs", e);
+            throw new LIMSRuntimeException("Error finding SampleStorageAssignments by SampleItem IDs", e);
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public SampleStorageAssignment findByStorageBox(StorageBox box) {
@@ -0,0 +1,57 @@
+package org.openelisglobal.storage.dao;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typeahead searches against the Hibernate Search index of storage locations,
+ * SampleItems and their assignments. Values are matched as case-insensitive
+ * substrings; values longer than the indexed substrings are cut down, so
+ * callers should check the hits against the full value.
+ */
+public interface StorageIndexSearchDAO {
+
+    /**
+     * An index is incomplete until the rows that existed before the class was
+     * indexed have been indexed, e.g. by /rest/reindex after an upgrade. Does not
+     * query anything, see {@link #checkIndexComplete(Class)}.
+     *
+     * @return whether the index was complete when it was last checked
+     */
+    boolean isIndexComplete(Class<?> indexedClass);
+
+    /**
+     * Counts the indexed documents and the rows of the class, which is too slow to
+     * do for every search, and remembers the result for
+     * {@link #isIndexComplete(Class)}.
+     *
+     * @return whether the index holds a document for every row of the class
+     */
+    boolean checkIndexComplete(Class<?> indexedClass);
+
+    /**
+     * @param locationClass StorageRoom, StorageDevice, StorageShelf or
+     *                      StorageRack
+     * @param value         value to search for
+     * @param fields        indexed fields of the location to search
+     * @return IDs of the locations with any of the fields containing the value
+     */
+    List<Integer> searchLocationIds(Class<?> locationClass, String value, String... fields);
+
+    /**
+     * @return IDs of the SampleItems with an ID, external ID or parent Sample
+     *         accession number containing the value
+     */
+    List<String> searchSampleItemIds(String value);
+
+    /**
+     * @param value             value to search position coordinates for
+     * @param locationIdsByType location IDs by location type ("device", "shelf",
+     *                          "rack")
+     * @return IDs of the SampleItems assigned to any of the locations or to a
+     *         position coordinate containing the value
+     */
+    List<String> searchAssignedSampleItemIds(String value,
+            Map<String, ? extends Collection<Integer>> locationIdsByType);
+}
@@ -0,0 +1,117 @@
+package org.openelisglobal.storage.dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.hibernate.search.mapper.orm.Search;
+import org.openelisglobal.common.exception.LIMSRuntimeException;
+import org.openelisglobal.common.log.LogEvent;
+import org.openelisglobal.common.util.ChunkUtil;
+import org.openelisglobal.hibernate.search.analysis.CustomLuceneAnalysisConfigurer;
+import org.openelisglobal.sampleitem.valueholder.SampleItem;
+import org.openelisglobal.storage.valueholder.SampleStorageAssignment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@Transactional(readOnly = true)
+public class StorageIndexSearchDAOImpl implements StorageIndexSearchDAO {
+
+    // stays under Lucene's limit of 1024 clauses per boolean query
+    private static final int MAX_IDS_PER_CLAUSE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${org.openelisglobal.storage.search.maxResults:500}")
+    private int maxResults;
+
+    // found at startup and after a mass index rather than on every search, since
+    // counting the rows of SampleItem would cost as much as the search saves. Rows
+    // written afterwards are indexed as they are written, so a complete index stays
+    // complete
+    private final Set<Class<?>> completeIndexes = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public boolean isIndexComplete(Class<?> indexedClass) {
+        return completeIndexes.contains(indexedClass);
+    }
+
+    @Override
+    public boolean checkIndexComplete(Class<?> indexedClass) {
+        try {
+            long documents = Search.session(entityManager).search(indexedClass).where(f -> f.matchAll())
+                    .fetchTotalHitCount();
+            long rows = entityManager.createQuery("SELECT count(*) FROM " + indexedClass.getName(), Long.class)
+                    .getSingleResult();
+            if (documents < rows) {
+                completeIndexes.remove(indexedClass);
+                return false;
+            }
+            completeIndexes.add(indexedClass);
+            return true;
+        } catch (RuntimeException e) {
+            LogEvent.logError(e);
+            throw new LIMSRuntimeException("Error in StorageIndexSearchDAOImpl checkIndexComplete()", e);
+        }
+    }
+
+    @Override
+    public List<Integer> searchLocationIds(Class<?> locationClass, String value, String... fields) {
+        try {
+            return Search.session(entityManager).search(locationClass).select(f -> f.id(Integer.class))
+                    .where(f -> f.match().fields(fields).matching(toIndexedLength(value))).fetchHits(maxResults);
+        } catch (RuntimeException e) {
+            LogEvent.logError(e);
+            throw new LIMSRuntimeException("Error in StorageIndexSearchDAOImpl searchLocationIds()", e);
+        }
+    }
+
+    @Override
+    public List<String> searchSampleItemIds(String value) {
+        try {
+            return Search.session(entityManager).search(SampleItem.class).select(f -> f.id(String.class))
+                    .where(f -> f.match().fields("idSubstring", "externalId", "sample.accessionNumber")
+                            .matching(toIndexedLength(value)))
+                    .fetchHits(maxResults);
+        } catch (RuntimeException e) {
+            LogEvent.logError(e);
+            throw new LIMSRuntimeException("Error in StorageIndexSearchDAOImpl searchSampleItemIds()", e);
+        }
+    }
+
+    @Override
+    public List<String> searchAssignedSampleItemIds(String value,
+            Map<String, ? extends Collection<Integer>> locationIdsByType) {
+        try {
+            List<Integer> sampleItemIds = Search.session(entityManager).search(SampleStorageAssignment.class)
+                    .select(f -> f.field("sampleItemId", Integer.class)).where(f -> f.bool(b -> {
+                        b.should(f.match().field("positionCoordinate").matching(toIndexedLength(value)));
+                        for (Map.Entry<String, ? extends Collection<Integer>> entry : locationIdsByType.entrySet()) {
+                            for (List<Integer> chunk : ChunkUtil.chunk(entry.getValue(), MAX_IDS_PER_CLAUSE)) {
+                                b.should(f.bool().must(f.match().field("locationType").matching(entry.getKey()))
+                                        .must(f.bool(anyOf -> chunk.forEach(
+                                                id -> anyOf.should(f.match().field("locationId").matching(id))))));
+                            }
+                        }
+                    })).fetchHits(maxResults);
+            return sampleItemIds.stream().map(String::valueOf).collect(Collectors.toList());
+        } catch (RuntimeException e) {
+            LogEvent.logError(e);
+            throw new LIMSRuntimeException("Error in StorageIndexSearchDAOImpl searchAssignedSampleItemIds()", e);
+        }
+    }
+
+    private String toIndexedLength(String value) {
+        String trimmed = value.trim();
+        return trimmed.length() > CustomLuceneAnalysisConfigurer.SUBSTRING_MAX_LENGTH
+                ? trimmed.substring(0, CustomLuceneAnalysisConfigurer.SUBSTRING_MAX_LENGTH)
+                : trimmed;
+    }
+}
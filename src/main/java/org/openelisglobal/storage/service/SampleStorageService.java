@@ -23,6 +23,15 @@ public interface SampleStorageService {
      */
     List<Map<String, Object>> getAllSamplesWithAssignments();
 
+    /**
+     * Same as {@link #getAllSamplesWithAssignments()} for the given SampleItems
+     * only.
+     *
+     * @param sampleItemIds SampleItem IDs, unknown IDs are skipped
+     * @return List of maps with the same keys as getAllSamplesWithAssignments
+     */
+    List<Map<String, Object>> getSamplesWithAssignments(List<String> sampleItemIds);
+
     /**
      * Assign a SampleItem to a location using simplified polymorphic relationship
      * (locationId + locationType). Supports assignment to device, shelf, or rack
@@ -88,10 +88,32 @@ public class SampleStorageServiceImpl implements SampleStorageService {
         List<SampleItem> allSampleItems = sampleItemDAO.getAllSampleItems();
         logger.info("getAllSamplesWithAssignments: Found {} total sample items", allSampleItems.size());
 
-        // Get all assignments and build a map by sampleItemId for efficient lookup
+        List<SampleStorageAssignment> assignments = sampleStorageAssignmentDAO.getAll();
+        logger.info("getAllSamplesWithAssignments: Found {} total assignments", assignments.size());
+
+        List<Map<String, Object>> response = toSampleMaps(allSampleItems, assignments);
+
+        logger.info("getAllSamplesWithAssignments: Returning {} SampleItems (assigned and unassigned)",
+                response.size());
+
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getSamplesWithAssignments(List<String> sampleItemIds) {
+        if (sampleItemIds == null || sampleItemIds.isEmpty()) {
+            return new java.util.ArrayList<>();
+        }
+        return toSampleMaps(sampleItemDAO.get(sampleItemIds),
+                sampleStorageAssignmentDAO.findBySampleItemIds(sampleItemIds));
+    }
+
+    private List<Map<String, Object>> toSampleMaps(List<SampleItem> sampleItems,
+            List<SampleStorageAssignment> assignments) {
+        // Build a map of the assignments by sampleItemId for efficient lookup
         // SampleItem.id is String but assignment.sampleItemId is Integer (DB column is
         // numeric)
-        List<SampleStorageAssignment> assignments = sampleStorageAssignmentDAO.getAll();
         java.util.Map<String, SampleStorageAssignment> assignmentsBySampleItemId = new java.util.HashMap<>();
         for (SampleStorageAssignment assignment : assignments) {
             if (assignment.getSampleItemId() != null) {
@@ -99,11 +121,10 @@ public class SampleStorageServiceImpl implements SampleStorageService {
                 assignmentsBySampleItemId.put(assignment.getSampleItemId().toString(), assignment);
             }
         }
-        logger.info("getAllSamplesWithAssignments: Found {} total assignments", assignments.size());
 
         List<Map<String, Object>> response = new java.util.ArrayList<>();
 
-        for (SampleItem sampleItem : allSampleItems) {
+        for (SampleItem sampleItem : sampleItems) {
             if (sampleItem == null || sampleItem.getId() == null) {
                 continue;
             }
@@ -190,9 +211,6 @@ public class SampleStorageServiceImpl implements SampleStorageService {
             return locA.compareTo(locB);
         });
 
-        logger.info("getAllSamplesWithAssignments: Returning {} SampleItems (assigned and unassigned)",
-                response.size());
-
         return response;
     }
 
@@ -51,6 +51,15 @@ public interface StorageLocationService {
 
     List<Map<String, Object>> getBoxesForAPI(Integer rackId);
 
+    // Same Maps for the given locations only, unknown IDs are skipped
+    List<Map<String, Object>> getRoomsByIdForAPI(List<Integer> roomIds);
+
+    List<Map<String, Object>> getDevicesByIdForAPI(List<Integer> deviceIds);
+
+    List<Map<String, Object>> getShelvesByIdForAPI(List<Integer> shelfIds);
+
+    List<Map<String, Object>> getRacksByIdForAPI(List<Integer> rackIds);
+
     // Count methods
     int countOccupiedInDevice(Integer deviceId);
 
@@ -737,7 +737,16 @@ public class StorageLocationServiceImpl implements StorageLocationService {
     @Override
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getRoomsForAPI() {
-        List<StorageRoom> rooms = storageRoomDAO.getAll();
+        return roomsForAPI(storageRoomDAO.getAll());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getRoomsByIdForAPI(List<Integer> roomIds) {
+        return roomIds.isEmpty() ? new ArrayList<>() : roomsForAPI(storageRoomDAO.get(roomIds));
+    }
+
+    private List<Map<String, Object>> roomsForAPI(List<StorageRoom> rooms) {
         List<Map<String, Object>> result = new ArrayList<>();
 
         for (StorageRoom room : rooms) {
@@ -781,7 +790,16 @@ public class StorageLocationServiceImpl implements StorageLocationService {
         } else {
             devices = storageDeviceDAO.getAll();
         }
+        return devicesForAPI(devices);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getDevicesByIdForAPI(List<Integer> deviceIds) {
+        return deviceIds.isEmpty() ? new ArrayList<>() : devicesForAPI(storageDeviceDAO.get(deviceIds));
+    }
 
+    private List<Map<String, Object>> devicesForAPI(List<StorageDevice> devices) {
         List<Map<String, Object>> result = new ArrayList<>();
 
         for (StorageDevice device : devices) {
@@ -848,7 +866,16 @@ public class StorageLocationServiceImpl implements StorageLocationService {
         } else {
             shelves = storageShelfDAO.getAll();
         }
+        return shelvesForAPI(shelves);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getShelvesByIdForAPI(List<Integer> shelfIds) {
+        return shelfIds.isEmpty() ? new ArrayList<>() : shelvesForAPI(storageShelfDAO.get(shelfIds));
+    }
 
+    private List<Map<String, Object>> shelvesForAPI(List<StorageShelf> shelves) {
         List<Map<String, Object>> result = new ArrayList<>();
 
         for (StorageShelf shelf : shelves) {
@@ -927,7 +954,16 @@ public class StorageLocationServiceImpl implements StorageLocationService {
         } else {
             racks = storageRackDAO.getAll();
         }
+        return racksForAPI(racks);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getRacksByIdForAPI(List<Integer> rackIds) {
+        return rackIds.isEmpty() ? new ArrayList<>() : racksForAPI(storageRackDAO.get(rackIds));
+    }
 
+    private List<Map<String, Object>> racksForAPI(List<StorageRack> racks) {
         List<Map<String, Object>> result = new ArrayList<>();
 
         for (StorageRack rack : racks) {
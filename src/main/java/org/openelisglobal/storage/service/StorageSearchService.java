@@ -56,4 +56,11 @@ public interface StorageSearchService {
      * @return List of matching racks as Maps with all data resolved (API format)
      */
     List<Map<String, Object>> searchRacks(String query);
+
+    /**
+     * Checks whether the search index holds every SampleItem, storage location and
+     * assignment. The searches check all rows instead of looking candidates up in
+     * an index that was incomplete when last checked.
+     */
+    void checkIndexes();
 }
@@ -1,9 +1,25 @@
 package org.openelisglobal.storage.service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import org.openelisglobal.common.exception.LIMSRuntimeException;
+import org.openelisglobal.sampleitem.valueholder.SampleItem;
+import org.openelisglobal.storage.dao.StorageDeviceDAO;
+import org.openelisglobal.storage.dao.StorageIndexSearchDAO;
+import org.openelisglobal.storage.dao.StorageRackDAO;
+import org.openelisglobal.storage.dao.StorageShelfDAO;
+import org.openelisglobal.storage.valueholder.SampleStorageAssignment;
+import org.openelisglobal.storage.valueholder.StorageDevice;
+import org.openelisglobal.storage.valueholder.StorageRack;
+import org.openelisglobal.storage.valueholder.StorageRoom;
+import org.openelisglobal.storage.valueholder.StorageShelf;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,7 +28,12 @@ import org.springframework.transaction.annotation.Transactional;
  * search functionality per FR-064 and FR-064a (Phase 3.1 in plan.md).
  * 
  * All searches use case-insensitive partial/substring matching with OR logic
- * (matches any of the specified fields).
+ * (matches any of the specified fields). The candidates are looked up in the
+ * Hibernate Search index and then checked against the full query, so only the
+ * matching rows are loaded. Until the index holds every row, e.g. after an
+ * upgrade before the existing rows have been indexed, all rows are checked.
+ * Whether it does is checked at startup and after every mass index, not on the
+ * searches themselves.
  */
 @Service
 public class StorageSearchServiceImpl implements StorageSearchService {
@@ -23,20 +44,55 @@ public class StorageSearchServiceImpl implements StorageSearchService {
     @Autowired
     private StorageLocationService storageLocationService;
 
+    @Autowired
+    private StorageIndexSearchDAO storageIndexSearchDAO;
+
+    @Autowired
+    private StorageDeviceDAO storageDeviceDAO;
+
+    @Autowired
+    private StorageShelfDAO storageShelfDAO;
+
+    @Autowired
+    private StorageRackDAO storageRackDAO;
+
+    private static final Class<?>[] INDEXED_CLASSES = { SampleItem.class, SampleStorageAssignment.class,
+            StorageRoom.class, StorageDevice.class, StorageShelf.class, StorageRack.class };
+
+    @Override
+    @EventListener(ContextRefreshedEvent.class)
+    public void checkIndexes() {
+        for (Class<?> indexedClass : INDEXED_CLASSES) {
+            try {
+                storageIndexSearchDAO.checkIndexComplete(indexedClass);
+            } catch (LIMSRuntimeException e) {
+                // already logged, the searches check all rows until the next check
+            }
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Map<String, Object>> searchSamples(String query) {
-        List<Map<String, Object>> allSamples = sampleStorageService.getAllSamplesWithAssignments();
-
         // Empty or null query returns all samples
         if (query == null || query.trim().isEmpty()) {
-            return allSamples;
+            return sampleStorageService.getAllSamplesWithAssignments();
+        }
+
+        List<Map<String, Object>> candidates;
+        if (isIndexComplete(INDEXED_CLASSES)) {
+            Set<String> sampleItemIds = new LinkedHashSet<>(storageIndexSearchDAO.searchSampleItemIds(query));
+            sampleItemIds
+                    .addAll(storageIndexSearchDAO.searchAssignedSampleItemIds(query, getLocationsMatching(query)));
+            candidates = sampleStorageService.getSamplesWithAssignments(new ArrayList<>(sampleItemIds));
+        } else {
+            candidates = sampleStorageService.getAllSamplesWithAssignments();
         }
 
         String normalizedQuery = query.trim().toLowerCase();
         List<Map<String, Object>> filtered = new ArrayList<>();
 
-        for (Map<String, Object> sampleItem : allSamples) {
+        for (Map<String, Object> sampleItem : candidates) {
             // Search by SampleItem ID (id or sampleItemId field)
             Object idObj = sampleItem.get("id");
             Object sampleItemIdObj = sampleItem.get("sampleItemId");
@@ -76,22 +132,65 @@ public class StorageSearchServiceImpl implements StorageSearchService {
         return filtered;
     }
 
+    private boolean isIndexComplete(Class<?>... indexedClasses) {
+        for (Class<?> indexedClass : indexedClasses) {
+            if (!storageIndexSearchDAO.isIndexComplete(indexedClass)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The location path of an assignment ("Room > Device > Shelf > Rack") contains
+     * the query when the name of its location or of one of the location's parents
+     * does, so a matching room or device brings in everything below it.
+     */
+    private Map<String, Set<Integer>> getLocationsMatching(String query) {
+        Set<Integer> deviceIds = new LinkedHashSet<>(
+                storageIndexSearchDAO.searchLocationIds(StorageDevice.class, query, "name"));
+        for (Integer roomId : storageIndexSearchDAO.searchLocationIds(StorageRoom.class, query, "name")) {
+            storageDeviceDAO.findByParentRoomId(roomId).forEach(device -> deviceIds.add(device.getId()));
+        }
+
+        Set<Integer> shelfIds = new LinkedHashSet<>(
+                storageIndexSearchDAO.searchLocationIds(StorageShelf.class, query, "label"));
+        for (Integer deviceId : deviceIds) {
+            storageShelfDAO.findByParentDeviceId(deviceId).forEach(shelf -> shelfIds.add(shelf.getId()));
+        }
+
+        Set<Integer> rackIds = new LinkedHashSet<>(
+                storageIndexSearchDAO.searchLocationIds(StorageRack.class, query, "label"));
+        for (Integer shelfId : shelfIds) {
+            storageRackDAO.findByParentShelfId(shelfId).forEach(rack -> rackIds.add(rack.getId()));
+        }
+
+        Map<String, Set<Integer>> locationIdsByType = new HashMap<>();
+        locationIdsByType.put("device", deviceIds);
+        locationIdsByType.put("shelf", shelfIds);
+        locationIdsByType.put("rack", rackIds);
+        return locationIdsByType;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Map<String, Object>> searchRooms(String query) {
-        // Get all rooms as fully populated Maps (with all data resolved within
-        // transaction)
-        List<Map<String, Object>> allRooms = storageLocationService.getRoomsForAPI();
-
         // Empty or null query returns all rooms
         if (query == null || query.trim().isEmpty()) {
-            return allRooms;
+            return storageLocationService.getRoomsForAPI();
         }
 
+        // Get the candidate rooms as fully populated Maps (with all data resolved
+        // within transaction)
+        List<Map<String, Object>> candidates = isIndexComplete(StorageRoom.class)
+                ? storageLocationService.getRoomsByIdForAPI(
+                        storageIndexSearchDAO.searchLocationIds(StorageRoom.class, query, "name", "code"))
+                : storageLocationService.getRoomsForAPI();
+
         String normalizedQuery = query.trim().toLowerCase();
         List<Map<String, Object>> filtered = new ArrayList<>();
 
-        for (Map<String, Object> room : allRooms) {
+        for (Map<String, Object> room : candidates) {
             // Search by name OR code (OR logic)
             String name = (String) room.get("name");
             String code = (String) room.get("code");
@@ -109,19 +208,22 @@ public class StorageSearchServiceImpl implements StorageSearchService {
     @Override
     @Transactional(readOnly = true)
     public List<Map<String, Object>> searchDevices(String query) {
-        // Get all devices as fully populated Maps (with all data resolved within
-        // transaction)
-        List<Map<String, Object>> allDevices = storageLocationService.getDevicesForAPI(null);
-
         // Empty or null query returns all devices
         if (query == null || query.trim().isEmpty()) {
-            return allDevices;
+            return storageLocationService.getDevicesForAPI(null);
         }
 
+        // Get the candidate devices as fully populated Maps (with all data resolved
+        // within transaction)
+        List<Map<String, Object>> candidates = isIndexComplete(StorageDevice.class)
+                ? storageLocationService.getDevicesByIdForAPI(
+                        storageIndexSearchDAO.searchLocationIds(StorageDevice.class, query, "name", "code", "type"))
+                : storageLocationService.getDevicesForAPI(null);
+
         String normalizedQuery = query.trim().toLowerCase();
         List<Map<String, Object>> filtered = new ArrayList<>();
 
-        for (Map<String, Object> device : allDevices) {
+        for (Map<String, Object> device : candidates) {
             // Search by name OR code OR deviceType (OR logic)
             // Note: "type" field is hierarchy level ("device"), "deviceType" is physical
             // type ("freezer", "refrigerator", etc.)
@@ -143,19 +245,22 @@ public class StorageSearchServiceImpl implements StorageSearchService {
     @Override
     @Transactional(readOnly = true)
     public List<Map<String, Object>> searchShelves(String query) {
-        // Get all shelves as fully populated Maps (with all data resolved within
-        // transaction)
-        List<Map<String, Object>> allShelves = storageLocationService.getShelvesForAPI(null);
-
         // Empty or null query returns all shelves
         if (query == null || query.trim().isEmpty()) {
-            return allShelves;
+            return storageLocationService.getShelvesForAPI(null);
         }
 
+        // Get the candidate shelves as fully populated Maps (with all data resolved
+        // within transaction)
+        List<Map<String, Object>> candidates = isIndexComplete(StorageShelf.class)
+                ? storageLocationService.getShelvesByIdForAPI(
+                        storageIndexSearchDAO.searchLocationIds(StorageShelf.class, query, "label"))
+                : storageLocationService.getShelvesForAPI(null);
+
         String normalizedQuery = query.trim().toLowerCase();
         List<Map<String, Object>> filtered = new ArrayList<>();
 
-        for (Map<String, Object> shelf : allShelves) {
+        for (Map<String, Object> shelf : candidates) {
             // Search by label (name)
             String label = (String) shelf.get("label");
             if (label != null && label.toLowerCase().contains(normalizedQuery)) {
@@ -169,19 +274,22 @@ public class StorageSearchServiceImpl implements StorageSearchService {
     @Override
     @Transactional(readOnly = true)
     public List<Map<String, Object>> searchRacks(String query) {
-        // Get all racks as fully populated Maps (with all data resolved within
-        // transaction)
-        List<Map<String, Object>> allRacks = storageLocationService.getRacksForAPI(null);
-
         // Empty or null query returns all racks
         if (query == null || query.trim().isEmpty()) {
-            return allRacks;
+            return storageLocationService.getRacksForAPI(null);
         }
 
+        // Get the candidate racks as fully populated Maps (with all data resolved
+        // within transaction)
+        List<Map<String, Object>> candidates = isIndexComplete(StorageRack.class)
+                ? storageLocationService
+                        .getRacksByIdForAPI(storageIndexSearchDAO.searchLocationIds(StorageRack.class, query, "label"))
+                : storageLocationService.getRacksForAPI(null);
+
         String normalizedQuery = query.trim().toLowerCase();
         List<Map<String, Object>> filtered = new ArrayList<>();
 
-        for (Map<String, Object> rack : allRacks) {
+        for (Map<String, Object> rack : candidates) {
             // Search by label (name)
             String label = (String) rack.get("label");
             if (label != null && label.toLowerCase().contains(normalizedQuery)) {
@@ -11,7 +11,13 @@ import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 import java.sql.Timestamp;
 import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.search.engine.backend.types.Projectable;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.GenericField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.KeywordField;
 import org.openelisglobal.common.valueholder.BaseObject;
+import org.openelisglobal.hibernate.search.analysis.CustomLuceneAnalysisConfigurer;
 import org.openelisglobal.sampleitem.valueholder.SampleItem;
 
 /**
@@ -21,11 +27,13 @@ import org.openelisglobal.sampleitem.valueholder.SampleItem;
 @Entity
 @Table(name = "SAMPLE_STORAGE_ASSIGNMENT")
 @DynamicUpdate
+@Indexed
 public class SampleStorageAssignment extends BaseObject<Integer> {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sample_storage_assignment_seq")
-    @SequenceGenerator(name = "sample_storage_assignment_seq", sequenceName = "sample_storage_assignment_seq", allocationSize = 1)
+    @SequenceGenerator(name = "sample_storage_assignment_seq", sequenceName = "sample_storage_assignment_seq",
+            allocationSize = 1)
     @Column(name = "ID")
     private Integer id;
 
@@ -33,6 +41,7 @@ public class SampleStorageAssignment extends BaseObject<Integer> {
     // issues between JPA annotations and HBM XML mapping (SampleItem uses
     // LIMSStringNumberUserType which maps String in Java to numeric in DB)
     // Database column is numeric, so store as Integer here
+    @GenericField(projectable = Projectable.YES)
     @Column(name = "SAMPLE_ITEM_ID", nullable = false, unique = true)
     private Integer sampleItemId;
 
@@ -43,12 +52,16 @@ public class SampleStorageAssignment extends BaseObject<Integer> {
     // Simplified polymorphic location relationship
     // Nullable to support disposal (location cleared but assignment preserved for
     // audit/metrics)
+    @GenericField
     @Column(name = "LOCATION_ID", nullable = true)
     private Integer locationId; // Can reference device, shelf, or rack ID
 
+    @KeywordField
     @Column(name = "LOCATION_TYPE", length = 20, nullable = true)
     private String locationType; // Enum: 'device', 'shelf', 'rack'
 
+    @FullTextField(analyzer = CustomLuceneAnalysisConfigurer.SUBSTRING,
+            searchAnalyzer = CustomLuceneAnalysisConfigurer.SUBSTRING_QUERY)
     @Column(name = "POSITION_COORDINATE", length = 50)
     private String positionCoordinate; // Optional text-based coordinate (position is just text, not an entity)
 
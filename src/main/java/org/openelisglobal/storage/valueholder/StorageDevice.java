@@ -16,7 +16,10 @@ import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import java.util.UUID;
 import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
 import org.openelisglobal.common.valueholder.BaseObject;
+import org.openelisglobal.hibernate.search.analysis.CustomLuceneAnalysisConfigurer;
 import org.openelisglobal.spring.util.SpringContext;
 import org.openelisglobal.storage.fhir.StorageLocationFhirTransform;
 
@@ -27,6 +30,7 @@ import org.openelisglobal.storage.fhir.StorageLocationFhirTransform;
 @Entity
 @Table(name = "STORAGE_DEVICE")
 @DynamicUpdate
+@Indexed
 @org.hibernate.annotations.OptimisticLocking(type = org.hibernate.annotations.OptimisticLockType.VERSION)
 public class StorageDevice extends BaseObject<Integer> {
 
@@ -62,12 +66,18 @@ public class StorageDevice extends BaseObject<Integer> {
     @Column(name = "FHIR_UUID", nullable = false, unique = true)
     private UUID fhirUuid;
 
+    @FullTextField(analyzer = CustomLuceneAnalysisConfigurer.SUBSTRING,
+            searchAnalyzer = CustomLuceneAnalysisConfigurer.SUBSTRING_QUERY)
     @Column(name = "NAME", length = 255, nullable = false)
     private String name;
 
+    @FullTextField(analyzer = CustomLuceneAnalysisConfigurer.SUBSTRING,
+            searchAnalyzer = CustomLuceneAnalysisConfigurer.SUBSTRING_QUERY)
     @Column(name = "CODE", length = 10, nullable = false)
     private String code;
 
+    @FullTextField(analyzer = CustomLuceneAnalysisConfigurer.SUBSTRING,
+            searchAnalyzer = CustomLuceneAnalysisConfigurer.SUBSTRING_QUERY)
     @Column(name = "TYPE", length = 20, nullable = false)
     private String type; // Stored as String in DB, use getTypeEnum() and setTypeEnum() for enum access
 
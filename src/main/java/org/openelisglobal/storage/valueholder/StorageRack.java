@@ -14,7 +14,10 @@ import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.util.UUID;
 import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
 import org.openelisglobal.common.valueholder.BaseObject;
+import org.openelisglobal.hibernate.search.analysis.CustomLuceneAnalysisConfigurer;
 import org.openelisglobal.spring.util.SpringContext;
 import org.openelisglobal.storage.fhir.StorageLocationFhirTransform;
 
@@ -25,6 +28,7 @@ import org.openelisglobal.storage.fhir.StorageLocationFhirTransform;
 @Entity
 @Table(name = "storage_rack")
 @DynamicUpdate
+@Indexed
 @org.hibernate.annotations.OptimisticLocking(type = org.hibernate.annotations.OptimisticLockType.VERSION)
 public class StorageRack extends BaseObject<Integer> {
 
@@ -37,6 +41,8 @@ public class StorageRack extends BaseObject<Integer> {
     @Column(name = "FHIR_UUID", nullable = false, unique = true)
     private UUID fhirUuid;
 
+    @FullTextField(analyzer = CustomLuceneAnalysisConfigurer.SUBSTRING,
+            searchAnalyzer = CustomLuceneAnalysisConfigurer.SUBSTRING_QUERY)
     @Column(name = "LABEL", length = 100, nullable = false)
     private String label;
 
@@ -13,7 +13,10 @@ import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.util.UUID;
 import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
 import org.openelisglobal.common.valueholder.BaseObject;
+import org.openelisglobal.hibernate.search.analysis.CustomLuceneAnalysisConfigurer;
 import org.openelisglobal.spring.util.SpringContext;
 import org.openelisglobal.storage.fhir.StorageLocationFhirTransform;
 
@@ -24,6 +27,7 @@ import org.openelisglobal.storage.fhir.StorageLocationFhirTransform;
 @Entity
 @Table(name = "STORAGE_ROOM")
 @DynamicUpdate
+@Indexed
 @org.hibernate.annotations.OptimisticLocking(type = org.hibernate.annotations.OptimisticLockType.VERSION)
 public class StorageRoom extends BaseObject<Integer> {
 
@@ -36,9 +40,13 @@ public class StorageRoom extends BaseObject<Integer> {
     @Column(name = "FHIR_UUID", nullable = false, unique = true)
     private UUID fhirUuid;
 
+    @FullTextField(analyzer = CustomLuceneAnalysisConfigurer.SUBSTRING,
+            searchAnalyzer = CustomLuceneAnalysisConfigurer.SUBSTRING_QUERY)
     @Column(name = "NAME", length = 255, nullable = false)
     private String name;
 
+    @FullTextField(analyzer = CustomLuceneAnalysisConfigurer.SUBSTRING,
+            searchAnalyzer = CustomLuceneAnalysisConfigurer.SUBSTRING_QUERY)
     @Column(name = "CODE", length = 10, nullable = false, unique = true)
     private String code;
 
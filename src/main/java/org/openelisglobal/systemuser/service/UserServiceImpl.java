@@ -295,10 +295,8 @@ public class UserServiceImpl implements UserService {
 
         List<Test> allTests = testService.getTestsByTestSectionIds(testUnitIds);
         Set<String> sampleIds = new HashSet<>();
-        // clear cache to create a fresh Map of testId To TypeOfSample
         List<IdValuePair> userSampleTypes = new ArrayList<>();
         if (allTests != null) {
-            typeOfSampleService.clearCache();
             allTests.forEach(test -> {
                 List<TypeOfSample> sampleTypes = typeOfSampleService.getTypeOfSampleForTest(test.getId());
                 if (sampleTypes != null) {
@@ -339,9 +337,12 @@ public class UserServiceImpl implements UserService {
 
         List<IdValuePair> userSampleTypes = new ArrayList<>();
         if (allTests != null) {
-            typeOfSampleService.clearCache();
-            allTests.forEach(test -> sampleIds.addAll(typeOfSampleService.getTypeOfSampleForTest(test.getId()).stream()
-                    .map(e -> e.getId()).collect(Collectors.toList())));
+            allTests.forEach(test -> {
+                List<TypeOfSample> sampleTypes = typeOfSampleService.getTypeOfSampleForTest(test.getId());
+                if (sampleTypes != null) {
+                    sampleIds.addAll(sampleTypes.stream().map(e -> e.getId()).collect(Collectors.toList()));
+                }
+            });
         }
 
         sampleIds.forEach(id -> {
@@ -3,6 +3,8 @@ package org.openelisglobal.test.service;
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -10,6 +12,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import org.openelisglobal.common.action.IActionConstants;
 import org.openelisglobal.common.exception.LIMSDuplicateRecordException;
@@ -61,7 +64,9 @@ public class TestServiceImpl extends AuditableBaseObjectServiceImpl<Test, String
     private static String VARIABLE_TYPE_OF_SAMPLE_ID;
     // private static String LANGUAGE_LOCALE = ConfigurationProperties.getInstance()
     // .getPropertyValue(ConfigurationProperties.Property.DEFAULT_LANG_LOCALE);
-    private static Map<Entity, Map<String, String>> entityToMap;
+    // replaced as a whole, never modified, so lookups need no lock
+    private static final AtomicReference<Map<Entity, Map<String, String>>> entityToMap = new AtomicReference<>();
+    private static final Object ENTITY_MAP_INIT_LOCK = new Object();
 
     protected static TestDAO baseObjectDAO = SpringContext.getBean(TestDAO.class);
 
@@ -83,20 +88,25 @@ public class TestServiceImpl extends AuditableBaseObjectServiceImpl<Test, String
         }
     }
 
-    synchronized void initializeGlobalVariables() {
+    void initializeGlobalVariables() {
         TypeOfSample variableTypeOfSample = typeOfSampleService.getTypeOfSampleByLocalAbbrevAndDomain("Variable", "H");
         VARIABLE_TYPE_OF_SAMPLE_ID = variableTypeOfSample == null ? "-1" : variableTypeOfSample.getId();
 
-        if (entityToMap == null) {
-            createEntityMap();
+        if (entityToMap.get() == null) {
+            synchronized (ENTITY_MAP_INIT_LOCK) {
+                if (entityToMap.get() == null) {
+                    entityToMap.set(createEntityMap());
+                }
+            }
         }
     }
 
-    private synchronized void createEntityMap() {
-        entityToMap = new HashMap<>();
-        entityToMap.put(Entity.TEST_NAME, createTestIdToNameMap());
-        entityToMap.put(Entity.TEST_AUGMENTED_NAME, createTestIdToAugmentedNameMap());
-        entityToMap.put(Entity.TEST_REPORTING_NAME, createTestIdToReportingNameMap());
+    private Map<Entity, Map<String, String>> createEntityMap() {
+        Map<Entity, Map<String, String>> maps = new EnumMap<>(Entity.class);
+        maps.put(Entity.TEST_NAME, Collections.unmodifiableMap(createTestIdToNameMap()));
+        maps.put(Entity.TEST_AUGMENTED_NAME, Collections.unmodifiableMap(createTestIdToAugmentedNameMap()));
+        maps.put(Entity.TEST_REPORTING_NAME, Collections.unmodifiableMap(createTestIdToReportingNameMap()));
+        return Collections.unmodifiableMap(maps);
     }
 
     public TestServiceImpl() {
@@ -119,11 +129,14 @@ public class TestServiceImpl extends AuditableBaseObjectServiceImpl<Test, String
         refreshTestNames();
     }
 
+    /**
+     * Builds the new names on the calling thread and then publishes all three
+     * maps at once. Readers keep using the previous names until then rather than
+     * waiting, and never see a mix of old and new maps.
+     */
     @Override
     public void refreshTestNames() {
-        entityToMap.put(Entity.TEST_NAME, createTestIdToNameMap());
-        entityToMap.put(Entity.TEST_AUGMENTED_NAME, createTestIdToAugmentedNameMap());
-        entityToMap.put(Entity.TEST_REPORTING_NAME, createTestIdToReportingNameMap());
+        entityToMap.set(createEntityMap());
     }
 
     @Override
@@ -237,7 +250,8 @@ public class TestServiceImpl extends AuditableBaseObjectServiceImpl<Test, String
     }
 
     public static Map<String, String> getMap(Entity entiy) {
-        return entityToMap.get(entiy);
+        ensureEntityMapInitialized();
+        return entityToMap.get().get(entiy);
     }
 
     public static String getUserLocalizedTestName(Test test) {
@@ -249,16 +263,21 @@ public class TestServiceImpl extends AuditableBaseObjectServiceImpl<Test, String
     }
 
     public static String getUserLocalizedReportingTestName(String testId) {
+        return lookUpName(Entity.TEST_REPORTING_NAME, testId);
+    }
+
+    private static String lookUpName(Entity entity, String testId) {
         ensureEntityMapInitialized();
-        if (entityToMap == null || entityToMap.get(Entity.TEST_REPORTING_NAME) == null) {
+        Map<Entity, Map<String, String>> maps = entityToMap.get();
+        if (maps == null || maps.get(entity) == null) {
             return "";
         }
-        String name = entityToMap.get(Entity.TEST_REPORTING_NAME).get(testId);
+        String name = maps.get(entity).get(testId);
         return name == null ? "" : name;
     }
 
-    private static synchronized void ensureEntityMapInitialized() {
-        if (entityToMap == null) {
+    private static void ensureEntityMapInitialized() {
+        if (entityToMap.get() == null) {
             TestServiceImpl instance = SpringContext.getBean(TestServiceImpl.class);
             if (instance != null) {
                 instance.initializeGlobalVariables();
@@ -275,8 +294,7 @@ public class TestServiceImpl extends AuditableBaseObjectServiceImpl<Test, String
     }
 
     public static String getUserLocalizedTestName(String testId) {
-        String name = entityToMap.get(Entity.TEST_NAME).get(testId);
-        return name == null ? "" : name;
+        return lookUpName(Entity.TEST_NAME, testId);
     }
 
     /**
@@ -306,12 +324,7 @@ public class TestServiceImpl extends AuditableBaseObjectServiceImpl<Test, String
      * @return The test name or the augmented test name
      */
     public static String getLocalizedTestNameWithType(String testId) {
-        ensureEntityMapInitialized();
-        if (entityToMap == null || entityToMap.get(Entity.TEST_AUGMENTED_NAME) == null) {
-            return "";
-        }
-        String description = entityToMap.get(Entity.TEST_AUGMENTED_NAME).get(testId);
-        return description == null ? "" : description;
+        return lookUpName(Entity.TEST_AUGMENTED_NAME, testId);
     }
 
     private static Map<String, String> createTestIdToNameMap() {
@@ -167,6 +167,9 @@ public class TestActivationController extends BaseController {
         } catch (LIMSRuntimeException e) {
             LogEvent.logDebug(e);
         }
+        if (!deactivateTests.isEmpty() || !activateTests.isEmpty()) {
+            DisplayListService.getInstance().refreshTestLists();
+        }
 
         List<TestActivationBean> activeTestList = createTestList(true, true);
         List<TestActivationBean> inactiveTestList = createTestList(false, true);
@@ -470,7 +470,7 @@ public class TestModifyEntryController extends BaseController {
             return findForward(FWD_FAIL_INSERT, form);
         }
 
-        testService.refreshTestNames();
+        DisplayListService.getInstance().refreshTestLists();
         SpringContext.getBean(TypeOfSampleService.class).clearCache();
 
         return findForward(FWD_SUCCESS_INSERT, form);
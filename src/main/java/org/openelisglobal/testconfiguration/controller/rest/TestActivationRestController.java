@@ -170,6 +170,9 @@ public class TestActivationRestController extends BaseController {
         } catch (LIMSRuntimeException e) {
             LogEvent.logDebug(e);
         }
+        if (!deactivateTests.isEmpty() || !activateTests.isEmpty()) {
+            DisplayListService.getInstance().refreshTestLists();
+        }
 
         List<TestActivationBean> activeTestList = createTestList(true, true);
         List<TestActivationBean> inactiveTestList = createTestList(false, true);
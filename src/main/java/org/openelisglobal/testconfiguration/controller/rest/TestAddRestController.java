@@ -122,7 +122,7 @@ public class TestAddRestController extends BaseRestController {
             LogEvent.logDebug(e);
         }
 
-        testService.refreshTestNames();
+        displayListService.refreshTestLists();
         displayListService.refreshList(DisplayListService.ListType.SAMPLE_TYPE_ACTIVE);
         displayListService.refreshList(DisplayListService.ListType.SAMPLE_TYPE_INACTIVE);
         displayListService.refreshList(DisplayListService.ListType.PANELS_ACTIVE);
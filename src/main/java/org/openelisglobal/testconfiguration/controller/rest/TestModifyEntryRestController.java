@@ -501,7 +501,7 @@ public class TestModifyEntryRestController extends BaseController {
             return form;
         }
 
-        testService.refreshTestNames();
+        DisplayListService.getInstance().refreshTestLists();
         SpringContext.getBean(TypeOfSampleService.class).clearCache();
 
         // return findForward(FWD_SUCCESS_INSERT, form);
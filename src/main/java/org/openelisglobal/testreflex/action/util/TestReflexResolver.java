@@ -27,7 +27,8 @@ import org.openelisglobal.result.service.ResultService;
 import org.openelisglobal.result.valueholder.Result;
 import org.openelisglobal.sample.valueholder.Sample;
 import org.openelisglobal.spring.util.SpringContext;
-import org.openelisglobal.testreflex.service.TestReflexService;
+import org.openelisglobal.testreflex.service.TestReflexIndex;
+import org.openelisglobal.testreflex.service.TestReflexIndexService;
 import org.openelisglobal.testreflex.valueholder.TestReflex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
@@ -43,7 +44,7 @@ import org.springframework.stereotype.Service;
 public class TestReflexResolver {
 
     @Autowired
-    private TestReflexService testReflexService;
+    private TestReflexIndexService reflexIndexService;
     @Autowired
     private AnalysisService analysisService;
     @Autowired
@@ -71,20 +72,27 @@ public class TestReflexResolver {
             testId = result.getTestResult().getTest() == null ? null : result.getTestResult().getTest().getId();
         }
 
-        List<TestReflex> reflexes = testReflexService.getTestReflexsByTestResultAnalyteTest(testResultId, analyteId,
-                testId);
+        TestReflexIndex index = reflexIndexService.getIndex();
+        // every reflex found below is triggered by the test, so skip looking up the
+        // other analytes of tests which trigger none
+        if (!index.isTriggeringTest(testId)) {
+            return new ArrayList<>();
+        }
+
+        List<TestReflex> reflexes = new ArrayList<>(
+                index.getReflexesForTestResultAnalyteAndTest(testResultId, analyteId, testId));
         // try to check if there other analyte macthicng for this result
         List<Analyte> otherMatchingAnalyte = ResultUtil.getOtherAnalyteForResult(result);
         if (otherMatchingAnalyte != null) {
             if (!otherMatchingAnalyte.isEmpty()) {
                 for (Analyte otherAnalyte : otherMatchingAnalyte) {
-                    reflexes.addAll(testReflexService.getTestReflexsByTestResultAnalyteTest(testResultId,
-                            otherAnalyte.getId(), testId));
+                    reflexes.addAll(
+                            index.getReflexesForTestResultAnalyteAndTest(testResultId, otherAnalyte.getId(), testId));
                 }
             }
         }
 
-        return reflexes != null ? reflexes : new ArrayList<>();
+        return reflexes;
     }
 
     public List<TestReflex> getTestReflexsByAnalyteAndTest(Result result) {
@@ -95,17 +103,22 @@ public class TestReflexResolver {
             testId = result.getTestResult().getTest() == null ? null : result.getTestResult().getTest().getId();
         }
 
-        List<TestReflex> reflexes = testReflexService.getTestReflexsByAnalyteAndTest(analyteId, testId);
+        TestReflexIndex index = reflexIndexService.getIndex();
+        if (!index.isTriggeringTest(testId)) {
+            return new ArrayList<>();
+        }
+
+        List<TestReflex> reflexes = new ArrayList<>(index.getReflexesForAnalyteAndTest(analyteId, testId));
         // try to check if there other analyte macthicng for this result
         List<Analyte> otherMatchingAnalyte = ResultUtil.getOtherAnalyteForResult(result);
         if (otherMatchingAnalyte != null) {
             if (!otherMatchingAnalyte.isEmpty()) {
                 for (Analyte otherAnalyte : otherMatchingAnalyte) {
-                    reflexes.addAll(testReflexService.getTestReflexsByAnalyteAndTest(otherAnalyte.getId(), testId));
+                    reflexes.addAll(index.getReflexesForAnalyteAndTest(otherAnalyte.getId(), testId));
                 }
             }
         }
-        return reflexes != null ? reflexes : new ArrayList<>();
+        return reflexes;
     }
 
     public ReflexAction getReflexAction() {
@@ -14,6 +14,7 @@
 package org.openelisglobal.testreflex.action.util;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -29,6 +30,7 @@ import org.openelisglobal.analysis.service.AnalysisService;
 import org.openelisglobal.analysis.valueholder.Analysis;
 import org.openelisglobal.analyte.service.AnalyteService;
 import org.openelisglobal.analyte.valueholder.Analyte;
+import org.openelisglobal.common.util.StringUtil;
 import org.openelisglobal.note.service.NoteService;
 import org.openelisglobal.note.service.NoteServiceImpl.NoteType;
 import org.openelisglobal.note.valueholder.Note;
@@ -48,10 +50,9 @@ import org.openelisglobal.test.valueholder.Test;
 import org.openelisglobal.testanalyte.valueholder.TestAnalyte;
 import org.openelisglobal.testreflex.action.bean.ReflexRule;
 import org.openelisglobal.testreflex.action.bean.ReflexRuleOptions;
-import org.openelisglobal.testreflex.service.TestReflexService;
+import org.openelisglobal.testreflex.service.TestReflexIndex;
+import org.openelisglobal.testreflex.service.TestReflexIndexService;
 import org.openelisglobal.testreflex.valueholder.TestReflex;
-import org.openelisglobal.testresult.service.TestResultService;
-import org.openelisglobal.testresult.valueholder.TestResult;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.stereotype.Service;
 
@@ -63,17 +64,13 @@ public class TestReflexUtil {
     private static String CONCLUSION_ANAYLETE_ID = null;
     private static Analyte CD4_ANAYLETE = null;
     private static String CD4_SCRIPTLET_ID = null;
-    private static Set<String> TRIGGERING_REFLEX_TEST_IDS;
-    private static Set<String> TRIGGERING_UC_REFLEX_TEST_IDS;
-    private static Map<String, List<TestReflex>> TEST_TO_REFLEX_MAP;
 
     private static ObservationHistoryService observationService = SpringContext
             .getBean(ObservationHistoryService.class);
     private static ResultService resultService = SpringContext
             .getBean(org.openelisglobal.result.service.ResultService.class);
-    private static TestResultService testResultService = SpringContext.getBean(TestResultService.class);
     private static AnalysisService analysisService = SpringContext.getBean(AnalysisService.class);
-    private static TestReflexService testReflexService = SpringContext.getBean(TestReflexService.class);
+    private static TestReflexIndexService reflexIndexService = SpringContext.getBean(TestReflexIndexService.class);
     private static AnalyteService analyteService = SpringContext.getBean(AnalyteService.class);
     private static ScriptletService scriptletService = SpringContext.getBean(ScriptletService.class);
     private static NoteService noteService = SpringContext.getBean(NoteService.class);
@@ -94,35 +91,14 @@ public class TestReflexUtil {
         if (!(scriptlet == null || scriptlet.getId() == null)) {
             CD4_SCRIPTLET_ID = scriptlet.getId();
         }
-
-        TRIGGERING_REFLEX_TEST_IDS = new HashSet<>();
-        TRIGGERING_UC_REFLEX_TEST_IDS = new HashSet<>();
-        TEST_TO_REFLEX_MAP = new HashMap<>();
-
-        List<TestReflex> reflexes = SpringContext.getBean(TestReflexService.class).getAllTestReflexs();
-
-        for (TestReflex testReflex : reflexes) {
-            String testId = testReflex.getTest().getId();
-            List<TestReflex> reflexValues = TEST_TO_REFLEX_MAP.get(testId);
-            if (reflexValues == null) {
-                reflexValues = new ArrayList<>();
-                TEST_TO_REFLEX_MAP.put(testId, reflexValues);
-            }
-
-            reflexValues.add(testReflex);
-            TRIGGERING_REFLEX_TEST_IDS.add(testId);
-            if (isUserChoiceReflex(testReflex)) {
-                TRIGGERING_UC_REFLEX_TEST_IDS.add(testReflex.getTest().getId());
-            }
-        }
     }
 
     public static boolean isTriggeringReflexTestId(String testId) {
-        return TRIGGERING_REFLEX_TEST_IDS.contains(testId);
+        return reflexIndexService.getIndex().isTriggeringTest(testId);
     }
 
     public static boolean isTriggeringUserChoiceReflexTestId(String testId) {
-        return TRIGGERING_UC_REFLEX_TEST_IDS.contains(testId);
+        return reflexIndexService.getIndex().isUserChoiceTriggeringTest(testId);
     }
 
     public static boolean isUserChoiceReflex(TestReflex reflex) {
@@ -130,26 +106,11 @@ public class TestReflexUtil {
     }
 
     public static boolean testIsTriggeringReflexWithSibs(String testId) {
-        if (isTriggeringReflexTestId(testId)) {
-            List<TestReflex> reflexes = TEST_TO_REFLEX_MAP.get(testId);
-
-            for (TestReflex reflex : reflexes) {
-                if (!GenericValidator.isBlankOrNull(reflex.getSiblingReflexId())) {
-                    return true;
-                }
-            }
-        }
-
-        return false;
+        return reflexIndexService.getIndex().isTriggeringTestWithSiblings(testId);
     }
 
     public static List<TestReflex> getReflexTests(String testId) {
-        if (isTriggeringReflexTestId(testId)) {
-            return TEST_TO_REFLEX_MAP.get(testId);
-        } else {
-            return new ArrayList<>();
-        }
-
+        return new ArrayList<>(reflexIndexService.getIndex().getReflexesForTriggeringTest(testId));
     }
 
     public static String makeReflexTestName(TestReflex testReflex) {
@@ -169,34 +130,7 @@ public class TestReflexUtil {
     }
 
     public List<TestReflex> getSiblings(TestReflex reflex) {
-        List<TestReflex> siblingList = new ArrayList<>();
-
-        if (reflex.getSiblingReflexId() != null) {
-            List<String> visitedReflexIdList = new ArrayList<>();
-            visitedReflexIdList.add(reflex.getId());
-
-            TestReflex currentReflex = reflex;
-
-            while (true) {
-                String siblingId = currentReflex.getSiblingReflexId();
-
-                if (siblingId == null || visitedReflexIdList.contains(siblingId)) {
-                    break;
-                }
-
-                currentReflex = new TestReflex();
-                currentReflex.setId(siblingId);
-                testReflexService.getData(currentReflex);
-
-                if (GenericValidator.isBlankOrNull(currentReflex.getId())) {
-                    break;
-                } else {
-                    siblingList.add(currentReflex);
-                    visitedReflexIdList.add(siblingId);
-                }
-            }
-        }
-        return siblingList;
+        return new ArrayList<>(reflexIndexService.getIndex().getSiblings(reflex));
     }
 
     /*
@@ -205,7 +139,23 @@ public class TestReflexUtil {
      * have to select the reflex action (either a conclusion or another test)
      */
     public List<TestReflex> getPossibleUserChoiceTestReflexsForTest(String testId) {
-        return testReflexService.getTestReflexsByTestAndFlag(testId, USER_CHOOSE_FLAG);
+        return new ArrayList<>(reflexIndexService.getIndex().getUserChoiceReflexesForResultTest(testId));
+    }
+
+    /**
+     * @return the user choice reflexes of each test, keyed by test id, with no
+     *         entry for tests that have none
+     */
+    public Map<String, List<TestReflex>> getPossibleUserChoiceTestReflexsForTests(Collection<String> testIds) {
+        TestReflexIndex index = reflexIndexService.getIndex();
+        Map<String, List<TestReflex>> reflexesByTestId = new HashMap<>();
+        for (String testId : testIds) {
+            List<TestReflex> reflexes = index.getUserChoiceReflexesForResultTest(testId);
+            if (!reflexes.isEmpty()) {
+                reflexesByTestId.put(testId, new ArrayList<>(reflexes));
+            }
+        }
+        return reflexesByTestId;
     }
 
     /*
@@ -213,18 +163,13 @@ public class TestReflexUtil {
      */
     public List<TestReflex> getTestReflexsForDictioanryResultTestId(String dictionaryId, String testId,
             boolean userChoiceOnly) {
-        if (GenericValidator.isBlankOrNull(dictionaryId) || GenericValidator.isBlankOrNull(testId)) {
-            return new ArrayList<>();
-        }
-
-        TestResult testResult = testResultService.getTestResultsByTestAndDictonaryResult(testId, dictionaryId);
-
-        if (testResult == null) {
+        if (GenericValidator.isBlankOrNull(dictionaryId) || GenericValidator.isBlankOrNull(testId)
+                || !StringUtil.isInteger(dictionaryId)) {
             return new ArrayList<>();
         }
 
-        return userChoiceOnly ? testReflexService.getFlaggedTestReflexesByTestResult(testResult, USER_CHOOSE_FLAG)
-                : testReflexService.getTestReflexesByTestResult(testResult);
+        return new ArrayList<>(
+                reflexIndexService.getIndex().getReflexesForDictionaryResult(testId, dictionaryId, userChoiceOnly));
     }
 
     public List<Analysis> addNewTestsToDBForReflexTests(List<TestReflexBean> newResults, String sysUserId)
@@ -298,7 +243,7 @@ public class TestReflexUtil {
                 Analyte analyte = reflexBean.getResult().getAnalyte();
                 if (analyte != null) {
                     Integer analyteId = Integer.valueOf(analyte.getId());
-                    ReflexRule rule = testReflexService.getReflexRuleByAnalyteId(analyte.getId());
+                    ReflexRule rule = reflexIndexService.getIndex().getReflexRuleByAnalyteId(analyte.getId());
                     if (rule != null) {
                         if (rule.getOverall().equals(ReflexRuleOptions.OverallOptions.ALL)) {
                             Set<Integer> testAnalyteIds = new HashSet<>();
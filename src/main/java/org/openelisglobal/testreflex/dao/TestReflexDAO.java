@@ -50,6 +50,12 @@ public interface TestReflexDAO extends BaseDAO<TestReflex, String> {
      */
     List<TestReflex> getAllTestReflexs() throws LIMSRuntimeException;
 
+    /**
+     * Loads every reflex together with the tests, test result, test analyte and
+     * scriptlet it refers to, so that the reflexes can be used once detached.
+     */
+    List<TestReflex> getAllTestReflexsWithReferences() throws LIMSRuntimeException;
+
     /**
      * @param startingRecNo
      * @return
@@ -80,6 +80,20 @@ public class TestReflexDAOImpl extends BaseDAOImpl<TestReflex, String> implement
         return list;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<TestReflex> getAllTestReflexsWithReferences() throws LIMSRuntimeException {
+        try {
+            String sql = "select distinct t from TestReflex t left join fetch t.test left join fetch t.addedTest"
+                    + " left join fetch t.actionScriptlet left join fetch t.testAnalyte ta left join fetch ta.analyte"
+                    + " left join fetch t.testResult tr left join fetch tr.test";
+            return entityManager.unwrap(Session.class).createQuery(sql, TestReflex.class).list();
+        } catch (RuntimeException e) {
+            handleException(e, "getAllTestReflexsWithReferences()");
+        }
+        return null;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<TestReflex> getPageOfTestReflexs(int startingRecNo) throws LIMSRuntimeException {
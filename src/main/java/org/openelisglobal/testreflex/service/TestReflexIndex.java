@@ -0,0 +1,236 @@
+package org.openelisglobal.testreflex.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.validator.GenericValidator;
+import org.openelisglobal.testreflex.action.bean.ReflexRule;
+import org.openelisglobal.testreflex.valueholder.TestReflex;
+import org.openelisglobal.testresult.valueholder.TestResult;
+
+/**
+ * An immutable snapshot of the reflex configuration, indexed the ways reflexes
+ * are looked up while results are entered, displayed and saved. The reflexes it
+ * holds are detached and shared between threads, so callers must not modify
+ * them. Get the current snapshot from {@link TestReflexIndexService}.
+ */
+public final class TestReflexIndex {
+
+    private static final String USER_CHOOSE_FLAG = "UC";
+    private static final Set<String> DICTIONARY_RESULT_TYPES = Set.of("D", "M", "Q");
+
+    private final Map<String, TestReflex> reflexesById;
+    private final Map<String, List<TestReflex>> reflexesByTriggeringTest;
+    private final Map<String, List<TestReflex>> userChoiceReflexesByResultTest;
+    private final Map<String, List<TestReflex>> reflexesByTestResult;
+    private final Map<String, List<TestReflex>> userChoiceReflexesByTestResult;
+    private final Map<List<String>, List<TestReflex>> reflexesByDictionaryResult;
+    private final Map<List<String>, List<TestReflex>> userChoiceReflexesByDictionaryResult;
+    private final Map<List<String>, List<TestReflex>> reflexesByAnalyteAndTest;
+    private final Map<List<String>, List<TestReflex>> reflexesByTestResultAnalyteAndTest;
+    private final Map<String, List<TestReflex>> siblingsByReflexId;
+    private final Map<String, ReflexRule> reflexRulesByAnalyte;
+    private final Set<String> userChoiceTriggeringTests;
+    private final Set<String> triggeringTestsWithSiblings;
+
+    public TestReflexIndex(Collection<TestReflex> reflexes, Collection<ReflexRule> reflexRules) {
+        Map<String, TestReflex> byId = new HashMap<>();
+        Map<String, List<TestReflex>> byTriggeringTest = new HashMap<>();
+        Map<String, List<TestReflex>> userChoiceByResultTest = new HashMap<>();
+        Map<String, List<TestReflex>> byTestResult = new HashMap<>();
+        Map<String, List<TestReflex>> userChoiceByTestResult = new HashMap<>();
+        Map<List<String>, List<TestReflex>> byDictionaryResult = new HashMap<>();
+        Map<List<String>, List<TestReflex>> userChoiceByDictionaryResult = new HashMap<>();
+        Map<List<String>, List<TestReflex>> byAnalyteAndTest = new HashMap<>();
+        Map<List<String>, List<TestReflex>> byTestResultAnalyteAndTest = new HashMap<>();
+        Set<String> userChoiceTests = new HashSet<>();
+        Set<String> testsWithSiblings = new HashSet<>();
+
+        for (TestReflex reflex : reflexes) {
+            boolean userChoice = USER_CHOOSE_FLAG.equals(reflex.getFlags());
+            byId.put(reflex.getId(), reflex);
+
+            String testId = reflex.getTest() == null ? null : reflex.getTest().getId();
+            if (testId != null) {
+                add(byTriggeringTest, testId, reflex);
+                if (userChoice) {
+                    userChoiceTests.add(testId);
+                }
+                if (!GenericValidator.isBlankOrNull(reflex.getSiblingReflexId())) {
+                    testsWithSiblings.add(testId);
+                }
+            }
+
+            TestResult testResult = reflex.getTestResult();
+            String testResultId = testResult == null ? null : testResult.getId();
+            if (testResultId != null) {
+                add(byTestResult, testResultId, reflex);
+                String resultTestId = testResult.getTest() == null ? null : testResult.getTest().getId();
+                if (userChoice) {
+                    add(userChoiceByTestResult, testResultId, reflex);
+                    if (resultTestId != null) {
+                        add(userChoiceByResultTest, resultTestId, reflex);
+                    }
+                }
+                if (resultTestId != null && testResult.getValue() != null
+                        && DICTIONARY_RESULT_TYPES.contains(testResult.getTestResultType())) {
+                    List<String> key = List.of(resultTestId, testResult.getValue());
+                    add(byDictionaryResult, key, reflex);
+                    if (userChoice) {
+                        add(userChoiceByDictionaryResult, key, reflex);
+                    }
+                }
+            }
+
+            String analyteId = reflex.getTestAnalyte() == null || reflex.getTestAnalyte().getAnalyte() == null ? null
+                    : reflex.getTestAnalyte().getAnalyte().getId();
+            if (analyteId != null && testId != null) {
+                add(byAnalyteAndTest, List.of(analyteId, testId), reflex);
+                if (testResultId != null) {
+                    add(byTestResultAnalyteAndTest, List.of(testResultId, analyteId, testId), reflex);
+                }
+            }
+        }
+
+        Map<String, List<TestReflex>> siblings = new HashMap<>();
+        for (TestReflex reflex : byId.values()) {
+            if (reflex.getSiblingReflexId() != null) {
+                siblings.put(reflex.getId(), List.copyOf(walkSiblings(reflex, byId)));
+            }
+        }
+
+        Map<String, ReflexRule> rulesByAnalyte = new HashMap<>();
+        for (ReflexRule rule : reflexRules) {
+            if (rule.getAnalyteId() != null) {
+                rulesByAnalyte.putIfAbsent(rule.getAnalyteId().toString(), rule);
+            }
+        }
+
+        reflexesById = Map.copyOf(byId);
+        reflexesByTriggeringTest = freeze(byTriggeringTest);
+        userChoiceReflexesByResultTest = freeze(userChoiceByResultTest);
+        reflexesByTestResult = freeze(byTestResult);
+        userChoiceReflexesByTestResult = freeze(userChoiceByTestResult);
+        reflexesByDictionaryResult = freeze(byDictionaryResult);
+        userChoiceReflexesByDictionaryResult = freeze(userChoiceByDictionaryResult);
+        reflexesByAnalyteAndTest = freeze(byAnalyteAndTest);
+        reflexesByTestResultAnalyteAndTest = freeze(byTestResultAnalyteAndTest);
+        siblingsByReflexId = Map.copyOf(siblings);
+        reflexRulesByAnalyte = Map.copyOf(rulesByAnalyte);
+        userChoiceTriggeringTests = Set.copyOf(userChoiceTests);
+        triggeringTestsWithSiblings = Set.copyOf(testsWithSiblings);
+    }
+
+    public TestReflex getReflex(String reflexId) {
+        return reflexId == null ? null : reflexesById.get(reflexId);
+    }
+
+    public boolean isTriggeringTest(String testId) {
+        return testId != null && reflexesByTriggeringTest.containsKey(testId);
+    }
+
+    public boolean isUserChoiceTriggeringTest(String testId) {
+        return testId != null && userChoiceTriggeringTests.contains(testId);
+    }
+
+    public boolean isTriggeringTestWithSiblings(String testId) {
+        return testId != null && triggeringTestsWithSiblings.contains(testId);
+    }
+
+    /**
+     * @return the reflexes triggered by results of the test
+     */
+    public List<TestReflex> getReflexesForTriggeringTest(String testId) {
+        return lookUp(reflexesByTriggeringTest, testId);
+    }
+
+    /**
+     * @return the user choice reflexes whose triggering test result belongs to the
+     *         test
+     */
+    public List<TestReflex> getUserChoiceReflexesForResultTest(String testId) {
+        return lookUp(userChoiceReflexesByResultTest, testId);
+    }
+
+    public List<TestReflex> getReflexesForTestResult(String testResultId, boolean userChoiceOnly) {
+        return lookUp(userChoiceOnly ? userChoiceReflexesByTestResult : reflexesByTestResult, testResultId);
+    }
+
+    /**
+     * @return the reflexes triggered when the test is resulted with the dictionary
+     *         entry
+     */
+    public List<TestReflex> getReflexesForDictionaryResult(String testId, String dictionaryId,
+            boolean userChoiceOnly) {
+        if (testId == null || dictionaryId == null) {
+            return List.of();
+        }
+        return lookUp(userChoiceOnly ? userChoiceReflexesByDictionaryResult : reflexesByDictionaryResult,
+                List.of(testId, dictionaryId));
+    }
+
+    public List<TestReflex> getReflexesForAnalyteAndTest(String analyteId, String testId) {
+        if (analyteId == null || testId == null) {
+            return List.of();
+        }
+        return lookUp(reflexesByAnalyteAndTest, List.of(analyteId, testId));
+    }
+
+    public List<TestReflex> getReflexesForTestResultAnalyteAndTest(String testResultId, String analyteId,
+            String testId) {
+        if (testResultId == null || analyteId == null || testId == null) {
+            return List.of();
+        }
+        return lookUp(reflexesByTestResultAnalyteAndTest, List.of(testResultId, analyteId, testId));
+    }
+
+    /**
+     * @return the reflexes reached by following the sibling links of the reflex,
+     *         in link order and without the reflex itself
+     */
+    public List<TestReflex> getSiblings(TestReflex reflex) {
+        if (reflex.getSiblingReflexId() == null) {
+            return List.of();
+        }
+        List<TestReflex> siblings = reflex.getId() == null ? null : siblingsByReflexId.get(reflex.getId());
+        return siblings != null ? siblings : List.copyOf(walkSiblings(reflex, reflexesById));
+    }
+
+    public ReflexRule getReflexRuleByAnalyteId(String analyteId) {
+        return analyteId == null ? null : reflexRulesByAnalyte.get(analyteId);
+    }
+
+    private static List<TestReflex> walkSiblings(TestReflex reflex, Map<String, TestReflex> byId) {
+        List<TestReflex> siblings = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        visited.add(reflex.getId());
+        String siblingId = reflex.getSiblingReflexId();
+        while (siblingId != null && visited.add(siblingId)) {
+            TestReflex sibling = byId.get(siblingId);
+            if (sibling == null) {
+                break;
+            }
+            siblings.add(sibling);
+            siblingId = sibling.getSiblingReflexId();
+        }
+        return siblings;
+    }
+
+    private static <K> void add(Map<K, List<TestReflex>> index, K key, TestReflex reflex) {
+        index.computeIfAbsent(key, k -> new ArrayList<>()).add(reflex);
+    }
+
+    private static <K> Map<K, List<TestReflex>> freeze(Map<K, List<TestReflex>> index) {
+        Map<K, List<TestReflex>> frozen = new HashMap<>();
+        index.forEach((key, reflexes) -> frozen.put(key, List.copyOf(reflexes)));
+        return Map.copyOf(frozen);
+    }
+
+    private static <K> List<TestReflex> lookUp(Map<K, List<TestReflex>> index, K key) {
+        return key == null ? List.of() : index.getOrDefault(key, List.of());
+    }
+}
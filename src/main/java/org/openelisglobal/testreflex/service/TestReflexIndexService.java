@@ -0,0 +1,18 @@
+package org.openelisglobal.testreflex.service;
+
+/**
+ * Holds the current {@link TestReflexIndex}, so that reflex evaluation during
+ * result entry and result save does not query the reflex tables once per
+ * result. The index is built on first use and rebuilt after the reflex
+ * configuration changes through {@link TestReflexService}.
+ */
+public interface TestReflexIndexService {
+
+    TestReflexIndex getIndex();
+
+    /**
+     * Drops the current index now and, if called inside a transaction, again once
+     * it completes, so that the next lookup rebuilds it.
+     */
+    void invalidate();
+}
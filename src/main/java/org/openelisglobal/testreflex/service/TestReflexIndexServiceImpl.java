@@ -0,0 +1,68 @@
+package org.openelisglobal.testreflex.service;
+
+import jakarta.annotation.PostConstruct;
+import org.openelisglobal.testreflex.dao.ReflexRuleDAO;
+import org.openelisglobal.testreflex.dao.TestReflexDAO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class TestReflexIndexServiceImpl implements TestReflexIndexService {
+
+    @Autowired
+    private TestReflexDAO testReflexDAO;
+    @Autowired
+    private ReflexRuleDAO reflexRuleDAO;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private volatile TestReflexIndex index;
+
+    private TransactionTemplate loadTransaction;
+
+    @PostConstruct
+    private void initialize() {
+        loadTransaction = new TransactionTemplate(transactionManager);
+        loadTransaction.setReadOnly(true);
+        // only committed configuration may end up in the index
+        loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public TestReflexIndex getIndex() {
+        TestReflexIndex current = index;
+        return current != null ? current : build();
+    }
+
+    @Override
+    public void invalidate() {
+        drop();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    drop();
+                }
+            });
+        }
+    }
+
+    // waits for a build in progress, so that it cannot publish after the drop
+    private synchronized void drop() {
+        index = null;
+    }
+
+    private synchronized TestReflexIndex build() {
+        if (index != null) {
+            return index;
+        }
+        index = loadTransaction.execute(status -> new TestReflexIndex(testReflexDAO.getAllTestReflexsWithReferences(),
+                reflexRuleDAO.getAll()));
+        return index;
+    }
+}
@@ -50,6 +50,8 @@ public class TestReflexServiceImpl extends AuditableBaseObjectServiceImpl<TestRe
     AnalyteService analyteService;
     @Autowired
     TestAnalyteService testAnalyteService;
+    @Autowired
+    private TestReflexIndexService reflexIndexService;
 
     static final String REFLEX_RESULT_GROUP = "30";
     static final String REFLEX_RESULT_TYPE = "R";
@@ -132,6 +134,7 @@ public class TestReflexServiceImpl extends AuditableBaseObjectServiceImpl<TestRe
                             + IActionConstants.BLANK + testReflex.getTestResult().getValue() + IActionConstants.BLANK
                             + TestServiceImpl.getUserLocalizedTestName(testReflex.getAddedTest()));
         }
+        reflexIndexService.invalidate();
         return super.insert(testReflex);
     }
 
@@ -144,6 +147,7 @@ public class TestReflexServiceImpl extends AuditableBaseObjectServiceImpl<TestRe
                             + IActionConstants.BLANK + testReflex.getTestResult().getValue() + IActionConstants.BLANK
                             + TestServiceImpl.getUserLocalizedTestName(testReflex.getAddedTest()));
         }
+        reflexIndexService.invalidate();
         return super.save(testReflex);
     }
 
@@ -159,6 +163,21 @@ public class TestReflexServiceImpl extends AuditableBaseObjectServiceImpl<TestRe
         return super.update(testReflex);
     }
 
+    // every update, including the ones made as part of a delete, comes through
+    // here
+    @Override
+    protected TestReflex update(TestReflex testReflex, String auditTrailType) {
+        reflexIndexService.invalidate();
+        return super.update(testReflex, auditTrailType);
+    }
+
+    @Override
+    @Transactional
+    public void delete(TestReflex testReflex) {
+        reflexIndexService.invalidate();
+        super.delete(testReflex);
+    }
+
     private boolean duplicateTestReflexExists(TestReflex testReflex) {
         return baseObjectDAO.duplicateTestReflexExists(testReflex);
     }
@@ -171,6 +190,7 @@ public class TestReflexServiceImpl extends AuditableBaseObjectServiceImpl<TestRe
     @Override
     @Transactional()
     public void saveOrUpdateReflexRule(ReflexRule reflexRule) {
+        reflexIndexService.invalidate();
         if (reflexRule.getId() == null) {
             processReflexRule(reflexRule);
             reflexRuleDAO.insert(reflexRule);
@@ -189,6 +209,7 @@ public class TestReflexServiceImpl extends AuditableBaseObjectServiceImpl<TestRe
     @Override
     @Transactional()
     public void deactivateReflexRule(String id) {
+        reflexIndexService.invalidate();
         Optional<ReflexRule> rule = reflexRuleDAO.get(Integer.valueOf(id));
         if (rule.isPresent()) {
             // clear all the existing reflex tests
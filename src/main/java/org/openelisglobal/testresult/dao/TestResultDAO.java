@@ -55,4 +55,9 @@ public interface TestResultDAO extends BaseDAO<TestResult, String> {
 
     List<TestResult> getActiveTestResultsByTest(String testId) throws LIMSRuntimeException;
 
+    /**
+     * @return the active test results of all of the tests, ordered by id
+     */
+    List<TestResult> getActiveTestResultsByTests(List<String> testIds) throws LIMSRuntimeException;
+
 }
@@ -227,4 +227,21 @@ public class TestResultDAOImpl extends BaseDAOImpl<TestResult, String> implement
         return null;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<TestResult> getActiveTestResultsByTests(List<String> testIds) throws LIMSRuntimeException {
+        if (testIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            String sql = "from TestResult t where t.test.id in (:testIds) and t.isActive = true order by t.id";
+            Query<TestResult> query = entityManager.unwrap(Session.class).createQuery(sql, TestResult.class);
+            query.setParameterList("testIds", testIds.stream().map(Integer::parseInt).toList());
+            return query.list();
+        } catch (RuntimeException e) {
+            handleException(e, "getActiveTestResultsByTests");
+        }
+
+        return null;
+    }
 }
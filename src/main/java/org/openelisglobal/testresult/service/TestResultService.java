@@ -1,6 +1,8 @@
 package org.openelisglobal.testresult.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import org.openelisglobal.common.service.BaseObjectService;
 import org.openelisglobal.test.valueholder.Test;
 import org.openelisglobal.testanalyte.valueholder.TestAnalyte;
@@ -15,6 +17,12 @@ public interface TestResultService extends BaseObjectService<TestResult, String>
 
     List<TestResult> getActiveTestResultsByTest(String testId);
 
+    /**
+     * @return the active test results by test id, with an empty list for the
+     *         tests that have none
+     */
+    Map<String, List<TestResult>> getActiveTestResultsByTests(Collection<String> testIds);
+
     List<TestResult> getPageOfTestResults(int startingRecNo);
 
     List<TestResult> getAllTestResults();
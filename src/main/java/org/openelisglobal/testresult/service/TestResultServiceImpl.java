@@ -1,12 +1,14 @@
 package org.openelisglobal.testresult.service;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.openelisglobal.common.service.AuditableBaseObjectServiceImpl;
+import org.openelisglobal.common.util.ChunkUtil;
 import org.openelisglobal.test.valueholder.Test;
 import org.openelisglobal.testanalyte.valueholder.TestAnalyte;
 import org.openelisglobal.testresult.dao.TestResultDAO;
@@ -51,6 +53,21 @@ public class TestResultServiceImpl extends AuditableBaseObjectServiceImpl<TestRe
         return baseObjectDAO.getAllMatching(propertyValues);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, List<TestResult>> getActiveTestResultsByTests(Collection<String> testIds) {
+        Map<String, List<TestResult>> testResultsByTest = new HashMap<>();
+        for (String testId : testIds) {
+            testResultsByTest.put(testId, new ArrayList<>());
+        }
+        for (List<String> chunk : ChunkUtil.chunk(testResultsByTest.keySet())) {
+            for (TestResult testResult : baseObjectDAO.getActiveTestResultsByTests(chunk)) {
+                testResultsByTest.computeIfAbsent(testResult.getTest().getId(), k -> new ArrayList<>()).add(testResult);
+            }
+        }
+        return testResultsByTest;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public TestResult getTestResultsByTestAndDictonaryResult(String id, String value) {
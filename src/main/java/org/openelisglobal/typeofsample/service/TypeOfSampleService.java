@@ -2,6 +2,7 @@ package org.openelisglobal.typeofsample.service;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 import org.openelisglobal.common.service.BaseObjectService;
 import org.openelisglobal.localization.valueholder.Localization;
 import org.openelisglobal.test.valueholder.Test;
@@ -43,8 +44,19 @@ public interface TypeOfSampleService extends BaseObjectService<TypeOfSample, Str
 
     TypeOfSample getTransientTypeOfSampleById(String sampleTypeId);
 
+    /**
+     * Marks the sample type lookups as out of date once the current transaction,
+     * if any, commits. Lookups only ever see committed changes.
+     */
     void clearCache();
 
+    /**
+     * Rebuilds the sample type lookups in the background now.
+     *
+     * @return completes when lookups answer from the rebuilt lists
+     */
+    CompletableFuture<Void> refreshCache();
+
     List<TypeOfSample> getTypeOfSampleForTest(String testId);
 
     String getTypeOfSampleNameForId(String id);
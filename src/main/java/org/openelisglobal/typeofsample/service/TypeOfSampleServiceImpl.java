@@ -1,16 +1,23 @@
 package org.openelisglobal.typeofsample.service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import org.hibernate.Hibernate;
 import org.openelisglobal.common.exception.LIMSDuplicateRecordException;
+import org.openelisglobal.common.log.LogEvent;
 import org.openelisglobal.common.service.AuditableBaseObjectServiceImpl;
 import org.openelisglobal.localization.valueholder.Localization;
 import org.openelisglobal.panel.service.PanelService;
@@ -25,23 +32,41 @@ import org.openelisglobal.typeofsample.valueholder.TypeOfSamplePanel;
 import org.openelisglobal.typeofsample.valueholder.TypeOfSampleTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @DependsOn({ "springContext" })
 public class TypeOfSampleServiceImpl extends AuditableBaseObjectServiceImpl<TypeOfSample, String>
         implements TypeOfSampleService {
 
-    private Map<String, List<Test>> sampleIdTestMap = new HashMap<>();
-    private Map<String, String> typeOfSampleIdToNameMap;
-    private Map<String, String> typeOfSampleWellKnownNameToIdMap;
-    private Map<String, List<TypeOfSample>> testIdToTypeOfSampleMap = null;
-    private Map<String, List<TypeOfSample>> panelIdToTypeOfSampleMap = null;
-    // The purpose of this map is to make sure all the references refer to the same
-    // instances of the TypeOfSample objects
-    // Without this comparisons may fail
-    private Map<String, TypeOfSample> typeOfSampleIdtoTypeOfSampleMap = null;
+    /**
+     * Everything the sample type lookups need, built in one pass and never
+     * modified afterwards. All lists refer to the same TypeOfSample instances so
+     * that comparisons between them succeed. generation is the value of
+     * invalidations when the build started.
+     */
+    private record Snapshot(long generation, Map<String, List<Test>> activeTestsBySampleTypeId,
+            Map<String, List<TypeOfSample>> typeOfSamplesByTestId,
+            Map<String, List<TypeOfSample>> typeOfSamplesByPanelId, Map<String, String> nameById,
+            Map<String, String> idByLocalAbbreviation) {
+    }
+
+    // readers only ever see a complete snapshot; a rebuild replaces it as a whole
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<Void>> pendingRebuild = new AtomicReference<>();
+    // counts clearCache() calls; a snapshot built before the latest one is stale
+    private final AtomicLong invalidations = new AtomicLong();
+    // one build at a time, so a snapshot is never replaced by an older one
+    private final ReentrantLock buildLock = new ReentrantLock();
+    private ExecutorService rebuildExecutor;
+    private TransactionTemplate rebuildTransaction;
 
     @Autowired
     protected TypeOfSampleDAO baseObjectDAO;
@@ -54,12 +79,25 @@ public class TypeOfSampleServiceImpl extends AuditableBaseObjectServiceImpl<Type
     private TypeOfSampleTestService typeOfSampleTestService;
     @Autowired
     private PanelService panelService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
     @PostConstruct
-    private synchronized void initializeGlobalVariables() {
-        if (typeOfSampleIdtoTypeOfSampleMap == null) {
-            createTypeOfSampleIdentityMap();
-        }
+    private void initializeGlobalVariables() {
+        rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "type-of-sample-cache");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // never inside the caller's transaction, so only committed data is cached
+        rebuildTransaction = new TransactionTemplate(transactionManager);
+        rebuildTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        rebuildTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        rebuildExecutor.shutdownNow();
     }
 
     TypeOfSampleServiceImpl() {
@@ -78,25 +116,19 @@ public class TypeOfSampleServiceImpl extends AuditableBaseObjectServiceImpl<Type
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public synchronized List<Test> getActiveTestsBySampleTypeId(String sampleTypeId, boolean orderableOnly) {
-
-        List<Test> testList = sampleIdTestMap.get(sampleTypeId);
-
-        if (testList == null) {
-            testList = createSampleIdTestMap(sampleTypeId);
-        }
+    public List<Test> getActiveTestsBySampleTypeId(String sampleTypeId, boolean orderableOnly) {
+        List<Test> testList = getSnapshot().activeTestsBySampleTypeId().getOrDefault(sampleTypeId,
+                Collections.emptyList());
 
         if (orderableOnly) {
             return filterByOrderable(testList);
         } else {
-            return testList;
+            return new ArrayList<>(testList);
         }
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public synchronized List<Test> getActiveTestsBySampleTypeIdAndTestUnit(String sampleType, boolean b,
+    public List<Test> getActiveTestsBySampleTypeIdAndTestUnit(String sampleType, boolean b,
             List<String> testUnitIds) {
         List<Test> testList = getActiveTestsBySampleTypeId(sampleType, b);
         return testList.stream().filter(test -> testUnitIds.contains(test.getTestSection().getId()))
@@ -137,126 +169,159 @@ public class TypeOfSampleServiceImpl extends AuditableBaseObjectServiceImpl<Type
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public synchronized List<TypeOfSample> getTypeOfSampleForTest(String testId) {
-        if (testIdToTypeOfSampleMap == null) {
-            createTestIdToTypeOfSampleMap();
-        }
+    public List<TypeOfSample> getTypeOfSampleForTest(String testId) {
+        List<TypeOfSample> typeOfSamples = getSnapshot().typeOfSamplesByTestId().get(testId);
+        return typeOfSamples == null ? null : new ArrayList<>(typeOfSamples);
+    }
 
-        return testIdToTypeOfSampleMap.get(testId);
+    /**
+     * This class keeps lists of tests for each type of sample. If the DB of tests
+     * changes, we need to invalidate such lists. Inside a transaction nothing
+     * changes until it commits; the lists are then rebuilt in the background, and
+     * a rolled back transaction leaves them as they were. Outside a transaction
+     * the next lookup rebuilds them. Rebuilds always run in a new transaction and
+     * lookups on other threads keep the previous lists until they are done.
+     */
+    @Override
+    public void clearCache() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidations.incrementAndGet();
+                    refreshCache();
+                }
+            });
+        } else {
+            invalidations.incrementAndGet();
+        }
     }
 
-    private synchronized void createTestIdToTypeOfSampleMap() {
-        testIdToTypeOfSampleMap = new HashMap<>();
+    @Override
+    public CompletableFuture<Void> refreshCache() {
+        while (true) {
+            CompletableFuture<Void> pending = pendingRebuild.get();
+            if (pending != null) {
+                // not started yet, so it will see whatever changed before this call
+                return pending;
+            }
+            CompletableFuture<Void> rebuild = new CompletableFuture<>();
+            if (pendingRebuild.compareAndSet(null, rebuild)) {
+                Locale locale = LocaleContextHolder.getLocale();
+                rebuildExecutor.execute(() -> rebuild(rebuild, locale));
+                return rebuild;
+            }
+        }
+    }
 
-        List<TypeOfSampleTest> typeOfSampleTestList = typeOfSampleTestService.getAllTypeOfSampleTests();
+    private void rebuild(CompletableFuture<Void> rebuild, Locale locale) {
+        // changes made from here on need another rebuild
+        pendingRebuild.compareAndSet(rebuild, null);
+        LocaleContextHolder.setLocale(locale);
+        buildLock.lock();
+        try {
+            long generation = invalidations.get();
+            snapshot.set(rebuildTransaction.execute(status -> createSnapshot(generation)));
+            rebuild.complete(null);
+        } catch (RuntimeException e) {
+            LogEvent.logError("could not rebuild the type of sample cache, keeping the previous one", e);
+            rebuild.completeExceptionally(e);
+        } finally {
+            buildLock.unlock();
+            LocaleContextHolder.resetLocaleContext();
+        }
+    }
 
-        for (TypeOfSampleTest typeTest : typeOfSampleTestList) {
-            String testId = typeTest.getTestId();
-            TypeOfSample typeOfSample = typeOfSampleIdtoTypeOfSampleMap
-                    .get(baseObjectDAO.getTypeOfSampleById(typeTest.getTypeOfSampleId()).getId());
-            if (testIdToTypeOfSampleMap.containsKey(testId)) {
-                testIdToTypeOfSampleMap.get(testId).add(typeOfSample);
-            } else {
-                testIdToTypeOfSampleMap.put(testId, new ArrayList<>(Arrays.asList(typeOfSample)));
+    private Snapshot getSnapshot() {
+        Snapshot current = snapshot.get();
+        if (current != null && current.generation() == invalidations.get()) {
+            return current;
+        }
+        // out of date: while another thread rebuilds, answer from the previous lists
+        if (current == null) {
+            buildLock.lock();
+        } else if (!buildLock.tryLock()) {
+            return current;
+        }
+        try {
+            current = snapshot.get();
+            long generation = invalidations.get();
+            if (current == null || current.generation() != generation) {
+                current = rebuildTransaction.execute(status -> createSnapshot(generation));
+                snapshot.set(current);
             }
+            return current;
+        } finally {
+            buildLock.unlock();
         }
     }
 
-    private synchronized List<Test> createSampleIdTestMap(String sampleTypeId) {
-        List<Test> testList;
-        List<TypeOfSampleTest> tests = typeOfSampleTestService.getTypeOfSampleTestsForSampleType(sampleTypeId);
+    private Snapshot createSnapshot(long generation) {
+        Map<String, TypeOfSample> typeOfSampleById = new HashMap<>();
+        Map<String, String> nameById = new HashMap<>();
+        Map<String, String> idByLocalAbbreviation = new HashMap<>();
+        for (TypeOfSample typeOfSample : baseObjectDAO.getAllTypeOfSamples()) {
+            typeOfSampleById.put(typeOfSample.getId(), typeOfSample);
+            nameById.put(typeOfSample.getId(), typeOfSample.getLocalizedName());
+            idByLocalAbbreviation.put(typeOfSample.getLocalAbbreviation(), typeOfSample.getId());
+        }
 
-        testList = new ArrayList<>();
+        Map<String, Test> activeTestById = new HashMap<>();
+        for (Test test : testService.getAllActiveTests(false)) {
+            activeTestById.put(test.getId(), test);
+        }
 
-        for (TypeOfSampleTest link : tests) {
-            Test test = testService.getActiveTestById(Integer.valueOf(link.getTestId()));
+        Map<String, List<Test>> activeTestsBySampleTypeId = new HashMap<>();
+        Map<String, List<TypeOfSample>> typeOfSamplesByTestId = new HashMap<>();
+        for (TypeOfSampleTest link : typeOfSampleTestService.getAllTypeOfSampleTests()) {
+            TypeOfSample typeOfSample = typeOfSampleById.get(link.getTypeOfSampleId());
+            if (typeOfSample != null) {
+                typeOfSamplesByTestId.computeIfAbsent(link.getTestId(), id -> new ArrayList<>()).add(typeOfSample);
+            }
+            Test test = activeTestById.get(link.getTestId());
             if (test != null) {
-                testList.add(test);
+                activeTestsBySampleTypeId.computeIfAbsent(link.getTypeOfSampleId(), id -> new ArrayList<>())
+                        .add(test);
             }
         }
+        activeTestsBySampleTypeId.values().forEach(tests -> tests.sort(TestComparator.NAME_COMPARATOR));
 
-        Collections.sort(testList, TestComparator.NAME_COMPARATOR);
-
-        sampleIdTestMap.put(sampleTypeId, testList);
-        return testList;
-    }
+        Map<String, List<TypeOfSample>> typeOfSamplesByPanelId = new HashMap<>();
+        for (Panel panel : panelService.getAllActivePanels()) {
+            typeOfSamplesByPanelId.put(panel.getId(), new ArrayList<>());
+        }
+        for (TypeOfSamplePanel link : typeOfSamplePanelService.getAllTypeOfSamplePanels()) {
+            List<TypeOfSample> typeOfSamples = typeOfSamplesByPanelId.get(link.getPanelId());
+            TypeOfSample typeOfSample = typeOfSampleById.get(link.getTypeOfSampleId());
+            if (typeOfSamples != null && typeOfSample != null) {
+                typeOfSamples.add(typeOfSample);
+            }
+        }
 
-    /**
-     * This class keeps lists of tests for each type of sample. If the DB of tests
-     * changes, we need to invalidate such lists.
-     */
-    @Override
-    public synchronized void clearCache() {
-        sampleIdTestMap.clear();
-        createTypeOfSampleIdentityMap();
-        typeOfSampleIdToNameMap = null;
-        typeOfSampleWellKnownNameToIdMap = null;
-        testIdToTypeOfSampleMap = null;
+        return new Snapshot(generation, unmodifiable(activeTestsBySampleTypeId), unmodifiable(typeOfSamplesByTestId),
+                unmodifiable(typeOfSamplesByPanelId), Collections.unmodifiableMap(nameById),
+                Collections.unmodifiableMap(idByLocalAbbreviation));
     }
 
-    private synchronized void createTypeOfSampleIdentityMap() {
-        typeOfSampleIdtoTypeOfSampleMap = new HashMap<>();
-
-        List<TypeOfSample> typeOfSampleList = baseObjectDAO.getAllTypeOfSamples();
-
-        for (TypeOfSample typeOfSample : typeOfSampleList) {
-            typeOfSampleIdtoTypeOfSampleMap.put(typeOfSample.getId(), typeOfSample);
-        }
+    private static <T> Map<String, List<T>> unmodifiable(Map<String, List<T>> map) {
+        map.replaceAll((key, list) -> Collections.unmodifiableList(list));
+        return Collections.unmodifiableMap(map);
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public synchronized String getTypeOfSampleNameForId(String id) {
-        if (typeOfSampleIdToNameMap == null) {
-            createSampleNameIDMaps();
-        }
-
-        return typeOfSampleIdToNameMap.get(id);
+    public String getTypeOfSampleNameForId(String id) {
+        return getSnapshot().nameById().get(id);
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public synchronized String getTypeOfSampleIdForLocalAbbreviation(String name) {
-        if (typeOfSampleWellKnownNameToIdMap == null) {
-            createSampleNameIDMaps();
-        }
-
-        return typeOfSampleWellKnownNameToIdMap.get(name);
-    }
-
-    private synchronized void createSampleNameIDMaps() {
-        typeOfSampleIdToNameMap = new HashMap<>();
-        typeOfSampleWellKnownNameToIdMap = new HashMap<>();
-
-        List<TypeOfSample> allTypes = baseObjectDAO.getAllTypeOfSamples();
-        for (TypeOfSample typeOfSample : allTypes) {
-            typeOfSampleIdToNameMap.put(typeOfSample.getId(), typeOfSample.getLocalizedName());
-            typeOfSampleWellKnownNameToIdMap.put(typeOfSample.getLocalAbbreviation(), typeOfSample.getId());
-        }
+    public String getTypeOfSampleIdForLocalAbbreviation(String name) {
+        return getSnapshot().idByLocalAbbreviation().get(name);
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public synchronized List<TypeOfSample> getTypeOfSampleForPanelId(String id) {
-        if (panelIdToTypeOfSampleMap == null) {
-            panelIdToTypeOfSampleMap = new HashMap<>();
-
-            List<Panel> panels = panelService.getAllActivePanels();
-
-            for (Panel panel : panels) {
-                List<TypeOfSamplePanel> typeOfSamplePanels = typeOfSamplePanelService
-                        .getTypeOfSamplePanelsForPanel(panel.getId());
-                List<TypeOfSample> typeOfSampleList = new ArrayList<>();
-                for (TypeOfSamplePanel typeOfSamplePanel : typeOfSamplePanels) {
-                    typeOfSampleList.add(typeOfSampleIdtoTypeOfSampleMap
-                            .get(baseObjectDAO.getTypeOfSampleById(typeOfSamplePanel.getTypeOfSampleId()).getId()));
-                }
-                panelIdToTypeOfSampleMap.put(panel.getId(), typeOfSampleList);
-            }
-        }
-
-        return panelIdToTypeOfSampleMap.get(id);
+    public List<TypeOfSample> getTypeOfSampleForPanelId(String id) {
+        List<TypeOfSample> typeOfSamples = getSnapshot().typeOfSamplesByPanelId().get(id);
+        return typeOfSamples == null ? null : new ArrayList<>(typeOfSamples);
     }
 
     @Override
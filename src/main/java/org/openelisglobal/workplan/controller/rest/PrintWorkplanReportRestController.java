@@ -11,17 +11,18 @@ import java.util.HashMap;
 import java.util.List;
 import net.sf.jasperreports.engine.JRDataSource;
 import net.sf.jasperreports.engine.JRException;
-import net.sf.jasperreports.engine.JasperRunManager;
 import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
 import org.openelisglobal.common.exception.LIMSRuntimeException;
 import org.openelisglobal.common.log.LogEvent;
 import org.openelisglobal.common.rest.BaseRestController;
+import org.openelisglobal.reports.service.JasperReportService;
 import org.openelisglobal.test.service.TestServiceImpl;
 import org.openelisglobal.workplan.form.WorkplanForm;
 import org.openelisglobal.workplan.form.WorkplanForm.PrintWorkplan;
 import org.openelisglobal.workplan.reports.IWorkplanReport;
 import org.openelisglobal.workplan.reports.TestSectionWorkplanReport;
 import org.openelisglobal.workplan.reports.TestWorkplanReport;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -31,6 +32,9 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController("PrintWorkplanReportRestController")
 public class PrintWorkplanReportRestController extends BaseRestController {
 
+    @Autowired
+    private JasperReportService jasperReportService;
+
     private String reportPath = null;
 
     @PostMapping(value = "/rest/PrintWorkplanReport")
@@ -66,7 +70,7 @@ public class PrintWorkplanReportRestController extends BaseRestController {
             byte[] bytes = null;
 
             JRDataSource dataSource = createReportDataSource(workplanRows);
-            bytes = JasperRunManager.runReportToPdf(getReportPath() + reportFileName + ".jasper", parameterMap,
+            bytes = jasperReportService.runReportToPdf(getReportPath() + reportFileName + ".jasper", parameterMap,
                     dataSource);
 
             ServletOutputStream servletOutputStream = response.getOutputStream();
@@ -3,13 +3,16 @@ package org.openelisglobal.workplan.controller.rest;
 import jakarta.servlet.http.HttpServletRequest;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import org.apache.commons.validator.GenericValidator;
 import org.openelisglobal.analysis.service.AnalysisService;
 import org.openelisglobal.analysis.valueholder.Analysis;
 import org.openelisglobal.common.constants.Constants;
 import org.openelisglobal.common.formfields.FormFields;
 import org.openelisglobal.common.formfields.FormFields.Field;
+import org.openelisglobal.common.paging.KeysetCursor;
 import org.openelisglobal.common.services.QAService;
 import org.openelisglobal.common.services.QAService.QAObservationType;
 import org.openelisglobal.common.util.ConfigurationProperties;
@@ -39,6 +42,9 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController("WorkplanByTestSectionRestController")
 public class WorkplanByTestSectionRestController extends WorkplanRestController {
 
+    private static final int MAX_PAGE_SAMPLES = 200;
+    private static final List<String> PAGE_KEY = List.of("sampleItem.sample.accessionNumber");
+
     @Autowired
     SampleService sampleService;
 
@@ -68,9 +74,14 @@ public class WorkplanByTestSectionRestController extends WorkplanRestController
 
     @GetMapping(value = "/rest/WorkPlanByTestSection", produces = MediaType.APPLICATION_JSON_VALUE)
     public WorkplanForm showWorkPlanByTestSection(HttpServletRequest request,
-            @RequestParam(name = "test_section_id", defaultValue = "0") String testSectionId)
+            @RequestParam(name = "test_section_id", defaultValue = "0") String testSectionId,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer pageSize)
             throws IllegalAccessException, InvocationTargetException, NoSuchMethodException {
 
+        if (pageSize != null) {
+            return getWorkplanPage(request, testSectionId, cursor, Math.max(1, Math.min(pageSize, MAX_PAGE_SAMPLES)));
+        }
+
         WorkplanForm form = new WorkplanForm();
         WorkplanPaging paging = new WorkplanPaging();
         List<TestResultItem> workplanTests = new ArrayList<TestResultItem>();
@@ -98,9 +109,52 @@ public class WorkplanByTestSectionRestController extends WorkplanRestController
         return form;
     }
 
+    /**
+     * Builds the worklist for one page of samples read from the database, rather
+     * than for the whole test section, and sets the form's nextCursor to the page
+     * after it. Pages hold whole samples so that tests grouped by sample stay
+     * together.
+     */
+    private WorkplanForm getWorkplanPage(HttpServletRequest request, String testSectionId, String cursor,
+            int sampleCount) {
+        WorkplanForm form = new WorkplanForm();
+        List<Object> afterKey = KeysetCursor.decode(cursor, PAGE_KEY);
+        // one extra sample tells us whether there is a next page
+        List<Analysis> analyses = analysisService.getSamplePageAnalysisByTestSectionAndStatus(testSectionId,
+                statusList, afterKey == null ? null : (String) afterKey.get(0), sampleCount + 1);
+
+        Set<String> accessionNumbers = new LinkedHashSet<>();
+        for (Analysis analysis : analyses) {
+            accessionNumbers.add(analysis.getSampleItem().getSample().getAccessionNumber());
+        }
+        String nextCursor = null;
+        if (accessionNumbers.size() > sampleCount) {
+            List<String> orderedAccessionNumbers = new ArrayList<>(accessionNumbers);
+            String extraAccessionNumber = orderedAccessionNumbers.get(sampleCount);
+            analyses = analyses.stream().filter(analysis -> !extraAccessionNumber
+                    .equals(analysis.getSampleItem().getSample().getAccessionNumber())).toList();
+            nextCursor = KeysetCursor.encode(PAGE_KEY, List.of(orderedAccessionNumbers.get(sampleCount - 1)));
+        }
+
+        List<TestResultItem> filteredTests = userService.filterResultsByLabUnitRoles(getSysUserId(request),
+                getWorkplanTests(analyses), Constants.ROLE_RESULTS);
+        new ResultsLoadUtility().sortByAccessionAndSequence(filteredTests);
+        if (isPatientNameAdded()) {
+            addPatientNamesToList(filteredTests);
+        }
+        form.setWorkplanTests(filteredTests);
+        form.setNextCursor(nextCursor);
+        return form;
+    }
+
     private List<TestResultItem> getWorkplanByTestSection(String testSectionId) {
+        if (GenericValidator.isBlankOrNull(testSectionId)) {
+            return new ArrayList<>();
+        }
+        return getWorkplanTests(analysisService.getAllAnalysisByTestSectionAndStatus(testSectionId, statusList, true));
+    }
 
-        List<Analysis> testList = new ArrayList<>();
+    private List<TestResultItem> getWorkplanTests(List<Analysis> testList) {
         List<TestResultItem> workplanTestList = new ArrayList<>();
         String currentAccessionNumber = new String();
         String subjectNumber = new String();
@@ -112,14 +166,7 @@ public class WorkplanByTestSectionRestController extends WorkplanRestController
         boolean isNFSTest = false;
         TestResultItem testResultItem = new TestResultItem();
 
-        if (!(GenericValidator.isBlankOrNull(testSectionId))) {
-
-            String sectionId = testSectionId;
-            testList = analysisService.getAllAnalysisByTestSectionAndStatus(sectionId, statusList, true);
-
-            if (testList.isEmpty()) {
-                return new ArrayList<>();
-            }
+        if (!testList.isEmpty()) {
 
             for (Analysis analysis : testList) {
                 Sample sample = analysis.getSampleItem().getSample();
@@ -49,6 +49,9 @@ public class WorkplanForm extends BaseForm implements IPagingForm {
     @Valid
     private List<TestResultItem> workplanTests;
 
+    // for display, the cursor of the next page when the page was loaded by cursor
+    private String nextCursor;
+
     @Valid
     private List<AnalysisItem> resultList;
 
@@ -213,4 +216,12 @@ public class WorkplanForm extends BaseForm implements IPagingForm {
     public PagingBean getPaging() {
         return paging;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
@@ -18,6 +18,7 @@ import org.dbunit.dataset.xml.FlatXmlDataSet;
 import org.dbunit.ext.postgresql.PostgresqlDataTypeFactory;
 import org.dbunit.operation.DatabaseOperation;
 import org.openelisglobal.common.services.IStatusService;
+import org.openelisglobal.testreflex.service.TestReflexIndexService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -51,6 +52,9 @@ public abstract class BaseWebContextSensitiveTest extends AbstractTransactionalJ
     @Autowired
     private IStatusService statusService;
 
+    @Autowired
+    private TestReflexIndexService testReflexIndexService;
+
     protected MockMvc mockMvc;
 
     protected void setUp() throws Exception {
@@ -109,6 +113,10 @@ public abstract class BaseWebContextSensitiveTest extends AbstractTransactionalJ
             if (statusService != null) {
                 statusService.refreshCache();
             }
+            // the dataset may have changed the reflex configuration
+            if (testReflexIndexService != null) {
+                testReflexIndexService.invalidate();
+            }
         } finally {
             if (inputStream != null) {
                 inputStream.close();
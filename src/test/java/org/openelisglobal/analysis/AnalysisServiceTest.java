@@ -6,6 +6,7 @@ import java.util.Arrays;
 import java.util.Base64;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import org.junit.Assert;
@@ -293,6 +294,57 @@ public class AnalysisServiceTest extends BaseWebContextSensitiveTest {
         Assert.assertEquals(2, analyses);
     }
 
+    @Test
+    public void getCountAnalysisForValidation_shouldCountAnalysesInSectionWithStatus() throws Exception {
+        Assert.assertEquals(1, aService.getCountAnalysisForValidation("1", Arrays.asList(1), null, null));
+        Assert.assertEquals(0, aService.getCountAnalysisForValidation("1", Arrays.asList(2), null, null));
+    }
+
+    @Test
+    public void getCountAnalysisForValidation_shouldKeepSamplesWithoutRecordStatus() throws Exception {
+        Assert.assertEquals(1, aService.getCountAnalysisForValidation("1", Arrays.asList(1), "1", "NotRegistered"));
+    }
+
+    @Test
+    public void getCountAnalysisForValidation_shouldLeaveOutSamplesWithExcludedRecordStatus() throws Exception {
+        jdbcTemplate.update("INSERT INTO clinlims.observation_history_type (id, type_name, description, lastupdated)"
+                + " VALUES (9001, 'testRecordStatus', 'test record status', now())");
+        jdbcTemplate.update("INSERT INTO clinlims.observation_history (id, sample_id, observation_history_type_id,"
+                + " value_type, value, lastupdated) VALUES (9001, 1, 9001, 'D', 'NotRegistered', now())");
+        try {
+            Assert.assertEquals(0,
+                    aService.getCountAnalysisForValidation("1", Arrays.asList(1), "9001", "NotRegistered"));
+            Assert.assertEquals(1, aService.getCountAnalysisForValidation("1", Arrays.asList(1), "9001", "Registered"));
+        } finally {
+            jdbcTemplate.update("DELETE FROM clinlims.observation_history WHERE id = 9001");
+            jdbcTemplate.update("DELETE FROM clinlims.observation_history_type WHERE id = 9001");
+        }
+    }
+
+    @Test
+    public void getPageAnalysisForValidation_shouldPageAfterLastAccessionAndId() throws Exception {
+        List<Analysis> firstPage = aService.getPageAnalysisForValidation("1", Arrays.asList(1), null, null, null,
+                null, 10);
+        Assert.assertEquals(1, firstPage.size());
+        Assert.assertEquals("1", firstPage.get(0).getId());
+
+        List<Analysis> nextPage = aService.getPageAnalysisForValidation("1", Arrays.asList(1), null, null, "12345",
+                "1", 10);
+        Assert.assertTrue(nextPage.isEmpty());
+    }
+
+    @Test
+    public void getSamplePageAnalysisByTestSectionAndStatus_shouldPageAfterAccessionNumber() throws Exception {
+        List<Analysis> firstPage = aService.getSamplePageAnalysisByTestSectionAndStatus("1", Arrays.asList(1), null,
+                10);
+        Assert.assertEquals(1, firstPage.size());
+        Assert.assertEquals("1", firstPage.get(0).getId());
+
+        List<Analysis> nextPage = aService.getSamplePageAnalysisByTestSectionAndStatus("1", Arrays.asList(1), "12345",
+                10);
+        Assert.assertTrue(nextPage.isEmpty());
+    }
+
     @Test
     public void getAnalysisByAccessionAndTestId_shouldReturnAnalysisByAccessionAndTestId() {
         List<Analysis> analyses = aService.getAnalysisByAccessionAndTestId("12345", "1");
@@ -301,6 +353,18 @@ public class AnalysisServiceTest extends BaseWebContextSensitiveTest {
         Assert.assertEquals("ROUTINE", analyses.get(0).getAnalysisType());
     }
 
+    @Test
+    public void getAnalysesByAccessionNumbers_shouldGroupAnalysesByRequestedAccessionNumber() {
+        Map<String, List<Analysis>> analyses = aService
+                .getAnalysesByAccessionNumbers(Arrays.asList("12345", "13333.1", "99999"));
+
+        Assert.assertEquals(3, analyses.size());
+        Assert.assertEquals("1", analyses.get("12345").get(0).getId());
+        Assert.assertEquals("1", analyses.get("12345").get(0).getTest().getId());
+        Assert.assertEquals("2", analyses.get("13333.1").get(0).getId());
+        Assert.assertTrue(analyses.get("99999").isEmpty());
+    }
+
     @Test
     public void getTestDisplayName_shouldReturnCorrectTestName() {
         Analysis analysis = aService.get("1");
@@ -3,6 +3,7 @@ package org.openelisglobal.analyzerresults;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import jakarta.persistence.EntityManager;
@@ -97,6 +98,49 @@ public class AnalyzerResultsServiceTest extends BaseWebContextSensitiveTest {
         assertEquals(1, insertAnalyzerResults.size());
     }
 
+    @Test
+    public void insertAnalyzerResults_ShouldKeepValuesWritten() {
+        AnalyzerResults analyzerResults = newAnalyzerResults("ACC555", "Glucose", "2025-07-02 10:00:00");
+        analyzerResults.setUnits("10^9/\"L\", corrected");
+        analyzerResults.setTestId("4001");
+
+        analyzerResultsService.insertAnalyzerResults(List.of(analyzerResults), "1");
+
+        AnalyzerResults saved = analyzerResultsService.get(analyzerResults.getId());
+        assertEquals("ACC555", saved.getAccessionNumber());
+        assertEquals("10^9/\"L\", corrected", saved.getUnits());
+        assertEquals("4001", saved.getTestId());
+        assertEquals(Timestamp.valueOf("2025-07-02 10:00:00"), saved.getCompleteDate());
+        assertNull(saved.getDuplicateAnalyzerResultId());
+        assertFalse(saved.isReadOnly());
+    }
+
+    @Test
+    public void insertAnalyzerResults_ShouldLinkDuplicatesToTheLatestPreviousResult() {
+        AnalyzerResults second = newAnalyzerResults("ACC123456", "Glucose", "2025-07-02 10:00:00");
+        AnalyzerResults third = newAnalyzerResults("ACC123456", "Glucose", "2025-07-03 10:00:00");
+
+        analyzerResultsService.insertAnalyzerResults(List.of(second, third), "1");
+
+        assertEquals(second.getId(), analyzerResultsService.get("1001").getDuplicateAnalyzerResultId());
+        AnalyzerResults savedSecond = analyzerResultsService.get(second.getId());
+        assertTrue(savedSecond.isReadOnly());
+        assertEquals(third.getId(), savedSecond.getDuplicateAnalyzerResultId());
+        AnalyzerResults savedThird = analyzerResultsService.get(third.getId());
+        assertTrue(savedThird.isReadOnly());
+        assertEquals(second.getId(), savedThird.getDuplicateAnalyzerResultId());
+    }
+
+    @Test
+    public void insertAnalyzerResults_ShouldSkipResultsOfAFileReadBefore() {
+        AnalyzerResults reread = newAnalyzerResults("ACC123456", "Glucose", "2025-07-01 08:15:00");
+
+        analyzerResultsService.insertAnalyzerResults(List.of(reread), "1");
+
+        assertNull(reread.getId());
+        assertEquals(3, analyzerResultsService.getAll().size());
+    }
+
     @Test
     public void persistAnalyzerResults_ShouldDeleteAListOfAnalyzerResultsAndInsertANewSampleGroupingList() {
         AnalyzerResults analyzerResult = analyzerResultsService.get("1003");
@@ -345,4 +389,14 @@ public class AnalyzerResultsServiceTest extends BaseWebContextSensitiveTest {
         List<AnalyzerResults> updatedAnalyzerResultsList = analyzerResultsService.getAll();
         assertTrue(updatedAnalyzerResultsList.isEmpty());
     }
+
+    private AnalyzerResults newAnalyzerResults(String accessionNumber, String testName, String completeDate) {
+        AnalyzerResults analyzerResults = new AnalyzerResults();
+        analyzerResults.setAnalyzerId("2001");
+        analyzerResults.setAccessionNumber(accessionNumber);
+        analyzerResults.setTestName(testName);
+        analyzerResults.setResult("5.1");
+        analyzerResults.setCompleteDate(Timestamp.valueOf(completeDate));
+        return analyzerResults;
+    }
 }
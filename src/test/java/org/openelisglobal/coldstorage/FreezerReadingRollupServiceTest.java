@@ -0,0 +1,184 @@
+package org.openelisglobal.coldstorage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.openelisglobal.BaseWebContextSensitiveTest;
+import org.openelisglobal.coldstorage.config.FreezerMonitoringProperties;
+import org.openelisglobal.coldstorage.dao.impl.FreezerReadingRollupDAOImpl;
+import org.openelisglobal.coldstorage.service.FreezerReadingRollupService;
+import org.openelisglobal.coldstorage.service.FreezerReportService;
+import org.openelisglobal.coldstorage.service.FreezerService;
+import org.openelisglobal.coldstorage.service.ReadingIngestionService;
+import org.openelisglobal.coldstorage.service.dto.FreezerDailyLogData;
+import org.openelisglobal.coldstorage.service.dto.FreezerReadingSeriesPoint;
+import org.openelisglobal.coldstorage.valueholder.Freezer;
+import org.openelisglobal.coldstorage.valueholder.FreezerReadingRollup;
+import org.openelisglobal.coldstorage.valueholder.FreezerReadingRollup.Granularity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class FreezerReadingRollupServiceTest extends BaseWebContextSensitiveTest {
+
+    @Autowired
+    ReadingIngestionService readingIngestionService;
+
+    @Autowired
+    FreezerReadingRollupService freezerReadingRollupService;
+
+    @Autowired
+    FreezerService freezerService;
+
+    @Autowired
+    FreezerReportService freezerReportService;
+
+    @Autowired
+    FreezerMonitoringProperties freezerMonitoringProperties;
+
+    private Freezer freezer;
+    private OffsetDateTime hourStart;
+
+    @Before
+    public void setup() throws Exception {
+        executeDataSetWithStateManagement("testdata/reading_ingestion.xml");
+        freezer = freezerService.findById(101L).orElse(null);
+        assertNotNull("Freezer should exist", freezer);
+        hourStart = LocalDate.now().minusDays(1).atTime(8, 0).atZone(freezerReadingRollupService.getZone())
+                .toOffsetDateTime();
+    }
+
+    @Test
+    public void ingest_shouldAccumulateReadingsIntoHourlyAndDailyRollups() {
+        readingIngestionService.ingest(freezer, hourStart.plusMinutes(1), new BigDecimal("-20.0"), null, true, null);
+        readingIngestionService.ingest(freezer, hourStart.plusMinutes(2), new BigDecimal("-18.0"), null, true, null);
+        readingIngestionService.ingest(freezer, hourStart.plusMinutes(3), null, null, false, "timeout");
+
+        List<FreezerReadingRollup> hourly = freezerReadingRollupService.getRollups(freezer.getId(),
+                Granularity.HOURLY, hourStart, hourStart.plusMinutes(59));
+        assertEquals("Readings in one hour should share a bucket", 1, hourly.size());
+
+        FreezerReadingRollup bucket = hourly.get(0);
+        assertEquals(Integer.valueOf(3), bucket.getReadingCount());
+        assertEquals(Integer.valueOf(2), bucket.getTemperatureCount());
+        assertEquals(0, new BigDecimal("-20.0").compareTo(bucket.getTemperatureMin()));
+        assertEquals(0, new BigDecimal("-18.0").compareTo(bucket.getTemperatureMax()));
+        assertEquals(0, new BigDecimal("-19.00").compareTo(bucket.getTemperatureAvg()));
+        assertEquals(Integer.valueOf(1), bucket.getTransmissionFailureCount());
+        assertEquals(Integer.valueOf(1), bucket.getCriticalCount());
+        assertEquals("Transmission failure after normal readings starts one excursion", Integer.valueOf(1),
+                bucket.getExcursionCount());
+
+        List<FreezerReadingRollup> daily = freezerReadingRollupService.getRollups(freezer.getId(), Granularity.DAILY,
+                hourStart, hourStart.plusMinutes(59));
+        assertEquals(1, daily.size());
+        assertEquals(Integer.valueOf(3), daily.get(0).getReadingCount());
+    }
+
+    @Test
+    public void getDownsampledSeries_shouldUseRawReadingsForShortRanges() {
+        readingIngestionService.ingest(freezer, hourStart.plusMinutes(1), new BigDecimal("-20.0"), null, true, null);
+        readingIngestionService.ingest(freezer, hourStart.plusMinutes(2), new BigDecimal("-21.0"), null, true, null);
+
+        List<FreezerReadingSeriesPoint> series = freezerReadingRollupService.getDownsampledSeries(freezer.getId(),
+                hourStart, hourStart.plusHours(1), 500);
+
+        assertEquals(2, series.size());
+        assertEquals("RAW", series.get(0).getGranularity());
+    }
+
+    @Test
+    public void getDownsampledSeries_shouldUseRollupsWhenRangeExceedsMaxPoints() {
+        readingIngestionService.ingest(freezer, hourStart.plusMinutes(1), new BigDecimal("-20.0"), null, true, null);
+        readingIngestionService.ingest(freezer, hourStart.plusHours(2), new BigDecimal("-22.0"), null, true, null);
+
+        List<FreezerReadingSeriesPoint> hourlySeries = freezerReadingRollupService.getDownsampledSeries(
+                freezer.getId(), hourStart, hourStart.plusHours(3), 10);
+        assertEquals(2, hourlySeries.size());
+        assertEquals("HOURLY", hourlySeries.get(0).getGranularity());
+
+        List<FreezerReadingSeriesPoint> dailySeries = freezerReadingRollupService.getDownsampledSeries(
+                freezer.getId(), hourStart.minusDays(30), hourStart.plusHours(3), 60);
+        assertEquals(1, dailySeries.size());
+        assertEquals("DAILY", dailySeries.get(0).getGranularity());
+        assertEquals(Integer.valueOf(2), dailySeries.get(0).getReadingCount());
+    }
+
+    @Test
+    public void getDownsampledSeries_shouldMergeDaysWhenRangeExceedsMaxPointsDays() {
+        for (int day = 0; day < 20; day++) {
+            readingIngestionService.ingest(freezer, hourStart.minusDays(day), new BigDecimal(-20 - day), null, true,
+                    null);
+        }
+
+        List<FreezerReadingSeriesPoint> series = freezerReadingRollupService.getDownsampledSeries(freezer.getId(),
+                hourStart.minusDays(19), hourStart.plusHours(1), 5);
+
+        assertEquals("20 days in at most 5 points of 4 days", 5, series.size());
+        int readings = 0;
+        for (FreezerReadingSeriesPoint point : series) {
+            assertEquals("DAILY", point.getGranularity());
+            assertEquals(Integer.valueOf(4), point.getBucketDays());
+            readings += point.getReadingCount();
+        }
+        assertEquals(20, readings);
+        assertEquals(0, new BigDecimal("-39").compareTo(series.get(0).getMinTemperature()));
+        assertEquals(0, new BigDecimal("-36").compareTo(series.get(0).getMaxTemperature()));
+        assertEquals(0, new BigDecimal("-37.50").compareTo(series.get(0).getAvgTemperature()));
+    }
+
+    @Test
+    public void generateDailyLogData_shouldReportArchivedPeriodsFromHourlyRollups() {
+        OffsetDateTime archivedHour = hourStart.minusDays(10);
+        readingIngestionService.ingest(freezer, archivedHour.plusMinutes(1), new BigDecimal("-20.0"), null, true,
+                null);
+        readingIngestionService.ingest(freezer, archivedHour.plusMinutes(2), new BigDecimal("-22.0"), null, true,
+                null);
+        readingIngestionService.ingest(freezer, hourStart.plusMinutes(1), new BigDecimal("-19.0"), null, true, null);
+
+        ReflectionTestUtils.setField(freezerMonitoringProperties, "rawRetentionDays", 5);
+        try {
+            assertEquals(2, freezerReadingRollupService.archiveExpiredReadings());
+
+            List<FreezerDailyLogData> dailyLog = freezerReportService.generateDailyLogData(freezer.getId(),
+                    LocalDate.now().minusDays(11), LocalDate.now().minusDays(1));
+
+            assertEquals("One row for the archived hour and one per raw reading", 2, dailyLog.size());
+            assertEquals(Integer.valueOf(2), dailyLog.get(0).getReadingCount());
+            assertEquals(0, new BigDecimal("-21.00").compareTo(dailyLog.get(0).getTemperature()));
+            assertEquals(0, new BigDecimal("-22.0").compareTo(dailyLog.get(0).getMinTemperature()));
+            assertEquals(0, new BigDecimal("-19.0").compareTo(dailyLog.get(1).getTemperature()));
+        } finally {
+            ReflectionTestUtils.setField(freezerMonitoringProperties, "rawRetentionDays", 0);
+            jdbcTemplate.update("DELETE FROM clinlims.freezer_reading_archive");
+        }
+    }
+
+    @Test
+    public void buildSql_shouldBuildTheRollupsTheIngestionAccumulated() {
+        readingIngestionService.ingest(freezer, hourStart.plusMinutes(1), new BigDecimal("-20.0"), null, true, null);
+        readingIngestionService.ingest(freezer, hourStart.plusMinutes(2), new BigDecimal("-12.0"), null, true, null);
+        readingIngestionService.ingest(freezer, hourStart.plusMinutes(70), null, null, false, "timeout");
+        String rollupColumns = "SELECT granularity, bucket_start, reading_count, temperature_count, temperature_sum,"
+                + " temperature_min, temperature_max, humidity_count, normal_count, warning_count, critical_count,"
+                + " transmission_failure_count, excursion_count FROM clinlims.freezer_reading_rollup"
+                + " WHERE freezer_id = ? ORDER BY granularity, bucket_start";
+        List<Map<String, Object>> accumulated = jdbcTemplate.queryForList(rollupColumns, freezer.getId());
+
+        jdbcTemplate.update("DELETE FROM clinlims.freezer_reading_rollup WHERE freezer_id = ?", freezer.getId());
+        new NamedParameterJdbcTemplate(jdbcTemplate).update(FreezerReadingRollupDAOImpl.BUILD_SQL,
+                new MapSqlParameterSource().addValue("zone", freezerReadingRollupService.getZone().getId())
+                        .addValue("firstFreezerId", freezer.getId()).addValue("lastFreezerId", freezer.getId()));
+
+        assertEquals(3, accumulated.size());
+        assertEquals(accumulated, jdbcTemplate.queryForList(rollupColumns, freezer.getId()));
+    }
+}
@@ -0,0 +1,58 @@
+package org.openelisglobal.common.controller;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+public class HealthControllerTest {
+
+    private DataSource dataSource;
+    private MockMvc mockMvc;
+
+    @Before
+    public void setUp() {
+        dataSource = mock(DataSource.class);
+        HealthController healthController = new HealthController();
+        ReflectionTestUtils.setField(healthController, "dataSource", dataSource);
+        mockMvc = MockMvcBuilders.standaloneSetup(healthController).build();
+    }
+
+    @Test
+    public void showHealthState_shouldBeUpWhenDatabaseIsReachable() throws Exception {
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(2)).thenReturn(true);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        mockMvc.perform(get("/health")).andExpect(status().isOk()).andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.database").value("UP"));
+    }
+
+    @Test
+    public void showHealthState_shouldBeUnavailableWhenDatabaseCannotBeReached() throws Exception {
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        mockMvc.perform(get("/health")).andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value("DOWN")).andExpect(jsonPath("$.database").value("DOWN"));
+    }
+
+    @Test
+    public void showHealthState_shouldBeUnavailableWhenConnectionIsNotValid() throws Exception {
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(2)).thenReturn(false);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        mockMvc.perform(get("/health")).andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.database").value("DOWN"));
+    }
+}
@@ -0,0 +1,57 @@
+package org.openelisglobal.common.paging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import org.junit.Test;
+
+public class KeysetCursorTest {
+
+    private static final List<String> KEY = List.of("timestamp", "id");
+
+    @Test
+    public void decode_shouldReturnTheEncodedValues() {
+        Timestamp timestamp = Timestamp.from(Instant.parse("2024-03-01T12:00:00.123456Z"));
+
+        List<Object> values = KeysetCursor.decode(KeysetCursor.encode(KEY, List.of(timestamp, "42")), KEY);
+
+        assertEquals(List.of(timestamp, "42"), values);
+    }
+
+    @Test
+    public void decode_shouldKeepValueTypes() {
+        List<String> key = List.of("count", "total", "name");
+
+        List<Object> values = KeysetCursor.decode(KeysetCursor.encode(key, List.of(7, 8L, "x")), key);
+
+        assertEquals(Integer.class, values.get(0).getClass());
+        assertEquals(Long.class, values.get(1).getClass());
+        assertEquals(String.class, values.get(2).getClass());
+    }
+
+    @Test
+    public void decode_shouldReturnNullForBlankCursor() {
+        assertNull(KeysetCursor.decode(null, KEY));
+        assertNull(KeysetCursor.decode(" ", KEY));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decode_shouldRefuseCursorOfOtherListing() {
+        String cursor = KeysetCursor.encode(List.of("accessionNumber"), List.of("12345"));
+
+        KeysetCursor.decode(cursor, KEY);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decode_shouldRefuseMalformedCursor() {
+        KeysetCursor.decode("not a cursor", KEY);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void encode_shouldRefuseNullKeyValue() {
+        KeysetCursor.encode(List.of("id"), java.util.Collections.singletonList(null));
+    }
+}
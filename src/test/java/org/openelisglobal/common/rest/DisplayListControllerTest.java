@@ -0,0 +1,115 @@
+package org.openelisglobal.common.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openelisglobal.BaseWebContextSensitiveTest;
+import org.openelisglobal.common.services.DisplayListService;
+import org.openelisglobal.common.services.DisplayListService.ListType;
+import org.openelisglobal.program.service.ProgramService;
+import org.openelisglobal.program.valueholder.Program;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MvcResult;
+
+public class DisplayListControllerTest extends BaseWebContextSensitiveTest {
+
+    @Mock
+    private ProgramService programService;
+
+    // the context's DisplayListService is a mock, so the controller is given a
+    // real one backed by a mocked ProgramService
+    @InjectMocks
+    private DisplayListService displayListService;
+
+    private AutoCloseable mocks;
+    private Object contextInstance;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        mocks = MockitoAnnotations.openMocks(this);
+        @SuppressWarnings("unchecked")
+        Map<ListType, AtomicLong> listVersions = (Map<ListType, AtomicLong>) ReflectionTestUtils
+                .getField(displayListService, "listVersions");
+        for (ListType listType : ListType.values()) {
+            listVersions.put(listType, new AtomicLong());
+        }
+        contextInstance = ReflectionTestUtils.getField(DisplayListService.class, "instance");
+        ReflectionTestUtils.setField(DisplayListService.class, "instance", displayListService);
+
+        Program program = new Program();
+        program.setId("1");
+        program.setProgramName("HIV");
+        when(programService.getAll()).thenReturn(List.of(program));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ReflectionTestUtils.setField(DisplayListService.class, "instance", contextInstance);
+        mocks.close();
+    }
+
+    @Test
+    public void getPrograms_shouldSendListWithETag() throws Exception {
+        MvcResult result = mockMvc.perform(get("/rest/programs").accept(MediaType.APPLICATION_JSON_VALUE))
+                .andReturn();
+
+        assertEquals(200, result.getResponse().getStatus());
+        assertNotNull(result.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals("private, no-cache", result.getResponse().getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals("[{\"id\":\"1\",\"value\":\"HIV\"}]", result.getResponse().getContentAsString());
+    }
+
+    @Test
+    public void getPrograms_shouldAnswerMatchingIfNoneMatchWithNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/rest/programs").accept(MediaType.APPLICATION_JSON_VALUE)).andReturn()
+                .getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult result = mockMvc.perform(get("/rest/programs").accept(MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn();
+
+        assertEquals(304, result.getResponse().getStatus());
+        assertEquals(etag, result.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals("", result.getResponse().getContentAsString());
+    }
+
+    @Test
+    public void getPrograms_shouldSendListWhenIfNoneMatchIsStale() throws Exception {
+        MvcResult result = mockMvc.perform(get("/rest/programs").accept(MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"PROGRAM-stale-1\"")).andReturn();
+
+        assertEquals(200, result.getResponse().getStatus());
+        assertEquals("[{\"id\":\"1\",\"value\":\"HIV\"}]", result.getResponse().getContentAsString());
+    }
+
+    @Test
+    public void getDisplayList_shouldServePublishedListUntilRefreshed() throws Exception {
+        mockMvc.perform(get("/rest/displayList/PROGRAM").accept(MediaType.APPLICATION_JSON_VALUE)).andReturn();
+        Program renamed = new Program();
+        renamed.setId("1");
+        renamed.setProgramName("HIV Care");
+        when(programService.getAll()).thenReturn(List.of(renamed));
+
+        MvcResult cached = mockMvc.perform(get("/rest/displayList/PROGRAM").accept(MediaType.APPLICATION_JSON_VALUE))
+                .andReturn();
+        assertEquals("[{\"id\":\"1\",\"value\":\"HIV\"}]", cached.getResponse().getContentAsString());
+
+        displayListService.refreshList(ListType.PROGRAM);
+        MvcResult refreshed = mockMvc
+                .perform(get("/rest/displayList/PROGRAM").accept(MediaType.APPLICATION_JSON_VALUE)).andReturn();
+        assertEquals("[{\"id\":\"1\",\"value\":\"HIV Care\"}]", refreshed.getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,138 @@
+package org.openelisglobal.common.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openelisglobal.common.services.DisplayListService.ListType;
+import org.openelisglobal.program.service.ProgramService;
+import org.openelisglobal.program.valueholder.Program;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DisplayListServiceTest {
+
+    @Mock
+    private ProgramService programService;
+
+    @InjectMocks
+    private DisplayListService displayListService;
+
+    @Before
+    public void setUp() {
+        // what setupGlobalVariables does, without building every list
+        @SuppressWarnings("unchecked")
+        Map<ListType, AtomicLong> listVersions = (Map<ListType, AtomicLong>) ReflectionTestUtils
+                .getField(displayListService, "listVersions");
+        for (ListType listType : ListType.values()) {
+            listVersions.put(listType, new AtomicLong());
+        }
+        LocaleContextHolder.setLocale(Locale.ENGLISH);
+    }
+
+    @After
+    public void tearDown() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    public void getSnapshot_shouldBuildListOnceAndReuseIt() {
+        when(programService.getAll()).thenReturn(programs("HIV"));
+
+        DisplayListSnapshot first = displayListService.getSnapshot(ListType.PROGRAM);
+        DisplayListSnapshot second = displayListService.getSnapshot(ListType.PROGRAM);
+
+        assertSame(first, second);
+        verify(programService, times(1)).getAll();
+    }
+
+    @Test
+    public void refreshList_shouldPublishNewVersionWhenListChanges() {
+        when(programService.getAll()).thenReturn(programs("HIV"));
+        DisplayListSnapshot before = displayListService.getSnapshot(ListType.PROGRAM);
+
+        when(programService.getAll()).thenReturn(programs("HIV", "TB"));
+        displayListService.refreshList(ListType.PROGRAM);
+        DisplayListSnapshot after = displayListService.getSnapshot(ListType.PROGRAM);
+
+        assertNotEquals(before.etag(), after.etag());
+        assertEquals(2, after.items().size());
+        assertEquals("[{\"id\":\"1\",\"value\":\"HIV\"},{\"id\":\"2\",\"value\":\"TB\"}]", new String(after.json()));
+    }
+
+    @Test
+    public void refreshList_shouldKeepVersionWhenListIsUnchanged() {
+        when(programService.getAll()).thenReturn(programs("HIV"));
+        DisplayListSnapshot before = displayListService.getSnapshot(ListType.PROGRAM);
+
+        displayListService.refreshList(ListType.PROGRAM);
+
+        assertEquals(before.etag(), displayListService.getSnapshot(ListType.PROGRAM).etag());
+    }
+
+    @Test
+    public void refreshList_shouldInvalidateListInOtherLocales() {
+        when(programService.getAll()).thenReturn(programs("HIV"));
+        LocaleContextHolder.setLocale(Locale.FRENCH);
+        displayListService.getSnapshot(ListType.PROGRAM);
+
+        LocaleContextHolder.setLocale(Locale.ENGLISH);
+        when(programService.getAll()).thenReturn(programs("HIV", "TB"));
+        displayListService.refreshList(ListType.PROGRAM);
+
+        LocaleContextHolder.setLocale(Locale.FRENCH);
+        assertEquals(2, displayListService.getSnapshot(ListType.PROGRAM).items().size());
+    }
+
+    @Test
+    public void getSnapshot_shouldKeepLocalesSeparate() {
+        when(programService.getAll()).thenAnswer(invocation -> programs(
+                Locale.FRENCH.equals(LocaleContextHolder.getLocale()) ? "Paludisme" : "Malaria"));
+
+        DisplayListSnapshot english = displayListService.getSnapshot(ListType.PROGRAM);
+        LocaleContextHolder.setLocale(Locale.FRENCH);
+        DisplayListSnapshot french = displayListService.getSnapshot(ListType.PROGRAM);
+        LocaleContextHolder.setLocale(Locale.ENGLISH);
+
+        assertEquals("Malaria", english.items().get(0).getValue());
+        assertEquals("Paludisme", french.items().get(0).getValue());
+        assertNotEquals(english.etag(), french.etag());
+        assertSame(english, displayListService.getSnapshot(ListType.PROGRAM));
+    }
+
+    @Test
+    public void getList_shouldReturnCopyOfPublishedList() {
+        when(programService.getAll()).thenReturn(programs("HIV"));
+
+        displayListService.getList(ListType.PROGRAM).clear();
+
+        assertEquals(1, displayListService.getList(ListType.PROGRAM).size());
+    }
+
+    private static List<Program> programs(String... names) {
+        List<Program> programs = new ArrayList<>();
+        for (String name : names) {
+            Program program = new Program();
+            program.setId(Integer.toString(programs.size() + 1));
+            program.setProgramName(name);
+            programs.add(program);
+        }
+        return programs;
+    }
+}
@@ -0,0 +1,99 @@
+package org.openelisglobal.common.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.openelisglobal.BaseWebContextSensitiveTest;
+import org.openelisglobal.common.services.StatusService.OrderStatus;
+import org.openelisglobal.sample.valueholder.Sample;
+import org.openelisglobal.sampleitem.valueholder.SampleItem;
+import org.openelisglobal.sampleqaevent.service.SampleQaEventService;
+import org.openelisglobal.sampleqaevent.valueholder.SampleQaEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+
+public class QAServiceTest extends BaseWebContextSensitiveTest {
+
+    // any status other than the deprecated non-conforming one
+    private static final String CONFORMING_STATUS_ID = "987654";
+
+    @Autowired
+    private SampleQaEventService sampleQaEventService;
+
+    @Autowired
+    private IStatusService statusService;
+
+    @Before
+    public void setUp() throws Exception {
+        executeDataSetWithStateManagement("testdata/sample-qa-event.xml");
+        // QAService looks up its reference table when it is first used
+        jdbcTemplate.update("INSERT INTO clinlims.reference_tables (id, name, keep_history, is_hl7_encoded,"
+                + " lastupdated) SELECT n.id, 'SAMPLE_QAEVENT', 'Y', 'N', now() FROM (SELECT COALESCE(max(id), 0) + 1"
+                + " AS id FROM clinlims.reference_tables) n WHERE NOT EXISTS (SELECT 1 FROM clinlims.reference_tables"
+                + " WHERE lower(trim(name)) = 'sample_qaevent')");
+    }
+
+    @Test
+    public void isOrderNonConforming_shouldMatchLookupOfQaEvents() {
+        // 401 and 402 have qa events, 499 has none
+        for (String sampleId : List.of("401", "402", "499")) {
+            Sample sample = sample(sampleId, CONFORMING_STATUS_ID);
+            List<SampleQaEvent> events = sampleQaEventService.getSampleQaEventsBySample(sample);
+
+            assertEquals(QAService.isOrderNonConforming(sample), QAService.isOrderNonConforming(sample, events));
+        }
+        assertTrue(QAService.isOrderNonConforming(sample("401", CONFORMING_STATUS_ID),
+                sampleQaEventService.getSampleQaEventsBySample(sample("401", CONFORMING_STATUS_ID))));
+    }
+
+    @Test
+    public void isOrderNonConforming_shouldBeFalseWithoutQaEventsOrSample() {
+        assertFalse(QAService.isOrderNonConforming(sample("499", CONFORMING_STATUS_ID), List.of()));
+        assertFalse(QAService.isOrderNonConforming(null, List.of()));
+    }
+
+    @Test
+    public void isOrderNonConforming_shouldBeTrueForNonConformingStatusWithoutQaEvents() {
+        Sample sample = sample("499", statusService.getStatusID(OrderStatus.NonConforming_depricated));
+
+        assertTrue(QAService.isOrderNonConforming(sample, List.of()));
+    }
+
+    @Test
+    public void getNonConformingSampleItems_shouldMatchLookupOfQaEvents() {
+        Sample sample = sample("402", CONFORMING_STATUS_ID);
+
+        List<SampleItem> sampleItems = QAService
+                .getNonConformingSampleItems(sampleQaEventService.getSampleQaEventsBySample(sample));
+
+        assertEquals(sampleItemIds(QAService.getNonConformingSampleItems(sample)), sampleItemIds(sampleItems));
+        assertEquals(List.of("602", "603"), sampleItemIds(sampleItems).stream().sorted().toList());
+    }
+
+    @Test
+    public void getNonConformingSampleItems_shouldSkipQaEventsWithoutSampleItem() {
+        SampleQaEvent event = new SampleQaEvent();
+        event.setSample(sample("401", CONFORMING_STATUS_ID));
+
+        assertTrue(QAService.getNonConformingSampleItems(List.of(event)).isEmpty());
+    }
+
+    private static Sample sample(String id, String statusId) {
+        Sample sample = new Sample();
+        sample.setId(id);
+        sample.setStatusId(statusId);
+        return sample;
+    }
+
+    private static List<String> sampleItemIds(List<SampleItem> sampleItems) {
+        List<String> ids = new ArrayList<>();
+        for (SampleItem sampleItem : sampleItems) {
+            ids.add(sampleItem.getId());
+        }
+        return ids;
+    }
+}
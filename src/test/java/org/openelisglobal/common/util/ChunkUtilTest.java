@@ -0,0 +1,51 @@
+package org.openelisglobal.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+public class ChunkUtilTest {
+
+    @Test
+    public void chunk_shouldSplitIntoRunsOfChunkSizeWithShorterLastRun() {
+        List<List<Integer>> chunks = ChunkUtil.chunk(List.of(1, 2, 3, 4, 5), 2);
+
+        assertEquals(List.of(List.of(1, 2), List.of(3, 4), List.of(5)), chunks);
+    }
+
+    @Test
+    public void chunk_shouldKeepIterationOrderOfSet() {
+        Set<String> values = new LinkedHashSet<>(List.of("c", "a", "b"));
+
+        assertEquals(List.of(List.of("c", "a"), List.of("b")), ChunkUtil.chunk(values, 2));
+    }
+
+    @Test
+    public void chunk_shouldUseDefaultChunkSize() {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < ChunkUtil.DEFAULT_CHUNK_SIZE + 1; i++) {
+            values.add(i);
+        }
+
+        List<List<Integer>> chunks = ChunkUtil.chunk(values);
+
+        assertEquals(2, chunks.size());
+        assertEquals(ChunkUtil.DEFAULT_CHUNK_SIZE, chunks.get(0).size());
+        assertEquals(List.of(ChunkUtil.DEFAULT_CHUNK_SIZE), chunks.get(1));
+    }
+
+    @Test
+    public void chunk_shouldReturnNoChunksForNoValues() {
+        assertTrue(ChunkUtil.chunk(List.of()).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void chunk_shouldRejectNonPositiveChunkSize() {
+        ChunkUtil.chunk(List.of(1), 0);
+    }
+}
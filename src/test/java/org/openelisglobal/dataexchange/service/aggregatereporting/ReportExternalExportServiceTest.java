@@ -4,6 +4,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
@@ -93,6 +94,17 @@ public class ReportExternalExportServiceTest extends BaseWebContextSensitiveTest
         assertEquals("3", reportExternalExports.get(0).getId());
     }
 
+    @Test
+    public void forEachUnsentReportExport_ShouldStreamUnSentReportExternalExports_UsingReportQueueTypeId() {
+        List<ReportExternalExport> reportExternalExports = new ArrayList<>();
+
+        reportExternalExportService.forEachUnsentReportExport("103", reportExternalExports::add);
+
+        assertEquals(1, reportExternalExports.size());
+        assertEquals("3", reportExternalExports.get(0).getId());
+        assertEquals("Awaiting confirmation", reportExternalExports.get(0).getBookkeepingData());
+    }
+
     // TODO: the method being tested uses a field called recalculate, though it was
     // not found in the Entity thus making the test fail.
 //    @Test
@@ -0,0 +1,114 @@
+package org.openelisglobal.dataexchange.service.order;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.openelisglobal.BaseWebContextSensitiveTest;
+import org.openelisglobal.common.log.LogEvent;
+import org.openelisglobal.dataexchange.order.valueholder.ElectronicOrder;
+import org.openelisglobal.dataexchange.order.valueholder.ElectronicOrder.SortOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Compares searching 500,000 electronic orders for a value with the single OR
+ * of LIKE conditions the search used to run and with the trigram indexed
+ * search. Both have to find the same orders, and their timings are logged.
+ * Seeding the orders takes a while, so it only runs when asked for:
+ *
+ * <pre>
+ * mvn test -Dtest=ElectronicOrderSearchBenchmarkTest -Dbenchmark.eorderSearch=true
+ * </pre>
+ */
+public class ElectronicOrderSearchBenchmarkTest extends BaseWebContextSensitiveTest {
+
+    private static final int ORDERS = 500_000;
+    private static final int FIRST_ID = 60_000_000;
+    private static final int ROUNDS = 20;
+    private static final String SEARCH_VALUE = "EXT-4242";
+    // more than the orders matching the search value, so both searches return all
+    // of them
+    private static final int MAX_RESULTS = 1000;
+
+    // the search as it was before it was split into index friendly branches
+    private static final String OR_SEARCH_SQL = "SELECT eo.id FROM clinlims.electronic_order eo"
+            + " JOIN clinlims.patient p ON p.id = eo.patient_id JOIN clinlims.person s ON s.id = p.person_id"
+            + " WHERE lower(eo.data) LIKE lower(?) OR lower(s.first_name) LIKE lower(?)"
+            + " OR lower(s.last_name) LIKE lower(?) OR p.id IN (SELECT i.patient_id FROM clinlims.patient_identity i"
+            + " WHERE i.identity_data LIKE ?) OR p.national_id LIKE ?"
+            + " OR lower(s.first_name || ' ' || s.last_name) LIKE lower(?) ORDER BY eo.status_id";
+
+    @Autowired
+    private ElectronicOrderService electronicOrderService;
+
+    @Before
+    public void seedOrders() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("benchmark.eorderSearch"));
+        executeDataSetWithStateManagement("testdata/electronic-order.xml");
+
+        jdbcTemplate.update("INSERT INTO clinlims.electronic_order (id, external_id, patient_id, status_id,"
+                + " order_timestamp, data, lastupdated) SELECT ?::int + n, 'EXT-' || n, 1001 + n % 3, 1,"
+                + " now(), 'MSH|^~\\&|' || md5(n::text) || '|ORC|NW|EXT-' || n || '|' || md5((n * 7)::text), now()"
+                + " FROM generate_series(1, ?) AS n", FIRST_ID, ORDERS);
+        jdbcTemplate.execute("ANALYZE clinlims.electronic_order");
+    }
+
+    @After
+    public void removeOrders() {
+        if (Boolean.getBoolean("benchmark.eorderSearch")) {
+            jdbcTemplate.update("DELETE FROM clinlims.electronic_order WHERE id > ?", FIRST_ID);
+        }
+    }
+
+    @Test
+    public void searchByValue_shouldMatchOrOfLikesAndTimeBoth() {
+        String pattern = "%" + SEARCH_VALUE + "%";
+        Object[] args = { pattern, pattern, pattern, pattern, pattern, pattern };
+
+        // EXT-4242, EXT-42420 to EXT-42429 and EXT-424200 to EXT-424299
+        Set<String> seededMatches = new HashSet<>();
+        seededMatches.add(String.valueOf(FIRST_ID + 4242));
+        for (int i = 0; i < 10; i++) {
+            seededMatches.add(String.valueOf(FIRST_ID + 42420 + i));
+        }
+        for (int i = 0; i < 100; i++) {
+            seededMatches.add(String.valueOf(FIRST_ID + 424200 + i));
+        }
+
+        Set<String> expected = new HashSet<>(jdbcTemplate.queryForList(OR_SEARCH_SQL, String.class, args));
+        Assert.assertTrue(expected.containsAll(seededMatches));
+        Assert.assertEquals(expected, ids(electronicOrderService.getElectronicOrdersContainingValue(SEARCH_VALUE,
+                SortOrder.STATUS_ID, 0, MAX_RESULTS)));
+
+        long orNanos = 0;
+        long indexedNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = System.nanoTime();
+            jdbcTemplate.queryForList(OR_SEARCH_SQL, args);
+            orNanos += System.nanoTime() - before;
+
+            before = System.nanoTime();
+            List<ElectronicOrder> orders = electronicOrderService.getElectronicOrdersContainingValue(SEARCH_VALUE,
+                    SortOrder.STATUS_ID, 0, MAX_RESULTS);
+            indexedNanos += System.nanoTime() - before;
+
+            Assert.assertEquals(expected, ids(orders));
+        }
+
+        LogEvent.logInfo(this.getClass().getSimpleName(), "searchByValue_shouldMatchOrOfLikesAndTimeBoth",
+                String.format("search of %d orders for %s: OR of LIKEs %.2f ms, trigram indexed %.2f ms", ORDERS,
+                        SEARCH_VALUE, orNanos / 1e6 / ROUNDS, indexedNanos / 1e6 / ROUNDS));
+    }
+
+    private static Set<String> ids(List<ElectronicOrder> orders) {
+        Set<String> ids = new HashSet<>();
+        for (ElectronicOrder order : orders) {
+            ids.add(order.getId());
+        }
+        return ids;
+    }
+}
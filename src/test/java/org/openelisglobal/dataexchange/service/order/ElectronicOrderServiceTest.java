@@ -16,6 +16,8 @@ import org.openelisglobal.common.services.StatusService;
 import org.openelisglobal.dataexchange.order.form.ElectronicOrderViewForm;
 import org.openelisglobal.dataexchange.order.valueholder.ElectronicOrder;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 
 public class ElectronicOrderServiceTest extends BaseWebContextSensitiveTest {
 
@@ -110,6 +112,52 @@ public class ElectronicOrderServiceTest extends BaseWebContextSensitiveTest {
         assertEquals("3", electronicOrders.get(2).getId());
     }
 
+    @Test
+    public void getElectronicOrdersContainingValue_ShouldReturnRequestedPage() {
+        electronicOrders = electronicOrderService.getElectronicOrdersContainingValue("details",
+                ElectronicOrder.SortOrder.EXTERNAL_ID, 1, 1);
+        assertEquals(1, electronicOrders.size());
+        assertEquals("2", electronicOrders.get(0).getId());
+    }
+
+    @Test
+    public void getAllElectronicOrdersContainingValueOrderedBy_ShouldStopAtMaxResultsLeavingTheRestToPaging() {
+        Object target = AopTestUtils.getTargetObject(electronicOrderService);
+        ReflectionTestUtils.setField(target, "maxSearchResults", 2);
+        try {
+            electronicOrders = electronicOrderService.getAllElectronicOrdersContainingValueOrderedBy("details",
+                    ElectronicOrder.SortOrder.EXTERNAL_ID);
+            assertEquals(2, electronicOrders.size());
+
+            electronicOrders = electronicOrderService.getElectronicOrdersContainingValue("details",
+                    ElectronicOrder.SortOrder.EXTERNAL_ID, 2, 2);
+            assertEquals(1, electronicOrders.size());
+            assertEquals("3", electronicOrders.get(0).getId());
+        } finally {
+            ReflectionTestUtils.setField(target, "maxSearchResults", 500);
+        }
+    }
+
+    @Test
+    public void getElectronicOrdersContainingValue_ShouldMatchPatientFullNameAndNationalId() {
+        electronicOrders = electronicOrderService.getElectronicOrdersContainingValue("th kuk",
+                ElectronicOrder.SortOrder.STATUS_ID, 0, 10);
+        assertEquals(1, electronicOrders.size());
+        assertEquals("3", electronicOrders.get(0).getId());
+
+        electronicOrders = electronicOrderService.getElectronicOrdersContainingValue("NAT654",
+                ElectronicOrder.SortOrder.STATUS_ID, 0, 10);
+        assertEquals(1, electronicOrders.size());
+        assertEquals("2", electronicOrders.get(0).getId());
+    }
+
+    @Test
+    public void getElectronicOrdersContainingValue_ShouldNotTreatLikeWildcardsAsWildcards() {
+        electronicOrders = electronicOrderService.getElectronicOrdersContainingValue("det_ils",
+                ElectronicOrder.SortOrder.STATUS_ID, 0, 10);
+        assertEquals(0, electronicOrders.size());
+    }
+
     @Test
     public void getAllElectronicOrdersContainingValuesOrderedBy_ShouldReturnElectronicOrders_WhenSortOrderIsSTATUS_ID() {
         electronicOrders = electronicOrderService.getAllElectronicOrdersContainingValuesOrderedBy("Order", "Kukki",
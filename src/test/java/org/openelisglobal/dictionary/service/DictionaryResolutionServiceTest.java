@@ -0,0 +1,75 @@
+package org.openelisglobal.dictionary.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.openelisglobal.BaseWebContextSensitiveTest;
+import org.openelisglobal.dictionary.valueholder.Dictionary;
+import org.openelisglobal.dictionary.valueholder.ResolvedDictionary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.Rollback;
+
+@Rollback
+public class DictionaryResolutionServiceTest extends BaseWebContextSensitiveTest {
+
+    @Autowired
+    DictionaryResolutionService dictionaryResolutionService;
+
+    @Autowired
+    DictionaryService dictionaryService;
+
+    @Before
+    public void setup() throws Exception {
+        executeDataSetWithStateManagement("testdata/dictionary.xml");
+        dictionaryResolutionService.invalidateAll();
+    }
+
+    @Test
+    public void resolve_shouldReturnDictionaryValues() {
+        ResolvedDictionary dictionary = dictionaryResolutionService.resolve("2");
+
+        assertEquals("2", dictionary.id());
+        assertEquals("Dictionary Entry 2", dictionary.dictEntry());
+        assertEquals("DE2", dictionary.getAbbreviationOrEntry());
+    }
+
+    @Test
+    public void resolve_shouldReturnCachedDictionaryOnSecondCall() {
+        assertSame(dictionaryResolutionService.resolve("1"), dictionaryResolutionService.resolve("1"));
+    }
+
+    @Test
+    public void resolve_shouldReturnNullForUnknownOrNonNumericId() {
+        assertNull(dictionaryResolutionService.resolve("9999"));
+        assertNull(dictionaryResolutionService.resolve("abc"));
+        assertNull(dictionaryResolutionService.resolve(null));
+    }
+
+    @Test
+    public void resolveAll_shouldLeaveOutIdsWithoutDictionary() {
+        Map<String, ResolvedDictionary> dictionaries = dictionaryResolutionService
+                .resolveAll(List.of("1", "2", "9999", ""));
+
+        assertEquals(2, dictionaries.size());
+        assertEquals("Dictionary Entry 1", dictionaries.get("1").dictEntry());
+        assertFalse(dictionaries.containsKey("9999"));
+    }
+
+    @Test
+    public void update_shouldInvalidateCachedDictionary() {
+        assertEquals("Dictionary Entry 2", dictionaryResolutionService.resolve("2").dictEntry());
+
+        Dictionary dictionary = dictionaryService.get("2");
+        dictionary.setDictEntry("Dictionary Entry 2 Updated");
+        dictionary.setSysUserId("1");
+        dictionaryService.update(dictionary);
+
+        assertEquals("Dictionary Entry 2 Updated", dictionaryResolutionService.resolve("2").dictEntry());
+    }
+}
@@ -0,0 +1,151 @@
+package org.openelisglobal.history;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.openelisglobal.BaseWebContextSensitiveTest;
+import org.openelisglobal.audittrail.valueholder.History;
+import org.openelisglobal.common.log.LogEvent;
+import org.openelisglobal.common.paging.KeysetPage;
+import org.openelisglobal.common.util.ConfigurationProperties;
+import org.openelisglobal.history.service.HistoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Checks that keyset paging through a table's audit trail returns the same rows
+ * in the same order as offset paging, across pages whose rows share
+ * timestamps.
+ *
+ * <p>It can also time page 1000 with both kinds of paging. That seeds about
+ * 20,000 history rows, so it only runs when asked for, and reports the timings
+ * in the log:
+ *
+ * <pre>
+ * mvn test -Dtest=HistoryPagingBenchmarkTest -Dbenchmark.paging=true
+ * </pre>
+ */
+public class HistoryPagingBenchmarkTest extends BaseWebContextSensitiveTest {
+
+    private static final String TABLE_ID = "424242";
+    private static final int CHECKED_PAGES = 5;
+    private static final int TARGET_PAGE = 1000;
+    private static final int ROUNDS = 20;
+    private static final int FIRST_ID = 50_000_000;
+    private static final Map<String, Object> TABLE = Map.of("referenceTable", TABLE_ID);
+    private static final List<String> ORDER = List.of("timestamp", "id");
+
+    @Autowired
+    private HistoryService historyService;
+
+    private int pageSize;
+
+    @Before
+    public void setUp() {
+        pageSize = Integer.parseInt(ConfigurationProperties.getInstance().getPropertyValue("page.defaultPageSize"));
+    }
+
+    @After
+    public void removeHistory() {
+        jdbcTemplate.update("DELETE FROM clinlims.history WHERE reference_table = ?", Integer.parseInt(TABLE_ID));
+    }
+
+    @Test
+    public void keysetPages_shouldMatchOffsetPagesWithoutDuplicates() {
+        // a last page that is not full
+        int rows = CHECKED_PAGES * pageSize + pageSize / 2;
+        seedHistory(rows);
+
+        List<String> keysetIds = walkKeysetPages();
+
+        int startingRecNo = 1;
+        for (int page = 0; page < CHECKED_PAGES + 1; page++) {
+            List<String> offsetIds = ids(historyService.getMatchingOrderedPage(TABLE, ORDER, true, startingRecNo));
+            Assert.assertEquals(offsetIds,
+                    keysetIds.subList(startingRecNo - 1, Math.min(startingRecNo - 1 + pageSize, rows)));
+            startingRecNo += pageSize;
+        }
+
+        // newest first, with the higher id first between rows of the same instant
+        List<String> expected = new ArrayList<>();
+        for (int i = rows - 1; i >= 0; i--) {
+            expected.add(String.valueOf(FIRST_ID + i));
+        }
+        Assert.assertEquals(expected, keysetIds);
+        Assert.assertEquals(rows, new HashSet<>(keysetIds).size());
+        Assert.assertEquals(keysetIds, walkKeysetPages());
+    }
+
+    @Test
+    public void pageOneThousand_shouldTimeOffsetAndKeysetPaging() {
+        Assume.assumeTrue(Boolean.getBoolean("benchmark.paging"));
+        seedHistory((TARGET_PAGE + 1) * pageSize);
+
+        // walk to the cursor of the page before the target page, as a client would
+        String cursor = null;
+        for (int page = 1; page < TARGET_PAGE; page++) {
+            cursor = historyService.getHistoryPageByRefTableId(TABLE_ID, cursor, pageSize).nextCursor();
+        }
+        int startingRecNo = (TARGET_PAGE - 1) * pageSize + 1;
+
+        // warm up both paths before timing them
+        historyService.getMatchingOrderedPage(TABLE, ORDER, true, startingRecNo);
+        historyService.getHistoryPageByRefTableId(TABLE_ID, cursor, pageSize);
+
+        long offsetNanos = 0;
+        long keysetNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = System.nanoTime();
+            List<History> offsetPage = historyService.getMatchingOrderedPage(TABLE, ORDER, true, startingRecNo);
+            offsetNanos += System.nanoTime() - before;
+
+            before = System.nanoTime();
+            KeysetPage<History> keysetPage = historyService.getHistoryPageByRefTableId(TABLE_ID, cursor, pageSize);
+            keysetNanos += System.nanoTime() - before;
+
+            Assert.assertEquals(ids(offsetPage), ids(keysetPage.items()));
+        }
+
+        LogEvent.logInfo(this.getClass().getSimpleName(), "pageOneThousand_shouldTimeOffsetAndKeysetPaging",
+                String.format("page %d of %d rows: offset %.2f ms, keyset %.2f ms", TARGET_PAGE,
+                        (TARGET_PAGE + 1) * pageSize, offsetNanos / 1e6 / ROUNDS, keysetNanos / 1e6 / ROUNDS));
+    }
+
+    private List<String> walkKeysetPages() {
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPage<History> page = historyService.getHistoryPageByRefTableId(TABLE_ID, cursor, pageSize);
+            ids.addAll(ids(page.items()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private void seedHistory(int rows) {
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            // pairs of rows share a timestamp so that the id tie breaker is exercised
+            batch.add(new Object[] { FIRST_ID + i, Integer.parseInt(TABLE_ID),
+                    Timestamp.from(start.plusSeconds(i / 2)) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO clinlims.history (id, sys_user_id, reference_id, reference_table,"
+                + " timestamp, activity) VALUES (?, 1, 1, ?, ?, 'U')", batch);
+    }
+
+    private static List<String> ids(List<History> histories) {
+        List<String> ids = new ArrayList<>();
+        for (History history : histories) {
+            ids.add(history.getId());
+        }
+        return ids;
+    }
+}
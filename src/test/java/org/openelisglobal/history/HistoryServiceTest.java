@@ -10,6 +10,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.openelisglobal.BaseWebContextSensitiveTest;
 import org.openelisglobal.audittrail.valueholder.History;
+import org.openelisglobal.common.paging.KeysetCursor;
+import org.openelisglobal.common.paging.KeysetPage;
 import org.openelisglobal.history.service.HistoryService;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -198,4 +200,34 @@ public class HistoryServiceTest extends BaseWebContextSensitiveTest {
 
         historyService.getHistoryByRefIdAndRefTableId(searchHistory);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getHistoryPageByRefTableId_shouldPageNewestFirst() {
+        KeysetPage<History> firstPage = historyService.getHistoryPageByRefTableId("1", null, 1);
+
+        Assert.assertEquals(1, firstPage.items().size());
+        Assert.assertEquals("67890", firstPage.items().get(0).getId());
+        Assert.assertTrue(firstPage.hasMore());
+
+        KeysetPage<History> secondPage = historyService.getHistoryPageByRefTableId("1", firstPage.nextCursor(), 1);
+
+        Assert.assertEquals(1, secondPage.items().size());
+        Assert.assertEquals("12345", secondPage.items().get(0).getId());
+        Assert.assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    public void getHistoryPageByRefTableId_pageLargerThanTable_shouldHaveNoNextCursor() {
+        KeysetPage<History> page = historyService.getHistoryPageByRefTableId("1", null, 10);
+
+        Assert.assertEquals(2, page.items().size());
+        Assert.assertFalse(page.hasMore());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getHistoryPageByRefTableId_cursorOfOtherListing_shouldThrowException() {
+        String cursor = KeysetCursor.encode(List.of("id"), List.of("12345"));
+
+        historyService.getHistoryPageByRefTableId("1", cursor, 1);
+    }
+}
@@ -0,0 +1,66 @@
+package org.openelisglobal.interceptor;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openelisglobal.metricservice.service.MetricsRegistry;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+public class RequestMetricsInterceptorTest {
+
+    private MetricsRegistry metricsRegistry;
+    private RequestMetricsInterceptor interceptor;
+
+    @Before
+    public void setUp() {
+        metricsRegistry = new MetricsRegistry();
+        interceptor = new RequestMetricsInterceptor(metricsRegistry);
+    }
+
+    @Test
+    public void afterCompletion_shouldLabelByMatchedPatternRatherThanUri() {
+        handle("/rest/patient/123", "/rest/patient/{id}", 200, null);
+        handle("/rest/patient/456", "/rest/patient/{id}", 200, null);
+
+        String scrape = metricsRegistry.scrape();
+
+        assertTrue(scrape.contains(
+                "http_server_requests_seconds_count{method=\"GET\",uri=\"/rest/patient/{id}\",status=\"200\"} 2\n"));
+        assertFalse(scrape.contains("/rest/patient/123"));
+        assertFalse(scrape.contains("/rest/patient/456"));
+    }
+
+    @Test
+    public void afterCompletion_shouldLabelUnmatchedRequestsAsUnknown() {
+        handle("/rest/nothing/here", null, 404, null);
+
+        String scrape = metricsRegistry.scrape();
+
+        assertTrue(scrape
+                .contains("http_server_requests_seconds_count{method=\"GET\",uri=\"UNKNOWN\",status=\"404\"} 1\n"));
+        assertFalse(scrape.contains("/rest/nothing/here"));
+    }
+
+    @Test
+    public void afterCompletion_shouldCountFailedRequestAsServerError() {
+        handle("/rest/patient/123", "/rest/patient/{id}", 200, new IllegalStateException("failed"));
+
+        assertTrue(metricsRegistry.scrape().contains(
+                "http_server_requests_seconds_count{method=\"GET\",uri=\"/rest/patient/{id}\",status=\"500\"} 1\n"));
+    }
+
+    private void handle(String uri, String pattern, int status, Exception ex) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+        if (pattern != null) {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        }
+        response.setStatus(status);
+        interceptor.afterCompletion(request, response, null, ex);
+    }
+}
@@ -0,0 +1,97 @@
+package org.openelisglobal.metricservice;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.openelisglobal.metricservice.service.MetricsRegistry;
+import org.openelisglobal.metricservice.service.MetricsRegistry.Histogram;
+
+public class MetricsRegistryTest {
+
+    private MetricsRegistry metricsRegistry;
+
+    @Before
+    public void setUp() {
+        metricsRegistry = new MetricsRegistry();
+    }
+
+    @Test
+    public void counter_shouldBeTheSameForTheSameLabels() {
+        metricsRegistry.counter("analyzer_messages_total", "Messages", "source", "astm").increment();
+        metricsRegistry.counter("analyzer_messages_total", "Messages", "source", "astm").increment(2);
+        metricsRegistry.counter("analyzer_messages_total", "Messages", "source", "hl7").increment();
+
+        String scrape = metricsRegistry.scrape();
+
+        assertTrue(scrape.contains("# HELP analyzer_messages_total Messages\n"));
+        assertTrue(scrape.contains("# TYPE analyzer_messages_total counter\n"));
+        assertTrue(scrape.contains("analyzer_messages_total{source=\"astm\"} 3\n"));
+        assertTrue(scrape.contains("analyzer_messages_total{source=\"hl7\"} 1\n"));
+    }
+
+    @Test
+    public void histogram_shouldWriteCumulativeBuckets() {
+        Histogram histogram = metricsRegistry.histogram("http_server_requests_seconds", "Requests",
+                new double[] { 0.1, 1 }, "uri", "/rest/metrics");
+        assertSame(histogram, metricsRegistry.histogram("http_server_requests_seconds", "Requests",
+                new double[] { 0.1, 1 }, "uri", "/rest/metrics"));
+        histogram.observe(0.05);
+        histogram.observe(0.5);
+        histogram.observe(5);
+
+        String scrape = metricsRegistry.scrape();
+
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{uri=\"/rest/metrics\",le=\"0.1\"} 1\n"));
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{uri=\"/rest/metrics\",le=\"1\"} 2\n"));
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{uri=\"/rest/metrics\",le=\"+Inf\"} 3\n"));
+        assertTrue(scrape.contains("http_server_requests_seconds_sum{uri=\"/rest/metrics\"} 5.55\n"));
+        assertTrue(scrape.contains("http_server_requests_seconds_count{uri=\"/rest/metrics\"} 3\n"));
+    }
+
+    @Test
+    public void gauge_shouldLeaveOutValuesThatCannotBeRead() {
+        metricsRegistry.gauge("jdbc_connections_active", "Connections", () -> 4);
+        metricsRegistry.gauge("notification_outbox_pending", "Pending", () -> {
+            throw new IllegalStateException("database is down");
+        });
+
+        String scrape = metricsRegistry.scrape();
+
+        assertTrue(scrape.contains("jdbc_connections_active 4\n"));
+        assertFalse(scrape.contains("notification_outbox_pending "));
+    }
+
+    @Test
+    public void scrape_shouldEscapeLabelValues() {
+        metricsRegistry.counter("scheduled_task_failures_total", "Failures", "task", "say \"hi\"\\").increment();
+
+        assertTrue(metricsRegistry.scrape().contains("scheduled_task_failures_total{task=\"say \\\"hi\\\"\\\\\"} 1\n"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void gauge_shouldNotReuseTheNameOfACounter() {
+        metricsRegistry.counter("jvm_threads_live", "Threads");
+        metricsRegistry.gauge("jvm_threads_live", "Threads", () -> 1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void toJson_shouldListSamplesWithLabels() {
+        metricsRegistry.counter("analyzer_messages_total", "Messages", "source", "file", "outcome", "success")
+                .increment();
+
+        List<Map<String, Object>> metrics = metricsRegistry.toJson();
+
+        assertEquals(1, metrics.size());
+        assertEquals("counter", metrics.get(0).get("type"));
+        Map<String, Object> sample = ((List<Map<String, Object>>) metrics.get(0).get("samples")).get(0);
+        assertEquals(1L, sample.get("value"));
+        assertEquals(Map.of("source", "file", "outcome", "success"), sample.get("labels"));
+    }
+}
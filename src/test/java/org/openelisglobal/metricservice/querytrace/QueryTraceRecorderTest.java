@@ -0,0 +1,94 @@
+package org.openelisglobal.metricservice.querytrace;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class QueryTraceRecorderTest {
+
+    private QueryTraceRecorder queryTraceRecorder;
+    private final QueryTraceStatementInspector statementInspector = new QueryTraceStatementInspector();
+    private QueryTrace trace;
+
+    @Before
+    public void setUp() {
+        queryTraceRecorder = new QueryTraceRecorder();
+        ReflectionTestUtils.setField(queryTraceRecorder, "enabled", true);
+        ReflectionTestUtils.setField(queryTraceRecorder, "slowMillis", 60_000L);
+        ReflectionTestUtils.setField(queryTraceRecorder, "maxStatements", 10);
+        ReflectionTestUtils.setField(queryTraceRecorder, "maxDatabaseMillis", 60_000L);
+        ReflectionTestUtils.setField(queryTraceRecorder, "loggedStatements", 2);
+    }
+
+    @After
+    public void tearDown() {
+        QueryTraceContext.end(trace);
+    }
+
+    @Test
+    public void shapeOf_shouldIgnoreLiteralsAndInListLengths() {
+        assertEquals("select * from clinlims.sample s where s.id in (?...) and s.accession_number = ?",
+                QueryTrace.shapeOf("select * from clinlims.sample s\n  where s.id in (?, ?, ?) and"
+                        + " s.accession_number = 'DEV01''25'"));
+        assertEquals(QueryTrace.shapeOf("select a.id from analysis a0_ where a0_.sampitem_id=42"),
+                QueryTrace.shapeOf("select a.id from analysis a0_ where a0_.sampitem_id=7"));
+    }
+
+    @Test
+    public void begin_shouldNotNestTraces() {
+        trace = queryTraceRecorder.begin();
+
+        assertNull(queryTraceRecorder.begin());
+        assertSame(trace, QueryTraceContext.current());
+    }
+
+    @Test
+    public void end_shouldAddUpTracesPerEndpoint() {
+        for (int request = 0; request < 2; request++) {
+            trace = queryTraceRecorder.begin();
+            for (int i = 0; i < 3 + request * 10; i++) {
+                statementInspector.inspect("select * from clinlims.result r where r.analysis_id=" + i);
+                trace.statementExecuted(1_000_000);
+                trace.entityLoaded();
+            }
+            queryTraceRecorder.end(trace, "GET /rest/results");
+        }
+
+        List<QueryTraceRecorder.Stats> stats = queryTraceRecorder.getStats();
+        assertEquals(1, stats.size());
+        assertEquals("GET /rest/results", stats.get(0).getName());
+        assertEquals(2, stats.get(0).getCount());
+        assertEquals(16, stats.get(0).getStatements());
+        assertEquals(13, stats.get(0).getMaxStatements());
+        assertEquals(16, stats.get(0).getEntityLoads());
+        assertEquals(1, stats.get(0).getOverThreshold());
+        assertNull("trace should be ended", QueryTraceContext.current());
+    }
+
+    @Test
+    public void describe_shouldListTheMostRepeatedStatements() {
+        trace = queryTraceRecorder.begin();
+        for (int i = 0; i < 5; i++) {
+            statementInspector.inspect("select * from clinlims.result r where r.analysis_id=" + i);
+        }
+        statementInspector.inspect("select * from clinlims.analysis a where a.id in (1, 2)");
+        statementInspector.inspect("select * from clinlims.analysis a where a.id in (3, 4)");
+        statementInspector.inspect("select * from clinlims.sample s");
+
+        List<Map.Entry<String, Integer>> repeated = trace.getRepeatedShapes(5);
+        String description = queryTraceRecorder.describe(trace, "GET /rest/results");
+
+        assertEquals(2, repeated.size());
+        assertEquals(Integer.valueOf(5), repeated.get(0).getValue());
+        assertTrue(description, description.contains("5x select * from clinlims.result r where r.analysis_id=?"));
+        assertTrue(description, description.contains("2x select * from clinlims.analysis a where a.id in (?...)"));
+    }
+}
@@ -5,10 +5,14 @@ import static org.junit.Assert.*;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
 import org.hibernate.ObjectNotFoundException;
 import org.junit.Before;
 import org.junit.Test;
 import org.openelisglobal.BaseWebContextSensitiveTest;
+import org.openelisglobal.analysis.service.AnalysisServiceImpl;
+import org.openelisglobal.analysis.valueholder.Analysis;
 import org.openelisglobal.common.util.DateUtil;
 import org.openelisglobal.common.util.StringUtil;
 import org.openelisglobal.note.service.NoteObject;
@@ -16,7 +20,10 @@ import org.openelisglobal.note.service.NoteService;
 import org.openelisglobal.note.service.NoteServiceImpl;
 import org.openelisglobal.note.valueholder.Note;
 import org.openelisglobal.referencetables.service.ReferenceTablesService;
+import org.openelisglobal.sample.valueholder.Sample;
+import org.openelisglobal.sampleitem.valueholder.SampleItem;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 public class NoteServiceTest extends BaseWebContextSensitiveTest {
 
@@ -26,12 +33,18 @@ public class NoteServiceTest extends BaseWebContextSensitiveTest {
     @Autowired
     private ReferenceTablesService referenceTablesService;
 
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
     private static final String REF_ID = "1001";
     private static final String REF_TABLE_ID = "1";
 
     @Before
     public void setup() throws Exception {
         executeDataSetWithStateManagement("testdata/notes.xml");
+        jdbcTemplate = new JdbcTemplate(dataSource);
     }
 
     @Test
@@ -294,6 +307,51 @@ public class NoteServiceTest extends BaseWebContextSensitiveTest {
         assertEquals("I", notes.get(0).getNoteType());
     }
 
+    @Test
+    public void getNotesAsStringForAnalyses_shouldMatchNotesOfEachAnalysis() throws Exception {
+        String analysisTableId = AnalysisServiceImpl.getTableReferenceId();
+        jdbcTemplate.update("INSERT INTO clinlims.reference_tables (id, name, keep_history, is_hl7_encoded,"
+                + " lastupdated) VALUES (?, 'ANALYSIS', 'Y', 'N', now()) ON CONFLICT (id) DO NOTHING",
+                Integer.parseInt(analysisTableId));
+        // more analyses than a page of result entry loads at once
+        List<Analysis> analyses = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            analyses.add(createAnalysis(String.valueOf(5000 + i)));
+        }
+        insertNote(9001, "5000", analysisTableId, Note.INTERNAL, "2024-02-22 09:00:00");
+        insertNote(9002, "5000", analysisTableId, Note.EXTERNAL, "2024-02-22 08:00:00");
+        insertNote(9003, "5599", analysisTableId, Note.EXTERNAL, "2024-02-22 10:00:00");
+        insertNote(9004, "5300", REF_TABLE_ID, Note.INTERNAL, "2024-02-22 10:00:00");
+        NoteServiceImpl.NoteType[] filter = { NoteServiceImpl.NoteType.EXTERNAL, NoteServiceImpl.NoteType.INTERNAL };
+
+        Map<String, String> notesByAnalysisId = noteService.getNotesAsStringForAnalyses(analyses, true, true, "<br/>",
+                filter, false);
+
+        assertEquals(2, notesByAnalysisId.size());
+        for (Analysis analysis : analyses) {
+            assertEquals(noteService.getNotesAsString(analysis, true, true, "<br/>", filter, false),
+                    notesByAnalysisId.get(analysis.getId()));
+        }
+    }
+
+    private void insertNote(int id, String refId, String tableId, String type, String lastupdated) {
+        jdbcTemplate.update("INSERT INTO clinlims.note (id, sys_user_id, reference_id, reference_table, note_type,"
+                + " subject, text, lastupdated) VALUES (?, 1, ?, ?, ?, 'Subject', ?, CAST(? AS timestamp))", id,
+                Integer.parseInt(refId), Integer.parseInt(tableId), type, "Note " + id, lastupdated);
+    }
+
+    private Analysis createAnalysis(String id) {
+        Sample sample = new Sample();
+        sample.setId(id);
+        SampleItem sampleItem = new SampleItem();
+        sampleItem.setId(id);
+        sampleItem.setSample(sample);
+        Analysis analysis = new Analysis();
+        analysis.setId(id);
+        analysis.setSampleItem(sampleItem);
+        return analysis;
+    }
+
     private NoteObject createTestNoteObject(String refId, String tableId) {
         return new NoteObject() {
             @Override
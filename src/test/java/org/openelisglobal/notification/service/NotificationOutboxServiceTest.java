@@ -0,0 +1,145 @@
+package org.openelisglobal.notification.service;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.openelisglobal.BaseWebContextSensitiveTest;
+import org.openelisglobal.notification.dao.NotificationOutboxDAO;
+import org.openelisglobal.notification.valueholder.EmailNotification;
+import org.openelisglobal.notification.valueholder.NotificationOutboxEntry;
+import org.openelisglobal.notification.valueholder.NotificationOutboxEntry.Channel;
+import org.openelisglobal.notification.valueholder.NotificationOutboxEntry.Status;
+import org.openelisglobal.notification.valueholder.NotificationPayload;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class NotificationOutboxServiceTest extends BaseWebContextSensitiveTest {
+
+    @Autowired
+    private NotificationOutboxService notificationOutboxService;
+
+    @Autowired
+    private NotificationOutboxDAO notificationOutboxDAO;
+
+    @Autowired
+    private JavaMailSender javaMailSender;
+
+    @Before
+    public void setup() throws Exception {
+        cleanRowsInCurrentConnection(new String[] { "notification_outbox" });
+    }
+
+    @After
+    public void tearDown() {
+        reset(javaMailSender);
+    }
+
+    @Test
+    public void dispatchBatch_shouldSendQueuedEmailAndMarkItSent() {
+        long sentBefore = notificationOutboxService.getSent(Channel.EMAIL);
+        notificationOutboxService.enqueue(email("patient@example.org", List.of("lab@example.org", "qa@example.org")));
+        assertEquals(Long.valueOf(1), notificationOutboxService.getQueueDepths().get(Channel.EMAIL));
+
+        assertEquals(1, notificationOutboxService.dispatchBatch(Channel.EMAIL));
+
+        ArgumentCaptor<SimpleMailMessage> message = ArgumentCaptor.forClass(SimpleMailMessage.class);
+        verify(javaMailSender).send(message.capture());
+        assertArrayEquals(new String[] { "patient@example.org" }, message.getValue().getTo());
+        assertArrayEquals(new String[] { "lab@example.org", "qa@example.org" }, message.getValue().getBcc());
+        assertEquals("HIV Viral Load Testing Results", message.getValue().getSubject());
+        assertEquals("J D: Not detected", message.getValue().getText());
+
+        NotificationOutboxEntry entry = notificationOutboxDAO.getAll().get(0);
+        assertEquals(Status.SENT, entry.getStatus());
+        assertEquals(Integer.valueOf(1), entry.getAttempts());
+        assertNotNull(entry.getSentAt());
+        assertNull(notificationOutboxService.getQueueDepths().get(Channel.EMAIL));
+        assertEquals(sentBefore + 1, notificationOutboxService.getSent(Channel.EMAIL));
+    }
+
+    @Test
+    public void dispatchBatch_shouldSendOutsideTransactionWithoutOtherDispatchersClaimingTheEntry() {
+        AtomicBoolean sentInTransaction = new AtomicBoolean();
+        AtomicInteger claimedMeanwhile = new AtomicInteger(-1);
+        doAnswer(invocation -> {
+            sentInTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+            claimedMeanwhile.set(notificationOutboxService.dispatchBatch(Channel.EMAIL));
+            return null;
+        }).when(javaMailSender).send(any(SimpleMailMessage.class));
+        notificationOutboxService.enqueue(email("patient@example.org", null));
+
+        assertEquals(1, notificationOutboxService.dispatchBatch(Channel.EMAIL));
+
+        assertFalse(sentInTransaction.get());
+        assertEquals(0, claimedMeanwhile.get());
+        verify(javaMailSender, times(1)).send(any(SimpleMailMessage.class));
+        assertEquals(Status.SENT, notificationOutboxDAO.getAll().get(0).getStatus());
+    }
+
+    @Test
+    public void dispatchBatch_shouldRetryFailedSendLaterAndGiveUpAfterMaxAttempts() {
+        doThrow(new MailSendException("smtp server unreachable")).when(javaMailSender)
+                .send(any(SimpleMailMessage.class));
+        notificationOutboxService.enqueue(email("patient@example.org", null));
+
+        assertEquals(1, notificationOutboxService.dispatchBatch(Channel.EMAIL));
+        NotificationOutboxEntry entry = notificationOutboxDAO.getAll().get(0);
+        assertEquals(Status.PENDING, entry.getStatus());
+        assertEquals(Integer.valueOf(1), entry.getAttempts());
+        assertTrue(entry.getNextAttemptAt().isAfter(OffsetDateTime.now()));
+        assertTrue(entry.getLastError().contains("smtp server unreachable"));
+        assertEquals("Entry should not be sent again before its retry delay", 0,
+                notificationOutboxService.dispatchBatch(Channel.EMAIL));
+
+        for (int i = 0; i < 100 && entry.getStatus() == Status.PENDING; i++) {
+            entry.setNextAttemptAt(OffsetDateTime.now().minusSeconds(1));
+            notificationOutboxDAO.update(entry);
+            notificationOutboxService.dispatchBatch(Channel.EMAIL);
+            entry = notificationOutboxDAO.getAll().get(0);
+        }
+
+        assertEquals(Status.DEAD, entry.getStatus());
+        assertTrue(entry.getAttempts() > 1);
+        assertEquals(1, notificationOutboxService.getDeadCount());
+        assertEquals(0, notificationOutboxService.dispatchBatch(Channel.EMAIL));
+    }
+
+    private static EmailNotification email(String recipient, List<String> bccs) {
+        EmailNotification notification = new EmailNotification();
+        notification.setRecipientEmailAddress(recipient);
+        notification.setBccs(bccs);
+        notification.setPayload(new NotificationPayload() {
+            @Override
+            public String getMessage() {
+                return "J D: Not detected";
+            }
+
+            @Override
+            public String getSubject() {
+                return "HIV Viral Load Testing Results";
+            }
+        });
+        return notification;
+    }
+}
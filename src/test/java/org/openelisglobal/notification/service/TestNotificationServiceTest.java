@@ -0,0 +1,191 @@
+package org.openelisglobal.notification.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openelisglobal.BaseWebContextSensitiveTest;
+import org.openelisglobal.common.util.ConfigurationProperties;
+import org.openelisglobal.common.util.ConfigurationProperties.Property;
+import org.openelisglobal.notification.valueholder.AnalysisNotificationConfig;
+import org.openelisglobal.notification.valueholder.EmailNotification;
+import org.openelisglobal.notification.valueholder.NotificationConfigOption;
+import org.openelisglobal.notification.valueholder.NotificationConfigOption.NotificationMethod;
+import org.openelisglobal.notification.valueholder.NotificationConfigOption.NotificationNature;
+import org.openelisglobal.notification.valueholder.NotificationConfigOption.NotificationPersonType;
+import org.openelisglobal.notification.valueholder.NotificationPayloadTemplate;
+import org.openelisglobal.notification.valueholder.NotificationPayloadTemplate.NotificationPayloadType;
+import org.openelisglobal.patient.valueholder.Patient;
+import org.openelisglobal.person.valueholder.Person;
+import org.openelisglobal.result.service.ResultService;
+import org.openelisglobal.result.valueholder.Result;
+import org.openelisglobal.samplehuman.service.SampleHumanService;
+import org.openelisglobal.testresultsview.service.ClientResultsViewInfoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class TestNotificationServiceTest extends BaseWebContextSensitiveTest {
+
+    private static final Property[] NOTIFICATION_PROPERTIES = { Property.PATIENT_RESULTS_SMTP_ENABLED,
+            Property.PATIENT_RESULTS_BMP_SMS_ENABLED, Property.PATIENT_RESULTS_SMPP_SMS_ENABLED };
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ResultService resultService;
+
+    @Autowired
+    private ClientResultsViewInfoService clientResultsViewInfoService;
+
+    @Autowired
+    private NotificationOutboxService notificationOutboxService;
+
+    private NotificationPayloadTemplateService notificationPayloadTemplateService;
+    private TestNotificationServiceImpl testNotificationService;
+    private String[] originalPropertyValues;
+
+    @Before
+    public void setUp() throws Exception {
+        executeDataSetWithStateManagement("testdata/result.xml");
+        cleanRowsInCurrentConnection(new String[] { "notification_outbox" });
+
+        originalPropertyValues = new String[NOTIFICATION_PROPERTIES.length];
+        for (int i = 0; i < NOTIFICATION_PROPERTIES.length; i++) {
+            originalPropertyValues[i] = ConfigurationProperties.getInstance()
+                    .getPropertyValue(NOTIFICATION_PROPERTIES[i]);
+            ConfigurationProperties.getInstance().setPropertyValue(NOTIFICATION_PROPERTIES[i],
+                    Boolean.toString(NOTIFICATION_PROPERTIES[i] == Property.PATIENT_RESULTS_SMTP_ENABLED));
+        }
+
+        // analysis 1 is configured to email its patient
+        AnalysisNotificationConfig config = mock(AnalysisNotificationConfig.class);
+        when(config.getOptionFor(any(), any(), any())).thenReturn(option(false));
+        when(config.getOptionFor(NotificationNature.RESULT_VALIDATION, NotificationMethod.EMAIL,
+                NotificationPersonType.PATIENT)).thenReturn(option(true));
+        AnalysisNotificationConfigService analysisNotificationConfigService = mock(
+                AnalysisNotificationConfigService.class);
+        when(analysisNotificationConfigService.getAnalysisNotificationConfigForAnalysisId("1"))
+                .thenReturn(Optional.of(config));
+
+        Person person = new Person();
+        person.setFirstName("Jane");
+        person.setLastName("Doe");
+        person.setEmail("jane.doe@example.org");
+        Patient patient = new Patient();
+        patient.setPerson(person);
+        SampleHumanService sampleHumanService = mock(SampleHumanService.class);
+        when(sampleHumanService.getPatientForSample(any())).thenReturn(patient);
+
+        notificationPayloadTemplateService = mock(NotificationPayloadTemplateService.class);
+
+        testNotificationService = new TestNotificationServiceImpl();
+        ReflectionTestUtils.setField(testNotificationService, "analysisNotificationConfigService",
+                analysisNotificationConfigService);
+        ReflectionTestUtils.setField(testNotificationService, "testNotificationConfigService",
+                mock(TestNotificationConfigService.class));
+        ReflectionTestUtils.setField(testNotificationService, "sampleHumanService", sampleHumanService);
+        ReflectionTestUtils.setField(testNotificationService, "notificationPayloadTemplateService",
+                notificationPayloadTemplateService);
+        ReflectionTestUtils.setField(testNotificationService, "clientResultsViewInfoService",
+                clientResultsViewInfoService);
+        ReflectionTestUtils.setField(testNotificationService, "notificationOutboxService", notificationOutboxService);
+        ReflectionTestUtils.setField(testNotificationService, "ozekiActive", false);
+    }
+
+    @After
+    public void tearDown() {
+        for (int i = 0; i < NOTIFICATION_PROPERTIES.length; i++) {
+            ConfigurationProperties.getInstance().setPropertyValue(NOTIFICATION_PROPERTIES[i],
+                    originalPropertyValues[i] == null ? "" : originalPropertyValues[i]);
+        }
+        jdbcTemplate.update("DELETE FROM clinlims.client_results_view WHERE result_id = 3");
+        jdbcTemplate.update("DELETE FROM clinlims.notification_outbox");
+    }
+
+    @Test
+    public void createAndSendNotificationsToConfiguredSources_shouldNotRollValidationBackWhenNotificationFails() {
+        // without a payload template the notification can not be rendered
+        validateResult("90.0");
+
+        assertEquals("90.0",
+                jdbcTemplate.queryForObject("SELECT value FROM clinlims.result WHERE id = 3", String.class));
+        assertEquals(Integer.valueOf(0),
+                jdbcTemplate.queryForObject("SELECT count(*) FROM clinlims.notification_outbox", Integer.class));
+        assertEquals(Integer.valueOf(0), jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM clinlims.client_results_view WHERE result_id = 3", Integer.class));
+    }
+
+    @Test
+    public void createAndSendNotificationsToConfiguredSources_shouldQueueNotificationWithValidation() {
+        givenTemplate();
+
+        validateResult("90.0");
+
+        assertEquals("90.0",
+                jdbcTemplate.queryForObject("SELECT value FROM clinlims.result WHERE id = 3", String.class));
+        assertEquals("Jane D: 90.0",
+                jdbcTemplate.queryForObject("SELECT message FROM clinlims.notification_outbox WHERE recipient ="
+                        + " 'jane.doe@example.org'", String.class));
+        assertEquals(Integer.valueOf(1), jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM clinlims.client_results_view WHERE result_id = 3", Integer.class));
+    }
+
+    @Test
+    public void createAndSendNotificationsToConfiguredSources_shouldRollValidationBackWhenNotificationCanNotBeQueued() {
+        givenTemplate();
+        NotificationOutboxService failingOutbox = mock(NotificationOutboxService.class);
+        doThrow(new IllegalStateException("outbox unavailable")).when(failingOutbox)
+                .enqueue(any(EmailNotification.class));
+        ReflectionTestUtils.setField(testNotificationService, "notificationOutboxService", failingOutbox);
+
+        try {
+            validateResult("90.0");
+            fail("a notification that can not be queued should fail the validation");
+        } catch (IllegalStateException e) {
+            assertEquals("outbox unavailable", e.getMessage());
+        }
+
+        assertEquals("85.0",
+                jdbcTemplate.queryForObject("SELECT value FROM clinlims.result WHERE id = 3", String.class));
+        assertEquals(Integer.valueOf(0), jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM clinlims.client_results_view WHERE result_id = 3", Integer.class));
+    }
+
+    private void givenTemplate() {
+        NotificationPayloadTemplate template = new NotificationPayloadTemplate();
+        template.setType(NotificationPayloadType.TEST_RESULT);
+        template.setSubjectTemplate("Testing Results");
+        template.setMessageTemplate("[patientFirstName] [patientLastNameInitial]: [testResult]");
+        when(notificationPayloadTemplateService
+                .getSystemDefaultPayloadTemplateForType(NotificationPayloadType.TEST_RESULT)).thenReturn(template);
+    }
+
+    // updates the result and notifies about it in one transaction, as result
+    // validation does
+    private void validateResult(String value) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Result result = resultService.get("3");
+            result.setValue(value);
+            result.setSysUserId("1");
+            resultService.update(result);
+            testNotificationService.createAndSendNotificationsToConfiguredSources(NotificationNature.RESULT_VALIDATION,
+                    result);
+        });
+    }
+
+    private static NotificationConfigOption option(boolean active) {
+        NotificationConfigOption option = new NotificationConfigOption();
+        option.setActive(active);
+        return option;
+    }
+}
@@ -0,0 +1,350 @@
+package org.openelisglobal.notification.service.sender;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.jsmpp.PDUStringException;
+import org.jsmpp.bean.Alphabet;
+import org.jsmpp.bean.CancelSm;
+import org.jsmpp.bean.DataSm;
+import org.jsmpp.bean.DeliveryReceipt;
+import org.jsmpp.bean.ESMClass;
+import org.jsmpp.bean.GSMSpecificFeature;
+import org.jsmpp.bean.GeneralDataCoding;
+import org.jsmpp.bean.MessageClass;
+import org.jsmpp.bean.MessageMode;
+import org.jsmpp.bean.MessageType;
+import org.jsmpp.bean.NumberingPlanIndicator;
+import org.jsmpp.bean.QuerySm;
+import org.jsmpp.bean.RegisteredDelivery;
+import org.jsmpp.bean.ReplaceSm;
+import org.jsmpp.bean.SMSCDeliveryReceipt;
+import org.jsmpp.bean.SubmitMulti;
+import org.jsmpp.bean.SubmitMultiResult;
+import org.jsmpp.bean.SubmitSm;
+import org.jsmpp.bean.TypeOfNumber;
+import org.jsmpp.extra.ProcessRequestException;
+import org.jsmpp.session.BindRequest;
+import org.jsmpp.session.DataSmResult;
+import org.jsmpp.session.QuerySmResult;
+import org.jsmpp.session.SMPPServerSession;
+import org.jsmpp.session.SMPPServerSessionListener;
+import org.jsmpp.session.ServerMessageReceiverListener;
+import org.jsmpp.session.Session;
+import org.jsmpp.util.DeliveryReceiptState;
+import org.jsmpp.util.MessageId;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openelisglobal.notification.valueholder.NotificationPayload;
+import org.openelisglobal.notification.valueholder.SMSNotification;
+
+/**
+ * Sends notifications to a stub SMSC on a local port to check the session is
+ * bound once, bound again after the SMSC drops it without holding up other
+ * callers, and that delivery receipts are counted.
+ */
+public class SMPPNotificationSenderTest {
+
+    private StubSmsc smsc;
+    private SMPPSessionManager sessionManager;
+    private SMPPNotificationSender sender;
+
+    @Before
+    public void setUp() throws IOException {
+        smsc = new StubSmsc();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (sessionManager != null) {
+            sessionManager.closeSession();
+        }
+        smsc.close();
+    }
+
+    @Test
+    public void submitNow_shouldSubmitAllMessagesOverOneBind() throws Exception {
+        start(false);
+
+        for (int i = 0; i < 25; i++) {
+            sender.submitNow(notification("+2519000000" + (i % 10), "result " + i));
+        }
+
+        assertEquals(25, sender.getSubmitted());
+        waitFor(() -> smsc.submitted.size() == 25);
+        assertEquals(1, smsc.binds.get());
+        assertEquals(1, sessionManager.getBinds());
+        assertEquals(0, sender.getFailed());
+    }
+
+    @Test
+    public void submitNow_shouldBindAgainAfterSmscDropsTheSession() throws Exception {
+        start(false);
+        sender.submitNow(notification("+251900000001", "first"));
+
+        smsc.dropSessions();
+        waitFor(() -> !smsc.hasBoundSession());
+        sender.submitNow(notification("+251900000001", "second"));
+
+        assertEquals(2, sender.getSubmitted());
+        assertEquals(2, smsc.binds.get());
+        assertEquals("second", new String(smsc.submitted.get(1).getShortMessage()));
+    }
+
+    @Test
+    public void submitNow_shouldCountDeliveryReceipts() throws Exception {
+        smsc.sendReceipts = true;
+        start(true);
+
+        sender.submitNow(notification("+251900000001", "with receipt"));
+
+        waitFor(() -> sessionManager.getDeliveredReceipts() == 1);
+        assertEquals(SMSCDeliveryReceipt.SUCCESS_FAILURE.value(),
+                smsc.submitted.get(0).getRegisteredDelivery() & SMSCDeliveryReceipt.SUCCESS_FAILURE.value());
+    }
+
+    @Test
+    public void submitNow_shouldNotSubmitFasterThanConfiguredRate() throws Exception {
+        sessionManager = newSessionManager(false);
+        sender = new SMPPNotificationSender(sessionManager, "CMT", 20);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 21; i++) {
+            sender.submitNow(notification("+251900000001", "rate " + i));
+        }
+
+        // the first message goes at once, the next 20 take at least a second at 20/s
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 950);
+    }
+
+    @Test
+    public void submitNow_shouldThrowWhileSmscIsUnreachable() throws Exception {
+        sessionManager = new SMPPSessionManager("", 30000, 5000, 60000, false) {
+            @Override
+            protected org.jsmpp.session.SMPPSession bind() throws IOException {
+                throw new IOException("connection refused");
+            }
+        };
+        sender = new SMPPNotificationSender(sessionManager, "CMT", 0);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                sender.submitNow(notification("+251900000001", "during outage"));
+                throw new AssertionError("the SMSC is unreachable");
+            } catch (IOException e) {
+                // left to the notification outbox to retry
+            }
+        }
+
+        assertEquals(2, sender.getFailed());
+        assertEquals(0, sessionManager.getBinds());
+    }
+
+    @Test
+    public void getSession_shouldNotWaitForAnotherThreadsBind() throws Exception {
+        CountDownLatch binding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        sessionManager = new SMPPSessionManager("", 30000, 5000, 0, false) {
+            @Override
+            protected org.jsmpp.session.SMPPSession bind() throws IOException {
+                binding.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return bind("localhost", smsc.port, "openelis", "secret");
+            }
+        };
+        ExecutorService binder = Executors.newSingleThreadExecutor();
+        try {
+            Future<org.jsmpp.session.SMPPSession> bound = binder.submit(sessionManager::getSession);
+            binding.await();
+
+            long start = System.nanoTime();
+            try {
+                sessionManager.getSession();
+                throw new AssertionError("the session is still being bound");
+            } catch (IOException e) {
+                assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+            }
+
+            release.countDown();
+            assertTrue(bound.get(10, TimeUnit.SECONDS).getSessionState().isBound());
+            assertEquals(1, sessionManager.getBinds());
+        } finally {
+            release.countDown();
+            binder.shutdownNow();
+        }
+    }
+
+    private void start(boolean deliveryReceipts) {
+        sessionManager = newSessionManager(deliveryReceipts);
+        sender = new SMPPNotificationSender(sessionManager, "CMT", 0);
+    }
+
+    private SMPPSessionManager newSessionManager(boolean deliveryReceipts) {
+        return new SMPPSessionManager("", 30000, 5000, 100, deliveryReceipts) {
+            @Override
+            protected org.jsmpp.session.SMPPSession bind() throws IOException {
+                return bind("localhost", smsc.port, "openelis", "secret");
+            }
+        };
+    }
+
+    private static SMSNotification notification(String phoneNumber, String message) {
+        SMSNotification notification = new SMSNotification();
+        notification.setReceiverPhoneNumber(phoneNumber);
+        notification.setPayload(new NotificationPayload() {
+            @Override
+            public String getMessage() {
+                return message;
+            }
+
+            @Override
+            public String getSubject() {
+                return "";
+            }
+        });
+        return notification;
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("condition not met within 10 seconds");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private static class StubSmsc implements ServerMessageReceiverListener {
+
+        private final int port;
+        private final SMPPServerSessionListener listener;
+        private final ExecutorService executor = Executors.newCachedThreadPool();
+        private final List<SMPPServerSession> sessions = new CopyOnWriteArrayList<>();
+        private final List<SubmitSm> submitted = new CopyOnWriteArrayList<>();
+        private final AtomicInteger binds = new AtomicInteger();
+        private final AtomicInteger messageIds = new AtomicInteger();
+        private volatile boolean sendReceipts;
+
+        StubSmsc() throws IOException {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                port = socket.getLocalPort();
+            }
+            listener = new SMPPServerSessionListener(port);
+            executor.execute(this::accept);
+        }
+
+        private void accept() {
+            while (!Thread.currentThread().isInterrupted()) {
+                SMPPServerSession session;
+                try {
+                    session = listener.accept();
+                } catch (IOException e) {
+                    // the listener was closed by the test
+                    return;
+                }
+                try {
+                    session.setMessageReceiverListener(this);
+                    BindRequest bindRequest = session.waitForBind(5000);
+                    bindRequest.accept("stub");
+                    binds.incrementAndGet();
+                    sessions.add(session);
+                } catch (Exception e) {
+                    session.close();
+                }
+            }
+        }
+
+        void dropSessions() {
+            for (SMPPServerSession session : sessions) {
+                session.unbindAndClose();
+            }
+        }
+
+        boolean hasBoundSession() {
+            return sessions.stream().anyMatch(session -> session.getSessionState().isBound());
+        }
+
+        void close() throws IOException {
+            dropSessions();
+            listener.close();
+            executor.shutdownNow();
+        }
+
+        @Override
+        public MessageId onAcceptSubmitSm(SubmitSm submitSm, SMPPServerSession source)
+                throws ProcessRequestException {
+            submitted.add(submitSm);
+            MessageId messageId;
+            try {
+                messageId = new MessageId(Integer.toHexString(messageIds.incrementAndGet()));
+            } catch (PDUStringException e) {
+                throw new ProcessRequestException(e.getMessage(), 0x08);
+            }
+            if (sendReceipts) {
+                executor.execute(() -> deliverReceipt(submitSm, messageId, source));
+            }
+            return messageId;
+        }
+
+        private void deliverReceipt(SubmitSm submitSm, MessageId messageId, SMPPServerSession source) {
+            DeliveryReceipt receipt = new DeliveryReceipt(messageId.getValue(), 1, 1, new Date(), new Date(),
+                    DeliveryReceiptState.DELIVRD, "000", "");
+            try {
+                source.deliverShortMessage("CMT", TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN,
+                        submitSm.getDestAddress(), TypeOfNumber.UNKNOWN, NumberingPlanIndicator.UNKNOWN,
+                        submitSm.getSourceAddr(),
+                        new ESMClass(MessageMode.DEFAULT, MessageType.SMSC_DEL_RECEIPT, GSMSpecificFeature.DEFAULT),
+                        (byte) 0, (byte) 0, new RegisteredDelivery(0),
+                        new GeneralDataCoding(Alphabet.ALPHA_DEFAULT, MessageClass.CLASS1, false),
+                        receipt.toString().getBytes());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public SubmitMultiResult onAcceptSubmitMulti(SubmitMulti submitMulti, SMPPServerSession source)
+                throws ProcessRequestException {
+            throw new ProcessRequestException("not supported", 0x03);
+        }
+
+        @Override
+        public QuerySmResult onAcceptQuerySm(QuerySm querySm, SMPPServerSession source)
+                throws ProcessRequestException {
+            throw new ProcessRequestException("not supported", 0x03);
+        }
+
+        @Override
+        public void onAcceptReplaceSm(ReplaceSm replaceSm, SMPPServerSession source) throws ProcessRequestException {
+            throw new ProcessRequestException("not supported", 0x03);
+        }
+
+        @Override
+        public void onAcceptCancelSm(CancelSm cancelSm, SMPPServerSession source) throws ProcessRequestException {
+            throw new ProcessRequestException("not supported", 0x03);
+        }
+
+        @Override
+        public DataSmResult onAcceptDataSm(DataSm dataSm, Session source) throws ProcessRequestException {
+            throw new ProcessRequestException("not supported", 0x03);
+        }
+    }
+}
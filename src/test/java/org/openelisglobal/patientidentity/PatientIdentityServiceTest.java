@@ -4,8 +4,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
@@ -141,4 +143,21 @@ public class PatientIdentityServiceTest extends BaseWebContextSensitiveTest {
         int countAfterDelete = afterDelete.size();
         assertEquals(countBeforeDelete - 1, countAfterDelete);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getPatientIdentitiesForPatientsAndType_shouldMatchIdentityOfEachPatient() {
+        List<String> patientIds = new ArrayList<>(List.of("1", "2"));
+        for (int i = 0; i < 600; i++) {
+            patientIds.add(String.valueOf(10000 + i));
+        }
+
+        List<PatientIdentity> identities = patientIdentityService.getPatientIdentitiesForPatientsAndType(patientIds,
+                "9");
+
+        assertEquals(1, identities.size());
+        PatientIdentity expected = patientIdentityService.getPatitentIdentityForPatientAndType("1", "9");
+        assertEquals(expected.getId(), identities.get(0).getId());
+        assertEquals("334-422-A", identities.get(0).getIdentityData());
+        assertNull(patientIdentityService.getPatitentIdentityForPatientAndType("2", "9"));
+    }
+}
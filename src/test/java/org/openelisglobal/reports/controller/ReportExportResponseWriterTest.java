@@ -0,0 +1,102 @@
+package org.openelisglobal.reports.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CancellationException;
+import java.util.zip.GZIPInputStream;
+import org.junit.Before;
+import org.junit.Test;
+import org.openelisglobal.reports.action.implementation.IReportCreator;
+import org.openelisglobal.reports.service.ReportExportProgressServiceImpl;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class ReportExportResponseWriterTest {
+
+    private ReportExportResponseWriter writer;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private IReportCreator reportCreator;
+
+    @Before
+    public void setUp() {
+        writer = new ReportExportResponseWriter(new ReportExportProgressServiceImpl());
+        ReflectionTestUtils.setField(writer, "gzipEnabled", true);
+        request = new MockHttpServletRequest();
+        request.addHeader("Accept-Encoding", "gzip");
+        response = new MockHttpServletResponse();
+        reportCreator = mock(IReportCreator.class);
+    }
+
+    @Test
+    public void writeExport_shouldGzipCompleteExport() throws Exception {
+        writeRowThen(null);
+
+        writer.writeExport(reportCreator, "ExportRoutineByDate", "1", request, response);
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals("a,b\n", gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    public void writeExport_shouldSendErrorWhenCancelledBeforeCommit() throws Exception {
+        writeRowThen(new CancellationException("cancelled"));
+
+        writer.writeExport(reportCreator, "ExportRoutineByDate", "1", request, response);
+
+        assertEquals(410, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void writeExport_shouldLeaveGzipUnfinishedWhenCancelledAfterCommit() throws Exception {
+        writeRowThen(new CancellationException("cancelled"));
+        response.setCommitted(true);
+
+        try {
+            writer.writeExport(reportCreator, "ExportRoutineByDate", "1", request, response);
+            fail("a committed export should be aborted, not ended normally");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getCause() instanceof CancellationException);
+        }
+
+        try {
+            gunzip(response.getContentAsByteArray());
+            fail("the archive must not look complete");
+        } catch (EOFException e) {
+            // no gzip trailer was written
+        }
+    }
+
+    private void writeRowThen(RuntimeException failure) throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("a,b\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            if (failure != null) {
+                throw failure;
+            }
+            return null;
+        }).when(reportCreator).runReport(any(OutputStream.class));
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            in.transferTo(out);
+            return out.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
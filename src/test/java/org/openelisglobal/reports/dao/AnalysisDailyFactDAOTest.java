@@ -0,0 +1,87 @@
+package org.openelisglobal.reports.dao;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openelisglobal.BaseWebContextSensitiveTest;
+import org.openelisglobal.reports.valueholder.AnalysisMonthlyCount;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class AnalysisDailyFactDAOTest extends BaseWebContextSensitiveTest {
+
+    private static final LocalDate NOVEMBER = LocalDate.of(2023, 11, 1);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private AnalysisDailyFactDAO analysisDailyFactDAO;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setUp() throws Exception {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        executeDataSetWithStateManagement("testdata/analysis.xml");
+        // sample 1 already has analysis 1 of test 1 received in working hours on
+        // 2023-11-15; add one received out of hours the same day and one received in
+        // working hours later in the month
+        insertAnalysis(9001, "2023-11-15 18:00:00");
+        insertAnalysis(9002, "2023-11-20 10:00:00");
+    }
+
+    @After
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM clinlims.analysis_daily_fact WHERE fact_date >= ? AND fact_date < ?",
+                Date.valueOf(NOVEMBER), Date.valueOf(NOVEMBER.plusMonths(1)));
+        jdbcTemplate.update("DELETE FROM clinlims.analysis WHERE id IN (9001, 9002)");
+    }
+
+    @Test
+    public void rebuildMonth_shouldCountSampleOnceWhenRefreshedTwice() {
+        analysisDailyFactDAO.rebuildMonth(NOVEMBER);
+        analysisDailyFactDAO.rebuildMonth(NOVEMBER);
+
+        AnalysisMonthlyCount count = getTestOneCount(null);
+
+        assertEquals(3, count.analyses());
+        assertEquals(1, count.samples());
+    }
+
+    @Test
+    public void rebuildMonth_shouldCountSampleOncePerReceptionTime() {
+        analysisDailyFactDAO.rebuildMonth(NOVEMBER);
+
+        AnalysisMonthlyCount workingHours = getTestOneCount(1);
+        AnalysisMonthlyCount outOfHours = getTestOneCount(0);
+
+        assertEquals(2, workingHours.analyses());
+        assertEquals(1, workingHours.samples());
+        assertEquals(1, outOfHours.analyses());
+        assertEquals(1, outOfHours.samples());
+    }
+
+    private AnalysisMonthlyCount getTestOneCount(Integer workHours) {
+        List<AnalysisMonthlyCount> counts = analysisDailyFactDAO.getMonthlyCounts(NOVEMBER,
+                NOVEMBER.withDayOfMonth(30), List.of(1), 1, null, workHours);
+        assertEquals(1, counts.size());
+        assertEquals("1", counts.get(0).testId());
+        assertEquals(11, counts.get(0).month());
+        return counts.get(0);
+    }
+
+    private void insertAnalysis(int id, String started) {
+        jdbcTemplate.update("INSERT INTO clinlims.analysis (id, sampitem_id, test_sect_id, test_id, revision,"
+                + " status_id, started_date, entry_date, analysis_type, lastupdated, fhir_uuid, reflex_trigger,"
+                + " corrected, referred_out, result_calculated) VALUES (?, 1, 1, 1, 1, 1, CAST(? AS timestamp),"
+                + " CAST(? AS timestamp), 'ROUTINE', now(), gen_random_uuid(), false, false, false, false)", id,
+                started, started);
+    }
+}
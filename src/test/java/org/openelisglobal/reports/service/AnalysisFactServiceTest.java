@@ -0,0 +1,171 @@
+package org.openelisglobal.reports.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.openelisglobal.reports.dao.AnalysisDailyFactDAO;
+import org.openelisglobal.reports.valueholder.AnalysisFactRefreshState;
+import org.openelisglobal.reports.valueholder.AnalysisMonthlyCount;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class AnalysisFactServiceTest {
+
+    private FakeAnalysisDailyFactDAO dao;
+    private AnalysisFactServiceImpl analysisFactService;
+
+    @Before
+    public void setUp() {
+        dao = new FakeAnalysisDailyFactDAO();
+        analysisFactService = new AnalysisFactServiceImpl(dao);
+        ReflectionTestUtils.setField(analysisFactService, "enabled", true);
+        ReflectionTestUtils.setField(analysisFactService, "maxStalenessMinutes", 60L);
+        ReflectionTestUtils.setField(analysisFactService, "nightlyMonths", 2);
+    }
+
+    @Test
+    public void isCovered_shouldBeFalseBeforeBackfill() {
+        assertFalse(analysisFactService.isCovered(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+
+        dao.state = new AnalysisFactRefreshState(null, now(), now());
+
+        assertFalse(analysisFactService.isCovered(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+    }
+
+    @Test
+    public void isCovered_shouldRequireRangeWithinBackfill() {
+        dao.state = new AnalysisFactRefreshState(LocalDate.of(2024, 3, 1), now(), now());
+
+        assertTrue(analysisFactService.isCovered(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 12, 31)));
+        assertFalse(analysisFactService.isCovered(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+    }
+
+    @Test
+    public void isCovered_shouldBeFalseWhenStale() {
+        Timestamp longAgo = Timestamp.from(Instant.now().minus(2, ChronoUnit.HOURS));
+        dao.state = new AnalysisFactRefreshState(LocalDate.of(2020, 1, 1), longAgo, longAgo);
+
+        assertFalse(analysisFactService.isCovered(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+    }
+
+    @Test
+    public void isCovered_shouldBeFalseWhenDisabled() {
+        dao.state = new AnalysisFactRefreshState(LocalDate.of(2020, 1, 1), now(), now());
+        ReflectionTestUtils.setField(analysisFactService, "enabled", false);
+
+        assertFalse(analysisFactService.isCovered(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+    }
+
+    @Test
+    public void refreshChangedMonths_shouldBackfillFromEarliestAnalysis() {
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        dao.earliestStartedDate = currentMonth.minusMonths(2).plusDays(10);
+        dao.latestUpdate = now();
+
+        analysisFactService.refreshChangedMonths();
+
+        assertEquals(List.of(currentMonth.minusMonths(2), currentMonth.minusMonths(1), currentMonth),
+                dao.rebuiltMonths);
+        assertEquals(currentMonth.minusMonths(2), dao.state.coveredFrom());
+        assertEquals(dao.latestUpdate, dao.state.sourceWatermark());
+    }
+
+    @Test
+    public void refreshChangedMonths_shouldRebuildOnlyChangedMonths() {
+        Timestamp previous = Timestamp.from(Instant.now().minus(1, ChronoUnit.HOURS));
+        dao.state = new AnalysisFactRefreshState(LocalDate.of(2020, 1, 1), previous, previous);
+        dao.latestUpdate = now();
+        dao.changedMonths = List.of(LocalDate.of(2024, 5, 1), LocalDate.of(2023, 11, 1), LocalDate.of(2024, 5, 1));
+
+        analysisFactService.refreshChangedMonths();
+
+        assertEquals(List.of(LocalDate.of(2023, 11, 1), LocalDate.of(2024, 5, 1)), dao.rebuiltMonths);
+        assertEquals(dao.latestUpdate, dao.state.sourceWatermark());
+        assertTrue(dao.changedSince.before(previous));
+    }
+
+    @Test
+    public void refreshChangedMonths_shouldOnlyTouchStateWhenNothingChanged() {
+        Timestamp previous = Timestamp.from(Instant.now().minus(1, ChronoUnit.HOURS));
+        dao.state = new AnalysisFactRefreshState(LocalDate.of(2020, 1, 1), previous, previous);
+        dao.latestUpdate = previous;
+
+        analysisFactService.refreshChangedMonths();
+
+        assertTrue(dao.rebuiltMonths.isEmpty());
+        assertEquals(previous, dao.state.sourceWatermark());
+        assertTrue(dao.state.lastRefreshed().after(previous));
+    }
+
+    @Test
+    public void refreshRecentMonths_shouldRebuildRecentMonths() {
+        Timestamp previous = now();
+        dao.state = new AnalysisFactRefreshState(LocalDate.of(2020, 1, 1), previous, previous);
+        dao.latestUpdate = previous;
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+
+        analysisFactService.refreshRecentMonths();
+
+        assertEquals(List.of(currentMonth, currentMonth.minusMonths(1)), dao.rebuiltMonths);
+    }
+
+    private static Timestamp now() {
+        return Timestamp.from(Instant.now());
+    }
+
+    private static class FakeAnalysisDailyFactDAO implements AnalysisDailyFactDAO {
+
+        private AnalysisFactRefreshState state;
+        private LocalDate earliestStartedDate;
+        private Timestamp latestUpdate;
+        private Timestamp changedSince;
+        private List<LocalDate> changedMonths = List.of();
+        private final List<LocalDate> rebuiltMonths = new ArrayList<>();
+
+        @Override
+        public void rebuildMonth(LocalDate monthStart) {
+            rebuiltMonths.add(monthStart);
+        }
+
+        @Override
+        public Optional<LocalDate> getEarliestStartedDate() {
+            return Optional.ofNullable(earliestStartedDate);
+        }
+
+        @Override
+        public List<LocalDate> getMonthsChangedSince(Timestamp since) {
+            changedSince = since;
+            return changedMonths;
+        }
+
+        @Override
+        public Optional<Timestamp> getLatestAnalysisUpdate() {
+            return Optional.ofNullable(latestUpdate);
+        }
+
+        @Override
+        public Optional<AnalysisFactRefreshState> getRefreshState() {
+            return Optional.ofNullable(state);
+        }
+
+        @Override
+        public void saveRefreshState(AnalysisFactRefreshState state) {
+            this.state = state;
+        }
+
+        @Override
+        public List<AnalysisMonthlyCount> getMonthlyCounts(LocalDate from, LocalDate to,
+                List<Integer> testSectionIds, Integer statusId, List<String> priorities, Integer workHours) {
+            return List.of();
+        }
+    }
+}
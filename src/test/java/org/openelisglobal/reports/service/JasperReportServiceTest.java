@@ -0,0 +1,51 @@
+package org.openelisglobal.reports.service;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import net.sf.jasperreports.engine.JasperReport;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JasperReportServiceTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private JasperReportService jasperReportService;
+    private File reportFile;
+
+    @Before
+    public void setUp() throws Exception {
+        jasperReportService = new JasperReportServiceImpl();
+        reportFile = temporaryFolder.newFile("NoticeOfReportError.jasper");
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("reports/NoticeOfReportError.jasper")) {
+            Files.copy(in, reportFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Test
+    public void getReport_shouldReturnCachedReportWhenFileUnchanged() throws Exception {
+        JasperReport first = jasperReportService.getReport(reportFile.getPath());
+        JasperReport second = jasperReportService.getReport(reportFile.getPath());
+
+        assertSame("Unchanged report should not be deserialized again", first, second);
+    }
+
+    @Test
+    public void getReport_shouldReloadReportWhenFileModified() throws Exception {
+        JasperReport first = jasperReportService.getReport(reportFile.getPath());
+        assertTrue(reportFile.setLastModified(reportFile.lastModified() - 60_000));
+
+        JasperReport second = jasperReportService.getReport(reportFile.getPath());
+
+        assertNotSame("Modified report should be reloaded", first, second);
+    }
+}
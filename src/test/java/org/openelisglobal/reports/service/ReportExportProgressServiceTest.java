@@ -0,0 +1,61 @@
+package org.openelisglobal.reports.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CancellationException;
+import org.junit.Before;
+import org.junit.Test;
+import org.openelisglobal.reports.action.util.ReportExportProgress;
+
+public class ReportExportProgressServiceTest {
+
+    private ReportExportProgressService reportExportProgressService;
+
+    @Before
+    public void setUp() {
+        reportExportProgressService = new ReportExportProgressServiceImpl();
+    }
+
+    @Test
+    public void start_shouldUseRequestedIdUnlessAlreadyRunning() {
+        ReportExportProgress first = reportExportProgressService.start("export-1", "ExportRoutineByDate", "1");
+        ReportExportProgress second = reportExportProgressService.start("export-1", "ExportRoutineByDate", "1");
+
+        assertEquals("export-1", first.getExportId());
+        assertNotEquals("export-1", second.getExportId());
+        assertEquals(2, reportExportProgressService.getActiveExports().size());
+    }
+
+    @Test
+    public void rowWritten_shouldAccumulateRowsAndBytes() {
+        ReportExportProgress progress = reportExportProgressService.start(null, "ExportRoutineByDate", "1");
+
+        progress.rowWritten(10);
+        progress.rowWritten(15);
+
+        assertEquals(2, reportExportProgressService.getProgress(progress.getExportId()).get().getRowsWritten());
+        assertEquals(25, progress.getBytesWritten());
+    }
+
+    @Test(expected = CancellationException.class)
+    public void cancel_shouldStopExportAtNextRow() {
+        ReportExportProgress progress = reportExportProgressService.start(null, "ExportRoutineByDate", "1");
+        progress.checkNotCancelled();
+
+        assertTrue(reportExportProgressService.cancel(progress.getExportId()));
+        progress.checkNotCancelled();
+    }
+
+    @Test
+    public void finish_shouldRemoveExport() {
+        ReportExportProgress progress = reportExportProgressService.start(null, "ExportRoutineByDate", "1");
+
+        reportExportProgressService.finish(progress);
+
+        assertFalse(reportExportProgressService.getProgress(progress.getExportId()).isPresent());
+        assertFalse(reportExportProgressService.cancel(progress.getExportId()));
+    }
+}
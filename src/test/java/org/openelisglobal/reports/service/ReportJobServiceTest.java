@@ -0,0 +1,219 @@
+package org.openelisglobal.reports.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openelisglobal.reports.action.implementation.IReportCreator;
+import org.openelisglobal.reports.form.ReportForm;
+import org.openelisglobal.reports.valueholder.ReportJob;
+import org.openelisglobal.reports.valueholder.ReportJob.Status;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class ReportJobServiceTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    // reports whose name starts with "test" are run by a stub that waits for this latch
+    private final CountDownLatch releaseReports = new CountDownLatch(1);
+    private final AtomicReference<String> watermark = new AtomicReference<>("1-1-1-1");
+    private ReportJobServiceImpl reportJobService;
+
+    @Before
+    public void setUp() throws Exception {
+        reportJobService = new ReportJobServiceImpl(watermark::get) {
+            @Override
+            protected IReportCreator createReportCreator(String reportName) {
+                return reportName.startsWith("test") ? stubReportCreator() : super.createReportCreator(reportName);
+            }
+        };
+        ReflectionTestUtils.setField(reportJobService, "workers", 1);
+        ReflectionTestUtils.setField(reportJobService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(reportJobService, "perReportConcurrency", 1);
+        ReflectionTestUtils.setField(reportJobService, "resultTtlMinutes", 60L);
+        ReflectionTestUtils.setField(reportJobService, "resultDirectory",
+                temporaryFolder.newFolder("jobs").getAbsolutePath());
+        reportJobService.init();
+    }
+
+    @After
+    public void tearDown() {
+        reportJobService.shutdown();
+    }
+
+    @Test
+    public void submit_shouldFailJobForUnknownReport() throws Exception {
+        ReportJob job = reportJobService.submit(form("noSuchReport"), "1", "reports/", "images/");
+
+        awaitCompletion(job);
+
+        assertEquals(Status.FAILED, job.getStatus());
+        assertFalse(reportJobService.getCompletedJobForDownload(job.getDownloadToken(), "1").isPresent());
+    }
+
+    @Test
+    public void submit_shouldNotReuseFailedJob() throws Exception {
+        ReportJob first = reportJobService.submit(form("noSuchReport"), "1", "reports/", "images/");
+        awaitCompletion(first);
+
+        ReportJob second = reportJobService.submit(form("noSuchReport"), "1", "reports/", "images/");
+
+        assertNotEquals(first.getJobId(), second.getJobId());
+    }
+
+    @Test
+    public void getJob_shouldFindSubmittedJob() throws Exception {
+        ReportJob job = reportJobService.submit(form("noSuchReport"), "1", "reports/", "images/");
+
+        assertSame(job, reportJobService.getJob(job.getJobId()).get());
+        assertNotEquals(job.getJobId(), job.getDownloadToken());
+    }
+
+    @Test
+    public void purgeExpiredJobs_shouldForgetExpiredJobs() throws Exception {
+        ReflectionTestUtils.setField(reportJobService, "resultTtlMinutes", 0L);
+        ReportJob job = reportJobService.submit(form("noSuchReport"), "1", "reports/", "images/");
+        awaitCompletion(job);
+        Thread.sleep(5);
+
+        reportJobService.purgeExpiredJobs();
+
+        assertFalse(reportJobService.getJob(job.getJobId()).isPresent());
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void submit_shouldRejectWhenQueueIsFull() {
+        ReflectionTestUtils.setField(reportJobService, "workers", 0);
+        ReflectionTestUtils.setField(reportJobService, "queueCapacity", 0);
+
+        reportJobService.submit(form("noSuchReport"), "1", "reports/", "images/");
+    }
+
+    @Test
+    public void submit_shouldShareJobForIdenticalSubmission() throws Exception {
+        ReportJob first = reportJobService.submit(form("testExport"), "1", "reports/", "images/");
+
+        assertSame("queued or running job is shared", first,
+                reportJobService.submit(form("testExport"), "1", "reports/", "images/"));
+        assertNotEquals("jobs are not shared between users", first.getJobId(),
+                reportJobService.submit(form("testExport"), "2", "reports/", "images/").getJobId());
+        assertNotEquals("jobs are not shared between parameters", first.getJobId(),
+                reportJobService.submit(form("testExport", "02/01/2024"), "1", "reports/", "images/").getJobId());
+
+        releaseReports.countDown();
+        awaitCompletion(first);
+        assertEquals(Status.COMPLETED, first.getStatus());
+        assertSame("completed job is shared until it expires", first,
+                reportJobService.submit(form("testExport"), "1", "reports/", "images/"));
+
+        watermark.set("2-1-1-1");
+        assertNotEquals("jobs are not shared once the data has changed", first.getJobId(),
+                reportJobService.submit(form("testExport"), "1", "reports/", "images/").getJobId());
+    }
+
+    @Test
+    public void submit_shouldLimitConcurrentJobsOfOneReport() throws Exception {
+        reportJobService.shutdown();
+        ReflectionTestUtils.setField(reportJobService, "workers", 2);
+        ReflectionTestUtils.setField(reportJobService, "queueCapacity", 5);
+        reportJobService.init();
+
+        ReportJob first = reportJobService.submit(form("testExport"), "1", "reports/", "images/");
+        ReportJob second = reportJobService.submit(form("testExport", "02/01/2024"), "1", "reports/", "images/");
+        ReportJob other = reportJobService.submit(form("testOther"), "1", "reports/", "images/");
+        awaitStatus(first, Status.RUNNING);
+        awaitStatus(other, Status.RUNNING);
+
+        assertEquals("second job of the same report waits for the first", Status.QUEUED, second.getStatus());
+
+        releaseReports.countDown();
+        awaitCompletion(second);
+        assertEquals(Status.COMPLETED, first.getStatus());
+        assertEquals(Status.COMPLETED, second.getStatus());
+        assertFalse(second.getStartedAt().isBefore(first.getCompletedAt()));
+    }
+
+    @Test
+    public void getCompletedJobForDownload_shouldOnlyServeSubmittingUser() throws Exception {
+        releaseReports.countDown();
+        ReportJob job = reportJobService.submit(form("testExport"), "1", "reports/", "images/");
+        awaitCompletion(job);
+
+        assertTrue(reportJobService.getCompletedJobForDownload(job.getDownloadToken(), "1").isPresent());
+        assertFalse(reportJobService.getCompletedJobForDownload(job.getDownloadToken(), "2").isPresent());
+        assertFalse(reportJobService.getCompletedJobForDownload("unknownToken", "1").isPresent());
+    }
+
+    @Test
+    public void getCompletedJobForDownload_shouldNotServeExpiredOutput() throws Exception {
+        ReflectionTestUtils.setField(reportJobService, "resultTtlMinutes", 0L);
+        releaseReports.countDown();
+        ReportJob job = reportJobService.submit(form("testExport"), "1", "reports/", "images/");
+        awaitCompletion(job);
+        Thread.sleep(5);
+
+        assertEquals(Status.COMPLETED, job.getStatus());
+        assertFalse(reportJobService.getCompletedJobForDownload(job.getDownloadToken(), "1").isPresent());
+    }
+
+    private IReportCreator stubReportCreator() {
+        IReportCreator reportCreator = mock(IReportCreator.class);
+        try {
+            doReturn(new HashMap<String, Object>()).when(reportCreator).getReportParameters();
+            when(reportCreator.getContentType()).thenReturn("text/csv");
+            doAnswer(invocation -> {
+                releaseReports.await(10, TimeUnit.SECONDS);
+                invocation.getArgument(0, OutputStream.class).write("a,b\n".getBytes(StandardCharsets.UTF_8));
+                return null;
+            }).when(reportCreator).runReport(any(OutputStream.class));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return reportCreator;
+    }
+
+    private ReportForm form(String report) {
+        return form(report, "01/01/2024");
+    }
+
+    private ReportForm form(String report, String lowerDateRange) {
+        ReportForm form = new ReportForm();
+        form.setReport(report);
+        form.setLowerDateRange(lowerDateRange);
+        return form;
+    }
+
+    private void awaitStatus(ReportJob job, Status status) throws InterruptedException {
+        for (int i = 0; i < 100 && job.getStatus() != status; i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(status, job.getStatus());
+    }
+
+    private void awaitCompletion(ReportJob job) throws InterruptedException {
+        for (int i = 0; i < 100 && (job.getStatus() == Status.QUEUED || job.getStatus() == Status.RUNNING
+                || job.getCompletedAt() == null); i++) {
+            Thread.sleep(50);
+        }
+    }
+}
@@ -5,6 +5,8 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.sql.Date;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import org.junit.Before;
@@ -602,4 +604,45 @@ public class ResultServiceTest extends BaseWebContextSensitiveTest {
         assertNotNull(updatedResult);
         assertEquals("95.0", updatedResult.getValue());
     }
+
+    @Test
+    public void insertAll_shouldInsertAllResults() {
+        List<Result> results = new ArrayList<>();
+        for (String value : List.of("90.0", "91.0", "92.0")) {
+            Result result = new Result();
+            result.setValue(value);
+            result.setAnalysis(analysisService.get("1"));
+            result.setTestResult(testResultService.get("1"));
+            result.setAnalyte(analyteService.get("3"));
+            result.setSysUserId("1");
+            results.add(result);
+        }
+
+        List<String> ids = resultService.insertAll(results);
+
+        assertEquals(3, ids.size());
+        assertEquals(3, new HashSet<>(ids).size());
+        List<String> values = new ArrayList<>();
+        for (String id : ids) {
+            Result saved = resultService.get(id);
+            assertEquals("1", saved.getAnalysis().getId());
+            values.add(saved.getValue());
+        }
+        assertEquals(List.of("90.0", "91.0", "92.0"), values);
+    }
+
+    @Test
+    public void updateAll_shouldUpdateAllResults() {
+        Result result3 = resultService.get("3");
+        Result result4 = resultService.get("4");
+        result3.setValue("95.0");
+        result4.setValue("96.0");
+        result3.setSysUserId("1");
+        result4.setSysUserId("1");
+
+        resultService.updateAll(List.of(result3, result4));
+
+        assertEquals("95.0", resultService.get("3").getValue());
+        assertEquals("96.0", resultService.get("4").getValue());
+    }
 }
@@ -0,0 +1,151 @@
+package org.openelisglobal.result.action.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openelisglobal.BaseWebContextSensitiveTest;
+import org.openelisglobal.analysis.service.AnalysisService;
+import org.openelisglobal.analysis.valueholder.Analysis;
+import org.openelisglobal.common.valueholder.BaseObject;
+import org.openelisglobal.result.service.ResultService;
+import org.openelisglobal.sample.service.SampleService;
+import org.openelisglobal.sampleqaevent.service.SampleQaEventService;
+import org.openelisglobal.test.service.TestService;
+import org.openelisglobal.testresult.service.TestResultService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+public class AnalyzerResultsPageLoaderTest extends BaseWebContextSensitiveTest {
+
+    // more than one chunk of each lookup
+    private static final int UNKNOWN_VALUES = 600;
+
+    @Autowired
+    private AnalyzerResultsPageLoader analyzerResultsPageLoader;
+
+    @Autowired
+    private SampleService sampleService;
+
+    @Autowired
+    private AnalysisService analysisService;
+
+    @Autowired
+    private ResultService resultService;
+
+    @Autowired
+    private SampleQaEventService sampleQaEventService;
+
+    @Autowired
+    private TestService testService;
+
+    @Autowired
+    private TestResultService testResultService;
+
+    private List<String> accessionNumbers;
+    private List<String> testIds;
+
+    @Before
+    public void setUp() throws Exception {
+        executeDataSetWithStateManagement("testdata/referral.xml");
+        // an active dictionary result and an inactive one for test 1, and a qa event
+        // for sample 1
+        jdbcTemplate.update("INSERT INTO clinlims.test_result (id, test_id, tst_rslt_type, value, sort_order,"
+                + " is_quantifiable, is_active, is_normal, lastupdated) VALUES (9101, 1, 'D', '1', 1, false, true,"
+                + " true, now()), (9102, 1, 'D', '2', 2, false, false, false, now())");
+        jdbcTemplate.update("INSERT INTO clinlims.sample_qaevent (id, qa_event_id, sample_id, sampleitem_id,"
+                + " entered_date, lastupdated) VALUES (9201, 1, 1, 1, now(), now())");
+
+        accessionNumbers = new ArrayList<>();
+        testIds = new ArrayList<>();
+        for (int i = 0; i < UNKNOWN_VALUES; i++) {
+            accessionNumbers.add("UNKNOWN" + i);
+            testIds.add(String.valueOf(900000 + i));
+        }
+        accessionNumbers.addAll(List.of("12345", "12345.1", "13333"));
+        testIds.addAll(List.of("1", "2"));
+    }
+
+    @After
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM clinlims.sample_qaevent WHERE id = 9201");
+        jdbcTemplate.update("DELETE FROM clinlims.test_result WHERE id IN (9101, 9102)");
+    }
+
+    @Test
+    public void load_shouldMatchPerAccessionLookupsAcrossChunks() {
+        AnalyzerResultsPageData page = analyzerResultsPageLoader.load(accessionNumbers, testIds, List.of());
+
+        assertEquals("1", page.getSample("12345").getId());
+        assertEquals("1", page.getSample("12345.1").getId());
+        assertEquals("2", page.getSample("13333").getId());
+        assertNull(page.getSample("UNKNOWN0"));
+
+        for (String sampleId : List.of("1", "2")) {
+            String accessionNumber = sampleService.get(sampleId).getAccessionNumber();
+            List<Analysis> analyses = page.getAnalyses(accessionNumber);
+            assertEquals(ids(analysisService.getAnalysesBySampleId(sampleId)), ids(analyses));
+            for (Analysis analysis : analyses) {
+                assertEquals(ids(resultService.getResultsByAnalysis(analysis)), ids(page.getResults(analysis.getId())));
+            }
+            assertEquals(ids(sampleQaEventService.getSampleQaEventsBySample(sampleService.get(sampleId))),
+                    ids(page.getSampleQaEvents(sampleId)));
+        }
+        assertEquals(List.of("9201"), ids(page.getSampleQaEvents("1")));
+        assertTrue(page.getAnalyses("UNKNOWN0").isEmpty());
+    }
+
+    @Test
+    public void load_shouldMatchPerTestLookupsAcrossChunks() {
+        AnalyzerResultsPageData page = analyzerResultsPageLoader.load(accessionNumbers, testIds, List.of());
+
+        for (String testId : List.of("1", "2")) {
+            assertEquals(ids(testResultService.getAllActiveTestResultsPerTest(testService.get(testId))),
+                    ids(page.getActiveTestResults(testId)));
+        }
+        assertEquals(List.of("9101"), ids(page.getActiveTestResults("1")));
+        assertTrue(page.getActiveTestResults("900000").isEmpty());
+        assertNull(page.getActiveTestResults("899999"));
+    }
+
+    @Test
+    public void load_shouldLoadDictionariesOfTestResultsAndRequestedOnes() {
+        AnalyzerResultsPageData page = analyzerResultsPageLoader.load(accessionNumbers, testIds,
+                List.of("2", "abc"));
+
+        // 1 is the value of test 1's active test result, 2 was asked for
+        assertEquals("Dictionary Entry 1", page.getDictionary("1").dictEntry());
+        assertEquals("Dictionary Entry 2", page.getDictionary(" 2 ").dictEntry());
+        assertNull(page.getDictionary("abc"));
+        assertNull(page.getDictionary(null));
+    }
+
+    @Test
+    public void pageData_shouldHandOutCopiesAndTellMissingAnalysesApart() {
+        AnalyzerResultsPageData page = analyzerResultsPageLoader.load(accessionNumbers, testIds, List.of());
+
+        page.getAnalyses("12345").clear();
+        assertEquals(1, page.getAnalyses("12345").size());
+
+        Analysis analysis = page.getAnalyses("12345").get(0);
+        page.getResults(analysis.getId()).clear();
+        assertNotNull(page.getResults(analysis.getId()));
+        assertEquals(ids(resultService.getResultsByAnalysis(analysis)), ids(page.getResults(analysis.getId())));
+
+        // not an analysis of the page, as opposed to one without results
+        assertNull(page.getResults("999999"));
+    }
+
+    private static List<String> ids(List<? extends BaseObject<String>> objects) {
+        List<String> ids = new ArrayList<>();
+        for (BaseObject<String> object : objects) {
+            ids.add(object.getId());
+        }
+        return ids;
+    }
+}
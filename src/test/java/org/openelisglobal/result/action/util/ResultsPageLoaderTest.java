@@ -0,0 +1,113 @@
+package org.openelisglobal.result.action.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.openelisglobal.BaseWebContextSensitiveTest;
+import org.openelisglobal.analysis.service.AnalysisService;
+import org.openelisglobal.analysis.valueholder.Analysis;
+import org.openelisglobal.note.service.NoteService;
+import org.openelisglobal.referral.service.ReferralService;
+import org.openelisglobal.result.service.ResultService;
+import org.openelisglobal.result.valueholder.Result;
+import org.openelisglobal.sample.valueholder.Sample;
+import org.openelisglobal.samplehuman.service.SampleHumanService;
+import org.openelisglobal.sampleitem.valueholder.SampleItem;
+import org.springframework.beans.factory.annotation.Autowired;
+
+public class ResultsPageLoaderTest extends BaseWebContextSensitiveTest {
+
+    // more than one chunk, so that the analyses of the dataset are loaded with
+    // the second one
+    private static final int UNKNOWN_ANALYSES = 600;
+
+    @Autowired
+    private ResultsPageLoader resultsPageLoader;
+
+    @Autowired
+    private AnalysisService analysisService;
+
+    @Autowired
+    private ResultService resultService;
+
+    @Autowired
+    private SampleHumanService sampleHumanService;
+
+    @Autowired
+    private ReferralService referralService;
+
+    @Autowired
+    private NoteService noteService;
+
+    private List<Analysis> knownAnalyses;
+    private List<Analysis> analyses;
+
+    @Before
+    public void setUp() throws Exception {
+        executeDataSetWithStateManagement("testdata/referral.xml");
+        knownAnalyses = List.of(analysisService.get("1"), analysisService.get("2"));
+        analyses = new ArrayList<>();
+        for (int i = 0; i < UNKNOWN_ANALYSES; i++) {
+            analyses.add(unknownAnalysis(i));
+        }
+        analyses.addAll(knownAnalyses);
+    }
+
+    @Test
+    public void load_shouldMatchPerAnalysisLookupsAcrossChunks() {
+        ResultsPageData page = resultsPageLoader.load(analyses, true, true, true);
+
+        for (Analysis analysis : knownAnalyses) {
+            assertEquals(resultIds(resultService.getResultsByAnalysis(analysis)),
+                    resultIds(page.getResults(analysis.getId())));
+
+            Sample sample = analysis.getSampleItem().getSample();
+            assertEquals(sampleHumanService.getPatientForSample(sample).getId(),
+                    page.patientsBySampleId.get(sample.getId()).getId());
+
+            assertEquals(referralService.getReferralByAnalysisId(analysis.getId()).getId(),
+                    page.referralByAnalysisId.get(analysis.getId()).getId());
+
+            assertEquals(noteService.getNotesAsString(analysis, true, true, "<br/>", ResultsPageLoader.NOTE_TYPES,
+                    false), page.notesByAnalysisId.get(analysis.getId()));
+        }
+    }
+
+    @Test
+    public void load_shouldHaveEmptyResultsForEveryAnalysisOfThePage() {
+        ResultsPageData page = resultsPageLoader.load(analyses, false, false, false);
+
+        for (int i = 0; i < UNKNOWN_ANALYSES; i++) {
+            List<Result> results = page.getResults(analyses.get(i).getId());
+            assertNotNull(results);
+            assertTrue(results.isEmpty());
+        }
+        assertNull(page.getResults("999999"));
+    }
+
+    private static List<String> resultIds(List<Result> results) {
+        List<String> ids = new ArrayList<>();
+        for (Result result : results) {
+            ids.add(result.getId());
+        }
+        return ids;
+    }
+
+    private static Analysis unknownAnalysis(int index) {
+        Sample sample = new Sample();
+        sample.setId(String.valueOf(300000 + index));
+        SampleItem sampleItem = new SampleItem();
+        sampleItem.setId(String.valueOf(200000 + index));
+        sampleItem.setSample(sample);
+        Analysis analysis = new Analysis();
+        analysis.setId(String.valueOf(100000 + index));
+        analysis.setSampleItem(sampleItem);
+        return analysis;
+    }
+}
@@ -0,0 +1,115 @@
+package org.openelisglobal.result.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.openelisglobal.BaseWebContextSensitiveTest;
+import org.openelisglobal.analysis.service.AnalysisService;
+import org.openelisglobal.analysis.valueholder.Analysis;
+import org.openelisglobal.analyte.service.AnalyteService;
+import org.openelisglobal.analyte.valueholder.Analyte;
+import org.openelisglobal.common.log.LogEvent;
+import org.openelisglobal.result.valueholder.Result;
+import org.openelisglobal.testresult.service.TestResultService;
+import org.openelisglobal.testresult.valueholder.TestResult;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Compares saving 500 results one at a time, each flushed on its own, with
+ * saving them through insertAll, which sends them and their audit rows in JDBC
+ * batches, and reports the timings in the log. It writes a few thousand rows,
+ * so it only runs when asked for:
+ *
+ * <pre>
+ * mvn test -Dtest=ResultSaveBenchmarkTest -Dbenchmark.resultsave=true
+ * </pre>
+ */
+public class ResultSaveBenchmarkTest extends BaseWebContextSensitiveTest {
+
+    private static final int RESULTS = 500;
+    private static final int ROUNDS = 5;
+    private static final String BENCHMARK_VALUE = "benchmark";
+
+    @Autowired
+    private ResultService resultService;
+    @Autowired
+    private AnalysisService analysisService;
+    @Autowired
+    private TestResultService testResultService;
+    @Autowired
+    private AnalyteService analyteService;
+
+    private final List<String> savedIds = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("benchmark.resultsave"));
+        executeDataSetWithStateManagement("testdata/result.xml");
+    }
+
+    @After
+    public void removeResults() {
+        if (!savedIds.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM clinlims.result WHERE value = ?", BENCHMARK_VALUE);
+            jdbcTemplate.update("DELETE FROM clinlims.history WHERE reference_table = ? AND reference_id IN ("
+                    + String.join(",", savedIds) + ")", Integer.parseInt(ResultServiceImpl.getTableReferenceId()));
+        }
+    }
+
+    @Test
+    public void saveFiveHundredResults_shouldTimeOneByOneAndBatched() {
+        // warm up both paths before timing them
+        saveOneByOne(newResults());
+        resultService.insertAll(newResults());
+
+        long oneByOneNanos = 0;
+        long batchedNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            List<Result> results = newResults();
+            long before = System.nanoTime();
+            saveOneByOne(results);
+            oneByOneNanos += System.nanoTime() - before;
+
+            results = newResults();
+            before = System.nanoTime();
+            List<String> ids = resultService.insertAll(results);
+            batchedNanos += System.nanoTime() - before;
+
+            Assert.assertEquals(RESULTS, ids.size());
+            Assert.assertEquals(RESULTS, new HashSet<>(ids).size());
+            savedIds.addAll(ids);
+        }
+
+        LogEvent.logInfo(this.getClass().getSimpleName(), "saveFiveHundredResults_shouldTimeOneByOneAndBatched",
+                String.format("saving %d results: one by one %.2f ms, batched %.2f ms", RESULTS,
+                        oneByOneNanos / 1e6 / ROUNDS, batchedNanos / 1e6 / ROUNDS));
+    }
+
+    private void saveOneByOne(List<Result> results) {
+        for (Result result : results) {
+            savedIds.add(resultService.insert(result));
+        }
+    }
+
+    private List<Result> newResults() {
+        Analysis analysis = analysisService.get("1");
+        TestResult testResult = testResultService.get("1");
+        Analyte analyte = analyteService.get("3");
+        List<Result> results = new ArrayList<>();
+        for (int i = 0; i < RESULTS; i++) {
+            Result result = new Result();
+            result.setValue(BENCHMARK_VALUE);
+            result.setAnalysis(analysis);
+            result.setTestResult(testResult);
+            result.setAnalyte(analyte);
+            result.setSysUserId("1");
+            results.add(result);
+        }
+        return results;
+    }
+}
@@ -13,6 +13,7 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import org.dbunit.DatabaseUnitException;
 import org.junit.Assert;
 import org.junit.Before;
@@ -70,6 +71,17 @@ public class SampleServiceTest extends BaseWebContextSensitiveTest {
         Assert.assertEquals("2024-06-04 00:00:00.0", savedSample.getReceivedTimestamp().toString());
     }
 
+    @Test
+    public void getSamplesByAccessionNumbers_shouldMapRequestedAccessionNumbersToSamples() throws Exception {
+        Map<String, Sample> samples = sampleService
+                .getSamplesByAccessionNumbers(Arrays.asList("13333", "12345.1", "99999"));
+
+        Assert.assertEquals(2, samples.size());
+        Assert.assertEquals("2", samples.get("13333").getId());
+        Assert.assertEquals("1", samples.get("12345.1").getId());
+        assertFalse(samples.containsKey("99999"));
+    }
+
     @Test
     public void insertDataWithAccessionNumber_shouldReturnsampleWithInsertedData() throws Exception {
         Sample savedSample = sampleService.getSampleByAccessionNumber("13333");
@@ -3,8 +3,10 @@ package org.openelisglobal.samplehuman;
 import java.sql.Timestamp;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -105,6 +107,15 @@ public class SampleHumanServiceTest extends BaseWebContextSensitiveTest {
         Assert.assertEquals(PATIENT_FIRSTNAME, patients.get(2).getPerson().getFirstName());
     }
 
+    @Test
+    public void forEachPatientIdWithSampleEntered_shouldStreamIdsInBatches() throws Exception {
+        List<List<String>> batches = new ArrayList<>();
+
+        humanService.forEachPatientIdWithSampleEntered(false, 2, batches::add);
+
+        Assert.assertEquals(List.of(List.of("1", "2"), List.of("3")), batches);
+    }
+
     private SampleHuman creatSampleHuman(String entereddate) throws ParseException {
         Person person = new Person();
         person.setFirstName(SampleHumanServiceTest.PATIENT_FIRSTNAME);
@@ -180,4 +191,22 @@ public class SampleHumanServiceTest extends BaseWebContextSensitiveTest {
         Assert.assertEquals("2", sHumanToUpdate.getPatientId());
 
     }
+
+    @Test
+    public void getPatientsForSamples_shouldMatchPatientForEachSample() throws Exception {
+        List<String> sampleIds = new ArrayList<>(List.of("1", "2", "3"));
+        // more ids than a page of result entry loads at once, most without a patient
+        for (int i = 0; i < 600; i++) {
+            sampleIds.add(String.valueOf(10000 + i));
+        }
+
+        Map<String, Patient> patients = humanService.getPatientsForSamples(sampleIds);
+
+        Assert.assertEquals(3, patients.size());
+        for (String sampleId : List.of("1", "2", "3")) {
+            Patient expected = humanService.getPatientForSample(sampleService.get(sampleId));
+            Assert.assertEquals(expected.getId(), patients.get(sampleId).getId());
+            Assert.assertEquals(expected.getPerson().getLastName(), patients.get(sampleId).getPerson().getLastName());
+        }
+    }
 }
@@ -13,6 +13,14 @@ import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
 import org.openelisglobal.BaseWebContextSensitiveTest;
+import org.openelisglobal.hibernate.search.massindexer.MassIndexerService;
+import org.openelisglobal.sampleitem.valueholder.SampleItem;
+import org.openelisglobal.storage.valueholder.SampleStorageAssignment;
+import org.openelisglobal.storage.valueholder.StorageDevice;
+import org.openelisglobal.storage.valueholder.StorageRack;
+import org.openelisglobal.storage.valueholder.StorageRoom;
+import org.openelisglobal.storage.valueholder.StorageShelf;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.web.servlet.MvcResult;
@@ -22,11 +30,17 @@ public class StorageSearchRestControllerTest extends BaseWebContextSensitiveTest
 
     private ObjectMapper objectMapper = new ObjectMapper();
 
+    @Autowired
+    private MassIndexerService massIndexerService;
+
     @Before
     @Override
     public void setUp() throws Exception {
         super.setUp();
         executeDataSetWithStateManagement("testdata/storage-search-integration-test.xml");
+        // the data set is inserted behind Hibernate's back, so it is not indexed yet
+        massIndexerService.reindex(SampleItem.class, SampleStorageAssignment.class, StorageRoom.class,
+                StorageDevice.class, StorageShelf.class, StorageRack.class);
     }
 
     @Test
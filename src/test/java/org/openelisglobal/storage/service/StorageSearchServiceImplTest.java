@@ -13,6 +13,15 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.openelisglobal.common.exception.LIMSRuntimeException;
+import org.openelisglobal.sampleitem.valueholder.SampleItem;
+import org.openelisglobal.storage.dao.StorageDeviceDAO;
+import org.openelisglobal.storage.dao.StorageIndexSearchDAO;
+import org.openelisglobal.storage.dao.StorageRackDAO;
+import org.openelisglobal.storage.dao.StorageShelfDAO;
+import org.openelisglobal.storage.valueholder.StorageDevice;
+import org.openelisglobal.storage.valueholder.StorageRack;
+import org.openelisglobal.storage.valueholder.StorageRoom;
 
 /**
  * Unit tests for StorageSearchService - Search logic per FR-064 and FR-064a
@@ -27,6 +36,21 @@ public class StorageSearchServiceImplTest {
     @Mock
     private StorageLocationService storageLocationService;
 
+    // the indexes are complete and the lookups return no candidates, the stubbed
+    // services hand back all rows so the tests check the filtering against the
+    // full query
+    @Mock
+    private StorageIndexSearchDAO storageIndexSearchDAO;
+
+    @Mock
+    private StorageDeviceDAO storageDeviceDAO;
+
+    @Mock
+    private StorageShelfDAO storageShelfDAO;
+
+    @Mock
+    private StorageRackDAO storageRackDAO;
+
     @InjectMocks
     private StorageSearchServiceImpl searchService;
 
@@ -50,9 +74,22 @@ public class StorageSearchServiceImplTest {
                     .getDeclaredField("storageLocationService");
             locationServiceField.setAccessible(true);
             locationServiceField.set(searchService, storageLocationService);
+
+            Map<String, Object> daos = new HashMap<>();
+            daos.put("storageIndexSearchDAO", storageIndexSearchDAO);
+            daos.put("storageDeviceDAO", storageDeviceDAO);
+            daos.put("storageShelfDAO", storageShelfDAO);
+            daos.put("storageRackDAO", storageRackDAO);
+            for (Map.Entry<String, Object> dao : daos.entrySet()) {
+                java.lang.reflect.Field daoField = StorageSearchServiceImpl.class.getDeclaredField(dao.getKey());
+                daoField.setAccessible(true);
+                daoField.set(searchService, dao.getValue());
+            }
         } catch (Exception e) {
             throw new RuntimeException("Failed to inject mocks", e);
         }
+        // empty queries don't look at the index
+        lenient().when(storageIndexSearchDAO.isIndexComplete(any())).thenReturn(true);
         setupMockData();
     }
 
@@ -159,7 +196,7 @@ public class StorageSearchServiceImplTest {
     @Test
     public void testSearchSamples_FiltersBySampleId() throws Exception {
         // Filter SampleItems by ID substring
-        when(sampleStorageService.getAllSamplesWithAssignments()).thenReturn(mockSamples);
+        when(sampleStorageService.getSamplesWithAssignments(anyList())).thenReturn(mockSamples);
 
         List<Map<String, Object>> results = searchService.searchSamples("1001");
 
@@ -171,7 +208,7 @@ public class StorageSearchServiceImplTest {
     @Test
     public void testSearchSamples_FiltersByAccessionPrefix() throws Exception {
         // Filter by parent Sample accession number prefix
-        when(sampleStorageService.getAllSamplesWithAssignments()).thenReturn(mockSamples);
+        when(sampleStorageService.getSamplesWithAssignments(anyList())).thenReturn(mockSamples);
 
         List<Map<String, Object>> results = searchService.searchSamples("TB-2025");
 
@@ -183,7 +220,7 @@ public class StorageSearchServiceImplTest {
     @Test
     public void testSearchSamples_FiltersByLocationPath() throws Exception {
         // Filter by location path substring
-        when(sampleStorageService.getAllSamplesWithAssignments()).thenReturn(mockSamples);
+        when(sampleStorageService.getSamplesWithAssignments(anyList())).thenReturn(mockSamples);
 
         List<Map<String, Object>> results = searchService.searchSamples("Freezer");
 
@@ -202,7 +239,7 @@ public class StorageSearchServiceImplTest {
     @Test
     public void testSearchSamples_OR_Logic() throws Exception {
         // Matches if ANY field matches (SampleItem ID, External ID, parent Sample accession, or location path)
-        when(sampleStorageService.getAllSamplesWithAssignments()).thenReturn(mockSamples);
+        when(sampleStorageService.getSamplesWithAssignments(anyList())).thenReturn(mockSamples);
 
         // Query "1001" should match by SampleItem ID
         List<Map<String, Object>> resultsById = searchService.searchSamples("1001");
@@ -221,6 +258,36 @@ public class StorageSearchServiceImplTest {
         assertTrue("Should match by location path", resultsByLocation.size() >= 1);
     }
 
+    @Test
+    public void testSearchSamples_LoadsOnlyIndexCandidates() throws Exception {
+        // A matching room brings in the SampleItems stored anywhere below it
+        StorageDevice freezer = new StorageDevice();
+        freezer.setId(10);
+        when(storageIndexSearchDAO.searchSampleItemIds("Main")).thenReturn(List.of("1003"));
+        when(storageIndexSearchDAO.searchLocationIds(StorageRoom.class, "Main", "name")).thenReturn(List.of(1));
+        when(storageDeviceDAO.findByParentRoomId(1)).thenReturn(List.of(freezer));
+        when(storageIndexSearchDAO.searchAssignedSampleItemIds(eq("Main"),
+                argThat(locations -> locations.get("device").contains(10)))).thenReturn(List.of("1001", "1002"));
+        when(sampleStorageService.getSamplesWithAssignments(List.of("1003", "1001", "1002"))).thenReturn(mockSamples);
+
+        List<Map<String, Object>> results = searchService.searchSamples("Main");
+
+        assertEquals("Should keep the candidates stored in Main Laboratory", 2, results.size());
+    }
+
+    @Test
+    public void testSearchSamples_ChecksAllSamplesUntilIndexIsComplete() throws Exception {
+        // e.g. after an upgrade, before the existing SampleItems have been indexed
+        when(storageIndexSearchDAO.isIndexComplete(SampleItem.class)).thenReturn(false);
+        when(sampleStorageService.getAllSamplesWithAssignments()).thenReturn(mockSamples);
+
+        List<Map<String, Object>> results = searchService.searchSamples("Main");
+
+        assertEquals("Should keep the samples stored in Main Laboratory", 2, results.size());
+        verify(storageIndexSearchDAO, never()).searchSampleItemIds(anyString());
+        verify(sampleStorageService, never()).getSamplesWithAssignments(anyList());
+    }
+
     /**
      * T-OGC-72: Test substring matching for accession numbers and external IDs.
      * Searching "12345" should find any sample where accession number or external
@@ -276,7 +343,7 @@ public class StorageSearchServiceImplTest {
         containsButNotPrefix.put("location", "Room E");
         testSamples.add(containsButNotPrefix);
 
-        when(sampleStorageService.getAllSamplesWithAssignments()).thenReturn(testSamples);
+        when(sampleStorageService.getSamplesWithAssignments(anyList())).thenReturn(testSamples);
 
         // Search for "12345"
         List<Map<String, Object>> results = searchService.searchSamples("12345");
@@ -313,7 +380,7 @@ public class StorageSearchServiceImplTest {
     @Test
     public void testSearchSamples_CaseInsensitive() throws Exception {
         // Case-insensitive matching
-        when(sampleStorageService.getAllSamplesWithAssignments()).thenReturn(mockSamples);
+        when(sampleStorageService.getSamplesWithAssignments(anyList())).thenReturn(mockSamples);
 
         // Lowercase query should match uppercase location
         List<Map<String, Object>> results = searchService.searchSamples("freezer");
@@ -349,7 +416,7 @@ public class StorageSearchServiceImplTest {
     @Test
     public void testSearchRooms_FiltersByNameOrCode() throws Exception {
         // Matches name OR code
-        when(storageLocationService.getRoomsForAPI()).thenReturn(mockRoomsForAPI);
+        when(storageLocationService.getRoomsByIdForAPI(anyList())).thenReturn(mockRoomsForAPI);
 
         // Search by name
         List<Map<String, Object>> resultsByName = searchService.searchRooms("Main");
@@ -362,12 +429,35 @@ public class StorageSearchServiceImplTest {
         assertTrue("Should return at least one matching room by code", resultsByCode.size() >= 1);
     }
 
+    @Test
+    public void testSearchRooms_ChecksAllRoomsUntilIndexIsComplete() throws Exception {
+        when(storageIndexSearchDAO.isIndexComplete(StorageRoom.class)).thenReturn(false);
+        when(storageLocationService.getRoomsForAPI()).thenReturn(mockRoomsForAPI);
+
+        List<Map<String, Object>> results = searchService.searchRooms("MAIN-LAB");
+
+        assertFalse("Should find the room by code without the index", results.isEmpty());
+        verify(storageIndexSearchDAO).isIndexComplete(StorageRoom.class);
+        verifyNoMoreInteractions(storageIndexSearchDAO);
+    }
+
+    @Test
+    public void testCheckIndexes_ChecksEveryIndexWhenOneCheckFails() throws Exception {
+        when(storageIndexSearchDAO.checkIndexComplete(SampleItem.class))
+                .thenThrow(new LIMSRuntimeException("index unavailable"));
+
+        searchService.checkIndexes();
+
+        verify(storageIndexSearchDAO).checkIndexComplete(StorageRoom.class);
+        verify(storageIndexSearchDAO).checkIndexComplete(StorageRack.class);
+    }
+
     // ========== Device Search Service Tests ==========
 
     @Test
     public void testSearchDevices_FiltersByNameCodeOrType() throws Exception {
         // Matches name OR code OR type
-        when(storageLocationService.getDevicesForAPI(null)).thenReturn(mockDevicesForAPI);
+        when(storageLocationService.getDevicesByIdForAPI(anyList())).thenReturn(mockDevicesForAPI);
 
         // Search by name
         List<Map<String, Object>> resultsByName = searchService.searchDevices("Freezer Unit");
@@ -390,7 +480,7 @@ public class StorageSearchServiceImplTest {
     @Test
     public void testSearchShelves_FiltersByLabel() throws Exception {
         // Matches label
-        when(storageLocationService.getShelvesForAPI(null)).thenReturn(mockShelvesForAPI);
+        when(storageLocationService.getShelvesByIdForAPI(anyList())).thenReturn(mockShelvesForAPI);
 
         List<Map<String, Object>> results = searchService.searchShelves("Shelf-A");
 
@@ -411,7 +501,7 @@ public class StorageSearchServiceImplTest {
     @Test
     public void testSearchRacks_FiltersByLabel() throws Exception {
         // Matches label
-        when(storageLocationService.getRacksForAPI(null)).thenReturn(mockRacksForAPI);
+        when(storageLocationService.getRacksByIdForAPI(anyList())).thenReturn(mockRacksForAPI);
 
         List<Map<String, Object>> results = searchService.searchRacks("Rack R1");
 
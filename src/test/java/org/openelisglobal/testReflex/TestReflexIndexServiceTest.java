@@ -0,0 +1,116 @@
+package org.openelisglobal.testReflex;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.openelisglobal.BaseWebContextSensitiveTest;
+import org.openelisglobal.testreflex.service.TestReflexIndex;
+import org.openelisglobal.testreflex.service.TestReflexIndexService;
+import org.openelisglobal.testreflex.service.TestReflexService;
+import org.openelisglobal.testreflex.valueholder.TestReflex;
+import org.springframework.beans.factory.annotation.Autowired;
+
+public class TestReflexIndexServiceTest extends BaseWebContextSensitiveTest {
+
+    @Autowired
+    private TestReflexIndexService testReflexIndexService;
+
+    @Autowired
+    private TestReflexService testReflexService;
+
+    @Before
+    public void setUp() throws Exception {
+        executeDataSetWithStateManagement("testdata/test-reflex.xml");
+    }
+
+    @Test
+    public void getIndex_shouldReturnSameIndexUntilInvalidated() {
+        TestReflexIndex index = testReflexIndexService.getIndex();
+
+        assertSame(index, testReflexIndexService.getIndex());
+
+        testReflexIndexService.invalidate();
+
+        assertNotSame(index, testReflexIndexService.getIndex());
+    }
+
+    @Test
+    public void getIndex_shouldIndexReflexesByTriggeringTest() {
+        TestReflexIndex index = testReflexIndexService.getIndex();
+
+        assertTrue(index.isTriggeringTest("1"));
+        assertFalse(index.isTriggeringTest("3"));
+        assertEquals("1001", index.getReflexesForTriggeringTest("1").get(0).getId());
+        assertTrue(index.getReflexesForTriggeringTest("3").isEmpty());
+    }
+
+    @Test
+    public void getIndex_shouldIndexReflexesByTestResultAnalyteAndTest() {
+        TestReflexIndex index = testReflexIndexService.getIndex();
+
+        List<TestReflex> reflexes = index.getReflexesForTestResultAnalyteAndTest("1", "1", "1");
+
+        assertEquals(1, reflexes.size());
+        assertEquals("1001", reflexes.get(0).getId());
+        assertEquals("1001", index.getReflexesForAnalyteAndTest("1", "1").get(0).getId());
+        assertTrue(index.getReflexesForTestResultAnalyteAndTest("2", "1", "1").isEmpty());
+    }
+
+    @Test
+    public void getIndex_shouldMatchUserChoiceReflexesOfEachResultTest() {
+        TestReflexIndex index = testReflexIndexService.getIndex();
+
+        for (String testId : List.of("1", "2")) {
+            List<String> expected = testReflexService.getTestReflexsByTestAndFlag(testId, "C").stream()
+                    .map(TestReflex::getId).toList();
+            List<String> actual = index.getUserChoiceReflexesForResultTest(testId).stream().map(TestReflex::getId)
+                    .toList();
+            assertEquals(expected, actual);
+        }
+        assertEquals(List.of("1002"),
+                index.getUserChoiceReflexesForResultTest("2").stream().map(TestReflex::getId).toList());
+    }
+
+    @Test
+    public void getIndex_shouldPrecomputeSiblings() {
+        TestReflexIndex index = testReflexIndexService.getIndex();
+        TestReflex reflex = index.getReflexesForTriggeringTest("2").get(0);
+
+        List<TestReflex> siblings = index.getSiblings(reflex);
+
+        assertEquals(1, siblings.size());
+        assertEquals("1001", siblings.get(0).getId());
+        assertTrue(index.isTriggeringTestWithSiblings("2"));
+        assertFalse(index.isTriggeringTestWithSiblings("1"));
+    }
+
+    @Test
+    public void getIndex_shouldLoadReferencedEntitiesForDetachedUse() {
+        TestReflex reflex = testReflexIndexService.getIndex().getReflexesForTriggeringTest("1").get(0);
+
+        assertEquals("2", reflex.getAddedTest().getId());
+        assertEquals("1", reflex.getTestResult().getTest().getId());
+        assertEquals("Cholesterol", reflex.getTestAnalyte().getAnalyte().getAnalyteName());
+        assertEquals("Scriptlet 1", reflex.getActionScriptlet().getScriptletName());
+    }
+
+    @Test
+    public void getIndex_shouldIndexReflexRulesByAnalyte() {
+        assertEquals("Test Name", testReflexIndexService.getIndex().getReflexRuleByAnalyteId("1").getRuleName());
+    }
+
+    @Test
+    public void deactivateReflexRule_shouldRebuildIndex() {
+        assertTrue(testReflexIndexService.getIndex().isTriggeringTest("1"));
+
+        testReflexService.deactivateReflexRule("100");
+
+        assertFalse(testReflexIndexService.getIndex().isTriggeringTest("1"));
+    }
+}
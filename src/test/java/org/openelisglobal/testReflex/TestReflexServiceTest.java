@@ -165,4 +165,4 @@ public class TestReflexServiceTest extends BaseWebContextSensitiveTest {
         assertEquals("Test Name", rules.get(0).getRuleName());
 
     }
-}
\ No newline at end of file
+}
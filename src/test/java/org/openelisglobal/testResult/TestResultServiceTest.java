@@ -3,6 +3,7 @@ package org.openelisglobal.testResult;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.junit.Before;
@@ -248,4 +249,45 @@ public class TestResultServiceTest extends BaseWebContextSensitiveTest {
         assertEquals("2", testResults.get(0).getId());
     }
 
+    @Test
+    public void getActiveTestResultsByTests_shouldMatchPerTestLookupAcrossChunks() {
+        // more tests than are looked up in one query
+        List<String> testIds = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            testIds.add(String.valueOf(900000 + i));
+        }
+        testIds.add("1");
+        testIds.add("2");
+
+        Map<String, List<TestResult>> testResultsByTest = testResultService.getActiveTestResultsByTests(testIds);
+
+        assertEquals(testIds.size(), testResultsByTest.size());
+        for (String testId : List.of("1", "2")) {
+            assertEquals(testResultIds(testResultService.getAllActiveTestResultsPerTest(testService.get(testId))),
+                    testResultIds(testResultsByTest.get(testId)));
+        }
+        assertTrue(testResultsByTest.get("900000").isEmpty());
+    }
+
+    @Test
+    public void getActiveTestResultsByTests_shouldLeaveOutInactiveTestResults() {
+        TestResult testResult = testResultService.get("2");
+        testResult.setIsActive(false);
+        testResult.setSysUserId("1");
+        testResultService.update(testResult);
+
+        Map<String, List<TestResult>> testResultsByTest = testResultService
+                .getActiveTestResultsByTests(List.of("1", "2"));
+
+        assertEquals(List.of("1"), testResultIds(testResultsByTest.get("1")));
+        assertTrue(testResultsByTest.get("2").isEmpty());
+    }
+
+    private static List<String> testResultIds(List<TestResult> testResults) {
+        List<String> ids = new ArrayList<>();
+        for (TestResult testResult : testResults) {
+            ids.add(testResult.getId());
+        }
+        return ids;
+    }
 }
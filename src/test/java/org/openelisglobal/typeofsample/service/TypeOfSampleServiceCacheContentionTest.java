@@ -0,0 +1,258 @@
+package org.openelisglobal.typeofsample.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openelisglobal.localization.valueholder.Localization;
+import org.openelisglobal.panel.service.PanelService;
+import org.openelisglobal.test.service.TestService;
+import org.openelisglobal.typeofsample.dao.TypeOfSampleDAO;
+import org.openelisglobal.typeofsample.valueholder.TypeOfSample;
+import org.openelisglobal.typeofsample.valueholder.TypeOfSampleTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs 64 readers against the sample type lookups while the cache is rebuilt
+ * underneath them. Readers must never fail, and once they have seen a rebuilt
+ * sample type they must not be handed an older one.
+ */
+public class TypeOfSampleServiceCacheContentionTest {
+
+    private static final int READERS = 64;
+    private static final int SAMPLE_TYPES = 200;
+    private static final int REBUILDS = 50;
+
+    private TypeOfSampleServiceImpl typeOfSampleService;
+    private TypeOfSampleDAO typeOfSampleDAO;
+    private TestService testService;
+    private TypeOfSampleTestService typeOfSampleTestService;
+    private final AtomicInteger generation = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        typeOfSampleDAO = mock(TypeOfSampleDAO.class);
+        testService = mock(TestService.class);
+        typeOfSampleTestService = mock(TypeOfSampleTestService.class);
+        TypeOfSamplePanelService typeOfSamplePanelService = mock(TypeOfSamplePanelService.class);
+        PanelService panelService = mock(PanelService.class);
+
+        // each call returns the data of the current generation, as the database would
+        when(typeOfSampleDAO.getAllTypeOfSamples()).thenAnswer(invocation -> createTypeOfSamples(generation.get()));
+        when(testService.getAllActiveTests(anyBoolean())).thenAnswer(invocation -> createTests(generation.get()));
+        when(typeOfSampleTestService.getAllTypeOfSampleTests())
+                .thenAnswer(invocation -> createLinks(generation.get()));
+        when(typeOfSamplePanelService.getAllTypeOfSamplePanels()).thenReturn(Collections.emptyList());
+        when(panelService.getAllActivePanels()).thenReturn(Collections.emptyList());
+
+        typeOfSampleService = new TypeOfSampleServiceImpl();
+        ReflectionTestUtils.setField(typeOfSampleService, "baseObjectDAO", typeOfSampleDAO);
+        ReflectionTestUtils.setField(typeOfSampleService, "testService", testService);
+        ReflectionTestUtils.setField(typeOfSampleService, "typeOfSampleTestService", typeOfSampleTestService);
+        ReflectionTestUtils.setField(typeOfSampleService, "typeOfSamplePanelService", typeOfSamplePanelService);
+        ReflectionTestUtils.setField(typeOfSampleService, "panelService", panelService);
+        ReflectionTestUtils.setField(typeOfSampleService, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.invokeMethod(typeOfSampleService, "initializeGlobalVariables");
+    }
+
+    @After
+    public void tearDown() {
+        ReflectionTestUtils.invokeMethod(typeOfSampleService, "shutdown");
+    }
+
+    @Test
+    public void lookups_shouldAnswerFromCompleteSnapshotsWhileRebuilding() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong lookups = new AtomicLong();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        List<Thread> readers = new ArrayList<>();
+        for (int reader = 0; reader < READERS; reader++) {
+            int offset = reader;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = offset; running.get(); i++) {
+                        readOneSampleType(String.valueOf(i % SAMPLE_TYPES));
+                        lookups.incrementAndGet();
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            }, "type-of-sample-reader-" + reader);
+            readers.add(thread);
+            thread.start();
+        }
+
+        start.countDown();
+        for (int rebuild = 0; rebuild < REBUILDS; rebuild++) {
+            generation.incrementAndGet();
+            typeOfSampleService.refreshCache().get(10, TimeUnit.SECONDS);
+        }
+        running.set(false);
+        for (Thread thread : readers) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        assertTrue("reader failed: " + failures.peek(), failures.isEmpty());
+        assertTrue("readers made no progress", lookups.get() > 0);
+        assertEquals("T" + REBUILDS + "-0", typeOfSampleService.getTypeOfSampleNameForId("0"));
+    }
+
+    @Test
+    public void refreshCache_shouldCoalesceRequestsMadeBeforeTheRebuildStarts() throws Exception {
+        typeOfSampleService.refreshCache().get(10, TimeUnit.SECONDS);
+
+        // hold the rebuild thread so that the following requests queue up behind it
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService rebuildExecutor = (ExecutorService) ReflectionTestUtils.getField(typeOfSampleService,
+                "rebuildExecutor");
+        rebuildExecutor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        generation.incrementAndGet();
+        CompletableFuture<Void> first = typeOfSampleService.refreshCache();
+        CompletableFuture<Void> second = typeOfSampleService.refreshCache();
+        release.countDown();
+        first.get(10, TimeUnit.SECONDS);
+
+        assertSame(first, second);
+        assertEquals("T1-7", typeOfSampleService.getTypeOfSampleNameForId("7"));
+    }
+
+    @Test
+    public void clearCache_shouldRebuildInBackgroundOnlyOnceTransactionCommits() throws Exception {
+        typeOfSampleService.refreshCache().get(10, TimeUnit.SECONDS);
+        assertEquals("T0-3", typeOfSampleService.getTypeOfSampleNameForId("3"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            generation.incrementAndGet();
+            typeOfSampleService.clearCache();
+
+            // uncommitted changes must not be cached
+            assertEquals("T0-3", typeOfSampleService.getTypeOfSampleNameForId("3"));
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager
+                    .getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        typeOfSampleService.refreshCache().get(10, TimeUnit.SECONDS);
+
+        assertEquals("T1-3", typeOfSampleService.getTypeOfSampleNameForId("3"));
+    }
+
+    @Test
+    public void clearCache_shouldKeepListsWhenTransactionRollsBack() throws Exception {
+        typeOfSampleService.refreshCache().get(10, TimeUnit.SECONDS);
+        Object before = currentSnapshot();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            typeOfSampleService.clearCache();
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager
+                    .getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals("T0-3", typeOfSampleService.getTypeOfSampleNameForId("3"));
+        assertSame("a rolled back change must not trigger a rebuild", before, currentSnapshot());
+    }
+
+    private Object currentSnapshot() {
+        return ((AtomicReference<?>) ReflectionTestUtils.getField(typeOfSampleService, "snapshot")).get();
+    }
+
+    private void readOneSampleType(String id) {
+        String name = typeOfSampleService.getTypeOfSampleNameForId(id);
+        assertNotNull("no name for sample type " + id, name);
+        String typeOfSampleId = typeOfSampleService.getTypeOfSampleIdForLocalAbbreviation("abbrev-" + id);
+        assertEquals(id, typeOfSampleId);
+
+        List<org.openelisglobal.test.valueholder.Test> tests = typeOfSampleService.getActiveTestsBySampleTypeId(id,
+                false);
+        assertEquals(1, tests.size());
+        List<TypeOfSample> typeOfSamples = typeOfSampleService.getTypeOfSampleForTest(tests.get(0).getId());
+        // a test may come from a later rebuild than the name, but never from an
+        // earlier one, and the sample type it refers to must be the one it was
+        // listed under
+        assertNotNull(typeOfSamples);
+        assertEquals(1, typeOfSamples.size());
+        assertEquals(id, typeOfSamples.get(0).getId());
+        assertTrue(generationOf(typeOfSamples.get(0).getLocalizedName()) >= generationOf(name));
+    }
+
+    private static int generationOf(String name) {
+        return Integer.parseInt(name.substring(1, name.indexOf('-')));
+    }
+
+    private static List<TypeOfSample> createTypeOfSamples(int generation) {
+        List<TypeOfSample> typeOfSamples = new ArrayList<>();
+        for (int i = 0; i < SAMPLE_TYPES; i++) {
+            Localization localization = new Localization();
+            localization.setLocalizedValue("T" + generation + "-" + i);
+            TypeOfSample typeOfSample = new TypeOfSample();
+            typeOfSample.setId(String.valueOf(i));
+            typeOfSample.setLocalAbbreviation("abbrev-" + i);
+            typeOfSample.setLocalization(localization);
+            typeOfSamples.add(typeOfSample);
+        }
+        return typeOfSamples;
+    }
+
+    // one test per sample type so the lists never need sorting by localized name
+    private static List<org.openelisglobal.test.valueholder.Test> createTests(int generation) {
+        List<org.openelisglobal.test.valueholder.Test> tests = new ArrayList<>();
+        for (int i = 0; i < SAMPLE_TYPES; i++) {
+            org.openelisglobal.test.valueholder.Test test = new org.openelisglobal.test.valueholder.Test();
+            test.setId(String.valueOf(1000 + i));
+            test.setOrderable(true);
+            tests.add(test);
+        }
+        return tests;
+    }
+
+    private static List<TypeOfSampleTest> createLinks(int generation) {
+        List<TypeOfSampleTest> links = new ArrayList<>();
+        for (int i = 0; i < SAMPLE_TYPES; i++) {
+            TypeOfSampleTest link = new TypeOfSampleTest();
+            link.setTestId(String.valueOf(1000 + i));
+            link.setTypeOfSampleId(String.valueOf(i));
+            links.add(link);
+        }
+        return links;
+    }
+}